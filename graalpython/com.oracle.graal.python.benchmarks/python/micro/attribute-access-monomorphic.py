@@ -0,0 +1,82 @@
+# Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+# micro benchmark: monomorphic attribute reads, writes and method calls on plain objects
+
+class Request:
+    def __init__(self, path, size):
+        self.path = path
+        self.size = size
+        self.status = 0
+        self.sent = 0
+
+    def header_size(self):
+        return len(self.path) + 16
+
+
+class Handler:
+    def __init__(self):
+        self.handled = 0
+        self.bytes = 0
+
+    def handle(self, request):
+        request.status = 200
+        request.sent = request.size + request.header_size()
+        self.handled = self.handled + 1
+        self.bytes = self.bytes + request.sent
+        return request.status
+
+
+def docompute(num):
+    handler = Handler()
+    requests = [Request("/item/%d" % i, i * 7) for i in range(100)]
+    for i in range(num):
+        for request in requests:
+            handler.handle(request)
+    return handler.handled, handler.bytes
+
+
+def measure(num):
+    for run in range(num):
+        res = docompute(100)
+
+    print("result", res)
+
+
+def __benchmark__(num=2_000):
+    measure(num)
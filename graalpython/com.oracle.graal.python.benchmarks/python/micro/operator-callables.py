@@ -0,0 +1,75 @@
+# Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+# micro benchmark: sorting and mapping with operator.itemgetter, attrgetter and methodcaller
+import operator
+
+
+class Point:
+    def __init__(self, x, y):
+        self.x = x
+        self.y = y
+
+
+def docompute(num):
+    rows = [(i * 7919 % 1000, "n%d" % (i % 50), i) for i in range(num)]
+    points = [Point(i % 97, i % 13) for i in range(num)]
+    by_first = operator.itemgetter(0)
+    by_name_and_id = operator.itemgetter(1, 2)
+    get_x = operator.attrgetter('x')
+    get_xy = operator.attrgetter('x', 'y')
+    upper = operator.methodcaller('upper')
+    total = sorted(rows, key=by_first)[0][2]
+    total += sorted(rows, key=by_name_and_id)[-1][2]
+    total += sorted(points, key=get_x)[-1].y
+    total += sum(map(get_x, points))
+    total += len(list(map(get_xy, points)))
+    total += sum(map(len, map(upper, map(operator.itemgetter(1), rows))))
+    total += sum(map(operator.mul, map(get_x, points), map(operator.attrgetter('y'), points)))
+    return total
+
+
+def measure(num):
+    for run in range(num):
+        res = docompute(2000)
+
+    print("result", res)
+
+
+def __benchmark__(num=500):
+    measure(num)
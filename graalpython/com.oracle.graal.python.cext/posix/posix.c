@@ -55,6 +55,7 @@
 #include <fcntl.h>
 #include <netdb.h>
 #include <netinet/in.h>
+#include <poll.h>
 #include <signal.h>
 #include <stddef.h>
 #include <stdio.h>
@@ -74,6 +75,9 @@
 #include <sys/mman.h>
 #include <unistd.h>
 #include <pwd.h>
+#ifdef __gnu_linux__
+#include <sys/epoll.h>
+#endif
 
 
 int64_t call_getpid() {
@@ -204,6 +208,73 @@ int32_t call_select(int32_t nfds, int32_t* readfds, int32_t readfdsLen,
     return (int32_t) result;
 }
 
+// events and revents are parallel to fds, revents is an output parameter
+int32_t call_poll(int32_t* fds, int32_t* events, int32_t* revents, int32_t len, int32_t timeoutMs) {
+    struct pollfd *pfds = (struct pollfd *) malloc(sizeof(struct pollfd) * (len > 0 ? len : 1));
+    if (pfds == NULL) {
+        errno = ENOMEM;
+        return -1;
+    }
+    for (int32_t i = 0; i < len; ++i) {
+        pfds[i].fd = fds[i];
+        pfds[i].events = (short) events[i];
+        pfds[i].revents = 0;
+    }
+    int result = poll(pfds, (nfds_t) len, timeoutMs);
+    for (int32_t i = 0; i < len; ++i) {
+        revents[i] = (uint16_t) pfds[i].revents;
+    }
+    int saved_errno = errno;
+    free(pfds);
+    errno = saved_errno;
+    return (int32_t) result;
+}
+
+int32_t call_epoll_create() {
+#ifdef __gnu_linux__
+    return epoll_create1(EPOLL_CLOEXEC);
+#else
+    errno = ENOSYS;
+    return -1;
+#endif
+}
+
+int32_t call_epoll_ctl(int32_t epfd, int32_t op, int32_t fd, int32_t events) {
+#ifdef __gnu_linux__
+    struct epoll_event ev;
+    memset(&ev, 0, sizeof(ev));
+    ev.events = (uint32_t) events;
+    ev.data.fd = fd;
+    return epoll_ctl(epfd, op, fd, op == EPOLL_CTL_DEL ? NULL : &ev);
+#else
+    errno = ENOSYS;
+    return -1;
+#endif
+}
+
+// fds and events are output parameters of length maxevents
+int32_t call_epoll_wait(int32_t epfd, int32_t* fds, int32_t* events, int32_t maxevents, int32_t timeoutMs) {
+#ifdef __gnu_linux__
+    struct epoll_event *evs = (struct epoll_event *) malloc(sizeof(struct epoll_event) * maxevents);
+    if (evs == NULL) {
+        errno = ENOMEM;
+        return -1;
+    }
+    int result = epoll_wait(epfd, evs, maxevents, timeoutMs);
+    for (int i = 0; i < result; ++i) {
+        fds[i] = evs[i].data.fd;
+        events[i] = (int32_t) evs[i].events;
+    }
+    int saved_errno = errno;
+    free(evs);
+    errno = saved_errno;
+    return (int32_t) result;
+#else
+    errno = ENOSYS;
+    return -1;
+#endif
+}
+
 int64_t call_lseek(int32_t fd, int64_t offset, int32_t whence) {
     return lseek(fd, offset, whence);
 }
@@ -61,7 +61,7 @@
 static JNIEnv* jniEnv;
 
 #define ALL_FIELDS \
-    FIELD(hpyHandleTable, CLASS_HPYCONTEXT, SIG_JOBJECTARRAY) \
+    FIELD(hpyHandleTable, CLASS_HPYCONTEXT, SIG_JOBJECTARRAY2) \
     FIELD(hpyGlobalsTable, CLASS_HPYCONTEXT, SIG_JOBJECTARRAY) \
     FIELD(nextHandle, CLASS_HPYCONTEXT, SIG_INT)
 
@@ -145,18 +145,24 @@ static inline jsize get_handle_table_size(HPyContext *ctx) {
     return HANDLE_TABLE_SIZE(ctx->_private);
 }
 
+/* Returns the chunk of the handle table that contains the given handle. */
+static jobjectArray get_handle_table_chunk(jobject hpyContext, jsize handle) {
+    jobjectArray hpy_handle_chunks = (jobjectArray)(*jniEnv)->GetObjectField(jniEnv, hpyContext, jniField_hpyHandleTable);
+    if (hpy_handle_chunks == NULL) {
+        LOGS("hpy handle table is NULL")
+        return NULL;
+    }
+    jobjectArray chunk = (jobjectArray)(*jniEnv)->GetObjectArrayElement(jniEnv, hpy_handle_chunks, handle >> HANDLE_CHUNK_BITS);
+    (*jniEnv)->DeleteLocalRef(jniEnv, hpy_handle_chunks);
+    return chunk;
+}
+
 static uint64_t get_hpy_handle_for_object(HPyContext *ctx, jobject hpyContext, jobject element, bool update_native_cache) {
     /* TODO(fa): for now, we fall back to the upcall */
     if (update_native_cache) {
         return 0;
     }
 
-    jobjectArray hpy_handles = (jobjectArray)(*jniEnv)->GetObjectField(jniEnv, hpyContext, jniField_hpyHandleTable);
-    if (hpy_handles == NULL) {
-        LOGS("hpy handle table is NULL")
-        return 0;
-    }
-
     /* try to reuse a closed handle from our native list */
     jsize next_handle;
     if (unclosedHandleTop > 0) {
@@ -173,20 +179,24 @@ static uint64_t get_hpy_handle_for_object(HPyContext *ctx, jobject hpyContext, j
         }
         (*jniEnv)->SetIntField(jniEnv, hpyContext, jniField_nextHandle, next_handle+1);
     }
-    (*jniEnv)->SetObjectArrayElement(jniEnv, hpy_handles, next_handle, element);
-    (*jniEnv)->DeleteLocalRef(jniEnv, hpy_handles);
+    jobjectArray chunk = get_handle_table_chunk(hpyContext, next_handle);
+    if (chunk == NULL) {
+        return 0;
+    }
+    (*jniEnv)->SetObjectArrayElement(jniEnv, chunk, next_handle & HANDLE_CHUNK_MASK, element);
+    (*jniEnv)->DeleteLocalRef(jniEnv, chunk);
     /* TODO(fa): update native data pointer cache here (if specified) */
     return boxHandle(next_handle);
 }
 
 static jobject get_object_for_hpy_handle(jobject hpyContext, uint64_t bits) {
-    jobjectArray hpy_handles = (jobjectArray)(*jniEnv)->GetObjectField(jniEnv, hpyContext, jniField_hpyHandleTable);
-    if (hpy_handles == NULL) {
-        LOGS("hpy handle table is NULL")
+    jsize handle = (jsize)unboxHandle(bits);
+    jobjectArray chunk = get_handle_table_chunk(hpyContext, handle);
+    if (chunk == NULL) {
         return NULL;
     }
-    jobject element = (*jniEnv)->GetObjectArrayElement(jniEnv, (jobjectArray)hpy_handles, (jsize)unboxHandle(bits));
-    (*jniEnv)->DeleteLocalRef(jniEnv, hpy_handles);
+    jobject element = (*jniEnv)->GetObjectArrayElement(jniEnv, chunk, handle & HANDLE_CHUNK_MASK);
+    (*jniEnv)->DeleteLocalRef(jniEnv, chunk);
     if (element == NULL) {
         LOGS("handle delegate is NULL")
     }
@@ -587,13 +597,12 @@ static void augment_Close(HPyContext *ctx, HPy h) {
         if (bits < IMMUTABLE_HANDLES) {
             return;
         }
-        if (unclosedHandleTop < MAX_UNCLOSED_HANDLES) {
-            unclosedHandles[unclosedHandleTop++] = h;
-        } else {
+        if (unclosedHandleTop >= MAX_UNCLOSED_HANDLES) {
             upcallBulkClose(ctx, unclosedHandles, unclosedHandleTop);
             memset(unclosedHandles, 0, sizeof(uint64_t) * unclosedHandleTop);
             unclosedHandleTop = 0;
         }
+        unclosedHandles[unclosedHandleTop++] = h;
     }
 }
 
@@ -903,6 +912,7 @@ JNIEXPORT jint JNICALL Java_com_oracle_graal_python_builtins_objects_cext_hpy_Gr
 #define SIG_JLONGARRAY "[J"
 #define SIG_STRING "Ljava/lang/String;"
 #define SIG_JOBJECTARRAY "[Ljava/lang/Object;"
+#define SIG_JOBJECTARRAY2 "[[Ljava/lang/Object;"
 
 #define FIELD(name, clazz, jniSig) \
     jniField_ ## name = (*env)->GetFieldID(env, clazz, #name, jniSig); \
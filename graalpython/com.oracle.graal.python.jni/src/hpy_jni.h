@@ -56,6 +56,11 @@
 #define NAN_BOXING_MAX_HANDLE (0x000000007FFFFFFFllu)
 #define IMMUTABLE_HANDLES (0x0000000000000100llu)
 
+// The handle table is an array of chunks; must be equal to
+// 'GraalHPyContext.HANDLE_CHUNK_BITS'
+#define HANDLE_CHUNK_BITS (9)
+#define HANDLE_CHUNK_MASK ((1 << HANDLE_CHUNK_BITS) - 1)
+
 // Some singleton Python objects are guaranteed to be always represented by
 // those handles, so that we do not have to upcall to unambiguously check if
 // a handle represents one of those
@@ -40,12 +40,15 @@
  */
 package com.oracle.graal.python.test.interop;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
@@ -190,6 +193,69 @@ public class InteropLibraryTest extends PythonTests {
         fail("didn't throw exception");
     }
 
+    @Test
+    public void testBufferElements() {
+        Value bytes = v("b'\\x01\\x02\\x03\\x04'");
+        assertTrue(bytes.hasBufferElements());
+        assertFalse(bytes.isBufferWritable());
+        assertEquals(4, bytes.getBufferSize());
+        assertEquals(3, bytes.readBufferByte(2));
+        assertEquals(0x01020304, bytes.readBufferInt(ByteOrder.BIG_ENDIAN, 0));
+        assertEquals(0x04030201, bytes.readBufferInt(ByteOrder.LITTLE_ENDIAN, 0));
+        byte[] dest = new byte[4];
+        bytes.readBuffer(1, dest, 1, 3);
+        assertArrayEquals(new byte[]{0, 2, 3, 4}, dest);
+
+        Value byteArray = v("bytearray(4)");
+        assertTrue(byteArray.isBufferWritable());
+        byteArray.writeBufferShort(ByteOrder.BIG_ENDIAN, 1, (short) 0x0102);
+        assertEquals(2, byteArray.readBufferByte(2));
+
+        Value array = v("import array\narray.array('d', [1.5, 2.5])");
+        assertTrue(array.hasBufferElements());
+        assertEquals(16, array.getBufferSize());
+        assertEquals(2.5, array.readBufferDouble(ByteOrder.nativeOrder(), 8), 0);
+        array.writeBufferDouble(ByteOrder.nativeOrder(), 0, 4.5);
+        assertEquals(4.5, array.getArrayElement(0).asDouble(), 0);
+
+        Value longs = v("bytearray(16)");
+        longs.writeBufferLong(ByteOrder.BIG_ENDIAN, 0, 0x0102030405060708L);
+        assertEquals(1, longs.readBufferByte(0));
+        assertEquals(0x0807060504030201L, longs.readBufferLong(ByteOrder.LITTLE_ENDIAN, 0));
+        longs.writeBufferDouble(ByteOrder.LITTLE_ENDIAN, 8, 1.5);
+        assertEquals(1.5, longs.readBufferDouble(ByteOrder.LITTLE_ENDIAN, 8), 0);
+        assertEquals(0x3FF8000000000000L, longs.readBufferLong(ByteOrder.LITTLE_ENDIAN, 8));
+        longs.writeBufferFloat(ByteOrder.BIG_ENDIAN, 8, 1.5f);
+        assertEquals(0x3F, longs.readBufferByte(8));
+        assertEquals(1.5f, longs.readBufferFloat(ByteOrder.BIG_ENDIAN, 8), 0);
+
+        Value mmap = v("import mmap\nmmap.mmap(-1, 8)");
+        mmap.writeBufferLong(ByteOrder.LITTLE_ENDIAN, 0, 0x0102030405060708L);
+        assertEquals(8, mmap.readBufferByte(0));
+        assertEquals(0x0102030405060708L, mmap.readBufferLong(ByteOrder.LITTLE_ENDIAN, 0));
+        assertEquals(0x0807060504030201L, mmap.readBufferLong(ByteOrder.BIG_ENDIAN, 0));
+
+        Value memoryView = v("memoryview(b'abcdef')[2:]");
+        assertTrue(memoryView.hasBufferElements());
+        assertEquals(4, memoryView.getBufferSize());
+        assertEquals('c', memoryView.readBufferByte(0));
+
+        assertFalse(v("[1, 2, 3]").hasBufferElements());
+        assertFalse(v("memoryview(b'abcdef')[::2]").hasBufferElements());
+    }
+
+    @Test
+    public void testHostBuffer() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{'a', 'b', 'c'});
+        Value fn = v("def fn(buf):\n" +
+                        "    m = memoryview(buf)\n" +
+                        "    m[0] = ord('x')\n" +
+                        "    return bytes(buf) + bytes(m[1:])\n" +
+                        "fn");
+        assertEquals("b'xbcbc'", fn.execute(buffer).toString());
+        assertEquals('x', buffer.get(0));
+    }
+
     private static final class LazyArray implements ProxyArray {
 
         private final Iterator<?> it;
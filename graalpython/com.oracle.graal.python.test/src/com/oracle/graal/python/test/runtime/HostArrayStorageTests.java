@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.test.runtime;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.sequence.storage.BoolSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.graal.python.test.PythonTests;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.RootNode;
+
+/**
+ * Checks that {@code list} and {@code tuple} copy host Java primitive arrays directly into a
+ * storage of their element type instead of iterating over them through interop. Only the bulk copy
+ * keeps the element type of empty arrays, the generic path creates an empty storage for them.
+ */
+public class HostArrayStorageTests {
+    private PythonContext context;
+
+    private static class CallTestRootNode extends RootNode {
+        @Child private CallNode body;
+
+        CallTestRootNode(PythonLanguage language, CallNode body) {
+            super(language);
+            this.body = body;
+            this.getCallTarget(); // Ensure call target is initialized
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            Object[] arguments = frame.getArguments();
+            return body.execute(null, arguments[0], arguments[1]);
+        }
+    }
+
+    private SequenceStorage list(Object javaArray) {
+        Object result = call(PythonBuiltinClassType.PList, javaArray);
+        assertTrue(result instanceof PList);
+        return ((PList) result).getSequenceStorage();
+    }
+
+    private SequenceStorage tuple(Object javaArray) {
+        Object result = call(PythonBuiltinClassType.PTuple, javaArray);
+        assertTrue(result instanceof PTuple);
+        return ((PTuple) result).getSequenceStorage();
+    }
+
+    private Object call(PythonBuiltinClassType type, Object javaArray) {
+        CallTestRootNode rootNode = new CallTestRootNode(context.getLanguage(), CallNode.create());
+        return rootNode.getCallTarget().call(context.lookupType(type), context.getEnv().asGuestValue(javaArray));
+    }
+
+    @Before
+    public void setUp() {
+        PythonTests.enterContext();
+        context = PythonContext.get(null);
+    }
+
+    @After
+    public void tearDown() {
+        context = null;
+        PythonTests.closeContext();
+    }
+
+    @Test
+    public void intArray() {
+        int[] values = {1, -2, 3};
+        SequenceStorage storage = list(values);
+        values[0] = 42;
+        assertTrue(storage instanceof IntSequenceStorage);
+        assertArrayEquals(new int[]{1, -2, 3}, ((IntSequenceStorage) storage).getInternalIntArray());
+        assertTrue(tuple(values) instanceof IntSequenceStorage);
+    }
+
+    @Test
+    public void widenedArrays() {
+        SequenceStorage storage = list(new byte[]{1, -1});
+        assertTrue(storage instanceof IntSequenceStorage);
+        assertArrayEquals(new int[]{1, -1}, ((IntSequenceStorage) storage).getInternalIntArray());
+        assertTrue(list(new short[]{1, 2}) instanceof IntSequenceStorage);
+        storage = tuple(new float[]{0.5f});
+        assertTrue(storage instanceof DoubleSequenceStorage);
+        assertEquals(0.5, ((DoubleSequenceStorage) storage).getDoubleItemNormalized(0), 0);
+    }
+
+    @Test
+    public void emptyArrays() {
+        assertTrue(list(new int[0]) instanceof IntSequenceStorage);
+        assertTrue(list(new long[0]) instanceof LongSequenceStorage);
+        assertTrue(list(new double[0]) instanceof DoubleSequenceStorage);
+        assertTrue(tuple(new boolean[0]) instanceof BoolSequenceStorage);
+        assertEquals(0, tuple(new int[0]).length());
+    }
+}
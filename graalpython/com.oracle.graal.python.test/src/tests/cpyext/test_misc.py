@@ -40,7 +40,8 @@
 import sys
 import pathlib
 import os
-from . import CPyExtTestCase, CPyExtFunction, CPyExtFunctionOutVars, unhandled_error_compare, GRAALPYTHON
+import unittest
+from . import CPyExtTestCase, CPyExtFunction, CPyExtFunctionOutVars, unhandled_error_compare, GRAALPYTHON, CPyExtType
 import builtins
 __dir__ = __file__.rpartition("/")[0]
 
@@ -342,3 +343,52 @@ class TestMisc(CPyExtTestCase):
         arguments=["PyObject* value"],
         cmpfunc=unhandled_error_compare
     )
+
+
+class HandleCacheTests(unittest.TestCase):
+    @unittest.skipUnless(GRAALPYTHON, "GraalPy specific")
+    def test_handle_cache_stats(self):
+        TestType = CPyExtType(
+            "TestHandleCache",
+            """
+            PyObject* count_items(PyObject* self, PyObject* list) {
+                Py_ssize_t n = 0;
+                for (Py_ssize_t i = 0; i < PyList_Size(list); i++) {
+                    PyObject* item = PyList_GetItem(list, i);
+                    if (Py_TYPE(item) == &PyLong_Type) {
+                        n++;
+                    }
+                }
+                return PyLong_FromSsize_t(n);
+            }
+            """,
+            tp_methods='{"count_items", count_items, METH_O, ""}',
+        )
+        obj = TestType()
+        items = [object() if i % 2 else 10 ** 30 + i for i in range(1000)]
+        for _ in range(3):
+            self.assertEqual(500, obj.count_items(items))
+        stats = __graalpython__.handle_cache_stats()
+        self.assertIsInstance(stats, list)
+        for s in stats:
+            self.assertGreaterEqual(s["hits"], 0)
+            self.assertGreaterEqual(s["misses"], 0)
+            self.assertGreaterEqual(s["size"], 64)
+            self.assertEqual(0, s["size"] & (s["size"] - 1))
+            self.assertGreaterEqual(s["resizes"], 0)
+
+
+class NativeReferenceCleanerTests(unittest.TestCase):
+    @unittest.skipUnless(GRAALPYTHON, "GraalPy specific")
+    def test_native_reference_cleaner_stats(self):
+        import gc
+        TestType = CPyExtType("TestReferenceCleaner", "")
+        objs = [TestType() for _ in range(1000)]
+        del objs
+        gc.collect()
+        stats = __graalpython__.native_reference_cleaner_stats()
+        self.assertGreaterEqual(stats["queue_depth"], 0)
+        self.assertGreaterEqual(stats["cleaned"], stats["batches"])
+        self.assertLessEqual(stats["max_batch_size"], stats["cleaned"])
+        self.assertGreaterEqual(stats["pause_time"], stats["max_pause_time"])
+        self.assertGreaterEqual(stats["max_pause_time"], 0)
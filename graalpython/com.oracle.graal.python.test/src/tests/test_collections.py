@@ -1,4 +1,4 @@
-# Copyright (c) 2018, 2021, Oracle and/or its affiliates. All rights reserved.
+# Copyright (c) 2018, 2022, Oracle and/or its affiliates. All rights reserved.
 # DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
 #
 # The Universal Permissive License (UPL), Version 1.0
@@ -57,3 +57,164 @@ def test_import():
     except ImportError:
         imported = False
     assert imported
+
+
+def test_ordered_dict_move_to_end():
+    from collections import OrderedDict
+    od = OrderedDict.fromkeys('abcde')
+    od.move_to_end('c')
+    assert ''.join(od) == 'abdec'
+    od.move_to_end('c', False)
+    assert ''.join(od) == 'cabde'
+    od.move_to_end('c', last=False)
+    assert ''.join(od) == 'cabde'
+    od.move_to_end('e')
+    assert ''.join(od) == 'cabde'
+    assert list(reversed(od)) == list('edbac')
+    assert_raises(KeyError, od.move_to_end, 'x')
+    assert_raises(KeyError, od.move_to_end, 'x', False)
+    for i in range(100):
+        od[i] = i
+    for i in range(100):
+        od.move_to_end(i, last=False)
+    assert list(od)[:3] == [99, 98, 97]
+    assert list(od)[-5:] == list('cabde')
+    assert od[50] == 50 and len(od) == 105
+
+
+def test_ordered_dict_popitem():
+    from collections import OrderedDict
+    od = OrderedDict((k, ord(k)) for k in 'abcde')
+    assert od.popitem() == ('e', ord('e'))
+    assert od.popitem(last=False) == ('a', ord('a'))
+    assert od.popitem(False) == ('b', ord('b'))
+    assert list(od.items()) == [('c', ord('c')), ('d', ord('d'))]
+    od.popitem()
+    od.popitem()
+    assert_raises(KeyError, od.popitem)
+    assert_raises(KeyError, od.popitem, False)
+    od = OrderedDict.fromkeys(range(1000))
+    assert [od.popitem(last=False)[0] for _ in range(500)] == list(range(500))
+    od[-1] = None
+    assert next(iter(od)) == 500
+    assert list(od)[-1] == -1
+
+
+def test_ordered_dict_repr_and_eq():
+    from collections import OrderedDict
+    assert repr(OrderedDict()) == 'OrderedDict()'
+    assert repr(OrderedDict([('b', 1), ('a', 2)])) == "OrderedDict([('b', 1), ('a', 2)])"
+    od = OrderedDict()
+    od['x'] = od
+    assert repr(od) == "OrderedDict([('x', ...)])"
+
+    class MyOD(OrderedDict):
+        pass
+
+    assert repr(MyOD(a=1)) == "MyOD([('a', 1)])"
+    od1 = OrderedDict([('a', 1), ('b', 2)])
+    od2 = OrderedDict([('b', 2), ('a', 1)])
+    assert od1 != od2
+    assert not od1 == od2
+    assert od1 == dict(od2) and dict(od2) == od1
+    od2.move_to_end('b')
+    assert od1 == od2
+    assert isinstance(od1, dict)
+    assert isinstance(od1.copy(), OrderedDict) and od1.copy() == od1
+    assert type(MyOD(od1).copy()) is MyOD
+
+
+def test_ordered_dict_subclass_setitem():
+    from collections import OrderedDict
+
+    class LoggingOD(OrderedDict):
+        def __init__(self, *args, **kwargs):
+            self.log = []
+            super().__init__(*args, **kwargs)
+
+        def __setitem__(self, key, value):
+            self.log.append(key)
+            super().__setitem__(key, value)
+
+    od = LoggingOD([('a', 1), ('b', 2)], c=3)
+    assert od.log == ['a', 'b', 'c']
+    od.update(d=4)
+    assert od.log == ['a', 'b', 'c', 'd']
+    assert list(od.items()) == [('a', 1), ('b', 2), ('c', 3), ('d', 4)]
+    assert_raises(TypeError, OrderedDict, [], [])
+    try:
+        od.update(1, 2)
+    except TypeError as e:
+        assert str(e) == "update() takes at most 1 positional argument (2 given)", str(e)
+    else:
+        assert False, "expected TypeError"
+
+
+def test_ordered_dict_or():
+    from collections import OrderedDict
+    od = OrderedDict([('b', 1), ('a', 2)])
+    result = od | {'c': 3, 'b': 4}
+    assert type(result) is OrderedDict
+    assert list(result.items()) == [('b', 4), ('a', 2), ('c', 3)]
+    assert list(od.items()) == [('b', 1), ('a', 2)]
+    result = {'c': 3, 'b': 4} | od
+    assert type(result) is OrderedDict
+    assert list(result.items()) == [('c', 3), ('b', 1), ('a', 2)]
+    result = od | OrderedDict(x=0)
+    assert type(result) is OrderedDict and list(result) == ['b', 'a', 'x']
+
+    class MyOD(OrderedDict):
+        pass
+
+    result = MyOD(od) | {'c': 3}
+    assert type(result) is MyOD and list(result) == ['b', 'a', 'c']
+    result = {'c': 3} | MyOD(od)
+    assert type(result) is MyOD and list(result) == ['c', 'b', 'a']
+    assert_raises(TypeError, lambda: od | [('c', 3)])
+    assert_raises(TypeError, lambda: [('c', 3)] | od)
+    od |= [('c', 3)]
+    assert list(od.items()) == [('b', 1), ('a', 2), ('c', 3)]
+
+
+def test_ordered_dict_pickle():
+    import pickle
+    import copy
+    from collections import OrderedDict
+    od = OrderedDict([('z', 1), ('a', 2), ('m', 3)])
+    od.attr = 'value'
+    for proto in range(pickle.HIGHEST_PROTOCOL + 1):
+        od2 = pickle.loads(pickle.dumps(od, proto))
+        assert od2 == od and list(od2) == ['z', 'a', 'm']
+        assert od2.attr == 'value'
+    od3 = copy.copy(od)
+    assert list(od3) == ['z', 'a', 'm'] and od3.attr == 'value'
+
+
+def test_count_elements():
+    from collections import Counter, _count_elements
+    c = Counter('abracadabra')
+    assert c['a'] == 5 and c['b'] == 2 and c['z'] == 0
+    assert list(c) == ['a', 'b', 'r', 'c', 'd']
+    c.update('aaz')
+    assert c['a'] == 7 and c['z'] == 1
+    d = {'a': 1.5}
+    _count_elements(d, 'aab')
+    assert d == {'a': 3.5, 'b': 1}
+
+    class Recording(dict):
+        def __setitem__(self, key, value):
+            super().__setitem__(key, value * 10)
+
+    r = Recording()
+    _count_elements(r, 'aa')
+    assert r == {'a': 110}
+
+    class WithGet(dict):
+        def get(self, key, default=None):
+            return 100
+
+    w = WithGet()
+    _count_elements(w, 'ab')
+    assert w == {'a': 101, 'b': 101}
+    assert_raises(TypeError, _count_elements, {}, 5)
+    assert_raises(TypeError, _count_elements, {}, [[1]])
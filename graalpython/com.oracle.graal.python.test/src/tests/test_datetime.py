@@ -0,0 +1,310 @@
+# Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+
+
+import pickle
+import unittest
+from datetime import date, datetime, time, timedelta, timezone, tzinfo
+
+
+class FixedOffset(tzinfo):
+    def __init__(self, minutes=0, name=""):
+        self._offset = timedelta(minutes=minutes)
+        self._name = name
+
+    def utcoffset(self, dt):
+        return self._offset
+
+    def dst(self, dt):
+        return timedelta(0)
+
+    def tzname(self, dt):
+        return self._name
+
+
+class TimeDeltaTest(unittest.TestCase):
+
+    def test_normalization(self):
+        td = timedelta(days=1, seconds=-1, microseconds=1500001, weeks=1, hours=1.5)
+        self.assertEqual((td.days, td.seconds, td.microseconds), (8, 5400, 500001))
+        self.assertEqual(timedelta(microseconds=0.5), timedelta(0))
+        self.assertEqual(timedelta(microseconds=1.5), timedelta(microseconds=2))
+        self.assertEqual(timedelta(seconds=-1), timedelta(days=-1, seconds=86399))
+        self.assertRaises(OverflowError, timedelta, days=1000000000)
+        self.assertRaises(TypeError, timedelta, days="1")
+
+    def test_repr_str(self):
+        self.assertEqual(repr(timedelta(1, 2, 3)), "datetime.timedelta(days=1, seconds=2, microseconds=3)")
+        self.assertEqual(repr(timedelta(0)), "datetime.timedelta(0)")
+        self.assertEqual(str(timedelta(days=-1, seconds=3600, microseconds=5)), "-1 day, 1:00:00.000005")
+        self.assertEqual(str(timedelta(days=2)), "2 days, 0:00:00")
+
+    def test_arithmetic(self):
+        td = timedelta(hours=1)
+        self.assertEqual(td * 2, timedelta(hours=2))
+        self.assertEqual(2 * td, timedelta(hours=2))
+        self.assertEqual(td * 0.5, timedelta(minutes=30))
+        self.assertEqual(td / 4, timedelta(minutes=15))
+        self.assertEqual(td / timedelta(minutes=40), 1.5)
+        self.assertEqual(td // timedelta(minutes=40), 1)
+        self.assertEqual(td % timedelta(minutes=40), timedelta(minutes=20))
+        self.assertEqual(divmod(td, timedelta(minutes=40)), (1, timedelta(minutes=20)))
+        self.assertEqual(td // 7, timedelta(microseconds=514285714))
+        self.assertEqual(-td, timedelta(days=-1, seconds=82800))
+        self.assertEqual(abs(-td), td)
+        self.assertEqual(timedelta(0) * (1 << 70), timedelta(0))
+        self.assertEqual(timedelta(days=1) / (1 << 70), timedelta(0))
+        self.assertEqual(td.total_seconds(), 3600.0)
+        self.assertRaises(ZeroDivisionError, lambda: td // 0)
+        self.assertRaises(ZeroDivisionError, lambda: td / timedelta(0))
+
+    def test_compare_hash(self):
+        self.assertLess(timedelta(-1), timedelta(0))
+        self.assertEqual(hash(timedelta(seconds=60)), hash(timedelta(minutes=1)))
+        self.assertFalse(timedelta(0))
+        self.assertTrue(timedelta(microseconds=1))
+
+
+class DateTest(unittest.TestCase):
+
+    def test_fields(self):
+        d = date(2020, 2, 29)
+        self.assertEqual((d.year, d.month, d.day), (2020, 2, 29))
+        self.assertRaises(ValueError, date, 2021, 2, 29)
+        self.assertRaises(ValueError, date, 0, 1, 1)
+        self.assertRaises(ValueError, date, 2021, 13, 1)
+
+    def test_ordinal(self):
+        for d in (date.min, date(1970, 1, 1), date(2000, 2, 29), date(2023, 12, 31), date.max):
+            self.assertEqual(date.fromordinal(d.toordinal()), d)
+        self.assertEqual(date(1, 1, 1).toordinal(), 1)
+        self.assertEqual(date(2023, 1, 2).weekday(), 0)
+        self.assertEqual(date(2023, 1, 1).isoweekday(), 7)
+        self.assertEqual(tuple(date(2021, 1, 3).isocalendar()), (2020, 53, 7))
+        self.assertEqual(date.fromisocalendar(2020, 53, 7), date(2021, 1, 3))
+
+    def test_iso(self):
+        d = date(2021, 7, 4)
+        self.assertEqual(d.isoformat(), "2021-07-04")
+        self.assertEqual(str(d), "2021-07-04")
+        self.assertEqual(repr(d), "datetime.date(2021, 7, 4)")
+        self.assertEqual(date.fromisoformat("2021-07-04"), d)
+        self.assertRaises(ValueError, date.fromisoformat, "2021-7-4")
+        self.assertEqual(d.ctime(), "Sun Jul  4 00:00:00 2021")
+        self.assertEqual(d.strftime("%Y/%m/%d"), "2021/07/04")
+        self.assertEqual(format(d, "%d.%m."), "04.07.")
+
+    def test_arithmetic(self):
+        d = date(2021, 12, 31)
+        self.assertEqual(d + timedelta(days=1, hours=23), date(2022, 1, 1))
+        self.assertEqual(timedelta(days=-365) + d, date(2020, 12, 31))
+        self.assertEqual(d - timedelta(days=31), date(2021, 11, 30))
+        self.assertEqual(d - date(2021, 1, 1), timedelta(days=364))
+        self.assertRaises(OverflowError, lambda: date.max + timedelta(days=1))
+
+    def test_subclass(self):
+        class MyDate(date):
+            pass
+
+        d = MyDate(2021, 1, 1)
+        self.assertIs(type(d + timedelta(1)), MyDate)
+        self.assertIs(type(MyDate.fromordinal(1)), MyDate)
+        self.assertIs(type(d.replace(day=2)), MyDate)
+
+    def test_pickle(self):
+        d = date(2021, 7, 4)
+        for proto in range(pickle.HIGHEST_PROTOCOL + 1):
+            self.assertEqual(pickle.loads(pickle.dumps(d, proto)), d)
+
+
+class TimeTest(unittest.TestCase):
+
+    def test_fields(self):
+        t = time(12, 30, 15, 500, fold=1)
+        self.assertEqual((t.hour, t.minute, t.second, t.microsecond, t.fold), (12, 30, 15, 500, 1))
+        self.assertIsNone(t.tzinfo)
+        self.assertRaises(ValueError, time, 24)
+        self.assertRaises(ValueError, time, fold=2)
+        self.assertRaises(TypeError, time, tzinfo=1)
+
+    def test_iso(self):
+        t = time(1, 2, 3, 4000)
+        self.assertEqual(t.isoformat(), "01:02:03.004000")
+        self.assertEqual(t.isoformat("milliseconds"), "01:02:03.004")
+        self.assertEqual(t.isoformat(timespec="minutes"), "01:02")
+        self.assertRaises(ValueError, t.isoformat, "days")
+        self.assertEqual(repr(t), "datetime.time(1, 2, 3, 4000)")
+        self.assertEqual(time.fromisoformat("01:02:03.004"), t)
+        aware = time.fromisoformat("10:00+05:30")
+        self.assertEqual(aware.utcoffset(), timedelta(hours=5, minutes=30))
+        self.assertEqual(str(aware), "10:00:00+05:30")
+        self.assertEqual(t.strftime("%H-%M-%S.%f"), "01-02-03.004000")
+
+    def test_compare(self):
+        self.assertLess(time(1), time(2))
+        self.assertEqual(time(1, fold=1), time(1))
+        utc = time(12, tzinfo=timezone.utc)
+        plus1 = time(13, tzinfo=timezone(timedelta(hours=1)))
+        self.assertEqual(utc, plus1)
+        self.assertEqual(hash(utc), hash(plus1))
+        self.assertNotEqual(time(12), utc)
+        self.assertRaises(TypeError, lambda: time(12) < utc)
+
+    def test_pickle(self):
+        for t in (time(1, 2, 3, 4), time(23, 59, fold=1), time(5, tzinfo=timezone(timedelta(hours=-3), "X"))):
+            for proto in range(pickle.HIGHEST_PROTOCOL + 1):
+                t2 = pickle.loads(pickle.dumps(t, proto))
+                self.assertEqual(t2, t)
+                self.assertEqual(t2.tzinfo, t.tzinfo)
+                if proto > 3:
+                    self.assertEqual(t2.fold, t.fold)
+
+
+class DateTimeTest(unittest.TestCase):
+
+    def test_fields(self):
+        dt = datetime(2021, 7, 4, 12, 30, 15, 999999)
+        self.assertEqual((dt.year, dt.month, dt.day, dt.hour, dt.minute, dt.second, dt.microsecond), (2021, 7, 4, 12, 30, 15, 999999))
+        self.assertEqual(dt.date(), date(2021, 7, 4))
+        self.assertEqual(dt.time(), time(12, 30, 15, 999999))
+        self.assertIsInstance(dt, date)
+        self.assertEqual(datetime.combine(date(2021, 7, 4), time(1, tzinfo=timezone.utc)), datetime(2021, 7, 4, 1, tzinfo=timezone.utc))
+
+    def test_iso(self):
+        dt = datetime(2021, 7, 4, 12, 30, tzinfo=timezone(timedelta(hours=-4)))
+        self.assertEqual(dt.isoformat(), "2021-07-04T12:30:00-04:00")
+        self.assertEqual(dt.isoformat(" ", "hours"), "2021-07-04 12-04:00")
+        self.assertEqual(str(dt), "2021-07-04 12:30:00-04:00")
+        self.assertEqual(repr(datetime(2021, 7, 4, 12, 30)), "datetime.datetime(2021, 7, 4, 12, 30)")
+        self.assertEqual(datetime.fromisoformat("2021-07-04T12:30:00-04:00"), dt)
+        self.assertEqual(datetime.fromisoformat("2021-07-04"), datetime(2021, 7, 4))
+        self.assertEqual(datetime.fromisoformat("2021-07-04 12:30:00.123456"), datetime(2021, 7, 4, 12, 30, 0, 123456))
+        self.assertRaises(ValueError, datetime.fromisoformat, "2021-07-04T")
+        self.assertEqual(dt.strftime("%Y-%m-%d %H:%M %z %Z"), "2021-07-04 12:30 -0400 UTC-04:00")
+        self.assertEqual(datetime.strptime("2021-07-04 12:30", "%Y-%m-%d %H:%M"), datetime(2021, 7, 4, 12, 30))
+
+    def test_timestamp(self):
+        self.assertEqual(datetime.utcfromtimestamp(0), datetime(1970, 1, 1))
+        self.assertEqual(datetime.fromtimestamp(1.5, timezone.utc), datetime(1970, 1, 1, 0, 0, 1, 500000, tzinfo=timezone.utc))
+        self.assertEqual(datetime(1970, 1, 2, tzinfo=timezone.utc).timestamp(), 86400.0)
+        self.assertEqual(datetime.utcfromtimestamp(-1.000001), datetime(1969, 12, 31, 23, 59, 58, 999999))
+        self.assertEqual(datetime.utcfromtimestamp(0.0000005), datetime(1970, 1, 1))
+        self.assertEqual(datetime.utcfromtimestamp(0.0000015), datetime(1970, 1, 1, 0, 0, 0, 2))
+        for ts in (0, 1e9, 1.6e9 + 0.25):
+            self.assertEqual(datetime.fromtimestamp(ts).timestamp(), ts)
+        self.assertRaises(ValueError, datetime.utcfromtimestamp, float("nan"))
+
+    def test_arithmetic(self):
+        dt = datetime(2021, 12, 31, 23, 59, 59, 999999)
+        self.assertEqual(dt + timedelta(microseconds=1), datetime(2022, 1, 1))
+        self.assertEqual(dt - datetime(2021, 12, 31), timedelta(hours=24, microseconds=-1))
+        a = datetime(2021, 1, 1, 12, tzinfo=timezone.utc)
+        b = datetime(2021, 1, 1, 12, tzinfo=FixedOffset(60, "X"))
+        self.assertEqual(a - b, timedelta(hours=1))
+        self.assertRaises(TypeError, lambda: a - datetime(2021, 1, 1))
+        self.assertRaises(OverflowError, lambda: datetime.max + timedelta(microseconds=1))
+
+    def test_compare(self):
+        a = datetime(2021, 1, 1, 12, tzinfo=timezone.utc)
+        b = datetime(2021, 1, 1, 13, tzinfo=FixedOffset(60, "X"))
+        self.assertEqual(a, b)
+        self.assertEqual(hash(a), hash(b))
+        self.assertNotEqual(a, datetime(2021, 1, 1, 12))
+        self.assertRaises(TypeError, lambda: a < datetime(2021, 1, 1, 12))
+        self.assertNotEqual(datetime(2021, 1, 1), date(2021, 1, 1))
+        self.assertRaises(TypeError, lambda: datetime(2021, 1, 1) < date(2021, 1, 1))
+
+    def test_astimezone(self):
+        a = datetime(2021, 1, 1, 12, tzinfo=timezone.utc)
+        b = a.astimezone(FixedOffset(-90, "Y"))
+        self.assertEqual((b.hour, b.minute), (10, 30))
+        self.assertEqual(b, a)
+        c = a.astimezone(timezone(timedelta(hours=2)))
+        self.assertEqual(c.hour, 14)
+        self.assertIsNotNone(a.astimezone().tzinfo)
+
+    def test_subclass(self):
+        class MyDateTime(datetime):
+            pass
+
+        dt = MyDateTime(2021, 1, 1)
+        self.assertIs(type(dt + timedelta(1)), MyDateTime)
+        self.assertIs(type(MyDateTime.now()), MyDateTime)
+        self.assertIs(type(MyDateTime.today()), MyDateTime)
+        self.assertIs(type(MyDateTime.fromisoformat("2021-01-01")), MyDateTime)
+
+    def test_pickle(self):
+        for dt in (datetime(2021, 7, 4, 1, 2, 3, 4), datetime(2021, 11, 7, 1, 30, fold=1),
+                   datetime(2021, 1, 1, tzinfo=timezone(timedelta(minutes=30), "half")),
+                   datetime(2021, 1, 1, tzinfo=FixedOffset(60, "X"))):
+            for proto in range(pickle.HIGHEST_PROTOCOL + 1):
+                dt2 = pickle.loads(pickle.dumps(dt, proto))
+                self.assertEqual(dt2, dt)
+                if proto > 3:
+                    self.assertEqual(dt2.fold, dt.fold)
+
+
+class TimeZoneTest(unittest.TestCase):
+
+    def test_timezone(self):
+        self.assertIs(timezone(timedelta(0)), timezone.utc)
+        self.assertEqual(repr(timezone.utc), "datetime.timezone.utc")
+        tz = timezone(timedelta(hours=5, minutes=30), "IST")
+        self.assertEqual(repr(tz), "datetime.timezone(datetime.timedelta(seconds=19800), 'IST')")
+        self.assertEqual(str(timezone(timedelta(hours=-3))), "UTC-03:00")
+        self.assertEqual(tz.tzname(None), "IST")
+        self.assertIsNone(tz.dst(None))
+        self.assertEqual(timezone(timedelta(hours=1)), timezone(timedelta(hours=1), "other"))
+        self.assertRaises(ValueError, timezone, timedelta(hours=24))
+        self.assertRaises(TypeError, timezone, 1)
+        self.assertRaises(TypeError, tz.utcoffset, 1)
+        self.assertEqual(timezone.max.utcoffset(None), timedelta(hours=23, minutes=59))
+        self.assertEqual(pickle.loads(pickle.dumps(tz)), tz)
+
+    def test_tzinfo(self):
+        self.assertRaises(NotImplementedError, tzinfo().utcoffset, None)
+        tz = FixedOffset(120, "Z")
+        utc = datetime(2021, 1, 1, 22, tzinfo=tz)
+        self.assertEqual(tz.fromutc(utc), datetime(2021, 1, 2, 0, tzinfo=tz))
+        self.assertRaises(ValueError, tz.fromutc, datetime(2021, 1, 1))
+        self.assertRaises(TypeError, tz.fromutc, date(2021, 1, 1))
+        self.assertEqual(datetime.fromtimestamp(0, tz), datetime(1970, 1, 1, 2, tzinfo=tz))
+
+
+if __name__ == '__main__':
+    unittest.main()
@@ -0,0 +1,283 @@
+# Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+import decimal
+import pickle
+import unittest
+from fractions import Fraction
+from decimal import Decimal, Context, localcontext, getcontext, setcontext, DefaultContext, \
+    InvalidOperation, DivisionByZero, Inexact, Rounded, Overflow, Underflow, FloatOperation, \
+    ROUND_HALF_UP, ROUND_DOWN, ROUND_05UP, ROUND_CEILING, ROUND_FLOOR
+
+
+class ConstructionTest(unittest.TestCase):
+
+    def test_from_string(self):
+        self.assertEqual(str(Decimal("1.50")), "1.50")
+        self.assertEqual(str(Decimal("  -0.00e+3\n")), "-0E+1")
+        self.assertEqual(str(Decimal("1_000.5")), "1000.5")
+        self.assertEqual(str(Decimal("123456789012345678901234567890.123")), "123456789012345678901234567890.123")
+        self.assertEqual(str(Decimal("inf")), "Infinity")
+        self.assertEqual(str(Decimal("-sNaN12")), "-sNaN12")
+        self.assertEqual(str(Decimal("1E-7")), "1E-7")
+        self.assertEqual(str(Decimal("0.000001")), "0.000001")
+        self.assertEqual(str(Decimal("0.0000001")), "1E-7")
+        self.assertEqual(repr(Decimal("12.5")), "Decimal('12.5')")
+        with localcontext() as ctx:
+            ctx.traps[InvalidOperation] = False
+            self.assertTrue(Decimal("abc").is_nan())
+            self.assertTrue(ctx.flags[InvalidOperation])
+        self.assertRaises(InvalidOperation, Decimal, "1.2.3")
+
+    def test_from_int_and_float(self):
+        self.assertEqual(str(Decimal(-42)), "-42")
+        self.assertEqual(str(Decimal(2 ** 100)), "1267650600228229401496703205376")
+        self.assertEqual(str(Decimal(0.5)), "0.5")
+        self.assertEqual(str(Decimal(0.1)), "0.1000000000000000055511151231257827021181583404541015625")
+        self.assertEqual(str(Decimal.from_float(-2.0)), "-2")
+        self.assertTrue(Decimal(float("nan")).is_nan())
+        self.assertEqual(str(Decimal(float("-inf"))), "-Infinity")
+
+    def test_from_tuple(self):
+        self.assertEqual(str(Decimal((1, (1, 2, 3), -2))), "-1.23")
+        self.assertEqual(str(Decimal((0, (), "F"))), "Infinity")
+        self.assertRaises(ValueError, Decimal, (2, (1,), 0))
+        self.assertRaises(ValueError, Decimal, (0, (10,), 0))
+        self.assertEqual(Decimal("-1.23").as_tuple(), (1, (1, 2, 3), -2))
+        self.assertEqual(Decimal("-1.23").as_tuple().exponent, -2)
+
+    def test_conversions(self):
+        self.assertEqual(int(Decimal("-7.9")), -7)
+        self.assertEqual(round(Decimal("2.5")), 2)
+        self.assertEqual(round(Decimal("3.5")), 4)
+        self.assertEqual(str(round(Decimal("1.2345"), 2)), "1.23")
+        self.assertEqual(float(Decimal("1.5e3")), 1500.0)
+        self.assertEqual(float(Decimal("0.1")), 0.1)
+        self.assertEqual(Decimal("0.75").as_integer_ratio(), (3, 4))
+        self.assertRaises(ValueError, int, Decimal("NaN"))
+        self.assertRaises(OverflowError, int, Decimal("Infinity"))
+
+
+class ArithmeticTest(unittest.TestCase):
+
+    def test_basic(self):
+        self.assertEqual(str(Decimal("1.1") + Decimal("2.2")), "3.3")
+        self.assertEqual(str(Decimal("1.30") - 1), "0.30")
+        self.assertEqual(str(3 * Decimal("1.25")), "3.75")
+        self.assertEqual(str(Decimal(1) / Decimal(3)), "0.3333333333333333333333333333")
+        self.assertEqual(str(Decimal(-7) // Decimal(2)), "-3")
+        self.assertEqual(str(Decimal(-7) % Decimal(2)), "-1")
+        self.assertEqual(divmod(Decimal(7), Decimal(2)), (Decimal(3), Decimal(1)))
+        self.assertEqual(str(-Decimal("0")), "0")
+        self.assertEqual(str(abs(Decimal("-1.5"))), "1.5")
+        self.assertRaises(TypeError, lambda: Decimal(1) + 1.0)
+
+    def test_signals(self):
+        self.assertRaises(DivisionByZero, lambda: Decimal(1) / 0)
+        self.assertRaises(InvalidOperation, lambda: Decimal(0) / 0)
+        with localcontext() as ctx:
+            ctx.traps[DivisionByZero] = False
+            self.assertEqual(str(Decimal(-1) / 0), "-Infinity")
+            self.assertTrue(ctx.flags[DivisionByZero])
+        with localcontext(Context(prec=3, traps=[Inexact])):
+            self.assertRaises(Inexact, lambda: Decimal(1) / 3)
+            self.assertEqual(str(Decimal("1.5") * 2), "3.0")
+
+    def test_rounding(self):
+        ctx = Context(prec=3, rounding=ROUND_HALF_UP)
+        self.assertEqual(str(ctx.add(Decimal("1.005"), 0)), "1.01")
+        self.assertEqual(str(ctx.plus(Decimal("123456"))), "1.23E+5")
+        self.assertTrue(ctx.flags[Rounded])
+        self.assertTrue(ctx.flags[Inexact])
+        ctx.rounding = ROUND_DOWN
+        self.assertEqual(str(ctx.multiply(Decimal("9.99"), Decimal("9.99"))), "99.8")
+        ctx.rounding = ROUND_05UP
+        self.assertEqual(str(ctx.plus(Decimal("1.201"))), "1.21")
+        self.assertEqual(str(ctx.plus(Decimal("1.251"))), "1.26")
+        self.assertEqual(str(ctx.plus(Decimal("1.261"))), "1.26")
+        ctx.rounding = ROUND_CEILING
+        self.assertEqual(str(ctx.plus(Decimal("-1.239"))), "-1.23")
+        ctx.rounding = ROUND_FLOOR
+        self.assertEqual(str(ctx.plus(Decimal("-1.231"))), "-1.24")
+
+    def test_overflow_underflow(self):
+        ctx = Context(prec=3, Emin=-5, Emax=5, traps=[])
+        self.assertEqual(str(ctx.multiply(Decimal("1e5"), 100)), "Infinity")
+        self.assertTrue(ctx.flags[Overflow])
+        self.assertEqual(str(ctx.divide(Decimal("1e-5"), 100)), "1E-7")
+        self.assertTrue(ctx.flags[Underflow] is False)
+        self.assertEqual(str(ctx.divide(Decimal("1e-5"), 10 ** 5)), "0E-7")
+        self.assertTrue(ctx.flags[Underflow])
+        ctx.clamp = 1
+        self.assertEqual(str(ctx.create_decimal("1e5")), "1.00E+5")
+
+    def test_quantize(self):
+        self.assertEqual(str(Decimal("7.325").quantize(Decimal(".01"), rounding=ROUND_DOWN)), "7.32")
+        self.assertEqual(str(Decimal("7.325").quantize(Decimal(".01"))), "7.32")
+        self.assertEqual(str(Decimal("7.335").quantize(Decimal(".01"))), "7.34")
+        self.assertEqual(str(Decimal("1.41421356").quantize(Decimal("1.000"))), "1.414")
+        self.assertRaises(InvalidOperation, Decimal("1e30").quantize, Decimal("0.01"))
+        self.assertEqual(str(Decimal("-1.50").normalize()), "-1.5")
+        self.assertEqual(str(Decimal("120.00").normalize()), "1.2E+2")
+        self.assertEqual(str(Decimal("2.5").to_integral_value()), "2")
+
+    def test_delegated_operations(self):
+        self.assertEqual(str(Decimal(2).sqrt()), "1.414213562373095048801688724")
+        self.assertEqual(str(Decimal(2) ** 10), "1024")
+        self.assertEqual(str(2 ** Decimal(3)), "8")
+        self.assertEqual(str(Decimal(1).exp()), "2.718281828459045235360287471")
+        self.assertEqual(str(Decimal(3).max(Decimal(5))), "5")
+        self.assertEqual(Decimal("1.5").number_class(), "+Normal")
+        self.assertEqual(format(Decimal("1234.5678"), ",.2f"), "1,234.57")
+        with localcontext() as ctx:
+            ctx.traps[InvalidOperation] = False
+            self.assertTrue(Decimal(-1).sqrt().is_nan())
+            self.assertTrue(ctx.flags[InvalidOperation])
+        self.assertRaises(InvalidOperation, Decimal(-1).sqrt)
+
+
+class ComparisonTest(unittest.TestCase):
+
+    def test_compare(self):
+        self.assertTrue(Decimal("1.0") == Decimal(1))
+        self.assertTrue(Decimal("1.0") == 1)
+        self.assertTrue(Decimal("0.5") == 0.5)
+        self.assertTrue(Decimal("0.1") != 0.1)
+        self.assertTrue(Decimal("1e100") > 10 ** 99)
+        self.assertTrue(Decimal("-0") == Decimal("0"))
+        self.assertFalse(Decimal("NaN") == Decimal("NaN"))
+        self.assertRaises(InvalidOperation, lambda: Decimal("NaN") < 1)
+        self.assertEqual(sorted([Decimal("2.5"), Decimal(1), Decimal("-3")]), [Decimal("-3"), Decimal(1), Decimal("2.5")])
+        self.assertEqual(str(Decimal(1).compare(Decimal(2))), "-1")
+
+    def test_compare_rational(self):
+        self.assertTrue(Decimal("0.5") == Fraction(1, 2))
+        self.assertTrue(Fraction(1, 2) == Decimal("0.5"))
+        self.assertTrue(Decimal(1) < Fraction(3, 2))
+        self.assertTrue(Decimal("-1.25") <= Fraction(-5, 4))
+        self.assertTrue(Decimal("0.3333") != Fraction(1, 3))
+        self.assertTrue(Decimal("0.3334") > Fraction(1, 3))
+        self.assertTrue(Decimal("Infinity") > Fraction(10 ** 100, 3))
+        self.assertFalse(Decimal("NaN") == Fraction(1, 2))
+        self.assertRaises(InvalidOperation, lambda: Decimal("NaN") < Fraction(1, 2))
+        self.assertRaises(TypeError, lambda: Decimal(1) < "1")
+
+    def test_compare_complex(self):
+        with localcontext() as ctx:
+            self.assertTrue(Decimal("1.5") == complex(1.5, 0))
+            self.assertTrue(ctx.flags[FloatOperation])
+            self.assertTrue(Decimal(1) != complex(1, 1))
+            self.assertFalse(Decimal(1) == 1j)
+            self.assertRaises(TypeError, lambda: Decimal(1) < complex(2, 0))
+
+    def test_float_operation(self):
+        with localcontext() as ctx:
+            self.assertTrue(Decimal(1) < 1.5)
+            self.assertTrue(ctx.flags[FloatOperation])
+            ctx.traps[FloatOperation] = True
+            self.assertRaises(FloatOperation, Decimal, 1.5)
+            self.assertRaises(FloatOperation, lambda: Decimal(1) < 1.5)
+            self.assertFalse(Decimal(1) == 1.5)
+
+    def test_hash(self):
+        self.assertEqual(hash(Decimal(12)), hash(12))
+        self.assertEqual(hash(Decimal("1.5")), hash(1.5))
+        self.assertEqual(hash(Decimal("100E-2")), hash(1))
+        self.assertEqual(hash(Decimal(2 ** 70)), hash(2 ** 70))
+        self.assertEqual(hash(Decimal("-Infinity")), hash(float("-inf")))
+        self.assertRaises(TypeError, hash, Decimal("sNaN"))
+
+
+class ContextTest(unittest.TestCase):
+
+    def test_attributes(self):
+        ctx = Context(prec=10, rounding=ROUND_HALF_UP, Emin=-10, Emax=10, capitals=0, clamp=1, flags=[], traps=[Overflow])
+        self.assertEqual((ctx.prec, ctx.rounding, ctx.Emin, ctx.Emax, ctx.capitals, ctx.clamp), (10, ROUND_HALF_UP, -10, 10, 0, 1))
+        self.assertEqual(ctx.Etiny(), -19)
+        self.assertEqual(ctx.Etop(), 1)
+        self.assertEqual(repr(ctx), "Context(prec=10, rounding=ROUND_HALF_UP, Emin=-10, Emax=10, capitals=0, clamp=1, flags=[], traps=[Overflow])")
+        self.assertRaises(ValueError, setattr, ctx, "prec", 0)
+        self.assertRaises(ValueError, setattr, ctx, "Emax", -1)
+        self.assertRaises(ValueError, setattr, ctx, "clamp", 2)
+        self.assertRaises(TypeError, setattr, ctx, "rounding", 1)
+        self.assertEqual(str(ctx.create_decimal("1.23E+5")), "1.2300E+5")
+        self.assertEqual(ctx.to_sci_string(Decimal("1E+5")), "1e+5")
+
+    def test_flags_and_traps(self):
+        ctx = Context()
+        self.assertEqual(ctx.traps, {s: s in (InvalidOperation, DivisionByZero, Overflow) for s in ctx.traps})
+        self.assertFalse(any(ctx.flags.values()))
+        ctx.divide(Decimal(1), Decimal(3))
+        self.assertTrue(ctx.flags[Inexact])
+        ctx.clear_flags()
+        self.assertFalse(ctx.flags[Inexact])
+        ctx.clear_traps()
+        self.assertEqual(str(ctx.divide(Decimal(1), 0)), "Infinity")
+        self.assertRaises(KeyError, ctx.traps.__setitem__, ValueError, True)
+
+    def test_thread_context(self):
+        ctx = getcontext()
+        self.assertIs(getcontext(), ctx)
+        with localcontext() as local:
+            local.prec = 5
+            self.assertIs(getcontext(), local)
+            self.assertEqual(str(Decimal(1) / 7), "0.14286")
+        self.assertIs(getcontext(), ctx)
+        setcontext(DefaultContext)
+        self.assertIsNot(getcontext(), DefaultContext)
+        self.assertEqual(getcontext().prec, DefaultContext.prec)
+        setcontext(ctx)
+        self.assertRaises(TypeError, setcontext, 1)
+
+    def test_pickle(self):
+        ctx = Context(prec=5, traps=[Inexact])
+        copy = pickle.loads(pickle.dumps(ctx))
+        self.assertEqual(repr(copy), repr(ctx))
+        d = Decimal("-1.25E+10")
+        self.assertEqual(pickle.loads(pickle.dumps(d)), d)
+
+
+class ModuleTest(unittest.TestCase):
+
+    def test_module(self):
+        self.assertEqual(Context(prec=decimal.MAX_PREC).prec, decimal.MAX_PREC)
+        self.assertEqual(decimal.MIN_EMIN, -decimal.MAX_EMAX)
+        self.assertTrue(issubclass(DivisionByZero, ZeroDivisionError))
+        self.assertTrue(issubclass(FloatOperation, TypeError))
+        self.assertEqual(DivisionByZero.__module__, "decimal")
+        import numbers
+        self.assertIsInstance(Decimal(1), numbers.Number)
@@ -0,0 +1,230 @@
+# Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+import functools
+import unittest
+
+
+class LruCacheTests(unittest.TestCase):
+
+    def test_builtin_wrapper(self):
+        import _functools
+        self.assertIs(functools._lru_cache_wrapper, _functools._lru_cache_wrapper)
+
+    def test_hits_and_misses(self):
+        calls = []
+
+        @functools.lru_cache(maxsize=2)
+        def double(x):
+            calls.append(x)
+            return x * 2
+
+        self.assertEqual(double(3), 6)
+        self.assertEqual(double(3), 6)
+        self.assertEqual(double("a"), "aa")
+        self.assertEqual(double("a"), "aa")
+        self.assertEqual(calls, [3, "a"])
+        info = double.cache_info()
+        self.assertEqual((info.hits, info.misses, info.maxsize, info.currsize), (2, 2, 2, 2))
+        double.cache_clear()
+        self.assertEqual(double.cache_info(), functools._CacheInfo(0, 0, 2, 0))
+
+    def test_lru_eviction_order(self):
+        calls = []
+
+        @functools.lru_cache(maxsize=2)
+        def f(x):
+            calls.append(x)
+            return x
+
+        f(1)
+        f(2)
+        f(1)  # 2 is now the least recently used entry
+        f(3)
+        f(1)
+        f(2)
+        self.assertEqual(calls, [1, 2, 3, 2])
+        self.assertEqual(f.cache_info().currsize, 2)
+
+    def test_growing_bounded_cache(self):
+        @functools.lru_cache(maxsize=100)
+        def f(x):
+            return -x
+
+        for i in range(150):
+            self.assertEqual(f(i), -i)
+        for i in range(50, 150):
+            self.assertEqual(f(i), -i)
+        info = f.cache_info()
+        self.assertEqual((info.hits, info.misses, info.currsize), (100, 150, 100))
+
+    def test_unbounded_and_uncached(self):
+        @functools.cache
+        def unbounded(x, y=0):
+            return x + y
+
+        for i in range(10):
+            unbounded(i, y=1)
+            unbounded(i, y=1)
+        self.assertEqual(unbounded.cache_info(), functools._CacheInfo(10, 10, None, 10))
+
+        @functools.lru_cache(maxsize=0)
+        def uncached(x):
+            return x
+
+        uncached(1)
+        uncached(1)
+        self.assertEqual(uncached.cache_info(), functools._CacheInfo(0, 2, 0, 0))
+
+    def test_keys(self):
+        calls = []
+
+        @functools.lru_cache(maxsize=None)
+        def f(*args, **kwargs):
+            calls.append((args, kwargs))
+            return len(calls)
+
+        self.assertEqual(f(1, 2), f(1.0, 2))
+        self.assertEqual(f(1, 2), f(1, 2))
+        self.assertNotEqual(f((1,)), f(1))
+        self.assertNotEqual(f(1, a=2), f(1, 2))
+        self.assertEqual(f(1, a=2), f(1, a=2))
+        self.assertEqual(f(), f())
+
+        @functools.lru_cache(maxsize=None, typed=True)
+        def g(x, y=None):
+            return (type(x), type(y))
+
+        self.assertEqual(g(1), (int, type(None)))
+        self.assertEqual(g(1.0), (float, type(None)))
+        self.assertEqual(g(1, y=1.0), (int, float))
+        self.assertEqual(g(1, y=1), (int, int))
+        self.assertEqual(g.cache_info().currsize, 4)
+
+    def test_unhashable_argument(self):
+        @functools.lru_cache
+        def f(x):
+            return x
+
+        self.assertRaises(TypeError, f, [])
+
+    def test_wrapper_attributes(self):
+        def f(x):
+            """doc of f"""
+            return x
+
+        cached = functools.lru_cache(f)
+        self.assertIs(cached.__wrapped__, f)
+        self.assertEqual(cached.__doc__, "doc of f")
+        self.assertEqual(cached.__name__, "f")
+        import copy
+        self.assertIs(copy.copy(cached), cached)
+        self.assertIs(copy.deepcopy(cached), cached)
+
+    def test_method(self):
+        class A:
+            @functools.lru_cache
+            def m(self, x):
+                return (self, x)
+
+        a = A()
+        self.assertEqual(a.m(1), (a, 1))
+        self.assertEqual(a.m(1), (a, 1))
+        self.assertIsInstance(A.__dict__['m'], functools._lru_cache_wrapper)
+        self.assertEqual(A.m.cache_info().hits, 1)
+
+    def test_recursion(self):
+        @functools.lru_cache(maxsize=8)
+        def fib(n):
+            return n if n < 2 else fib(n - 1) + fib(n - 2)
+
+        self.assertEqual(fib(80), 23416728348467685)
+
+    def test_reentrant_eviction(self):
+        actions = []
+
+        class Key:
+            def __init__(self, value, hash_value):
+                self.value = value
+                self.hash_value = hash_value
+
+            def __hash__(self):
+                return self.hash_value
+
+            def __eq__(self, other):
+                # runs while the eviction compares the colliding keys 'a' and 'b'
+                if actions:
+                    actions.pop()()
+                return self.value == other.value
+
+        @functools.lru_cache(maxsize=2)
+        def f(key):
+            return key.value * 10
+
+        a = Key(1, 0)
+        b = Key(2, 0)
+        self.assertEqual(f(a), 10)
+        self.assertEqual(f(b), 20)
+        self.assertEqual(f(a), 10)
+        # 'b' is the oldest entry now, evicting it compares it with 'a'
+        c = Key(3, 5)
+        d = Key(4, 7)
+        actions.append(lambda: self.assertEqual(f(c), 30))
+        self.assertEqual(f(d), 40)
+        self.assertEqual(actions, [])
+        self.assertEqual(f.cache_info().currsize, 2)
+        hits = f.cache_info().hits
+        self.assertEqual(f(c), 30)
+        self.assertEqual(f(d), 40)
+        self.assertEqual(f.cache_info().hits, hits + 2)
+
+        f.cache_clear()
+        self.assertEqual(f(a), 10)
+        self.assertEqual(f(b), 20)
+        self.assertEqual(f(a), 10)
+        actions.append(f.cache_clear)
+        self.assertEqual(f(d), 40)
+        self.assertEqual(actions, [])
+        for key in (a, b, c, d, a, b):
+            self.assertEqual(f(key), key.value * 10)
+        self.assertLessEqual(f.cache_info().currsize, 2)
+
+    def test_invalid_arguments(self):
+        self.assertRaises(TypeError, functools._lru_cache_wrapper, 1, 10, False, functools._CacheInfo)
+        self.assertRaises(TypeError, functools._lru_cache_wrapper, len, "10", False, functools._CacheInfo)
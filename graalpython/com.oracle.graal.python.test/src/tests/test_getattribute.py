@@ -76,3 +76,73 @@ def test_key_is_string():
     assert_raises(TypeError, types.ModuleType.__getattribute__, list, type)
     assert_raises(TypeError, types.MethodType.__getattribute__, list, type)
 
+
+
+def test_attribute_site_invalidation():
+    class Point:
+        def __init__(self, x):
+            self.x = x
+
+        def get(self):
+            return self.x
+
+    def load(p):
+        return p.x
+
+    def store(p, v):
+        p.x = v
+
+    def call(p):
+        return p.get()
+
+    p = Point(1)
+    for i in range(3):
+        store(p, i)
+        assert load(p) == i
+        assert call(p) == i
+
+    Point.get = lambda self: -self.x
+    assert call(p) == -2
+
+    Point.x = property(lambda self: 42, lambda self, v: None)
+    assert load(p) == 42
+    store(p, 5)
+    assert p.__dict__['x'] == 2
+    del Point.x
+
+    Point.__getattribute__ = lambda self, name: "intercepted"
+    assert load(p) == "intercepted"
+    del Point.__getattribute__
+    assert load(p) == 2
+
+    stored = []
+    Point.__setattr__ = lambda self, name, v: stored.append(v)
+    store(p, 7)
+    assert stored == [7]
+    assert load(p) == 2
+    del Point.__setattr__
+
+    del p.x
+    assert_raises(AttributeError, load, p)
+    store(p, 8)
+    assert load(p) == 8
+
+
+def test_attribute_site_shape_change():
+    class A:
+        def __init__(self):
+            self.a = 1
+            self.b = 2
+
+    class B:
+        def __init__(self):
+            self.b = 3
+
+    def load_b(o):
+        return o.b
+
+    objs = [A(), B(), A()]
+    for i in range(3):
+        assert [load_b(o) for o in objs] == [2, 3, 2]
+    objs[0].__class__ = B
+    assert load_b(objs[0]) == 2
@@ -0,0 +1,122 @@
+# Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+import hashlib
+import threading
+import unittest
+
+
+class HashlibTest(unittest.TestCase):
+
+    def test_known_digests(self):
+        self.assertEqual(hashlib.md5(b'abc').hexdigest(), '900150983cd24fb0d6963f7d28e17f72')
+        self.assertEqual(hashlib.sha1(b'abc').hexdigest(), 'a9993e364706816aba3e25717850c26c9cd0d89d')
+        self.assertEqual(hashlib.sha224(b'abc').hexdigest(), '23097d223405d8228642a477bda255b32aadbce4bda0b3f7e36c9da7')
+        self.assertEqual(hashlib.sha256(b'abc').hexdigest(), 'ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad')
+        self.assertEqual(hashlib.sha384(b'abc').hexdigest(),
+                         'cb00753f45a35e8bb5a03d699ac65007272c32ab0eded1631a8b605a43ff5bed8086072ba1e7cc2358baeca134c825a7')
+        self.assertEqual(hashlib.sha512(b'abc').hexdigest(),
+                         'ddaf35a193617abacc417349ae20413112e6fa4e89a97ea20a9eeee64b55d39a2192992a274fc1a836ba3c23a3feebbd454d4423643ce80e2a9ac94fa54ca49f')
+        self.assertEqual(hashlib.sha3_256(b'abc').hexdigest(), '3a985da74fe225b2045c172d6bd390bd855f086e3e9d525b46bfe24511431532')
+        self.assertEqual(hashlib.shake_128(b'').hexdigest(10), '7f9c2ba4e88f827d6160')
+        self.assertEqual(hashlib.shake_256(b'').hexdigest(10), '46b9dd2b0ba88d13233b')
+        self.assertEqual(hashlib.blake2b(b'abc').hexdigest(),
+                         'ba80a53f981c4d0d6a2797b69f12f6e94c212f14685ac4b74b12bb6fdbffa2d17d87c5392aab792dc252d5de4533cc9518d38aa8dbf1925ab92386edd4009923')
+        self.assertEqual(hashlib.blake2s(b'abc').hexdigest(), '508c5e8c327c14e2e1a72ba34eeb452f37458b209ed63a294d999b4c86675982')
+
+    def test_attributes(self):
+        for name, digest_size, block_size in [('md5', 16, 64), ('sha1', 20, 64), ('sha256', 32, 64), ('sha512', 64, 128),
+                                              ('sha3_224', 28, 144), ('sha3_512', 64, 72), ('shake_128', 0, 168),
+                                              ('blake2b', 64, 128), ('blake2s', 32, 64)]:
+            h = hashlib.new(name)
+            self.assertEqual(h.name, name)
+            self.assertEqual(h.digest_size, digest_size)
+            self.assertEqual(h.block_size, block_size)
+        self.assertEqual(hashlib.blake2b.SALT_SIZE, 16)
+        self.assertEqual(hashlib.blake2s.MAX_KEY_SIZE, 32)
+        self.assertTrue({'blake2b', 'sha3_256', 'shake_128'} <= hashlib.algorithms_guaranteed)
+
+    def test_update_and_copy(self):
+        data = bytes(range(256)) * 40
+        for name in ['md5', 'sha1', 'sha384', 'sha3_384', 'blake2b', 'blake2s']:
+            h = hashlib.new(name)
+            h.update(data[:100])
+            h2 = h.copy()
+            h.update(bytearray(data[100:]))
+            self.assertEqual(h.digest(), hashlib.new(name, data).digest())
+            h2.update(memoryview(data)[100:])
+            self.assertEqual(h2.hexdigest(), h.hexdigest())
+        h = hashlib.shake_256(b'a')
+        h2 = h.copy()
+        h2.update(b'b')
+        self.assertEqual(h2.hexdigest(20), hashlib.shake_256(b'ab').hexdigest(20))
+
+    def test_blake2_parameters(self):
+        h = hashlib.blake2b(b'abc', digest_size=20, key=b'k' * 64, salt=b's' * 16, person=b'p' * 16, fanout=2, depth=3,
+                            leaf_size=77, node_offset=2 ** 40, node_depth=4, inner_size=32, last_node=True)
+        self.assertEqual(h.hexdigest(), '6e342383872f39bd54a810b5c1684ded79de0552')
+        h = hashlib.blake2s(b'abc', digest_size=17, key=b'k' * 32, salt=b's' * 8, person=b'p' * 8, fanout=2, depth=3,
+                            leaf_size=2 ** 32 - 1, node_offset=2 ** 48 - 1, node_depth=4, inner_size=16, last_node=True)
+        self.assertEqual(h.hexdigest(), 'd01796380cbda502ef382b0ed54673c791')
+
+    def test_errors(self):
+        self.assertRaises(TypeError, hashlib.md5, 'abc')
+        self.assertRaises(TypeError, hashlib.sha256().update, 'abc')
+        self.assertRaises(ValueError, hashlib.blake2b, digest_size=65)
+        self.assertRaises(ValueError, hashlib.blake2s, salt=b'x' * 9)
+        self.assertRaises(ValueError, hashlib.blake2b, key=b'k' * 65)
+        self.assertRaises(ValueError, hashlib.blake2b, depth=0)
+        self.assertRaises(OverflowError, hashlib.blake2b, leaf_size=2 ** 32)
+        self.assertRaises(OverflowError, hashlib.blake2s, node_offset=2 ** 48)
+        self.assertRaises(ValueError, hashlib.shake_128().digest, -1)
+
+    def test_threaded_update(self):
+        data = b'x' * 100000
+        h = hashlib.sha256()
+
+        def run():
+            for _ in range(10):
+                h.update(data)
+
+        threads = [threading.Thread(target=run) for _ in range(4)]
+        for t in threads:
+            t.start()
+        for t in threads:
+            t.join()
+        self.assertEqual(h.hexdigest(), hashlib.sha256(data * 40).hexdigest())
@@ -0,0 +1,132 @@
+# Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+
+import _bisect
+import _heapq
+import random
+import unittest
+
+
+class HeapqTest(unittest.TestCase):
+
+    def check_heap(self, heap, is_max=False):
+        for pos in range(1, len(heap)):
+            parent = (pos - 1) >> 1
+            if is_max:
+                self.assertLessEqual(heap[pos], heap[parent])
+            else:
+                self.assertLessEqual(heap[parent], heap[pos])
+
+    def test_typed_storages(self):
+        for data in ([random.randrange(1000) for _ in range(200)],
+                     [random.randrange(1 << 40) for _ in range(200)],
+                     [random.random() for _ in range(200)],
+                     [str(random.randrange(1000)) for _ in range(200)]):
+            heap = []
+            for item in data:
+                _heapq.heappush(heap, item)
+                self.check_heap(heap)
+            self.assertEqual([_heapq.heappop(heap) for _ in range(len(data))], sorted(data))
+
+            heap = list(data)
+            _heapq.heapify(heap)
+            self.check_heap(heap)
+            self.assertEqual(_heapq.heapreplace(heap, data[0]), min(data))
+            self.check_heap(heap)
+
+            heap = list(data)
+            _heapq._heapify_max(heap)
+            self.check_heap(heap, is_max=True)
+            self.assertEqual(_heapq._heappop_max(heap), max(data))
+            self.check_heap(heap, is_max=True)
+
+    def test_storage_generalization(self):
+        heap = [1, 5, 3]
+        _heapq.heapify(heap)
+        _heapq.heappush(heap, 2.5)
+        _heapq.heappush(heap, 1 << 70)
+        self.assertEqual(_heapq.heappushpop(heap, 0.5), 0.5)
+        self.assertEqual(_heapq.heappushpop(heap, 4), 1)
+        self.assertEqual([_heapq.heappop(heap) for _ in range(len(heap))], [2.5, 3, 4, 5, 1 << 70])
+
+    def test_errors(self):
+        self.assertRaises(TypeError, _heapq.heappush, (), 1)
+        self.assertRaises(IndexError, _heapq.heappop, [])
+        self.assertRaises(IndexError, _heapq.heapreplace, [], 1)
+
+        class Evil:
+            def __lt__(self, other):
+                heap.clear()
+                return False
+
+        heap = [Evil() for _ in range(3)]
+        self.assertRaises(RuntimeError, _heapq.heappush, heap, Evil())
+
+
+class BisectTest(unittest.TestCase):
+
+    def test_typed_storages(self):
+        for data, x in (([1, 2, 2, 3, 5], 2), ([1, 2, 2, 3, 5], 4), ([1 << 40, 1 << 41, 1 << 41], 1 << 41),
+                        ([1 << 40, 1 << 41], 7), ([0.5, 1.5, 1.5, 2.5], 1.5), ([0.5, 1.5], 1), ([1, 2, 3], 2.0)):
+            self.assertEqual(_bisect.bisect_left(data, x), sum(1 for e in data if e < x))
+            self.assertEqual(_bisect.bisect_right(data, x), sum(1 for e in data if e <= x))
+            self.assertEqual(_bisect.bisect_right(data, x, 1, 2), min(max(1, sum(1 for e in data if e <= x)), 2))
+
+    def test_insort(self):
+        data = []
+        for x in (5, 1, 4, 1, 3.5, 2):
+            _bisect.insort_right(data, x)
+            _bisect.insort_left(data, x)
+        self.assertEqual(data, sorted([5, 1, 4, 1, 3.5, 2] * 2))
+
+        class MyList(list):
+            def insert(self, index, value):
+                super().insert(index, value * 10)
+
+        data = MyList([1, 2])
+        _bisect.insort_right(data, 3)
+        self.assertEqual(data, [1, 2, 30])
+
+    def test_args(self):
+        data = [1, 2, 3, 4]
+        self.assertEqual(_bisect.bisect_left(data, 3, hi=None), 2)
+        self.assertEqual(_bisect.bisect_left(data, 3, lo=3), 3)
+        self.assertEqual(_bisect.bisect_right(data, 3, 0, 2), 2)
+        self.assertRaises(ValueError, _bisect.bisect_left, data, 3, -1)
+        self.assertRaises(IndexError, _bisect.bisect_left, data, 3, 0, 10)
+        self.assertEqual(_bisect.bisect_right(range(10), 4), 5)
@@ -85,6 +85,24 @@ def test_string_interned():
     y='1234'
     assert id(x) == id(y) == id('1234') == id(sys.intern('1234')) == id(sys.intern(x)) == id(sys.intern(y))
 
+def test_ids_from_threads_are_unique():
+    import threading
+    strings = ["s%d" % i for i in range(200)]
+    objects = [object() for i in range(200)]
+    results = []
+
+    def collect():
+        results.append([id(o) for o in objects] + [id(s) for s in strings])
+
+    threads = [threading.Thread(target=collect) for i in range(4)]
+    for t in threads:
+        t.start()
+    for t in threads:
+        t.join()
+    assert len(results) == 4
+    assert all(r == results[0] for r in results)
+    assert len(set(results[0])) == 400
+
 # skip until is fixed: GR-28568
 # def test_string_noninterned():
 #     x = '1234'
@@ -82,6 +82,56 @@ def test_bigint_mul():
     assert 99999937497465632974931 * (2**100) == 126764980791447734004805377032945185921379990352429056
 
 
+def test_long_arithmetic_in_loops():
+    def grow(start, step, n):
+        # starts with int values, overflows to long and then to arbitrary precision
+        values = []
+        x = start
+        for i in range(n):
+            x = x * step + i
+            values.append(x)
+        return values
+
+    for _ in range(3):
+        values = grow(3, 1000, 10)
+        assert values[2] == 3000001002
+        assert values[-1] == 3000001002003004005006007008009
+        assert values == [3 * 1000 ** (i + 1) + sum(j * 1000 ** (i - j) for j in range(i + 1)) for i in range(10)]
+
+    def ops(a, b):
+        return (a + b, a - b, a * b, a // b, a % b, a << 3, a >> 3, a & b, a | b, a ^ b, a ** 2, -a, ~a, +a,
+                a < b, a <= b, a == b, a != b, a > b, a >= b, a / b)
+
+    for _ in range(3):
+        assert ops(2**40, 7) == (1099511627783, 1099511627769, 7696581394432, 157073089682, 2, 8796093022208,
+                                 137438953472, 0, 1099511627783, 1099511627783, 1208925819614629174706176,
+                                 -1099511627776, -1099511627777, 1099511627776,
+                                 False, False, False, True, True, True, 157073089682.2857)
+        assert ops(-2**40, -7)[3:5] == (157073089682, -2)
+        assert ops(2**62, 2)[0:3] == (2**62 + 2, 2**62 - 2, 2**63)
+        assert ops(-2**63, -1)[3] == 2**63
+        assert ops(-2**63, 5)[11] == 2**63
+
+    def iterate(values):
+        total = 0
+        for v in values:
+            total += v
+        return total
+
+    for _ in range(3):
+        assert iterate([2**40, 2**41, 3]) == 3298534883331
+        assert iterate([2**62, 2**62, 2**62]) == 3 * 2**62
+        assert iterate(x for x in [2**40, 2**70]) == 2**40 + 2**70
+        assert iterate([0.5, 2**40]) == 2**40 + 0.5
+
+    try:
+        ops(2**40, 0)
+    except ZeroDivisionError:
+        pass
+    else:
+        assert False, "expected ZeroDivisionError"
+
+
 def test_int_from_custom():
     class CustomInt4():
         def __int__(self):
@@ -621,6 +621,55 @@ if sys.implementation.name == "graalpy":
         else:
             assert False, "should throw a type error again"
 
+    def test_host_primitive_array_conversion():
+        import java
+        import array
+        ints = java.type("int[]")(3)
+        ints[0] = 1
+        ints[2] = -3
+        assert list(ints) == [1, 0, -3]
+        assert tuple(ints) == (1, 0, -3)
+        doubles = java.type("double[]")(2)
+        doubles[1] = 2.5
+        assert list(doubles) == [0.0, 2.5]
+        a = array.array('d', doubles)
+        assert a.tolist() == [0.0, 2.5]
+        a = array.array('i', ints)
+        assert a.tolist() == [1, 0, -3]
+        # element conversion for non-matching formats
+        assert array.array('d', ints).tolist() == [1.0, 0.0, -3.0]
+        try:
+            array.array('B', ints)
+        except OverflowError:
+            pass
+        else:
+            assert False, "should throw an overflow error"
+        floats = java.type("float[]")(1)
+        floats[0] = 0.5
+        assert list(floats) == [0.5]
+        bools = java.type("boolean[]")(2)
+        bools[0] = True
+        assert list(bools) == [True, False]
+        byte_array = java.type("byte[]")(3)
+        byte_array[1] = 7
+        assert list(byte_array) == [0, 7, 0]
+        assert bytes(byte_array) == b'\x00\x07\x00'
+        assert bytearray(byte_array) == bytearray(b'\x00\x07\x00')
+        byte_array[2] = -1
+        try:
+            bytes(byte_array)
+        except ValueError:
+            pass
+        else:
+            assert False, "should throw a value error"
+        # iterators over host arrays keep their position
+        it = iter(ints)
+        assert list(it) == [1, 0, -3]
+        assert list(it) == []
+        it = iter(ints)
+        next(it)
+        assert list(it) == [0, -3]
+
     @skipIf(is_native, "not supported in native mode")
     def test_foreign_repl():
         from java.util.logging import LogRecord
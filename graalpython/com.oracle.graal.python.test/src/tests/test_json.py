@@ -1,4 +1,4 @@
-# Copyright (c) 2019, 2021, Oracle and/or its affiliates. All rights reserved.
+# Copyright (c) 2019, 2022, Oracle and/or its affiliates. All rights reserved.
 # DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
 #
 # The Universal Permissive License (UPL), Version 1.0
@@ -37,6 +37,7 @@
 # OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
 # SOFTWARE.
 
+import sys
 import unittest
 
 BIGINT_JSON_DATA = '''
@@ -83,3 +84,107 @@ class JsonTest(unittest.TestCase):
             1521583201347000000,
             10,
         }
+
+    def test_load_bytes(self):
+        import json
+        doc = '{"k\u00e9y": ["v\u00e4lue", "\\ud83d\\ude00", "\\u00e9\U0001f600", 1, -2.5e1, true, null]}'
+        expected = {'k\u00e9y': ['v\u00e4lue', '\U0001f600', '\u00e9\U0001f600', 1, -25.0, True, None]}
+        assert json.loads(doc) == expected
+        assert json.loads(doc.encode('utf-8')) == expected
+        assert json.loads(bytearray(doc.encode('utf-8'))) == expected
+        assert json.loads(doc.encode('utf-16')) == expected
+        assert json.loads(b'{"a": 1}', object_pairs_hook=list) == [('a', 1)]
+        # encoded lone surrogates are accepted like by 'surrogatepass'
+        assert json.loads(b'["\xed\xa0\x80", 1]') == ['\ud800', 1]
+
+    def test_load_bytes_errors(self):
+        import json
+        for doc in ['["\u00e9\u00e9", 1] x', '["\u00e9\u00e9", ]', '{"\u00e9": 1,}', '["\u00e9\\x"]', '["\u00e9\\u12"]']:
+            with self.assertRaises(json.JSONDecodeError) as expected:
+                json.loads(doc)
+            with self.assertRaises(json.JSONDecodeError) as actual:
+                json.loads(doc.encode('utf-8'))
+            assert expected.exception.msg == actual.exception.msg, doc
+            assert expected.exception.pos == actual.exception.pos, doc
+            assert expected.exception.doc == actual.exception.doc, doc
+        self.assertRaises(UnicodeDecodeError, json.loads, b'["\xff"]')
+
+    def test_scanner_surrogate_escapes(self):
+        import json
+        assert json.loads('"\\ud83d\\ude00"') == '\U0001f600'
+        assert json.loads('"\\ud83d"') == '\ud83d'
+        assert json.loads('"\\ud83dx"') == '\ud83dx'
+        assert json.loads('"\\ud83d\\u0041"') == '\ud83dA'
+        assert json.loads('"\\ude00\\ud83d"') == '\ude00\ud83d'
+
+    def test_dump_large(self):
+        import io
+        import json
+        data = {
+            "ints": list(range(20000)),
+            "longs": [1 << 40, -(1 << 40)] * 5000,
+            "floats": [i * 0.5 for i in range(20000)],
+            "records": [{"id": i, "name": "näme-%d" % i, "tags": ("a", "b"), "big": 1 << 70} for i in range(2000)],
+            7: None,
+            1.5: True,
+        }
+        expected = json.dumps(data)
+        for kwargs in [{}, {"ensure_ascii": False}, {"separators": (",", ":")}, {"sort_keys": False, "allow_nan": False}]:
+            out = io.StringIO()
+            json.dump(data, out, **kwargs)
+            assert out.getvalue() == json.dumps(data, **kwargs), kwargs
+        assert json.loads(expected) == json.loads(json.dumps(data, indent=2))
+
+    def test_dump_errors(self):
+        import io
+        import json
+        self.assertRaises(ValueError, json.dump, [1.0, float("nan")], io.StringIO(), allow_nan=False)
+        self.assertRaises(TypeError, json.dump, [object()], io.StringIO())
+        cycle = [1, 2]
+        cycle.append(cycle)
+        self.assertRaises(ValueError, json.dump, cycle, io.StringIO())
+        assert json.dumps({"a": [1, 2]}, default=str) == '{"a": [1, 2]}'
+
+        class Custom(json.JSONEncoder):
+            def iterencode(self, o, _one_shot=False):
+                yield "custom"
+
+        out = io.StringIO()
+        json.dump([1], out, cls=Custom)
+        assert out.getvalue() == "custom"
+
+    @unittest.skipUnless(sys.implementation.name == "graalpy", "GraalPy-specific encoder API")
+    def test_encoder_dump_chunks(self):
+        import io
+        import json
+        encoder = json.JSONEncoder(ensure_ascii=False)
+        data = [{"key": "välue-%d" % i, "values": [i, i + 0.5]} for i in range(20000)]
+        expected = json.dumps(data, ensure_ascii=False)
+
+        chunks = []
+
+        class Writer:
+            def write(self, s):
+                chunks.append(s)
+
+        encoder._dump(data, Writer())
+        assert "".join(chunks) == expected
+        assert len(chunks) > 1
+        assert max(len(c) for c in chunks) < 2 * 65536
+
+        out = io.BytesIO()
+        encoder._dump_bytes(data, out)
+        assert out.getvalue() == expected.encode("utf-8")
+
+        out = bytearray(b"x")
+        encoder._dump_bytes(data, out)
+        assert out == b"x" + expected.encode("utf-8")
+
+        out = io.BytesIO()
+        self.assertRaises(UnicodeEncodeError, encoder._dump_bytes, ["\ud800"], out)
+
+    def test_dump_text_only(self):
+        import io
+        import json
+        self.assertRaises(TypeError, json.dump, [1, "a"], io.BytesIO())
+        self.assertRaises(AttributeError, json.dump, [1, "a"], bytearray())
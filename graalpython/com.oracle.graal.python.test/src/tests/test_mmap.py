@@ -173,6 +173,49 @@ class MmapTests(unittest.TestCase):
                               "wrong exception raised in context manager")
         self.assertTrue(m.closed, "context manager failed")
 
+    def test_write_through(self):
+        with open(TESTFN, 'wb') as f:
+            f.write(b'\0' * (2 * PAGESIZE))
+        with open(TESTFN, 'r+b') as f:
+            m = mmap.mmap(f.fileno(), 0)
+        # the mapping stays usable after the file is closed
+        m[PAGESIZE - 2:PAGESIZE + 2] = b'abcd'
+        m.flush()
+        with open(TESTFN, 'rb') as f:
+            data = f.read()
+        self.assertEqual(data[PAGESIZE - 2:PAGESIZE + 2], b'abcd')
+        with open(TESTFN, 'r+b') as f:
+            f.seek(PAGESIZE)
+            f.write(b'xy')
+        self.assertEqual(m[PAGESIZE - 2:PAGESIZE + 2], b'abxy')
+        m.close()
+
+    def test_access_copy(self):
+        with open(TESTFN, 'wb') as f:
+            f.write(b'abcd')
+        with open(TESTFN, 'r+b') as f:
+            m = mmap.mmap(f.fileno(), 0, access=mmap.ACCESS_COPY)
+            m[0:2] = b'xy'
+            self.assertEqual(m[:], b'xycd')
+            m.close()
+        with open(TESTFN, 'rb') as f:
+            self.assertEqual(f.read(), b'abcd')
+
+    def test_buffer(self):
+        m = mmap.mmap(-1, 3 * PAGESIZE)
+        m[PAGESIZE:PAGESIZE + 3] = b'abc'
+        self.assertEqual(bytes(m)[PAGESIZE:PAGESIZE + 4], b'abc\0')
+        with memoryview(m) as view:
+            self.assertFalse(view.readonly)
+            self.assertEqual(view[PAGESIZE + 1:PAGESIZE + 3].tobytes(), b'bc')
+            view[2 * PAGESIZE - 1:2 * PAGESIZE + 1] = b'xy'
+        self.assertEqual(m[2 * PAGESIZE - 1:2 * PAGESIZE + 1], b'xy')
+        ba = bytearray(b'--------')
+        with memoryview(m) as view:
+            ba[2:6] = view[PAGESIZE:PAGESIZE + 4]
+        self.assertEqual(ba, b'--abc\0--')
+        m.close()
+
 
 FIND_BUFFER_SIZE = 1024 # keep in sync with FindNode#BUFFER_SIZE
 def test_find():
@@ -60,3 +60,89 @@ class OperatorTest(unittest.TestCase):
         self.assertRaises(TypeError, operator.getitem)
         self.assertRaises(TypeError, operator.getitem, a, None)
         self.assertEqual(operator.getitem(a, 2), 2)
+
+    def test_builtin_functions(self):
+        for name in ('add', 'sub', 'lt', 'eq', 'neg', 'not_', 'iadd', 'concat', 'indexOf', 'length_hint'):
+            self.assertIsInstance(getattr(operator, name), type(len), name)
+        self.assertIs(operator.__add__, operator.add)
+        self.assertEqual(operator.add(2, 3), 5)
+        self.assertEqual(operator.sub(2, 3), -1)
+        self.assertEqual(operator.pow(2, 10), 1024)
+        self.assertEqual(operator.matmul.__doc__, "Same as a @ b.")
+        self.assertTrue(operator.is_(None, None))
+        self.assertTrue(operator.is_not(1, None))
+        self.assertTrue(operator.not_(0))
+        self.assertEqual(operator.abs(-3), 3)
+        self.assertRaises(TypeError, operator.abs, "a")
+        l = [1]
+        self.assertIs(operator.iadd(l, [2]), l)
+        self.assertEqual(l, [1, 2])
+
+    def test_sequence_functions(self):
+        self.assertEqual(operator.concat([1], [2]), [1, 2])
+        self.assertRaises(TypeError, operator.concat, 1, 2)
+        self.assertRaises(TypeError, operator.iconcat, 1, 2)
+        self.assertTrue(operator.contains([1, 2], 2))
+        self.assertEqual(operator.countOf([1, 2, 1, 1.0], 1), 3)
+        self.assertEqual(operator.indexOf(iter([3, 4, 5]), 5), 2)
+        self.assertRaises(ValueError, operator.indexOf, [1, 2], 3)
+        d = {}
+        self.assertIsNone(operator.setitem(d, 'a', 1))
+        self.assertEqual(d, {'a': 1})
+        operator.delitem(d, 'a')
+        self.assertEqual(d, {})
+        self.assertEqual(operator.length_hint([1, 2, 3]), 3)
+        self.assertEqual(operator.length_hint(iter(range(4))), 4)
+        self.assertEqual(operator.length_hint(object(), 7), 7)
+        self.assertRaises(TypeError, operator.length_hint, [], 'a')
+
+    def test_itemgetter(self):
+        self.assertRaises(TypeError, operator.itemgetter)
+        f = operator.itemgetter(1)
+        self.assertEqual(f('abc'), 'b')
+        self.assertRaises(IndexError, f, 'a')
+        g = operator.itemgetter(2, 0, 'x')
+        self.assertEqual(g({2: 'a', 0: 'b', 'x': 'c'}), ('a', 'b', 'c'))
+        self.assertEqual(repr(g), "operator.itemgetter(2, 0, 'x')")
+        data = [(3, 'c'), (1, 'a'), (2, 'b')]
+        self.assertEqual(sorted(data, key=operator.itemgetter(0)), [(1, 'a'), (2, 'b'), (3, 'c')])
+        self.assertEqual(sorted(data, key=operator.itemgetter(1, 0))[0], (1, 'a'))
+
+    def test_attrgetter(self):
+        class A:
+            pass
+        a = A()
+        a.name = 'x'
+        a.child = A()
+        a.child.name = 'y'
+        self.assertRaises(TypeError, operator.attrgetter)
+        self.assertRaises(TypeError, operator.attrgetter, 1)
+        self.assertEqual(operator.attrgetter('name')(a), 'x')
+        self.assertEqual(operator.attrgetter('child.name')(a), 'y')
+        self.assertEqual(operator.attrgetter('name', 'child.name')(a), ('x', 'y'))
+        self.assertRaises(AttributeError, operator.attrgetter('missing'), a)
+        self.assertEqual(repr(operator.attrgetter('name', 'child.name')), "operator.attrgetter('name', 'child.name')")
+
+    def test_methodcaller(self):
+        self.assertRaises(TypeError, operator.methodcaller)
+        self.assertRaises(TypeError, operator.methodcaller, 12)
+        self.assertEqual(operator.methodcaller('upper')('abc'), 'ABC')
+        self.assertEqual(operator.methodcaller('split', ',', maxsplit=1)('a,b,c'), ['a', 'b,c'])
+        f = operator.methodcaller('foo', 1, b=2)
+        self.assertEqual(repr(f), "operator.methodcaller('foo', 1, b=2)")
+
+    def test_pickle_callables(self):
+        import pickle
+
+        class A:
+            pass
+        a = A()
+        a.x = 1
+        for f, arg in ((operator.itemgetter(0), [5]),
+                       (operator.itemgetter(0, 1), (5, 6)),
+                       (operator.attrgetter('x'), a),
+                       (operator.methodcaller('count', 'a'), 'aba'),
+                       (operator.methodcaller('split', sep=','), 'a,b')):
+            g = pickle.loads(pickle.dumps(f))
+            self.assertEqual(repr(g), repr(f))
+            self.assertEqual(g(arg), f(arg))
@@ -40,6 +40,18 @@
 import unittest
 import pickle
 
+
+class Point:
+    def __init__(self, x, y):
+        self.x = x
+        self.y = y
+
+    def __eq__(self, other):
+        return type(other) is Point and self.__dict__ == other.__dict__
+
+
+unpicklable = lambda: 1
+
 class TestPickle(unittest.TestCase):
 
     def test_builtin(self):
@@ -66,5 +78,65 @@ class TestPickle(unittest.TestCase):
         assert [16,17,18,19] == [next(teeit2) for i in range(1, 5)]
         assert [16,17,18,19] == [next(teeit) for i in range(1, 5)]
 
+    def test_c_pickle_roundtrip(self):
+        import _pickle
+        import collections
+        data = [0, -1, 255, 65536, -2**31, 2**64 + 1, 1.5, 2j, "h\xe9llo\u1234\n", b"xyz" * 100,
+                bytearray(b"ab"), None, True, False, (), (1,), (1, 2), (1, 2, 3, 4), {"a": [1]},
+                {1, 2}, frozenset([3]), collections.OrderedDict(b=1), len, int, Point(1, [2])]
+        data.append(data)
+        for proto in range(0, 6):
+            r = _pickle.loads(_pickle.dumps(data, proto))
+            self.assertEqual(data[:-1], r[:-1])
+            self.assertIs(r, r[-1])
+
+    def test_c_pickle_file(self):
+        import _pickle
+        import io
+        f = io.BytesIO()
+        p = _pickle.Pickler(f, 2)
+        p.dump([1, "a"])
+        p.dump({"b": 2})
+        self.assertEqual(4, len(p.memo.copy()))
+        f.seek(0)
+        u = _pickle.Unpickler(f)
+        self.assertEqual([1, "a"], u.load())
+        self.assertEqual({"b": 2}, u.load())
+        self.assertRaises(EOFError, u.load)
+
+    def test_c_pickle_buffer(self):
+        import _pickle
+        b = bytearray(b"abc")
+        buffers = []
+        s = _pickle.dumps(_pickle.PickleBuffer(b), 5, buffer_callback=buffers.append)
+        self.assertEqual(1, len(buffers))
+        self.assertEqual(b"abc", bytes(buffers[0].raw()))
+        self.assertIs(buffers[0], _pickle.loads(s, buffers=buffers))
+        self.assertRaises(_pickle.UnpicklingError, _pickle.loads, s)
+
+    def test_c_pickle_errors(self):
+        import _pickle
+        self.assertRaises(_pickle.UnpicklingError, _pickle.loads, b"\x80\x05X")
+        self.assertRaises(EOFError, _pickle.loads, b"")
+        self.assertRaises(ValueError, _pickle.loads, b"\x80\x09N.")
+        self.assertRaises(AttributeError, _pickle.dumps, lambda: 1)
+        self.assertRaises(_pickle.PicklingError, _pickle.dumps, unpicklable)
+        self.assertRaises(ValueError, _pickle.dumps, 1, 6)
+
+    def test_c_pickle_persistent_id(self):
+        import _pickle
+        import io
+        class MyPickler(_pickle.Pickler):
+            def persistent_id(self, obj):
+                return "ID" if obj == "secret" else None
+        class MyUnpickler(_pickle.Unpickler):
+            def persistent_load(self, pid):
+                return "restored " + pid
+        f = io.BytesIO()
+        MyPickler(f, 0).dump(["secret", "public"])
+        f.seek(0)
+        self.assertEqual(["restored ID", "public"], MyUnpickler(f).load())
+
+
 if __name__ == '__main__':
     unittest.main()
@@ -488,3 +488,28 @@ class ReTests(unittest.TestCase):
             r"(//?| ==?)|([[]]+)")
         for m in regex.finditer(''):
             self.fail()
+
+    def test_sub_templates(self):
+        self.assertEqual(re.sub(r'(\w+)@(\w+)', r'\2 at \1', 'joe@host, ann@box'), 'host at joe, box at ann')
+        self.assertEqual(re.sub(r'(?P<d>\d)', r'<\g<d>\g<0>>', 'a1b2'), 'a<11>b<22>')
+        self.assertEqual(re.sub(r'(a)|b', r'[\1]', 'ab'), '[a][]')
+        self.assertEqual(re.subn(r'x*', '-', 'abxd'), ('-a-b--d-', 5))
+        self.assertEqual(re.sub(b'(\\d)', b'\\1\\1\\n', b'a1\xff'), b'a11\n\xff')
+        self.assertEqual(re.sub(b'\xff', bytearray(b'\x00'), memoryview(b'a\xffb')), b'a\x00b')
+        self.assertEqual(re.sub('a', lambda m: None, 'bab'), 'bb')
+        self.assertEqual(re.sub(b'a', lambda m: m.group().upper(), b'bab'), b'bAb')
+        self.assertEqual(re.sub('a', '-', 'aaa', count=2), '--a')
+        self.assertRaises(TypeError, re.sub, 'a', lambda m: 1, 'a')
+        self.assertRaises(TypeError, re.sub, 'a', b'b', 'a')
+
+    def test_findall_split_bytes(self):
+        buf = bytearray(b'k1=v1;k2=;k3')
+        self.assertEqual(re.findall(rb'(\w+)=(\w*)', buf), [(b'k1', b'v1'), (b'k2', b'')])
+        self.assertEqual(re.findall(rb'(\w+)(=)?', buf)[-1], (b'k3', b''))
+        parts = re.split(rb';', buf)
+        buf[0:2] = b'xx'
+        self.assertEqual(parts, [b'k1=v1', b'k2=', b'k3'])
+        self.assertEqual(re.split(r'(,)|(;)', 'a,b;c'), ['a', ',', None, 'b', None, ';', 'c'])
+        self.assertEqual(re.split(r'\b', 'a b', maxsplit=2), ['', 'a', ' b'])
+        self.assertEqual(re.compile(r'\d').findall('1a2b3', 1, 4), ['2'])
+        self.assertRaises(TypeError, re.split, 'a', b'a')
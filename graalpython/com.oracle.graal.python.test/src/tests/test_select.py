@@ -95,3 +95,56 @@ class SelectTests(unittest.TestCase):
             fds = [F(f.fileno()), F(stdout_fd), F(f.fileno())]
             res = select.select(fds, [], [], 1)
             assert res == ([fds[0], fds[2]], [], [])
+
+    def test_poll_pipe(self):
+        r, w = os.pipe()
+        try:
+            p = select.poll()
+            p.register(r, select.POLLIN)
+            p.register(w, select.POLLOUT)
+            assert p.poll(0) == [(w, select.POLLOUT)]
+            os.write(w, b'x')
+            res = sorted(p.poll(1000))
+            assert res == sorted([(r, select.POLLIN), (w, select.POLLOUT)]), res
+            p.modify(w, select.POLLIN)
+            assert p.poll(0) == [(r, select.POLLIN)]
+            p.unregister(r)
+            assert p.poll(0) == []
+            self.assertRaises(KeyError, p.unregister, r)
+            self.assertRaises(OSError, p.modify, r, select.POLLIN)
+        finally:
+            os.close(r)
+            os.close(w)
+
+    def test_poll_arg_validation(self):
+        p = select.poll()
+        self.assertRaises(ValueError, p.register, 0, -1)
+        self.assertRaises(OverflowError, p.register, 0, 1 << 16)
+        self.assertRaises(TypeError, p.register, 'abc')
+        self.assertRaises(OverflowError, p.poll, 1 << 31)
+
+    @unittest.skipUnless(hasattr(select, 'epoll'), 'epoll is only available on Linux')
+    def test_epoll_pipe(self):
+        r, w = os.pipe()
+        try:
+            with select.epoll() as ep:
+                assert not ep.closed
+                ep.register(r, select.EPOLLIN)
+                ep.register(w, select.EPOLLOUT)
+                self.assertRaises(FileExistsError, ep.register, r)
+                assert ep.poll(0) == [(w, select.EPOLLOUT)]
+                os.write(w, b'x')
+                res = sorted(ep.poll(1))
+                assert res == sorted([(r, select.EPOLLIN), (w, select.EPOLLOUT)]), res
+                ep.modify(w, select.EPOLLIN)
+                assert ep.poll(0, 1) == [(r, select.EPOLLIN)]
+                ep.unregister(r)
+                assert ep.poll(0) == []
+                self.assertRaises(FileNotFoundError, ep.unregister, r)
+                self.assertRaises(ValueError, ep.poll, 0, 0)
+            assert ep.closed
+            self.assertRaises(ValueError, ep.fileno)
+            self.assertRaises(ValueError, ep.register, r)
+        finally:
+            os.close(r)
+            os.close(w)
@@ -1,9 +1,10 @@
-# Copyright (c) 2018, 2021, Oracle and/or its affiliates.
+# Copyright (c) 2018, 2022, Oracle and/or its affiliates.
 # Copyright (C) 1996-2017 Python Software Foundation
 #
 # Licensed under the PYTHON SOFTWARE FOUNDATION LICENSE VERSION 2
 # Test of a sorted() written in Python
 import unittest
+import builtins
 
 def sorted(iterable):
     result = list(iterable)
@@ -45,3 +46,57 @@ class TestSorted(unittest.TestCase):
 
         # Use eval to get the fast path specialization
         self.assertEqual(eval("sorted(MyList())", {"MyList": MyList}), [2, 4, 5])
+
+    def test_primitive_keys(self):
+        import random
+        rnd = random.Random(42)
+        records = [(rnd.randrange(20), rnd.random(), "s%d" % rnd.randrange(30), i) for i in range(500)]
+        keys = [
+            lambda r: r[0],
+            lambda r: r[0] * (1 << 40),
+            lambda r: r[0] % 2 == 0,
+            lambda r: r[1],
+            lambda r: r[2],
+            lambda r: (r[0], r[2]),
+            lambda r: (r[2], -r[1], r[0] > 10),
+        ]
+        for key in keys:
+            for reverse in (False, True):
+                decorated = [(key(r), i, r) for i, r in enumerate(records)]
+                expected = [r for k, i, r in self._stable(decorated, reverse)]
+                l = list(records)
+                l.sort(key=key, reverse=reverse)
+                self.assertEqual(l, expected)
+
+    @staticmethod
+    def _stable(decorated, reverse):
+        # equal keys must keep their original order also with reverse=True
+        import functools
+
+        def cmp(a, b):
+            if a[0] < b[0]:
+                return 1 if reverse else -1
+            if b[0] < a[0]:
+                return -1 if reverse else 1
+            return -1 if a[1] < b[1] else (1 if b[1] < a[1] else 0)
+        return builtins.sorted(decorated, key=functools.cmp_to_key(cmp))
+
+    def test_primitive_keys_edge_cases(self):
+        data = [0.0, -0.0, 1.0, -0.0, 0.0]
+        self.assertEqual([repr(x) for x in builtins.sorted(data, key=lambda x: x)], ['0.0', '-0.0', '-0.0', '0.0', '1.0'])
+        self.assertEqual([repr(x) for x in builtins.sorted(data, key=lambda x: x, reverse=True)], ['1.0', '0.0', '-0.0', '-0.0', '0.0'])
+        self.assertEqual(builtins.sorted([3, 1, 2], key=lambda x: 2 ** 70 - x), [3, 2, 1])
+        self.assertEqual(builtins.sorted([3, 1.5, 2], key=lambda x: x), [1.5, 2, 3])
+        self.assertEqual(builtins.sorted(['b', 'a', 'c'], key=lambda x: (x,)), ['a', 'b', 'c'])
+        self.assertRaises(TypeError, builtins.sorted, [1, 'a'], key=lambda x: x)
+        self.assertRaises(TypeError, builtins.sorted, [(1, 'a'), (1, 2)], key=lambda x: x)
+
+        class MyTuple(tuple):
+            def __lt__(self, other):
+                return tuple(self) > tuple(other)
+        self.assertEqual(builtins.sorted([1, 3, 2], key=lambda x: MyTuple((x,))), [3, 2, 1])
+
+        class MyStr(str):
+            def __lt__(self, other):
+                return str(self) > str(other)
+        self.assertEqual(builtins.sorted(['a', 'c', 'b'], key=MyStr), ['c', 'b', 'a'])
@@ -269,3 +269,26 @@ def test_pack_varargs():
     except TypeError:
         raised = True
     assert raised
+
+
+def test_buffers():
+    s = struct.Struct('<hI')
+    data = s.pack(-2, 0xdeadbeef)
+    assert s.unpack(memoryview(data)) == (-2, 0xdeadbeef)
+    assert s.unpack_from(memoryview(b'xx' + data)[1:], 1) == (-2, 0xdeadbeef)
+    assert list(s.iter_unpack(memoryview(data * 3))) == [(-2, 0xdeadbeef)] * 3
+
+    buf = bytearray(b'\xff' * 8)
+    s.pack_into(memoryview(buf)[1:], 1, 1, 2)
+    assert buf == b'\xff\xff\x01\x00\x02\x00\x00\x00'
+
+
+def test_struct_reinit():
+    s = struct.Struct('<i')
+    assert s.format == '<i' and s.size == 4
+    s.__init__(b'<q')
+    assert s.format == '<q' and s.size == 8
+    assert s.unpack(b'\x01' + b'\x00' * 7) == (1,)
+    assert_raises(TypeError, struct.Struct, 42)
+    assert_raises(struct.error, struct.Struct, 'z')
+    assert struct.error.__module__ == 'struct'
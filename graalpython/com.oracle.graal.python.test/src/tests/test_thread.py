@@ -513,3 +513,128 @@ if syscfg.get_config_var('WITH_THREAD'):
             lock.release()
             self.assertFalse(lock.locked())
             self.assertTrue(lock.acquire(blocking=False))
+
+
+    class SwitchIntervalTests(unittest.TestCase):
+
+        def test_switchinterval(self):
+            old = sys.getswitchinterval()
+            self.assertAlmostEqual(old, 0.005)
+            try:
+                sys.setswitchinterval(0.001)
+                self.assertAlmostEqual(sys.getswitchinterval(), 0.001)
+                self.assertRaises(ValueError, sys.setswitchinterval, 0)
+            finally:
+                sys.setswitchinterval(old)
+
+        def test_cpu_bound_thread_does_not_starve_others(self):
+            old = sys.getswitchinterval()
+            interval = 0.002
+            window = 1.0
+            stop = []
+            started = []
+
+            def spin():
+                started.append(None)
+                while not stop:
+                    pass
+
+            if sys.implementation.name == "graalpy":
+                stats_before = __graalpython__.gil_stats()
+            sys.setswitchinterval(interval)
+            try:
+                t = threading.Thread(target=spin)
+                t.start()
+                while not started:
+                    _wait()
+                # every short sleep releases the GIL to the spinning thread, so this thread only
+                # gets it back when the spinning thread is forced to switch
+                rounds = 0
+                start = time.monotonic()
+                while time.monotonic() - start < window:
+                    time.sleep(0.0001)
+                    rounds += 1
+            finally:
+                stop.append(None)
+                sys.setswitchinterval(old)
+            t.join()
+            # each round should take about one switch interval, allow for a factor of 10
+            self.assertGreaterEqual(rounds, window / (10 * interval))
+            if sys.implementation.name == "graalpy":
+                stats = __graalpython__.gil_stats()
+                self.assertGreater(stats["wait_time"], stats_before["wait_time"])
+                self.assertGreater(stats["handoffs"], stats_before["handoffs"])
+
+
+    class ThreadLocalTests(unittest.TestCase):
+
+        def test_attributes_are_per_thread(self):
+            local = thread._local()
+            local.x = 1
+            seen = []
+
+            def task():
+                seen.append(hasattr(local, "x"))
+                local.x = 2
+                seen.append(local.x)
+
+            t = threading.Thread(target=task)
+            t.start()
+            t.join()
+            self.assertEqual(seen, [False, 2])
+            self.assertEqual(local.x, 1)
+            self.assertEqual(local.__dict__, {"x": 1})
+
+        def test_init_runs_once_per_thread(self):
+            class MyLocal(thread._local):
+                def __init__(self, value):
+                    self.value = value
+                    self.calls = getattr(self, "calls", 0) + 1
+
+            local = MyLocal(42)
+            values = []
+
+            def task():
+                values.append((local.value, local.calls))
+
+            t = threading.Thread(target=task)
+            t.start()
+            t.join()
+            self.assertEqual(values, [(42, 1)])
+            self.assertEqual((local.value, local.calls), (42, 1))
+
+        def test_new_local_does_not_see_collected_local(self):
+            import gc
+            import queue
+            # a single worker thread keeps its thread state, and thus its dicts, across all locals
+            requests = queue.Queue()
+            seen = queue.Queue()
+
+            def worker():
+                while True:
+                    local = requests.get()
+                    if local is None:
+                        break
+                    had_x = hasattr(local, "x")
+                    local.x = -1
+                    del local
+                    seen.put(had_x)
+
+            t = threading.Thread(target=worker)
+            t.start()
+            try:
+                for i in range(20):
+                    local = thread._local()
+                    self.assertFalse(hasattr(local, "x"))
+                    local.x = i
+                    requests.put(local)
+                    self.assertFalse(seen.get())
+                    del local
+                    gc.collect()
+                    # the index of a collected local is released by an async action, give it a
+                    # chance to run so that the next local reuses the index
+                    for _ in range(10):
+                        time.sleep(0.001)
+            finally:
+                requests.put(None)
+                t.join()
@@ -30,6 +30,7 @@ import static com.oracle.graal.python.nodes.BuiltinNames.J_DEFAULTDICT;
 import static com.oracle.graal.python.nodes.BuiltinNames.J_DEQUE;
 import static com.oracle.graal.python.nodes.BuiltinNames.J_DEQUE_ITER;
 import static com.oracle.graal.python.nodes.BuiltinNames.J_DEQUE_REV_ITER;
+import static com.oracle.graal.python.nodes.BuiltinNames.J_ORDERED_DICT;
 import static com.oracle.graal.python.nodes.BuiltinNames.J_DICT_ITEMITERATOR;
 import static com.oracle.graal.python.nodes.BuiltinNames.J_DICT_ITEMS;
 import static com.oracle.graal.python.nodes.BuiltinNames.J_DICT_KEYITERATOR;
@@ -50,6 +51,9 @@ import static com.oracle.graal.python.nodes.BuiltinNames.J_TYPES;
 import static com.oracle.graal.python.nodes.BuiltinNames.J_WRAPPER_DESCRIPTOR;
 import static com.oracle.graal.python.nodes.BuiltinNames.J__CONTEXTVARS;
 import static com.oracle.graal.python.nodes.BuiltinNames.J__CTYPES;
+import static com.oracle.graal.python.nodes.BuiltinNames.J__DATETIME;
+import static com.oracle.graal.python.nodes.BuiltinNames.J__DECIMAL;
+import static com.oracle.graal.python.nodes.BuiltinNames.J__PICKLE;
 import static com.oracle.graal.python.nodes.BuiltinNames.J__SOCKET;
 import static com.oracle.graal.python.nodes.BuiltinNames.J__SSL;
 import static com.oracle.graal.python.nodes.BuiltinNames.J__STRUCT;
@@ -97,7 +101,12 @@ public enum PythonBuiltinClassType implements TruffleObject {
     PSimpleNamespace("SimpleNamespace", null, "types", Flags.PUBLIC_BASE_WDICT),
     PKeyWrapper("KeyWrapper", "_functools", "functools", Flags.PUBLIC_DERIVED_WODICT),
     PPartial(J_PARTIAL, "_functools", "functools", Flags.PUBLIC_BASE_WDICT),
+    PLruCacheWrapper("_lru_cache_wrapper", "_functools", "functools", Flags.PUBLIC_BASE_WDICT),
+    PItemGetter("itemgetter", "_operator", "operator", Flags.PUBLIC_DERIVED_WODICT),
+    PAttrGetter("attrgetter", "_operator", "operator", Flags.PUBLIC_DERIVED_WODICT),
+    PMethodCaller("methodcaller", "_operator", "operator", Flags.PUBLIC_DERIVED_WODICT),
     PDefaultDict(J_DEFAULTDICT, "_collections", "collections", Flags.PUBLIC_BASE_WODICT),
+    POrderedDict(J_ORDERED_DICT, "_collections", "collections", Flags.PUBLIC_BASE_WDICT),
     PDeque(J_DEQUE, "_collections", Flags.PUBLIC_BASE_WODICT),
     PTupleGetter(J_TUPLE_GETTER, "_collections", Flags.PUBLIC_BASE_WODICT),
     PDequeIter(J_DEQUE_ITER, "_collections", Flags.PUBLIC_DERIVED_WODICT),
@@ -161,6 +170,8 @@ public enum PythonBuiltinClassType implements TruffleObject {
     PRLock("RLock", J__THREAD),
     PSemLock("SemLock", "_multiprocessing"),
     PSocket("socket", J__SOCKET),
+    PPoll("poll", null, "select", Flags.PUBLIC_DERIVED_WODICT),
+    PEpoll("epoll", "select"),
     PStaticmethod("staticmethod", J_BUILTINS, Flags.PUBLIC_BASE_WDICT),
     PClassmethod("classmethod", J_BUILTINS, Flags.PUBLIC_BASE_WDICT),
     PInstancemethod("instancemethod", J_BUILTINS, Flags.PUBLIC_BASE_WDICT),
@@ -169,11 +180,23 @@ public enum PythonBuiltinClassType implements TruffleObject {
     LsprofProfiler("Profiler", "_lsprof"),
     PStruct("Struct", J__STRUCT),
     PStructUnpackIterator("unpack_iterator", J__STRUCT),
-    Pickler("Pickler", "_pickle"),
-    PicklerMemoProxy("PicklerMemoProxy", "_pickle"),
-    UnpicklerMemoProxy("UnpicklerMemoProxy", "_pickle"),
-    Unpickler("Unpickler", "_pickle"),
-    PickleBuffer("PickleBuffer", "_pickle"),
+    Pickler("Pickler", J__PICKLE),
+    PicklerMemoProxy("PicklerMemoProxy", J__PICKLE),
+    UnpicklerMemoProxy("UnpicklerMemoProxy", J__PICKLE),
+    Unpickler("Unpickler", J__PICKLE),
+    PickleBuffer("PickleBuffer", J__PICKLE),
+
+    // _datetime
+    PTimeDelta("timedelta", J__DATETIME, "datetime", Flags.PUBLIC_BASE_WODICT),
+    PDate("date", J__DATETIME, "datetime", Flags.PUBLIC_BASE_WODICT),
+    PTime("time", J__DATETIME, "datetime", Flags.PUBLIC_BASE_WODICT),
+    PDateTime("datetime", J__DATETIME, "datetime", Flags.PUBLIC_BASE_WODICT),
+    PTzInfo("tzinfo", J__DATETIME, "datetime", Flags.PUBLIC_BASE_WODICT),
+    PTimeZone("timezone", J__DATETIME, "datetime", Flags.PUBLIC_DERIVED_WODICT),
+
+    // _decimal
+    PDecimal("Decimal", J__DECIMAL, "decimal", Flags.PUBLIC_BASE_WODICT),
+    PDecimalContext("Context", J__DECIMAL, "decimal", Flags.PUBLIC_BASE_WODICT),
 
     // bz2
     BZ2Compressor("BZ2Compressor", "_bz2"),
@@ -187,6 +210,22 @@ public enum PythonBuiltinClassType implements TruffleObject {
     ZlibCompress("Compress", "zlib"),
     ZlibDecompress("Decompress", "zlib"),
 
+    // hashlib
+    MD5Type("md5", null, "_md5", Flags.PUBLIC_DERIVED_WODICT),
+    SHA1Type("sha1", null, "_sha1", Flags.PUBLIC_DERIVED_WODICT),
+    SHA224Type("sha224", null, "_sha256", Flags.PUBLIC_DERIVED_WODICT),
+    SHA256Type("sha256", null, "_sha256", Flags.PUBLIC_DERIVED_WODICT),
+    SHA384Type("sha384", null, "_sha512", Flags.PUBLIC_DERIVED_WODICT),
+    SHA512Type("sha512", null, "_sha512", Flags.PUBLIC_DERIVED_WODICT),
+    SHA3_224("sha3_224", "_sha3", Flags.PUBLIC_DERIVED_WODICT),
+    SHA3_256("sha3_256", "_sha3", Flags.PUBLIC_DERIVED_WODICT),
+    SHA3_384("sha3_384", "_sha3", Flags.PUBLIC_DERIVED_WODICT),
+    SHA3_512("sha3_512", "_sha3", Flags.PUBLIC_DERIVED_WODICT),
+    Shake128("shake_128", "_sha3", Flags.PUBLIC_DERIVED_WODICT),
+    Shake256("shake_256", "_sha3", Flags.PUBLIC_DERIVED_WODICT),
+    Blake2b("blake2b", "_blake2", Flags.PUBLIC_DERIVED_WODICT),
+    Blake2s("blake2s", "_blake2", Flags.PUBLIC_DERIVED_WODICT),
+
     // io
     PIOBase("_IOBase", "_io", Flags.PUBLIC_BASE_WDICT),
     PRawIOBase("_RawIOBase", "_io"),
@@ -326,10 +365,10 @@ public enum PythonBuiltinClassType implements TruffleObject {
     ZLibError("error", "zlib", Flags.EXCEPTION),
     CSVError("Error", "_csv", Flags.EXCEPTION),
     LZMAError("LZMAError", "_lzma", Flags.EXCEPTION),
-    StructError("StructError", J__STRUCT, Flags.EXCEPTION),
-    PickleError("PickleError", "_pickle", Flags.EXCEPTION),
-    PicklingError("PicklingError", "_pickle", Flags.EXCEPTION),
-    UnpicklingError("UnpicklingError", "_pickle", Flags.EXCEPTION),
+    StructError("error", J__STRUCT, "struct", Flags.EXCEPTION),
+    PickleError("PickleError", J__PICKLE, Flags.EXCEPTION),
+    PicklingError("PicklingError", J__PICKLE, Flags.EXCEPTION),
+    UnpicklingError("UnpicklingError", J__PICKLE, Flags.EXCEPTION),
     SocketGAIError("gaierror", J__SOCKET, Flags.EXCEPTION),
     SocketHError("herror", J__SOCKET, Flags.EXCEPTION),
     SocketTimeout("timeout", J__SOCKET, Flags.EXCEPTION),
@@ -587,6 +626,9 @@ public enum PythonBuiltinClassType implements TruffleObject {
 
         Boolean.base = PInt;
 
+        PDateTime.base = PDate;
+        PTimeZone.base = PTzInfo;
+
         SystemExit.base = PBaseException;
         KeyboardInterrupt.base = PBaseException;
         GeneratorExit.base = PBaseException;
@@ -693,6 +735,7 @@ public enum PythonBuiltinClassType implements TruffleObject {
         PThreadInfo.base = PTuple;
         PUnraisableHookArgs.base = PTuple;
         PDefaultDict.base = PDict;
+        POrderedDict.base = PDict;
 
         PArrayIterator.type = PythonClass;
         PSocket.type = PythonClass;
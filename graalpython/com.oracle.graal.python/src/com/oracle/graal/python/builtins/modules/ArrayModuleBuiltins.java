@@ -37,6 +37,7 @@ import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueErr
 import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
 import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.List;
 
@@ -71,6 +72,7 @@ import com.oracle.graal.python.nodes.function.builtins.PythonVarargsBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
 import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
 import com.oracle.graal.python.nodes.util.SplitArgsNode;
+import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.graal.python.runtime.sequence.PSequence;
@@ -80,6 +82,8 @@ import com.oracle.graal.python.util.OverflowException;
 import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage.Env;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
@@ -88,6 +92,7 @@ import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.profiles.ValueProfile;
 import com.oracle.truffle.api.strings.TruffleString;
 import com.oracle.graal.python.nodes.ErrorMessages;
@@ -272,7 +277,26 @@ public final class ArrayModuleBuiltins extends PythonBuiltins {
                             @Cached GetNextNode nextNode,
                             @Cached IsBuiltinClassProfile errorProfile,
                             @Cached TruffleString.CodePointLengthNode lengthNode,
-                            @Cached TruffleString.CodePointAtIndexNode atIndexNode) {
+                            @Cached TruffleString.CodePointAtIndexNode atIndexNode,
+                            @Cached ConditionProfile hostArrayProfile) {
+                Env env = PythonContext.get(this).getEnv();
+                if (hostArrayProfile.profile(env.isHostObject(initializer))) {
+                    Object hostArray = env.asHostObject(initializer);
+                    BufferFormat format = getFormatChecked(typeCode, lengthNode, atIndexNode);
+                    int length = hostArrayLength(hostArray, format);
+                    if (length >= 0) {
+                        PArray array;
+                        try {
+                            array = getFactory().createArray(cls, typeCode, format, length);
+                        } catch (OverflowException e) {
+                            CompilerDirectives.transferToInterpreterAndInvalidate();
+                            throw raise(MemoryError);
+                        }
+                        copyHostArray(hostArray, array.getBuffer());
+                        return array;
+                    }
+                }
+
                 Object iter = getIter.execute(frame, initializer);
 
                 BufferFormat format = getFormatChecked(typeCode, lengthNode, atIndexNode);
@@ -301,6 +325,48 @@ public final class ArrayModuleBuiltins extends PythonBuiltins {
                 return array;
             }
 
+            /**
+             * Returns the length of a host Java primitive array whose elements have exactly the
+             * representation of the array's format, or -1. Such arrays are copied in bulk, all
+             * other host arrays go through the generic element conversion.
+             */
+            private static int hostArrayLength(Object hostArray, BufferFormat format) {
+                switch (format) {
+                    case INT_8:
+                        return hostArray instanceof byte[] ? ((byte[]) hostArray).length : -1;
+                    case INT_16:
+                        return hostArray instanceof short[] ? ((short[]) hostArray).length : -1;
+                    case INT_32:
+                        return hostArray instanceof int[] ? ((int[]) hostArray).length : -1;
+                    case INT_64:
+                        return hostArray instanceof long[] ? ((long[]) hostArray).length : -1;
+                    case FLOAT:
+                        return hostArray instanceof float[] ? ((float[]) hostArray).length : -1;
+                    case DOUBLE:
+                        return hostArray instanceof double[] ? ((double[]) hostArray).length : -1;
+                    default:
+                        return -1;
+                }
+            }
+
+            @TruffleBoundary
+            private static void copyHostArray(Object hostArray, byte[] buffer) {
+                ByteBuffer dest = ByteBuffer.wrap(buffer).order(ByteOrder.nativeOrder());
+                if (hostArray instanceof byte[]) {
+                    dest.put((byte[]) hostArray);
+                } else if (hostArray instanceof short[]) {
+                    dest.asShortBuffer().put((short[]) hostArray);
+                } else if (hostArray instanceof int[]) {
+                    dest.asIntBuffer().put((int[]) hostArray);
+                } else if (hostArray instanceof long[]) {
+                    dest.asLongBuffer().put((long[]) hostArray);
+                } else if (hostArray instanceof float[]) {
+                    dest.asFloatBuffer().put((float[]) hostArray);
+                } else {
+                    dest.asDoubleBuffer().put((double[]) hostArray);
+                }
+            }
+
             private BufferFormat getFormatChecked(TruffleString typeCode, TruffleString.CodePointLengthNode lengthNode, TruffleString.CodePointAtIndexNode atIndexNode) {
                 if (lengthNode.execute(typeCode, TS_ENCODING) != 1) {
                     throw raise(TypeError, ErrorMessages.ARRAY_ARG_1_MUST_BE_UNICODE);
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.nodes.BuiltinNames.J__BISECT;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T_INSERT;
+
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectGetItem;
+import com.oracle.graal.python.lib.PyObjectRichCompareBool;
+import com.oracle.graal.python.lib.PyObjectSizeNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+
+/**
+ * Implementation of {@code Modules/_bisectmodule.c}. Exact lists backed by an int, long or double
+ * storage are searched directly in the storage array when the searched item has the same primitive
+ * type, all other sequences are searched using {@code __getitem__} and
+ * {@code PyObject_RichCompareBool}.
+ */
+@CoreFunctions(defineModule = J__BISECT)
+public class BisectModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return BisectModuleBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = "bisect_right", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"}, doc = "bisect_right($module, /, a, x, lo=0, hi=None)\n--\n\n" +
+                    "Return the index where to insert item x in list a, assuming a is sorted.\n\n" +
+                    "The return value i is such that all e in a[:i] have e <= x, and all e in\n" +
+                    "a[i:] have e > x.  So if x already appears in the list, i points just\n" +
+                    "beyond the rightmost x already there\n\n" +
+                    "Optional args lo (default 0) and hi (default len(a)) bound the\n" +
+                    "slice of a to be searched.")
+    @ArgumentClinic(name = "lo", conversion = ClinicConversion.Index, defaultValue = "0")
+    @ArgumentClinic(name = "hi", conversion = ClinicConversion.Index, defaultValue = "-1", useDefaultForNone = true)
+    @GenerateNodeFactory
+    abstract static class BisectRightNode extends PythonQuaternaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return BisectModuleBuiltinsClinicProviders.BisectRightNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        static int bisectRight(VirtualFrame frame, Object a, Object x, int lo, int hi,
+                        @Cached("create(true)") BisectNode bisectNode) {
+            return bisectNode.execute(frame, a, x, lo, hi);
+        }
+    }
+
+    @Builtin(name = "insort_right", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"}, doc = "insort_right($module, /, a, x, lo=0, hi=None)\n--\n\n" +
+                    "Insert item x in list a, and keep it sorted assuming a is sorted.\n\n" +
+                    "If x is already in a, insert it to the right of the rightmost x.\n\n" +
+                    "Optional args lo (default 0) and hi (default len(a)) bound the\n" +
+                    "slice of a to be searched.")
+    @ArgumentClinic(name = "lo", conversion = ClinicConversion.Index, defaultValue = "0")
+    @ArgumentClinic(name = "hi", conversion = ClinicConversion.Index, defaultValue = "-1", useDefaultForNone = true)
+    @GenerateNodeFactory
+    abstract static class InsortRightNode extends PythonQuaternaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return BisectModuleBuiltinsClinicProviders.InsortRightNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        static Object insortRight(VirtualFrame frame, Object a, Object x, int lo, int hi,
+                        @Cached("create(true)") BisectNode bisectNode,
+                        @Cached InsertNode insertNode) {
+            insertNode.execute(frame, a, bisectNode.execute(frame, a, x, lo, hi), x);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "bisect_left", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"}, doc = "bisect_left($module, /, a, x, lo=0, hi=None)\n--\n\n" +
+                    "Return the index where to insert item x in list a, assuming a is sorted.\n\n" +
+                    "The return value i is such that all e in a[:i] have e < x, and all e in\n" +
+                    "a[i:] have e >= x.  So if x already appears in the list, i points just\n" +
+                    "before the leftmost x already there.\n\n" +
+                    "Optional args lo (default 0) and hi (default len(a)) bound the\n" +
+                    "slice of a to be searched.")
+    @ArgumentClinic(name = "lo", conversion = ClinicConversion.Index, defaultValue = "0")
+    @ArgumentClinic(name = "hi", conversion = ClinicConversion.Index, defaultValue = "-1", useDefaultForNone = true)
+    @GenerateNodeFactory
+    abstract static class BisectLeftNode extends PythonQuaternaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return BisectModuleBuiltinsClinicProviders.BisectLeftNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        static int bisectLeft(VirtualFrame frame, Object a, Object x, int lo, int hi,
+                        @Cached("create(false)") BisectNode bisectNode) {
+            return bisectNode.execute(frame, a, x, lo, hi);
+        }
+    }
+
+    @Builtin(name = "insort_left", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"}, doc = "insort_left($module, /, a, x, lo=0, hi=None)\n--\n\n" +
+                    "Insert item x in list a, and keep it sorted assuming a is sorted.\n\n" +
+                    "If x is already in a, insert it to the left of the leftmost x.\n\n" +
+                    "Optional args lo (default 0) and hi (default len(a)) bound the\n" +
+                    "slice of a to be searched.")
+    @ArgumentClinic(name = "lo", conversion = ClinicConversion.Index, defaultValue = "0")
+    @ArgumentClinic(name = "hi", conversion = ClinicConversion.Index, defaultValue = "-1", useDefaultForNone = true)
+    @GenerateNodeFactory
+    abstract static class InsortLeftNode extends PythonQuaternaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return BisectModuleBuiltinsClinicProviders.InsortLeftNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        static Object insortLeft(VirtualFrame frame, Object a, Object x, int lo, int hi,
+                        @Cached("create(false)") BisectNode bisectNode,
+                        @Cached InsertNode insertNode) {
+            insertNode.execute(frame, a, bisectNode.execute(frame, a, x, lo, hi), x);
+            return PNone.NONE;
+        }
+    }
+
+    /**
+     * Equivalent of {@code internal_bisect_right} and {@code internal_bisect_left}. A {@code hi}
+     * of -1 stands for the length of the sequence.
+     */
+    @ImportStatic(PGuards.class)
+    abstract static class BisectNode extends PNodeWithRaise {
+        final boolean right;
+
+        BisectNode(boolean right) {
+            this.right = right;
+        }
+
+        abstract int execute(VirtualFrame frame, Object a, Object x, int lo, int hi);
+
+        @Specialization(guards = {"lo >= 0", "isBuiltinList(a, isBuiltinClass)", "isIntStorage(a)", "hi <= a.getSequenceStorage().length()"})
+        int doInt(PList a, int x, int lo, int hi,
+                        @SuppressWarnings("unused") @Cached IsBuiltinClassProfile isBuiltinClass) {
+            IntSequenceStorage storage = (IntSequenceStorage) a.getSequenceStorage();
+            int[] array = storage.getInternalIntArray();
+            int high = hi == -1 ? storage.length() : hi;
+            int low = lo;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (right ? x < array[mid] : !(array[mid] < x)) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        @Specialization(guards = {"lo >= 0", "isBuiltinList(a, isBuiltinClass)", "isLongStorage(a)", "hi <= a.getSequenceStorage().length()"})
+        int doLong(PList a, long x, int lo, int hi,
+                        @SuppressWarnings("unused") @Cached IsBuiltinClassProfile isBuiltinClass) {
+            LongSequenceStorage storage = (LongSequenceStorage) a.getSequenceStorage();
+            long[] array = storage.getInternalLongArray();
+            int high = hi == -1 ? storage.length() : hi;
+            int low = lo;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (right ? x < array[mid] : !(array[mid] < x)) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        @Specialization(guards = {"lo >= 0", "isBuiltinList(a, isBuiltinClass)", "isLongStorage(a)", "hi <= a.getSequenceStorage().length()"})
+        int doLongInt(PList a, int x, int lo, int hi,
+                        @Cached IsBuiltinClassProfile isBuiltinClass) {
+            return doLong(a, x, lo, hi, isBuiltinClass);
+        }
+
+        @Specialization(guards = {"lo >= 0", "isBuiltinList(a, isBuiltinClass)", "isDoubleStorage(a)", "hi <= a.getSequenceStorage().length()"})
+        int doDouble(PList a, double x, int lo, int hi,
+                        @SuppressWarnings("unused") @Cached IsBuiltinClassProfile isBuiltinClass) {
+            DoubleSequenceStorage storage = (DoubleSequenceStorage) a.getSequenceStorage();
+            double[] array = storage.getInternalDoubleArray();
+            int high = hi == -1 ? storage.length() : hi;
+            int low = lo;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (right ? x < array[mid] : !(array[mid] < x)) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        @Specialization
+        int doGeneric(VirtualFrame frame, Object a, Object x, int lo, int hi,
+                        @Cached PyObjectSizeNode sizeNode,
+                        @Cached PyObjectGetItem getItemNode,
+                        @Cached PyObjectRichCompareBool.LtNode ltNode) {
+            if (lo < 0) {
+                throw raise(ValueError, ErrorMessages.LO_MUST_BE_NON_NEGATIVE);
+            }
+            int high = hi == -1 ? sizeNode.execute(frame, a) : hi;
+            int low = lo;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                Object item = getItemNode.execute(frame, a, mid);
+                if (right ? ltNode.execute(frame, x, item) : !ltNode.execute(frame, item, x)) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        static boolean isBuiltinList(Object object, IsBuiltinClassProfile profile) {
+            return object instanceof PList && profile.profileObject(object, PythonBuiltinClassType.PList);
+        }
+
+        static BisectNode create(boolean right) {
+            return BisectModuleBuiltinsFactory.BisectNodeGen.create(right);
+        }
+    }
+
+    /**
+     * Inserts into an exact list directly, like {@code PyList_Insert}, and calls the
+     * {@code insert} method of any other sequence.
+     */
+    abstract static class InsertNode extends PNodeWithRaise {
+        abstract void execute(VirtualFrame frame, Object a, int index, Object x);
+
+        @Specialization
+        static void doInsert(VirtualFrame frame, Object a, int index, Object x,
+                        @Cached IsBuiltinClassProfile isBuiltinClass,
+                        @Cached SequenceStorageNodes.InsertItemNode insertItemNode,
+                        @Cached PyObjectCallMethodObjArgs callInsertNode,
+                        @Cached ConditionProfile generalizedProfile) {
+            if (BisectNode.isBuiltinList(a, isBuiltinClass)) {
+                PList list = (PList) a;
+                SequenceStorage storage = list.getSequenceStorage();
+                // the comparisons may have shrunk the list, PyList_Insert clamps the index
+                SequenceStorage newStorage = insertItemNode.execute(storage, Math.min(index, storage.length()), x);
+                if (generalizedProfile.profile(newStorage != storage)) {
+                    list.setSequenceStorage(newStorage);
+                }
+            } else {
+                callInsertNode.execute(frame, a, T_INSERT, index, x);
+            }
+        }
+    }
+}
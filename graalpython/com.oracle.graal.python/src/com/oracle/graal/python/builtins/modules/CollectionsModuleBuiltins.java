@@ -40,11 +40,14 @@
  */
 package com.oracle.graal.python.builtins.modules;
 
+import static com.oracle.graal.python.nodes.BuiltinNames.J_COUNT_ELEMENTS;
 import static com.oracle.graal.python.nodes.BuiltinNames.J_DEFAULTDICT;
 import static com.oracle.graal.python.nodes.BuiltinNames.J_DEQUE;
 import static com.oracle.graal.python.nodes.BuiltinNames.J_DEQUE_ITER;
 import static com.oracle.graal.python.nodes.BuiltinNames.J_DEQUE_REV_ITER;
+import static com.oracle.graal.python.nodes.BuiltinNames.J_ORDERED_DICT;
 import static com.oracle.graal.python.nodes.BuiltinNames.J_TUPLE_GETTER;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T_GET;
 
 import java.util.List;
 
@@ -54,27 +57,52 @@ import com.oracle.graal.python.builtins.CoreFunctions;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
 import com.oracle.graal.python.builtins.objects.deque.DequeIterBuiltins.DequeIterNextNode;
 import com.oracle.graal.python.builtins.objects.deque.PDeque;
 import com.oracle.graal.python.builtins.objects.deque.PDequeIter;
+import com.oracle.graal.python.builtins.objects.dict.DictBuiltinsFactory;
 import com.oracle.graal.python.builtins.objects.dict.PDefaultDict;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.dict.POrderedDict;
+import com.oracle.graal.python.builtins.objects.function.BuiltinMethodDescriptors;
+import com.oracle.graal.python.builtins.objects.function.PBuiltinFunction;
 import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.type.SpecialMethodSlot;
 import com.oracle.graal.python.lib.PyNumberIndexNode;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectGetIter;
+import com.oracle.graal.python.lib.PyObjectSetItem;
 import com.oracle.graal.python.nodes.BuiltinNames;
 import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.SpecialMethodNames;
+import com.oracle.graal.python.nodes.attributes.LookupAttributeInMRONode;
+import com.oracle.graal.python.nodes.attributes.LookupCallableSlotInMRONode;
+import com.oracle.graal.python.nodes.control.GetNextNode;
+import com.oracle.graal.python.nodes.expression.BinaryArithmetic;
+import com.oracle.graal.python.nodes.expression.BinaryOpNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonVarargsBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
 import com.oracle.graal.python.nodes.util.CastToJavaIntExactNode;
+import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.LoopNode;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 
 @CoreFunctions(defineModule = "_collections")
 public class CollectionsModuleBuiltins extends PythonBuiltins {
@@ -189,6 +217,79 @@ public class CollectionsModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    // _collections.OrderedDict
+    @Builtin(name = J_ORDERED_DICT, minNumOfPositionalArgs = 1, constructsClass = PythonBuiltinClassType.POrderedDict, takesVarArgs = true, takesVarKeywordArgs = true)
+    @GenerateNodeFactory
+    abstract static class OrderedDictNode extends PythonVarargsBuiltinNode {
+        @Specialization
+        @SuppressWarnings("unused")
+        POrderedDict doGeneric(Object cls, Object[] args, PKeyword[] kwargs) {
+            return factory().createOrderedDict(cls);
+        }
+    }
+
+    // _collections._count_elements(mapping, iterable)
+    @Builtin(name = J_COUNT_ELEMENTS, minNumOfPositionalArgs = 2, parameterNames = {"mapping", "iterable"})
+    @GenerateNodeFactory
+    @ImportStatic({SpecialMethodNames.class, SpecialMethodSlot.class})
+    abstract static class CountElementsNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object count(VirtualFrame frame, Object mapping, Object iterable,
+                        @Cached GetClassNode getClassNode,
+                        @Cached(parameters = "T_GET") LookupAttributeInMRONode lookupGet,
+                        @Cached(parameters = "SetItem") LookupCallableSlotInMRONode lookupSetItem,
+                        @Cached ConditionProfile isBuiltinDict,
+                        @Cached ConditionProfile hasFrame,
+                        @CachedLibrary(limit = "3") HashingStorageLibrary lib,
+                        @Cached("createAdd()") BinaryOpNode addNode,
+                        @Cached PyObjectCallMethodObjArgs callGet,
+                        @Cached PyObjectSetItem setItemNode,
+                        @Cached PyObjectGetIter getIter,
+                        @Cached GetNextNode nextNode,
+                        @Cached IsBuiltinClassProfile errorProfile) {
+            Object iterator = getIter.execute(frame, iterable);
+            // like CPython, we bypass the dict protocol only if the mapping uses dict's get and
+            // __setitem__, which is the case for Counter
+            boolean direct = isBuiltinDict.profile(mapping instanceof PDict && hasBuiltinGetAndSetItem(getClassNode.execute(mapping), lookupGet, lookupSetItem));
+            int n = 0;
+            try {
+                while (true) {
+                    Object elem;
+                    try {
+                        elem = nextNode.execute(frame, iterator);
+                    } catch (PException e) {
+                        e.expectStopIteration(errorProfile);
+                        return PNone.NONE;
+                    }
+                    n++;
+                    if (direct) {
+                        PDict dict = (PDict) mapping;
+                        Object oldValue = lib.getItemWithFrame(dict.getDictStorage(), elem, hasFrame, frame);
+                        Object newValue = oldValue == null ? 1 : addNode.executeObject(frame, oldValue, 1);
+                        // the addition may have called arbitrary code, so we re-read the storage
+                        HashingStorage storage = lib.setItemWithFrame(dict.getDictStorage(), elem, newValue, hasFrame, frame);
+                        dict.setDictStorage(storage);
+                    } else {
+                        Object oldValue = callGet.execute(frame, mapping, T_GET, elem, 0);
+                        setItemNode.execute(frame, mapping, elem, addNode.executeObject(frame, oldValue, 1));
+                    }
+                }
+            } finally {
+                LoopNode.reportLoopCount(this, n);
+            }
+        }
+
+        static BinaryOpNode createAdd() {
+            return BinaryArithmetic.Add.create();
+        }
+
+        private static boolean hasBuiltinGetAndSetItem(Object type, LookupAttributeInMRONode lookupGet, LookupCallableSlotInMRONode lookupSetItem) {
+            Object get = lookupGet.execute(type);
+            return get instanceof PBuiltinFunction && ((PBuiltinFunction) get).getBuiltinNodeFactory() == DictBuiltinsFactory.GetNodeFactory.getInstance() &&
+                            lookupSetItem.execute(type) == BuiltinMethodDescriptors.DICT_SET_ITEM;
+        }
+    }
+
     // _collections._tuplegetter
     @Builtin(name = J_TUPLE_GETTER, parameterNames = {"cls", "index", "doc"}, constructsClass = PythonBuiltinClassType.PTupleGetter)
     @ArgumentClinic(name = "index", conversion = ArgumentClinic.ClinicConversion.Index)
@@ -79,6 +79,8 @@ import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.modules.GraalPythonModuleBuiltinsFactory.DebugNodeFactory;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.cext.capi.CApiContext;
+import com.oracle.graal.python.builtins.objects.cext.capi.HandleCache;
 import com.oracle.graal.python.builtins.objects.code.CodeNodes;
 import com.oracle.graal.python.builtins.objects.code.PCode;
 import com.oracle.graal.python.builtins.objects.common.DynamicObjectStorage;
@@ -90,6 +92,7 @@ import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
 import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum.ErrorAndMessagePair;
 import com.oracle.graal.python.builtins.objects.function.PFunction;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
 import com.oracle.graal.python.builtins.objects.generator.PGenerator;
 import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.builtins.objects.method.PMethod;
@@ -157,6 +160,19 @@ public class GraalPythonModuleBuiltins extends PythonBuiltins {
     private static final TruffleString T__RUN_MODULE_AS_MAIN = tsLiteral("_run_module_as_main");
     private static final TruffleString T_STDIO_ENCODING = tsLiteral("stdio_encoding");
     private static final TruffleString T_STDIO_ERROR = tsLiteral("stdio_error");
+    private static final TruffleString T_WAIT_TIME = tsLiteral("wait_time");
+    private static final TruffleString T_HANDOFFS = tsLiteral("handoffs");
+    private static final TruffleString T_DROP_REQUESTS = tsLiteral("drop_requests");
+    private static final TruffleString T_HITS = tsLiteral("hits");
+    private static final TruffleString T_MISSES = tsLiteral("misses");
+    private static final TruffleString T_SIZE = tsLiteral("size");
+    private static final TruffleString T_RESIZES = tsLiteral("resizes");
+    private static final TruffleString T_QUEUE_DEPTH = tsLiteral("queue_depth");
+    private static final TruffleString T_BATCHES = tsLiteral("batches");
+    private static final TruffleString T_CLEANED = tsLiteral("cleaned");
+    private static final TruffleString T_MAX_BATCH_SIZE = tsLiteral("max_batch_size");
+    private static final TruffleString T_PAUSE_TIME = tsLiteral("pause_time");
+    private static final TruffleString T_MAX_PAUSE_TIME = tsLiteral("max_pause_time");
 
     @Override
     protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
@@ -634,6 +650,74 @@ public class GraalPythonModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "gil_stats", minNumOfPositionalArgs = 0, doc = "Returns the total time in seconds threads spent waiting for the GIL, the number of times\n" +
+                    "the GIL was handed over to a waiting thread and the number of times its owner was asked to drop it.")
+    @GenerateNodeFactory
+    public abstract static class GilStatsNode extends PythonBuiltinNode {
+        @Specialization
+        PDict doIt() {
+            PythonContext context = getContext();
+            return factory().createDict(new PKeyword[]{
+                            new PKeyword(T_WAIT_TIME, context.getGilWaitTimeNanos() / 1.0e9),
+                            new PKeyword(T_HANDOFFS, context.getGilHandoffCount()),
+                            new PKeyword(T_DROP_REQUESTS, context.getGilDropRequestCount())});
+        }
+    }
+
+    @Builtin(name = "handle_cache_stats", minNumOfPositionalArgs = 0, doc = "Returns a list with one dict per C API handle cache holding its number of hits and misses,\n" +
+                    "the current size of its table and the number of times the table was grown. Hits of\n" +
+                    "handles that are cached inline in compiled code are not counted.")
+    @GenerateNodeFactory
+    public abstract static class HandleCacheStatsNode extends PythonBuiltinNode {
+        @Specialization
+        PList doIt() {
+            HandleCache[] caches = getContext().getHandleCaches();
+            Object[] stats = new Object[caches.length];
+            for (int i = 0; i < caches.length; i++) {
+                HandleCache cache = caches[i];
+                stats[i] = factory().createDict(new PKeyword[]{
+                                new PKeyword(T_HITS, cache.getHits()),
+                                new PKeyword(T_MISSES, cache.getMisses()),
+                                new PKeyword(T_SIZE, cache.getTableSize()),
+                                new PKeyword(T_RESIZES, cache.getResizes())});
+            }
+            return factory().createList(stats);
+        }
+    }
+
+    @Builtin(name = "native_reference_cleaner_stats", minNumOfPositionalArgs = 0, doc = "Returns the number of dead native object references waiting to be released, the number\n" +
+                    "of cleaner batches, the number of released references, the largest batch and the total and the\n" +
+                    "longest time in seconds the cleaner paused the thread releasing them.")
+    @GenerateNodeFactory
+    public abstract static class NativeReferenceCleanerStatsNode extends PythonBuiltinNode {
+        @Specialization
+        PDict doIt() {
+            PythonContext context = getContext();
+            long queueDepth = 0;
+            long batches = 0;
+            long cleaned = 0;
+            int maxBatchSize = 0;
+            long pauseNanos = 0;
+            long maxPauseNanos = 0;
+            if (context.hasCApiContext()) {
+                CApiContext cApiContext = context.getCApiContext();
+                queueDepth = cApiContext.getQueuedReferences();
+                batches = cApiContext.getCleanerBatches();
+                cleaned = cApiContext.getCleanedReferences();
+                maxBatchSize = cApiContext.getMaxCleanerBatchSize();
+                pauseNanos = cApiContext.getCleanerPauseNanos();
+                maxPauseNanos = cApiContext.getMaxCleanerPauseNanos();
+            }
+            return factory().createDict(new PKeyword[]{
+                            new PKeyword(T_QUEUE_DEPTH, queueDepth),
+                            new PKeyword(T_BATCHES, batches),
+                            new PKeyword(T_CLEANED, cleaned),
+                            new PKeyword(T_MAX_BATCH_SIZE, maxBatchSize),
+                            new PKeyword(T_PAUSE_TIME, pauseNanos / 1.0e9),
+                            new PKeyword(T_MAX_PAUSE_TIME, maxPauseNanos / 1.0e9)});
+        }
+    }
+
     // Internal builtin used for testing: changes strategy of newly allocated set or map
     @Builtin(name = "set_storage_strategy", minNumOfPositionalArgs = 2)
     @GenerateNodeFactory
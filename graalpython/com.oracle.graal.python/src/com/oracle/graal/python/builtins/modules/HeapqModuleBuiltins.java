@@ -0,0 +1,538 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.IndexError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.RuntimeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.nodes.BuiltinNames.J__HEAPQ;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.lib.PyObjectRichCompareBool;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.builtins.ListNodes;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+
+/**
+ * Implementation of {@code Modules/_heapqmodule.c}. Heaps backed by an int, long or double storage
+ * are sifted directly in the storage array, since comparing such items cannot run any user code.
+ * All other heaps compare their items with {@code PyObject_RichCompareBool} and, like CPython,
+ * raise a {@code RuntimeError} if a comparison changes the size of the list.
+ */
+@CoreFunctions(defineModule = J__HEAPQ)
+public class HeapqModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return HeapqModuleBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = "heappush", minNumOfPositionalArgs = 2, doc = "Push item onto heap, maintaining the heap invariant.")
+    @GenerateNodeFactory
+    abstract static class HeappushNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object heappush(VirtualFrame frame, PList heap, Object item,
+                        @Cached ListNodes.AppendNode appendNode,
+                        @Cached("create(false)") SiftDownNode siftDownNode) {
+            appendNode.execute(heap, item);
+            siftDownNode.execute(frame, heap, 0, heap.getSequenceStorage().length() - 1);
+            return PNone.NONE;
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap, @SuppressWarnings("unused") Object item) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    @Builtin(name = "heappop", minNumOfPositionalArgs = 1, doc = "Pop the smallest item off the heap, maintaining the heap invariant.")
+    @GenerateNodeFactory
+    abstract static class HeappopNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object heappop(VirtualFrame frame, PList heap,
+                        @Cached("create(false)") PopTopNode popTopNode) {
+            return popTopNode.execute(frame, heap);
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    @Builtin(name = "_heappop_max", minNumOfPositionalArgs = 1, doc = "Maxheap variant of heappop.")
+    @GenerateNodeFactory
+    abstract static class HeappopMaxNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object heappop(VirtualFrame frame, PList heap,
+                        @Cached("create(true)") PopTopNode popTopNode) {
+            return popTopNode.execute(frame, heap);
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    @Builtin(name = "heapreplace", minNumOfPositionalArgs = 2, doc = "heapreplace($module, heap, item, /)\n--\n\n" +
+                    "Pop and return the current smallest value, and add the new item.\n\n" +
+                    "This is more efficient than heappop() followed by heappush(), and can be\n" +
+                    "more appropriate when using a fixed-size heap.  Note that the value\n" +
+                    "returned may be larger than item!  That constrains reasonable uses of\n" +
+                    "this routine unless written as part of a conditional replacement:\n\n" +
+                    "    if item > heap[0]:\n" +
+                    "        item = heapreplace(heap, item)")
+    @GenerateNodeFactory
+    abstract static class HeapreplaceNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object heapreplace(VirtualFrame frame, PList heap, Object item,
+                        @Cached("create(false)") ReplaceTopNode replaceTopNode) {
+            return replaceTopNode.execute(frame, heap, item);
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap, @SuppressWarnings("unused") Object item) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    @Builtin(name = "_heapreplace_max", minNumOfPositionalArgs = 2, doc = "Maxheap variant of heapreplace.")
+    @GenerateNodeFactory
+    abstract static class HeapreplaceMaxNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object heapreplace(VirtualFrame frame, PList heap, Object item,
+                        @Cached("create(true)") ReplaceTopNode replaceTopNode) {
+            return replaceTopNode.execute(frame, heap, item);
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap, @SuppressWarnings("unused") Object item) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    @Builtin(name = "heappushpop", minNumOfPositionalArgs = 2, doc = "heappushpop($module, heap, item, /)\n--\n\n" +
+                    "Push item on the heap, then pop and return the smallest item from the heap.\n\n" +
+                    "The combined action runs more efficiently than heappush() followed by\n" +
+                    "a separate call to heappop().")
+    @GenerateNodeFactory
+    abstract static class HeappushpopNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object heappushpop(VirtualFrame frame, PList heap, Object item,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached PyObjectRichCompareBool.LtNode ltNode,
+                        @Cached("create(false)") ReplaceTopNode replaceTopNode) {
+            SequenceStorage storage = heap.getSequenceStorage();
+            if (storage.length() == 0 || !ltNode.execute(frame, getItemNode.execute(storage, 0), item)) {
+                return item;
+            }
+            return replaceTopNode.execute(frame, heap, item);
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap, @SuppressWarnings("unused") Object item) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    @Builtin(name = "heapify", minNumOfPositionalArgs = 1, doc = "Transform list into a heap, in-place, in O(len(heap)) time.")
+    @GenerateNodeFactory
+    abstract static class HeapifyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object heapify(VirtualFrame frame, PList heap,
+                        @Cached("create(false)") SiftUpNode siftUpNode) {
+            doHeapify(frame, heap, siftUpNode);
+            return PNone.NONE;
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    @Builtin(name = "_heapify_max", minNumOfPositionalArgs = 1, doc = "Maxheap variant of heapify.")
+    @GenerateNodeFactory
+    abstract static class HeapifyMaxNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object heapify(VirtualFrame frame, PList heap,
+                        @Cached("create(true)") SiftUpNode siftUpNode) {
+            doHeapify(frame, heap, siftUpNode);
+            return PNone.NONE;
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    private static void doHeapify(VirtualFrame frame, PList heap, SiftUpNode siftUpNode) {
+        // the leaves are already heaps, so only the nodes with children need to be sifted
+        for (int i = heap.getSequenceStorage().length() / 2 - 1; i >= 0; i--) {
+            siftUpNode.execute(frame, heap, i);
+        }
+    }
+
+    /**
+     * Removes the last item, puts it at the top and sifts it to its place. Returns the previous
+     * top item.
+     */
+    abstract static class PopTopNode extends PNodeWithRaise {
+        final boolean isMax;
+
+        PopTopNode(boolean isMax) {
+            this.isMax = isMax;
+        }
+
+        abstract Object execute(VirtualFrame frame, PList heap);
+
+        @Specialization
+        Object pop(VirtualFrame frame, PList heap,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached SequenceStorageNodes.SetItemScalarNode setItemNode,
+                        @Cached SequenceStorageNodes.SetLenNode setLenNode,
+                        @Cached("create(isMax)") SiftUpNode siftUpNode) {
+            SequenceStorage storage = heap.getSequenceStorage();
+            int n = storage.length();
+            if (n == 0) {
+                throw raise(IndexError, ErrorMessages.INDEX_OUT_OF_RANGE);
+            }
+            Object lastItem = getItemNode.execute(storage, n - 1);
+            setLenNode.execute(storage, n - 1);
+            if (n == 1) {
+                return lastItem;
+            }
+            Object result = getItemNode.execute(storage, 0);
+            setItemNode.execute(storage, 0, lastItem);
+            siftUpNode.execute(frame, heap, 0);
+            return result;
+        }
+
+        static PopTopNode create(boolean isMax) {
+            return HeapqModuleBuiltinsFactory.PopTopNodeGen.create(isMax);
+        }
+    }
+
+    /**
+     * Replaces the top item with the given one and sifts it to its place. Returns the previous top
+     * item.
+     */
+    abstract static class ReplaceTopNode extends PNodeWithRaise {
+        final boolean isMax;
+
+        ReplaceTopNode(boolean isMax) {
+            this.isMax = isMax;
+        }
+
+        abstract Object execute(VirtualFrame frame, PList heap, Object item);
+
+        @Specialization
+        Object replace(VirtualFrame frame, PList heap, Object item,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached("createForList()") SequenceStorageNodes.SetItemNode setItemNode,
+                        @Cached("create(isMax)") SiftUpNode siftUpNode) {
+            SequenceStorage storage = heap.getSequenceStorage();
+            if (storage.length() == 0) {
+                throw raise(IndexError, ErrorMessages.INDEX_OUT_OF_RANGE);
+            }
+            Object result = getItemNode.execute(storage, 0);
+            SequenceStorage newStorage = setItemNode.execute(storage, 0, item);
+            if (newStorage != storage) {
+                heap.setSequenceStorage(newStorage);
+            }
+            siftUpNode.execute(frame, heap, 0);
+            return result;
+        }
+
+        static ReplaceTopNode create(boolean isMax) {
+            return HeapqModuleBuiltinsFactory.ReplaceTopNodeGen.create(isMax);
+        }
+    }
+
+    /**
+     * Moves the item at {@code pos} up towards {@code startPos} until its parent is not greater
+     * (or, for a max-heap, not smaller), see {@code siftdown} in {@code Modules/_heapqmodule.c}.
+     */
+    @ImportStatic(PGuards.class)
+    abstract static class SiftDownNode extends PNodeWithRaise {
+        final boolean isMax;
+
+        SiftDownNode(boolean isMax) {
+            this.isMax = isMax;
+        }
+
+        abstract void execute(VirtualFrame frame, PList heap, int startPos, int pos);
+
+        @Specialization(guards = "isIntStorage(heap)")
+        void doInt(PList heap, int startPos, int pos) {
+            siftDown(((IntSequenceStorage) heap.getSequenceStorage()).getInternalIntArray(), startPos, pos, isMax);
+        }
+
+        @Specialization(guards = "isLongStorage(heap)")
+        void doLong(PList heap, int startPos, int pos) {
+            siftDown(((LongSequenceStorage) heap.getSequenceStorage()).getInternalLongArray(), startPos, pos, isMax);
+        }
+
+        @Specialization(guards = "isDoubleStorage(heap)")
+        void doDouble(PList heap, int startPos, int pos) {
+            siftDown(((DoubleSequenceStorage) heap.getSequenceStorage()).getInternalDoubleArray(), startPos, pos, isMax);
+        }
+
+        @Specialization(guards = {"!isIntStorage(heap)", "!isLongStorage(heap)", "!isDoubleStorage(heap)"})
+        void doGeneric(VirtualFrame frame, PList heap, int startPos, int pos,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached SequenceStorageNodes.SetItemScalarNode setItemNode,
+                        @Cached PyObjectRichCompareBool.LtNode ltNode) {
+            SequenceStorage storage = heap.getSequenceStorage();
+            int size = storage.length();
+            while (pos > startPos) {
+                int parentPos = (pos - 1) >> 1;
+                Object item = getItemNode.execute(storage, pos);
+                Object parent = getItemNode.execute(storage, parentPos);
+                boolean lt = isMax ? ltNode.execute(frame, parent, item) : ltNode.execute(frame, item, parent);
+                storage = heap.getSequenceStorage();
+                if (storage.length() != size) {
+                    throw raise(RuntimeError, ErrorMessages.CHANGED_SIZE_DURING_ITERATION, "list");
+                }
+                if (!lt) {
+                    break;
+                }
+                // the comparison may have mutated the list, so swap whatever is there now
+                parent = getItemNode.execute(storage, parentPos);
+                setItemNode.execute(storage, parentPos, getItemNode.execute(storage, pos));
+                setItemNode.execute(storage, pos, parent);
+                pos = parentPos;
+            }
+        }
+
+        static SiftDownNode create(boolean isMax) {
+            return HeapqModuleBuiltinsFactory.SiftDownNodeGen.create(isMax);
+        }
+    }
+
+    /**
+     * Moves the item at {@code pos} down to a leaf by repeatedly swapping it with its smaller (or,
+     * for a max-heap, greater) child and then sifts it back up to its place, see {@code siftup} in
+     * {@code Modules/_heapqmodule.c}.
+     */
+    @ImportStatic(PGuards.class)
+    abstract static class SiftUpNode extends PNodeWithRaise {
+        final boolean isMax;
+
+        SiftUpNode(boolean isMax) {
+            this.isMax = isMax;
+        }
+
+        abstract void execute(VirtualFrame frame, PList heap, int pos);
+
+        @Specialization(guards = "isIntStorage(heap)")
+        void doInt(PList heap, int pos) {
+            IntSequenceStorage storage = (IntSequenceStorage) heap.getSequenceStorage();
+            siftUp(storage.getInternalIntArray(), storage.length(), pos, isMax);
+        }
+
+        @Specialization(guards = "isLongStorage(heap)")
+        void doLong(PList heap, int pos) {
+            LongSequenceStorage storage = (LongSequenceStorage) heap.getSequenceStorage();
+            siftUp(storage.getInternalLongArray(), storage.length(), pos, isMax);
+        }
+
+        @Specialization(guards = "isDoubleStorage(heap)")
+        void doDouble(PList heap, int pos) {
+            DoubleSequenceStorage storage = (DoubleSequenceStorage) heap.getSequenceStorage();
+            siftUp(storage.getInternalDoubleArray(), storage.length(), pos, isMax);
+        }
+
+        @Specialization(guards = {"!isIntStorage(heap)", "!isLongStorage(heap)", "!isDoubleStorage(heap)"})
+        void doGeneric(VirtualFrame frame, PList heap, int pos,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached SequenceStorageNodes.SetItemScalarNode setItemNode,
+                        @Cached PyObjectRichCompareBool.LtNode ltNode,
+                        @Cached("create(isMax)") SiftDownNode siftDownNode) {
+            SequenceStorage storage = heap.getSequenceStorage();
+            int endPos = storage.length();
+            int startPos = pos;
+            int limit = endPos >> 1;
+            while (pos < limit) {
+                int childPos = 2 * pos + 1;
+                if (childPos + 1 < endPos) {
+                    Object left = getItemNode.execute(storage, childPos);
+                    Object right = getItemNode.execute(storage, childPos + 1);
+                    boolean lt = isMax ? ltNode.execute(frame, right, left) : ltNode.execute(frame, left, right);
+                    storage = heap.getSequenceStorage();
+                    if (storage.length() != endPos) {
+                        throw raise(RuntimeError, ErrorMessages.CHANGED_SIZE_DURING_ITERATION, "list");
+                    }
+                    if (!lt) {
+                        childPos++;
+                    }
+                }
+                Object child = getItemNode.execute(storage, childPos);
+                setItemNode.execute(storage, childPos, getItemNode.execute(storage, pos));
+                setItemNode.execute(storage, pos, child);
+                pos = childPos;
+            }
+            siftDownNode.execute(frame, heap, startPos, pos);
+        }
+
+        static SiftUpNode create(boolean isMax) {
+            return HeapqModuleBuiltinsFactory.SiftUpNodeGen.create(isMax);
+        }
+    }
+
+    private static void siftDown(int[] heap, int startPos, int pos, boolean isMax) {
+        int item = heap[pos];
+        while (pos > startPos) {
+            int parentPos = (pos - 1) >> 1;
+            int parent = heap[parentPos];
+            if (!(isMax ? parent < item : item < parent)) {
+                break;
+            }
+            heap[pos] = parent;
+            pos = parentPos;
+        }
+        heap[pos] = item;
+    }
+
+    private static void siftDown(long[] heap, int startPos, int pos, boolean isMax) {
+        long item = heap[pos];
+        while (pos > startPos) {
+            int parentPos = (pos - 1) >> 1;
+            long parent = heap[parentPos];
+            if (!(isMax ? parent < item : item < parent)) {
+                break;
+            }
+            heap[pos] = parent;
+            pos = parentPos;
+        }
+        heap[pos] = item;
+    }
+
+    private static void siftDown(double[] heap, int startPos, int pos, boolean isMax) {
+        double item = heap[pos];
+        while (pos > startPos) {
+            int parentPos = (pos - 1) >> 1;
+            double parent = heap[parentPos];
+            if (!(isMax ? parent < item : item < parent)) {
+                break;
+            }
+            heap[pos] = parent;
+            pos = parentPos;
+        }
+        heap[pos] = item;
+    }
+
+    private static void siftUp(int[] heap, int endPos, int pos, boolean isMax) {
+        int startPos = pos;
+        int item = heap[pos];
+        int childPos = 2 * pos + 1;
+        while (childPos < endPos) {
+            int rightPos = childPos + 1;
+            if (rightPos < endPos && !(isMax ? heap[rightPos] < heap[childPos] : heap[childPos] < heap[rightPos])) {
+                childPos = rightPos;
+            }
+            heap[pos] = heap[childPos];
+            pos = childPos;
+            childPos = 2 * pos + 1;
+        }
+        heap[pos] = item;
+        siftDown(heap, startPos, pos, isMax);
+    }
+
+    private static void siftUp(long[] heap, int endPos, int pos, boolean isMax) {
+        int startPos = pos;
+        long item = heap[pos];
+        int childPos = 2 * pos + 1;
+        while (childPos < endPos) {
+            int rightPos = childPos + 1;
+            if (rightPos < endPos && !(isMax ? heap[rightPos] < heap[childPos] : heap[childPos] < heap[rightPos])) {
+                childPos = rightPos;
+            }
+            heap[pos] = heap[childPos];
+            pos = childPos;
+            childPos = 2 * pos + 1;
+        }
+        heap[pos] = item;
+        siftDown(heap, startPos, pos, isMax);
+    }
+
+    private static void siftUp(double[] heap, int endPos, int pos, boolean isMax) {
+        int startPos = pos;
+        double item = heap[pos];
+        int childPos = 2 * pos + 1;
+        while (childPos < endPos) {
+            int rightPos = childPos + 1;
+            if (rightPos < endPos && !(isMax ? heap[rightPos] < heap[childPos] : heap[childPos] < heap[rightPos])) {
+                childPos = rightPos;
+            }
+            heap[pos] = heap[childPos];
+            pos = childPos;
+            childPos = 2 * pos + 1;
+        }
+        heap[pos] = item;
+        siftDown(heap, startPos, pos, isMax);
+    }
+}
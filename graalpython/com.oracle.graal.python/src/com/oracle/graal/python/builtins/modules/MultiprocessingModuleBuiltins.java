@@ -41,7 +41,9 @@
 package com.oracle.graal.python.builtins.modules;
 
 import static com.oracle.graal.python.builtins.PythonBuiltinClassType.OSError;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLIN;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Semaphore;
 
@@ -78,7 +80,6 @@ import com.oracle.graal.python.nodes.util.CastToJavaIntLossyNode;
 import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
 import com.oracle.graal.python.runtime.GilNode;
 import com.oracle.graal.python.runtime.PosixSupportLibrary;
-import com.oracle.graal.python.runtime.PosixSupportLibrary.Timeval;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonContext.SharedMultiprocessingData;
 import com.oracle.graal.python.runtime.sequence.PSequence;
@@ -458,16 +459,18 @@ public class MultiprocessingModuleBuiltins extends PythonBuiltins {
                 long timeout = (long) (timeoutInS * 1000_000_000.0);
                 deadline = System.nanoTime() + timeout;
             }
+            int[] pollEvents = new int[posixFds.length];
+            Arrays.fill(pollEvents, POLLIN.value);
+            int[] pollRevents = new int[posixFds.length];
             while (true) {
                 boolean selected = false;
                 if (posixFds.length > 0) {
-                    PosixSupportLibrary.SelectResult selectResult = posixLib.select(posix, posixFds,
-                                    PythonUtils.EMPTY_INT_ARRAY, PythonUtils.EMPTY_INT_ARRAY, Timeval.SELECT_TIMEOUT_NOW);
-                    System.arraycopy(selectResult.getReadFds(), 0, selectedPosixFds, 0, selectedPosixFds.length);
+                    int ready = posixLib.poll(posix, posixFds, pollEvents, pollRevents, 0);
+                    for (int i = 0; i < selectedPosixFds.length; i++) {
+                        selectedPosixFds[i] = pollRevents[i] != 0;
+                    }
                     if (blocking) {
-                        for (boolean b : selectedPosixFds) {
-                            selected |= b;
-                        }
+                        selected |= ready > 0;
                     }
                 }
                 for (int i = 0; i < multiprocessingFds.length; i++) {
@@ -42,39 +42,82 @@
 package com.oracle.graal.python.builtins.modules;
 
 import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
 
 import java.util.List;
 
 import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
 import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.iterator.IteratorNodes;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
 import com.oracle.graal.python.lib.PyNumberIndexNode;
+import com.oracle.graal.python.lib.PyObjectDelItem;
 import com.oracle.graal.python.lib.PyObjectGetItem;
+import com.oracle.graal.python.lib.PyObjectGetIter;
 import com.oracle.graal.python.lib.PyObjectIsTrueNode;
+import com.oracle.graal.python.lib.PyObjectRichCompareBool;
+import com.oracle.graal.python.lib.PyObjectSetItem;
+import com.oracle.graal.python.lib.PySequenceCheckNode;
+import com.oracle.graal.python.lib.PySequenceContainsNode;
 import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.SpecialAttributeNames;
+import com.oracle.graal.python.nodes.SpecialMethodNames;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.control.GetNextNode;
+import com.oracle.graal.python.nodes.expression.BinaryArithmetic;
+import com.oracle.graal.python.nodes.expression.BinaryComparisonNode;
+import com.oracle.graal.python.nodes.expression.BinaryOpNode;
+import com.oracle.graal.python.nodes.expression.InplaceArithmetic;
+import com.oracle.graal.python.nodes.expression.LookupAndCallInplaceNode;
+import com.oracle.graal.python.nodes.expression.UnaryArithmetic;
+import com.oracle.graal.python.nodes.expression.UnaryOpNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.object.IsNode;
 import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
 import com.oracle.graal.python.nodes.util.CannotCastException;
 import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
 import com.oracle.graal.python.runtime.ExecutionContext.IndirectCallContext;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.dsl.TypeSystemReference;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.api.strings.TruffleString;
 
 @CoreFunctions(defineModule = OperatorModuleBuiltins.MODULE_NAME)
 public class OperatorModuleBuiltins extends PythonBuiltins {
 
     protected static final String MODULE_NAME = "_operator";
 
+    public OperatorModuleBuiltins() {
+        addBuiltinConstant(SpecialAttributeNames.T___DOC__, "Operator interface.\n\n" +
+                        "This module exports a set of functions implemented in C corresponding\n" +
+                        "to the intrinsic operators of Python.  For example, operator.add(x, y)\n" +
+                        "is equivalent to the expression x+y.  The function names are those\n" +
+                        "used for special methods; variants without leading and trailing\n" +
+                        "'__' are also provided for convenience.");
+    }
+
     @Override
     protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
         return OperatorModuleBuiltinsFactory.getFactories();
@@ -174,4 +217,656 @@ public class OperatorModuleBuiltins extends PythonBuiltins {
             return index.execute(frame, value);
         }
     }
+
+    @Builtin(name = "not_", minNumOfPositionalArgs = 1, doc = "Same as not a.")
+    @GenerateNodeFactory
+    abstract static class NotNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean doObject(VirtualFrame frame, Object a,
+                        @Cached PyObjectIsTrueNode isTrueNode) {
+            return !isTrueNode.execute(frame, a);
+        }
+    }
+
+    @Builtin(name = "is_", minNumOfPositionalArgs = 2, doc = "Same as a is b.")
+    @GenerateNodeFactory
+    abstract static class IsOperatorNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static boolean doObject(Object a, Object b,
+                        @Cached IsNode isNode) {
+            return isNode.execute(a, b);
+        }
+    }
+
+    @Builtin(name = "is_not", minNumOfPositionalArgs = 2, doc = "Same as a is not b.")
+    @GenerateNodeFactory
+    abstract static class IsNotOperatorNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static boolean doObject(Object a, Object b,
+                        @Cached IsNode isNode) {
+            return !isNode.execute(a, b);
+        }
+    }
+
+    @Builtin(name = "abs", minNumOfPositionalArgs = 1, doc = "Same as abs(a).")
+    @GenerateNodeFactory
+    @ImportStatic(SpecialMethodNames.class)
+    abstract static class AbsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object doObject(VirtualFrame frame, Object a,
+                        @Cached("create(T___ABS__)") LookupAndCallUnaryNode callAbs) {
+            Object result = callAbs.executeObject(frame, a);
+            if (result == PNone.NO_VALUE) {
+                throw raise(TypeError, ErrorMessages.BAD_OPERAND_FOR, "", "abs()", a);
+            }
+            return result;
+        }
+    }
+
+    // Sequence operations
+
+    @Builtin(name = "concat", minNumOfPositionalArgs = 2, doc = "Same as a + b, for a and b sequences.")
+    @GenerateNodeFactory
+    @ImportStatic(BinaryArithmetic.class)
+    abstract static class ConcatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached PySequenceCheckNode sequenceCheckNode,
+                        @Cached("Add.create()") BinaryOpNode addNode) {
+            if (!sequenceCheckNode.execute(a)) {
+                throw raise(TypeError, ErrorMessages.OBJ_CANT_BE_CONCATENATED, a);
+            }
+            return addNode.executeObject(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "iconcat", minNumOfPositionalArgs = 2, doc = "Same as a += b, for a and b sequences.")
+    @GenerateNodeFactory
+    @ImportStatic(InplaceArithmetic.class)
+    abstract static class IConcatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached PySequenceCheckNode sequenceCheckNode,
+                        @Cached("IAdd.create()") LookupAndCallInplaceNode addNode) {
+            if (!sequenceCheckNode.execute(a)) {
+                throw raise(TypeError, ErrorMessages.OBJ_CANT_BE_CONCATENATED, a);
+            }
+            return addNode.execute(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "contains", minNumOfPositionalArgs = 2, doc = "Same as b in a (note reversed operands).")
+    @GenerateNodeFactory
+    abstract static class ContainsNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static boolean doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached PySequenceContainsNode containsNode) {
+            return containsNode.execute(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "countOf", minNumOfPositionalArgs = 2, doc = "Return the number of items in a which are, or which equal, b.")
+    @GenerateNodeFactory
+    abstract static class CountOfNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static long doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached PyObjectGetIter getIter,
+                        @Cached GetNextNode nextNode,
+                        @Cached IsBuiltinClassProfile stopIterationProfile,
+                        @Cached PyObjectRichCompareBool.EqNode eqNode) {
+            Object iterator = getIter.execute(frame, a);
+            long count = 0;
+            while (true) {
+                Object item;
+                try {
+                    item = nextNode.execute(frame, iterator);
+                } catch (PException e) {
+                    e.expectStopIteration(stopIterationProfile);
+                    return count;
+                }
+                if (eqNode.execute(frame, item, b)) {
+                    count++;
+                }
+            }
+        }
+    }
+
+    @Builtin(name = "indexOf", minNumOfPositionalArgs = 2, doc = "Return the first index of b in a.")
+    @GenerateNodeFactory
+    abstract static class IndexOfNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        long doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached PyObjectGetIter getIter,
+                        @Cached GetNextNode nextNode,
+                        @Cached IsBuiltinClassProfile stopIterationProfile,
+                        @Cached PyObjectRichCompareBool.EqNode eqNode) {
+            Object iterator = getIter.execute(frame, a);
+            long index = 0;
+            while (true) {
+                Object item;
+                try {
+                    item = nextNode.execute(frame, iterator);
+                } catch (PException e) {
+                    e.expectStopIteration(stopIterationProfile);
+                    throw raise(ValueError, ErrorMessages.NOT_IN_SEQUENCE_MESSAGE);
+                }
+                if (eqNode.execute(frame, item, b)) {
+                    return index;
+                }
+                index++;
+            }
+        }
+    }
+
+    @Builtin(name = "setitem", minNumOfPositionalArgs = 3, doc = "Same as a[b] = c.")
+    @GenerateNodeFactory
+    abstract static class SetItemNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b, Object c,
+                        @Cached PyObjectSetItem setItem) {
+            setItem.execute(frame, a, b, c);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "delitem", minNumOfPositionalArgs = 2, doc = "Same as del a[b].")
+    @GenerateNodeFactory
+    abstract static class DelItemNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached PyObjectDelItem delItem) {
+            delItem.execute(frame, a, b);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "length_hint", minNumOfPositionalArgs = 1, parameterNames = {"obj", "default"}, doc = "Return an estimate of the number of items in obj.\n\n" +
+                    "This is useful for presizing containers when building from an iterable.\n\n" +
+                    "If the object supports len(), the result will be exact.\n" +
+                    "Otherwise, it may over- or under-estimate by an arbitrary amount.\n" +
+                    "The result will be an integer >= 0.")
+    @GenerateNodeFactory
+    abstract static class LengthHintNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static int doObject(VirtualFrame frame, Object obj, Object defaultValue,
+                        @Cached ConditionProfile hasDefaultProfile,
+                        @Cached PyNumberAsSizeNode asSizeNode,
+                        @Cached IteratorNodes.GetLength getLength) {
+            int defaultLength = 0;
+            if (hasDefaultProfile.profile(defaultValue != PNone.NO_VALUE)) {
+                defaultLength = asSizeNode.executeExact(frame, defaultValue);
+            }
+            int length = getLength.execute(frame, obj);
+            return length < 0 ? defaultLength : length;
+        }
+    }
+
+    // Callable objects
+
+    @Builtin(name = "itemgetter", minNumOfPositionalArgs = 1, takesVarArgs = true, constructsClass = PythonBuiltinClassType.PItemGetter, doc = "Return a callable object that fetches the given item(s) from its operand.\n" +
+                    "After f = itemgetter(2), the call f(r) returns r[2].\n" +
+                    "After g = itemgetter(2, 5, 3), the call g(r) returns (r[2], r[5], r[3])")
+    @GenerateNodeFactory
+    abstract static class ItemGetterNode extends PythonBuiltinNode {
+        @Specialization
+        Object create(Object cls, Object[] items) {
+            if (items.length == 0) {
+                throw raise(TypeError, ErrorMessages.S_EXPECTED_SD_ARGS_GOT_D, "itemgetter", "", 1, "", 0);
+            }
+            return factory().createItemGetter(cls, items);
+        }
+    }
+
+    @Builtin(name = "attrgetter", minNumOfPositionalArgs = 1, takesVarArgs = true, constructsClass = PythonBuiltinClassType.PAttrGetter, doc = "Return a callable object that fetches the given attribute(s) from its operand.\n" +
+                    "After f = attrgetter('name'), the call f(r) returns r.name.\n" +
+                    "After g = attrgetter('name', 'date'), the call g(r) returns (r.name, r.date).\n" +
+                    "After h = attrgetter('name.first', 'name.last'), the call h(r) returns\n" +
+                    "(r.name.first, r.name.last).")
+    @GenerateNodeFactory
+    abstract static class AttrGetterNode extends PythonBuiltinNode {
+        @Specialization
+        Object create(Object cls, Object[] attrs,
+                        @Cached CastToTruffleStringNode castToStringNode) {
+            if (attrs.length == 0) {
+                throw raise(TypeError, ErrorMessages.S_EXPECTED_SD_ARGS_GOT_D, "attrgetter", "", 1, "", 0);
+            }
+            TruffleString[][] chains = new TruffleString[attrs.length][];
+            for (int i = 0; i < attrs.length; i++) {
+                try {
+                    chains[i] = splitDottedName(castToStringNode.execute(attrs[i]));
+                } catch (CannotCastException e) {
+                    throw raise(TypeError, ErrorMessages.ATTRIBUTE_NAME_MUST_BE_A_STRING);
+                }
+            }
+            return factory().createAttrGetter(cls, attrs, chains);
+        }
+
+        @TruffleBoundary
+        private static TruffleString[] splitDottedName(TruffleString name) {
+            String[] parts = name.toJavaStringUncached().split("\\.", -1);
+            TruffleString[] chain = new TruffleString[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                chain[i] = toTruffleStringUncached(parts[i]);
+            }
+            return chain;
+        }
+    }
+
+    @Builtin(name = "methodcaller", minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PMethodCaller, doc = "Return a callable object that calls the given method on its operand.\n" +
+                    "After f = methodcaller('name'), the call f(r) returns r.name().\n" +
+                    "After g = methodcaller('name', 'date', foo=1), the call g(r) returns\n" +
+                    "r.name('date', foo=1).")
+    @GenerateNodeFactory
+    abstract static class MethodCallerNode extends PythonBuiltinNode {
+        @Specialization
+        Object create(Object cls, Object[] args, PKeyword[] keywords,
+                        @Cached CastToTruffleStringNode castToStringNode) {
+            if (args.length == 0) {
+                throw raise(TypeError, ErrorMessages.METHODCALLER_NEEDS_AT_LEAST_ONE_ARGUMENT);
+            }
+            TruffleString name;
+            try {
+                name = castToStringNode.execute(args[0]);
+            } catch (CannotCastException e) {
+                throw raise(TypeError, ErrorMessages.METHOD_NAME_MUST_BE_A_STRING);
+            }
+            return factory().createMethodCaller(cls, name, PythonUtils.arrayCopyOfRange(args, 1, args.length), keywords);
+        }
+    }
+
+    // Comparison operators
+
+    @Builtin(name = "lt", minNumOfPositionalArgs = 2, doc = "Same as a < b.")
+    @GenerateNodeFactory
+    abstract static class LtNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached BinaryComparisonNode.LtNode opNode) {
+            return opNode.executeObject(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "le", minNumOfPositionalArgs = 2, doc = "Same as a <= b.")
+    @GenerateNodeFactory
+    abstract static class LeNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached BinaryComparisonNode.LeNode opNode) {
+            return opNode.executeObject(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "eq", minNumOfPositionalArgs = 2, doc = "Same as a == b.")
+    @GenerateNodeFactory
+    abstract static class EqNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached BinaryComparisonNode.EqNode opNode) {
+            return opNode.executeObject(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "ne", minNumOfPositionalArgs = 2, doc = "Same as a != b.")
+    @GenerateNodeFactory
+    abstract static class NeNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached BinaryComparisonNode.NeNode opNode) {
+            return opNode.executeObject(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "ge", minNumOfPositionalArgs = 2, doc = "Same as a >= b.")
+    @GenerateNodeFactory
+    abstract static class GeNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached BinaryComparisonNode.GeNode opNode) {
+            return opNode.executeObject(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "gt", minNumOfPositionalArgs = 2, doc = "Same as a > b.")
+    @GenerateNodeFactory
+    abstract static class GtNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached BinaryComparisonNode.GtNode opNode) {
+            return opNode.executeObject(frame, a, b);
+        }
+    }
+
+    // Arithmetic and bitwise operators
+
+    @Builtin(name = "add", minNumOfPositionalArgs = 2, doc = "Same as a + b.")
+    @GenerateNodeFactory
+    @ImportStatic(BinaryArithmetic.class)
+    abstract static class AddNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("Add.create()") BinaryOpNode opNode) {
+            return opNode.executeObject(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "sub", minNumOfPositionalArgs = 2, doc = "Same as a - b.")
+    @GenerateNodeFactory
+    @ImportStatic(BinaryArithmetic.class)
+    abstract static class SubNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("Sub.create()") BinaryOpNode opNode) {
+            return opNode.executeObject(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "mul", minNumOfPositionalArgs = 2, doc = "Same as a * b.")
+    @GenerateNodeFactory
+    @ImportStatic(BinaryArithmetic.class)
+    abstract static class MulNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("Mul.create()") BinaryOpNode opNode) {
+            return opNode.executeObject(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "truediv", minNumOfPositionalArgs = 2, doc = "Same as a / b.")
+    @GenerateNodeFactory
+    @ImportStatic(BinaryArithmetic.class)
+    abstract static class TrueDivNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("TrueDiv.create()") BinaryOpNode opNode) {
+            return opNode.executeObject(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "floordiv", minNumOfPositionalArgs = 2, doc = "Same as a // b.")
+    @GenerateNodeFactory
+    @ImportStatic(BinaryArithmetic.class)
+    abstract static class FloorDivNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("FloorDiv.create()") BinaryOpNode opNode) {
+            return opNode.executeObject(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "mod", minNumOfPositionalArgs = 2, doc = "Same as a % b.")
+    @GenerateNodeFactory
+    @ImportStatic(BinaryArithmetic.class)
+    abstract static class ModNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("Mod.create()") BinaryOpNode opNode) {
+            return opNode.executeObject(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "pow", minNumOfPositionalArgs = 2, doc = "Same as a ** b, for a and b numbers.")
+    @GenerateNodeFactory
+    @ImportStatic(BinaryArithmetic.class)
+    abstract static class PowNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("Pow.create()") BinaryOpNode opNode) {
+            return opNode.executeObject(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "lshift", minNumOfPositionalArgs = 2, doc = "Same as a << b.")
+    @GenerateNodeFactory
+    @ImportStatic(BinaryArithmetic.class)
+    abstract static class LShiftNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("LShift.create()") BinaryOpNode opNode) {
+            return opNode.executeObject(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "rshift", minNumOfPositionalArgs = 2, doc = "Same as a >> b.")
+    @GenerateNodeFactory
+    @ImportStatic(BinaryArithmetic.class)
+    abstract static class RShiftNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("RShift.create()") BinaryOpNode opNode) {
+            return opNode.executeObject(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "and_", minNumOfPositionalArgs = 2, doc = "Same as a & b.")
+    @GenerateNodeFactory
+    @ImportStatic(BinaryArithmetic.class)
+    abstract static class AndNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("And.create()") BinaryOpNode opNode) {
+            return opNode.executeObject(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "or_", minNumOfPositionalArgs = 2, doc = "Same as a | b.")
+    @GenerateNodeFactory
+    @ImportStatic(BinaryArithmetic.class)
+    abstract static class OrNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("Or.create()") BinaryOpNode opNode) {
+            return opNode.executeObject(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "xor", minNumOfPositionalArgs = 2, doc = "Same as a ^ b.")
+    @GenerateNodeFactory
+    @ImportStatic(BinaryArithmetic.class)
+    abstract static class XorNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("Xor.create()") BinaryOpNode opNode) {
+            return opNode.executeObject(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "matmul", minNumOfPositionalArgs = 2, doc = "Same as a @ b.")
+    @GenerateNodeFactory
+    @ImportStatic(BinaryArithmetic.class)
+    abstract static class MatMulNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("MatMul.create()") BinaryOpNode opNode) {
+            return opNode.executeObject(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "neg", minNumOfPositionalArgs = 1, doc = "Same as -a.")
+    @GenerateNodeFactory
+    @ImportStatic(UnaryArithmetic.class)
+    abstract static class NegNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a,
+                        @Cached("Neg.create()") UnaryOpNode opNode) {
+            return opNode.execute(frame, a);
+        }
+    }
+
+    @Builtin(name = "pos", minNumOfPositionalArgs = 1, doc = "Same as +a.")
+    @GenerateNodeFactory
+    @ImportStatic(UnaryArithmetic.class)
+    abstract static class PosNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a,
+                        @Cached("Pos.create()") UnaryOpNode opNode) {
+            return opNode.execute(frame, a);
+        }
+    }
+
+    @Builtin(name = "inv", minNumOfPositionalArgs = 1, doc = "Same as ~a.")
+    @GenerateNodeFactory
+    @ImportStatic(UnaryArithmetic.class)
+    abstract static class InvNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a,
+                        @Cached("Invert.create()") UnaryOpNode opNode) {
+            return opNode.execute(frame, a);
+        }
+    }
+
+    @Builtin(name = "invert", minNumOfPositionalArgs = 1, doc = "Same as ~a.")
+    @GenerateNodeFactory
+    @ImportStatic(UnaryArithmetic.class)
+    abstract static class InvertNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a,
+                        @Cached("Invert.create()") UnaryOpNode opNode) {
+            return opNode.execute(frame, a);
+        }
+    }
+
+    // In-place operators
+
+    @Builtin(name = "iadd", minNumOfPositionalArgs = 2, doc = "Same as a += b.")
+    @GenerateNodeFactory
+    @ImportStatic(InplaceArithmetic.class)
+    abstract static class IAddNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("IAdd.create()") LookupAndCallInplaceNode opNode) {
+            return opNode.execute(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "isub", minNumOfPositionalArgs = 2, doc = "Same as a -= b.")
+    @GenerateNodeFactory
+    @ImportStatic(InplaceArithmetic.class)
+    abstract static class ISubNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("ISub.create()") LookupAndCallInplaceNode opNode) {
+            return opNode.execute(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "imul", minNumOfPositionalArgs = 2, doc = "Same as a *= b.")
+    @GenerateNodeFactory
+    @ImportStatic(InplaceArithmetic.class)
+    abstract static class IMulNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("IMul.create()") LookupAndCallInplaceNode opNode) {
+            return opNode.execute(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "itruediv", minNumOfPositionalArgs = 2, doc = "Same as a /= b.")
+    @GenerateNodeFactory
+    @ImportStatic(InplaceArithmetic.class)
+    abstract static class ITrueDivNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("ITrueDiv.create()") LookupAndCallInplaceNode opNode) {
+            return opNode.execute(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "ifloordiv", minNumOfPositionalArgs = 2, doc = "Same as a //= b.")
+    @GenerateNodeFactory
+    @ImportStatic(InplaceArithmetic.class)
+    abstract static class IFloorDivNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("IFloorDiv.create()") LookupAndCallInplaceNode opNode) {
+            return opNode.execute(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "imod", minNumOfPositionalArgs = 2, doc = "Same as a %= b.")
+    @GenerateNodeFactory
+    @ImportStatic(InplaceArithmetic.class)
+    abstract static class IModNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("IMod.create()") LookupAndCallInplaceNode opNode) {
+            return opNode.execute(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "ipow", minNumOfPositionalArgs = 2, doc = "Same as a **= b.")
+    @GenerateNodeFactory
+    @ImportStatic(InplaceArithmetic.class)
+    abstract static class IPowNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("IPow.create()") LookupAndCallInplaceNode opNode) {
+            return opNode.execute(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "ilshift", minNumOfPositionalArgs = 2, doc = "Same as a <<= b.")
+    @GenerateNodeFactory
+    @ImportStatic(InplaceArithmetic.class)
+    abstract static class ILShiftNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("ILShift.create()") LookupAndCallInplaceNode opNode) {
+            return opNode.execute(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "irshift", minNumOfPositionalArgs = 2, doc = "Same as a >>= b.")
+    @GenerateNodeFactory
+    @ImportStatic(InplaceArithmetic.class)
+    abstract static class IRShiftNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("IRShift.create()") LookupAndCallInplaceNode opNode) {
+            return opNode.execute(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "iand", minNumOfPositionalArgs = 2, doc = "Same as a &= b.")
+    @GenerateNodeFactory
+    @ImportStatic(InplaceArithmetic.class)
+    abstract static class IAndNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("IAnd.create()") LookupAndCallInplaceNode opNode) {
+            return opNode.execute(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "ior", minNumOfPositionalArgs = 2, doc = "Same as a |= b.")
+    @GenerateNodeFactory
+    @ImportStatic(InplaceArithmetic.class)
+    abstract static class IOrNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("IOr.create()") LookupAndCallInplaceNode opNode) {
+            return opNode.execute(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "ixor", minNumOfPositionalArgs = 2, doc = "Same as a ^= b.")
+    @GenerateNodeFactory
+    @ImportStatic(InplaceArithmetic.class)
+    abstract static class IXorNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("IXor.create()") LookupAndCallInplaceNode opNode) {
+            return opNode.execute(frame, a, b);
+        }
+    }
+
+    @Builtin(name = "imatmul", minNumOfPositionalArgs = 2, doc = "Same as a @= b.")
+    @GenerateNodeFactory
+    @ImportStatic(InplaceArithmetic.class)
+    abstract static class IMatMulNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object doObject(VirtualFrame frame, Object a, Object b,
+                        @Cached("IMatMul.create()") LookupAndCallInplaceNode opNode) {
+            return opNode.execute(frame, a, b);
+        }
+    }
 }
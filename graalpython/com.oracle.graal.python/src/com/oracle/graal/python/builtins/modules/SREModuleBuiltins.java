@@ -41,6 +41,7 @@
 package com.oracle.graal.python.builtins.modules;
 
 import static com.oracle.graal.python.nodes.StringLiterals.T_COMMA;
+import static com.oracle.graal.python.nodes.StringLiterals.T_EMPTY_STRING;
 import static com.oracle.graal.python.nodes.StringLiterals.T_SLASH;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
@@ -57,9 +58,14 @@ import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
 import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
+import com.oracle.graal.python.builtins.objects.common.SequenceNodes;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PNodeWithRaiseAndIndirectCall;
+import com.oracle.graal.python.nodes.call.CallNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
 import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
 import com.oracle.graal.python.nodes.util.BufferToTruffleStringNode;
@@ -69,6 +75,9 @@ import com.oracle.graal.python.runtime.ExecutionContext.IndirectCallContext;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.ArrayBuilder;
+import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
@@ -81,6 +90,7 @@ import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.interop.ArityException;
 import com.oracle.truffle.api.interop.ExceptionType;
 import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.library.CachedLibrary;
@@ -94,6 +104,11 @@ import com.oracle.truffle.api.strings.TruffleStringBuilder;
 
 @CoreFunctions(defineModule = "_sre")
 public class SREModuleBuiltins extends PythonBuiltins {
+    private static final String J_EXEC = "exec";
+    private static final String J_IS_MATCH = "isMatch";
+    private static final String J_GET_START = "getStart";
+    private static final String J_GET_END = "getEnd";
+
     @Override
     protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
         return SREModuleBuiltinsFactory.getFactories();
@@ -269,4 +284,341 @@ public class SREModuleBuiltins extends PythonBuiltins {
             }
         }
     }
+
+    /**
+     * Base class of the builtins that run the match loops of {@code findall}, {@code split} and
+     * {@code subn}. They call the compiled TRegex objects directly and only read the spans of the
+     * results, instead of going through {@code tregex_call_exec} and creating a {@code Match}
+     * object for every match. The loops alternate between the plain regex and the one compiled with
+     * {@code MustAdvance=true} after an empty match, like the previous implementation in
+     * {@code _sre.py}.
+     */
+    abstract static class TRegexLoopNode extends PythonBuiltinNode {
+
+        static Object execRegex(VirtualFrame frame, PythonBuiltinBaseNode node, Object regex, TruffleString input, int fromIndex, InteropLibrary regexLib) {
+            PythonContext context = PythonContext.get(node);
+            PythonLanguage language = PythonLanguage.get(node);
+            Object state = IndirectCallContext.enter(frame, language, context, node);
+            try {
+                return regexLib.invokeMember(regex, J_EXEC, input, fromIndex);
+            } catch (ArityException | UnsupportedTypeException | UnsupportedMessageException | UnknownIdentifierException e) {
+                throw CompilerDirectives.shouldNotReachHere("could not call TRegex exec method", e);
+            } finally {
+                IndirectCallContext.exit(frame, language, context, state);
+            }
+        }
+
+        static boolean isMatch(Object result, InteropLibrary resultLib) {
+            try {
+                return (boolean) resultLib.readMember(result, J_IS_MATCH);
+            } catch (UnsupportedMessageException | UnknownIdentifierException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+        }
+
+        static int getStart(Object result, int group, InteropLibrary resultLib) {
+            try {
+                return (int) resultLib.invokeMember(result, J_GET_START, group);
+            } catch (ArityException | UnsupportedTypeException | UnsupportedMessageException | UnknownIdentifierException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+        }
+
+        static int getEnd(Object result, int group, InteropLibrary resultLib) {
+            try {
+                return (int) resultLib.invokeMember(result, J_GET_END, group);
+            } catch (ArityException | UnsupportedTypeException | UnsupportedMessageException | UnknownIdentifierException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+        }
+
+        /**
+         * Returns the part of the input between {@code start} and {@code end} as {@code str} or
+         * {@code bytes}. Bytes are copied because the input may share the array of a mutable
+         * buffer.
+         */
+        static Object slice(PythonObjectFactory factory, TruffleString input, boolean binary, int start, int end, TruffleString.SubstringNode substringNode,
+                        TruffleString.CopyToByteArrayNode copyToByteArrayNode) {
+            if (binary) {
+                byte[] bytes = new byte[end - start];
+                copyToByteArrayNode.execute(input, start, bytes, 0, bytes.length, Encoding.ISO_8859_1);
+                return factory.createBytes(bytes);
+            }
+            return substringNode.execute(input, start, end - start, TS_ENCODING, false);
+        }
+
+        static Object empty(PythonObjectFactory factory, boolean binary) {
+            return binary ? factory.createBytes(PythonUtils.EMPTY_BYTE_ARRAY) : T_EMPTY_STRING;
+        }
+    }
+
+    @Builtin(name = "tregex_findall", minNumOfPositionalArgs = 6, parameterNames = {"regex", "must_advance_regex", "string", "pos", "endpos", "groups"})
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    @GenerateNodeFactory
+    abstract static class TRegexFindAllNode extends TRegexLoopNode {
+
+        @Specialization
+        Object findall(VirtualFrame frame, Object regex, Object mustAdvanceRegex, Object string, int pos, int endpos, int groups,
+                        @Cached CastToTruffleStringNode cast,
+                        @CachedLibrary(limit = "3") PythonBufferAcquireLibrary bufferAcquireLib,
+                        @CachedLibrary(limit = "1") PythonBufferAccessLibrary bufferLib,
+                        @Cached BufferToTruffleStringNode bufferToTruffleStringNode,
+                        @CachedLibrary(limit = "2") InteropLibrary regexLib,
+                        @CachedLibrary(limit = "1") InteropLibrary resultLib,
+                        @Cached TruffleString.SubstringNode substringNode,
+                        @Cached TruffleString.CopyToByteArrayNode copyToByteArrayNode) {
+            TruffleString input;
+            boolean binary = false;
+            Object buffer = null;
+            try {
+                try {
+                    input = cast.execute(string);
+                } catch (CannotCastException e) {
+                    binary = true;
+                    buffer = bufferAcquireLib.acquireReadonly(string, frame, this);
+                    input = bufferToTruffleStringNode.execute(buffer, 0);
+                }
+                PythonObjectFactory factory = factory();
+                ArrayBuilder<Object> matches = new ArrayBuilder<>();
+                boolean mustAdvance = false;
+                int searchPos = pos;
+                while (searchPos <= endpos) {
+                    Object result = execRegex(frame, this, mustAdvance ? mustAdvanceRegex : regex, input, searchPos, regexLib);
+                    if (!isMatch(result, resultLib)) {
+                        break;
+                    }
+                    if (groups == 0) {
+                        matches.add(slice(factory, input, binary, getStart(result, 0, resultLib), getEnd(result, 0, resultLib), substringNode, copyToByteArrayNode));
+                    } else if (groups == 1) {
+                        matches.add(group(factory, input, binary, result, 1, resultLib, substringNode, copyToByteArrayNode));
+                    } else {
+                        Object[] items = new Object[groups];
+                        for (int i = 0; i < groups; i++) {
+                            items[i] = group(factory, input, binary, result, i + 1, resultLib, substringNode, copyToByteArrayNode);
+                        }
+                        matches.add(factory.createTuple(items));
+                    }
+                    int start = getStart(result, 0, resultLib);
+                    searchPos = getEnd(result, 0, resultLib);
+                    mustAdvance = start == searchPos;
+                }
+                return factory.createList(matches.toArray(new Object[0]));
+            } finally {
+                if (buffer != null) {
+                    bufferLib.release(buffer, frame, this);
+                }
+            }
+        }
+
+        private static Object group(PythonObjectFactory factory, TruffleString input, boolean binary, Object result, int group, InteropLibrary resultLib, TruffleString.SubstringNode substringNode,
+                        TruffleString.CopyToByteArrayNode copyToByteArrayNode) {
+            int start = getStart(result, group, resultLib);
+            if (start < 0) {
+                return empty(factory, binary);
+            }
+            return slice(factory, input, binary, start, getEnd(result, group, resultLib), substringNode, copyToByteArrayNode);
+        }
+    }
+
+    @Builtin(name = "tregex_split", minNumOfPositionalArgs = 5, parameterNames = {"regex", "must_advance_regex", "string", "maxsplit", "groups"})
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    @GenerateNodeFactory
+    abstract static class TRegexSplitNode extends TRegexLoopNode {
+
+        @Specialization
+        Object split(VirtualFrame frame, Object regex, Object mustAdvanceRegex, Object string, Object maxsplitObj, int groups,
+                        @Cached PyNumberAsSizeNode asSizeNode,
+                        @Cached CastToTruffleStringNode cast,
+                        @CachedLibrary(limit = "3") PythonBufferAcquireLibrary bufferAcquireLib,
+                        @CachedLibrary(limit = "1") PythonBufferAccessLibrary bufferLib,
+                        @Cached BufferToTruffleStringNode bufferToTruffleStringNode,
+                        @Cached TruffleString.CodePointLengthNode codePointLengthNode,
+                        @CachedLibrary(limit = "2") InteropLibrary regexLib,
+                        @CachedLibrary(limit = "1") InteropLibrary resultLib,
+                        @Cached TruffleString.SubstringNode substringNode,
+                        @Cached TruffleString.CopyToByteArrayNode copyToByteArrayNode) {
+            int maxsplit = asSizeNode.executeExact(frame, maxsplitObj);
+            TruffleString input;
+            boolean binary = false;
+            Object buffer = null;
+            try {
+                try {
+                    input = cast.execute(string);
+                } catch (CannotCastException e) {
+                    binary = true;
+                    buffer = bufferAcquireLib.acquireReadonly(string, frame, this);
+                    input = bufferToTruffleStringNode.execute(buffer, 0);
+                }
+                int length = codePointLengthNode.execute(input, binary ? Encoding.ISO_8859_1 : TS_ENCODING);
+                PythonObjectFactory factory = factory();
+                ArrayBuilder<Object> parts = new ArrayBuilder<>();
+                int n = 0;
+                int collectPos = 0;
+                int searchPos = 0;
+                boolean mustAdvance = false;
+                while ((maxsplit == 0 || n < maxsplit) && searchPos <= length) {
+                    Object result = execRegex(frame, this, mustAdvance ? mustAdvanceRegex : regex, input, searchPos, regexLib);
+                    if (!isMatch(result, resultLib)) {
+                        break;
+                    }
+                    n++;
+                    int start = getStart(result, 0, resultLib);
+                    int end = getEnd(result, 0, resultLib);
+                    parts.add(slice(factory, input, binary, collectPos, start, substringNode, copyToByteArrayNode));
+                    for (int i = 1; i <= groups; i++) {
+                        int groupStart = getStart(result, i, resultLib);
+                        if (groupStart >= 0) {
+                            parts.add(slice(factory, input, binary, groupStart, getEnd(result, i, resultLib), substringNode, copyToByteArrayNode));
+                        } else {
+                            parts.add(PNone.NONE);
+                        }
+                    }
+                    collectPos = end;
+                    searchPos = end;
+                    mustAdvance = start == end;
+                }
+                parts.add(slice(factory, input, binary, collectPos, length, substringNode, copyToByteArrayNode));
+                return factory.createList(parts.toArray(new Object[0]));
+            } finally {
+                if (buffer != null) {
+                    bufferLib.release(buffer, frame, this);
+                }
+            }
+        }
+    }
+
+    /**
+     * The loop of {@code subn}. The replacement is either a template prepared by {@code _sre.py}, a
+     * tuple of literal strings and group numbers, or a callable that is called with the match
+     * object created by {@code create_match}. The literals of templates for bytes patterns are
+     * passed as Latin-1 decoded strings, so that both kinds of patterns can build their result with
+     * a {@link TruffleStringBuilder}.
+     */
+    @Builtin(name = "tregex_subn", minNumOfPositionalArgs = 6, parameterNames = {"regex", "must_advance_regex", "string", "repl", "count", "create_match"})
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    @GenerateNodeFactory
+    abstract static class TRegexSubnNode extends TRegexLoopNode {
+
+        @Specialization
+        Object subn(VirtualFrame frame, Object regex, Object mustAdvanceRegex, Object string, Object repl, Object countObj, Object createMatch,
+                        @Cached PyNumberAsSizeNode asSizeNode,
+                        @Cached CastToTruffleStringNode cast,
+                        @Cached CastToTruffleStringNode literalCast,
+                        @Cached CastToTruffleStringNode replacementCast,
+                        @CachedLibrary(limit = "3") PythonBufferAcquireLibrary bufferAcquireLib,
+                        @CachedLibrary(limit = "1") PythonBufferAccessLibrary bufferLib,
+                        @Cached BufferToTruffleStringNode bufferToTruffleStringNode,
+                        @Cached BufferToTruffleStringNode replacementToTruffleStringNode,
+                        @Cached TruffleString.CodePointLengthNode codePointLengthNode,
+                        @Cached TruffleString.SwitchEncodingNode switchEncodingNode,
+                        @CachedLibrary(limit = "2") InteropLibrary regexLib,
+                        @CachedLibrary(limit = "1") InteropLibrary resultLib,
+                        @Cached SequenceNodes.GetObjectArrayNode getObjectArrayNode,
+                        @Cached CallNode createMatchCallNode,
+                        @Cached CallNode replCallNode,
+                        @Cached TruffleString.SubstringNode substringNode,
+                        @Cached TruffleStringBuilder.AppendStringNode appendStringNode,
+                        @Cached TruffleStringBuilder.ToStringNode toStringNode,
+                        @Cached TruffleString.CopyToByteArrayNode copyToByteArrayNode,
+                        @Cached ConditionProfile templateProfile) {
+            int count = asSizeNode.executeExact(frame, countObj);
+            TruffleString input;
+            boolean binary = false;
+            Object buffer = null;
+            try {
+                try {
+                    input = cast.execute(string);
+                } catch (CannotCastException e) {
+                    binary = true;
+                    buffer = bufferAcquireLib.acquireReadonly(string, frame, this);
+                    input = bufferToTruffleStringNode.execute(buffer, 0);
+                }
+                Encoding encoding = binary ? Encoding.ISO_8859_1 : TS_ENCODING;
+                TruffleString[] literals = null;
+                int[] groups = null;
+                if (templateProfile.profile(repl instanceof PTuple)) {
+                    Object[] items = getObjectArrayNode.execute(repl);
+                    literals = new TruffleString[items.length];
+                    groups = new int[items.length];
+                    for (int i = 0; i < items.length; i++) {
+                        if (items[i] instanceof Integer) {
+                            groups[i] = (int) items[i];
+                        } else {
+                            groups[i] = -1;
+                            literals[i] = switchEncodingNode.execute(literalCast.execute(items[i]), encoding);
+                        }
+                    }
+                }
+                int length = codePointLengthNode.execute(input, encoding);
+                TruffleStringBuilder sb = TruffleStringBuilder.create(encoding);
+                int n = 0;
+                int pos = 0;
+                boolean mustAdvance = false;
+                while ((count == 0 || n < count) && pos <= length) {
+                    Object result = execRegex(frame, this, mustAdvance ? mustAdvanceRegex : regex, input, pos, regexLib);
+                    if (!isMatch(result, resultLib)) {
+                        break;
+                    }
+                    n++;
+                    int start = getStart(result, 0, resultLib);
+                    int end = getEnd(result, 0, resultLib);
+                    appendStringNode.execute(sb, substringNode.execute(input, pos, start - pos, encoding, true));
+                    if (literals != null) {
+                        for (int i = 0; i < literals.length; i++) {
+                            if (groups[i] < 0) {
+                                appendStringNode.execute(sb, literals[i]);
+                            } else {
+                                int groupStart = getStart(result, groups[i], resultLib);
+                                if (groupStart >= 0) {
+                                    int groupEnd = getEnd(result, groups[i], resultLib);
+                                    appendStringNode.execute(sb, substringNode.execute(input, groupStart, groupEnd - groupStart, encoding, true));
+                                }
+                            }
+                        }
+                    } else {
+                        Object match = createMatchCallNode.execute(frame, createMatch, result, pos);
+                        Object replacement = replCallNode.execute(frame, repl, match);
+                        if (replacement != PNone.NONE) {
+                            appendStringNode.execute(sb, toReplacementString(frame, replacement, binary, 2 * n - 1, replacementCast, bufferAcquireLib, bufferLib, replacementToTruffleStringNode));
+                        }
+                    }
+                    pos = end;
+                    mustAdvance = start == end;
+                }
+                appendStringNode.execute(sb, substringNode.execute(input, pos, length - pos, encoding, true));
+                TruffleString joined = toStringNode.execute(sb);
+                Object resultString;
+                if (binary) {
+                    byte[] bytes = new byte[joined.byteLength(Encoding.ISO_8859_1)];
+                    copyToByteArrayNode.execute(joined, 0, bytes, 0, bytes.length, Encoding.ISO_8859_1);
+                    resultString = factory().createBytes(bytes);
+                } else {
+                    resultString = joined;
+                }
+                return factory().createTuple(new Object[]{resultString, n});
+            } finally {
+                if (buffer != null) {
+                    bufferLib.release(buffer, frame, this);
+                }
+            }
+        }
+
+        private TruffleString toReplacementString(VirtualFrame frame, Object replacement, boolean binary, int itemIndex, CastToTruffleStringNode replacementCast,
+                        PythonBufferAcquireLibrary bufferAcquireLib, PythonBufferAccessLibrary bufferLib, BufferToTruffleStringNode replacementToTruffleStringNode) {
+            if (!binary) {
+                try {
+                    return replacementCast.execute(replacement);
+                } catch (CannotCastException e) {
+                    throw raise(TypeError, ErrorMessages.INVALID_SEQ_ITEM, itemIndex, replacement);
+                }
+            }
+            Object replacementBuffer = bufferAcquireLib.acquireReadonly(replacement, frame, this);
+            try {
+                // the builder copies the bytes, so the string may share the array of the buffer
+                return replacementToTruffleStringNode.execute(replacementBuffer, 0);
+            } finally {
+                bufferLib.release(replacementBuffer, frame, this);
+            }
+        }
+    }
 }
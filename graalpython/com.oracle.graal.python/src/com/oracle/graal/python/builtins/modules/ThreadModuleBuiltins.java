@@ -108,7 +108,15 @@ public class ThreadModuleBuiltins extends PythonBuiltins {
     abstract static class ThreadLocalNode extends PythonBuiltinNode {
         @Specialization
         PThreadLocal construct(Object cls, Object[] args, PKeyword[] keywordArgs) {
-            return factory().createThreadLocal(cls, args, keywordArgs);
+            PythonContext context = getContext();
+            PThreadLocal local = factory().createThreadLocal(cls, args, keywordArgs, context.allocateThreadLocalIndex());
+            registerIndexReference(local, context);
+            return local;
+        }
+
+        @TruffleBoundary
+        private static void registerIndexReference(PThreadLocal local, PythonContext context) {
+            new PThreadLocal.IndexReference(local, context);
         }
     }
 
@@ -180,6 +180,14 @@ public final class TimeModuleBuiltins extends PythonBuiltins {
         StructSequence.initType(core, STRUCT_TIME_DESC);
     }
 
+    /**
+     * The local time zone used by the functions of this module, also used by {@code _datetime}.
+     */
+    @TruffleBoundary
+    public static ZoneId getCurrentZoneId(Python3Core core) {
+        return (ZoneId) core.lookupBuiltinModule(T_TIME).getAttribute(CURRENT_ZONE_ID);
+    }
+
     @TruffleBoundary
     public static double timeSeconds() {
         return System.currentTimeMillis() / 1000.0;
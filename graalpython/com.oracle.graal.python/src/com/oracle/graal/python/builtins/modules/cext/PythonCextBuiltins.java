@@ -1336,8 +1336,10 @@ public final class PythonCextBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     abstract static class PyTruffleHandleCacheCreate extends PythonUnaryBuiltinNode {
         @Specialization
-        static Object createCache(Object ptrToResolveHandle) {
-            return new HandleCache(ptrToResolveHandle);
+        Object createCache(Object ptrToResolveHandle) {
+            HandleCache cache = new HandleCache(ptrToResolveHandle);
+            getContext().registerHandleCache(cache);
+            return cache;
         }
     }
 
@@ -0,0 +1,542 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.datetime;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.OverflowError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___FORMAT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___HASH__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___LE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___LT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___NE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RSUB__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___STR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___SUB__;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.Python3Core;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.datetime.DatetimeNodes.NewDateNode;
+import com.oracle.graal.python.builtins.modules.datetime.DatetimeNodes.NewTimeDeltaNode;
+import com.oracle.graal.python.builtins.modules.datetime.DatetimeNodes.TimestampToMicrosecondsNode;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.type.PythonBuiltinClass;
+import com.oracle.graal.python.lib.PyLongAsIntNode;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyUnicodeCheckNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Builtins of {@code datetime.date}, most of which are inherited by {@code datetime.datetime}.
+ * {@code strftime} and {@code timetuple} are defined in {@code _datetime.py}.
+ */
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PDate)
+public final class DateBuiltins extends PythonBuiltins {
+
+    private static final TruffleString T_FROMTIMESTAMP = tsLiteral("fromtimestamp");
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DateBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(Python3Core core) {
+        super.initialize(core);
+        PythonObjectFactory factory = core.factory();
+        PythonBuiltinClass type = core.lookupType(PythonBuiltinClassType.PDate);
+        type.setAttribute(DatetimeNodes.T_MIN, factory.createDate(PythonBuiltinClassType.PDate, DatetimeUtils.MINYEAR, 1, 1));
+        type.setAttribute(DatetimeNodes.T_MAX, factory.createDate(PythonBuiltinClassType.PDate, DatetimeUtils.MAXYEAR, 12, 31));
+        type.setAttribute(DatetimeNodes.T_RESOLUTION, factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, 1, 0, 0));
+    }
+
+    @Builtin(name = "year", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class YearNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int year(PDate self) {
+            return self.getYear();
+        }
+    }
+
+    @Builtin(name = "month", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class MonthNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int month(PDate self) {
+            return self.getMonth();
+        }
+    }
+
+    @Builtin(name = "day", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class DayNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int day(PDate self) {
+            return self.getDay();
+        }
+    }
+
+    @Builtin(name = "today", minNumOfPositionalArgs = 1, isClassmethod = true, doc = "Current date or datetime:  same as self.__class__.fromtimestamp(time.time()).")
+    @GenerateNodeFactory
+    abstract static class TodayNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object today(VirtualFrame frame, Object cls,
+                        @Cached IsBuiltinClassProfile isBuiltinDate,
+                        @Cached PyObjectCallMethodObjArgs callMethod) {
+            long now = DatetimeUtils.currentTimeMicroseconds();
+            if (isBuiltinDate.profileClass(cls, PythonBuiltinClassType.PDate)) {
+                int[] fields = DatetimeUtils.fromEpochSecond(Math.floorDiv(now, DatetimeUtils.US_PER_SECOND), DatetimeNodes.getLocalZone(this));
+                return factory().createDate(cls, fields[0], fields[1], fields[2]);
+            }
+            // subclasses may override fromtimestamp, and datetime.today() is inherited from here
+            return callMethod.execute(frame, cls, T_FROMTIMESTAMP, (double) now / DatetimeUtils.US_PER_SECOND);
+        }
+    }
+
+    @Builtin(name = "fromtimestamp", minNumOfPositionalArgs = 2, isClassmethod = true, parameterNames = {"cls", "timestamp"}, //
+                    doc = "Create a date from a POSIX timestamp.\n\nThe timestamp is a number, e.g. created via time.time(), that is interpreted\nas local time.")
+    @GenerateNodeFactory
+    abstract static class FromTimestampNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object fromtimestamp(VirtualFrame frame, Object cls, Object timestamp,
+                        @Cached TimestampToMicrosecondsNode toMicrosecondsNode,
+                        @Cached NewDateNode newDateNode) {
+            long seconds = Math.floorDiv(toMicrosecondsNode.execute(frame, timestamp), DatetimeUtils.US_PER_SECOND);
+            int[] fields = DatetimeUtils.fromEpochSecond(seconds, DatetimeNodes.getLocalZone(this));
+            if (fields[0] < DatetimeUtils.MINYEAR || fields[0] > DatetimeUtils.MAXYEAR) {
+                throw raise(ValueError, ErrorMessages.YEAR_D_IS_OUT_OF_RANGE, fields[0]);
+            }
+            return newDateNode.execute(frame, cls, fields[0], fields[1], fields[2]);
+        }
+    }
+
+    @Builtin(name = "fromordinal", minNumOfPositionalArgs = 2, isClassmethod = true, parameterNames = {"cls", "ordinal"}, //
+                    doc = "int -> date corresponding to a proleptic Gregorian ordinal.")
+    @GenerateNodeFactory
+    abstract static class FromOrdinalNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object fromordinal(VirtualFrame frame, Object cls, Object ordinalObj,
+                        @Cached PyLongAsIntNode asIntNode,
+                        @Cached NewDateNode newDateNode) {
+            int ordinal = asIntNode.execute(frame, ordinalObj);
+            if (ordinal < 1) {
+                throw raise(ValueError, ErrorMessages.ORDINAL_MUST_BE_GE_1);
+            }
+            if (ordinal > DatetimeUtils.MAX_ORDINAL) {
+                throw raise(ValueError, ErrorMessages.YEAR_D_IS_OUT_OF_RANGE, (int) ((ordinal - 1L) * 400 / 146097) + 1);
+            }
+            int packed = DatetimeUtils.ordToPackedDate(ordinal);
+            return newDateNode.execute(frame, cls, PDate.unpackYear(packed), PDate.unpackMonth(packed), PDate.unpackDay(packed));
+        }
+    }
+
+    @Builtin(name = "fromisoformat", minNumOfPositionalArgs = 2, isClassmethod = true, parameterNames = {"cls", "date_string"}, //
+                    doc = "str -> Construct a date from the output of date.isoformat()")
+    @GenerateNodeFactory
+    abstract static class FromIsoFormatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object fromisoformat(VirtualFrame frame, Object cls, Object dateString,
+                        @Cached PyUnicodeCheckNode unicodeCheckNode,
+                        @Cached CastToTruffleStringNode castToStringNode,
+                        @Cached TruffleString.ToJavaStringNode toJavaStringNode,
+                        @Cached NewDateNode newDateNode) {
+            if (!unicodeCheckNode.execute(dateString)) {
+                throw raise(TypeError, ErrorMessages.FROMISOFORMAT_ARGUMENT_MUST_BE_STR);
+            }
+            String s = toJavaStringNode.execute(castToStringNode.execute(dateString));
+            int[] fields = s.length() == 10 ? DatetimeUtils.parseIsoDate(s) : null;
+            if (fields == null) {
+                throw raise(ValueError, ErrorMessages.INVALID_ISOFORMAT_STRING, reprString(s));
+            }
+            DatetimeNodes.checkDateFields(this, fields[0], fields[1], fields[2]);
+            return newDateNode.execute(frame, cls, fields[0], fields[1], fields[2]);
+        }
+    }
+
+    /**
+     * The repr of a string argument as used in the error messages of {@code fromisoformat}.
+     */
+    @TruffleBoundary
+    static String reprString(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('\'');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\'' || c == '\\') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.append('\'').toString();
+    }
+
+    @Builtin(name = "fromisocalendar", minNumOfPositionalArgs = 4, isClassmethod = true, parameterNames = {"cls", "year", "week", "day"}, //
+                    doc = "int, int, int -> Construct a date from the ISO year, week number and weekday.\n\nThis is the inverse of the date.isocalendar() function")
+    @GenerateNodeFactory
+    abstract static class FromIsoCalendarNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        Object fromisocalendar(VirtualFrame frame, Object cls, Object yearObj, Object weekObj, Object dayObj,
+                        @Cached PyLongAsIntNode asIntNode,
+                        @Cached NewDateNode newDateNode) {
+            int year = asIntNode.execute(frame, yearObj);
+            int week = asIntNode.execute(frame, weekObj);
+            int day = asIntNode.execute(frame, dayObj);
+            if (year < DatetimeUtils.MINYEAR || year > DatetimeUtils.MAXYEAR) {
+                throw raise(ValueError, ErrorMessages.ISO_YEAR_IS_OUT_OF_RANGE, year);
+            }
+            if (week <= 0 || week >= 53) {
+                boolean outOfRange = true;
+                if (week == 53) {
+                    // ISO years have 53 weeks if they start on a Thursday, or on a Wednesday in
+                    // leap years
+                    int firstWeekday = DatetimeUtils.ymdToOrd(year, 1, 1) % 7;
+                    if (firstWeekday == 4 || (firstWeekday == 3 && DatetimeUtils.isLeap(year))) {
+                        outOfRange = false;
+                    }
+                }
+                if (outOfRange) {
+                    throw raise(ValueError, ErrorMessages.INVALID_WEEK, week);
+                }
+            }
+            if (day <= 0 || day >= 8) {
+                throw raise(ValueError, ErrorMessages.INVALID_WEEKDAY, day);
+            }
+            int ordinal = DatetimeUtils.isoWeek1Monday(year) + (week - 1) * 7 + day - 1;
+            if (ordinal < 1 || ordinal > DatetimeUtils.MAX_ORDINAL) {
+                throw raise(ValueError, ErrorMessages.YEAR_D_IS_OUT_OF_RANGE, ordinal < 1 ? 0 : DatetimeUtils.MAXYEAR + 1);
+            }
+            int packed = DatetimeUtils.ordToPackedDate(ordinal);
+            return newDateNode.execute(frame, cls, PDate.unpackYear(packed), PDate.unpackMonth(packed), PDate.unpackDay(packed));
+        }
+    }
+
+    @Builtin(name = "isoformat", minNumOfPositionalArgs = 1, doc = "Return string in ISO 8601 format, YYYY-MM-DD.")
+    @Builtin(name = J___STR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsoFormatNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString isoformat(PDate self) {
+            return toTruffleStringUncached(DatetimeUtils.formatDate(self.getYear(), self.getMonth(), self.getDay()));
+        }
+    }
+
+    @Builtin(name = J___REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString repr(PDate self,
+                        @Cached GetClassNode getClassNode) {
+            return formatRepr(DatetimeNodes.getTpName(getClassNode.execute(self)), self.getYear(), self.getMonth(), self.getDay());
+        }
+
+        @TruffleBoundary
+        private static TruffleString formatRepr(TruffleString typeName, int year, int month, int day) {
+            return toTruffleStringUncached(typeName.toJavaStringUncached() + "(" + year + ", " + month + ", " + day + ")");
+        }
+    }
+
+    @Builtin(name = "ctime", minNumOfPositionalArgs = 1, doc = "Return ctime() style string.")
+    @GenerateNodeFactory
+    abstract static class CTimeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString ctime(PDate self) {
+            return toTruffleStringUncached(DatetimeUtils.formatCTime(self.getYear(), self.getMonth(), self.getDay(), 0));
+        }
+    }
+
+    @Builtin(name = "toordinal", minNumOfPositionalArgs = 1, doc = "Return proleptic Gregorian ordinal.  January 1 of year 1 is day 1.")
+    @GenerateNodeFactory
+    abstract static class ToOrdinalNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int toordinal(PDate self) {
+            return self.toOrdinal();
+        }
+    }
+
+    @Builtin(name = "weekday", minNumOfPositionalArgs = 1, doc = "Return the day of the week represented by the date.\nMonday == 0 ... Sunday == 6")
+    @GenerateNodeFactory
+    abstract static class WeekdayNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int weekday(PDate self) {
+            return DatetimeUtils.weekday(self.toOrdinal());
+        }
+    }
+
+    @Builtin(name = "isoweekday", minNumOfPositionalArgs = 1, doc = "Return the day of the week represented by the date.\nMonday == 1 ... Sunday == 7")
+    @GenerateNodeFactory
+    abstract static class IsoWeekdayNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int isoweekday(PDate self) {
+            return DatetimeUtils.weekday(self.toOrdinal()) + 1;
+        }
+    }
+
+    @Builtin(name = "isocalendar", minNumOfPositionalArgs = 1, doc = "Return a 3-tuple containing ISO year, week number, and weekday.")
+    @GenerateNodeFactory
+    abstract static class IsoCalendarNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object isocalendar(PDate self) {
+            int[] result = DatetimeUtils.isoCalendar(self.getYear(), self.getMonth(), self.getDay());
+            return factory().createTuple(new Object[]{result[0], result[1], result[2]});
+        }
+    }
+
+    @Builtin(name = "replace", minNumOfPositionalArgs = 1, parameterNames = {"self", "year", "month", "day"}, doc = "Return date with new specified fields.")
+    @GenerateNodeFactory
+    abstract static class ReplaceNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        Object replace(VirtualFrame frame, PDate self, Object yearObj, Object monthObj, Object dayObj,
+                        @Cached PyLongAsIntNode asIntNode,
+                        @Cached GetClassNode getClassNode) {
+            int year = yearObj == PNone.NO_VALUE ? self.getYear() : asIntNode.execute(frame, yearObj);
+            int month = monthObj == PNone.NO_VALUE ? self.getMonth() : asIntNode.execute(frame, monthObj);
+            int day = dayObj == PNone.NO_VALUE ? self.getDay() : asIntNode.execute(frame, dayObj);
+            DatetimeNodes.checkDateFields(this, year, month, day);
+            // like CPython, this bypasses __new__ of subclasses
+            return factory().createDate(getClassNode.execute(self), year, month, day);
+        }
+    }
+
+    @Builtin(name = J___HASH__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HashNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long hash(PDate self) {
+            return self.getPackedDate();
+        }
+    }
+
+    abstract static class DateCompareNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        boolean doDate(PDate self, PDate other) {
+            return compare(Integer.compare(self.getPackedDate(), other.getPackedDate()));
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object doOther(Object self, Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+
+        @SuppressWarnings("unused")
+        boolean compare(int result) {
+            throw CompilerDirectives.shouldNotReachHere();
+        }
+    }
+
+    @Builtin(name = J___EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class EqNode extends DateCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result == 0;
+        }
+    }
+
+    @Builtin(name = J___NE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NeNode extends DateCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result != 0;
+        }
+    }
+
+    @Builtin(name = J___LT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LtNode extends DateCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result < 0;
+        }
+    }
+
+    @Builtin(name = J___LE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LeNode extends DateCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result <= 0;
+        }
+    }
+
+    @Builtin(name = J___GT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GtNode extends DateCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result > 0;
+        }
+    }
+
+    @Builtin(name = J___GE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GeNode extends DateCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result >= 0;
+        }
+    }
+
+    @Builtin(name = J___ADD__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RADD__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    @ImportStatic(DateBuiltins.class)
+    abstract static class AddNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "!isDateTime(left)")
+        Object add(VirtualFrame frame, PDate left, PTimeDelta right,
+                        @Cached GetClassNode getClassNode,
+                        @Cached NewDateNode newDateNode) {
+            return addDays(frame, this, left, right.getDays(), getClassNode, newDateNode);
+        }
+
+        @Specialization(guards = "!isDateTime(right)")
+        Object addReverse(VirtualFrame frame, PTimeDelta left, PDate right,
+                        @Cached GetClassNode getClassNode,
+                        @Cached NewDateNode newDateNode) {
+            return add(frame, right, left, getClassNode, newDateNode);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object doOther(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    static boolean isDateTime(Object object) {
+        return object instanceof PDateTime;
+    }
+
+    /**
+     * Adds whole days to a date, the seconds and microseconds of a timedelta are ignored.
+     */
+    static Object addDays(VirtualFrame frame, PNodeWithRaise node, PDate date, long days, GetClassNode getClassNode, NewDateNode newDateNode) {
+        long ordinal = date.toOrdinal() + days;
+        if (ordinal < 1 || ordinal > DatetimeUtils.MAX_ORDINAL) {
+            throw node.raise(OverflowError, ErrorMessages.DATE_VALUE_OUT_OF_RANGE);
+        }
+        int packed = DatetimeUtils.ordToPackedDate((int) ordinal);
+        return newDateNode.execute(frame, getClassNode.execute(date), PDate.unpackYear(packed), PDate.unpackMonth(packed), PDate.unpackDay(packed));
+    }
+
+    @Builtin(name = J___SUB__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RSUB__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    @ImportStatic(DateBuiltins.class)
+    abstract static class SubNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = {"!isDateTime(left)", "!isDateTime(right)"})
+        static PTimeDelta sub(PDate left, PDate right,
+                        @Cached NewTimeDeltaNode newTimeDeltaNode) {
+            return newTimeDeltaNode.execute(left.toOrdinal() - right.toOrdinal(), 0, 0);
+        }
+
+        @Specialization(guards = "!isDateTime(left)")
+        Object subTimeDelta(VirtualFrame frame, PDate left, PTimeDelta right,
+                        @Cached GetClassNode getClassNode,
+                        @Cached NewDateNode newDateNode) {
+            return addDays(frame, this, left, -(long) right.getDays(), getClassNode, newDateNode);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object doOther(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = J___FORMAT__, minNumOfPositionalArgs = 2, parameterNames = {"self", "format"})
+    @GenerateNodeFactory
+    abstract static class FormatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object format(VirtualFrame frame, PDate self, Object format,
+                        @Cached DatetimeNodes.FormatNode formatNode) {
+            return formatNode.execute(frame, self, format);
+        }
+    }
+
+    @Builtin(name = J___REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object reduce(PDate self,
+                        @Cached GetClassNode getClassNode) {
+            int year = self.getYear();
+            byte[] state = {(byte) (year >> 8), (byte) year, (byte) self.getMonth(), (byte) self.getDay()};
+            Object args = factory().createTuple(new Object[]{factory().createBytes(state)});
+            return factory().createTuple(new Object[]{getClassNode.execute(self), args});
+        }
+    }
+}
@@ -0,0 +1,859 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.datetime;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.OverflowError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___HASH__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___LE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___LT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___NE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REDUCE_EX__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RSUB__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___STR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___SUB__;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+
+import java.time.ZoneId;
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.Python3Core;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.datetime.DatetimeNodes.CallTzNameNode;
+import com.oracle.graal.python.builtins.modules.datetime.DatetimeNodes.CallTzOffsetNode;
+import com.oracle.graal.python.builtins.modules.datetime.DatetimeNodes.CheckTzInfoNode;
+import com.oracle.graal.python.builtins.modules.datetime.DatetimeNodes.NewDateTimeNode;
+import com.oracle.graal.python.builtins.modules.datetime.DatetimeNodes.NewTimeDeltaNode;
+import com.oracle.graal.python.builtins.modules.datetime.DatetimeNodes.NewTimeZoneNode;
+import com.oracle.graal.python.builtins.modules.datetime.DatetimeNodes.TimestampToMicrosecondsNode;
+import com.oracle.graal.python.builtins.modules.datetime.DatetimeUtils.Timespec;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.type.PythonBuiltinClass;
+import com.oracle.graal.python.lib.PyLongAsIntNode;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectReprAsTruffleStringNode;
+import com.oracle.graal.python.lib.PyUnicodeCheckNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Builtins of {@code datetime.datetime}. Arithmetic and comparisons work on the microseconds since
+ * 0001-01-01 of the naive local time, which fit into a long. Conversions from and to POSIX
+ * timestamps in local time use {@code java.time} with the zone of the {@code time} module.
+ */
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PDateTime)
+public final class DateTimeBuiltins extends PythonBuiltins {
+
+    /** Microseconds between 0001-01-01 and the POSIX epoch. */
+    private static final long EPOCH_MICROSECONDS = DatetimeUtils.EPOCH_SECONDS * DatetimeUtils.US_PER_SECOND;
+    /** Exclusive upper bound of the local microseconds of a datetime. */
+    private static final long MAX_MICROSECONDS = DatetimeUtils.MAX_ORDINAL * DatetimeUtils.US_PER_DAY;
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DateTimeBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(Python3Core core) {
+        super.initialize(core);
+        PythonObjectFactory factory = core.factory();
+        PythonBuiltinClass type = core.lookupType(PythonBuiltinClassType.PDateTime);
+        type.setAttribute(DatetimeNodes.T_MIN, factory.createDateTime(PythonBuiltinClassType.PDateTime, DatetimeUtils.MINYEAR, 1, 1, 0, PNone.NONE));
+        type.setAttribute(DatetimeNodes.T_MAX,
+                        factory.createDateTime(PythonBuiltinClassType.PDateTime, DatetimeUtils.MAXYEAR, 12, 31, DatetimeUtils.packTime(23, 59, 59, 999999, 0), PNone.NONE));
+        type.setAttribute(DatetimeNodes.T_RESOLUTION, factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, 0, 0, 1));
+    }
+
+    @Builtin(name = "hour", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class HourNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int hour(PDateTime self) {
+            return self.getHour();
+        }
+    }
+
+    @Builtin(name = "minute", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class MinuteNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int minute(PDateTime self) {
+            return self.getMinute();
+        }
+    }
+
+    @Builtin(name = "second", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class SecondNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int second(PDateTime self) {
+            return self.getSecond();
+        }
+    }
+
+    @Builtin(name = "microsecond", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class MicrosecondNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int microsecond(PDateTime self) {
+            return self.getMicrosecond();
+        }
+    }
+
+    @Builtin(name = "fold", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class FoldNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int fold(PDateTime self) {
+            return self.getFold();
+        }
+    }
+
+    @Builtin(name = "tzinfo", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class TzInfoNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object tzinfo(PDateTime self) {
+            return self.getTzInfo();
+        }
+    }
+
+    /**
+     * Creates a datetime from microseconds since 0001-01-01, raising {@code OverflowError} if they
+     * are out of range. The fold of the result is 0.
+     */
+    static Object fromLocalMicroseconds(VirtualFrame frame, PNodeWithRaise node, Object cls, long microseconds, Object tzinfo, NewDateTimeNode newDateTimeNode) {
+        if (microseconds < 0 || microseconds >= MAX_MICROSECONDS) {
+            throw node.raise(OverflowError, ErrorMessages.DATE_VALUE_OUT_OF_RANGE);
+        }
+        int packedDate = DatetimeUtils.ordToPackedDate((int) (microseconds / DatetimeUtils.US_PER_DAY) + 1);
+        long packedTime = DatetimeUtils.packTimeOfDay(microseconds % DatetimeUtils.US_PER_DAY, 0);
+        return newDateTimeNode.execute(frame, cls, PDate.unpackYear(packedDate), PDate.unpackMonth(packedDate), PDate.unpackDay(packedDate), packedTime, tzinfo);
+    }
+
+    /**
+     * Converts microseconds since the epoch to microseconds since 0001-01-01 in UTC, raising
+     * {@code ValueError} if the year is out of range.
+     */
+    static long epochToUtcMicroseconds(PNodeWithRaise node, long epochMicroseconds) {
+        long days = Math.floorDiv(epochMicroseconds, DatetimeUtils.US_PER_DAY) + EPOCH_MICROSECONDS / DatetimeUtils.US_PER_DAY;
+        if (days < 0 || days >= DatetimeUtils.MAX_ORDINAL) {
+            throw node.raise(ValueError, ErrorMessages.YEAR_D_IS_OUT_OF_RANGE, days < 0 ? 0 : DatetimeUtils.MAXYEAR + 1);
+        }
+        return days * DatetimeUtils.US_PER_DAY + Math.floorMod(epochMicroseconds, DatetimeUtils.US_PER_DAY);
+    }
+
+    /**
+     * Shared implementation of {@code now} and {@code fromtimestamp}. Without {@code tzinfo}, the
+     * timestamp is converted to local time using {@code java.time}. Otherwise the UTC time is
+     * passed to {@code tzinfo.fromutc}, which is done inline for the builtin {@code timezone}.
+     */
+    @ImportStatic(PGuards.class)
+    abstract static class FromEpochMicrosecondsNode extends PNodeWithRaise {
+        abstract Object execute(VirtualFrame frame, Object cls, long epochMicroseconds, Object tzinfo);
+
+        @Specialization
+        Object doLocal(VirtualFrame frame, Object cls, long epochMicroseconds, @SuppressWarnings("unused") PNone tzinfo,
+                        @Cached NewDateTimeNode newDateTimeNode) {
+            long seconds = Math.floorDiv(epochMicroseconds, DatetimeUtils.US_PER_SECOND);
+            int microsecond = (int) Math.floorMod(epochMicroseconds, DatetimeUtils.US_PER_SECOND);
+            int[] fields = DatetimeUtils.fromEpochSecond(seconds, DatetimeNodes.getLocalZone(this));
+            if (fields[0] < DatetimeUtils.MINYEAR || fields[0] > DatetimeUtils.MAXYEAR) {
+                throw raise(ValueError, ErrorMessages.YEAR_D_IS_OUT_OF_RANGE, fields[0]);
+            }
+            long packedTime = DatetimeUtils.packTime(fields[3], fields[4], fields[5], microsecond, fields[6]);
+            return newDateTimeNode.execute(frame, cls, fields[0], fields[1], fields[2], packedTime, PNone.NONE);
+        }
+
+        @Specialization
+        Object doTimeZone(VirtualFrame frame, Object cls, long epochMicroseconds, PTimeZone tzinfo,
+                        @Cached NewDateTimeNode newDateTimeNode) {
+            long utc = epochToUtcMicroseconds(this, epochMicroseconds);
+            return fromLocalMicroseconds(frame, this, cls, utc + DatetimeNodes.offsetMicroseconds(tzinfo.getOffset()), tzinfo, newDateTimeNode);
+        }
+
+        @Specialization(guards = {"!isPNone(tzinfo)", "!isTimeZone(tzinfo)"})
+        Object doGeneric(VirtualFrame frame, Object cls, long epochMicroseconds, Object tzinfo,
+                        @Cached CheckTzInfoNode checkTzInfoNode,
+                        @Cached NewDateTimeNode newDateTimeNode,
+                        @Cached PyObjectCallMethodObjArgs callMethod) {
+            checkTzInfoNode.execute(tzinfo);
+            long utc = epochToUtcMicroseconds(this, epochMicroseconds);
+            Object dt = fromLocalMicroseconds(frame, this, cls, utc, tzinfo, newDateTimeNode);
+            return callMethod.execute(frame, tzinfo, DatetimeNodes.T_FROMUTC, dt);
+        }
+
+        static boolean isTimeZone(Object tzinfo) {
+            return tzinfo instanceof PTimeZone;
+        }
+
+        static FromEpochMicrosecondsNode create() {
+            return DateTimeBuiltinsFactory.FromEpochMicrosecondsNodeGen.create();
+        }
+    }
+
+    @Builtin(name = "now", minNumOfPositionalArgs = 1, isClassmethod = true, parameterNames = {"cls", "tz"}, //
+                    doc = "Returns new datetime object representing current time local to tz.\n\n  tz\n    Timezone object.\n\nIf no tz is specified, uses local timezone.")
+    @GenerateNodeFactory
+    abstract static class NowNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object now(VirtualFrame frame, Object cls, Object tz,
+                        @Cached FromEpochMicrosecondsNode fromEpochNode) {
+            return fromEpochNode.execute(frame, cls, DatetimeUtils.currentTimeMicroseconds(), tz == PNone.NO_VALUE ? PNone.NONE : tz);
+        }
+    }
+
+    @Builtin(name = "utcnow", minNumOfPositionalArgs = 1, isClassmethod = true, doc = "Return a new datetime representing UTC day and time.")
+    @GenerateNodeFactory
+    abstract static class UtcNowNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object utcnow(VirtualFrame frame, Object cls,
+                        @Cached NewDateTimeNode newDateTimeNode) {
+            long utc = epochToUtcMicroseconds(this, DatetimeUtils.currentTimeMicroseconds());
+            return fromLocalMicroseconds(frame, this, cls, utc, PNone.NONE, newDateTimeNode);
+        }
+    }
+
+    @Builtin(name = "fromtimestamp", minNumOfPositionalArgs = 2, isClassmethod = true, parameterNames = {"cls", "timestamp", "tz"}, //
+                    doc = "timestamp[, tz] -> tz's local time from POSIX timestamp.")
+    @GenerateNodeFactory
+    abstract static class FromTimestampNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static Object fromtimestamp(VirtualFrame frame, Object cls, Object timestamp, Object tz,
+                        @Cached TimestampToMicrosecondsNode toMicrosecondsNode,
+                        @Cached FromEpochMicrosecondsNode fromEpochNode) {
+            return fromEpochNode.execute(frame, cls, toMicrosecondsNode.execute(frame, timestamp), tz == PNone.NO_VALUE ? PNone.NONE : tz);
+        }
+    }
+
+    @Builtin(name = "utcfromtimestamp", minNumOfPositionalArgs = 2, isClassmethod = true, parameterNames = {"cls", "timestamp"}, //
+                    doc = "Construct a naive UTC datetime from a POSIX timestamp.")
+    @GenerateNodeFactory
+    abstract static class UtcFromTimestampNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object utcfromtimestamp(VirtualFrame frame, Object cls, Object timestamp,
+                        @Cached TimestampToMicrosecondsNode toMicrosecondsNode,
+                        @Cached NewDateTimeNode newDateTimeNode) {
+            long utc = epochToUtcMicroseconds(this, toMicrosecondsNode.execute(frame, timestamp));
+            return fromLocalMicroseconds(frame, this, cls, utc, PNone.NONE, newDateTimeNode);
+        }
+    }
+
+    @Builtin(name = "combine", minNumOfPositionalArgs = 3, isClassmethod = true, parameterNames = {"cls", "date", "time", "tzinfo"}, //
+                    doc = "date, time -> datetime with same date and time fields")
+    @GenerateNodeFactory
+    abstract static class CombineNode extends PythonBuiltinNode {
+        @Specialization
+        static Object combine(VirtualFrame frame, Object cls, PDate date, PTime time, Object tzinfoObj,
+                        @Cached CheckTzInfoNode checkTzInfoNode,
+                        @Cached NewDateTimeNode newDateTimeNode) {
+            Object tzinfo = tzinfoObj == PNone.NO_VALUE ? time.getTzInfo() : checkTzInfoNode.execute(tzinfoObj);
+            return newDateTimeNode.execute(frame, cls, date.getYear(), date.getMonth(), date.getDay(), time.getPackedTime(), tzinfo);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        Object error(Object cls, Object date, Object time, Object tzinfo) {
+            if (!(date instanceof PDate)) {
+                throw raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "combine()", 1, "datetime.date", date);
+            }
+            throw raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "combine()", 2, "datetime.time", time);
+        }
+    }
+
+    @Builtin(name = "fromisoformat", minNumOfPositionalArgs = 2, isClassmethod = true, parameterNames = {"cls", "date_string"}, //
+                    doc = "string -> datetime from datetime.isoformat() output")
+    @GenerateNodeFactory
+    abstract static class FromIsoFormatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object fromisoformat(VirtualFrame frame, Object cls, Object dateString,
+                        @Cached PyUnicodeCheckNode unicodeCheckNode,
+                        @Cached CastToTruffleStringNode castToStringNode,
+                        @Cached TruffleString.ToJavaStringNode toJavaStringNode,
+                        @Cached NewTimeDeltaNode newTimeDeltaNode,
+                        @Cached NewTimeZoneNode newTimeZoneNode,
+                        @Cached NewDateTimeNode newDateTimeNode) {
+            if (!unicodeCheckNode.execute(dateString)) {
+                throw raise(TypeError, ErrorMessages.FROMISOFORMAT_ARGUMENT_MUST_BE_STR);
+            }
+            String s = toJavaStringNode.execute(castToStringNode.execute(dateString));
+            int[] dateFields = DatetimeUtils.parseIsoDate(s);
+            // the separator at index 10 can be any character
+            int[] timeFields = s.length() > 10 ? DatetimeUtils.parseIsoTime(s, 11) : new int[10];
+            if (dateFields == null || timeFields == null) {
+                throw raise(ValueError, ErrorMessages.INVALID_ISOFORMAT_STRING, DateBuiltins.reprString(s));
+            }
+            DatetimeNodes.checkDateFields(this, dateFields[0], dateFields[1], dateFields[2]);
+            DatetimeNodes.checkTimeFields(this, timeFields[0], timeFields[1], timeFields[2], timeFields[3], 0);
+            Object tzinfo = TimeBuiltins.parsedTzInfo(timeFields, 4, newTimeDeltaNode, newTimeZoneNode);
+            long packedTime = DatetimeUtils.packTime(timeFields[0], timeFields[1], timeFields[2], timeFields[3], 0);
+            return newDateTimeNode.execute(frame, cls, dateFields[0], dateFields[1], dateFields[2], packedTime, tzinfo);
+        }
+    }
+
+    @Builtin(name = "timestamp", minNumOfPositionalArgs = 1, doc = "Return POSIX timestamp as float.")
+    @GenerateNodeFactory
+    abstract static class TimestampNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        double timestamp(VirtualFrame frame, PDateTime self,
+                        @Cached("createUtcOffset()") CallTzOffsetNode utcOffsetNode) {
+            Object offset = utcOffsetNode.execute(frame, self.getTzInfo(), self);
+            if (offset == PNone.NONE) {
+                long seconds = DatetimeUtils.toEpochSecond(self.getYear(), self.getMonth(), self.getDay(), self.getPackedTime(), DatetimeNodes.getLocalZone(this));
+                return seconds + self.getMicrosecond() / (double) DatetimeUtils.US_PER_SECOND;
+            }
+            long epochMicroseconds = self.toLocalMicroseconds() - DatetimeNodes.offsetMicroseconds((PTimeDelta) offset) - EPOCH_MICROSECONDS;
+            return DatetimeUtils.trueDivide(epochMicroseconds, DatetimeUtils.US_PER_SECOND);
+        }
+    }
+
+    @Builtin(name = "date", minNumOfPositionalArgs = 1, doc = "Return date object with same year, month and day.")
+    @GenerateNodeFactory
+    abstract static class DateNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object date(PDateTime self) {
+            return factory().createDate(PythonBuiltinClassType.PDate, self.getYear(), self.getMonth(), self.getDay());
+        }
+    }
+
+    @Builtin(name = "time", minNumOfPositionalArgs = 1, doc = "Return time object with same time but with tzinfo=None.")
+    @GenerateNodeFactory
+    abstract static class TimeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object time(PDateTime self) {
+            return factory().createTime(PythonBuiltinClassType.PTime, self.getPackedTime(), PNone.NONE);
+        }
+    }
+
+    @Builtin(name = "timetz", minNumOfPositionalArgs = 1, doc = "Return time object with same time and tzinfo.")
+    @GenerateNodeFactory
+    abstract static class TimeTzNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object timetz(PDateTime self) {
+            return factory().createTime(PythonBuiltinClassType.PTime, self.getPackedTime(), self.getTzInfo());
+        }
+    }
+
+    @Builtin(name = "replace", minNumOfPositionalArgs = 1, parameterNames = {"self", "year", "month", "day", "hour", "minute", "second", "microsecond", "tzinfo"}, //
+                    keywordOnlyNames = {"fold"}, doc = "Return datetime with new specified fields.")
+    @GenerateNodeFactory
+    abstract static class ReplaceNode extends PythonBuiltinNode {
+        @Specialization
+        Object replace(VirtualFrame frame, PDateTime self, Object yearObj, Object monthObj, Object dayObj, Object hourObj, Object minuteObj, Object secondObj, Object microsecondObj,
+                        Object tzinfoObj, Object foldObj,
+                        @Cached PyLongAsIntNode asIntNode,
+                        @Cached CheckTzInfoNode checkTzInfoNode,
+                        @Cached GetClassNode getClassNode) {
+            int year = yearObj == PNone.NO_VALUE ? self.getYear() : asIntNode.execute(frame, yearObj);
+            int month = monthObj == PNone.NO_VALUE ? self.getMonth() : asIntNode.execute(frame, monthObj);
+            int day = dayObj == PNone.NO_VALUE ? self.getDay() : asIntNode.execute(frame, dayObj);
+            int hour = hourObj == PNone.NO_VALUE ? self.getHour() : asIntNode.execute(frame, hourObj);
+            int minute = minuteObj == PNone.NO_VALUE ? self.getMinute() : asIntNode.execute(frame, minuteObj);
+            int second = secondObj == PNone.NO_VALUE ? self.getSecond() : asIntNode.execute(frame, secondObj);
+            int microsecond = microsecondObj == PNone.NO_VALUE ? self.getMicrosecond() : asIntNode.execute(frame, microsecondObj);
+            int fold = foldObj == PNone.NO_VALUE ? self.getFold() : asIntNode.execute(frame, foldObj);
+            DatetimeNodes.checkDateFields(this, year, month, day);
+            DatetimeNodes.checkTimeFields(this, hour, minute, second, microsecond, fold);
+            Object tzinfo = tzinfoObj == PNone.NO_VALUE ? self.getTzInfo() : checkTzInfoNode.execute(tzinfoObj);
+            return factory().createDateTime(getClassNode.execute(self), year, month, day, DatetimeUtils.packTime(hour, minute, second, microsecond, fold), tzinfo);
+        }
+    }
+
+    @Builtin(name = "astimezone", minNumOfPositionalArgs = 1, parameterNames = {"self", "tz"}, doc = "tz -> convert to local time in new timezone tz\n")
+    @GenerateNodeFactory
+    abstract static class AsTimeZoneNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object astimezone(VirtualFrame frame, PDateTime self, Object tzObj,
+                        @Cached CheckTzInfoNode checkTzInfoNode,
+                        @Cached("createUtcOffset()") CallTzOffsetNode utcOffsetNode,
+                        @Cached NewTimeDeltaNode newTimeDeltaNode,
+                        @Cached NewTimeZoneNode newTimeZoneNode,
+                        @Cached GetClassNode getClassNode,
+                        @Cached NewDateTimeNode newDateTimeNode,
+                        @Cached PyObjectCallMethodObjArgs callMethod) {
+            Object tz = tzObj == PNone.NO_VALUE ? PNone.NONE : checkTzInfoNode.execute(tzObj);
+            if (tz != PNone.NONE && self.getTzInfo() == tz) {
+                return self;
+            }
+            ZoneId localZone = null;
+            Object offset = utcOffsetNode.execute(frame, self.getTzInfo(), self);
+            long utc;
+            if (offset == PNone.NONE) {
+                // naive datetimes are in local time
+                localZone = DatetimeNodes.getLocalZone(this);
+                long seconds = DatetimeUtils.toEpochSecond(self.getYear(), self.getMonth(), self.getDay(), self.getPackedTime(), localZone);
+                utc = epochToUtcMicroseconds(this, seconds * DatetimeUtils.US_PER_SECOND + self.getMicrosecond());
+            } else {
+                utc = self.toLocalMicroseconds() - DatetimeNodes.offsetMicroseconds((PTimeDelta) offset);
+            }
+            Object cls = getClassNode.execute(self);
+            if (tz == PNone.NONE) {
+                if (localZone == null) {
+                    localZone = DatetimeNodes.getLocalZone(this);
+                }
+                long epochSecond = Math.floorDiv(utc - EPOCH_MICROSECONDS, DatetimeUtils.US_PER_SECOND);
+                int offsetSeconds = DatetimeUtils.getOffsetSeconds(epochSecond, localZone);
+                PTimeDelta localOffset = newTimeDeltaNode.execute(0, offsetSeconds, 0);
+                tz = newTimeZoneNode.execute(localOffset, toTruffleStringUncached(DatetimeUtils.getZoneName(epochSecond, localZone)));
+            }
+            if (tz instanceof PTimeZone) {
+                return fromLocalMicroseconds(frame, this, cls, utc + DatetimeNodes.offsetMicroseconds(((PTimeZone) tz).getOffset()), tz, newDateTimeNode);
+            }
+            Object dt = fromLocalMicroseconds(frame, this, cls, utc, tz, newDateTimeNode);
+            return callMethod.execute(frame, tz, DatetimeNodes.T_FROMUTC, dt);
+        }
+    }
+
+    @Builtin(name = "isoformat", minNumOfPositionalArgs = 1, parameterNames = {"self", "sep", "timespec"}, //
+                    doc = "[sep] -> string in ISO 8601 format, YYYY-MM-DDT[HH[:MM[:SS[.mmm[uuu]]]]][+HH:MM].\nsep is used to separate the year from the time, and defaults to 'T'.\n" +
+                                    "The optional argument timespec specifies the number of additional terms\nof the time to include. Valid options are 'auto', 'hours', 'minutes',\n" +
+                                    "'seconds', 'milliseconds' and 'microseconds'.\n")
+    @GenerateNodeFactory
+    abstract static class IsoFormatNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        TruffleString isoformat(VirtualFrame frame, PDateTime self, Object sepObj, Object timespecObj,
+                        @Cached PyUnicodeCheckNode unicodeCheckNode,
+                        @Cached CastToTruffleStringNode castToStringNode,
+                        @Cached TruffleString.CodePointLengthNode codePointLengthNode,
+                        @Cached TruffleString.CodePointAtIndexNode codePointAtIndexNode,
+                        @Cached("createUtcOffset()") CallTzOffsetNode utcOffsetNode) {
+            int sep = 'T';
+            if (sepObj != PNone.NO_VALUE) {
+                TruffleString sepString = unicodeCheckNode.execute(sepObj) ? castToStringNode.execute(sepObj) : null;
+                if (sepString == null || codePointLengthNode.execute(sepString, TS_ENCODING) != 1) {
+                    throw raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "isoformat()", 1, "a unicode character", sepObj);
+                }
+                sep = codePointAtIndexNode.execute(sepString, 0, TS_ENCODING);
+            }
+            Timespec timespec = TimeBuiltins.getTimespec(this, timespecObj, 2, unicodeCheckNode, castToStringNode);
+            Object offset = utcOffsetNode.execute(frame, self.getTzInfo(), self);
+            return toTruffleStringUncached(DatetimeUtils.formatDateTime(self.getPackedDate(), self.getPackedTime(), sep, timespec, offset == PNone.NONE ? null : (PTimeDelta) offset));
+        }
+    }
+
+    @Builtin(name = J___STR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class StrNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString str(VirtualFrame frame, PDateTime self,
+                        @Cached("createUtcOffset()") CallTzOffsetNode utcOffsetNode) {
+            Object offset = utcOffsetNode.execute(frame, self.getTzInfo(), self);
+            return toTruffleStringUncached(DatetimeUtils.formatDateTime(self.getPackedDate(), self.getPackedTime(), ' ', Timespec.AUTO, offset == PNone.NONE ? null : (PTimeDelta) offset));
+        }
+    }
+
+    @Builtin(name = J___REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString repr(VirtualFrame frame, PDateTime self,
+                        @Cached GetClassNode getClassNode,
+                        @Cached PyObjectReprAsTruffleStringNode reprNode) {
+            TruffleString tzinfoRepr = self.hasTzInfo() ? reprNode.execute(frame, self.getTzInfo()) : null;
+            return formatRepr(DatetimeNodes.getTpName(getClassNode.execute(self)), self, tzinfoRepr);
+        }
+
+        @TruffleBoundary
+        private static TruffleString formatRepr(TruffleString typeName, PDateTime self, TruffleString tzinfoRepr) {
+            StringBuilder sb = new StringBuilder(typeName.toJavaStringUncached()).append('(');
+            sb.append(self.getYear()).append(", ").append(self.getMonth()).append(", ").append(self.getDay()).append(", ");
+            TimeBuiltins.appendTimeRepr(sb, self.getPackedTime());
+            TimeBuiltins.appendTzInfoAndFold(sb, self.getPackedTime(), tzinfoRepr);
+            return toTruffleStringUncached(sb.append(')').toString());
+        }
+    }
+
+    @Builtin(name = "ctime", minNumOfPositionalArgs = 1, doc = "Return ctime() style string.")
+    @GenerateNodeFactory
+    abstract static class CTimeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString ctime(PDateTime self) {
+            return toTruffleStringUncached(DatetimeUtils.formatCTime(self.getYear(), self.getMonth(), self.getDay(), self.getPackedTime()));
+        }
+    }
+
+    @Builtin(name = "utcoffset", minNumOfPositionalArgs = 1, doc = "Return self.tzinfo.utcoffset(self).")
+    @GenerateNodeFactory
+    abstract static class UtcOffsetNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object utcoffset(VirtualFrame frame, PDateTime self,
+                        @Cached("createUtcOffset()") CallTzOffsetNode utcOffsetNode) {
+            return utcOffsetNode.execute(frame, self.getTzInfo(), self);
+        }
+    }
+
+    @Builtin(name = "dst", minNumOfPositionalArgs = 1, doc = "Return self.tzinfo.dst(self).")
+    @GenerateNodeFactory
+    abstract static class DstNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object dst(VirtualFrame frame, PDateTime self,
+                        @Cached("createDst()") CallTzOffsetNode dstNode) {
+            return dstNode.execute(frame, self.getTzInfo(), self);
+        }
+    }
+
+    @Builtin(name = "tzname", minNumOfPositionalArgs = 1, doc = "Return self.tzinfo.tzname(self).")
+    @GenerateNodeFactory
+    abstract static class TzNameNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object tzname(VirtualFrame frame, PDateTime self,
+                        @Cached CallTzNameNode tzNameNode) {
+            return tzNameNode.execute(frame, self.getTzInfo(), self);
+        }
+    }
+
+    @Builtin(name = J___HASH__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HashNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        long hash(VirtualFrame frame, PDateTime self,
+                        @Cached("createUtcOffset()") CallTzOffsetNode utcOffsetNode) {
+            Object dt = self;
+            if (self.getFold() != 0 && self.hasTzInfo() && !(self.getTzInfo() instanceof PTimeZone)) {
+                // the hash must not depend on the fold, so the offset is the one of fold=0
+                dt = factory().createDateTime(PythonBuiltinClassType.PDateTime, self.getYear(), self.getMonth(), self.getDay(), DatetimeUtils.withoutFold(self.getPackedTime()),
+                                self.getTzInfo());
+            }
+            Object offset = utcOffsetNode.execute(frame, self.getTzInfo(), dt);
+            long h = self.toLocalMicroseconds();
+            if (offset != PNone.NONE) {
+                h -= DatetimeNodes.offsetMicroseconds((PTimeDelta) offset);
+            }
+            return h == -1 ? -2 : h;
+        }
+    }
+
+    abstract static class DateTimeCompareNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "self.getTzInfo() == other.getTzInfo()")
+        boolean doSameTzInfo(PDateTime self, PDateTime other) {
+            return compare(compareLocal(self, other));
+        }
+
+        @Specialization(replaces = "doSameTzInfo")
+        boolean doDateTime(VirtualFrame frame, PDateTime self, PDateTime other,
+                        @Cached("createUtcOffset()") CallTzOffsetNode utcOffsetNode) {
+            if (self.getTzInfo() == other.getTzInfo()) {
+                return doSameTzInfo(self, other);
+            }
+            Object offset1 = utcOffsetNode.execute(frame, self.getTzInfo(), self);
+            Object offset2 = utcOffsetNode.execute(frame, other.getTzInfo(), other);
+            int result;
+            if (offset1 == offset2 || (offset1 instanceof PTimeDelta && offset2 instanceof PTimeDelta && ((PTimeDelta) offset1).compareTo((PTimeDelta) offset2) == 0)) {
+                result = compareLocal(self, other);
+            } else if (offset1 != PNone.NONE && offset2 != PNone.NONE) {
+                long t1 = self.toLocalMicroseconds() - DatetimeNodes.offsetMicroseconds((PTimeDelta) offset1);
+                long t2 = other.toLocalMicroseconds() - DatetimeNodes.offsetMicroseconds((PTimeDelta) offset2);
+                result = Long.compare(t1, t2);
+            } else if (isEquality()) {
+                return compare(1);
+            } else {
+                throw raise(TypeError, ErrorMessages.CANT_COMPARE_NAIVE_AND_AWARE_S, "datetimes");
+            }
+            if (result == 0 && isEquality() && (isFoldDependent(frame, self, offset1, utcOffsetNode) || isFoldDependent(frame, other, offset2, utcOffsetNode))) {
+                // PEP 495: times in the fold of an inter-zone comparison are never equal
+                result = 1;
+            }
+            return compare(result);
+        }
+
+        @Specialization(guards = "!isDateTime(other)")
+        Object doDate(PDateTime self, PDate other,
+                        @Cached GetClassNode getClassNode) {
+            // prevent the date comparison from comparing the date part only
+            if (isEquality()) {
+                return compare(1);
+            }
+            throw raise(TypeError, ErrorMessages.CANT_COMPARE_S_TO_S, DatetimeNodes.getTpName(getClassNode.execute(self)), DatetimeNodes.getTpName(getClassNode.execute(other)));
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object doOther(Object self, Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+
+        static boolean isDateTime(Object object) {
+            return object instanceof PDateTime;
+        }
+
+        private static int compareLocal(PDateTime self, PDateTime other) {
+            int result = Integer.compare(self.getPackedDate(), other.getPackedDate());
+            if (result == 0) {
+                result = Long.compare(DatetimeUtils.withoutFold(self.getPackedTime()), DatetimeUtils.withoutFold(other.getPackedTime()));
+            }
+            return result;
+        }
+
+        /**
+         * Whether the UTC offset of the datetime changes when its fold is flipped, i.e., whether it
+         * is in a fold or gap of its time zone.
+         */
+        private boolean isFoldDependent(VirtualFrame frame, PDateTime dt, Object offset, CallTzOffsetNode utcOffsetNode) {
+            if (!dt.hasTzInfo() || dt.getTzInfo() instanceof PTimeZone) {
+                return false;
+            }
+            long flippedTime = DatetimeUtils.withFold(dt.getPackedTime(), 1 - dt.getFold());
+            Object flipped = factory().createDateTime(PythonBuiltinClassType.PDateTime, dt.getYear(), dt.getMonth(), dt.getDay(), flippedTime, dt.getTzInfo());
+            Object flippedOffset = utcOffsetNode.execute(frame, dt.getTzInfo(), flipped);
+            if (flippedOffset == offset) {
+                return false;
+            }
+            return !(flippedOffset instanceof PTimeDelta && offset instanceof PTimeDelta && ((PTimeDelta) flippedOffset).compareTo((PTimeDelta) offset) == 0);
+        }
+
+        @SuppressWarnings("unused")
+        boolean compare(int result) {
+            throw CompilerDirectives.shouldNotReachHere();
+        }
+
+        boolean isEquality() {
+            return false;
+        }
+    }
+
+    @Builtin(name = J___EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class EqNode extends DateTimeCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result == 0;
+        }
+
+        @Override
+        boolean isEquality() {
+            return true;
+        }
+    }
+
+    @Builtin(name = J___NE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NeNode extends DateTimeCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result != 0;
+        }
+
+        @Override
+        boolean isEquality() {
+            return true;
+        }
+    }
+
+    @Builtin(name = J___LT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LtNode extends DateTimeCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result < 0;
+        }
+    }
+
+    @Builtin(name = J___LE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LeNode extends DateTimeCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result <= 0;
+        }
+    }
+
+    @Builtin(name = J___GT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GtNode extends DateTimeCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result > 0;
+        }
+    }
+
+    @Builtin(name = J___GE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GeNode extends DateTimeCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result >= 0;
+        }
+    }
+
+    /**
+     * Adds a timedelta to a datetime. The result has the type of the datetime and fold 0.
+     */
+    static Object addTimeDelta(VirtualFrame frame, PNodeWithRaise node, PDateTime dt, PTimeDelta delta, boolean negate, GetClassNode getClassNode, NewDateTimeNode newDateTimeNode) {
+        long days = negate ? -(long) delta.getDays() : delta.getDays();
+        if (Math.abs(days) > DatetimeUtils.MAX_ORDINAL) {
+            throw node.raise(OverflowError, ErrorMessages.DATE_VALUE_OUT_OF_RANGE);
+        }
+        long microseconds = days * DatetimeUtils.US_PER_DAY + delta.getSeconds() * (long) DatetimeUtils.US_PER_SECOND * (negate ? -1 : 1) + (negate ? -delta.getMicroseconds() : delta.getMicroseconds());
+        return fromLocalMicroseconds(frame, node, getClassNode.execute(dt), dt.toLocalMicroseconds() + microseconds, dt.getTzInfo(), newDateTimeNode);
+    }
+
+    @Builtin(name = J___ADD__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RADD__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class AddNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object add(VirtualFrame frame, PDateTime left, PTimeDelta right,
+                        @Cached GetClassNode getClassNode,
+                        @Cached NewDateTimeNode newDateTimeNode) {
+            return addTimeDelta(frame, this, left, right, false, getClassNode, newDateTimeNode);
+        }
+
+        @Specialization
+        Object addReverse(VirtualFrame frame, PTimeDelta left, PDateTime right,
+                        @Cached GetClassNode getClassNode,
+                        @Cached NewDateTimeNode newDateTimeNode) {
+            return addTimeDelta(frame, this, right, left, false, getClassNode, newDateTimeNode);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object doOther(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = J___SUB__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RSUB__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class SubNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object subTimeDelta(VirtualFrame frame, PDateTime left, PTimeDelta right,
+                        @Cached GetClassNode getClassNode,
+                        @Cached NewDateTimeNode newDateTimeNode) {
+            return addTimeDelta(frame, this, left, right, true, getClassNode, newDateTimeNode);
+        }
+
+        @Specialization
+        PTimeDelta sub(VirtualFrame frame, PDateTime left, PDateTime right,
+                        @Cached("createUtcOffset()") CallTzOffsetNode utcOffsetNode,
+                        @Cached NewTimeDeltaNode newTimeDeltaNode) {
+            long result = left.toLocalMicroseconds() - right.toLocalMicroseconds();
+            if (left.getTzInfo() != right.getTzInfo()) {
+                Object offset1 = utcOffsetNode.execute(frame, left.getTzInfo(), left);
+                Object offset2 = utcOffsetNode.execute(frame, right.getTzInfo(), right);
+                if ((offset1 == PNone.NONE) != (offset2 == PNone.NONE)) {
+                    throw raise(TypeError, ErrorMessages.CANT_SUBTRACT_NAIVE_AND_AWARE_DATETIMES);
+                }
+                if (offset1 != PNone.NONE) {
+                    result -= DatetimeNodes.offsetMicroseconds((PTimeDelta) offset1) - DatetimeNodes.offsetMicroseconds((PTimeDelta) offset2);
+                }
+            }
+            return newTimeDeltaNode.fromMicroseconds(result);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object doOther(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    /**
+     * The pickle state of a datetime, the fold is stored in the month byte for protocols above 3.
+     */
+    static Object reduce(PythonObjectFactory factory, PDateTime self, int protocol, Object cls) {
+        int year = self.getYear();
+        int month = self.getMonth();
+        if (protocol > 3 && self.getFold() != 0) {
+            month |= 0x80;
+        }
+        int microsecond = self.getMicrosecond();
+        byte[] state = {(byte) (year >> 8), (byte) year, (byte) month, (byte) self.getDay(), (byte) self.getHour(), (byte) self.getMinute(), (byte) self.getSecond(),
+                        (byte) (microsecond >> 16), (byte) (microsecond >> 8), (byte) microsecond};
+        Object bytes = factory.createBytes(state);
+        Object args = factory.createTuple(self.hasTzInfo() ? new Object[]{bytes, self.getTzInfo()} : new Object[]{bytes});
+        return factory.createTuple(new Object[]{cls, args});
+    }
+
+    @Builtin(name = J___REDUCE_EX__, minNumOfPositionalArgs = 2, parameterNames = {"self", "protocol"})
+    @GenerateNodeFactory
+    abstract static class ReduceExNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object reduceEx(VirtualFrame frame, PDateTime self, Object protocol,
+                        @Cached PyLongAsIntNode asIntNode,
+                        @Cached GetClassNode getClassNode) {
+            return reduce(factory(), self, asIntNode.execute(frame, protocol), getClassNode.execute(self));
+        }
+    }
+
+    @Builtin(name = J___REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object reduce(PDateTime self,
+                        @Cached GetClassNode getClassNode) {
+            return DateTimeBuiltins.reduce(factory(), self, 2, getClassNode.execute(self));
+        }
+    }
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.datetime;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.OverflowError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.nodes.BuiltinNames.J__DATETIME;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.Python3Core;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.datetime.DatetimeNodes.CheckTzInfoNode;
+import com.oracle.graal.python.builtins.modules.datetime.DatetimeNodes.NewTimeDeltaNode;
+import com.oracle.graal.python.builtins.modules.datetime.DatetimeNodes.NewTimeZoneNode;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.bytes.BytesNodes;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.floats.PFloat;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.lib.PyLongAsIntNode;
+import com.oracle.graal.python.lib.PyObjectTypeCheck;
+import com.oracle.graal.python.lib.PyUnicodeCheckNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.SpecialAttributeNames;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonVarargsBuiltinNode;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.util.OverflowException;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * The {@code _datetime} module and the constructors of its types. Dates and times are stored as
+ * packed primitive fields (see {@link PDate}, {@link PTime}, and {@link PDateTime}), the
+ * constructors also accept the byte strings produced by the {@code __reduce__} methods, which use
+ * the same layout as CPython so that pickles are interchangeable.
+ */
+@CoreFunctions(defineModule = J__DATETIME)
+public final class DatetimeModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DatetimeModuleBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(Python3Core core) {
+        super.initialize(core);
+        addBuiltinConstant(SpecialAttributeNames.T___DOC__, "Fast implementation of the datetime type.");
+        addBuiltinConstant("MINYEAR", DatetimeUtils.MINYEAR);
+        addBuiltinConstant("MAXYEAR", DatetimeUtils.MAXYEAR);
+    }
+
+    /**
+     * Returns the pickle state if the argument is a bytes object of the given size, otherwise
+     * {@code null}.
+     */
+    static byte[] getPickleState(Object arg, int size, BytesNodes.ToBytesNode toBytesNode) {
+        if (arg instanceof PBytes) {
+            byte[] bytes = toBytesNode.execute((PBytes) arg);
+            if (bytes.length == size) {
+                return bytes;
+            }
+        }
+        return null;
+    }
+
+    @Builtin(name = "timedelta", minNumOfPositionalArgs = 1, constructsClass = PythonBuiltinClassType.PTimeDelta, //
+                    parameterNames = {"$cls", "days", "seconds", "microseconds", "milliseconds", "minutes", "hours", "weeks"})
+    @GenerateNodeFactory
+    abstract static class TimeDeltaNode extends PythonBuiltinNode {
+        private static final long[] FACTORS = {DatetimeUtils.US_PER_DAY, DatetimeUtils.US_PER_SECOND, 1, 1000, DatetimeUtils.US_PER_MINUTE, DatetimeUtils.US_PER_HOUR, 7 * DatetimeUtils.US_PER_DAY};
+        private static final String[] NAMES = {"days", "seconds", "microseconds", "milliseconds", "minutes", "hours", "weeks"};
+
+        @Specialization
+        PTimeDelta timedelta(Object cls, Object days, Object seconds, Object microseconds, Object milliseconds, Object minutes, Object hours, Object weeks,
+                        @Cached NewTimeDeltaNode newTimeDeltaNode) {
+            Object[] components = {days, seconds, microseconds, milliseconds, minutes, hours, weeks};
+            try {
+                return newTimeDeltaNode.execute(cls, 0, 0, sumExact(components));
+            } catch (OverflowException e) {
+                return newTimeDeltaNode.fromMicroseconds(cls, sumGeneric(components));
+            }
+        }
+
+        /**
+         * The fast path for int arguments, which covers almost all uses.
+         */
+        @ExplodeLoop
+        private static long sumExact(Object[] components) throws OverflowException {
+            long total = 0;
+            for (int i = 0; i < FACTORS.length; i++) {
+                Object component = components[i];
+                long value;
+                if (component == PNone.NO_VALUE) {
+                    continue;
+                } else if (component instanceof Integer) {
+                    value = (int) component;
+                } else if (component instanceof Long) {
+                    value = (long) component;
+                } else if (component instanceof Boolean) {
+                    value = (boolean) component ? 1 : 0;
+                } else {
+                    throw OverflowException.INSTANCE;
+                }
+                total = PythonUtils.addExact(total, PythonUtils.multiplyExact(value, FACTORS[i]));
+            }
+            return total;
+        }
+
+        /**
+         * Sums the components exactly and rounds the fractional microseconds half to even, which is
+         * what CPython's accumulation of the leftover fractions approximates.
+         */
+        @TruffleBoundary
+        private BigInteger sumGeneric(Object[] components) {
+            BigDecimal total = BigDecimal.ZERO;
+            for (int i = 0; i < FACTORS.length; i++) {
+                Object component = components[i];
+                BigDecimal value;
+                if (component == PNone.NO_VALUE) {
+                    continue;
+                } else if (component instanceof Integer || component instanceof Long) {
+                    value = BigDecimal.valueOf(((Number) component).longValue());
+                } else if (component instanceof Boolean) {
+                    value = (boolean) component ? BigDecimal.ONE : BigDecimal.ZERO;
+                } else if (component instanceof PInt) {
+                    value = new BigDecimal(((PInt) component).getValue());
+                } else if (component instanceof Double || component instanceof PFloat) {
+                    double d = component instanceof Double ? (double) component : ((PFloat) component).getValue();
+                    if (Double.isNaN(d)) {
+                        throw raise(ValueError, ErrorMessages.CANNOT_CONVERT_S_TO_INT, "float NaN");
+                    } else if (Double.isInfinite(d)) {
+                        throw raise(OverflowError, ErrorMessages.CANNOT_CONVERT_S_TO_INT, "float infinity");
+                    }
+                    value = new BigDecimal(d);
+                } else {
+                    throw raise(TypeError, ErrorMessages.UNSUPPORTED_TYPE_FOR_TIMEDELTA_S_COMPONENT, NAMES[i], component);
+                }
+                total = total.add(value.multiply(BigDecimal.valueOf(FACTORS[i])));
+            }
+            return total.setScale(0, RoundingMode.HALF_EVEN).toBigIntegerExact();
+        }
+    }
+
+    @Builtin(name = "date", minNumOfPositionalArgs = 2, constructsClass = PythonBuiltinClassType.PDate, parameterNames = {"$cls", "year", "month", "day"})
+    @GenerateNodeFactory
+    abstract static class DateNode extends PythonBuiltinNode {
+        @Specialization
+        PDate date(VirtualFrame frame, Object cls, Object yearObj, Object monthObj, Object dayObj,
+                        @Cached PyLongAsIntNode asIntNode,
+                        @Cached BytesNodes.ToBytesNode toBytesNode) {
+            if (monthObj == PNone.NO_VALUE) {
+                byte[] state = getPickleState(yearObj, 4, toBytesNode);
+                if (state != null && state[2] >= 1 && state[2] <= 12) {
+                    int year = ((state[0] & 0xFF) << 8) | (state[1] & 0xFF);
+                    DatetimeNodes.checkDateFields(this, year, state[2], state[3]);
+                    return factory().createDate(cls, year, state[2], state[3]);
+                }
+                throw raise(TypeError, ErrorMessages.MISSING_D_REQUIRED_S_ARGUMENT_S_POS, "date", "month", 2);
+            }
+            if (dayObj == PNone.NO_VALUE) {
+                throw raise(TypeError, ErrorMessages.MISSING_D_REQUIRED_S_ARGUMENT_S_POS, "date", "day", 3);
+            }
+            int year = asIntNode.execute(frame, yearObj);
+            int month = asIntNode.execute(frame, monthObj);
+            int day = asIntNode.execute(frame, dayObj);
+            DatetimeNodes.checkDateFields(this, year, month, day);
+            return factory().createDate(cls, year, month, day);
+        }
+    }
+
+    /**
+     * Converts an optional time field, missing fields are zero.
+     */
+    static int asTimeField(VirtualFrame frame, Object value, PyLongAsIntNode asIntNode) {
+        return value == PNone.NO_VALUE ? 0 : asIntNode.execute(frame, value);
+    }
+
+    @Builtin(name = "time", minNumOfPositionalArgs = 1, constructsClass = PythonBuiltinClassType.PTime, //
+                    parameterNames = {"$cls", "hour", "minute", "second", "microsecond", "tzinfo"}, keywordOnlyNames = {"fold"})
+    @GenerateNodeFactory
+    abstract static class TimeNode extends PythonBuiltinNode {
+        @Specialization
+        PTime time(VirtualFrame frame, Object cls, Object hourObj, Object minuteObj, Object secondObj, Object microsecondObj, Object tzinfoObj, Object foldObj,
+                        @Cached PyLongAsIntNode asIntNode,
+                        @Cached BytesNodes.ToBytesNode toBytesNode,
+                        @Cached PyObjectTypeCheck typeCheck,
+                        @Cached CheckTzInfoNode checkTzInfoNode) {
+            byte[] state = getPickleState(hourObj, 6, toBytesNode);
+            if (state != null && (state[0] & 0x7F) < 24 && secondObj == PNone.NO_VALUE) {
+                Object tzinfo = minuteObj == PNone.NO_VALUE ? PNone.NONE : checkStateTzInfo(this, minuteObj, typeCheck);
+                int hour = state[0] & 0x7F;
+                int fold = (state[0] & 0x80) != 0 ? 1 : 0;
+                int microsecond = ((state[3] & 0xFF) << 16) | ((state[4] & 0xFF) << 8) | (state[5] & 0xFF);
+                DatetimeNodes.checkTimeFields(this, hour, state[1], state[2], microsecond, fold);
+                return factory().createTime(cls, DatetimeUtils.packTime(hour, state[1], state[2], microsecond, fold), tzinfo);
+            }
+            int hour = asTimeField(frame, hourObj, asIntNode);
+            int minute = asTimeField(frame, minuteObj, asIntNode);
+            int second = asTimeField(frame, secondObj, asIntNode);
+            int microsecond = asTimeField(frame, microsecondObj, asIntNode);
+            int fold = asTimeField(frame, foldObj, asIntNode);
+            DatetimeNodes.checkTimeFields(this, hour, minute, second, microsecond, fold);
+            Object tzinfo = checkTzInfoNode.execute(tzinfoObj);
+            return factory().createTime(cls, DatetimeUtils.packTime(hour, minute, second, microsecond, fold), tzinfo);
+        }
+    }
+
+    static Object checkStateTzInfo(PythonBuiltinNode node, Object tzinfo, PyObjectTypeCheck typeCheck) {
+        if (tzinfo != PNone.NONE && !typeCheck.execute(tzinfo, PythonBuiltinClassType.PTzInfo)) {
+            throw node.raise(TypeError, ErrorMessages.BAD_TZINFO_STATE_ARG);
+        }
+        return tzinfo;
+    }
+
+    @Builtin(name = "datetime", minNumOfPositionalArgs = 2, constructsClass = PythonBuiltinClassType.PDateTime, //
+                    parameterNames = {"$cls", "year", "month", "day", "hour", "minute", "second", "microsecond", "tzinfo"}, keywordOnlyNames = {"fold"})
+    @GenerateNodeFactory
+    abstract static class DateTimeNode extends PythonBuiltinNode {
+        @Specialization
+        PDateTime datetime(VirtualFrame frame, Object cls, Object yearObj, Object monthObj, Object dayObj, Object hourObj, Object minuteObj, Object secondObj, Object microsecondObj,
+                        Object tzinfoObj, Object foldObj,
+                        @Cached PyLongAsIntNode asIntNode,
+                        @Cached BytesNodes.ToBytesNode toBytesNode,
+                        @Cached PyObjectTypeCheck typeCheck,
+                        @Cached CheckTzInfoNode checkTzInfoNode) {
+            byte[] state = getPickleState(yearObj, 10, toBytesNode);
+            if (state != null && (state[2] & 0x7F) >= 1 && (state[2] & 0x7F) <= 12 && dayObj == PNone.NO_VALUE) {
+                Object tzinfo = monthObj == PNone.NO_VALUE ? PNone.NONE : checkStateTzInfo(this, monthObj, typeCheck);
+                int year = ((state[0] & 0xFF) << 8) | (state[1] & 0xFF);
+                int month = state[2] & 0x7F;
+                int fold = (state[2] & 0x80) != 0 ? 1 : 0;
+                int microsecond = ((state[7] & 0xFF) << 16) | ((state[8] & 0xFF) << 8) | (state[9] & 0xFF);
+                DatetimeNodes.checkDateFields(this, year, month, state[3]);
+                DatetimeNodes.checkTimeFields(this, state[4], state[5], state[6], microsecond, fold);
+                return factory().createDateTime(cls, year, month, state[3], DatetimeUtils.packTime(state[4], state[5], state[6], microsecond, fold), tzinfo);
+            }
+            if (monthObj == PNone.NO_VALUE) {
+                throw raise(TypeError, ErrorMessages.MISSING_D_REQUIRED_S_ARGUMENT_S_POS, "datetime", "month", 2);
+            }
+            if (dayObj == PNone.NO_VALUE) {
+                throw raise(TypeError, ErrorMessages.MISSING_D_REQUIRED_S_ARGUMENT_S_POS, "datetime", "day", 3);
+            }
+            int year = asIntNode.execute(frame, yearObj);
+            int month = asIntNode.execute(frame, monthObj);
+            int day = asIntNode.execute(frame, dayObj);
+            int hour = asTimeField(frame, hourObj, asIntNode);
+            int minute = asTimeField(frame, minuteObj, asIntNode);
+            int second = asTimeField(frame, secondObj, asIntNode);
+            int microsecond = asTimeField(frame, microsecondObj, asIntNode);
+            int fold = asTimeField(frame, foldObj, asIntNode);
+            DatetimeNodes.checkDateFields(this, year, month, day);
+            DatetimeNodes.checkTimeFields(this, hour, minute, second, microsecond, fold);
+            Object tzinfo = checkTzInfoNode.execute(tzinfoObj);
+            return factory().createDateTime(cls, year, month, day, DatetimeUtils.packTime(hour, minute, second, microsecond, fold), tzinfo);
+        }
+    }
+
+    @Builtin(name = "tzinfo", minNumOfPositionalArgs = 1, constructsClass = PythonBuiltinClassType.PTzInfo, takesVarArgs = true, takesVarKeywordArgs = true)
+    @GenerateNodeFactory
+    abstract static class TzInfoNode extends PythonVarargsBuiltinNode {
+        @Specialization
+        Object tzinfo(Object cls, @SuppressWarnings("unused") Object[] args, @SuppressWarnings("unused") PKeyword[] kwargs) {
+            return factory().createPythonObject(cls);
+        }
+    }
+
+    @Builtin(name = "timezone", minNumOfPositionalArgs = 2, constructsClass = PythonBuiltinClassType.PTimeZone, parameterNames = {"$cls", "offset", "name"})
+    @GenerateNodeFactory
+    abstract static class TimeZoneNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        Object timezone(@SuppressWarnings("unused") Object cls, Object offset, Object name,
+                        @Cached PyUnicodeCheckNode unicodeCheckNode,
+                        @Cached CastToTruffleStringNode castToStringNode,
+                        @Cached NewTimeZoneNode newTimeZoneNode) {
+            if (!(offset instanceof PTimeDelta)) {
+                throw raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "timezone()", 1, "datetime.timedelta", offset);
+            }
+            TruffleString tzName = null;
+            if (name != PNone.NO_VALUE) {
+                if (!unicodeCheckNode.execute(name)) {
+                    throw raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "timezone()", 2, "str", name);
+                }
+                tzName = castToStringNode.execute(name);
+            }
+            return newTimeZoneNode.execute((PTimeDelta) offset, tzName);
+        }
+    }
+}
@@ -0,0 +1,511 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.datetime;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.OverflowError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.math.BigInteger;
+import java.time.ZoneId;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.modules.TimeModuleBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.floats.PFloat;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.type.PythonBuiltinClass;
+import com.oracle.graal.python.lib.PyLongAsLongAndOverflowNode;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectReprAsTruffleStringNode;
+import com.oracle.graal.python.lib.PyObjectStrAsObjectNode;
+import com.oracle.graal.python.lib.PyObjectTypeCheck;
+import com.oracle.graal.python.lib.PyUnicodeCheckNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.attributes.GetNameNode;
+import com.oracle.graal.python.nodes.attributes.ReadAttributeFromObjectNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.OverflowException;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.dsl.TypeSystemReference;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Nodes shared by the builtins of the {@code _datetime} types: creating instances of (possibly
+ * subclassed) types, validating fields, and calling the {@code tzinfo} methods.
+ */
+public final class DatetimeNodes {
+    static final TruffleString T_MIN = tsLiteral("min");
+    static final TruffleString T_MAX = tsLiteral("max");
+    static final TruffleString T_RESOLUTION = tsLiteral("resolution");
+    static final TruffleString T_UTC = tsLiteral("utc");
+    static final TruffleString T_FOLD = tsLiteral("fold");
+    static final TruffleString T_UTCOFFSET = tsLiteral("utcoffset");
+    static final TruffleString T_DST = tsLiteral("dst");
+    static final TruffleString T_TZNAME = tsLiteral("tzname");
+    static final TruffleString T_FROMUTC = tsLiteral("fromutc");
+    static final TruffleString T_STRFTIME = tsLiteral("strftime");
+
+    private DatetimeNodes() {
+    }
+
+    public static void checkDateFields(PNodeWithRaise node, int year, int month, int day) {
+        if (year < DatetimeUtils.MINYEAR || year > DatetimeUtils.MAXYEAR) {
+            throw node.raise(ValueError, ErrorMessages.YEAR_D_IS_OUT_OF_RANGE, year);
+        }
+        if (month < 1 || month > 12) {
+            throw node.raise(ValueError, ErrorMessages.MONTH_MUST_BE_IN_1_12);
+        }
+        if (day < 1 || day > DatetimeUtils.daysInMonth(year, month)) {
+            throw node.raise(ValueError, ErrorMessages.DAY_IS_OUT_OF_RANGE_FOR_MONTH);
+        }
+    }
+
+    public static void checkTimeFields(PNodeWithRaise node, int hour, int minute, int second, int microsecond, int fold) {
+        if (hour < 0 || hour > 23) {
+            throw node.raise(ValueError, ErrorMessages.HOUR_MUST_BE_IN_0_23);
+        }
+        if (minute < 0 || minute > 59) {
+            throw node.raise(ValueError, ErrorMessages.MINUTE_MUST_BE_IN_0_59);
+        }
+        if (second < 0 || second > 59) {
+            throw node.raise(ValueError, ErrorMessages.SECOND_MUST_BE_IN_0_59);
+        }
+        if (microsecond < 0 || microsecond > 999999) {
+            throw node.raise(ValueError, ErrorMessages.MICROSECOND_MUST_BE_IN_0_999999);
+        }
+        if (fold != 0 && fold != 1) {
+            throw node.raise(ValueError, ErrorMessages.FOLD_MUST_BE_EITHER_0_OR_1);
+        }
+    }
+
+    /**
+     * Whether a {@code utcoffset()} or {@code dst()} result is strictly between
+     * {@code -timedelta(hours=24)} and {@code timedelta(hours=24)}.
+     */
+    public static boolean isValidOffset(PTimeDelta offset) {
+        return offset.getDays() == 0 || (offset.getDays() == -1 && (offset.getSeconds() != 0 || offset.getMicroseconds() != 0));
+    }
+
+    /**
+     * The microseconds of a valid UTC offset, which always fit into a long.
+     */
+    public static long offsetMicroseconds(PTimeDelta offset) {
+        assert isValidOffset(offset);
+        return offset.getDays() * DatetimeUtils.US_PER_DAY + offset.getSeconds() * (long) DatetimeUtils.US_PER_SECOND + offset.getMicroseconds();
+    }
+
+    /**
+     * Equivalent of {@code Py_TYPE(obj)->tp_name}, used as the prefix of the reprs.
+     */
+    @TruffleBoundary
+    public static TruffleString getTpName(Object cls) {
+        if (cls instanceof PythonBuiltinClassType) {
+            return ((PythonBuiltinClassType) cls).getPrintName();
+        } else if (cls instanceof PythonBuiltinClass) {
+            return ((PythonBuiltinClass) cls).getType().getPrintName();
+        }
+        return GetNameNode.getUncached().execute(cls);
+    }
+
+    @TruffleBoundary
+    public static TruffleString getTimeZoneName(PTimeZone timezone) {
+        if (timezone.getName() != null) {
+            return timezone.getName();
+        }
+        return toTruffleStringUncached(DatetimeUtils.formatTimeZoneName(timezone.getOffset()));
+    }
+
+    public static ZoneId getLocalZone(Node node) {
+        return TimeModuleBuiltins.getCurrentZoneId(PythonContext.get(node));
+    }
+
+    /**
+     * Creates a normalized {@code timedelta} from days, seconds and microseconds that may be out of
+     * their canonical ranges. Raises {@code OverflowError} if the days are out of range.
+     */
+    public abstract static class NewTimeDeltaNode extends PNodeWithRaise {
+
+        public abstract PTimeDelta execute(Object cls, long days, long seconds, long microseconds);
+
+        public final PTimeDelta execute(long days, long seconds, long microseconds) {
+            return execute(PythonBuiltinClassType.PTimeDelta, days, seconds, microseconds);
+        }
+
+        public final PTimeDelta fromMicroseconds(long microseconds) {
+            return execute(PythonBuiltinClassType.PTimeDelta, 0, 0, microseconds);
+        }
+
+        public final PTimeDelta fromMicroseconds(Object cls, BigInteger microseconds) {
+            long[] normalized = DatetimeUtils.normalizeMicroseconds(microseconds);
+            if (normalized == null) {
+                throw raise(OverflowError, ErrorMessages.PYTHON_INT_TOO_LARGE_TO_CONV_TO, "C int");
+            }
+            return execute(cls, normalized[0], normalized[1], normalized[2]);
+        }
+
+        @Specialization
+        PTimeDelta create(Object cls, long days, long seconds, long microseconds,
+                        @Cached PythonObjectFactory factory) {
+            long totalSeconds = seconds + Math.floorDiv(microseconds, DatetimeUtils.US_PER_SECOND);
+            int us = (int) Math.floorMod(microseconds, DatetimeUtils.US_PER_SECOND);
+            long d = days + Math.floorDiv(totalSeconds, DatetimeUtils.SECONDS_PER_DAY);
+            int s = (int) Math.floorMod(totalSeconds, DatetimeUtils.SECONDS_PER_DAY);
+            if (d < -PTimeDelta.MAX_DAYS || d > PTimeDelta.MAX_DAYS) {
+                throw raise(OverflowError, ErrorMessages.DAYS_D_MUST_HAVE_MAGNITUDE_LE_D, d, PTimeDelta.MAX_DAYS);
+            }
+            return factory.createTimeDelta(cls, (int) d, s, us);
+        }
+
+        public static NewTimeDeltaNode create() {
+            return DatetimeNodesFactory.NewTimeDeltaNodeGen.create();
+        }
+    }
+
+    /**
+     * Creates a {@code timezone}, validating the offset. Returns the {@code timezone.utc}
+     * singleton for a zero offset without name.
+     */
+    public abstract static class NewTimeZoneNode extends PNodeWithRaise {
+
+        public abstract Object execute(PTimeDelta offset, TruffleString name);
+
+        @Specialization
+        Object create(PTimeDelta offset, TruffleString name,
+                        @Cached("createForceType()") ReadAttributeFromObjectNode readUtcNode,
+                        @Cached PythonObjectFactory factory) {
+            if (name == null && offset.isZero()) {
+                return readUtcNode.execute(getContext().lookupType(PythonBuiltinClassType.PTimeZone), T_UTC);
+            }
+            if (!isValidOffset(offset)) {
+                throw raise(ValueError, ErrorMessages.OFFSET_MUST_BE_TIMEDELTA_STRICTLY_BETWEEN, formatOffsetRepr(offset));
+            }
+            return factory.createTimeZone(PythonBuiltinClassType.PTimeZone, offset, name);
+        }
+
+        @TruffleBoundary
+        private static TruffleString formatOffsetRepr(PTimeDelta offset) {
+            return toTruffleStringUncached(DatetimeUtils.formatTimeDeltaRepr("datetime.timedelta", offset));
+        }
+
+        public static NewTimeZoneNode create() {
+            return DatetimeNodesFactory.NewTimeZoneNodeGen.create();
+        }
+    }
+
+    /**
+     * Creates a {@code date} of the given type from valid fields. Like CPython, subclasses are
+     * instantiated by calling them.
+     */
+    public abstract static class NewDateNode extends Node {
+
+        public abstract Object execute(VirtualFrame frame, Object cls, int year, int month, int day);
+
+        @Specialization
+        static Object create(VirtualFrame frame, Object cls, int year, int month, int day,
+                        @Cached IsBuiltinClassProfile isBuiltinDate,
+                        @Cached PythonObjectFactory factory,
+                        @Cached CallNode callNode) {
+            if (isBuiltinDate.profileClass(cls, PythonBuiltinClassType.PDate)) {
+                return factory.createDate(cls, year, month, day);
+            }
+            return callNode.execute(frame, cls, year, month, day);
+        }
+
+        public static NewDateNode create() {
+            return DatetimeNodesFactory.NewDateNodeGen.create();
+        }
+    }
+
+    /**
+     * Creates a {@code datetime} of the given type from valid fields, subclasses are instantiated
+     * by calling them.
+     */
+    public abstract static class NewDateTimeNode extends Node {
+
+        public abstract Object execute(VirtualFrame frame, Object cls, int year, int month, int day, long packedTime, Object tzinfo);
+
+        @Specialization
+        static Object create(VirtualFrame frame, Object cls, int year, int month, int day, long packedTime, Object tzinfo,
+                        @Cached IsBuiltinClassProfile isBuiltinDateTime,
+                        @Cached PythonObjectFactory factory,
+                        @Cached CallNode callNode) {
+            if (isBuiltinDateTime.profileClass(cls, PythonBuiltinClassType.PDateTime)) {
+                return factory.createDateTime(cls, year, month, day, packedTime, tzinfo);
+            }
+            Object[] args = {year, month, day, DatetimeUtils.unpackHour(packedTime), DatetimeUtils.unpackMinute(packedTime), DatetimeUtils.unpackSecond(packedTime),
+                            DatetimeUtils.unpackMicrosecond(packedTime), tzinfo};
+            int fold = DatetimeUtils.unpackFold(packedTime);
+            return callNode.execute(frame, cls, args, fold == 0 ? PKeyword.EMPTY_KEYWORDS : new PKeyword[]{new PKeyword(T_FOLD, fold)});
+        }
+
+        public static NewDateTimeNode create() {
+            return DatetimeNodesFactory.NewDateTimeNodeGen.create();
+        }
+    }
+
+    /**
+     * Checks the {@code tzinfo} argument of the constructors and {@code replace}, returns
+     * {@code None} for a missing argument.
+     */
+    @ImportStatic(PGuards.class)
+    public abstract static class CheckTzInfoNode extends PNodeWithRaise {
+
+        public abstract Object execute(Object tzinfo);
+
+        @Specialization
+        static Object doNone(@SuppressWarnings("unused") PNone tzinfo) {
+            return PNone.NONE;
+        }
+
+        @Specialization
+        static Object doTimeZone(PTimeZone tzinfo) {
+            return tzinfo;
+        }
+
+        @Specialization(guards = {"!isPNone(tzinfo)", "!isTimeZone(tzinfo)"})
+        Object doGeneric(Object tzinfo,
+                        @Cached PyObjectTypeCheck typeCheck) {
+            if (!typeCheck.execute(tzinfo, PythonBuiltinClassType.PTzInfo)) {
+                throw raise(TypeError, ErrorMessages.TZINFO_ARG_MUST_BE_NONE_OR_TZINFO, tzinfo);
+            }
+            return tzinfo;
+        }
+
+        static boolean isTimeZone(Object tzinfo) {
+            return tzinfo instanceof PTimeZone;
+        }
+
+        public static CheckTzInfoNode create() {
+            return DatetimeNodesFactory.CheckTzInfoNodeGen.create();
+        }
+    }
+
+    /**
+     * Calls {@code tzinfo.utcoffset(dt)} or {@code tzinfo.dst(dt)} and validates the result. Returns
+     * {@code None} or a {@link PTimeDelta}. The builtin {@code timezone} is not subclassable, so its
+     * offset is read directly.
+     */
+    @ImportStatic(PGuards.class)
+    public abstract static class CallTzOffsetNode extends PNodeWithRaise {
+        private final TruffleString methodName;
+        private final boolean isDst;
+
+        CallTzOffsetNode(TruffleString methodName, boolean isDst) {
+            this.methodName = methodName;
+            this.isDst = isDst;
+        }
+
+        public abstract Object execute(VirtualFrame frame, Object tzinfo, Object dt);
+
+        @Specialization
+        static Object doNone(@SuppressWarnings("unused") PNone tzinfo, @SuppressWarnings("unused") Object dt) {
+            return PNone.NONE;
+        }
+
+        @Specialization
+        Object doTimeZone(PTimeZone tzinfo, @SuppressWarnings("unused") Object dt) {
+            return isDst ? PNone.NONE : tzinfo.getOffset();
+        }
+
+        @Specialization(guards = {"!isPNone(tzinfo)", "!isTimeZone(tzinfo)"})
+        Object doGeneric(VirtualFrame frame, Object tzinfo, Object dt,
+                        @Cached PyObjectCallMethodObjArgs callMethod,
+                        @Cached PyObjectReprAsTruffleStringNode reprNode) {
+            Object result = callMethod.execute(frame, tzinfo, methodName, dt);
+            if (result == PNone.NONE) {
+                return PNone.NONE;
+            }
+            if (!(result instanceof PTimeDelta)) {
+                throw raise(TypeError, ErrorMessages.TZINFO_S_MUST_RETURN_NONE_OR_TIMEDELTA, methodName, result);
+            }
+            if (!isValidOffset((PTimeDelta) result)) {
+                throw raise(ValueError, ErrorMessages.OFFSET_MUST_BE_TIMEDELTA_STRICTLY_BETWEEN, reprNode.execute(frame, result));
+            }
+            return result;
+        }
+
+        static boolean isTimeZone(Object tzinfo) {
+            return tzinfo instanceof PTimeZone;
+        }
+
+        public static CallTzOffsetNode createUtcOffset() {
+            return DatetimeNodesFactory.CallTzOffsetNodeGen.create(T_UTCOFFSET, false);
+        }
+
+        public static CallTzOffsetNode createDst() {
+            return DatetimeNodesFactory.CallTzOffsetNodeGen.create(T_DST, true);
+        }
+    }
+
+    /**
+     * Calls {@code tzinfo.tzname(dt)} and checks that the result is {@code None} or a string.
+     */
+    @ImportStatic(PGuards.class)
+    public abstract static class CallTzNameNode extends PNodeWithRaise {
+
+        public abstract Object execute(VirtualFrame frame, Object tzinfo, Object dt);
+
+        @Specialization
+        static Object doNone(@SuppressWarnings("unused") PNone tzinfo, @SuppressWarnings("unused") Object dt) {
+            return PNone.NONE;
+        }
+
+        @Specialization
+        static Object doTimeZone(PTimeZone tzinfo, @SuppressWarnings("unused") Object dt) {
+            return getTimeZoneName(tzinfo);
+        }
+
+        @Specialization(guards = {"!isPNone(tzinfo)", "!isTimeZone(tzinfo)"})
+        Object doGeneric(VirtualFrame frame, Object tzinfo, Object dt,
+                        @Cached PyObjectCallMethodObjArgs callMethod,
+                        @Cached PyUnicodeCheckNode unicodeCheckNode) {
+            Object result = callMethod.execute(frame, tzinfo, T_TZNAME, dt);
+            if (result != PNone.NONE && !unicodeCheckNode.execute(result)) {
+                throw raise(TypeError, ErrorMessages.TZINFO_TZNAME_MUST_RETURN_NONE_OR_STRING, result);
+            }
+            return result;
+        }
+
+        static boolean isTimeZone(Object tzinfo) {
+            return tzinfo instanceof PTimeZone;
+        }
+
+        public static CallTzNameNode create() {
+            return DatetimeNodesFactory.CallTzNameNodeGen.create();
+        }
+    }
+
+    /**
+     * Converts a POSIX timestamp to microseconds, rounding half to even like
+     * {@code _PyTime_ObjectToTimeval} with {@code _PyTime_ROUND_HALF_EVEN}. Timestamps whose
+     * microseconds do not fit into a long raise {@code OverflowError}, smaller timestamps that are
+     * out of the supported range of years are left to the callers to reject.
+     */
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    public abstract static class TimestampToMicrosecondsNode extends PNodeWithRaise {
+        private static final long MAX_SECONDS = Long.MAX_VALUE / DatetimeUtils.US_PER_SECOND - 1;
+
+        public abstract long execute(VirtualFrame frame, Object timestamp);
+
+        @Specialization
+        long doLong(long timestamp) {
+            if (timestamp < -MAX_SECONDS || timestamp > MAX_SECONDS) {
+                throw raise(OverflowError, ErrorMessages.TIMESTAMP_OUT_OF_RANGE);
+            }
+            return timestamp * DatetimeUtils.US_PER_SECOND;
+        }
+
+        @Specialization
+        long doDouble(double timestamp) {
+            if (Double.isNaN(timestamp)) {
+                throw raise(ValueError, ErrorMessages.INVALID_VALUE_NAN);
+            }
+            double intPart = timestamp < 0 ? Math.ceil(timestamp) : Math.floor(timestamp);
+            if (intPart < -MAX_SECONDS || intPart > MAX_SECONDS) {
+                throw raise(OverflowError, ErrorMessages.TIMESTAMP_OUT_OF_RANGE);
+            }
+            double microseconds = Math.rint((timestamp - intPart) * DatetimeUtils.US_PER_SECOND);
+            return (long) intPart * DatetimeUtils.US_PER_SECOND + (long) microseconds;
+        }
+
+        @Specialization(replaces = {"doLong", "doDouble"})
+        long doGeneric(VirtualFrame frame, Object timestamp,
+                        @Cached PyLongAsLongAndOverflowNode asLongNode) {
+            if (timestamp instanceof PFloat) {
+                return doDouble(((PFloat) timestamp).getValue());
+            } else if (timestamp instanceof Double) {
+                return doDouble((double) timestamp);
+            }
+            try {
+                return doLong(asLongNode.execute(frame, timestamp));
+            } catch (OverflowException e) {
+                throw raise(OverflowError, ErrorMessages.TIMESTAMP_OUT_OF_RANGE);
+            }
+        }
+
+        public static TimestampToMicrosecondsNode create() {
+            return DatetimeNodesFactory.TimestampToMicrosecondsNodeGen.create();
+        }
+    }
+
+    /**
+     * {@code __format__} of the date and time types: an empty format returns {@code str(self)},
+     * anything else is passed to {@code self.strftime}.
+     */
+    public abstract static class FormatNode extends PNodeWithRaise {
+
+        public abstract Object execute(VirtualFrame frame, Object self, Object format);
+
+        @Specialization
+        Object format(VirtualFrame frame, Object self, Object format,
+                        @Cached PyUnicodeCheckNode unicodeCheckNode,
+                        @Cached CastToTruffleStringNode castToStringNode,
+                        @Cached PyObjectStrAsObjectNode strNode,
+                        @Cached PyObjectCallMethodObjArgs callMethod) {
+            if (!unicodeCheckNode.execute(format)) {
+                throw raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "__format__()", 1, "str", format);
+            }
+            if (castToStringNode.execute(format).isEmpty()) {
+                return strNode.execute(frame, self);
+            }
+            return callMethod.execute(frame, self, T_STRFTIME, format);
+        }
+
+        public static FormatNode create() {
+            return DatetimeNodesFactory.FormatNodeGen.create();
+        }
+    }
+}
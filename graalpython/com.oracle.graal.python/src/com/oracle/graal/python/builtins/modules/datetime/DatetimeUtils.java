@@ -0,0 +1,734 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.datetime;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.TimeZone;
+
+import com.oracle.graal.python.util.OverflowException;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Calendar arithmetic, field packing, and ISO 8601 formatting and parsing shared by the
+ * {@code _datetime} types. The calendar algorithms are the ones of CPython's
+ * {@code _datetimemodule.c}, timestamp conversions to and from local time use {@code java.time}.
+ */
+public final class DatetimeUtils {
+    public static final int MINYEAR = 1;
+    public static final int MAXYEAR = 9999;
+    public static final int MAX_ORDINAL = 3652059;
+
+    public static final int SECONDS_PER_DAY = 24 * 3600;
+    public static final int US_PER_SECOND = 1000000;
+    public static final long US_PER_MINUTE = 60L * US_PER_SECOND;
+    public static final long US_PER_HOUR = 3600L * US_PER_SECOND;
+    public static final long US_PER_DAY = (long) SECONDS_PER_DAY * US_PER_SECOND;
+
+    /** Number of seconds between 0001-01-01 and the POSIX epoch 1970-01-01. */
+    public static final long EPOCH_SECONDS = 719162L * SECONDS_PER_DAY;
+
+    /*
+     * Packed time layout: microsecond in bits 0-19, second in bits 20-25, minute in bits 26-31,
+     * hour in bits 32-36 and fold in bit 37. Comparing packed values without the fold bit compares
+     * the times.
+     */
+    private static final int SECOND_SHIFT = 20;
+    private static final int MINUTE_SHIFT = 26;
+    private static final int HOUR_SHIFT = 32;
+    private static final int FOLD_SHIFT = 37;
+    private static final long MICROSECOND_MASK = 0xFFFFF;
+    private static final long SIX_BIT_MASK = 0x3F;
+    private static final long HOUR_MASK = 0x1F;
+    private static final long FOLD_BIT = 1L << FOLD_SHIFT;
+
+    private static final int[] DAYS_IN_MONTH = {-1, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+    private static final int[] DAYS_BEFORE_MONTH = {-1, 0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334};
+
+    // number of days in 400, 100 and 4 years
+    private static final int DI400Y = 146097;
+    private static final int DI100Y = 36524;
+    private static final int DI4Y = 1461;
+
+    private static final String[] DAY_NAMES = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+    private static final String[] MONTH_NAMES = {null, "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+
+    private static final BigInteger BIG_US_PER_DAY = BigInteger.valueOf(US_PER_DAY);
+
+    private DatetimeUtils() {
+    }
+
+    public enum Timespec {
+        AUTO,
+        HOURS,
+        MINUTES,
+        SECONDS,
+        MILLISECONDS,
+        MICROSECONDS;
+
+        /**
+         * Returns the timespec of the given name or {@code null} if there is none.
+         */
+        @TruffleBoundary
+        public static Timespec fromName(String name) {
+            switch (name) {
+                case "auto":
+                    return AUTO;
+                case "hours":
+                    return HOURS;
+                case "minutes":
+                    return MINUTES;
+                case "seconds":
+                    return SECONDS;
+                case "milliseconds":
+                    return MILLISECONDS;
+                case "microseconds":
+                    return MICROSECONDS;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    // packed time fields
+
+    public static long packTime(int hour, int minute, int second, int microsecond, int fold) {
+        assert 0 <= hour && hour < 24 && 0 <= minute && minute < 60 && 0 <= second && second < 60;
+        assert 0 <= microsecond && microsecond < US_PER_SECOND && (fold == 0 || fold == 1);
+        return ((long) fold << FOLD_SHIFT) | ((long) hour << HOUR_SHIFT) | ((long) minute << MINUTE_SHIFT) | ((long) second << SECOND_SHIFT) | microsecond;
+    }
+
+    public static int unpackHour(long packedTime) {
+        return (int) ((packedTime >>> HOUR_SHIFT) & HOUR_MASK);
+    }
+
+    public static int unpackMinute(long packedTime) {
+        return (int) ((packedTime >>> MINUTE_SHIFT) & SIX_BIT_MASK);
+    }
+
+    public static int unpackSecond(long packedTime) {
+        return (int) ((packedTime >>> SECOND_SHIFT) & SIX_BIT_MASK);
+    }
+
+    public static int unpackMicrosecond(long packedTime) {
+        return (int) (packedTime & MICROSECOND_MASK);
+    }
+
+    public static int unpackFold(long packedTime) {
+        return (int) (packedTime >>> FOLD_SHIFT);
+    }
+
+    public static long withoutFold(long packedTime) {
+        return packedTime & ~FOLD_BIT;
+    }
+
+    public static long withFold(long packedTime, int fold) {
+        return withoutFold(packedTime) | ((long) fold << FOLD_SHIFT);
+    }
+
+    public static long timeOfDayMicroseconds(long packedTime) {
+        return unpackHour(packedTime) * US_PER_HOUR + unpackMinute(packedTime) * US_PER_MINUTE + unpackSecond(packedTime) * (long) US_PER_SECOND + unpackMicrosecond(packedTime);
+    }
+
+    public static long packTimeOfDay(long microseconds, int fold) {
+        assert 0 <= microseconds && microseconds < US_PER_DAY;
+        int us = (int) (microseconds % US_PER_SECOND);
+        int seconds = (int) (microseconds / US_PER_SECOND);
+        return packTime(seconds / 3600, seconds / 60 % 60, seconds % 60, us, fold);
+    }
+
+    // calendar arithmetic
+
+    public static boolean isLeap(int year) {
+        return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    public static int daysInMonth(int year, int month) {
+        assert 1 <= month && month <= 12;
+        if (month == 2 && isLeap(year)) {
+            return 29;
+        }
+        return DAYS_IN_MONTH[month];
+    }
+
+    public static int daysBeforeMonth(int year, int month) {
+        assert 1 <= month && month <= 12;
+        int days = DAYS_BEFORE_MONTH[month];
+        if (month > 2 && isLeap(year)) {
+            days++;
+        }
+        return days;
+    }
+
+    public static int daysBeforeYear(int year) {
+        int y = year - 1;
+        return y * 365 + y / 4 - y / 100 + y / 400;
+    }
+
+    /**
+     * Proleptic Gregorian ordinal of the given date, 0001-01-01 is day 1.
+     */
+    public static int ymdToOrd(int year, int month, int day) {
+        return daysBeforeYear(year) + daysBeforeMonth(year, month) + day;
+    }
+
+    /**
+     * Inverse of {@link #ymdToOrd}, the result is a date packed with {@link PDate#packDate}.
+     */
+    public static int ordToPackedDate(int ordinal) {
+        assert 1 <= ordinal && ordinal <= MAX_ORDINAL;
+        int n = ordinal - 1;
+        int n400 = n / DI400Y;
+        n = n % DI400Y;
+        int year = n400 * 400 + 1;
+        int n100 = n / DI100Y;
+        n = n % DI100Y;
+        int n4 = n / DI4Y;
+        n = n % DI4Y;
+        int n1 = n / 365;
+        n = n % 365;
+        year += n100 * 100 + n4 * 4 + n1;
+        if (n1 == 4 || n100 == 4) {
+            // the last day of a leap year
+            return PDate.packDate(year - 1, 12, 31);
+        }
+        boolean leapYear = n1 == 3 && (n4 != 24 || n100 == 3);
+        int month = (n + 50) >> 5;
+        int preceding = DAYS_BEFORE_MONTH[month] + (month > 2 && leapYear ? 1 : 0);
+        if (preceding > n) {
+            month--;
+            preceding -= DAYS_IN_MONTH[month] + (month == 2 && leapYear ? 1 : 0);
+        }
+        return PDate.packDate(year, month, n - preceding + 1);
+    }
+
+    /**
+     * Day of the week, Monday is 0.
+     */
+    public static int weekday(int ordinal) {
+        return (ordinal + 6) % 7;
+    }
+
+    public static int isoWeek1Monday(int year) {
+        int firstDay = ymdToOrd(year, 1, 1);
+        int firstWeekday = weekday(firstDay);
+        int week1Monday = firstDay - firstWeekday;
+        if (firstWeekday > 3) {
+            // the first week starts on the Monday after the first Thursday
+            week1Monday += 7;
+        }
+        return week1Monday;
+    }
+
+    /**
+     * Returns ISO year, week number (1-based) and weekday (Monday is 1) of the given date.
+     */
+    public static int[] isoCalendar(int year, int month, int day) {
+        int isoYear = year;
+        int week1Monday = isoWeek1Monday(isoYear);
+        int today = ymdToOrd(year, month, day);
+        int week = Math.floorDiv(today - week1Monday, 7);
+        int weekday = Math.floorMod(today - week1Monday, 7);
+        if (week < 0) {
+            isoYear--;
+            week1Monday = isoWeek1Monday(isoYear);
+            week = Math.floorDiv(today - week1Monday, 7);
+            weekday = Math.floorMod(today - week1Monday, 7);
+        } else if (week >= 52 && today >= isoWeek1Monday(isoYear + 1)) {
+            isoYear++;
+            week = 0;
+        }
+        return new int[]{isoYear, week + 1, weekday + 1};
+    }
+
+    // timedelta normalization
+
+    /**
+     * Splits a number of microseconds into a {@code timedelta} triple. The days may be out of
+     * range and have to be checked by the caller.
+     */
+    public static long[] normalizeMicroseconds(long microseconds) {
+        long days = Math.floorDiv(microseconds, US_PER_DAY);
+        long rest = Math.floorMod(microseconds, US_PER_DAY);
+        return new long[]{days, rest / US_PER_SECOND, rest % US_PER_SECOND};
+    }
+
+    /**
+     * Like {@link #normalizeMicroseconds(long)}, returns {@code null} if the day count does not
+     * fit into a long.
+     */
+    @TruffleBoundary
+    public static long[] normalizeMicroseconds(BigInteger microseconds) {
+        BigInteger[] qr = microseconds.divideAndRemainder(BIG_US_PER_DAY);
+        BigInteger days = qr[0];
+        long rest = qr[1].longValue();
+        if (rest < 0) {
+            days = days.subtract(BigInteger.ONE);
+            rest += US_PER_DAY;
+        }
+        if (days.bitLength() >= Long.SIZE) {
+            return null;
+        }
+        return new long[]{days.longValue(), rest / US_PER_SECOND, rest % US_PER_SECOND};
+    }
+
+    // timedelta arithmetic
+
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+    /**
+     * Divides rounding half to even, like {@code divide_nearest} in CPython.
+     *
+     * @throws OverflowException if an intermediate result does not fit into a long
+     */
+    public static long divideNearest(long a, long b) throws OverflowException {
+        long q = Math.floorDiv(a, b);
+        long r2 = PythonUtils.multiplyExact(Math.floorMod(a, b), 2);
+        boolean greaterThanHalf = b > 0 ? r2 > b : r2 < b;
+        if (greaterThanHalf || (r2 == b && (q & 1) != 0)) {
+            q++;
+        }
+        return q;
+    }
+
+    @TruffleBoundary
+    public static BigInteger divideNearest(BigInteger a, BigInteger b) {
+        return new BigDecimal(a).divide(new BigDecimal(b), 0, RoundingMode.HALF_EVEN).toBigIntegerExact();
+    }
+
+    /**
+     * Divides by a finite non-zero double, rounding the exact quotient half to even.
+     */
+    @TruffleBoundary
+    public static BigInteger divideNearest(BigInteger a, double b) {
+        return new BigDecimal(a).divide(new BigDecimal(b), 0, RoundingMode.HALF_EVEN).toBigIntegerExact();
+    }
+
+    /**
+     * Multiplies by a finite double, rounding the exact product half to even.
+     */
+    @TruffleBoundary
+    public static BigInteger multiplyNearest(BigInteger a, double b) {
+        return new BigDecimal(a).multiply(new BigDecimal(b)).setScale(0, RoundingMode.HALF_EVEN).toBigIntegerExact();
+    }
+
+    /**
+     * The correctly rounded quotient of two integers, like {@code int.__truediv__}.
+     */
+    public static double trueDivide(long a, long b) {
+        if (-MAX_EXACT_DOUBLE <= a && a <= MAX_EXACT_DOUBLE && -MAX_EXACT_DOUBLE <= b && b <= MAX_EXACT_DOUBLE) {
+            return (double) a / (double) b;
+        }
+        return trueDivide(BigInteger.valueOf(a), BigInteger.valueOf(b));
+    }
+
+    @TruffleBoundary
+    public static double trueDivide(BigInteger a, BigInteger b) {
+        return new BigDecimal(a).divide(new BigDecimal(b), MathContext.DECIMAL128).doubleValue();
+    }
+
+    // formatting
+
+    private static void appendPadded(StringBuilder sb, int value, int width) {
+        assert value >= 0;
+        int limit = 10;
+        for (int i = 1; i < width; i++) {
+            if (value < limit) {
+                sb.append('0');
+            }
+            limit *= 10;
+        }
+        sb.append(value);
+    }
+
+    @TruffleBoundary
+    public static String formatDate(int year, int month, int day) {
+        StringBuilder sb = new StringBuilder(10);
+        appendDate(sb, year, month, day);
+        return sb.toString();
+    }
+
+    private static void appendDate(StringBuilder sb, int year, int month, int day) {
+        appendPadded(sb, year, 4);
+        sb.append('-');
+        appendPadded(sb, month, 2);
+        sb.append('-');
+        appendPadded(sb, day, 2);
+    }
+
+    private static void appendTime(StringBuilder sb, long packedTime, Timespec timespec) {
+        appendPadded(sb, unpackHour(packedTime), 2);
+        if (timespec == Timespec.HOURS) {
+            return;
+        }
+        sb.append(':');
+        appendPadded(sb, unpackMinute(packedTime), 2);
+        if (timespec == Timespec.MINUTES) {
+            return;
+        }
+        sb.append(':');
+        appendPadded(sb, unpackSecond(packedTime), 2);
+        int us = unpackMicrosecond(packedTime);
+        if (timespec == Timespec.MILLISECONDS) {
+            sb.append('.');
+            appendPadded(sb, us / 1000, 3);
+        } else if (timespec == Timespec.MICROSECONDS || (timespec == Timespec.AUTO && us != 0)) {
+            sb.append('.');
+            appendPadded(sb, us, 6);
+        }
+    }
+
+    /**
+     * Appends a UTC offset as {@code +HH:MM[:SS[.ffffff]]}.
+     */
+    private static void appendOffset(StringBuilder sb, PTimeDelta offset) {
+        long us;
+        if (offset.getDays() < 0) {
+            sb.append('-');
+            us = -(offset.getDays() * US_PER_DAY + offset.getSeconds() * (long) US_PER_SECOND + offset.getMicroseconds());
+        } else {
+            sb.append('+');
+            us = offset.getDays() * US_PER_DAY + offset.getSeconds() * (long) US_PER_SECOND + offset.getMicroseconds();
+        }
+        long seconds = us / US_PER_SECOND;
+        int microseconds = (int) (us % US_PER_SECOND);
+        appendPadded(sb, (int) (seconds / 3600), 2);
+        sb.append(':');
+        appendPadded(sb, (int) (seconds / 60 % 60), 2);
+        if (seconds % 60 != 0 || microseconds != 0) {
+            sb.append(':');
+            appendPadded(sb, (int) (seconds % 60), 2);
+            if (microseconds != 0) {
+                sb.append('.');
+                appendPadded(sb, microseconds, 6);
+            }
+        }
+    }
+
+    /**
+     * Formats a time as {@code time.isoformat} does, {@code offset} is {@code null} for naive
+     * times.
+     */
+    @TruffleBoundary
+    public static String formatTime(long packedTime, Timespec timespec, PTimeDelta offset) {
+        StringBuilder sb = new StringBuilder(21);
+        appendTime(sb, packedTime, timespec);
+        if (offset != null) {
+            appendOffset(sb, offset);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Formats a date and time as {@code datetime.isoformat} does, {@code offset} is {@code null}
+     * for naive datetimes.
+     */
+    @TruffleBoundary
+    public static String formatDateTime(int packedDate, long packedTime, int sep, Timespec timespec, PTimeDelta offset) {
+        StringBuilder sb = new StringBuilder(32);
+        appendDate(sb, PDate.unpackYear(packedDate), PDate.unpackMonth(packedDate), PDate.unpackDay(packedDate));
+        sb.appendCodePoint(sep);
+        appendTime(sb, packedTime, timespec);
+        if (offset != null) {
+            appendOffset(sb, offset);
+        }
+        return sb.toString();
+    }
+
+    @TruffleBoundary
+    public static String formatCTime(int year, int month, int day, long packedTime) {
+        StringBuilder sb = new StringBuilder(24);
+        sb.append(DAY_NAMES[weekday(ymdToOrd(year, month, day))]).append(' ');
+        sb.append(MONTH_NAMES[month]).append(' ');
+        if (day < 10) {
+            sb.append(' ');
+        }
+        sb.append(day).append(' ');
+        appendTime(sb, packedTime, Timespec.SECONDS);
+        sb.append(' ');
+        appendPadded(sb, year, 4);
+        return sb.toString();
+    }
+
+    /**
+     * Formats a timedelta as {@code str(timedelta)} does.
+     */
+    @TruffleBoundary
+    public static String formatTimeDelta(PTimeDelta delta) {
+        StringBuilder sb = new StringBuilder();
+        int days = delta.getDays();
+        if (days != 0) {
+            sb.append(days).append(" day");
+            if (days != 1 && days != -1) {
+                sb.append('s');
+            }
+            sb.append(", ");
+        }
+        int seconds = delta.getSeconds();
+        sb.append(seconds / 3600).append(':');
+        appendPadded(sb, seconds / 60 % 60, 2);
+        sb.append(':');
+        appendPadded(sb, seconds % 60, 2);
+        if (delta.getMicroseconds() != 0) {
+            sb.append('.');
+            appendPadded(sb, delta.getMicroseconds(), 6);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Formats a timedelta as {@code repr(timedelta)} does, e.g.
+     * {@code datetime.timedelta(days=1, seconds=5)}.
+     */
+    @TruffleBoundary
+    public static String formatTimeDeltaRepr(String typeName, PTimeDelta delta) {
+        StringBuilder sb = new StringBuilder(typeName).append('(');
+        String sep = "";
+        if (delta.getDays() != 0) {
+            sb.append("days=").append(delta.getDays());
+            sep = ", ";
+        }
+        if (delta.getSeconds() != 0) {
+            sb.append(sep).append("seconds=").append(delta.getSeconds());
+            sep = ", ";
+        }
+        if (delta.getMicroseconds() != 0) {
+            sb.append(sep).append("microseconds=").append(delta.getMicroseconds());
+        } else if (delta.isZero()) {
+            sb.append('0');
+        }
+        return sb.append(')').toString();
+    }
+
+    /**
+     * The name of a {@code timezone} without explicit name, e.g. {@code UTC+01:00}.
+     */
+    @TruffleBoundary
+    public static String formatTimeZoneName(PTimeDelta offset) {
+        if (offset.isZero()) {
+            return "UTC";
+        }
+        StringBuilder sb = new StringBuilder("UTC");
+        appendOffset(sb, offset);
+        return sb.toString();
+    }
+
+    // parsing
+
+    private static int parseDigits(String s, int start, int count) {
+        int result = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    /**
+     * Parses {@code YYYY-MM-DD} at the start of the string. Returns {@code null} if the format does
+     * not match, the field values are not range checked.
+     */
+    @TruffleBoundary
+    public static int[] parseIsoDate(String s) {
+        if (s.length() < 10 || s.charAt(4) != '-' || s.charAt(7) != '-') {
+            return null;
+        }
+        int year = parseDigits(s, 0, 4);
+        int month = parseDigits(s, 5, 2);
+        int day = parseDigits(s, 8, 2);
+        if (year < 0 || month < 0 || day < 0) {
+            return null;
+        }
+        return new int[]{year, month, day};
+    }
+
+    /**
+     * Parses {@code HH[:MM[:SS[.fff[fff]]]]} in {@code s[start:end]} into {@code fields[offset:offset+4]}.
+     */
+    private static boolean parseHourMinuteSecondFraction(String s, int start, int end, int[] fields, int offset) {
+        int pos = start;
+        for (int component = 0; component < 3; component++) {
+            if (end - pos < 2) {
+                return false;
+            }
+            int value = parseDigits(s, pos, 2);
+            if (value < 0) {
+                return false;
+            }
+            fields[offset + component] = value;
+            pos += 2;
+            if (pos >= end || component >= 2) {
+                break;
+            }
+            if (s.charAt(pos) != ':') {
+                return false;
+            }
+            pos++;
+        }
+        if (pos < end) {
+            if (s.charAt(pos) != '.') {
+                return false;
+            }
+            pos++;
+            int remaining = end - pos;
+            if (remaining != 3 && remaining != 6) {
+                return false;
+            }
+            int fraction = parseDigits(s, pos, remaining);
+            if (fraction < 0) {
+                return false;
+            }
+            fields[offset + 3] = remaining == 3 ? fraction * 1000 : fraction;
+        }
+        return true;
+    }
+
+    /**
+     * Parses {@code HH[:MM[:SS[.fff[fff]]]][+HH:MM[:SS[.ffffff]]]} in {@code s[start:]}. Returns
+     * {@code null} if the format does not match, otherwise hour, minute, second, microsecond, a
+     * flag whether an offset was present, the offset sign, and the offset hours, minutes, seconds
+     * and microseconds. The field values are not range checked.
+     */
+    @TruffleBoundary
+    public static int[] parseIsoTime(String s, int start) {
+        int len = s.length();
+        if (len - start < 2) {
+            return null;
+        }
+        int tzPos = start;
+        while (tzPos < len && s.charAt(tzPos) != '+' && s.charAt(tzPos) != '-') {
+            tzPos++;
+        }
+        int[] fields = new int[10];
+        if (!parseHourMinuteSecondFraction(s, start, tzPos, fields, 0)) {
+            return null;
+        }
+        if (tzPos < len) {
+            int tzLen = len - tzPos - 1;
+            if (tzLen != 5 && tzLen != 8 && tzLen != 15) {
+                return null;
+            }
+            if (!parseHourMinuteSecondFraction(s, tzPos + 1, len, fields, 6)) {
+                return null;
+            }
+            fields[4] = 1;
+            fields[5] = s.charAt(tzPos) == '-' ? -1 : 1;
+        }
+        return fields;
+    }
+
+    // conversions from and to POSIX timestamps
+
+    /**
+     * Converts seconds since the epoch to the date and time in the given zone. Returns year, month,
+     * day, hour, minute, second and fold. The year is not range checked.
+     */
+    @TruffleBoundary
+    public static int[] fromEpochSecond(long epochSecond, ZoneId zone) {
+        ZoneRules rules = zone.getRules();
+        ZoneOffset offset = rules.getOffset(Instant.ofEpochSecond(epochSecond));
+        LocalDateTime local = LocalDateTime.ofEpochSecond(epochSecond, 0, offset);
+        int fold = 0;
+        ZoneOffsetTransition transition = rules.getTransition(local);
+        if (transition != null && transition.isOverlap() && offset.equals(transition.getOffsetAfter())) {
+            // the second occurrence of an ambiguous local time
+            fold = 1;
+        }
+        return new int[]{local.getYear(), local.getMonthValue(), local.getDayOfMonth(), local.getHour(), local.getMinute(), local.getSecond(), fold};
+    }
+
+    /**
+     * Converts a naive local date and time to seconds since the epoch. Like in CPython, the fold
+     * selects the offset before (0) or after (1) a transition, both for ambiguous and for missing
+     * local times.
+     */
+    @TruffleBoundary
+    public static long toEpochSecond(int year, int month, int day, long packedTime, ZoneId zone) {
+        LocalDateTime local = LocalDateTime.of(year, month, day, unpackHour(packedTime), unpackMinute(packedTime), unpackSecond(packedTime));
+        ZoneRules rules = zone.getRules();
+        ZoneOffsetTransition transition = rules.getTransition(local);
+        ZoneOffset offset;
+        if (transition != null) {
+            offset = unpackFold(packedTime) == 0 ? transition.getOffsetBefore() : transition.getOffsetAfter();
+        } else {
+            offset = rules.getOffset(local);
+        }
+        return local.toEpochSecond(offset);
+    }
+
+    /**
+     * The current time in microseconds since the epoch.
+     */
+    @TruffleBoundary
+    public static long currentTimeMicroseconds() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * US_PER_SECOND + now.getNano() / 1000;
+    }
+
+    /**
+     * Returns the UTC offset in seconds of the given zone at the given instant.
+     */
+    @TruffleBoundary
+    public static int getOffsetSeconds(long epochSecond, ZoneId zone) {
+        return zone.getRules().getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+    }
+
+    /**
+     * Returns the abbreviated name of the given zone at the given instant, e.g. {@code CEST}.
+     */
+    @TruffleBoundary
+    public static String getZoneName(long epochSecond, ZoneId zone) {
+        boolean isDaylightSavings = zone.getRules().isDaylightSavings(Instant.ofEpochSecond(epochSecond));
+        return TimeZone.getTimeZone(zone).getDisplayName(isDaylightSavings, TimeZone.SHORT);
+    }
+}
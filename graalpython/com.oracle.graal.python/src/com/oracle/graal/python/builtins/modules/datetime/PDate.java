@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.datetime;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * A {@code datetime.date}. Year, month and day are packed into a single int such that comparing
+ * the packed values compares the dates.
+ */
+public class PDate extends PythonBuiltinObject {
+    private static final int MONTH_SHIFT = 5;
+    private static final int YEAR_SHIFT = 9;
+    private static final int DAY_MASK = 0x1F;
+    private static final int MONTH_MASK = 0xF;
+
+    private final int packedDate;
+
+    public PDate(Object cls, Shape instanceShape, int year, int month, int day) {
+        super(cls, instanceShape);
+        this.packedDate = packDate(year, month, day);
+    }
+
+    public static int packDate(int year, int month, int day) {
+        assert DatetimeUtils.MINYEAR <= year && year <= DatetimeUtils.MAXYEAR;
+        assert 1 <= month && month <= 12 && 1 <= day && day <= 31;
+        return (year << YEAR_SHIFT) | (month << MONTH_SHIFT) | day;
+    }
+
+    public static int unpackYear(int packedDate) {
+        return packedDate >>> YEAR_SHIFT;
+    }
+
+    public static int unpackMonth(int packedDate) {
+        return (packedDate >>> MONTH_SHIFT) & MONTH_MASK;
+    }
+
+    public static int unpackDay(int packedDate) {
+        return packedDate & DAY_MASK;
+    }
+
+    public final int getPackedDate() {
+        return packedDate;
+    }
+
+    public final int getYear() {
+        return unpackYear(packedDate);
+    }
+
+    public final int getMonth() {
+        return unpackMonth(packedDate);
+    }
+
+    public final int getDay() {
+        return unpackDay(packedDate);
+    }
+
+    public final int toOrdinal() {
+        return DatetimeUtils.ymdToOrd(getYear(), getMonth(), getDay());
+    }
+}
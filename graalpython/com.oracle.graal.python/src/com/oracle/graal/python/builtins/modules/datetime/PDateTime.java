@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.datetime;
+
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * A {@code datetime.datetime}, which is a {@link PDate} with the packed time fields of a
+ * {@link PTime}.
+ */
+public final class PDateTime extends PDate {
+    private final long packedTime;
+    private final Object tzinfo;
+
+    public PDateTime(Object cls, Shape instanceShape, int year, int month, int day, long packedTime, Object tzinfo) {
+        super(cls, instanceShape, year, month, day);
+        assert tzinfo != null;
+        this.packedTime = packedTime;
+        this.tzinfo = tzinfo;
+    }
+
+    public long getPackedTime() {
+        return packedTime;
+    }
+
+    public int getHour() {
+        return DatetimeUtils.unpackHour(packedTime);
+    }
+
+    public int getMinute() {
+        return DatetimeUtils.unpackMinute(packedTime);
+    }
+
+    public int getSecond() {
+        return DatetimeUtils.unpackSecond(packedTime);
+    }
+
+    public int getMicrosecond() {
+        return DatetimeUtils.unpackMicrosecond(packedTime);
+    }
+
+    public int getFold() {
+        return DatetimeUtils.unpackFold(packedTime);
+    }
+
+    public Object getTzInfo() {
+        return tzinfo;
+    }
+
+    public boolean hasTzInfo() {
+        return tzinfo != PNone.NONE;
+    }
+
+    /**
+     * Microseconds since 0001-01-01T00:00 of the naive local date and time.
+     */
+    public long toLocalMicroseconds() {
+        return (toOrdinal() - 1L) * DatetimeUtils.US_PER_DAY + DatetimeUtils.timeOfDayMicroseconds(packedTime);
+    }
+}
@@ -0,0 +1,522 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.datetime;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___FORMAT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___HASH__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___LE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___LT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___NE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REDUCE_EX__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___STR__;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.Python3Core;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.datetime.DatetimeNodes.CallTzNameNode;
+import com.oracle.graal.python.builtins.modules.datetime.DatetimeNodes.CallTzOffsetNode;
+import com.oracle.graal.python.builtins.modules.datetime.DatetimeNodes.CheckTzInfoNode;
+import com.oracle.graal.python.builtins.modules.datetime.DatetimeNodes.NewTimeDeltaNode;
+import com.oracle.graal.python.builtins.modules.datetime.DatetimeNodes.NewTimeZoneNode;
+import com.oracle.graal.python.builtins.modules.datetime.DatetimeUtils.Timespec;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.type.PythonBuiltinClass;
+import com.oracle.graal.python.lib.PyLongAsIntNode;
+import com.oracle.graal.python.lib.PyObjectReprAsTruffleStringNode;
+import com.oracle.graal.python.lib.PyUnicodeCheckNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Builtins of {@code datetime.time}. The {@code tzinfo} methods of aware times are called with
+ * {@code None} as the argument, like in CPython.
+ */
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PTime)
+public final class TimeBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return TimeBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(Python3Core core) {
+        super.initialize(core);
+        PythonObjectFactory factory = core.factory();
+        PythonBuiltinClass type = core.lookupType(PythonBuiltinClassType.PTime);
+        type.setAttribute(DatetimeNodes.T_MIN, factory.createTime(PythonBuiltinClassType.PTime, DatetimeUtils.packTime(0, 0, 0, 0, 0), PNone.NONE));
+        type.setAttribute(DatetimeNodes.T_MAX, factory.createTime(PythonBuiltinClassType.PTime, DatetimeUtils.packTime(23, 59, 59, 999999, 0), PNone.NONE));
+        type.setAttribute(DatetimeNodes.T_RESOLUTION, factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, 0, 0, 1));
+    }
+
+    @Builtin(name = "hour", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class HourNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int hour(PTime self) {
+            return self.getHour();
+        }
+    }
+
+    @Builtin(name = "minute", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class MinuteNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int minute(PTime self) {
+            return self.getMinute();
+        }
+    }
+
+    @Builtin(name = "second", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class SecondNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int second(PTime self) {
+            return self.getSecond();
+        }
+    }
+
+    @Builtin(name = "microsecond", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class MicrosecondNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int microsecond(PTime self) {
+            return self.getMicrosecond();
+        }
+    }
+
+    @Builtin(name = "fold", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class FoldNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int fold(PTime self) {
+            return self.getFold();
+        }
+    }
+
+    @Builtin(name = "tzinfo", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class TzInfoNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object tzinfo(PTime self) {
+            return self.getTzInfo();
+        }
+    }
+
+    /**
+     * Parses the {@code timespec} argument of the {@code isoformat} methods.
+     */
+    static Timespec getTimespec(PNodeWithRaise node, Object timespecObj, int argIndex, PyUnicodeCheckNode unicodeCheckNode, CastToTruffleStringNode castToStringNode) {
+        if (timespecObj == PNone.NO_VALUE) {
+            return Timespec.AUTO;
+        }
+        if (!unicodeCheckNode.execute(timespecObj)) {
+            throw node.raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "isoformat()", argIndex, "str", timespecObj);
+        }
+        Timespec timespec = Timespec.fromName(castToStringNode.execute(timespecObj).toJavaStringUncached());
+        if (timespec == null) {
+            throw node.raise(ValueError, ErrorMessages.UNKNOWN_TIMESPEC_VALUE);
+        }
+        return timespec;
+    }
+
+    @Builtin(name = "isoformat", minNumOfPositionalArgs = 1, parameterNames = {"self", "timespec"}, //
+                    doc = "Return string in ISO 8601 format, [HH[:MM[:SS[.mmm[uuu]]]]][+HH:MM].\n\ntimespec specifies what components of the time to include.\n")
+    @GenerateNodeFactory
+    abstract static class IsoFormatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        TruffleString isoformat(VirtualFrame frame, PTime self, Object timespecObj,
+                        @Cached PyUnicodeCheckNode unicodeCheckNode,
+                        @Cached CastToTruffleStringNode castToStringNode,
+                        @Cached("createUtcOffset()") CallTzOffsetNode utcOffsetNode) {
+            Timespec timespec = getTimespec(this, timespecObj, 1, unicodeCheckNode, castToStringNode);
+            Object offset = utcOffsetNode.execute(frame, self.getTzInfo(), PNone.NONE);
+            return toTruffleStringUncached(DatetimeUtils.formatTime(self.getPackedTime(), timespec, offset == PNone.NONE ? null : (PTimeDelta) offset));
+        }
+    }
+
+    @Builtin(name = J___STR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class StrNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString str(VirtualFrame frame, PTime self,
+                        @Cached("createUtcOffset()") CallTzOffsetNode utcOffsetNode) {
+            Object offset = utcOffsetNode.execute(frame, self.getTzInfo(), PNone.NONE);
+            return toTruffleStringUncached(DatetimeUtils.formatTime(self.getPackedTime(), Timespec.AUTO, offset == PNone.NONE ? null : (PTimeDelta) offset));
+        }
+    }
+
+    @Builtin(name = J___REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString repr(VirtualFrame frame, PTime self,
+                        @Cached GetClassNode getClassNode,
+                        @Cached PyObjectReprAsTruffleStringNode reprNode) {
+            TruffleString tzinfoRepr = self.hasTzInfo() ? reprNode.execute(frame, self.getTzInfo()) : null;
+            return formatRepr(DatetimeNodes.getTpName(getClassNode.execute(self)), self.getPackedTime(), tzinfoRepr);
+        }
+
+        @TruffleBoundary
+        private static TruffleString formatRepr(TruffleString typeName, long packedTime, TruffleString tzinfoRepr) {
+            StringBuilder sb = new StringBuilder(typeName.toJavaStringUncached()).append('(');
+            appendTimeRepr(sb, packedTime);
+            appendTzInfoAndFold(sb, packedTime, tzinfoRepr);
+            return toTruffleStringUncached(sb.append(')').toString());
+        }
+    }
+
+    /**
+     * Appends the hour and minute, and the second and microsecond if they are non-zero.
+     */
+    static void appendTimeRepr(StringBuilder sb, long packedTime) {
+        sb.append(DatetimeUtils.unpackHour(packedTime)).append(", ").append(DatetimeUtils.unpackMinute(packedTime));
+        int second = DatetimeUtils.unpackSecond(packedTime);
+        int microsecond = DatetimeUtils.unpackMicrosecond(packedTime);
+        if (second != 0 || microsecond != 0) {
+            sb.append(", ").append(second);
+        }
+        if (microsecond != 0) {
+            sb.append(", ").append(microsecond);
+        }
+    }
+
+    static void appendTzInfoAndFold(StringBuilder sb, long packedTime, TruffleString tzinfoRepr) {
+        if (tzinfoRepr != null) {
+            sb.append(", tzinfo=").append(tzinfoRepr.toJavaStringUncached());
+        }
+        if (DatetimeUtils.unpackFold(packedTime) != 0) {
+            sb.append(", fold=1");
+        }
+    }
+
+    @Builtin(name = "fromisoformat", minNumOfPositionalArgs = 2, isClassmethod = true, parameterNames = {"cls", "time_string"}, //
+                    doc = "string -> time from time.isoformat() output")
+    @GenerateNodeFactory
+    abstract static class FromIsoFormatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object fromisoformat(VirtualFrame frame, Object cls, Object timeString,
+                        @Cached PyUnicodeCheckNode unicodeCheckNode,
+                        @Cached CastToTruffleStringNode castToStringNode,
+                        @Cached TruffleString.ToJavaStringNode toJavaStringNode,
+                        @Cached NewTimeDeltaNode newTimeDeltaNode,
+                        @Cached NewTimeZoneNode newTimeZoneNode,
+                        @Cached IsBuiltinClassProfile isBuiltinTime,
+                        @Cached CallNode callNode) {
+            if (!unicodeCheckNode.execute(timeString)) {
+                throw raise(TypeError, ErrorMessages.FROMISOFORMAT_ARGUMENT_MUST_BE_STR);
+            }
+            String s = toJavaStringNode.execute(castToStringNode.execute(timeString));
+            int[] fields = DatetimeUtils.parseIsoTime(s, 0);
+            if (fields == null) {
+                throw raise(ValueError, ErrorMessages.INVALID_ISOFORMAT_STRING, DateBuiltins.reprString(s));
+            }
+            DatetimeNodes.checkTimeFields(this, fields[0], fields[1], fields[2], fields[3], 0);
+            Object tzinfo = parsedTzInfo(fields, 4, newTimeDeltaNode, newTimeZoneNode);
+            if (isBuiltinTime.profileClass(cls, PythonBuiltinClassType.PTime)) {
+                return factory().createTime(cls, DatetimeUtils.packTime(fields[0], fields[1], fields[2], fields[3], 0), tzinfo);
+            }
+            return callNode.execute(frame, cls, fields[0], fields[1], fields[2], fields[3], tzinfo);
+        }
+    }
+
+    /**
+     * Creates the {@code tzinfo} from the offset fields of
+     * {@link DatetimeUtils#parseIsoTime(String, int)} starting at {@code start}.
+     */
+    static Object parsedTzInfo(int[] fields, int start, NewTimeDeltaNode newTimeDeltaNode, NewTimeZoneNode newTimeZoneNode) {
+        if (fields[start] == 0) {
+            return PNone.NONE;
+        }
+        int sign = fields[start + 1];
+        long seconds = fields[start + 2] * 3600L + fields[start + 3] * 60L + fields[start + 4];
+        PTimeDelta offset = newTimeDeltaNode.execute(0, sign * seconds, sign * (long) fields[start + 5]);
+        return newTimeZoneNode.execute(offset, null);
+    }
+
+    @Builtin(name = "utcoffset", minNumOfPositionalArgs = 1, doc = "Return self.tzinfo.utcoffset(self).")
+    @GenerateNodeFactory
+    abstract static class UtcOffsetNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object utcoffset(VirtualFrame frame, PTime self,
+                        @Cached("createUtcOffset()") CallTzOffsetNode utcOffsetNode) {
+            return utcOffsetNode.execute(frame, self.getTzInfo(), PNone.NONE);
+        }
+    }
+
+    @Builtin(name = "dst", minNumOfPositionalArgs = 1, doc = "Return self.tzinfo.dst(self).")
+    @GenerateNodeFactory
+    abstract static class DstNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object dst(VirtualFrame frame, PTime self,
+                        @Cached("createDst()") CallTzOffsetNode dstNode) {
+            return dstNode.execute(frame, self.getTzInfo(), PNone.NONE);
+        }
+    }
+
+    @Builtin(name = "tzname", minNumOfPositionalArgs = 1, doc = "Return self.tzinfo.tzname(self).")
+    @GenerateNodeFactory
+    abstract static class TzNameNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object tzname(VirtualFrame frame, PTime self,
+                        @Cached CallTzNameNode tzNameNode) {
+            return tzNameNode.execute(frame, self.getTzInfo(), PNone.NONE);
+        }
+    }
+
+    @Builtin(name = "replace", minNumOfPositionalArgs = 1, parameterNames = {"self", "hour", "minute", "second", "microsecond", "tzinfo"}, keywordOnlyNames = {"fold"}, //
+                    doc = "Return time with new specified fields.")
+    @GenerateNodeFactory
+    abstract static class ReplaceNode extends PythonBuiltinNode {
+        @Specialization
+        Object replace(VirtualFrame frame, PTime self, Object hourObj, Object minuteObj, Object secondObj, Object microsecondObj, Object tzinfoObj, Object foldObj,
+                        @Cached PyLongAsIntNode asIntNode,
+                        @Cached CheckTzInfoNode checkTzInfoNode,
+                        @Cached GetClassNode getClassNode) {
+            int hour = hourObj == PNone.NO_VALUE ? self.getHour() : asIntNode.execute(frame, hourObj);
+            int minute = minuteObj == PNone.NO_VALUE ? self.getMinute() : asIntNode.execute(frame, minuteObj);
+            int second = secondObj == PNone.NO_VALUE ? self.getSecond() : asIntNode.execute(frame, secondObj);
+            int microsecond = microsecondObj == PNone.NO_VALUE ? self.getMicrosecond() : asIntNode.execute(frame, microsecondObj);
+            int fold = foldObj == PNone.NO_VALUE ? self.getFold() : asIntNode.execute(frame, foldObj);
+            DatetimeNodes.checkTimeFields(this, hour, minute, second, microsecond, fold);
+            Object tzinfo = tzinfoObj == PNone.NO_VALUE ? self.getTzInfo() : checkTzInfoNode.execute(tzinfoObj);
+            return factory().createTime(getClassNode.execute(self), DatetimeUtils.packTime(hour, minute, second, microsecond, fold), tzinfo);
+        }
+    }
+
+    @Builtin(name = J___HASH__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HashNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long hash(VirtualFrame frame, PTime self,
+                        @Cached("createUtcOffset()") CallTzOffsetNode utcOffsetNode) {
+            Object offset = utcOffsetNode.execute(frame, self.getTzInfo(), PNone.NONE);
+            if (offset == PNone.NONE) {
+                return DatetimeUtils.withoutFold(self.getPackedTime());
+            }
+            long h = DatetimeUtils.timeOfDayMicroseconds(self.getPackedTime()) - DatetimeNodes.offsetMicroseconds((PTimeDelta) offset);
+            return h == -1 ? -2 : h;
+        }
+    }
+
+    abstract static class TimeCompareNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "self.getTzInfo() == other.getTzInfo()")
+        boolean doSameTzInfo(PTime self, PTime other) {
+            return compare(Long.compare(DatetimeUtils.withoutFold(self.getPackedTime()), DatetimeUtils.withoutFold(other.getPackedTime())));
+        }
+
+        @Specialization(replaces = "doSameTzInfo")
+        boolean doTime(VirtualFrame frame, PTime self, PTime other,
+                        @Cached("createUtcOffset()") CallTzOffsetNode utcOffsetNode) {
+            if (self.getTzInfo() == other.getTzInfo()) {
+                return doSameTzInfo(self, other);
+            }
+            Object offset1 = utcOffsetNode.execute(frame, self.getTzInfo(), PNone.NONE);
+            Object offset2 = utcOffsetNode.execute(frame, other.getTzInfo(), PNone.NONE);
+            if (offset1 == offset2 || (offset1 instanceof PTimeDelta && offset2 instanceof PTimeDelta && ((PTimeDelta) offset1).compareTo((PTimeDelta) offset2) == 0)) {
+                return doSameTzInfo(self, other);
+            } else if (offset1 != PNone.NONE && offset2 != PNone.NONE) {
+                long t1 = DatetimeUtils.timeOfDayMicroseconds(self.getPackedTime()) - DatetimeNodes.offsetMicroseconds((PTimeDelta) offset1);
+                long t2 = DatetimeUtils.timeOfDayMicroseconds(other.getPackedTime()) - DatetimeNodes.offsetMicroseconds((PTimeDelta) offset2);
+                return compare(Long.compare(t1, t2));
+            } else if (isEquality()) {
+                return compare(1);
+            }
+            throw raise(TypeError, ErrorMessages.CANT_COMPARE_NAIVE_AND_AWARE_S, "times");
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object doOther(Object self, Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+
+        @SuppressWarnings("unused")
+        boolean compare(int result) {
+            throw CompilerDirectives.shouldNotReachHere();
+        }
+
+        boolean isEquality() {
+            return false;
+        }
+    }
+
+    @Builtin(name = J___EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class EqNode extends TimeCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result == 0;
+        }
+
+        @Override
+        boolean isEquality() {
+            return true;
+        }
+    }
+
+    @Builtin(name = J___NE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NeNode extends TimeCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result != 0;
+        }
+
+        @Override
+        boolean isEquality() {
+            return true;
+        }
+    }
+
+    @Builtin(name = J___LT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LtNode extends TimeCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result < 0;
+        }
+    }
+
+    @Builtin(name = J___LE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LeNode extends TimeCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result <= 0;
+        }
+    }
+
+    @Builtin(name = J___GT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GtNode extends TimeCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result > 0;
+        }
+    }
+
+    @Builtin(name = J___GE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GeNode extends TimeCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result >= 0;
+        }
+    }
+
+    @Builtin(name = J___FORMAT__, minNumOfPositionalArgs = 2, parameterNames = {"self", "format"})
+    @GenerateNodeFactory
+    abstract static class FormatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object format(VirtualFrame frame, PTime self, Object format,
+                        @Cached DatetimeNodes.FormatNode formatNode) {
+            return formatNode.execute(frame, self, format);
+        }
+    }
+
+    /**
+     * The pickle state of a time, the fold is stored in the hour byte for protocols above 3.
+     */
+    static Object reduce(PythonObjectFactory factory, PTime self, int protocol, Object cls) {
+        int microsecond = self.getMicrosecond();
+        int hour = self.getHour();
+        if (protocol > 3 && self.getFold() != 0) {
+            hour |= 0x80;
+        }
+        byte[] state = {(byte) hour, (byte) self.getMinute(), (byte) self.getSecond(), (byte) (microsecond >> 16), (byte) (microsecond >> 8), (byte) microsecond};
+        Object bytes = factory.createBytes(state);
+        Object args = factory.createTuple(self.hasTzInfo() ? new Object[]{bytes, self.getTzInfo()} : new Object[]{bytes});
+        return factory.createTuple(new Object[]{cls, args});
+    }
+
+    @Builtin(name = J___REDUCE_EX__, minNumOfPositionalArgs = 2, parameterNames = {"self", "protocol"})
+    @GenerateNodeFactory
+    abstract static class ReduceExNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object reduceEx(VirtualFrame frame, PTime self, Object protocol,
+                        @Cached PyLongAsIntNode asIntNode,
+                        @Cached GetClassNode getClassNode) {
+            return reduce(factory(), self, asIntNode.execute(frame, protocol), getClassNode.execute(self));
+        }
+    }
+
+    @Builtin(name = J___REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object reduce(PTime self,
+                        @Cached GetClassNode getClassNode) {
+            return TimeBuiltins.reduce(factory(), self, 2, getClassNode.execute(self));
+        }
+    }
+}
@@ -0,0 +1,595 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.datetime;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.OverflowError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ZeroDivisionError;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ABS__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___BOOL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___DIVMOD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___FLOORDIV__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___HASH__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___LE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___LT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___MOD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___MUL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___NEG__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___NE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___POS__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RMUL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RSUB__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___STR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___SUB__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___TRUEDIV__;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.Python3Core;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.datetime.DatetimeNodes.NewTimeDeltaNode;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.type.PythonBuiltinClass;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.OverflowException;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.dsl.TypeSystemReference;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Builtins of {@code datetime.timedelta}. Arithmetic is done on the total number of microseconds
+ * in a long, which covers deltas of up to about 290000 years; larger deltas fall back to
+ * {@link BigInteger}.
+ */
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PTimeDelta)
+public final class TimeDeltaBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return TimeDeltaBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(Python3Core core) {
+        super.initialize(core);
+        PythonObjectFactory factory = core.factory();
+        PythonBuiltinClass type = core.lookupType(PythonBuiltinClassType.PTimeDelta);
+        type.setAttribute(DatetimeNodes.T_MIN, factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, -PTimeDelta.MAX_DAYS, 0, 0));
+        type.setAttribute(DatetimeNodes.T_MAX, factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, PTimeDelta.MAX_DAYS, DatetimeUtils.SECONDS_PER_DAY - 1, DatetimeUtils.US_PER_SECOND - 1));
+        type.setAttribute(DatetimeNodes.T_RESOLUTION, factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, 0, 0, 1));
+    }
+
+    @Builtin(name = "days", minNumOfPositionalArgs = 1, isGetter = true, doc = "Number of days.")
+    @GenerateNodeFactory
+    abstract static class DaysNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int days(PTimeDelta self) {
+            return self.getDays();
+        }
+    }
+
+    @Builtin(name = "seconds", minNumOfPositionalArgs = 1, isGetter = true, doc = "Number of seconds (>= 0 and less than 1 day).")
+    @GenerateNodeFactory
+    abstract static class SecondsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int seconds(PTimeDelta self) {
+            return self.getSeconds();
+        }
+    }
+
+    @Builtin(name = "microseconds", minNumOfPositionalArgs = 1, isGetter = true, doc = "Number of microseconds (>= 0 and less than 1 second).")
+    @GenerateNodeFactory
+    abstract static class MicrosecondsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int microseconds(PTimeDelta self) {
+            return self.getMicroseconds();
+        }
+    }
+
+    @Builtin(name = "total_seconds", minNumOfPositionalArgs = 1, doc = "Total seconds in the duration.")
+    @GenerateNodeFactory
+    abstract static class TotalSecondsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static double totalSeconds(PTimeDelta self) {
+            try {
+                return DatetimeUtils.trueDivide(self.toMicroseconds(), DatetimeUtils.US_PER_SECOND);
+            } catch (OverflowException e) {
+                return DatetimeUtils.trueDivide(self.toMicrosecondsBig(), BigInteger.valueOf(DatetimeUtils.US_PER_SECOND));
+            }
+        }
+    }
+
+    @Builtin(name = J___REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString repr(PTimeDelta self,
+                        @Cached GetClassNode getClassNode) {
+            return formatRepr(DatetimeNodes.getTpName(getClassNode.execute(self)), self);
+        }
+
+        @TruffleBoundary
+        private static TruffleString formatRepr(TruffleString typeName, PTimeDelta self) {
+            return toTruffleStringUncached(DatetimeUtils.formatTimeDeltaRepr(typeName.toJavaStringUncached(), self));
+        }
+    }
+
+    @Builtin(name = J___STR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class StrNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString str(PTimeDelta self) {
+            return toTruffleStringUncached(DatetimeUtils.formatTimeDelta(self));
+        }
+    }
+
+    @Builtin(name = J___HASH__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HashNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long hash(PTimeDelta self) {
+            // wraps around for huge deltas, equal deltas still hash equally
+            long h = self.getDays() * DatetimeUtils.US_PER_DAY + self.getSeconds() * (long) DatetimeUtils.US_PER_SECOND + self.getMicroseconds();
+            return h == -1 ? -2 : h;
+        }
+    }
+
+    @Builtin(name = J___BOOL__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class BoolNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean bool(PTimeDelta self) {
+            return !self.isZero();
+        }
+    }
+
+    abstract static class TimeDeltaCompareNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        boolean doTimeDelta(PTimeDelta self, PTimeDelta other) {
+            return compare(self.compareTo(other));
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object doOther(Object self, Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+
+        @SuppressWarnings("unused")
+        boolean compare(int result) {
+            throw CompilerDirectives.shouldNotReachHere();
+        }
+    }
+
+    @Builtin(name = J___EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class EqNode extends TimeDeltaCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result == 0;
+        }
+    }
+
+    @Builtin(name = J___NE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NeNode extends TimeDeltaCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result != 0;
+        }
+    }
+
+    @Builtin(name = J___LT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LtNode extends TimeDeltaCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result < 0;
+        }
+    }
+
+    @Builtin(name = J___LE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LeNode extends TimeDeltaCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result <= 0;
+        }
+    }
+
+    @Builtin(name = J___GT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GtNode extends TimeDeltaCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result > 0;
+        }
+    }
+
+    @Builtin(name = J___GE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GeNode extends TimeDeltaCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result >= 0;
+        }
+    }
+
+    @Builtin(name = J___NEG__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class NegNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PTimeDelta neg(PTimeDelta self,
+                        @Cached NewTimeDeltaNode newTimeDeltaNode) {
+            return newTimeDeltaNode.execute(-(long) self.getDays(), -self.getSeconds(), -self.getMicroseconds());
+        }
+    }
+
+    @Builtin(name = J___POS__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class PosNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PTimeDelta pos(PTimeDelta self) {
+            return factory().createTimeDelta(PythonBuiltinClassType.PTimeDelta, self.getDays(), self.getSeconds(), self.getMicroseconds());
+        }
+    }
+
+    @Builtin(name = J___ABS__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class AbsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PTimeDelta abs(PTimeDelta self,
+                        @Cached NewTimeDeltaNode newTimeDeltaNode) {
+            if (self.getDays() < 0) {
+                return newTimeDeltaNode.execute(-(long) self.getDays(), -self.getSeconds(), -self.getMicroseconds());
+            }
+            return factory().createTimeDelta(PythonBuiltinClassType.PTimeDelta, self.getDays(), self.getSeconds(), self.getMicroseconds());
+        }
+    }
+
+    @Builtin(name = J___ADD__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RADD__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class AddNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PTimeDelta add(PTimeDelta left, PTimeDelta right,
+                        @Cached NewTimeDeltaNode newTimeDeltaNode) {
+            return newTimeDeltaNode.execute((long) left.getDays() + right.getDays(), left.getSeconds() + right.getSeconds(), left.getMicroseconds() + right.getMicroseconds());
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object doOther(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = J___SUB__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RSUB__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class SubNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PTimeDelta sub(PTimeDelta left, PTimeDelta right,
+                        @Cached NewTimeDeltaNode newTimeDeltaNode) {
+            return newTimeDeltaNode.execute((long) left.getDays() - right.getDays(), left.getSeconds() - right.getSeconds(), left.getMicroseconds() - right.getMicroseconds());
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object doOther(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    static void checkFinite(PRaiseNode raiseNode, double value) {
+        if (Double.isNaN(value)) {
+            throw raiseNode.raise(ValueError, ErrorMessages.CANNOT_CONVERT_S_TO_INT_RATIO, "NaN");
+        } else if (Double.isInfinite(value)) {
+            throw raiseNode.raise(OverflowError, ErrorMessages.CANNOT_CONVERT_S_TO_INT_RATIO, "Infinity");
+        }
+    }
+
+    @Builtin(name = J___MUL__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RMUL__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    @GenerateNodeFactory
+    abstract static class MulNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PTimeDelta doLong(PTimeDelta left, long right,
+                        @Shared("newTimeDelta") @Cached NewTimeDeltaNode newTimeDeltaNode) {
+            try {
+                return newTimeDeltaNode.fromMicroseconds(PythonUtils.multiplyExact(left.toMicroseconds(), right));
+            } catch (OverflowException e) {
+                return newTimeDeltaNode.fromMicroseconds(PythonBuiltinClassType.PTimeDelta, multiply(left.toMicrosecondsBig(), BigInteger.valueOf(right)));
+            }
+        }
+
+        @Specialization
+        static PTimeDelta doLongReverse(long left, PTimeDelta right,
+                        @Shared("newTimeDelta") @Cached NewTimeDeltaNode newTimeDeltaNode) {
+            return doLong(right, left, newTimeDeltaNode);
+        }
+
+        @Specialization
+        static PTimeDelta doPInt(PTimeDelta left, PInt right,
+                        @Shared("newTimeDelta") @Cached NewTimeDeltaNode newTimeDeltaNode) {
+            return newTimeDeltaNode.fromMicroseconds(PythonBuiltinClassType.PTimeDelta, multiply(left.toMicrosecondsBig(), right.getValue()));
+        }
+
+        @Specialization
+        static PTimeDelta doPIntReverse(PInt left, PTimeDelta right,
+                        @Shared("newTimeDelta") @Cached NewTimeDeltaNode newTimeDeltaNode) {
+            return doPInt(right, left, newTimeDeltaNode);
+        }
+
+        @Specialization
+        PTimeDelta doDouble(PTimeDelta left, double right,
+                        @Shared("newTimeDelta") @Cached NewTimeDeltaNode newTimeDeltaNode) {
+            checkFinite(getRaiseNode(), right);
+            return newTimeDeltaNode.fromMicroseconds(PythonBuiltinClassType.PTimeDelta, DatetimeUtils.multiplyNearest(left.toMicrosecondsBig(), right));
+        }
+
+        @Specialization
+        PTimeDelta doDoubleReverse(double left, PTimeDelta right,
+                        @Shared("newTimeDelta") @Cached NewTimeDeltaNode newTimeDeltaNode) {
+            return doDouble(right, left, newTimeDeltaNode);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object doOther(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+
+        @TruffleBoundary
+        private static BigInteger multiply(BigInteger a, BigInteger b) {
+            return a.multiply(b);
+        }
+    }
+
+    @Builtin(name = J___TRUEDIV__, minNumOfPositionalArgs = 2)
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    @GenerateNodeFactory
+    abstract static class TrueDivNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        double doTimeDelta(PTimeDelta left, PTimeDelta right) {
+            if (right.isZero()) {
+                throw raise(ZeroDivisionError, ErrorMessages.DIVISION_BY_ZERO);
+            }
+            try {
+                return DatetimeUtils.trueDivide(left.toMicroseconds(), right.toMicroseconds());
+            } catch (OverflowException e) {
+                return DatetimeUtils.trueDivide(left.toMicrosecondsBig(), right.toMicrosecondsBig());
+            }
+        }
+
+        @Specialization
+        PTimeDelta doLong(PTimeDelta left, long right,
+                        @Shared("newTimeDelta") @Cached NewTimeDeltaNode newTimeDeltaNode) {
+            if (right == 0) {
+                throw raise(ZeroDivisionError, ErrorMessages.DIVISION_BY_ZERO);
+            }
+            try {
+                return newTimeDeltaNode.fromMicroseconds(DatetimeUtils.divideNearest(left.toMicroseconds(), right));
+            } catch (OverflowException e) {
+                return newTimeDeltaNode.fromMicroseconds(PythonBuiltinClassType.PTimeDelta, DatetimeUtils.divideNearest(left.toMicrosecondsBig(), BigInteger.valueOf(right)));
+            }
+        }
+
+        @Specialization
+        PTimeDelta doPInt(PTimeDelta left, PInt right,
+                        @Shared("newTimeDelta") @Cached NewTimeDeltaNode newTimeDeltaNode) {
+            if (right.isZero()) {
+                throw raise(ZeroDivisionError, ErrorMessages.DIVISION_BY_ZERO);
+            }
+            return newTimeDeltaNode.fromMicroseconds(PythonBuiltinClassType.PTimeDelta, DatetimeUtils.divideNearest(left.toMicrosecondsBig(), right.getValue()));
+        }
+
+        @Specialization
+        PTimeDelta doDouble(PTimeDelta left, double right,
+                        @Shared("newTimeDelta") @Cached NewTimeDeltaNode newTimeDeltaNode) {
+            checkFinite(getRaiseNode(), right);
+            if (right == 0.0) {
+                throw raise(ZeroDivisionError, ErrorMessages.DIVISION_BY_ZERO);
+            }
+            return newTimeDeltaNode.fromMicroseconds(PythonBuiltinClassType.PTimeDelta, DatetimeUtils.divideNearest(left.toMicrosecondsBig(), right));
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object doOther(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = J___FLOORDIV__, minNumOfPositionalArgs = 2)
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    @GenerateNodeFactory
+    abstract static class FloorDivNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object doTimeDelta(PTimeDelta left, PTimeDelta right) {
+            if (right.isZero()) {
+                throw raise(ZeroDivisionError, ErrorMessages.S_DIVISION_OR_MODULO_BY_ZERO, "integer");
+            }
+            try {
+                return Math.floorDiv(left.toMicroseconds(), right.toMicroseconds());
+            } catch (OverflowException e) {
+                return factory().createInt(floorDiv(left.toMicrosecondsBig(), right.toMicrosecondsBig()));
+            }
+        }
+
+        @Specialization
+        PTimeDelta doLong(PTimeDelta left, long right,
+                        @Shared("newTimeDelta") @Cached NewTimeDeltaNode newTimeDeltaNode) {
+            if (right == 0) {
+                throw raise(ZeroDivisionError, ErrorMessages.S_DIVISION_OR_MODULO_BY_ZERO, "integer");
+            }
+            try {
+                return newTimeDeltaNode.fromMicroseconds(Math.floorDiv(left.toMicroseconds(), right));
+            } catch (OverflowException e) {
+                return newTimeDeltaNode.fromMicroseconds(PythonBuiltinClassType.PTimeDelta, floorDiv(left.toMicrosecondsBig(), BigInteger.valueOf(right)));
+            }
+        }
+
+        @Specialization
+        PTimeDelta doPInt(PTimeDelta left, PInt right,
+                        @Shared("newTimeDelta") @Cached NewTimeDeltaNode newTimeDeltaNode) {
+            if (right.isZero()) {
+                throw raise(ZeroDivisionError, ErrorMessages.S_DIVISION_OR_MODULO_BY_ZERO, "integer");
+            }
+            return newTimeDeltaNode.fromMicroseconds(PythonBuiltinClassType.PTimeDelta, floorDiv(left.toMicrosecondsBig(), right.getValue()));
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object doOther(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @TruffleBoundary
+    static BigInteger floorDiv(BigInteger a, BigInteger b) {
+        BigInteger[] qr = a.divideAndRemainder(b);
+        if (qr[1].signum() != 0 && qr[1].signum() != b.signum()) {
+            return qr[0].subtract(BigInteger.ONE);
+        }
+        return qr[0];
+    }
+
+    @TruffleBoundary
+    static BigInteger floorMod(BigInteger a, BigInteger b) {
+        BigInteger r = a.remainder(b);
+        if (r.signum() != 0 && r.signum() != b.signum()) {
+            return r.add(b);
+        }
+        return r;
+    }
+
+    @Builtin(name = J___MOD__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class ModNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PTimeDelta doTimeDelta(PTimeDelta left, PTimeDelta right,
+                        @Cached NewTimeDeltaNode newTimeDeltaNode) {
+            if (right.isZero()) {
+                throw raise(ZeroDivisionError, ErrorMessages.S_DIVISION_OR_MODULO_BY_ZERO, "integer");
+            }
+            try {
+                return newTimeDeltaNode.fromMicroseconds(Math.floorMod(left.toMicroseconds(), right.toMicroseconds()));
+            } catch (OverflowException e) {
+                return newTimeDeltaNode.fromMicroseconds(PythonBuiltinClassType.PTimeDelta, floorMod(left.toMicrosecondsBig(), right.toMicrosecondsBig()));
+            }
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object doOther(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = J___DIVMOD__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class DivModNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object doTimeDelta(PTimeDelta left, PTimeDelta right,
+                        @Cached NewTimeDeltaNode newTimeDeltaNode) {
+            if (right.isZero()) {
+                throw raise(ZeroDivisionError, ErrorMessages.S_DIVISION_OR_MODULO_BY_ZERO, "integer");
+            }
+            try {
+                long a = left.toMicroseconds();
+                long b = right.toMicroseconds();
+                return factory().createTuple(new Object[]{Math.floorDiv(a, b), newTimeDeltaNode.fromMicroseconds(Math.floorMod(a, b))});
+            } catch (OverflowException e) {
+                BigInteger a = left.toMicrosecondsBig();
+                BigInteger b = right.toMicrosecondsBig();
+                Object quotient = factory().createInt(floorDiv(a, b));
+                return factory().createTuple(new Object[]{quotient, newTimeDeltaNode.fromMicroseconds(PythonBuiltinClassType.PTimeDelta, floorMod(a, b))});
+            }
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object doOther(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = J___REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object reduce(PTimeDelta self,
+                        @Cached GetClassNode getClassNode) {
+            Object args = factory().createTuple(new Object[]{self.getDays(), self.getSeconds(), self.getMicroseconds()});
+            return factory().createTuple(new Object[]{getClassNode.execute(self), args});
+        }
+    }
+}
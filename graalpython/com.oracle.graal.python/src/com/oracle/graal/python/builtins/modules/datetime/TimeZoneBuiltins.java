@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.datetime;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___HASH__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___STR__;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.Python3Core;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.datetime.DatetimeNodes.NewDateTimeNode;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.type.PythonBuiltinClass;
+import com.oracle.graal.python.lib.PyObjectReprAsTruffleStringNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Builtins of {@code datetime.timezone}, a fixed offset from UTC.
+ */
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PTimeZone)
+public final class TimeZoneBuiltins extends PythonBuiltins {
+
+    private static final TruffleString T_UTC_REPR = tsLiteral("datetime.timezone.utc");
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return TimeZoneBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(Python3Core core) {
+        super.initialize(core);
+        PythonObjectFactory factory = core.factory();
+        PythonBuiltinClass type = core.lookupType(PythonBuiltinClassType.PTimeZone);
+        PTimeDelta zero = factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, 0, 0, 0);
+        type.setAttribute(DatetimeNodes.T_UTC, factory.createTimeZone(PythonBuiltinClassType.PTimeZone, zero, null));
+        PTimeDelta minOffset = factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, -1, 60, 0);
+        type.setAttribute(DatetimeNodes.T_MIN, factory.createTimeZone(PythonBuiltinClassType.PTimeZone, minOffset, null));
+        PTimeDelta maxOffset = factory.createTimeDelta(PythonBuiltinClassType.PTimeDelta, 0, DatetimeUtils.SECONDS_PER_DAY - 60, 0);
+        type.setAttribute(DatetimeNodes.T_MAX, factory.createTimeZone(PythonBuiltinClassType.PTimeZone, maxOffset, null));
+    }
+
+    /**
+     * The {@code dt} argument of the {@code tzinfo} methods must be a datetime or {@code None}.
+     */
+    static void checkArgument(PNodeWithRaise node, String methodName, Object dt) {
+        if (dt != PNone.NONE && !(dt instanceof PDateTime)) {
+            throw node.raise(TypeError, ErrorMessages.S_ARGUMENT_MUST_BE_DATETIME_OR_NONE, methodName, dt);
+        }
+    }
+
+    @Builtin(name = "utcoffset", minNumOfPositionalArgs = 2, doc = "Return fixed offset.")
+    @GenerateNodeFactory
+    abstract static class UtcOffsetNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object utcoffset(PTimeZone self, Object dt) {
+            checkArgument(this, "utcoffset", dt);
+            return self.getOffset();
+        }
+    }
+
+    @Builtin(name = "dst", minNumOfPositionalArgs = 2, doc = "Return None.")
+    @GenerateNodeFactory
+    abstract static class DstNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object dst(@SuppressWarnings("unused") PTimeZone self, Object dt) {
+            checkArgument(this, "dst", dt);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "tzname", minNumOfPositionalArgs = 2, doc = "If name is specified when timezone is created, returns the name.  Otherwise returns offset as 'UTC(+|-)HH:MM'.")
+    @GenerateNodeFactory
+    abstract static class TzNameNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object tzname(PTimeZone self, Object dt) {
+            checkArgument(this, "tzname", dt);
+            return DatetimeNodes.getTimeZoneName(self);
+        }
+    }
+
+    @Builtin(name = "fromutc", minNumOfPositionalArgs = 2, doc = "datetime in UTC -> datetime in local time.")
+    @GenerateNodeFactory
+    abstract static class FromUtcNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object fromutc(VirtualFrame frame, PTimeZone self, PDateTime dt,
+                        @Cached GetClassNode getClassNode,
+                        @Cached NewDateTimeNode newDateTimeNode) {
+            if (dt.getTzInfo() != self) {
+                throw raise(ValueError, ErrorMessages.FROMUTC_DT_TZINFO_IS_NOT_SELF);
+            }
+            long local = dt.toLocalMicroseconds() + DatetimeNodes.offsetMicroseconds(self.getOffset());
+            return DateTimeBuiltins.fromLocalMicroseconds(frame, this, getClassNode.execute(dt), local, self, newDateTimeNode);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        Object error(Object self, Object dt) {
+            throw raise(TypeError, ErrorMessages.FROMUTC_ARGUMENT_MUST_BE_DATETIME);
+        }
+    }
+
+    @Builtin(name = J___EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class EqNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static boolean eq(PTimeZone self, PTimeZone other) {
+            return self.getOffset().compareTo(other.getOffset()) == 0;
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object doOther(Object self, Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = J___HASH__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HashNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long hash(PTimeZone self) {
+            // the hash of the offset, timezones with the same offset are equal
+            return TimeDeltaBuiltins.HashNode.hash(self.getOffset());
+        }
+    }
+
+    @Builtin(name = J___REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString repr(VirtualFrame frame, PTimeZone self,
+                        @Cached PyObjectReprAsTruffleStringNode reprNode) {
+            if (self.getName() == null && self.getOffset().isZero()) {
+                return T_UTC_REPR;
+            }
+            return formatRepr(self.getOffset(), self.getName() == null ? null : reprNode.execute(frame, self.getName()));
+        }
+
+        @TruffleBoundary
+        private static TruffleString formatRepr(PTimeDelta offset, TruffleString nameRepr) {
+            StringBuilder sb = new StringBuilder("datetime.timezone(").append(DatetimeUtils.formatTimeDeltaRepr("datetime.timedelta", offset));
+            if (nameRepr != null) {
+                sb.append(", ").append(nameRepr.toJavaStringUncached());
+            }
+            return toTruffleStringUncached(sb.append(')').toString());
+        }
+    }
+
+    @Builtin(name = J___STR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class StrNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString str(PTimeZone self) {
+            return DatetimeNodes.getTimeZoneName(self);
+        }
+    }
+
+    @Builtin(name = "__getinitargs__", minNumOfPositionalArgs = 1, doc = "pickle support")
+    @GenerateNodeFactory
+    abstract static class GetInitArgsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object getinitargs(PTimeZone self) {
+            Object[] args = self.getName() == null ? new Object[]{self.getOffset()} : new Object[]{self.getOffset(), self.getName()};
+            return factory().createTuple(args);
+        }
+    }
+}
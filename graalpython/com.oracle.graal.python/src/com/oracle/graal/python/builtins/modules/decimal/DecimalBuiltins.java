@@ -0,0 +1,983 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.decimal;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.OverflowError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalNodes.convertOperand;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalNodes.getContextArgument;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalNodes.getRoundingArgument;
+import static com.oracle.graal.python.nodes.BuiltinNames.T__DECIMAL;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ABS__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___BOOL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___CEIL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___COMPLEX__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___COPY__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___DEEPCOPY__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___DIVMOD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___FLOAT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___FLOORDIV__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___FLOOR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___HASH__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___INT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___LE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___LT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___MOD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___MUL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___NEG__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___NE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___POS__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RDIVMOD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RFLOORDIV__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RMOD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RMUL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ROUND__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RSUB__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___RTRUEDIV__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___STR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___SUB__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___TRUEDIV__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___TRUNC__;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.decimal.DecimalNodes.ConvertOperandNode;
+import com.oracle.graal.python.builtins.modules.decimal.DecimalNodes.GetCurrentContextNode;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.complex.PComplex;
+import com.oracle.graal.python.builtins.objects.floats.PFloat;
+import com.oracle.graal.python.builtins.objects.module.PythonModule;
+import com.oracle.graal.python.lib.PyLongAsLongNode;
+import com.oracle.graal.python.lib.PyLongCheckNode;
+import com.oracle.graal.python.lib.PyObjectGetAttr;
+import com.oracle.graal.python.lib.PyObjectIsTrueNode;
+import com.oracle.graal.python.lib.PyUnicodeCheckNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.util.CastToJavaBigIntegerNode;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Builtins of {@code decimal.Decimal}. The operations take the fast paths of {@link DecimalUtils}
+ * when both operands have long coefficients and the result is exact and fits into the context,
+ * which covers most uses for amounts of money, and otherwise fall back to the general arithmetic on
+ * {@link BigInteger} coefficients.
+ */
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PDecimal)
+public final class DecimalBuiltins extends PythonBuiltins {
+    private static final TruffleString T_DECIMAL_TUPLE = tsLiteral("DecimalTuple");
+    private static final TruffleString T_IS_RATIONAL = tsLiteral("_is_rational");
+    private static final TruffleString T_NUMERATOR = tsLiteral("numerator");
+    private static final TruffleString T_DENOMINATOR = tsLiteral("denominator");
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DecimalBuiltinsFactory.getFactories();
+    }
+
+    @TruffleBoundary
+    static Object toPythonInt(PythonObjectFactory factory, BigInteger value) {
+        if (value.bitLength() < Long.SIZE) {
+            return value.longValue();
+        }
+        return factory.createInt(value);
+    }
+
+    @TruffleBoundary
+    static TruffleString toTruffleString(PDecimal value, boolean engineering, PDecimalContext context) {
+        return toTruffleStringUncached(DecimalUtils.toString(value, engineering, context.getCapitals() != 0));
+    }
+
+    @Builtin(name = "real", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class RealNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PDecimal real(PDecimal self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = "imag", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ImagNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PDecimal imag(@SuppressWarnings("unused") PDecimal self) {
+            return DecimalUtils.create(factory(), false, 0, 0);
+        }
+    }
+
+    @Builtin(name = J___REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString repr(PDecimal self,
+                        @Cached GetCurrentContextNode getCurrentContextNode) {
+            return reprBoundary(self, getCurrentContextNode.execute());
+        }
+
+        @TruffleBoundary
+        private static TruffleString reprBoundary(PDecimal self, PDecimalContext context) {
+            return toTruffleStringUncached("Decimal('" + DecimalUtils.toString(self, false, context.getCapitals() != 0) + "')");
+        }
+    }
+
+    @Builtin(name = J___STR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class StrNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString str(PDecimal self,
+                        @Cached GetCurrentContextNode getCurrentContextNode) {
+            return toTruffleString(self, false, getCurrentContextNode.execute());
+        }
+    }
+
+    @Builtin(name = "to_eng_string", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class ToEngStringNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        TruffleString toEngString(PDecimal self, Object contextObj,
+                        @Cached GetCurrentContextNode getCurrentContextNode) {
+            return toTruffleString(self, true, getContextArgument(this, contextObj, getCurrentContextNode));
+        }
+    }
+
+    @Builtin(name = J___HASH__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HashNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        long hash(PDecimal self) {
+            if (self.isSNaN()) {
+                throw raise(TypeError, ErrorMessages.CANNOT_HASH_A_SIGNALING_NAN);
+            }
+            return DecimalUtils.hash(self);
+        }
+    }
+
+    @Builtin(name = J___BOOL__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class BoolNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean bool(PDecimal self) {
+            return !self.isZero();
+        }
+    }
+
+    /**
+     * Rounds to an integer for {@code __int__}, {@code __floor__}, {@code __ceil__} and
+     * {@code __round__}.
+     */
+    static Object toInt(PythonBuiltinBaseNode node, PythonObjectFactory factory, PDecimal self, int rounding) {
+        if (self.isNaN()) {
+            throw node.raise(ValueError, ErrorMessages.CANNOT_CONVERT_S_TO_INT, "NaN");
+        } else if (self.isInfinite()) {
+            throw node.raise(OverflowError, ErrorMessages.CANNOT_CONVERT_S_TO_INT, "Infinity");
+        }
+        if (self.isSmall() && self.getExponent() == 0) {
+            return self.isNegative() ? -self.getCoefficient() : self.getCoefficient();
+        }
+        return toPythonInt(factory, DecimalUtils.toBigInteger(self, rounding));
+    }
+
+    @Builtin(name = J___INT__, minNumOfPositionalArgs = 1)
+    @Builtin(name = J___TRUNC__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IntNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object toInt(PDecimal self) {
+            return DecimalBuiltins.toInt(this, factory(), self, PDecimalContext.ROUND_DOWN);
+        }
+    }
+
+    @Builtin(name = J___FLOOR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class FloorNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object floor(PDecimal self) {
+            return toInt(this, factory(), self, PDecimalContext.ROUND_FLOOR);
+        }
+    }
+
+    @Builtin(name = J___CEIL__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CeilNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object ceil(PDecimal self) {
+            return toInt(this, factory(), self, PDecimalContext.ROUND_CEILING);
+        }
+    }
+
+    @Builtin(name = J___ROUND__, minNumOfPositionalArgs = 1, parameterNames = {"$self", "ndigits"})
+    @GenerateNodeFactory
+    abstract static class RoundNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object round(VirtualFrame frame, PDecimal self, Object ndigits,
+                        @Cached PyLongAsLongNode asLongNode,
+                        @Cached GetCurrentContextNode getCurrentContextNode) {
+            if (ndigits == PNone.NO_VALUE || ndigits == PNone.NONE) {
+                return toInt(this, factory(), self, PDecimalContext.ROUND_HALF_EVEN);
+            }
+            long digits = asLongNode.execute(frame, ndigits);
+            PDecimalContext context = getCurrentContextNode.execute();
+            PDecimal exp = DecimalUtils.create(factory(), false, 1, digits == Long.MIN_VALUE ? Long.MAX_VALUE : -digits);
+            int[] status = new int[1];
+            PDecimal result = DecimalUtils.tryQuantizeSmall(factory(), context, self, exp, context.getRounding(), status);
+            if (result == null) {
+                result = DecimalUtils.quantize(factory(), context, self, exp, context.getRounding(), status);
+            }
+            DecimalNodes.addStatus(this, context, status[0]);
+            return result;
+        }
+    }
+
+    @Builtin(name = J___FLOAT__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class FloatNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        double toFloat(PDecimal self) {
+            if (self.isSNaN()) {
+                throw raise(ValueError, ErrorMessages.CANNOT_CONVERT_SIGNALING_NAN_TO_FLOAT);
+            }
+            return DecimalUtils.toDouble(self);
+        }
+    }
+
+    @Builtin(name = J___COMPLEX__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ComplexNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object toComplex(PDecimal self) {
+            if (self.isSNaN()) {
+                throw raise(ValueError, ErrorMessages.CANNOT_CONVERT_SIGNALING_NAN_TO_FLOAT);
+            }
+            return factory().createComplex(DecimalUtils.toDouble(self), 0);
+        }
+    }
+
+    @Builtin(name = "as_tuple", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class AsTupleNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object asTuple(VirtualFrame frame, PDecimal self,
+                        @Cached PyObjectGetAttr getAttr,
+                        @Cached CallNode callNode) {
+            Object exponent;
+            if (self.isInfinite()) {
+                exponent = tsLiteral("F");
+            } else if (self.isSNaN()) {
+                exponent = tsLiteral("N");
+            } else if (self.isNaN()) {
+                exponent = tsLiteral("n");
+            } else {
+                exponent = self.getExponent();
+            }
+            Object digits = factory().createTuple(getDigits(self));
+            PythonModule module = getContext().lookupBuiltinModule(T__DECIMAL);
+            Object decimalTuple = getAttr.execute(frame, module, T_DECIMAL_TUPLE);
+            return callNode.execute(frame, decimalTuple, self.isNegative() ? 1 : 0, digits, exponent);
+        }
+
+        @TruffleBoundary
+        private static Object[] getDigits(PDecimal self) {
+            if (self.isInfinite()) {
+                return new Object[]{0};
+            } else if (self.isNaN() && self.getBigCoefficient().signum() == 0) {
+                return new Object[0];
+            }
+            String digits = self.isSmall() ? Long.toString(self.getCoefficient()) : self.getBigCoefficient().toString();
+            Object[] result = new Object[digits.length()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = digits.charAt(i) - '0';
+            }
+            return result;
+        }
+    }
+
+    @Builtin(name = "as_integer_ratio", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class AsIntegerRatioNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object asIntegerRatio(PDecimal self) {
+            if (self.isNaN()) {
+                throw raise(ValueError, ErrorMessages.CANNOT_CONVERT_S_TO_INT_RATIO, "NaN");
+            } else if (self.isInfinite()) {
+                throw raise(OverflowError, ErrorMessages.CANNOT_CONVERT_S_TO_INT_RATIO, "Infinity");
+            }
+            BigInteger[] ratio = DecimalUtils.asIntegerRatio(self);
+            return factory().createTuple(new Object[]{toPythonInt(factory(), ratio[0]), toPythonInt(factory(), ratio[1])});
+        }
+    }
+
+    @Builtin(name = "from_float", minNumOfPositionalArgs = 2, isClassmethod = true, parameterNames = {"cls", "f"})
+    @GenerateNodeFactory
+    abstract static class FromFloatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object fromFloat(VirtualFrame frame, Object cls, Object value,
+                        @Cached IsBuiltinClassProfile isBuiltinDecimal,
+                        @Cached PyLongCheckNode longCheckNode,
+                        @Cached CastToJavaBigIntegerNode castToBigIntegerNode,
+                        @Cached CallNode callNode) {
+            PDecimal result;
+            if (value instanceof Double) {
+                result = DecimalUtils.fromDouble(factory(), PythonBuiltinClassType.PDecimal, (double) value);
+            } else if (value instanceof PFloat) {
+                result = DecimalUtils.fromDouble(factory(), PythonBuiltinClassType.PDecimal, ((PFloat) value).getValue());
+            } else if (longCheckNode.execute(value)) {
+                result = DecimalUtils.fromBigInteger(factory(), PythonBuiltinClassType.PDecimal, castToBigIntegerNode.execute(value));
+            } else {
+                throw raise(TypeError, ErrorMessages.ARG_MUST_BE_INT_OR_FLOAT);
+            }
+            if (isBuiltinDecimal.profileClass(cls, PythonBuiltinClassType.PDecimal)) {
+                return result;
+            }
+            return callNode.execute(frame, cls, result);
+        }
+    }
+
+    @Builtin(name = "adjusted", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class AdjustedNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long adjusted(PDecimal self) {
+            return self.isSpecial() ? 0 : self.adjusted();
+        }
+    }
+
+    @Builtin(name = "canonical", minNumOfPositionalArgs = 1)
+    @Builtin(name = "conjugate", minNumOfPositionalArgs = 1)
+    @Builtin(name = J___COPY__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CanonicalNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PDecimal canonical(PDecimal self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = J___DEEPCOPY__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class DeepCopyNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PDecimal deepcopy(PDecimal self, @SuppressWarnings("unused") Object memo) {
+            return self;
+        }
+    }
+
+    @Builtin(name = "radix", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class RadixNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PDecimal radix(@SuppressWarnings("unused") PDecimal self) {
+            return DecimalUtils.create(factory(), false, 10, 0);
+        }
+    }
+
+    @Builtin(name = J___REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object reduce(PDecimal self,
+                        @Cached GetClassNode getClassNode) {
+            TruffleString str = toTruffleStringUncachedBoundary(self);
+            return factory().createTuple(new Object[]{getClassNode.execute(self), factory().createTuple(new Object[]{str})});
+        }
+
+        @TruffleBoundary
+        private static TruffleString toTruffleStringUncachedBoundary(PDecimal self) {
+            return toTruffleStringUncached(DecimalUtils.toString(self, false, true));
+        }
+    }
+
+    @Builtin(name = "copy_abs", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CopyAbsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PDecimal copyAbs(PDecimal self) {
+            return DecimalUtils.copy(factory(), PythonBuiltinClassType.PDecimal, self, false);
+        }
+    }
+
+    @Builtin(name = "copy_negate", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CopyNegateNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PDecimal copyNegate(PDecimal self) {
+            return DecimalUtils.copy(factory(), PythonBuiltinClassType.PDecimal, self, !self.isNegative());
+        }
+    }
+
+    @Builtin(name = "copy_sign", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class CopySignNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PDecimal copySign(PDecimal self, Object other, @SuppressWarnings("unused") Object context,
+                        @Cached ConvertOperandNode convertOperandNode) {
+            PDecimal sign = convertOperand(this, other, convertOperandNode);
+            return DecimalUtils.copy(factory(), PythonBuiltinClassType.PDecimal, self, sign.isNegative());
+        }
+    }
+
+    @Builtin(name = "is_canonical", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsCanonicalNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean isCanonical(@SuppressWarnings("unused") PDecimal self) {
+            return true;
+        }
+    }
+
+    @Builtin(name = "is_finite", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsFiniteNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean isFinite(PDecimal self) {
+            return self.isFinite();
+        }
+    }
+
+    @Builtin(name = "is_infinite", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsInfiniteNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean isInfinite(PDecimal self) {
+            return self.isInfinite();
+        }
+    }
+
+    @Builtin(name = "is_nan", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsNaNNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean isNaN(PDecimal self) {
+            return self.isNaN();
+        }
+    }
+
+    @Builtin(name = "is_qnan", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsQNaNNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean isQNaN(PDecimal self) {
+            return self.isNaN() && !self.isSNaN();
+        }
+    }
+
+    @Builtin(name = "is_snan", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsSNaNNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean isSNaN(PDecimal self) {
+            return self.isSNaN();
+        }
+    }
+
+    @Builtin(name = "is_signed", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsSignedNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean isSigned(PDecimal self) {
+            return self.isNegative();
+        }
+    }
+
+    @Builtin(name = "is_zero", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsZeroNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean isZero(PDecimal self) {
+            return self.isZero();
+        }
+    }
+
+    @Builtin(name = "is_normal", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class IsNormalNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        boolean isNormal(PDecimal self, Object contextObj,
+                        @Cached GetCurrentContextNode getCurrentContextNode) {
+            PDecimalContext context = getContextArgument(this, contextObj, getCurrentContextNode);
+            return self.isFinite() && !self.isZero() && self.adjusted() >= context.getEmin();
+        }
+    }
+
+    @Builtin(name = "is_subnormal", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class IsSubnormalNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        boolean isSubnormal(PDecimal self, Object contextObj,
+                        @Cached GetCurrentContextNode getCurrentContextNode) {
+            PDecimalContext context = getContextArgument(this, contextObj, getCurrentContextNode);
+            return self.isFinite() && !self.isZero() && self.adjusted() < context.getEmin();
+        }
+    }
+
+    @Builtin(name = "same_quantum", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class SameQuantumNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        boolean sameQuantum(PDecimal self, Object otherObj, @SuppressWarnings("unused") Object context,
+                        @Cached ConvertOperandNode convertOperandNode) {
+            PDecimal other = convertOperand(this, otherObj, convertOperandNode);
+            if (self.isSpecial() || other.isSpecial()) {
+                return (self.isNaN() && other.isNaN()) || (self.isInfinite() && other.isInfinite());
+            }
+            return self.getExponent() == other.getExponent();
+        }
+    }
+
+    @Builtin(name = "compare", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class CompareNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PDecimal compare(PDecimal self, Object otherObj, Object contextObj,
+                        @Cached ConvertOperandNode convertOperandNode,
+                        @Cached GetCurrentContextNode getCurrentContextNode) {
+            PDecimal other = convertOperand(this, otherObj, convertOperandNode);
+            PDecimalContext context = getContextArgument(this, contextObj, getCurrentContextNode);
+            int[] status = new int[1];
+            PDecimal result = DecimalUtils.compareToDecimal(factory(), context, self, other, status);
+            DecimalNodes.addStatus(this, context, status[0]);
+            return result;
+        }
+    }
+
+    @Builtin(name = "quantize", minNumOfPositionalArgs = 2, parameterNames = {"$self", "exp", "rounding", "context"})
+    @GenerateNodeFactory
+    abstract static class QuantizeNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        PDecimal quantize(PDecimal self, Object expObj, Object roundingObj, Object contextObj,
+                        @Cached ConvertOperandNode convertOperandNode,
+                        @Cached GetCurrentContextNode getCurrentContextNode,
+                        @Cached PyUnicodeCheckNode unicodeCheckNode,
+                        @Cached CastToTruffleStringNode castToStringNode) {
+            PDecimal exp = convertOperand(this, expObj, convertOperandNode);
+            PDecimalContext context = getContextArgument(this, contextObj, getCurrentContextNode);
+            int rounding = getRoundingArgument(this, roundingObj, context, unicodeCheckNode, castToStringNode);
+            int[] status = new int[1];
+            PDecimal result = DecimalUtils.tryQuantizeSmall(factory(), context, self, exp, rounding, status);
+            if (result == null) {
+                result = DecimalUtils.quantize(factory(), context, self, exp, rounding, status);
+            }
+            DecimalNodes.addStatus(this, context, status[0]);
+            return result;
+        }
+    }
+
+    @Builtin(name = "normalize", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class NormalizeNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PDecimal normalize(PDecimal self, Object contextObj,
+                        @Cached GetCurrentContextNode getCurrentContextNode) {
+            PDecimalContext context = getContextArgument(this, contextObj, getCurrentContextNode);
+            int[] status = new int[1];
+            PDecimal result = DecimalUtils.normalize(factory(), context, self, status);
+            DecimalNodes.addStatus(this, context, status[0]);
+            return result;
+        }
+    }
+
+    @Builtin(name = "to_integral", minNumOfPositionalArgs = 1, parameterNames = {"$self", "rounding", "context"})
+    @Builtin(name = "to_integral_value", minNumOfPositionalArgs = 1, parameterNames = {"$self", "rounding", "context"})
+    @GenerateNodeFactory
+    abstract static class ToIntegralValueNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PDecimal toIntegral(PDecimal self, Object roundingObj, Object contextObj,
+                        @Cached GetCurrentContextNode getCurrentContextNode,
+                        @Cached PyUnicodeCheckNode unicodeCheckNode,
+                        @Cached CastToTruffleStringNode castToStringNode) {
+            PDecimalContext context = getContextArgument(this, contextObj, getCurrentContextNode);
+            int rounding = getRoundingArgument(this, roundingObj, context, unicodeCheckNode, castToStringNode);
+            int[] status = new int[1];
+            PDecimal result = DecimalUtils.toIntegral(factory(), context, self, rounding, false, status);
+            DecimalNodes.addStatus(this, context, status[0]);
+            return result;
+        }
+    }
+
+    @Builtin(name = "to_integral_exact", minNumOfPositionalArgs = 1, parameterNames = {"$self", "rounding", "context"})
+    @GenerateNodeFactory
+    abstract static class ToIntegralExactNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PDecimal toIntegralExact(PDecimal self, Object roundingObj, Object contextObj,
+                        @Cached GetCurrentContextNode getCurrentContextNode,
+                        @Cached PyUnicodeCheckNode unicodeCheckNode,
+                        @Cached CastToTruffleStringNode castToStringNode) {
+            PDecimalContext context = getContextArgument(this, contextObj, getCurrentContextNode);
+            int rounding = getRoundingArgument(this, roundingObj, context, unicodeCheckNode, castToStringNode);
+            int[] status = new int[1];
+            PDecimal result = DecimalUtils.toIntegral(factory(), context, self, rounding, true, status);
+            DecimalNodes.addStatus(this, context, status[0]);
+            return result;
+        }
+    }
+
+    /**
+     * Rich comparison with decimals, integers, floats, complex numbers and rationals, like
+     * {@code convert_op_cmp} in CPython. Comparing with a float raises {@code FloatOperation} for
+     * the ordering operators and only sets its flag for {@code ==} and {@code !=}, complex numbers
+     * can only be compared for equality, and NaNs compare unequal to everything. A rational is
+     * compared exactly by multiplying the decimal with its denominator.
+     */
+    abstract static class DecimalCompareNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object doCompare(VirtualFrame frame, PDecimal self, Object otherObj,
+                        @Cached ConvertOperandNode convertOperandNode,
+                        @Cached GetCurrentContextNode getCurrentContextNode,
+                        @Cached PyObjectGetAttr getAttr,
+                        @Cached CallNode callNode,
+                        @Cached PyObjectIsTrueNode isTrueNode,
+                        @Cached CastToJavaBigIntegerNode castToBigIntegerNode) {
+            PDecimal a = self;
+            PDecimal other = convertOperandNode.execute(otherObj);
+            if (other == null) {
+                double value;
+                if (otherObj instanceof Double) {
+                    value = (double) otherObj;
+                } else if (otherObj instanceof PFloat) {
+                    value = ((PFloat) otherObj).getValue();
+                } else if (otherObj instanceof PComplex && isEquality()) {
+                    PComplex complex = (PComplex) otherObj;
+                    if (complex.getImag() != 0.0) {
+                        return PNotImplemented.NOT_IMPLEMENTED;
+                    }
+                    value = complex.getReal();
+                } else {
+                    PythonModule module = getContext().lookupBuiltinModule(T__DECIMAL);
+                    if (!isTrueNode.execute(frame, callNode.execute(frame, getAttr.execute(frame, module, T_IS_RATIONAL), otherObj))) {
+                        return PNotImplemented.NOT_IMPLEMENTED;
+                    }
+                    BigInteger numerator = castToBigIntegerNode.execute(getAttr.execute(frame, otherObj, T_NUMERATOR));
+                    other = DecimalUtils.fromBigInteger(factory(), PythonBuiltinClassType.PDecimal, numerator);
+                    if (self.isFinite()) {
+                        BigInteger denominator = castToBigIntegerNode.execute(getAttr.execute(frame, otherObj, T_DENOMINATOR));
+                        a = DecimalUtils.multiplyExact(factory(), self, denominator);
+                    }
+                    return compareValues(a, other, getCurrentContextNode);
+                }
+                PDecimalContext context = getCurrentContextNode.execute();
+                if (isEquality()) {
+                    context.setFlags(context.getFlags() | PDecimalContext.FLOAT_OPERATION);
+                } else {
+                    DecimalNodes.addStatus(this, context, PDecimalContext.FLOAT_OPERATION);
+                }
+                other = DecimalUtils.fromDouble(factory(), PythonBuiltinClassType.PDecimal, value);
+            }
+            return compareValues(a, other, getCurrentContextNode);
+        }
+
+        private Object compareValues(PDecimal a, PDecimal b, GetCurrentContextNode getCurrentContextNode) {
+            if (a.isNaN() || b.isNaN()) {
+                if (a.isSNaN() || b.isSNaN() || !isEquality()) {
+                    DecimalNodes.addStatus(this, getCurrentContextNode.execute(), PDecimalContext.INVALID_OPERATION);
+                }
+                return isUnordered();
+            }
+            return compare(DecimalUtils.compare(a, b));
+        }
+
+        boolean isEquality() {
+            return false;
+        }
+
+        boolean isUnordered() {
+            return false;
+        }
+
+        @SuppressWarnings("unused")
+        boolean compare(int result) {
+            throw CompilerDirectives.shouldNotReachHere();
+        }
+    }
+
+    @Builtin(name = J___EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class EqNode extends DecimalCompareNode {
+        @Override
+        boolean isEquality() {
+            return true;
+        }
+
+        @Override
+        boolean compare(int result) {
+            return result == 0;
+        }
+    }
+
+    @Builtin(name = J___NE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NeNode extends DecimalCompareNode {
+        @Override
+        boolean isEquality() {
+            return true;
+        }
+
+        @Override
+        boolean isUnordered() {
+            return true;
+        }
+
+        @Override
+        boolean compare(int result) {
+            return result != 0;
+        }
+    }
+
+    @Builtin(name = J___LT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LtNode extends DecimalCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result < 0;
+        }
+    }
+
+    @Builtin(name = J___LE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LeNode extends DecimalCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result <= 0;
+        }
+    }
+
+    @Builtin(name = J___GT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GtNode extends DecimalCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result > 0;
+        }
+    }
+
+    @Builtin(name = J___GE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GeNode extends DecimalCompareNode {
+        @Override
+        boolean compare(int result) {
+            return result >= 0;
+        }
+    }
+
+    abstract static class DecimalUnaryArithmeticNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PDecimal doDecimal(PDecimal self,
+                        @Cached GetCurrentContextNode getCurrentContextNode) {
+            PDecimalContext context = getCurrentContextNode.execute();
+            int[] status = new int[1];
+            PDecimal result = DecimalUtils.plusMinus(factory(), context, self, isNegate(), isAbsolute(), status);
+            DecimalNodes.addStatus(this, context, status[0]);
+            return result;
+        }
+
+        boolean isNegate() {
+            return false;
+        }
+
+        boolean isAbsolute() {
+            return false;
+        }
+    }
+
+    @Builtin(name = J___NEG__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class NegNode extends DecimalUnaryArithmeticNode {
+        @Override
+        boolean isNegate() {
+            return true;
+        }
+    }
+
+    @Builtin(name = J___POS__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class PosNode extends DecimalUnaryArithmeticNode {
+    }
+
+    @Builtin(name = J___ABS__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class AbsNode extends DecimalUnaryArithmeticNode {
+        @Override
+        boolean isAbsolute() {
+            return true;
+        }
+    }
+
+    /**
+     * The binary arithmetic operators. Operands that are neither decimals nor integers are not
+     * implemented, so that mixing decimals and floats raises a {@code TypeError}.
+     */
+    abstract static class DecimalBinaryArithmeticNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object doDecimals(Object left, Object right,
+                        @Cached ConvertOperandNode convertLeftNode,
+                        @Cached ConvertOperandNode convertRightNode,
+                        @Cached GetCurrentContextNode getCurrentContextNode) {
+            PDecimal a = convertLeftNode.execute(left);
+            PDecimal b = convertRightNode.execute(right);
+            if (a == null || b == null) {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            PDecimalContext context = getCurrentContextNode.execute();
+            int[] status = new int[1];
+            Object result = operation(factory(), context, a, b, status);
+            DecimalNodes.addStatus(this, context, status[0]);
+            return result;
+        }
+
+        @SuppressWarnings("unused")
+        Object operation(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+            throw CompilerDirectives.shouldNotReachHere();
+        }
+    }
+
+    @Builtin(name = J___ADD__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RADD__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class AddNode extends DecimalBinaryArithmeticNode {
+        @Override
+        Object operation(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+            PDecimal result = DecimalUtils.tryAddSmall(factory, context, a, b, false);
+            if (result != null) {
+                return result;
+            }
+            return DecimalUtils.add(factory, context, a, b, false, status);
+        }
+    }
+
+    @Builtin(name = J___SUB__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RSUB__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class SubNode extends DecimalBinaryArithmeticNode {
+        @Override
+        Object operation(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+            PDecimal result = DecimalUtils.tryAddSmall(factory, context, a, b, true);
+            if (result != null) {
+                return result;
+            }
+            return DecimalUtils.add(factory, context, a, b, true, status);
+        }
+    }
+
+    @Builtin(name = J___MUL__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RMUL__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class MulNode extends DecimalBinaryArithmeticNode {
+        @Override
+        Object operation(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+            PDecimal result = DecimalUtils.tryMultiplySmall(factory, context, a, b);
+            if (result != null) {
+                return result;
+            }
+            return DecimalUtils.multiply(factory, context, a, b, status);
+        }
+    }
+
+    @Builtin(name = J___TRUEDIV__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RTRUEDIV__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class TrueDivNode extends DecimalBinaryArithmeticNode {
+        @Override
+        Object operation(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+            return DecimalUtils.divide(factory, context, a, b, status);
+        }
+    }
+
+    @Builtin(name = J___FLOORDIV__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RFLOORDIV__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class FloorDivNode extends DecimalBinaryArithmeticNode {
+        @Override
+        Object operation(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+            return DecimalUtils.floorDivide(factory, context, a, b, status);
+        }
+    }
+
+    @Builtin(name = J___MOD__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RMOD__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class ModNode extends DecimalBinaryArithmeticNode {
+        @Override
+        Object operation(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+            return DecimalUtils.remainder(factory, context, a, b, status);
+        }
+    }
+
+    @Builtin(name = J___DIVMOD__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___RDIVMOD__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    abstract static class DivModNode extends DecimalBinaryArithmeticNode {
+        @Override
+        Object operation(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+            return factory.createTuple(DecimalUtils.divmod(factory, context, a, b, status));
+        }
+    }
+}
@@ -0,0 +1,495 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.decimal;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalNodes.convertOperand;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___COPY__;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.decimal.DecimalNodes.ConvertOperandNode;
+import com.oracle.graal.python.builtins.modules.decimal.DecimalNodes.FromObjectNode;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.floats.PFloat;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.lib.PyLongAsIntNode;
+import com.oracle.graal.python.lib.PyLongAsLongNode;
+import com.oracle.graal.python.lib.PyLongCheckNode;
+import com.oracle.graal.python.lib.PyUnicodeCheckNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.util.CastToJavaBigIntegerNode;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Builtins of {@code decimal.Context}: its attributes and the arithmetic operations. The flags and
+ * traps are exposed as the bit sets {@code _flags} and {@code _traps}, the signal dictionaries are
+ * built on top of them in {@code lib-graalpython/_decimal.py}.
+ */
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PDecimalContext)
+public final class DecimalContextBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DecimalContextBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = "prec", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class PrecNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        static int get(PDecimalContext self, @SuppressWarnings("unused") PNone value) {
+            return self.getPrec();
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        Object set(VirtualFrame frame, PDecimalContext self, Object value,
+                        @Cached PyLongAsLongNode asLongNode) {
+            long prec = asLongNode.execute(frame, value);
+            if (prec < 1 || prec > PDecimalContext.MAX_PREC) {
+                throw raise(ValueError, ErrorMessages.VALID_RANGE_FOR_PREC);
+            }
+            self.setPrec((int) prec);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "rounding", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class RoundingNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        static TruffleString get(PDecimalContext self, @SuppressWarnings("unused") PNone value) {
+            return roundingName(self.getRounding());
+        }
+
+        @TruffleBoundary
+        private static TruffleString roundingName(int rounding) {
+            return toTruffleStringUncached(PDecimalContext.ROUNDING_NAMES[rounding]);
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        Object set(PDecimalContext self, Object value,
+                        @Cached PyUnicodeCheckNode unicodeCheckNode,
+                        @Cached CastToTruffleStringNode castToStringNode) {
+            self.setRounding(DecimalNodes.toRounding(this, value, unicodeCheckNode, castToStringNode));
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "Emin", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class EminNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        static long get(PDecimalContext self, @SuppressWarnings("unused") PNone value) {
+            return self.getEmin();
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        Object set(VirtualFrame frame, PDecimalContext self, Object value,
+                        @Cached PyLongAsLongNode asLongNode) {
+            long emin = asLongNode.execute(frame, value);
+            if (emin < PDecimalContext.MIN_EMIN || emin > 0) {
+                throw raise(ValueError, ErrorMessages.VALID_RANGE_FOR_EMIN);
+            }
+            self.setEmin(emin);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "Emax", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class EmaxNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        static long get(PDecimalContext self, @SuppressWarnings("unused") PNone value) {
+            return self.getEmax();
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        Object set(VirtualFrame frame, PDecimalContext self, Object value,
+                        @Cached PyLongAsLongNode asLongNode) {
+            long emax = asLongNode.execute(frame, value);
+            if (emax < 0 || emax > PDecimalContext.MAX_EMAX) {
+                throw raise(ValueError, ErrorMessages.VALID_RANGE_FOR_EMAX);
+            }
+            self.setEmax(emax);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "capitals", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class CapitalsNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        static int get(PDecimalContext self, @SuppressWarnings("unused") PNone value) {
+            return self.getCapitals();
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        Object set(VirtualFrame frame, PDecimalContext self, Object value,
+                        @Cached PyLongAsLongNode asLongNode) {
+            long capitals = asLongNode.execute(frame, value);
+            if (capitals != 0 && capitals != 1) {
+                throw raise(ValueError, ErrorMessages.VALID_VALUES_FOR_S_ARE_0_OR_1, "capitals");
+            }
+            self.setCapitals((int) capitals);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "clamp", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class ClampNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        static int get(PDecimalContext self, @SuppressWarnings("unused") PNone value) {
+            return self.getClamp();
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        Object set(VirtualFrame frame, PDecimalContext self, Object value,
+                        @Cached PyLongAsLongNode asLongNode) {
+            long clamp = asLongNode.execute(frame, value);
+            if (clamp != 0 && clamp != 1) {
+                throw raise(ValueError, ErrorMessages.VALID_VALUES_FOR_S_ARE_0_OR_1, "clamp");
+            }
+            self.setClamp((int) clamp);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "_flags", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class FlagsNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        static int get(PDecimalContext self, @SuppressWarnings("unused") PNone value) {
+            return self.getFlags();
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        static Object set(VirtualFrame frame, PDecimalContext self, Object value,
+                        @Cached PyLongAsIntNode asIntNode) {
+            self.setFlags(asIntNode.execute(frame, value) & PDecimalContext.SIGNALS);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "_traps", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class TrapsNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        static int get(PDecimalContext self, @SuppressWarnings("unused") PNone value) {
+            return self.getTraps();
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        static Object set(VirtualFrame frame, PDecimalContext self, Object value,
+                        @Cached PyLongAsIntNode asIntNode) {
+            self.setTraps(asIntNode.execute(frame, value) & PDecimalContext.SIGNALS);
+            return PNone.NONE;
+        }
+    }
+
+    /**
+     * Adds the conditions of an operation done outside of this module, see {@code _decimal.py}.
+     */
+    @Builtin(name = "_add_status", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class AddStatusNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object addStatus(VirtualFrame frame, PDecimalContext self, Object status,
+                        @Cached PyLongAsIntNode asIntNode) {
+            DecimalNodes.addStatus(this, self, asIntNode.execute(frame, status));
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "Etiny", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class EtinyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long etiny(PDecimalContext self) {
+            return self.etiny();
+        }
+    }
+
+    @Builtin(name = "Etop", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class EtopNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long etop(PDecimalContext self) {
+            return self.etop();
+        }
+    }
+
+    @Builtin(name = "copy", minNumOfPositionalArgs = 1)
+    @Builtin(name = J___COPY__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CopyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PDecimalContext copy(PDecimalContext self) {
+            return DecimalNodes.copyContext(factory(), PythonBuiltinClassType.PDecimalContext, self);
+        }
+    }
+
+    @Builtin(name = "clear_flags", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ClearFlagsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object clearFlags(PDecimalContext self) {
+            self.setFlags(0);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "clear_traps", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ClearTrapsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object clearTraps(PDecimalContext self) {
+            self.setTraps(0);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "create_decimal", minNumOfPositionalArgs = 1, parameterNames = {"$self", "num"})
+    @GenerateNodeFactory
+    abstract static class CreateDecimalNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PDecimal createDecimal(PDecimalContext self, Object value,
+                        @Cached FromObjectNode fromObjectNode) {
+            if (value == PNone.NO_VALUE) {
+                return DecimalUtils.create(factory(), false, 0, 0);
+            }
+            PDecimal exact = fromObjectNode.execute(PythonBuiltinClassType.PDecimal, value, self);
+            int[] status = new int[1];
+            if (exact.isNaN() && !(exact.isSmall() && exact.getCoefficient() == 0) && exact.getDigits() > self.getPrec() - self.getClamp()) {
+                // the payload does not fit into the context
+                status[0] = PDecimalContext.CONVERSION_SYNTAX;
+                DecimalNodes.addStatus(this, self, status[0]);
+                return DecimalUtils.nan(factory());
+            }
+            PDecimal result = DecimalUtils.fix(factory(), self, exact, status);
+            DecimalNodes.addStatus(this, self, status[0]);
+            return result;
+        }
+    }
+
+    @Builtin(name = "create_decimal_from_float", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class CreateDecimalFromFloatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PDecimal createDecimalFromFloat(PDecimalContext self, Object value,
+                        @Cached PyLongCheckNode longCheckNode,
+                        @Cached CastToJavaBigIntegerNode castToBigIntegerNode) {
+            PDecimal exact;
+            if (value instanceof Double) {
+                exact = DecimalUtils.fromDouble(factory(), PythonBuiltinClassType.PDecimal, (double) value);
+            } else if (value instanceof PFloat) {
+                exact = DecimalUtils.fromDouble(factory(), PythonBuiltinClassType.PDecimal, ((PFloat) value).getValue());
+            } else if (value instanceof Integer || value instanceof Long) {
+                exact = DecimalUtils.fromLong(factory(), PythonBuiltinClassType.PDecimal, ((Number) value).longValue());
+            } else if (value instanceof PInt || longCheckNode.execute(value)) {
+                exact = DecimalUtils.fromBigInteger(factory(), PythonBuiltinClassType.PDecimal, castToBigIntegerNode.execute(value));
+            } else {
+                throw raise(TypeError, ErrorMessages.ARG_MUST_BE_INT_OR_FLOAT);
+            }
+            int[] status = new int[1];
+            PDecimal result = DecimalUtils.fix(factory(), self, exact, status);
+            DecimalNodes.addStatus(this, self, status[0]);
+            return result;
+        }
+    }
+
+    abstract static class ContextUnaryOperationNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PDecimal doDecimal(PDecimalContext self, Object value,
+                        @Cached ConvertOperandNode convertOperandNode) {
+            PDecimal a = convertOperand(this, value, convertOperandNode);
+            int[] status = new int[1];
+            PDecimal result = DecimalUtils.plusMinus(factory(), self, a, isNegate(), isAbsolute(), status);
+            DecimalNodes.addStatus(this, self, status[0]);
+            return result;
+        }
+
+        boolean isNegate() {
+            return false;
+        }
+
+        boolean isAbsolute() {
+            return false;
+        }
+    }
+
+    @Builtin(name = "minus", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class MinusNode extends ContextUnaryOperationNode {
+        @Override
+        boolean isNegate() {
+            return true;
+        }
+    }
+
+    @Builtin(name = "plus", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class PlusNode extends ContextUnaryOperationNode {
+    }
+
+    @Builtin(name = "abs", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class AbsNode extends ContextUnaryOperationNode {
+        @Override
+        boolean isAbsolute() {
+            return true;
+        }
+    }
+
+    abstract static class ContextBinaryOperationNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        Object doDecimals(PDecimalContext self, Object left, Object right,
+                        @Cached ConvertOperandNode convertLeftNode,
+                        @Cached ConvertOperandNode convertRightNode) {
+            PDecimal a = convertOperand(this, left, convertLeftNode);
+            PDecimal b = convertOperand(this, right, convertRightNode);
+            int[] status = new int[1];
+            Object result = operation(factory(), self, a, b, status);
+            DecimalNodes.addStatus(this, self, status[0]);
+            return result;
+        }
+
+        @SuppressWarnings("unused")
+        Object operation(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+            throw CompilerDirectives.shouldNotReachHere();
+        }
+    }
+
+    @Builtin(name = "add", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class AddNode extends ContextBinaryOperationNode {
+        @Override
+        Object operation(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+            PDecimal result = DecimalUtils.tryAddSmall(factory, context, a, b, false);
+            if (result != null) {
+                return result;
+            }
+            return DecimalUtils.add(factory, context, a, b, false, status);
+        }
+    }
+
+    @Builtin(name = "subtract", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class SubtractNode extends ContextBinaryOperationNode {
+        @Override
+        Object operation(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+            PDecimal result = DecimalUtils.tryAddSmall(factory, context, a, b, true);
+            if (result != null) {
+                return result;
+            }
+            return DecimalUtils.add(factory, context, a, b, true, status);
+        }
+    }
+
+    @Builtin(name = "multiply", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class MultiplyNode extends ContextBinaryOperationNode {
+        @Override
+        Object operation(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+            PDecimal result = DecimalUtils.tryMultiplySmall(factory, context, a, b);
+            if (result != null) {
+                return result;
+            }
+            return DecimalUtils.multiply(factory, context, a, b, status);
+        }
+    }
+
+    @Builtin(name = "divide", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class DivideNode extends ContextBinaryOperationNode {
+        @Override
+        Object operation(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+            return DecimalUtils.divide(factory, context, a, b, status);
+        }
+    }
+
+    @Builtin(name = "divide_int", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class DivideIntNode extends ContextBinaryOperationNode {
+        @Override
+        Object operation(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+            return DecimalUtils.floorDivide(factory, context, a, b, status);
+        }
+    }
+
+    @Builtin(name = "remainder", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class RemainderNode extends ContextBinaryOperationNode {
+        @Override
+        Object operation(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+            return DecimalUtils.remainder(factory, context, a, b, status);
+        }
+    }
+
+    @Builtin(name = "divmod", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class DivModNode extends ContextBinaryOperationNode {
+        @Override
+        Object operation(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+            return factory.createTuple(DecimalUtils.divmod(factory, context, a, b, status));
+        }
+    }
+}
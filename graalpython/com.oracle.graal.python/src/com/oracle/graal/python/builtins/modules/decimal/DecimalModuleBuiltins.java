@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.decimal;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.nodes.BuiltinNames.J__DECIMAL;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.Python3Core;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.decimal.DecimalNodes.FromObjectNode;
+import com.oracle.graal.python.builtins.modules.decimal.DecimalNodes.GetCurrentContextNode;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.contextvars.PContextVar;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.SpecialAttributeNames;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonVarargsBuiltinNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+
+/**
+ * The {@code _decimal} module, the constructors of its types and the functions that access the
+ * current context. The signal classes, {@code localcontext} and the less common operations are
+ * defined in {@code lib-graalpython/_decimal.py}.
+ */
+@CoreFunctions(defineModule = J__DECIMAL)
+public final class DecimalModuleBuiltins extends PythonBuiltins {
+    static final int DEFAULT_TRAPS = PDecimalContext.INVALID_OPERATION | PDecimalContext.DIVISION_BY_ZERO | PDecimalContext.OVERFLOW;
+
+    private PContextVar contextVar;
+    private PDecimalContext defaultContext;
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DecimalModuleBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(Python3Core core) {
+        super.initialize(core);
+        PythonObjectFactory factory = core.factory();
+        addBuiltinConstant(SpecialAttributeNames.T___DOC__, "C decimal arithmetic module");
+        addBuiltinConstant("__version__", "1.70");
+        addBuiltinConstant("__libmpdec_version__", "2.5.1");
+        addBuiltinConstant("MAX_PREC", PDecimalContext.MAX_PREC);
+        addBuiltinConstant("MAX_EMAX", PDecimalContext.MAX_EMAX);
+        addBuiltinConstant("MIN_EMIN", PDecimalContext.MIN_EMIN);
+        addBuiltinConstant("MIN_ETINY", PDecimalContext.MIN_ETINY);
+        addBuiltinConstant("HAVE_THREADS", true);
+        addBuiltinConstant("HAVE_CONTEXTVAR", true);
+        for (String name : PDecimalContext.ROUNDING_NAMES) {
+            addBuiltinConstant(name, name);
+        }
+        contextVar = factory.createContextVar(PythonUtils.tsLiteral("decimal_context"), PContextVar.NO_DEFAULT);
+        defaultContext = factory.createDecimalContext(PythonBuiltinClassType.PDecimalContext, 28, PDecimalContext.ROUND_HALF_EVEN, -999999, 999999, 1, 0, 0, DEFAULT_TRAPS);
+        addBuiltinConstant("DefaultContext", defaultContext);
+        addBuiltinConstant("BasicContext", factory.createDecimalContext(PythonBuiltinClassType.PDecimalContext, 9, PDecimalContext.ROUND_HALF_UP, -999999, 999999, 1, 0, 0,
+                        DEFAULT_TRAPS | PDecimalContext.UNDERFLOW | PDecimalContext.CLAMPED));
+        addBuiltinConstant("ExtendedContext", factory.createDecimalContext(PythonBuiltinClassType.PDecimalContext, 9, PDecimalContext.ROUND_HALF_EVEN, -999999, 999999, 1, 0, 0, 0));
+    }
+
+    PContextVar getContextVar() {
+        return contextVar;
+    }
+
+    /**
+     * The template of new contexts, which may be modified by the user.
+     */
+    PDecimalContext getDefaultContext() {
+        return defaultContext;
+    }
+
+    @Builtin(name = "Decimal", minNumOfPositionalArgs = 1, constructsClass = PythonBuiltinClassType.PDecimal, parameterNames = {"$cls", "value", "context"})
+    @GenerateNodeFactory
+    abstract static class DecimalNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PDecimal decimal(Object cls, Object value, Object contextObj,
+                        @Cached GetCurrentContextNode getCurrentContextNode,
+                        @Cached FromObjectNode fromObjectNode) {
+            PDecimalContext context = DecimalNodes.getContextArgument(this, contextObj, getCurrentContextNode);
+            if (value == PNone.NO_VALUE) {
+                return factory().createDecimal(cls, PDecimal.FINITE, false, 0, 0);
+            }
+            return fromObjectNode.execute(cls, value, context);
+        }
+    }
+
+    /**
+     * Creates a context with the settings of {@code DefaultContext} and no flags, the arguments are
+     * applied by {@code Context.__init__}.
+     */
+    @Builtin(name = "Context", minNumOfPositionalArgs = 1, constructsClass = PythonBuiltinClassType.PDecimalContext, takesVarArgs = true, takesVarKeywordArgs = true)
+    @GenerateNodeFactory
+    abstract static class ContextNode extends PythonVarargsBuiltinNode {
+        @Specialization
+        PDecimalContext context(Object cls, @SuppressWarnings("unused") Object[] args, @SuppressWarnings("unused") PKeyword[] kwargs) {
+            PDecimalContext template = DecimalNodes.getModuleBuiltins(getContext()).getDefaultContext();
+            PDecimalContext context = DecimalNodes.copyContext(factory(), cls, template);
+            context.setFlags(0);
+            return context;
+        }
+    }
+
+    @Builtin(name = "getcontext")
+    @GenerateNodeFactory
+    abstract static class GetContextNode extends PythonBuiltinNode {
+        @Specialization
+        static PDecimalContext getcontext(
+                        @Cached GetCurrentContextNode getCurrentContextNode) {
+            return getCurrentContextNode.execute();
+        }
+    }
+
+    /**
+     * Sets the context of the current thread and {@code contextvars} context. The templates are
+     * copied so that they are not modified by operations, like in CPython.
+     */
+    @Builtin(name = "setcontext", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class SetContextNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object setcontext(PDecimalContext context) {
+            PythonContext pythonContext = getContext();
+            DecimalModuleBuiltins builtins = DecimalNodes.getModuleBuiltins(pythonContext);
+            PDecimalContext newContext = context;
+            if (isTemplate(pythonContext, context)) {
+                newContext = DecimalNodes.copyContext(factory(), PythonBuiltinClassType.PDecimalContext, context);
+                newContext.setFlags(0);
+            }
+            builtins.getContextVar().setValue(pythonContext.getThreadState(getLanguage()), newContext);
+            return PNone.NONE;
+        }
+
+        private static boolean isTemplate(PythonContext pythonContext, PDecimalContext context) {
+            return context == DecimalNodes.lookupModuleAttribute(pythonContext, "DefaultContext") || context == DecimalNodes.lookupModuleAttribute(pythonContext, "BasicContext") ||
+                            context == DecimalNodes.lookupModuleAttribute(pythonContext, "ExtendedContext");
+        }
+
+        @Specialization(guards = "!isContext(context)")
+        Object setcontext(@SuppressWarnings("unused") Object context) {
+            throw raise(TypeError, ErrorMessages.ARG_MUST_BE_A_CONTEXT);
+        }
+
+        static boolean isContext(Object context) {
+            return context instanceof PDecimalContext;
+        }
+    }
+}
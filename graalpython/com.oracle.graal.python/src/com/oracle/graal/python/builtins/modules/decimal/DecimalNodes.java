@@ -0,0 +1,451 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.decimal;
+
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.CLAMPED;
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.CONVERSION_SYNTAX;
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.DIVISION_BY_ZERO;
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.DIVISION_IMPOSSIBLE;
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.DIVISION_UNDEFINED;
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.FLOAT_OPERATION;
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.INEXACT;
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.INVALID_CONDITIONS;
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.INVALID_CONTEXT;
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.INVALID_OPERATION;
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.OVERFLOW;
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.ROUNDED;
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.SUBNORMAL;
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.UNDERFLOW;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.nodes.BuiltinNames.T__DECIMAL;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.SequenceNodes;
+import com.oracle.graal.python.builtins.objects.exception.PBaseException;
+import com.oracle.graal.python.builtins.objects.floats.PFloat;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.lib.PyLongCheckNode;
+import com.oracle.graal.python.lib.PyUnicodeCheckNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithContext;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
+import com.oracle.graal.python.nodes.util.CastToJavaBigIntegerNode;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.PythonOptions;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.dsl.TypeSystemReference;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Nodes shared by the builtins of the {@code _decimal} types: access to the current context,
+ * conversion of operands and signalling the conditions raised by an operation.
+ */
+public final class DecimalNodes {
+    /** The signals in the order in which they are chosen as the class of a trapped exception. */
+    private static final int[] EXCEPTION_ORDER = {INVALID_OPERATION, FLOAT_OPERATION, DIVISION_BY_ZERO, OVERFLOW, UNDERFLOW, SUBNORMAL, INEXACT, ROUNDED, CLAMPED};
+
+    /** The conditions in the order in which they are listed in the argument of the exception. */
+    private static final int[] CONDITION_ORDER = {INVALID_OPERATION, CONVERSION_SYNTAX, DIVISION_IMPOSSIBLE, DIVISION_UNDEFINED, INVALID_CONTEXT, FLOAT_OPERATION, DIVISION_BY_ZERO, OVERFLOW,
+                    UNDERFLOW, SUBNORMAL, INEXACT, ROUNDED, CLAMPED};
+
+    private static final TruffleString T_F = tsLiteral("F");
+    private static final TruffleString T_N = tsLiteral("n");
+    private static final TruffleString T_CAPITAL_N = tsLiteral("N");
+
+    private DecimalNodes() {
+    }
+
+    @TruffleBoundary
+    static DecimalModuleBuiltins getModuleBuiltins(PythonContext context) {
+        return (DecimalModuleBuiltins) context.lookupBuiltinModule(T__DECIMAL).getBuiltins();
+    }
+
+    /**
+     * Returns the context of the current thread and {@code contextvars} context, which is created
+     * from {@code DefaultContext} when it is first used.
+     */
+    @TruffleBoundary
+    static PDecimalContext getCurrentContext(PythonContext context, PythonContext.PythonThreadState threadState) {
+        DecimalModuleBuiltins builtins = getModuleBuiltins(context);
+        Object current = builtins.getContextVar().getValue(threadState);
+        if (current == null) {
+            PDecimalContext decimalContext = copyContext(context.factory(), PythonBuiltinClassType.PDecimalContext, builtins.getDefaultContext());
+            decimalContext.setFlags(0);
+            builtins.getContextVar().setValue(threadState, decimalContext);
+            return decimalContext;
+        }
+        return (PDecimalContext) current;
+    }
+
+    static PDecimalContext copyContext(PythonObjectFactory factory, Object cls, PDecimalContext context) {
+        return factory.createDecimalContext(cls, context.getPrec(), context.getRounding(), context.getEmin(), context.getEmax(), context.getCapitals(), context.getClamp(), context.getFlags(),
+                        context.getTraps());
+    }
+
+    public abstract static class GetCurrentContextNode extends PNodeWithContext {
+
+        public abstract PDecimalContext execute();
+
+        @Specialization
+        PDecimalContext get() {
+            PythonContext context = getContext();
+            return getCurrentContext(context, context.getThreadState(getLanguage()));
+        }
+    }
+
+    /**
+     * The {@code context} argument of the methods, which is the current context if omitted.
+     */
+    static PDecimalContext getContextArgument(PNodeWithRaise node, Object context, GetCurrentContextNode getCurrentContextNode) {
+        if (context == PNone.NO_VALUE || context == PNone.NONE) {
+            return getCurrentContextNode.execute();
+        } else if (context instanceof PDecimalContext) {
+            return (PDecimalContext) context;
+        }
+        throw node.raise(TypeError, ErrorMessages.OPTIONAL_ARG_MUST_BE_A_CONTEXT);
+    }
+
+    /**
+     * The {@code rounding} argument of the methods, which is the rounding of the context if
+     * omitted.
+     */
+    static int getRoundingArgument(PNodeWithRaise node, Object rounding, PDecimalContext context, PyUnicodeCheckNode unicodeCheckNode, CastToTruffleStringNode castToStringNode) {
+        if (rounding == PNone.NO_VALUE || rounding == PNone.NONE) {
+            return context.getRounding();
+        }
+        return toRounding(node, rounding, unicodeCheckNode, castToStringNode);
+    }
+
+    static int toRounding(PNodeWithRaise node, Object rounding, PyUnicodeCheckNode unicodeCheckNode, CastToTruffleStringNode castToStringNode) {
+        int result = -1;
+        if (unicodeCheckNode.execute(rounding)) {
+            result = roundingIndex(castToStringNode.execute(rounding));
+        }
+        if (result < 0) {
+            throw node.raise(TypeError, ErrorMessages.VALID_VALUES_FOR_ROUNDING);
+        }
+        return result;
+    }
+
+    @TruffleBoundary
+    private static int roundingIndex(TruffleString name) {
+        String javaName = name.toJavaStringUncached();
+        for (int i = 0; i < PDecimalContext.ROUNDING_NAMES.length; i++) {
+            if (PDecimalContext.ROUNDING_NAMES[i].equals(javaName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Converts the operand of a method, which must be a decimal or an integer.
+     */
+    static PDecimal convertOperand(PNodeWithRaise node, Object value, ConvertOperandNode convertOperandNode) {
+        PDecimal result = convertOperandNode.execute(value);
+        if (result == null) {
+            throw node.raise(TypeError, ErrorMessages.CONVERSION_FROM_P_TO_DECIMAL_NOT_SUPPORTED, value);
+        }
+        return result;
+    }
+
+    /**
+     * Converts an operand of an arithmetic operation to a {@link PDecimal}. Returns {@code null}
+     * if the operand is neither a decimal nor an integer.
+     */
+    public abstract static class ConvertOperandNode extends Node {
+
+        public abstract PDecimal execute(Object value);
+
+        @Specialization
+        static PDecimal doDecimal(PDecimal value) {
+            return value;
+        }
+
+        @Specialization
+        static PDecimal doBoolean(boolean value,
+                        @Cached PythonObjectFactory factory) {
+            return factory.createDecimal(PythonBuiltinClassType.PDecimal, PDecimal.FINITE, false, value ? 1 : 0, 0);
+        }
+
+        @Specialization
+        static PDecimal doInt(int value,
+                        @Cached PythonObjectFactory factory) {
+            return DecimalUtils.fromLong(factory, PythonBuiltinClassType.PDecimal, value);
+        }
+
+        @Specialization
+        static PDecimal doLong(long value,
+                        @Cached PythonObjectFactory factory) {
+            return DecimalUtils.fromLong(factory, PythonBuiltinClassType.PDecimal, value);
+        }
+
+        @Specialization
+        static PDecimal doPInt(PInt value,
+                        @Cached PythonObjectFactory factory) {
+            return DecimalUtils.fromBigInteger(factory, PythonBuiltinClassType.PDecimal, value.getValue());
+        }
+
+        @Fallback
+        static PDecimal doOther(@SuppressWarnings("unused") Object value) {
+            return null;
+        }
+    }
+
+    /**
+     * The exact conversion of the argument of the {@code Decimal} constructor and
+     * {@code Context.create_decimal}. Invalid strings raise {@code ConversionSyntax} and floats raise
+     * {@code FloatOperation} in the given context.
+     */
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    public abstract static class FromObjectNode extends PNodeWithRaise {
+
+        public abstract PDecimal execute(Object cls, Object value, PDecimalContext context);
+
+        @Specialization
+        static PDecimal doDecimal(Object cls, PDecimal value, @SuppressWarnings("unused") PDecimalContext context,
+                        @Cached GetClassNode getClassNode,
+                        @Cached PythonObjectFactory factory) {
+            if (cls == PythonBuiltinClassType.PDecimal && getClassNode.execute(value) == PythonBuiltinClassType.PDecimal) {
+                return value;
+            }
+            return DecimalUtils.copy(factory, cls, value, value.isNegative());
+        }
+
+        @Specialization
+        static PDecimal doBoolean(Object cls, boolean value, @SuppressWarnings("unused") PDecimalContext context,
+                        @Cached PythonObjectFactory factory) {
+            return factory.createDecimal(cls, PDecimal.FINITE, false, value ? 1 : 0, 0);
+        }
+
+        @Specialization
+        static PDecimal doLong(Object cls, long value, @SuppressWarnings("unused") PDecimalContext context,
+                        @Cached PythonObjectFactory factory) {
+            return DecimalUtils.fromLong(factory, cls, value);
+        }
+
+        @Specialization
+        PDecimal doDouble(Object cls, double value, PDecimalContext context,
+                        @Cached PythonObjectFactory factory) {
+            addStatus(this, context, FLOAT_OPERATION);
+            return DecimalUtils.fromDouble(factory, cls, value);
+        }
+
+        @Specialization
+        PDecimal doPFloat(Object cls, PFloat value, PDecimalContext context,
+                        @Cached PythonObjectFactory factory) {
+            return doDouble(cls, value.getValue(), context, factory);
+        }
+
+        @Specialization(guards = "!isDecimal(value)")
+        PDecimal doGeneric(Object cls, Object value, PDecimalContext context,
+                        @Cached PyLongCheckNode longCheckNode,
+                        @Cached CastToJavaBigIntegerNode castToBigIntegerNode,
+                        @Cached PyUnicodeCheckNode unicodeCheckNode,
+                        @Cached CastToTruffleStringNode castToStringNode,
+                        @Cached SequenceNodes.GetObjectArrayNode getObjectArrayNode,
+                        @Cached PythonObjectFactory factory) {
+            if (longCheckNode.execute(value)) {
+                return DecimalUtils.fromBigInteger(factory, cls, castToBigIntegerNode.execute(value));
+            } else if (unicodeCheckNode.execute(value)) {
+                PDecimal result = DecimalUtils.parse(factory, cls, castToStringNode.execute(value));
+                if (result == null) {
+                    addStatus(this, context, CONVERSION_SYNTAX);
+                    return factory.createDecimal(cls, PDecimal.QNAN, false, 0, 0);
+                }
+                return result;
+            } else if (value instanceof PTuple || value instanceof PList) {
+                return fromTuple(cls, getObjectArrayNode.execute(value), longCheckNode, castToBigIntegerNode, unicodeCheckNode, castToStringNode, getObjectArrayNode, factory);
+            }
+            throw raise(TypeError, ErrorMessages.CONVERSION_FROM_P_TO_DECIMAL_NOT_SUPPORTED, value);
+        }
+
+        /**
+         * Converts a {@code (sign, digits, exponent)} tuple as returned by {@code as_tuple}, where
+         * the exponent is {@code 'F'}, {@code 'n'} or {@code 'N'} for the special values.
+         */
+        @TruffleBoundary
+        private PDecimal fromTuple(Object cls, Object[] items, PyLongCheckNode longCheckNode, CastToJavaBigIntegerNode castToBigIntegerNode, PyUnicodeCheckNode unicodeCheckNode,
+                        CastToTruffleStringNode castToStringNode, SequenceNodes.GetObjectArrayNode getObjectArrayNode, PythonObjectFactory factory) {
+            if (items.length != 3) {
+                throw raise(ValueError, ErrorMessages.ARG_MUST_BE_SEQ_OF_LENGTH_3);
+            }
+            boolean negative;
+            if (longCheckNode.execute(items[0])) {
+                BigInteger sign = castToBigIntegerNode.execute(items[0]);
+                if (sign.signum() != 0 && !sign.equals(BigInteger.ONE)) {
+                    throw raise(ValueError, ErrorMessages.SIGN_MUST_BE_AN_INTEGER_0_OR_1);
+                }
+                negative = sign.signum() != 0;
+            } else {
+                throw raise(ValueError, ErrorMessages.SIGN_MUST_BE_AN_INTEGER_0_OR_1);
+            }
+            byte kind = PDecimal.FINITE;
+            long exponent = 0;
+            if (unicodeCheckNode.execute(items[2])) {
+                kind = specialKind(castToStringNode.execute(items[2]));
+                if (kind == -1) {
+                    throw raise(ValueError, ErrorMessages.EXPONENT_MUST_BE_AN_INTEGER);
+                }
+            } else if (longCheckNode.execute(items[2])) {
+                BigInteger exp = castToBigIntegerNode.execute(items[2]);
+                if (exp.bitLength() >= Long.SIZE - 1) {
+                    throw raise(ValueError, ErrorMessages.EXPONENT_MUST_BE_AN_INTEGER);
+                }
+                exponent = exp.longValue();
+            } else {
+                throw raise(ValueError, ErrorMessages.EXPONENT_MUST_BE_AN_INTEGER);
+            }
+            if (!(items[1] instanceof PTuple || items[1] instanceof PList)) {
+                throw raise(ValueError, ErrorMessages.COEFFICIENT_MUST_BE_A_TUPLE_OF_DIGITS);
+            }
+            Object[] digits = getObjectArrayNode.execute(items[1]);
+            if (kind == PDecimal.INFINITE) {
+                return factory.createDecimal(cls, kind, negative, 0, 0);
+            }
+            BigInteger coefficient = BigInteger.ZERO;
+            long small = 0;
+            for (int i = 0; i < digits.length; i++) {
+                Object digit = digits[i];
+                long d = digit instanceof Integer ? (int) digit : digit instanceof Long ? (long) digit : -1;
+                if (d < 0 || d > 9) {
+                    throw raise(ValueError, ErrorMessages.COEFFICIENT_MUST_BE_A_TUPLE_OF_DIGITS);
+                }
+                if (i < 18) {
+                    small = small * 10 + d;
+                } else {
+                    coefficient = DecimalUtils.appendDigit(i == 18 ? BigInteger.valueOf(small) : coefficient, d);
+                }
+            }
+            if (digits.length <= 18) {
+                return factory.createDecimal(cls, kind, negative, small, exponent);
+            }
+            return DecimalUtils.create(factory, cls, kind, negative, coefficient, exponent);
+        }
+
+        @TruffleBoundary
+        private static byte specialKind(TruffleString exponent) {
+            if (exponent.equalsUncached(T_F, TS_ENCODING)) {
+                return PDecimal.INFINITE;
+            } else if (exponent.equalsUncached(T_N, TS_ENCODING)) {
+                return PDecimal.QNAN;
+            } else if (exponent.equalsUncached(T_CAPITAL_N, TS_ENCODING)) {
+                return PDecimal.SNAN;
+            }
+            return -1;
+        }
+
+        static boolean isDecimal(Object value) {
+            return value instanceof PDecimal;
+        }
+    }
+
+    /**
+     * Adds the conditions raised by an operation to the flags of the context and raises the
+     * exception of the first of them that is trapped, like {@code dec_addstatus} in CPython.
+     */
+    public static void addStatus(Node node, PDecimalContext context, int status) {
+        if (status == 0) {
+            return;
+        }
+        context.setFlags(context.getFlags() | PDecimalContext.toSignals(status));
+        int traps = context.getTraps();
+        if ((traps & INVALID_OPERATION) != 0) {
+            traps |= INVALID_CONDITIONS;
+        }
+        int trapped = status & traps;
+        if (trapped != 0) {
+            throw raiseSignal(node, trapped);
+        }
+    }
+
+    @TruffleBoundary
+    private static PException raiseSignal(Node node, int trapped) {
+        PythonContext context = PythonContext.get(node);
+        Object exceptionClass = null;
+        for (int signal : EXCEPTION_ORDER) {
+            int mask = signal == INVALID_OPERATION ? INVALID_CONDITIONS : signal;
+            if ((trapped & mask) != 0) {
+                exceptionClass = lookupModuleAttribute(context, conditionName(signal));
+                break;
+            }
+        }
+        ArrayList<Object> conditions = new ArrayList<>();
+        for (int condition : CONDITION_ORDER) {
+            if ((trapped & condition) != 0) {
+                conditions.add(lookupModuleAttribute(context, conditionName(condition)));
+            }
+        }
+        Object exception = CallNode.getUncached().execute(exceptionClass, context.factory().createList(conditions.toArray()));
+        return PRaiseNode.raise(node, (PBaseException) exception, PythonOptions.isPExceptionWithJavaStacktrace(PythonLanguage.get(node)));
+    }
+
+    static String conditionName(int condition) {
+        return PDecimalContext.CONDITION_NAMES[Integer.numberOfTrailingZeros(condition)];
+    }
+
+    @TruffleBoundary
+    static Object lookupModuleAttribute(PythonContext context, String name) {
+        return context.lookupBuiltinModule(T__DECIMAL).getAttribute(toTruffleStringUncached(name));
+    }
+}
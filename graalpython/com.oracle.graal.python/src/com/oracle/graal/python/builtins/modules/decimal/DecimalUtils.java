@@ -0,0 +1,1281 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.decimal;
+
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.CLAMPED;
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.DIVISION_BY_ZERO;
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.DIVISION_IMPOSSIBLE;
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.DIVISION_UNDEFINED;
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.INEXACT;
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.INVALID_OPERATION;
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.OVERFLOW;
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.ROUNDED;
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.SUBNORMAL;
+import static com.oracle.graal.python.builtins.modules.decimal.PDecimalContext.UNDERFLOW;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.modules.SysModuleBuiltins;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.OverflowException;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * The arithmetic of {@link PDecimal}, following the General Decimal Arithmetic Specification like
+ * CPython's {@code _pydecimal}. The methods here work on {@link BigInteger} coefficients and are
+ * the slow path of the nodes, which handle coefficients that fit into a long inline. The
+ * {@code status} arguments are single element arrays to which the conditions raised by an operation
+ * are added, the caller applies them to the context once the operation is complete.
+ */
+public final class DecimalUtils {
+    static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L, 10000000000L, 100000000000L, 1000000000000L,
+                    10000000000000L, 100000000000000L, 1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L};
+
+    private static final BigInteger[] BIG_POWERS_OF_TEN = new BigInteger[128];
+    private static final double LOG10_2 = Math.log10(2);
+    private static final BigInteger HASH_MODULUS = BigInteger.valueOf(SysModuleBuiltins.HASH_MODULUS);
+    private static final BigInteger HASH_10_INVERSE = BigInteger.TEN.modInverse(HASH_MODULUS);
+
+    static {
+        BIG_POWERS_OF_TEN[0] = BigInteger.ONE;
+        for (int i = 1; i < BIG_POWERS_OF_TEN.length; i++) {
+            BIG_POWERS_OF_TEN[i] = BIG_POWERS_OF_TEN[i - 1].multiply(BigInteger.TEN);
+        }
+    }
+
+    private DecimalUtils() {
+    }
+
+    /**
+     * The number of decimal digits of a non-negative long, zero has one digit.
+     */
+    static int digits(long value) {
+        assert value >= 0;
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+
+    @TruffleBoundary
+    static int digits(BigInteger value) {
+        int bits = value.bitLength();
+        if (bits < Long.SIZE) {
+            return digits(value.longValue());
+        }
+        // 2**(bits-1) <= value < 2**bits, so the number of digits is either estimate or one more
+        int estimate = (int) ((bits - 1) * LOG10_2) + 1;
+        return value.compareTo(pow10(estimate)) >= 0 ? estimate + 1 : estimate;
+    }
+
+    @TruffleBoundary
+    static BigInteger appendDigit(BigInteger coefficient, long digit) {
+        return coefficient.multiply(BigInteger.TEN).add(BigInteger.valueOf(digit));
+    }
+
+    @TruffleBoundary
+    static BigInteger pow10(long n) {
+        assert n >= 0;
+        if (n < BIG_POWERS_OF_TEN.length) {
+            return BIG_POWERS_OF_TEN[(int) n];
+        }
+        return BigInteger.TEN.pow(Math.toIntExact(n));
+    }
+
+    /**
+     * Whether a coefficient that is being rounded should be incremented.
+     *
+     * @param lastDigit the last digit that is kept
+     * @param halfComparison the sign of the comparison of the discarded digits with one half
+     * @param nonZero whether any of the discarded digits is non-zero
+     */
+    static boolean roundsUp(int rounding, boolean negative, int lastDigit, int halfComparison, boolean nonZero) {
+        if (!nonZero) {
+            return false;
+        }
+        switch (rounding) {
+            case PDecimalContext.ROUND_UP:
+                return true;
+            case PDecimalContext.ROUND_DOWN:
+                return false;
+            case PDecimalContext.ROUND_CEILING:
+                return !negative;
+            case PDecimalContext.ROUND_FLOOR:
+                return negative;
+            case PDecimalContext.ROUND_HALF_UP:
+                return halfComparison >= 0;
+            case PDecimalContext.ROUND_HALF_DOWN:
+                return halfComparison > 0;
+            case PDecimalContext.ROUND_HALF_EVEN:
+                return halfComparison > 0 || (halfComparison == 0 && (lastDigit & 1) != 0);
+            default:
+                assert rounding == PDecimalContext.ROUND_05UP;
+                return lastDigit == 0 || lastDigit == 5;
+        }
+    }
+
+    /**
+     * Drops the given number of digits (1 to 18) of a long coefficient.
+     */
+    static long round(long coefficient, int drop, int rounding, boolean negative) {
+        long power = POWERS_OF_TEN[drop];
+        long quotient = coefficient / power;
+        long remainder = coefficient - quotient * power;
+        int halfComparison = Long.compare(remainder, power >> 1);
+        return roundsUp(rounding, negative, (int) (quotient % 10), halfComparison, remainder != 0) ? quotient + 1 : quotient;
+    }
+
+    /**
+     * Drops the given number of digits of a coefficient, which may be more than it has.
+     */
+    @TruffleBoundary
+    static BigInteger round(BigInteger coefficient, long drop, int rounding, boolean negative, int[] status) {
+        assert drop > 0;
+        BigInteger quotient;
+        int halfComparison;
+        boolean nonZero;
+        if (drop > digits(coefficient)) {
+            // less than a tenth of the last kept digit
+            quotient = BigInteger.ZERO;
+            halfComparison = -1;
+            nonZero = coefficient.signum() != 0;
+        } else {
+            BigInteger power = pow10(drop);
+            BigInteger[] qr = coefficient.divideAndRemainder(power);
+            quotient = qr[0];
+            halfComparison = qr[1].shiftLeft(1).compareTo(power);
+            nonZero = qr[1].signum() != 0;
+        }
+        if (nonZero) {
+            status[0] |= INEXACT;
+        }
+        if (roundsUp(rounding, negative, lastDigit(quotient), halfComparison, nonZero)) {
+            quotient = quotient.add(BigInteger.ONE);
+        }
+        return quotient;
+    }
+
+    private static int lastDigit(BigInteger value) {
+        return value.bitLength() < Long.SIZE ? (int) (value.longValue() % 10) : value.mod(BigInteger.TEN).intValue();
+    }
+
+    /**
+     * Changes the exponent of a finite number without looking at the context. Inexactness is
+     * reported in the status, but no other conditions.
+     */
+    @TruffleBoundary
+    static BigInteger rescale(BigInteger coefficient, long exponent, long newExponent, int rounding, boolean negative, int[] status) {
+        if (coefficient.signum() == 0) {
+            return coefficient;
+        }
+        if (exponent >= newExponent) {
+            return coefficient.multiply(pow10(exponent - newExponent));
+        }
+        return round(coefficient, newExponent - exponent, rounding, negative, status);
+    }
+
+    // Creating values
+
+    @TruffleBoundary
+    static PDecimal create(PythonObjectFactory factory, Object cls, byte kind, boolean negative, BigInteger coefficient, long exponent) {
+        if (coefficient.bitLength() < Long.SIZE) {
+            return factory.createDecimal(cls, kind, negative, coefficient.longValue(), exponent);
+        }
+        return factory.createDecimal(cls, kind, negative, coefficient, exponent);
+    }
+
+    static PDecimal create(PythonObjectFactory factory, boolean negative, BigInteger coefficient, long exponent) {
+        return create(factory, PythonBuiltinClassType.PDecimal, PDecimal.FINITE, negative, coefficient, exponent);
+    }
+
+    static PDecimal create(PythonObjectFactory factory, boolean negative, long coefficient, long exponent) {
+        return factory.createDecimal(PythonBuiltinClassType.PDecimal, PDecimal.FINITE, negative, coefficient, exponent);
+    }
+
+    static PDecimal nan(PythonObjectFactory factory) {
+        return factory.createDecimal(PythonBuiltinClassType.PDecimal, PDecimal.QNAN, false, 0, 0);
+    }
+
+    static PDecimal infinity(PythonObjectFactory factory, boolean negative) {
+        return factory.createDecimal(PythonBuiltinClassType.PDecimal, PDecimal.INFINITE, negative, 0, 0);
+    }
+
+    /**
+     * Returns a copy of the value as an instance of the given class.
+     */
+    static PDecimal copy(PythonObjectFactory factory, Object cls, PDecimal value, boolean negative) {
+        if (value.isSmall()) {
+            return factory.createDecimal(cls, value.getKind(), negative, value.getCoefficient(), value.isFinite() ? value.getExponent() : 0);
+        }
+        return factory.createDecimal(cls, value.getKind(), negative, value.getBigCoefficient(), value.isFinite() ? value.getExponent() : 0);
+    }
+
+    @TruffleBoundary
+    static PDecimal fromBigInteger(PythonObjectFactory factory, Object cls, BigInteger value) {
+        return create(factory, cls, PDecimal.FINITE, value.signum() < 0, value.abs(), 0);
+    }
+
+    static PDecimal fromLong(PythonObjectFactory factory, Object cls, long value) {
+        if (value == Long.MIN_VALUE) {
+            return fromBigInteger(factory, cls, BigInteger.valueOf(value));
+        }
+        return factory.createDecimal(cls, PDecimal.FINITE, value < 0, Math.abs(value), 0);
+    }
+
+    /**
+     * Exact conversion of a float, as {@code Decimal.from_float}.
+     */
+    @TruffleBoundary
+    static PDecimal fromDouble(PythonObjectFactory factory, Object cls, double value) {
+        boolean negative = Double.doubleToRawLongBits(value) < 0;
+        if (Double.isNaN(value)) {
+            return factory.createDecimal(cls, PDecimal.QNAN, negative, 0, 0);
+        } else if (Double.isInfinite(value)) {
+            return factory.createDecimal(cls, PDecimal.INFINITE, negative, 0, 0);
+        }
+        BigDecimal exact = new BigDecimal(Math.abs(value));
+        return create(factory, cls, PDecimal.FINITE, negative, exact.unscaledValue(), -exact.scale());
+    }
+
+    /**
+     * Parses the string syntax of the specification, ignoring surrounding whitespace and
+     * underscores and accepting any Unicode digits. Returns {@code null} on a syntax error.
+     */
+    @TruffleBoundary
+    static PDecimal parse(PythonObjectFactory factory, Object cls, TruffleString string) {
+        String value = string.toJavaStringUncached();
+        StringBuilder sb = new StringBuilder(value.length());
+        int start = 0;
+        int end = value.length();
+        while (start < end && isSpace(value.codePointAt(start))) {
+            start += Character.charCount(value.codePointAt(start));
+        }
+        while (end > start && isSpace(value.codePointBefore(end))) {
+            end -= Character.charCount(value.codePointBefore(end));
+        }
+        for (int i = start; i < end;) {
+            int c = value.codePointAt(i);
+            i += Character.charCount(c);
+            if (c == '_') {
+                continue;
+            }
+            if (c >= 128) {
+                int digit = Character.digit(c, 10);
+                if (digit < 0) {
+                    return null;
+                }
+                c = '0' + digit;
+            }
+            sb.append((char) c);
+        }
+        String s = sb.toString();
+        int pos = 0;
+        boolean negative = false;
+        if (pos < s.length() && (s.charAt(pos) == '+' || s.charAt(pos) == '-')) {
+            negative = s.charAt(pos) == '-';
+            pos++;
+        }
+        String rest = s.substring(pos);
+        if (rest.equalsIgnoreCase("inf") || rest.equalsIgnoreCase("infinity")) {
+            return factory.createDecimal(cls, PDecimal.INFINITE, negative, 0, 0);
+        }
+        byte nanKind = -1;
+        if (rest.regionMatches(true, 0, "nan", 0, 3)) {
+            nanKind = PDecimal.QNAN;
+            pos += 3;
+        } else if (rest.regionMatches(true, 0, "snan", 0, 4)) {
+            nanKind = PDecimal.SNAN;
+            pos += 4;
+        }
+        if (nanKind != -1) {
+            if (!allDigits(s, pos, s.length())) {
+                return null;
+            }
+            BigInteger payload = pos == s.length() ? BigInteger.ZERO : new BigInteger(s.substring(pos));
+            return create(factory, cls, nanKind, negative, payload, 0);
+        }
+        int intStart = pos;
+        while (pos < s.length() && isDigit(s.charAt(pos))) {
+            pos++;
+        }
+        int intEnd = pos;
+        int fracStart = pos;
+        int fracEnd = pos;
+        if (pos < s.length() && s.charAt(pos) == '.') {
+            fracStart = ++pos;
+            while (pos < s.length() && isDigit(s.charAt(pos))) {
+                pos++;
+            }
+            fracEnd = pos;
+        }
+        if (intStart == intEnd && fracStart == fracEnd) {
+            return null;
+        }
+        long exponent = 0;
+        if (pos < s.length() && (s.charAt(pos) == 'e' || s.charAt(pos) == 'E')) {
+            pos++;
+            boolean negativeExponent = false;
+            if (pos < s.length() && (s.charAt(pos) == '+' || s.charAt(pos) == '-')) {
+                negativeExponent = s.charAt(pos) == '-';
+                pos++;
+            }
+            int expStart = pos;
+            while (pos < s.length() && s.charAt(pos) == '0') {
+                pos++;
+            }
+            int significantStart = pos;
+            while (pos < s.length() && isDigit(s.charAt(pos))) {
+                pos++;
+            }
+            if (pos == expStart || pos - significantStart > 17) {
+                // no digits or an exponent beyond anything a context can represent
+                return null;
+            }
+            exponent = pos == significantStart ? 0 : Long.parseLong(s.substring(significantStart, pos));
+            if (negativeExponent) {
+                exponent = -exponent;
+            }
+        }
+        if (pos != s.length()) {
+            return null;
+        }
+        exponent -= fracEnd - fracStart;
+        String digits = s.substring(intStart, intEnd) + s.substring(fracStart, fracEnd);
+        int firstNonZero = 0;
+        while (firstNonZero < digits.length() - 1 && digits.charAt(firstNonZero) == '0') {
+            firstNonZero++;
+        }
+        digits = digits.substring(firstNonZero);
+        if (digits.length() <= 18) {
+            return factory.createDecimal(cls, PDecimal.FINITE, negative, Long.parseLong(digits), exponent);
+        }
+        return create(factory, cls, PDecimal.FINITE, negative, new BigInteger(digits), exponent);
+    }
+
+    private static boolean isSpace(int c) {
+        return Character.isWhitespace(c) || Character.isSpaceChar(c);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean allDigits(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isDigit(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Converting values
+
+    /**
+     * The string representation in scientific or engineering notation.
+     */
+    @TruffleBoundary
+    static String toString(PDecimal value, boolean engineering, boolean capitals) {
+        StringBuilder sb = new StringBuilder();
+        if (value.isNegative()) {
+            sb.append('-');
+        }
+        if (value.isSpecial()) {
+            if (value.isInfinite()) {
+                return sb.append("Infinity").toString();
+            }
+            sb.append(value.isSNaN() ? "sNaN" : "NaN");
+            if (value.isSmall() ? value.getCoefficient() != 0 : true) {
+                sb.append(value.getBigCoefficient());
+            }
+            return sb.toString();
+        }
+        String coefficient = value.isSmall() ? Long.toString(value.getCoefficient()) : value.getBigCoefficient().toString();
+        long exponent = value.getExponent();
+        long leftDigits = exponent + coefficient.length();
+        long dotPlace;
+        if (exponent <= 0 && leftDigits > -6) {
+            dotPlace = leftDigits;
+        } else if (!engineering) {
+            dotPlace = 1;
+        } else if (value.isZero()) {
+            dotPlace = Math.floorMod(leftDigits + 1, 3) - 1;
+        } else {
+            dotPlace = Math.floorMod(leftDigits - 1, 3) + 1;
+        }
+        if (dotPlace <= 0) {
+            sb.append("0.");
+            for (long i = dotPlace; i < 0; i++) {
+                sb.append('0');
+            }
+            sb.append(coefficient);
+        } else if (dotPlace >= coefficient.length()) {
+            sb.append(coefficient);
+            for (long i = coefficient.length(); i < dotPlace; i++) {
+                sb.append('0');
+            }
+        } else {
+            sb.append(coefficient, 0, (int) dotPlace).append('.').append(coefficient, (int) dotPlace, coefficient.length());
+        }
+        if (leftDigits != dotPlace) {
+            long shownExponent = leftDigits - dotPlace;
+            sb.append(capitals ? 'E' : 'e').append(shownExponent < 0 ? '-' : '+').append(Math.abs(shownExponent));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Rounds a finite value to an integer.
+     */
+    @TruffleBoundary
+    static BigInteger toBigInteger(PDecimal value, int rounding) {
+        if (value.getExponent() >= 0) {
+            return toBigInteger(value);
+        }
+        BigInteger result = round(value.getBigCoefficient(), -value.getExponent(), rounding, value.isNegative(), new int[1]);
+        return value.isNegative() ? result.negate() : result;
+    }
+
+    /**
+     * Truncates a finite value to an integer.
+     */
+    @TruffleBoundary
+    static BigInteger toBigInteger(PDecimal value) {
+        BigInteger coefficient = value.getBigCoefficient();
+        long exponent = value.getExponent();
+        BigInteger result;
+        if (exponent >= 0) {
+            result = coefficient.multiply(pow10(exponent));
+        } else if (-exponent >= value.getDigits()) {
+            result = BigInteger.ZERO;
+        } else {
+            result = coefficient.divide(pow10(-exponent));
+        }
+        return value.isNegative() ? result.negate() : result;
+    }
+
+    private static final double[] EXACT_POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /**
+     * The nearest float. Coefficients below 2**53 with exponents of up to 22 are converted with a
+     * single correctly rounded multiplication or division, like in {@code strtod}.
+     */
+    static double toDouble(PDecimal value) {
+        if (value.isFinite() && value.isSmall() && value.getCoefficient() < (1L << 53) && Math.abs(value.getExponent()) < EXACT_POWERS_OF_TEN.length) {
+            double coefficient = value.getCoefficient();
+            long exponent = value.getExponent();
+            double result = exponent >= 0 ? coefficient * EXACT_POWERS_OF_TEN[(int) exponent] : coefficient / EXACT_POWERS_OF_TEN[(int) -exponent];
+            return value.isNegative() ? -result : result;
+        }
+        return toDoubleGeneric(value);
+    }
+
+    @TruffleBoundary
+    private static double toDoubleGeneric(PDecimal value) {
+        if (value.isNaN()) {
+            return value.isNegative() ? -Double.NaN : Double.NaN;
+        }
+        return Double.parseDouble(toString(value, false, true));
+    }
+
+    /**
+     * The hash of a value that is not a signaling NaN, which is equal to the hash of a numerically equal int,
+     * float or Fraction.
+     */
+    static long hash(PDecimal value) {
+        if (value.isFinite() && value.isSmall() && value.getExponent() == 0) {
+            long hash = value.getCoefficient() % SysModuleBuiltins.HASH_MODULUS;
+            hash = value.isNegative() ? -hash : hash;
+            return hash == -1 ? -2 : hash;
+        }
+        return hashGeneric(value);
+    }
+
+    @TruffleBoundary
+    private static long hashGeneric(PDecimal value) {
+        assert !value.isSNaN();
+        if (value.isInfinite()) {
+            return value.isNegative() ? -SysModuleBuiltins.HASH_INF : SysModuleBuiltins.HASH_INF;
+        } else if (value.isNaN()) {
+            return SysModuleBuiltins.HASH_NAN;
+        }
+        long exponent = value.getExponent();
+        BigInteger exponentHash = exponent >= 0 ? BigInteger.TEN.modPow(BigInteger.valueOf(exponent), HASH_MODULUS) : HASH_10_INVERSE.modPow(BigInteger.valueOf(-exponent), HASH_MODULUS);
+        long hash = value.getBigCoefficient().multiply(exponentHash).mod(HASH_MODULUS).longValue();
+        if (value.isNegative()) {
+            hash = -hash;
+        }
+        return hash == -1 ? -2 : hash;
+    }
+
+    /**
+     * Returns {@code {numerator, denominator}} in lowest terms of a finite value.
+     */
+    @TruffleBoundary
+    static BigInteger[] asIntegerRatio(PDecimal value) {
+        if (value.isZero()) {
+            return new BigInteger[]{BigInteger.ZERO, BigInteger.ONE};
+        }
+        BigInteger n = value.getBigCoefficient();
+        long exponent = value.getExponent();
+        BigInteger d;
+        if (exponent >= 0) {
+            n = n.multiply(pow10(exponent));
+            d = BigInteger.ONE;
+        } else {
+            // abs(value) == n / (2**d2 * 5**d5)
+            long d5 = -exponent;
+            BigInteger five = BigInteger.valueOf(5);
+            while (d5 > 0) {
+                BigInteger[] qr = n.divideAndRemainder(five);
+                if (qr[1].signum() != 0) {
+                    break;
+                }
+                n = qr[0];
+                d5--;
+            }
+            long d2 = -exponent;
+            int shift2 = (int) Math.min(n.getLowestSetBit(), d2);
+            n = n.shiftRight(shift2);
+            d2 -= shift2;
+            d = five.pow(Math.toIntExact(d5)).shiftLeft(Math.toIntExact(d2));
+        }
+        return new BigInteger[]{value.isNegative() ? n.negate() : n, d};
+    }
+
+    // The context dependent part of all operations
+
+    /**
+     * Rounds a finite result to the precision of the context and fits its exponent into the range
+     * of the context, like {@code Decimal._fix} in {@code _pydecimal}.
+     */
+    @TruffleBoundary
+    static PDecimal fix(PythonObjectFactory factory, PDecimalContext context, boolean negative, BigInteger coefficient, long exponent, int[] status) {
+        long etiny = context.etiny();
+        long etop = context.etop();
+        if (coefficient.signum() == 0) {
+            long expMax = context.getClamp() == 0 ? context.getEmax() : etop;
+            long newExponent = Math.min(Math.max(exponent, etiny), expMax);
+            if (newExponent != exponent) {
+                status[0] |= CLAMPED;
+            }
+            return create(factory, negative, coefficient, newExponent);
+        }
+        int prec = context.getPrec();
+        int digits = digits(coefficient);
+        // the smallest allowed exponent of the result
+        long expMin = digits + exponent - prec;
+        if (expMin > etop) {
+            status[0] |= OVERFLOW | INEXACT | ROUNDED;
+            return overflowResult(factory, context, negative);
+        }
+        boolean subnormal = expMin < etiny;
+        if (subnormal) {
+            expMin = etiny;
+        }
+        if (exponent < expMin) {
+            int[] inexact = new int[1];
+            BigInteger rounded = round(coefficient, expMin - exponent, context.getRounding(), negative, inexact);
+            if (digits(rounded) > prec) {
+                rounded = rounded.divide(BigInteger.TEN);
+                expMin++;
+            }
+            boolean changed = inexact[0] != 0;
+            PDecimal result;
+            if (expMin > etop) {
+                status[0] |= OVERFLOW;
+                result = overflowResult(factory, context, negative);
+            } else {
+                result = create(factory, negative, rounded, expMin);
+            }
+            if (subnormal) {
+                status[0] |= changed ? UNDERFLOW | SUBNORMAL : SUBNORMAL;
+            }
+            if (changed) {
+                status[0] |= INEXACT;
+            }
+            status[0] |= ROUNDED;
+            if (result.isZero()) {
+                status[0] |= CLAMPED;
+            }
+            return result;
+        }
+        if (subnormal) {
+            status[0] |= SUBNORMAL;
+        }
+        if (context.getClamp() == 1 && exponent > etop) {
+            status[0] |= CLAMPED;
+            return create(factory, negative, coefficient.multiply(pow10(exponent - etop)), etop);
+        }
+        return create(factory, negative, coefficient, exponent);
+    }
+
+    /**
+     * Whether a finite result is already within the precision and exponent range of the context,
+     * so that {@link #fix} would return it unchanged without raising any condition.
+     */
+    static boolean isFixed(PDecimalContext context, long coefficient, long exponent) {
+        int digits = digits(coefficient);
+        if (digits > context.getPrec()) {
+            return false;
+        }
+        if (coefficient == 0) {
+            return context.etiny() <= exponent && exponent <= (context.getClamp() == 0 ? context.getEmax() : context.etop());
+        }
+        long adjusted = exponent + digits - 1;
+        return context.getEmin() <= adjusted && adjusted <= context.getEmax() && (context.getClamp() == 0 || exponent <= context.etop());
+    }
+
+    static PDecimal fix(PythonObjectFactory factory, PDecimalContext context, boolean negative, long coefficient, long exponent, int[] status) {
+        if (isFixed(context, coefficient, exponent)) {
+            return create(factory, negative, coefficient, exponent);
+        }
+        return fix(factory, context, negative, BigInteger.valueOf(coefficient), exponent, status);
+    }
+
+    static PDecimal fix(PythonObjectFactory factory, PDecimalContext context, PDecimal value, int[] status) {
+        if (value.isNaN()) {
+            return fixNaN(factory, context, value);
+        } else if (value.isInfinite()) {
+            return infinity(factory, value.isNegative());
+        }
+        if (value.isSmall()) {
+            return fix(factory, context, value.isNegative(), value.getCoefficient(), value.getExponent(), status);
+        }
+        return fix(factory, context, value.isNegative(), value.getBigCoefficient(), value.getExponent(), status);
+    }
+
+    private static PDecimal overflowResult(PythonObjectFactory factory, PDecimalContext context, boolean negative) {
+        int rounding = context.getRounding();
+        boolean toInfinity;
+        switch (rounding) {
+            case PDecimalContext.ROUND_HALF_UP:
+            case PDecimalContext.ROUND_HALF_EVEN:
+            case PDecimalContext.ROUND_HALF_DOWN:
+            case PDecimalContext.ROUND_UP:
+                toInfinity = true;
+                break;
+            case PDecimalContext.ROUND_CEILING:
+                toInfinity = !negative;
+                break;
+            case PDecimalContext.ROUND_FLOOR:
+                toInfinity = negative;
+                break;
+            default:
+                toInfinity = false;
+        }
+        if (toInfinity) {
+            return infinity(factory, negative);
+        }
+        BigInteger nines = pow10(context.getPrec()).subtract(BigInteger.ONE);
+        return create(factory, negative, nines, context.getEmax() - context.getPrec() + 1);
+    }
+
+    /**
+     * Cuts the payload of a NaN to what fits into the precision of the context.
+     */
+    @TruffleBoundary
+    static PDecimal fixNaN(PythonObjectFactory factory, PDecimalContext context, PDecimal value) {
+        BigInteger payload = value.getBigCoefficient();
+        int maxPayloadDigits = context.getPrec() - context.getClamp();
+        if (payload.signum() != 0 && digits(payload) > maxPayloadDigits) {
+            payload = payload.mod(pow10(maxPayloadDigits));
+        }
+        return create(factory, PythonBuiltinClassType.PDecimal, value.getKind(), value.isNegative(), payload, 0);
+    }
+
+    /**
+     * The NaN result of an operation with a NaN operand, or {@code null} if there is none.
+     */
+    @TruffleBoundary
+    static PDecimal checkNaNs(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+        if (a.isSNaN() || (b != null && b.isSNaN())) {
+            PDecimal sNaN = a.isSNaN() ? a : b;
+            status[0] |= INVALID_OPERATION;
+            return fixNaN(factory, context, create(factory, PythonBuiltinClassType.PDecimal, PDecimal.QNAN, sNaN.isNegative(), sNaN.getBigCoefficient(), 0));
+        } else if (a.isNaN()) {
+            return fixNaN(factory, context, a);
+        } else if (b != null && b.isNaN()) {
+            return fixNaN(factory, context, b);
+        }
+        return null;
+    }
+
+    @TruffleBoundary
+    private static int compareGeneric(PDecimal a, PDecimal b) {
+        if (a.isSpecial() || b.isSpecial()) {
+            return Integer.compare(infinitySign(a), infinitySign(b));
+        }
+        if (a.isZero()) {
+            return b.isZero() ? 0 : (b.isNegative() ? 1 : -1);
+        } else if (b.isZero()) {
+            return a.isNegative() ? -1 : 1;
+        }
+        if (a.isNegative() != b.isNegative()) {
+            return a.isNegative() ? -1 : 1;
+        }
+        int sign = a.isNegative() ? -1 : 1;
+        long adjustedA = a.adjusted();
+        long adjustedB = b.adjusted();
+        if (adjustedA != adjustedB) {
+            return adjustedA > adjustedB ? sign : -sign;
+        }
+        // same adjusted exponent, so padding the coefficients to the same exponent is cheap
+        long ea = a.getExponent();
+        long eb = b.getExponent();
+        BigInteger ca = a.getBigCoefficient();
+        BigInteger cb = b.getBigCoefficient();
+        if (ea > eb) {
+            ca = ca.multiply(pow10(ea - eb));
+        } else if (eb > ea) {
+            cb = cb.multiply(pow10(eb - ea));
+        }
+        return sign * ca.compareTo(cb);
+    }
+
+    private static int infinitySign(PDecimal value) {
+        if (value.isInfinite()) {
+            return value.isNegative() ? -1 : 1;
+        }
+        return 0;
+    }
+
+    // Fast paths for finite values with long coefficients, which return null if the general
+    // operation is needed
+
+    /**
+     * Exact addition of two small values, if the result is non-zero and fits into the context.
+     */
+    static PDecimal tryAddSmall(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, boolean subtract) {
+        if (!a.isFinite() || !b.isFinite() || !a.isSmall() || !b.isSmall()) {
+            return null;
+        }
+        long ca = a.getCoefficient();
+        long cb = b.getCoefficient();
+        long ea = a.getExponent();
+        long eb = b.getExponent();
+        try {
+            if (ea > eb) {
+                if (ea - eb >= POWERS_OF_TEN.length) {
+                    return null;
+                }
+                ca = PythonUtils.multiplyExact(ca, POWERS_OF_TEN[(int) (ea - eb)]);
+            } else if (eb > ea) {
+                if (eb - ea >= POWERS_OF_TEN.length) {
+                    return null;
+                }
+                cb = PythonUtils.multiplyExact(cb, POWERS_OF_TEN[(int) (eb - ea)]);
+            }
+            long sum = PythonUtils.addExact(a.isNegative() ? -ca : ca, b.isNegative() != subtract ? -cb : cb);
+            long exponent = Math.min(ea, eb);
+            // the sign of a zero sum depends on the rounding
+            if (sum == 0 || sum == Long.MIN_VALUE || !isFixed(context, Math.abs(sum), exponent)) {
+                return null;
+            }
+            return create(factory, sum < 0, Math.abs(sum), exponent);
+        } catch (OverflowException e) {
+            return null;
+        }
+    }
+
+    static PDecimal tryMultiplySmall(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b) {
+        if (!a.isFinite() || !b.isFinite() || !a.isSmall() || !b.isSmall()) {
+            return null;
+        }
+        try {
+            long product = PythonUtils.multiplyExact(a.getCoefficient(), b.getCoefficient());
+            long exponent = a.getExponent() + b.getExponent();
+            if (!isFixed(context, product, exponent)) {
+                return null;
+            }
+            return create(factory, a.isNegative() != b.isNegative(), product, exponent);
+        } catch (OverflowException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Quantizes a small non-zero value to an exponent that is at most 18 digits away and where
+     * the result is neither subnormal nor too long for the context.
+     */
+    static PDecimal tryQuantizeSmall(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal exp, int rounding, int[] status) {
+        if (!a.isFinite() || !exp.isFinite() || !a.isSmall() || a.isZero()) {
+            return null;
+        }
+        long newExponent = exp.getExponent();
+        long exponent = a.getExponent();
+        if (newExponent < context.etiny() || newExponent > context.getEmax() || Math.abs(newExponent - exponent) >= POWERS_OF_TEN.length) {
+            return null;
+        }
+        long coefficient = a.getCoefficient();
+        int conditions = 0;
+        if (newExponent > exponent) {
+            long power = POWERS_OF_TEN[(int) (newExponent - exponent)];
+            long rounded = round(coefficient, (int) (newExponent - exponent), rounding, a.isNegative());
+            conditions = coefficient % power != 0 ? INEXACT | ROUNDED : ROUNDED;
+            coefficient = rounded;
+        } else if (newExponent < exponent) {
+            try {
+                coefficient = PythonUtils.multiplyExact(coefficient, POWERS_OF_TEN[(int) (exponent - newExponent)]);
+            } catch (OverflowException e) {
+                return null;
+            }
+        }
+        if (coefficient == 0 || !isFixed(context, coefficient, newExponent)) {
+            return null;
+        }
+        status[0] |= conditions;
+        return create(factory, a.isNegative(), coefficient, newExponent);
+    }
+
+    /**
+     * Compares two values that are not NaNs, zeros of any sign and exponent are equal.
+     */
+    static int compare(PDecimal a, PDecimal b) {
+        if (a.isFinite() && b.isFinite() && a.isSmall() && b.isSmall() && a.getExponent() == b.getExponent()) {
+            return Long.compare(a.isNegative() ? -a.getCoefficient() : a.getCoefficient(), b.isNegative() ? -b.getCoefficient() : b.getCoefficient());
+        }
+        return compareGeneric(a, b);
+    }
+
+    // Arithmetic
+
+    /**
+     * Exact product of a finite value with an integer that keeps the exponent of the value, like
+     * {@code multiply_by_denominator} in CPython's {@code _decimal}.
+     */
+    @TruffleBoundary
+    static PDecimal multiplyExact(PythonObjectFactory factory, PDecimal a, BigInteger b) {
+        assert a.isFinite();
+        return create(factory, a.isNegative() != (b.signum() < 0), a.getBigCoefficient().multiply(b.abs()), a.getExponent());
+    }
+
+    @TruffleBoundary
+    static PDecimal add(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, boolean subtract, int[] status) {
+        boolean negativeB = b.isNegative() != subtract;
+        if (a.isSpecial() || b.isSpecial()) {
+            PDecimal nan = checkNaNs(factory, context, a, b, status);
+            if (nan != null) {
+                return nan;
+            }
+            if (a.isInfinite()) {
+                if (b.isInfinite() && a.isNegative() != negativeB) {
+                    status[0] |= INVALID_OPERATION;
+                    return nan(factory);
+                }
+                return infinity(factory, a.isNegative());
+            }
+            return infinity(factory, negativeB);
+        }
+        return addFinite(factory, context, a.isNegative(), a.getBigCoefficient(), a.getExponent(), negativeB, b.getBigCoefficient(), b.getExponent(), status);
+    }
+
+    private static PDecimal addFinite(PythonObjectFactory factory, PDecimalContext context, boolean negativeA, BigInteger ca, long ea, boolean negativeB, BigInteger cb, long eb, int[] status) {
+        int prec = context.getPrec();
+        long exponent = Math.min(ea, eb);
+        // an exact zero result is negative when rounding towards negative infinity
+        boolean negativeZero = context.getRounding() == PDecimalContext.ROUND_FLOOR && negativeA != negativeB;
+        if (ca.signum() == 0 && cb.signum() == 0) {
+            return fix(factory, context, (negativeA && negativeB) || negativeZero, BigInteger.ZERO, exponent, status);
+        } else if (ca.signum() == 0) {
+            exponent = Math.max(exponent, eb - prec - 1);
+            return fix(factory, context, negativeB, cb.multiply(pow10(eb - exponent)), exponent, status);
+        } else if (cb.signum() == 0) {
+            exponent = Math.max(exponent, ea - prec - 1);
+            return fix(factory, context, negativeA, ca.multiply(pow10(ea - exponent)), exponent, status);
+        }
+        // Align the operands. If the one with the smaller exponent is below the last digit that
+        // can affect the rounded result, it is replaced by a single digit at that position.
+        if (ea >= eb) {
+            long limit = ea + Math.min(-1, digits(ca) - prec - 2);
+            if (digits(cb) + eb - 1 < limit) {
+                cb = BigInteger.ONE;
+                eb = limit;
+            }
+            ca = ca.multiply(pow10(ea - eb));
+            exponent = eb;
+        } else {
+            long limit = eb + Math.min(-1, digits(cb) - prec - 2);
+            if (digits(ca) + ea - 1 < limit) {
+                ca = BigInteger.ONE;
+                ea = limit;
+            }
+            cb = cb.multiply(pow10(eb - ea));
+            exponent = ea;
+        }
+        BigInteger sum = (negativeA ? ca.negate() : ca).add(negativeB ? cb.negate() : cb);
+        if (sum.signum() == 0) {
+            return fix(factory, context, negativeZero, BigInteger.ZERO, exponent, status);
+        }
+        return fix(factory, context, sum.signum() < 0, sum.abs(), exponent, status);
+    }
+
+    @TruffleBoundary
+    static PDecimal multiply(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+        boolean negative = a.isNegative() != b.isNegative();
+        if (a.isSpecial() || b.isSpecial()) {
+            PDecimal nan = checkNaNs(factory, context, a, b, status);
+            if (nan != null) {
+                return nan;
+            }
+            if ((a.isInfinite() && b.isZero()) || (b.isInfinite() && a.isZero())) {
+                status[0] |= INVALID_OPERATION;
+                return nan(factory);
+            }
+            return infinity(factory, negative);
+        }
+        return fix(factory, context, negative, a.getBigCoefficient().multiply(b.getBigCoefficient()), a.getExponent() + b.getExponent(), status);
+    }
+
+    @TruffleBoundary
+    static PDecimal divide(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+        boolean negative = a.isNegative() != b.isNegative();
+        if (a.isSpecial() || b.isSpecial()) {
+            PDecimal nan = checkNaNs(factory, context, a, b, status);
+            if (nan != null) {
+                return nan;
+            }
+            if (a.isInfinite() && b.isInfinite()) {
+                status[0] |= INVALID_OPERATION;
+                return nan(factory);
+            } else if (a.isInfinite()) {
+                return infinity(factory, negative);
+            }
+            status[0] |= CLAMPED;
+            return create(factory, negative, BigInteger.ZERO, context.etiny());
+        }
+        if (b.isZero()) {
+            if (a.isZero()) {
+                status[0] |= DIVISION_UNDEFINED;
+                return nan(factory);
+            }
+            status[0] |= DIVISION_BY_ZERO;
+            return infinity(factory, negative);
+        }
+        long exponent;
+        BigInteger coefficient;
+        if (a.isZero()) {
+            exponent = a.getExponent() - b.getExponent();
+            coefficient = BigInteger.ZERO;
+        } else {
+            BigInteger ca = a.getBigCoefficient();
+            BigInteger cb = b.getBigCoefficient();
+            long shift = (long) digits(cb) - digits(ca) + context.getPrec() + 1;
+            exponent = a.getExponent() - b.getExponent() - shift;
+            BigInteger[] qr = shift >= 0 ? ca.multiply(pow10(shift)).divideAndRemainder(cb) : ca.divideAndRemainder(cb.multiply(pow10(-shift)));
+            coefficient = qr[0];
+            if (qr[1].signum() != 0) {
+                // inexact, make sure that the last digit is not 0 or 5 so that rounding is correct
+                if (coefficient.mod(BigInteger.valueOf(5)).signum() == 0) {
+                    coefficient = coefficient.add(BigInteger.ONE);
+                }
+            } else {
+                // exact, get as close to the ideal exponent as possible
+                long idealExponent = a.getExponent() - b.getExponent();
+                while (exponent < idealExponent) {
+                    BigInteger[] qr10 = coefficient.divideAndRemainder(BigInteger.TEN);
+                    if (qr10[1].signum() != 0) {
+                        break;
+                    }
+                    coefficient = qr10[0];
+                    exponent++;
+                }
+            }
+        }
+        return fix(factory, context, negative, coefficient, exponent, status);
+    }
+
+    /**
+     * The integer part of the quotient and the unrounded remainder of two finite numbers, the
+     * divisor must not be zero. Returns {@code null} if the quotient has more digits than the
+     * precision of the context.
+     */
+    private static PDecimal[] divideInteger(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b) {
+        boolean negative = a.isNegative() != b.isNegative();
+        long idealExponent = b.isInfinite() ? a.getExponent() : Math.min(a.getExponent(), b.getExponent());
+        if (a.isZero() || b.isInfinite() || a.adjusted() - b.adjusted() <= -2) {
+            BigInteger remainder = a.getBigCoefficient().multiply(pow10(a.getExponent() - idealExponent));
+            return new PDecimal[]{create(factory, negative, BigInteger.ZERO, 0), create(factory, a.isNegative(), remainder, idealExponent)};
+        }
+        if (a.adjusted() - b.adjusted() <= context.getPrec()) {
+            BigInteger ca = a.getBigCoefficient();
+            BigInteger cb = b.getBigCoefficient();
+            if (a.getExponent() >= b.getExponent()) {
+                ca = ca.multiply(pow10(a.getExponent() - b.getExponent()));
+            } else {
+                cb = cb.multiply(pow10(b.getExponent() - a.getExponent()));
+            }
+            BigInteger[] qr = ca.divideAndRemainder(cb);
+            if (qr[0].compareTo(pow10(context.getPrec())) < 0) {
+                return new PDecimal[]{create(factory, negative, qr[0], 0), create(factory, a.isNegative(), qr[1], idealExponent)};
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns {@code {a // b, a % b}}.
+     */
+    @TruffleBoundary
+    static PDecimal[] divmod(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+        PDecimal nan = checkNaNs(factory, context, a, b, status);
+        if (nan != null) {
+            return new PDecimal[]{nan, nan};
+        }
+        boolean negative = a.isNegative() != b.isNegative();
+        if (a.isInfinite()) {
+            status[0] |= INVALID_OPERATION;
+            if (b.isInfinite()) {
+                return new PDecimal[]{nan(factory), nan(factory)};
+            }
+            return new PDecimal[]{infinity(factory, negative), nan(factory)};
+        }
+        if (b.isZero()) {
+            if (a.isZero()) {
+                status[0] |= DIVISION_UNDEFINED;
+                return new PDecimal[]{nan(factory), nan(factory)};
+            }
+            status[0] |= DIVISION_BY_ZERO | INVALID_OPERATION;
+            return new PDecimal[]{infinity(factory, negative), nan(factory)};
+        }
+        PDecimal[] result = divideInteger(factory, context, a, b);
+        if (result == null) {
+            status[0] |= DIVISION_IMPOSSIBLE;
+            return new PDecimal[]{nan(factory), nan(factory)};
+        }
+        result[1] = fix(factory, context, result[1], status);
+        return result;
+    }
+
+    @TruffleBoundary
+    static PDecimal floorDivide(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+        PDecimal nan = checkNaNs(factory, context, a, b, status);
+        if (nan != null) {
+            return nan;
+        }
+        boolean negative = a.isNegative() != b.isNegative();
+        if (a.isInfinite()) {
+            if (b.isInfinite()) {
+                status[0] |= INVALID_OPERATION;
+                return nan(factory);
+            }
+            return infinity(factory, negative);
+        }
+        if (b.isZero()) {
+            if (a.isZero()) {
+                status[0] |= DIVISION_UNDEFINED;
+                return nan(factory);
+            }
+            status[0] |= DIVISION_BY_ZERO;
+            return infinity(factory, negative);
+        }
+        PDecimal[] result = divideInteger(factory, context, a, b);
+        if (result == null) {
+            status[0] |= DIVISION_IMPOSSIBLE;
+            return nan(factory);
+        }
+        return result[0];
+    }
+
+    @TruffleBoundary
+    static PDecimal remainder(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+        PDecimal nan = checkNaNs(factory, context, a, b, status);
+        if (nan != null) {
+            return nan;
+        }
+        if (a.isInfinite()) {
+            status[0] |= INVALID_OPERATION;
+            return nan(factory);
+        } else if (b.isZero()) {
+            status[0] |= a.isZero() ? DIVISION_UNDEFINED : INVALID_OPERATION;
+            return nan(factory);
+        }
+        PDecimal[] result = divideInteger(factory, context, a, b);
+        if (result == null) {
+            status[0] |= DIVISION_IMPOSSIBLE;
+            return nan(factory);
+        }
+        return fix(factory, context, result[1], status);
+    }
+
+    /**
+     * Negation ({@code negate}), {@code +x} and {@code abs(x)} ({@code absolute}) with rounding to
+     * the context. Zero results are positive unless rounding towards negative infinity.
+     */
+    @TruffleBoundary
+    static PDecimal plusMinus(PythonObjectFactory factory, PDecimalContext context, PDecimal a, boolean negate, boolean absolute, int[] status) {
+        if (a.isSpecial()) {
+            PDecimal nan = checkNaNs(factory, context, a, null, status);
+            if (nan != null) {
+                return nan;
+            }
+        }
+        boolean negative = a.isNegative();
+        if (absolute) {
+            negative = false;
+        } else if (negate) {
+            negative = !negative;
+        }
+        if (a.isZero() && context.getRounding() != PDecimalContext.ROUND_FLOOR) {
+            negative = false;
+        }
+        if (a.isInfinite()) {
+            return infinity(factory, negative);
+        }
+        return fix(factory, context, negative, a.getBigCoefficient(), a.getExponent(), status);
+    }
+
+    @TruffleBoundary
+    static PDecimal quantize(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal exp, int rounding, int[] status) {
+        if (a.isSpecial() || exp.isSpecial()) {
+            PDecimal nan = checkNaNs(factory, context, a, exp, status);
+            if (nan != null) {
+                return nan;
+            }
+            if (a.isInfinite() && exp.isInfinite()) {
+                return infinity(factory, a.isNegative());
+            }
+            status[0] |= INVALID_OPERATION;
+            return nan(factory);
+        }
+        long newExponent = exp.getExponent();
+        if (newExponent < context.etiny() || newExponent > context.getEmax()) {
+            status[0] |= INVALID_OPERATION;
+            return nan(factory);
+        }
+        if (a.isZero()) {
+            return fix(factory, context, a.isNegative(), BigInteger.ZERO, newExponent, status);
+        }
+        long adjusted = a.adjusted();
+        if (adjusted > context.getEmax() || adjusted - newExponent + 1 > context.getPrec()) {
+            status[0] |= INVALID_OPERATION;
+            return nan(factory);
+        }
+        int[] inexact = new int[1];
+        BigInteger coefficient = rescale(a.getBigCoefficient(), a.getExponent(), newExponent, rounding, a.isNegative(), inexact);
+        int digits = digits(coefficient);
+        if (newExponent + digits - 1 > context.getEmax() || digits > context.getPrec()) {
+            status[0] |= INVALID_OPERATION;
+            return nan(factory);
+        }
+        if (coefficient.signum() != 0 && newExponent + digits - 1 < context.getEmin()) {
+            status[0] |= SUBNORMAL;
+        }
+        if (newExponent > a.getExponent()) {
+            status[0] |= inexact[0] | ROUNDED;
+        }
+        return fix(factory, context, a.isNegative(), coefficient, newExponent, status);
+    }
+
+    /**
+     * Rounds to an integer with the given rounding, {@code to_integral_exact} ({@code exact})
+     * raises Inexact and Rounded, {@code to_integral_value} raises no conditions for finite values.
+     */
+    @TruffleBoundary
+    static PDecimal toIntegral(PythonObjectFactory factory, PDecimalContext context, PDecimal a, int rounding, boolean exact, int[] status) {
+        if (a.isSpecial()) {
+            PDecimal nan = checkNaNs(factory, context, a, null, status);
+            if (nan != null) {
+                return nan;
+            }
+            return infinity(factory, a.isNegative());
+        }
+        if (a.getExponent() >= 0) {
+            return copy(factory, PythonBuiltinClassType.PDecimal, a, a.isNegative());
+        }
+        if (a.isZero()) {
+            return create(factory, a.isNegative(), 0, 0);
+        }
+        int[] inexact = new int[1];
+        BigInteger coefficient = round(a.getBigCoefficient(), -a.getExponent(), rounding, a.isNegative(), inexact);
+        if (exact) {
+            status[0] |= inexact[0] | ROUNDED;
+        }
+        return create(factory, a.isNegative(), coefficient, 0);
+    }
+
+    @TruffleBoundary
+    static PDecimal normalize(PythonObjectFactory factory, PDecimalContext context, PDecimal a, int[] status) {
+        if (a.isSpecial()) {
+            PDecimal nan = checkNaNs(factory, context, a, null, status);
+            if (nan != null) {
+                return nan;
+            }
+        }
+        PDecimal fixed = fix(factory, context, a, status);
+        if (fixed.isInfinite()) {
+            return fixed;
+        }
+        if (fixed.isZero()) {
+            return create(factory, fixed.isNegative(), 0, 0);
+        }
+        long expMax = context.getClamp() == 0 ? context.getEmax() : context.etop();
+        BigInteger coefficient = fixed.getBigCoefficient();
+        long exponent = fixed.getExponent();
+        while (exponent < expMax) {
+            BigInteger[] qr = coefficient.divideAndRemainder(BigInteger.TEN);
+            if (qr[1].signum() != 0) {
+                break;
+            }
+            coefficient = qr[0];
+            exponent++;
+        }
+        return create(factory, fixed.isNegative(), coefficient, exponent);
+    }
+
+    /**
+     * {@code Decimal.compare}, which returns a NaN if either operand is one.
+     */
+    @TruffleBoundary
+    static PDecimal compareToDecimal(PythonObjectFactory factory, PDecimalContext context, PDecimal a, PDecimal b, int[] status) {
+        PDecimal nan = checkNaNs(factory, context, a, b, status);
+        if (nan != null) {
+            return nan;
+        }
+        int result = compare(a, b);
+        return create(factory, result < 0, Math.abs(result), 0);
+    }
+}
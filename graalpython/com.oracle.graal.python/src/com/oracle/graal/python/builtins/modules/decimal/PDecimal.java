@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.decimal;
+
+import java.math.BigInteger;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * A {@code decimal.Decimal}, i.e., {@code (-1)**sign * coefficient * 10**exponent} or one of the
+ * special values. Coefficients that fit into a long are stored unboxed in {@link #coefficient} so
+ * that the common operations on amounts of money do not allocate {@link BigInteger}s, larger
+ * coefficients are kept in {@link #bigCoefficient}. The coefficient of a NaN is its payload.
+ */
+public final class PDecimal extends PythonBuiltinObject {
+    public static final byte FINITE = 0;
+    public static final byte INFINITE = 1;
+    public static final byte QNAN = 2;
+    public static final byte SNAN = 3;
+
+    private final byte kind;
+    private final boolean negative;
+    private final long coefficient;
+    private final BigInteger bigCoefficient;
+    private final long exponent;
+
+    public PDecimal(Object cls, Shape instanceShape, byte kind, boolean negative, long coefficient, long exponent) {
+        super(cls, instanceShape);
+        assert coefficient >= 0;
+        this.kind = kind;
+        this.negative = negative;
+        this.coefficient = coefficient;
+        this.bigCoefficient = null;
+        this.exponent = exponent;
+    }
+
+    /**
+     * Creates a decimal with a big coefficient, which must not fit into a long.
+     */
+    public PDecimal(Object cls, Shape instanceShape, byte kind, boolean negative, BigInteger coefficient, long exponent) {
+        super(cls, instanceShape);
+        assert coefficient.bitLength() >= Long.SIZE;
+        this.kind = kind;
+        this.negative = negative;
+        this.coefficient = -1;
+        this.bigCoefficient = coefficient;
+        this.exponent = exponent;
+    }
+
+    public byte getKind() {
+        return kind;
+    }
+
+    public boolean isNegative() {
+        return negative;
+    }
+
+    public boolean isFinite() {
+        return kind == FINITE;
+    }
+
+    public boolean isSpecial() {
+        return kind != FINITE;
+    }
+
+    public boolean isInfinite() {
+        return kind == INFINITE;
+    }
+
+    public boolean isNaN() {
+        return kind >= QNAN;
+    }
+
+    public boolean isSNaN() {
+        return kind == SNAN;
+    }
+
+    public boolean isZero() {
+        return kind == FINITE && coefficient == 0;
+    }
+
+    /**
+     * Whether the coefficient is stored in a long, see {@link #getCoefficient()}.
+     */
+    public boolean isSmall() {
+        return bigCoefficient == null;
+    }
+
+    public long getCoefficient() {
+        assert isSmall();
+        return coefficient;
+    }
+
+    @TruffleBoundary
+    public BigInteger getBigCoefficient() {
+        return bigCoefficient != null ? bigCoefficient : BigInteger.valueOf(coefficient);
+    }
+
+    public long getExponent() {
+        assert kind == FINITE;
+        return exponent;
+    }
+
+    /**
+     * The number of digits of the coefficient, zero has one digit.
+     */
+    public int getDigits() {
+        return isSmall() ? DecimalUtils.digits(coefficient) : DecimalUtils.digits(bigCoefficient);
+    }
+
+    /**
+     * The exponent of the most significant digit.
+     */
+    public long adjusted() {
+        return exponent + getDigits() - 1;
+    }
+}
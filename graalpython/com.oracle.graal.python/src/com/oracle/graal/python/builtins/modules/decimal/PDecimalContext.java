@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.decimal;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * A {@code decimal.Context}. The flags and traps are bit sets of the signals below, which are in
+ * the order in which CPython lists them in the repr. The condition bits above the signals are only
+ * used in the status of a single operation and become {@link #INVALID_OPERATION} in the flags.
+ */
+public final class PDecimalContext extends PythonBuiltinObject {
+    public static final int CLAMPED = 1;
+    public static final int INVALID_OPERATION = 1 << 1;
+    public static final int DIVISION_BY_ZERO = 1 << 2;
+    public static final int INEXACT = 1 << 3;
+    public static final int FLOAT_OPERATION = 1 << 4;
+    public static final int OVERFLOW = 1 << 5;
+    public static final int ROUNDED = 1 << 6;
+    public static final int SUBNORMAL = 1 << 7;
+    public static final int UNDERFLOW = 1 << 8;
+    public static final int CONVERSION_SYNTAX = 1 << 9;
+    public static final int DIVISION_IMPOSSIBLE = 1 << 10;
+    public static final int DIVISION_UNDEFINED = 1 << 11;
+    public static final int INVALID_CONTEXT = 1 << 12;
+
+    public static final int SIGNALS = (1 << 9) - 1;
+    public static final int INVALID_CONDITIONS = INVALID_OPERATION | CONVERSION_SYNTAX | DIVISION_IMPOSSIBLE | DIVISION_UNDEFINED | INVALID_CONTEXT;
+
+    /** Names of the signal and condition classes, indexed by bit. */
+    static final String[] CONDITION_NAMES = {"Clamped", "InvalidOperation", "DivisionByZero", "Inexact", "FloatOperation", "Overflow", "Rounded", "Subnormal", "Underflow", "ConversionSyntax",
+                    "DivisionImpossible", "DivisionUndefined", "InvalidContext"};
+
+    public static final int ROUND_UP = 0;
+    public static final int ROUND_DOWN = 1;
+    public static final int ROUND_CEILING = 2;
+    public static final int ROUND_FLOOR = 3;
+    public static final int ROUND_HALF_UP = 4;
+    public static final int ROUND_HALF_DOWN = 5;
+    public static final int ROUND_HALF_EVEN = 6;
+    public static final int ROUND_05UP = 7;
+
+    static final String[] ROUNDING_NAMES = {"ROUND_UP", "ROUND_DOWN", "ROUND_CEILING", "ROUND_FLOOR", "ROUND_HALF_UP", "ROUND_HALF_DOWN", "ROUND_HALF_EVEN", "ROUND_05UP"};
+
+    /*
+     * The limits of CPython's 32-bit builds, which keep all exponents that can occur during an
+     * operation well within a long.
+     */
+    public static final int MAX_PREC = 425000000;
+    public static final long MAX_EMAX = 425000000;
+    public static final long MIN_EMIN = -425000000;
+    public static final long MIN_ETINY = MIN_EMIN - (MAX_PREC - 1);
+
+    private int prec;
+    private int rounding;
+    private long emin;
+    private long emax;
+    private int capitals;
+    private int clamp;
+    private int flags;
+    private int traps;
+
+    public PDecimalContext(Object cls, Shape instanceShape, int prec, int rounding, long emin, long emax, int capitals, int clamp, int flags, int traps) {
+        super(cls, instanceShape);
+        this.prec = prec;
+        this.rounding = rounding;
+        this.emin = emin;
+        this.emax = emax;
+        this.capitals = capitals;
+        this.clamp = clamp;
+        this.flags = flags;
+        this.traps = traps;
+    }
+
+    public int getPrec() {
+        return prec;
+    }
+
+    public void setPrec(int prec) {
+        this.prec = prec;
+    }
+
+    public int getRounding() {
+        return rounding;
+    }
+
+    public void setRounding(int rounding) {
+        this.rounding = rounding;
+    }
+
+    public long getEmin() {
+        return emin;
+    }
+
+    public void setEmin(long emin) {
+        this.emin = emin;
+    }
+
+    public long getEmax() {
+        return emax;
+    }
+
+    public void setEmax(long emax) {
+        this.emax = emax;
+    }
+
+    public int getCapitals() {
+        return capitals;
+    }
+
+    public void setCapitals(int capitals) {
+        this.capitals = capitals;
+    }
+
+    public int getClamp() {
+        return clamp;
+    }
+
+    public void setClamp(int clamp) {
+        this.clamp = clamp;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    public void setFlags(int flags) {
+        this.flags = flags;
+    }
+
+    public int getTraps() {
+        return traps;
+    }
+
+    public void setTraps(int traps) {
+        this.traps = traps;
+    }
+
+    /**
+     * The smallest exponent of a subnormal number.
+     */
+    public long etiny() {
+        return emin - prec + 1;
+    }
+
+    /**
+     * The largest exponent of a number with a full coefficient.
+     */
+    public long etop() {
+        return emax - prec + 1;
+    }
+
+    /**
+     * Converts the status of an operation to the signals it raises.
+     */
+    public static int toSignals(int status) {
+        int signals = status & SIGNALS;
+        if ((status & INVALID_CONDITIONS) != 0) {
+            signals |= INVALID_OPERATION;
+        }
+        return signals;
+    }
+}
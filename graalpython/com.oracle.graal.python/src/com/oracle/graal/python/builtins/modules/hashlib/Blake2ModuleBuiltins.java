@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.hashlib;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.OverflowError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.security.MessageDigest;
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.Python3Core;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.bytes.BytesNodes;
+import com.oracle.graal.python.builtins.objects.type.PythonBuiltinClass;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * BLAKE2b and BLAKE2s with the full parameter block (key, salt, personalization and tree hashing
+ * parameters), see {@link Blake2bDigest} and {@link Blake2sDigest}.
+ */
+@CoreFunctions(defineModule = "_blake2")
+public class Blake2ModuleBuiltins extends PythonBuiltins {
+    private static final TruffleString T_BLAKE2B = tsLiteral("blake2b");
+    private static final TruffleString T_BLAKE2S = tsLiteral("blake2s");
+
+    private static final TruffleString T_SALT_SIZE = tsLiteral("SALT_SIZE");
+    private static final TruffleString T_PERSON_SIZE = tsLiteral("PERSON_SIZE");
+    private static final TruffleString T_MAX_KEY_SIZE = tsLiteral("MAX_KEY_SIZE");
+    private static final TruffleString T_MAX_DIGEST_SIZE = tsLiteral("MAX_DIGEST_SIZE");
+
+    private static final long MAX_LEAF_SIZE = 0xFFFFFFFFL;
+    private static final long MAX_NODE_OFFSET_B = Long.MAX_VALUE;
+    private static final long MAX_NODE_OFFSET_S = 0xFFFFFFFFFFFFL;
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return Blake2ModuleBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(Python3Core core) {
+        addBuiltinConstant("BLAKE2B_SALT_SIZE", Blake2bDigest.SALT_SIZE);
+        addBuiltinConstant("BLAKE2B_PERSON_SIZE", Blake2bDigest.PERSON_SIZE);
+        addBuiltinConstant("BLAKE2B_MAX_KEY_SIZE", Blake2bDigest.MAX_KEY_SIZE);
+        addBuiltinConstant("BLAKE2B_MAX_DIGEST_SIZE", Blake2bDigest.MAX_DIGEST_SIZE);
+        addBuiltinConstant("BLAKE2S_SALT_SIZE", Blake2sDigest.SALT_SIZE);
+        addBuiltinConstant("BLAKE2S_PERSON_SIZE", Blake2sDigest.PERSON_SIZE);
+        addBuiltinConstant("BLAKE2S_MAX_KEY_SIZE", Blake2sDigest.MAX_KEY_SIZE);
+        addBuiltinConstant("BLAKE2S_MAX_DIGEST_SIZE", Blake2sDigest.MAX_DIGEST_SIZE);
+        super.initialize(core);
+        setSizeAttributes(core.lookupType(PythonBuiltinClassType.Blake2b), Blake2bDigest.SALT_SIZE, Blake2bDigest.PERSON_SIZE, Blake2bDigest.MAX_KEY_SIZE, Blake2bDigest.MAX_DIGEST_SIZE);
+        setSizeAttributes(core.lookupType(PythonBuiltinClassType.Blake2s), Blake2sDigest.SALT_SIZE, Blake2sDigest.PERSON_SIZE, Blake2sDigest.MAX_KEY_SIZE, Blake2sDigest.MAX_DIGEST_SIZE);
+    }
+
+    private static void setSizeAttributes(PythonBuiltinClass type, int saltSize, int personSize, int maxKeySize, int maxDigestSize) {
+        type.setAttribute(T_SALT_SIZE, saltSize);
+        type.setAttribute(T_PERSON_SIZE, personSize);
+        type.setAttribute(T_MAX_KEY_SIZE, maxKeySize);
+        type.setAttribute(T_MAX_DIGEST_SIZE, maxDigestSize);
+    }
+
+    abstract static class Blake2Node extends PythonClinicBuiltinNode {
+
+        static byte[] toBytes(VirtualFrame frame, Object obj, BytesNodes.ToBytesNode toBytesNode) {
+            if (obj == PNone.NO_VALUE) {
+                return PythonUtils.EMPTY_BYTE_ARRAY;
+            }
+            return toBytesNode.execute(frame, obj);
+        }
+
+        void validate(int digestSize, byte[] key, byte[] salt, byte[] person, int fanout, int depth, long leafSize, long nodeOffset, int nodeDepth, int innerSize,
+                        int maxDigestSize, int maxKeySize, int saltSize, int personSize, long maxNodeOffset) {
+            if (digestSize <= 0 || digestSize > maxDigestSize) {
+                throw raise(ValueError, ErrorMessages.DIGEST_SIZE_MUST_BE_BETWEEN, maxDigestSize);
+            }
+            if (salt.length > saltSize) {
+                throw raise(ValueError, ErrorMessages.MAXIMUM_SALT_LENGTH_IS, saltSize);
+            }
+            if (person.length > personSize) {
+                throw raise(ValueError, ErrorMessages.MAXIMUM_PERSON_LENGTH_IS, personSize);
+            }
+            if (fanout < 0 || fanout > 255) {
+                throw raise(ValueError, ErrorMessages.FANOUT_MUST_BE_BETWEEN);
+            }
+            if (depth <= 0 || depth > 255) {
+                throw raise(ValueError, ErrorMessages.DEPTH_MUST_BE_BETWEEN);
+            }
+            if (leafSize < 0 || nodeOffset < 0) {
+                throw raise(OverflowError, ErrorMessages.CANNOT_CONVERT_NEGATIVE_VALUE_TO_UNSIGNED_INT);
+            }
+            if (leafSize > MAX_LEAF_SIZE) {
+                throw raise(OverflowError, ErrorMessages.LEAF_SIZE_IS_TOO_LARGE);
+            }
+            if (nodeOffset > maxNodeOffset) {
+                throw raise(OverflowError, ErrorMessages.NODE_OFFSET_IS_TOO_LARGE);
+            }
+            if (nodeDepth < 0 || nodeDepth > 255) {
+                throw raise(ValueError, ErrorMessages.NODE_DEPTH_MUST_BE_BETWEEN);
+            }
+            if (innerSize < 0 || innerSize > maxDigestSize) {
+                throw raise(ValueError, ErrorMessages.INNER_SIZE_MUST_BE_BETWEEN, maxDigestSize);
+            }
+            if (key.length > maxKeySize) {
+                throw raise(ValueError, ErrorMessages.MAXIMUM_KEY_LENGTH_IS, maxKeySize);
+            }
+        }
+    }
+
+    @Builtin(name = "blake2b", minNumOfPositionalArgs = 1, numOfPositionalOnlyArgs = 2, parameterNames = {"$cls", "data"}, keywordOnlyNames = {"digest_size", "key", "salt", "person", "fanout",
+                    "depth", "leaf_size", "node_offset", "node_depth", "inner_size", "last_node", "usedforsecurity"}, constructsClass = PythonBuiltinClassType.Blake2b)
+    @ArgumentClinic(name = "digest_size", conversion = ClinicConversion.Int, defaultValue = "Blake2bDigest.MAX_DIGEST_SIZE")
+    @ArgumentClinic(name = "fanout", conversion = ClinicConversion.Int, defaultValue = "1")
+    @ArgumentClinic(name = "depth", conversion = ClinicConversion.Int, defaultValue = "1")
+    @ArgumentClinic(name = "leaf_size", conversion = ClinicConversion.LongIndex, defaultValue = "0")
+    @ArgumentClinic(name = "node_offset", conversion = ClinicConversion.LongIndex, defaultValue = "0")
+    @ArgumentClinic(name = "node_depth", conversion = ClinicConversion.Int, defaultValue = "0")
+    @ArgumentClinic(name = "inner_size", conversion = ClinicConversion.Int, defaultValue = "0")
+    @ArgumentClinic(name = "last_node", conversion = ClinicConversion.Boolean, defaultValue = "false")
+    @ArgumentClinic(name = "usedforsecurity", conversion = ClinicConversion.Boolean, defaultValue = "true")
+    @GenerateNodeFactory
+    abstract static class Blake2bNode extends Blake2Node {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return Blake2ModuleBuiltinsClinicProviders.Blake2bNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object blake2b(VirtualFrame frame, Object cls, Object data, int digestSize, Object keyObj, Object saltObj, Object personObj, int fanout, int depth, long leafSize, long nodeOffset,
+                        int nodeDepth, int innerSize, boolean lastNode, @SuppressWarnings("unused") boolean usedForSecurity,
+                        @Cached BytesNodes.ToBytesNode toBytesNode,
+                        @Cached HashlibNodes.UpdateNode updateNode) {
+            byte[] key = toBytes(frame, keyObj, toBytesNode);
+            byte[] salt = toBytes(frame, saltObj, toBytesNode);
+            byte[] person = toBytes(frame, personObj, toBytesNode);
+            validate(digestSize, key, salt, person, fanout, depth, leafSize, nodeOffset, nodeDepth, innerSize, Blake2bDigest.MAX_DIGEST_SIZE, Blake2bDigest.MAX_KEY_SIZE, Blake2bDigest.SALT_SIZE,
+                            Blake2bDigest.PERSON_SIZE, MAX_NODE_OFFSET_B);
+            MessageDigest digest = new Blake2bDigest(digestSize, key, salt, person, fanout, depth, leafSize, nodeOffset, nodeDepth, innerSize, lastNode);
+            DigestObject self = factory().createDigestObject(cls, T_BLAKE2B, Blake2bDigest.BLOCK_SIZE, digest);
+            if (data != PNone.NO_VALUE) {
+                updateNode.execute(frame, self, data);
+            }
+            return self;
+        }
+    }
+
+    @Builtin(name = "blake2s", minNumOfPositionalArgs = 1, numOfPositionalOnlyArgs = 2, parameterNames = {"$cls", "data"}, keywordOnlyNames = {"digest_size", "key", "salt", "person", "fanout",
+                    "depth", "leaf_size", "node_offset", "node_depth", "inner_size", "last_node", "usedforsecurity"}, constructsClass = PythonBuiltinClassType.Blake2s)
+    @ArgumentClinic(name = "digest_size", conversion = ClinicConversion.Int, defaultValue = "Blake2sDigest.MAX_DIGEST_SIZE")
+    @ArgumentClinic(name = "fanout", conversion = ClinicConversion.Int, defaultValue = "1")
+    @ArgumentClinic(name = "depth", conversion = ClinicConversion.Int, defaultValue = "1")
+    @ArgumentClinic(name = "leaf_size", conversion = ClinicConversion.LongIndex, defaultValue = "0")
+    @ArgumentClinic(name = "node_offset", conversion = ClinicConversion.LongIndex, defaultValue = "0")
+    @ArgumentClinic(name = "node_depth", conversion = ClinicConversion.Int, defaultValue = "0")
+    @ArgumentClinic(name = "inner_size", conversion = ClinicConversion.Int, defaultValue = "0")
+    @ArgumentClinic(name = "last_node", conversion = ClinicConversion.Boolean, defaultValue = "false")
+    @ArgumentClinic(name = "usedforsecurity", conversion = ClinicConversion.Boolean, defaultValue = "true")
+    @GenerateNodeFactory
+    abstract static class Blake2sNode extends Blake2Node {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return Blake2ModuleBuiltinsClinicProviders.Blake2sNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object blake2s(VirtualFrame frame, Object cls, Object data, int digestSize, Object keyObj, Object saltObj, Object personObj, int fanout, int depth, long leafSize, long nodeOffset,
+                        int nodeDepth, int innerSize, boolean lastNode, @SuppressWarnings("unused") boolean usedForSecurity,
+                        @Cached BytesNodes.ToBytesNode toBytesNode,
+                        @Cached HashlibNodes.UpdateNode updateNode) {
+            byte[] key = toBytes(frame, keyObj, toBytesNode);
+            byte[] salt = toBytes(frame, saltObj, toBytesNode);
+            byte[] person = toBytes(frame, personObj, toBytesNode);
+            validate(digestSize, key, salt, person, fanout, depth, leafSize, nodeOffset, nodeDepth, innerSize, Blake2sDigest.MAX_DIGEST_SIZE, Blake2sDigest.MAX_KEY_SIZE, Blake2sDigest.SALT_SIZE,
+                            Blake2sDigest.PERSON_SIZE, MAX_NODE_OFFSET_S);
+            MessageDigest digest = new Blake2sDigest(digestSize, key, salt, person, fanout, depth, leafSize, nodeOffset, nodeDepth, innerSize, lastNode);
+            DigestObject self = factory().createDigestObject(cls, T_BLAKE2S, Blake2sDigest.BLOCK_SIZE, digest);
+            if (data != PNone.NO_VALUE) {
+                updateNode.execute(frame, self, data);
+            }
+            return self;
+        }
+    }
+}
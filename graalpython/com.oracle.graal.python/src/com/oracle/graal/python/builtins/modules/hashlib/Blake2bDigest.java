@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.hashlib;
+
+import java.security.MessageDigest;
+
+import com.oracle.graal.python.util.PythonUtils;
+
+/**
+ * BLAKE2b as specified in RFC 7693, including the tree hashing parameters exposed by Python's
+ * {@code _blake2.blake2b}. The JDK does not provide BLAKE2.
+ */
+final class Blake2bDigest extends MessageDigest implements Cloneable {
+    static final int BLOCK_SIZE = 128;
+    static final int MAX_DIGEST_SIZE = 64;
+    static final int MAX_KEY_SIZE = 64;
+    static final int SALT_SIZE = 16;
+    static final int PERSON_SIZE = 16;
+
+    private static final long[] IV = {
+                    0x6a09e667f3bcc908L, 0xbb67ae8584caa73bL, 0x3c6ef372fe94f82bL, 0xa54ff53a5f1d36f1L,
+                    0x510e527fade682d1L, 0x9b05688c2b3e6c1fL, 0x1f83d9abfb41bd6bL, 0x5be0cd19137e2179L
+    };
+
+    private static final byte[][] SIGMA = {
+                    {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15},
+                    {14, 10, 4, 8, 9, 15, 13, 6, 1, 12, 0, 2, 11, 7, 5, 3},
+                    {11, 8, 12, 0, 5, 2, 15, 13, 10, 14, 3, 6, 7, 1, 9, 4},
+                    {7, 9, 3, 1, 13, 12, 11, 14, 2, 6, 5, 10, 4, 0, 15, 8},
+                    {9, 0, 5, 7, 2, 4, 10, 15, 14, 1, 11, 12, 6, 8, 3, 13},
+                    {2, 12, 6, 10, 0, 11, 8, 3, 4, 13, 7, 5, 15, 14, 1, 9},
+                    {12, 5, 1, 15, 14, 13, 4, 10, 0, 7, 6, 3, 9, 2, 8, 11},
+                    {13, 11, 7, 14, 12, 1, 3, 9, 5, 0, 15, 4, 8, 6, 2, 10},
+                    {6, 15, 14, 9, 11, 3, 0, 8, 12, 2, 13, 7, 1, 4, 10, 5},
+                    {10, 2, 8, 4, 7, 6, 1, 5, 15, 11, 9, 14, 3, 12, 13, 0},
+                    {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15},
+                    {14, 10, 4, 8, 9, 15, 13, 6, 1, 12, 0, 2, 11, 7, 5, 3}
+    };
+
+    private final int digestSize;
+    private final boolean lastNode;
+    // chaining value right after parameter block initialization, used by reset
+    private final long[] h0;
+    // the padded key block, or null if no key is used
+    private final byte[] keyBlock;
+
+    private long[] h = new long[8];
+    private long[] v = new long[16];
+    private long[] m = new long[16];
+    private byte[] buffer = new byte[BLOCK_SIZE];
+    private int bufferLen;
+    private long t0;
+    private long t1;
+
+    Blake2bDigest(int digestSize, byte[] key, byte[] salt, byte[] person, int fanout, int depth, long leafSize, long nodeOffset, int nodeDepth, int innerSize, boolean lastNode) {
+        super("BLAKE2b");
+        this.digestSize = digestSize;
+        this.lastNode = lastNode;
+        byte[] param = new byte[64];
+        param[0] = (byte) digestSize;
+        param[1] = (byte) key.length;
+        param[2] = (byte) fanout;
+        param[3] = (byte) depth;
+        storeLE32(param, 4, (int) leafSize);
+        storeLE64(param, 8, nodeOffset);
+        param[16] = (byte) nodeDepth;
+        param[17] = (byte) innerSize;
+        PythonUtils.arraycopy(salt, 0, param, 32, salt.length);
+        PythonUtils.arraycopy(person, 0, param, 48, person.length);
+        h0 = new long[8];
+        for (int i = 0; i < 8; i++) {
+            h0[i] = IV[i] ^ loadLE64(param, i * 8);
+        }
+        if (key.length > 0) {
+            keyBlock = new byte[BLOCK_SIZE];
+            PythonUtils.arraycopy(key, 0, keyBlock, 0, key.length);
+        } else {
+            keyBlock = null;
+        }
+        engineReset();
+    }
+
+    @Override
+    protected int engineGetDigestLength() {
+        return digestSize;
+    }
+
+    @Override
+    protected void engineReset() {
+        PythonUtils.arraycopy(h0, 0, h, 0, 8);
+        t0 = 0;
+        t1 = 0;
+        bufferLen = 0;
+        if (keyBlock != null) {
+            PythonUtils.arraycopy(keyBlock, 0, buffer, 0, BLOCK_SIZE);
+            bufferLen = BLOCK_SIZE;
+        }
+    }
+
+    @Override
+    protected void engineUpdate(byte input) {
+        if (bufferLen == BLOCK_SIZE) {
+            incrementCounter(BLOCK_SIZE);
+            compress(buffer, 0, false);
+            bufferLen = 0;
+        }
+        buffer[bufferLen++] = input;
+    }
+
+    @Override
+    protected void engineUpdate(byte[] input, int offset, int len) {
+        if (len <= 0) {
+            return;
+        }
+        int off = offset;
+        int remaining = len;
+        // The last block must be processed in engineDigest, so a full buffer is only compressed
+        // once more input is known to follow.
+        int fill = BLOCK_SIZE - bufferLen;
+        if (remaining > fill) {
+            PythonUtils.arraycopy(input, off, buffer, bufferLen, fill);
+            incrementCounter(BLOCK_SIZE);
+            compress(buffer, 0, false);
+            bufferLen = 0;
+            off += fill;
+            remaining -= fill;
+            while (remaining > BLOCK_SIZE) {
+                incrementCounter(BLOCK_SIZE);
+                compress(input, off, false);
+                off += BLOCK_SIZE;
+                remaining -= BLOCK_SIZE;
+            }
+        }
+        PythonUtils.arraycopy(input, off, buffer, bufferLen, remaining);
+        bufferLen += remaining;
+    }
+
+    @Override
+    protected byte[] engineDigest() {
+        incrementCounter(bufferLen);
+        for (int i = bufferLen; i < BLOCK_SIZE; i++) {
+            buffer[i] = 0;
+        }
+        compress(buffer, 0, true);
+        byte[] out = new byte[64];
+        for (int i = 0; i < 8; i++) {
+            storeLE64(out, i * 8, h[i]);
+        }
+        byte[] result = out;
+        if (digestSize < out.length) {
+            result = new byte[digestSize];
+            PythonUtils.arraycopy(out, 0, result, 0, digestSize);
+        }
+        engineReset();
+        return result;
+    }
+
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        Blake2bDigest copy = (Blake2bDigest) super.clone();
+        copy.h = h.clone();
+        copy.v = new long[16];
+        copy.m = new long[16];
+        copy.buffer = buffer.clone();
+        return copy;
+    }
+
+    private void incrementCounter(int inc) {
+        t0 += inc;
+        if (Long.compareUnsigned(t0, inc) < 0) {
+            t1++;
+        }
+    }
+
+    private void compress(byte[] block, int offset, boolean isLast) {
+        for (int i = 0; i < 16; i++) {
+            m[i] = loadLE64(block, offset + i * 8);
+        }
+        PythonUtils.arraycopy(h, 0, v, 0, 8);
+        PythonUtils.arraycopy(IV, 0, v, 8, 8);
+        v[12] ^= t0;
+        v[13] ^= t1;
+        if (isLast) {
+            v[14] = ~v[14];
+            if (lastNode) {
+                v[15] = ~v[15];
+            }
+        }
+        for (int r = 0; r < 12; r++) {
+            byte[] s = SIGMA[r];
+            g(0, 4, 8, 12, m[s[0]], m[s[1]]);
+            g(1, 5, 9, 13, m[s[2]], m[s[3]]);
+            g(2, 6, 10, 14, m[s[4]], m[s[5]]);
+            g(3, 7, 11, 15, m[s[6]], m[s[7]]);
+            g(0, 5, 10, 15, m[s[8]], m[s[9]]);
+            g(1, 6, 11, 12, m[s[10]], m[s[11]]);
+            g(2, 7, 8, 13, m[s[12]], m[s[13]]);
+            g(3, 4, 9, 14, m[s[14]], m[s[15]]);
+        }
+        for (int i = 0; i < 8; i++) {
+            h[i] ^= v[i] ^ v[i + 8];
+        }
+    }
+
+    private void g(int a, int b, int c, int d, long x, long y) {
+        v[a] = v[a] + v[b] + x;
+        v[d] = Long.rotateRight(v[d] ^ v[a], 32);
+        v[c] = v[c] + v[d];
+        v[b] = Long.rotateRight(v[b] ^ v[c], 24);
+        v[a] = v[a] + v[b] + y;
+        v[d] = Long.rotateRight(v[d] ^ v[a], 16);
+        v[c] = v[c] + v[d];
+        v[b] = Long.rotateRight(v[b] ^ v[c], 63);
+    }
+
+    private static long loadLE64(byte[] b, int off) {
+        return (b[off] & 0xffL) | (b[off + 1] & 0xffL) << 8 | (b[off + 2] & 0xffL) << 16 | (b[off + 3] & 0xffL) << 24 |
+                        (b[off + 4] & 0xffL) << 32 | (b[off + 5] & 0xffL) << 40 | (b[off + 6] & 0xffL) << 48 | (b[off + 7] & 0xffL) << 56;
+    }
+
+    private static void storeLE64(byte[] b, int off, long value) {
+        for (int i = 0; i < 8; i++) {
+            b[off + i] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    private static void storeLE32(byte[] b, int off, int value) {
+        for (int i = 0; i < 4; i++) {
+            b[off + i] = (byte) (value >>> (8 * i));
+        }
+    }
+}
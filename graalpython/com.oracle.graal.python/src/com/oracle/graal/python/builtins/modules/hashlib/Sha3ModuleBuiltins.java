@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.hashlib;
+
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * The SHA-3 hash functions are provided by the JDK, the SHAKE extendable-output functions by
+ * {@link ShakeDigest}.
+ */
+@CoreFunctions(defineModule = "_sha3")
+public class Sha3ModuleBuiltins extends PythonBuiltins {
+    private static final TruffleString T_SHA3_224 = tsLiteral("sha3_224");
+    private static final TruffleString T_SHA3_256 = tsLiteral("sha3_256");
+    private static final TruffleString T_SHA3_384 = tsLiteral("sha3_384");
+    private static final TruffleString T_SHA3_512 = tsLiteral("sha3_512");
+    private static final TruffleString T_SHAKE_128 = tsLiteral("shake_128");
+    private static final TruffleString T_SHAKE_256 = tsLiteral("shake_256");
+
+    private static final int SHAKE128_RATE = 168;
+    private static final int SHAKE256_RATE = 136;
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return Sha3ModuleBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = "sha3_224", minNumOfPositionalArgs = 1, numOfPositionalOnlyArgs = 2, parameterNames = {"$cls", "data"}, keywordOnlyNames = {"usedforsecurity"}, constructsClass = PythonBuiltinClassType.SHA3_224)
+    @GenerateNodeFactory
+    abstract static class Sha3_224Node extends PythonTernaryBuiltinNode {
+        @Specialization
+        Object sha3_224(VirtualFrame frame, Object cls, Object data, @SuppressWarnings("unused") Object usedForSecurity,
+                        @Cached HashlibNodes.UpdateNode updateNode) {
+            DigestObject self = factory().createDigestObject(cls, T_SHA3_224, 144, DigestObject.getJdkDigest("SHA3-224"));
+            if (data != PNone.NO_VALUE) {
+                updateNode.execute(frame, self, data);
+            }
+            return self;
+        }
+    }
+
+    @Builtin(name = "sha3_256", minNumOfPositionalArgs = 1, numOfPositionalOnlyArgs = 2, parameterNames = {"$cls", "data"}, keywordOnlyNames = {"usedforsecurity"}, constructsClass = PythonBuiltinClassType.SHA3_256)
+    @GenerateNodeFactory
+    abstract static class Sha3_256Node extends PythonTernaryBuiltinNode {
+        @Specialization
+        Object sha3_256(VirtualFrame frame, Object cls, Object data, @SuppressWarnings("unused") Object usedForSecurity,
+                        @Cached HashlibNodes.UpdateNode updateNode) {
+            DigestObject self = factory().createDigestObject(cls, T_SHA3_256, 136, DigestObject.getJdkDigest("SHA3-256"));
+            if (data != PNone.NO_VALUE) {
+                updateNode.execute(frame, self, data);
+            }
+            return self;
+        }
+    }
+
+    @Builtin(name = "sha3_384", minNumOfPositionalArgs = 1, numOfPositionalOnlyArgs = 2, parameterNames = {"$cls", "data"}, keywordOnlyNames = {"usedforsecurity"}, constructsClass = PythonBuiltinClassType.SHA3_384)
+    @GenerateNodeFactory
+    abstract static class Sha3_384Node extends PythonTernaryBuiltinNode {
+        @Specialization
+        Object sha3_384(VirtualFrame frame, Object cls, Object data, @SuppressWarnings("unused") Object usedForSecurity,
+                        @Cached HashlibNodes.UpdateNode updateNode) {
+            DigestObject self = factory().createDigestObject(cls, T_SHA3_384, 104, DigestObject.getJdkDigest("SHA3-384"));
+            if (data != PNone.NO_VALUE) {
+                updateNode.execute(frame, self, data);
+            }
+            return self;
+        }
+    }
+
+    @Builtin(name = "sha3_512", minNumOfPositionalArgs = 1, numOfPositionalOnlyArgs = 2, parameterNames = {"$cls", "data"}, keywordOnlyNames = {"usedforsecurity"}, constructsClass = PythonBuiltinClassType.SHA3_512)
+    @GenerateNodeFactory
+    abstract static class Sha3_512Node extends PythonTernaryBuiltinNode {
+        @Specialization
+        Object sha3_512(VirtualFrame frame, Object cls, Object data, @SuppressWarnings("unused") Object usedForSecurity,
+                        @Cached HashlibNodes.UpdateNode updateNode) {
+            DigestObject self = factory().createDigestObject(cls, T_SHA3_512, 72, DigestObject.getJdkDigest("SHA3-512"));
+            if (data != PNone.NO_VALUE) {
+                updateNode.execute(frame, self, data);
+            }
+            return self;
+        }
+    }
+
+    @Builtin(name = "shake_128", minNumOfPositionalArgs = 1, numOfPositionalOnlyArgs = 2, parameterNames = {"$cls", "data"}, keywordOnlyNames = {"usedforsecurity"}, constructsClass = PythonBuiltinClassType.Shake128)
+    @GenerateNodeFactory
+    abstract static class Shake128Node extends PythonTernaryBuiltinNode {
+        @Specialization
+        Object shake_128(VirtualFrame frame, Object cls, Object data, @SuppressWarnings("unused") Object usedForSecurity,
+                        @Cached HashlibNodes.UpdateNode updateNode) {
+            DigestObject self = factory().createDigestObject(cls, T_SHAKE_128, SHAKE128_RATE, new ShakeDigest(128));
+            if (data != PNone.NO_VALUE) {
+                updateNode.execute(frame, self, data);
+            }
+            return self;
+        }
+    }
+
+    @Builtin(name = "shake_256", minNumOfPositionalArgs = 1, numOfPositionalOnlyArgs = 2, parameterNames = {"$cls", "data"}, keywordOnlyNames = {"usedforsecurity"}, constructsClass = PythonBuiltinClassType.Shake256)
+    @GenerateNodeFactory
+    abstract static class Shake256Node extends PythonTernaryBuiltinNode {
+        @Specialization
+        Object shake_256(VirtualFrame frame, Object cls, Object data, @SuppressWarnings("unused") Object usedForSecurity,
+                        @Cached HashlibNodes.UpdateNode updateNode) {
+            DigestObject self = factory().createDigestObject(cls, T_SHAKE_256, SHAKE256_RATE, new ShakeDigest(256));
+            if (data != PNone.NO_VALUE) {
+                updateNode.execute(frame, self, data);
+            }
+            return self;
+        }
+    }
+}
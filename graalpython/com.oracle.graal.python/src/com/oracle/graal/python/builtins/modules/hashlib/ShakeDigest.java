@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.hashlib;
+
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives;
+
+/**
+ * The SHAKE extendable-output functions from FIPS 202. The JDK implements SHA-3 but does not
+ * expose SHAKE through {@link MessageDigest}, so the Keccak sponge is implemented here. The output
+ * length is chosen when squeezing, see {@link #digest(int)}.
+ */
+final class ShakeDigest extends MessageDigest implements Cloneable {
+    private static final long[] ROUND_CONSTANTS = {
+                    0x0000000000000001L, 0x0000000000008082L, 0x800000000000808aL, 0x8000000080008000L,
+                    0x000000000000808bL, 0x0000000080000001L, 0x8000000080008081L, 0x8000000000008009L,
+                    0x000000000000008aL, 0x0000000000000088L, 0x0000000080008009L, 0x000000008000000aL,
+                    0x000000008000808bL, 0x800000000000008bL, 0x8000000000008089L, 0x8000000000008003L,
+                    0x8000000000008002L, 0x8000000000000080L, 0x000000000000800aL, 0x800000008000000aL,
+                    0x8000000080008081L, 0x8000000000008080L, 0x0000000080000001L, 0x8000000080008008L
+    };
+    private static final int[] ROTATIONS = {1, 3, 6, 10, 15, 21, 28, 36, 45, 55, 2, 14, 27, 41, 56, 8, 25, 43, 62, 18, 39, 61, 20, 44};
+    private static final int[] PI_LANES = {10, 7, 11, 17, 18, 3, 5, 16, 8, 21, 24, 4, 15, 23, 19, 13, 12, 2, 20, 14, 22, 9, 6, 1};
+    private static final byte SHAKE_SUFFIX = 0x1f;
+
+    private final int rate;
+    private long[] state = new long[25];
+    private byte[] buffer;
+    private int bufferLen;
+
+    /**
+     * @param securityBits 128 or 256
+     */
+    ShakeDigest(int securityBits) {
+        super("SHAKE" + securityBits);
+        this.rate = 200 - 2 * securityBits / 8;
+        this.buffer = new byte[rate];
+    }
+
+    int getRate() {
+        return rate;
+    }
+
+    @Override
+    protected void engineReset() {
+        Arrays.fill(state, 0);
+        bufferLen = 0;
+    }
+
+    @Override
+    protected void engineUpdate(byte input) {
+        buffer[bufferLen++] = input;
+        if (bufferLen == rate) {
+            absorb(buffer, 0);
+            bufferLen = 0;
+        }
+    }
+
+    @Override
+    protected void engineUpdate(byte[] input, int offset, int len) {
+        int off = offset;
+        int remaining = len;
+        if (bufferLen > 0) {
+            int n = Math.min(rate - bufferLen, remaining);
+            PythonUtils.arraycopy(input, off, buffer, bufferLen, n);
+            bufferLen += n;
+            off += n;
+            remaining -= n;
+            if (bufferLen < rate) {
+                return;
+            }
+            absorb(buffer, 0);
+            bufferLen = 0;
+        }
+        while (remaining >= rate) {
+            absorb(input, off);
+            off += rate;
+            remaining -= rate;
+        }
+        PythonUtils.arraycopy(input, off, buffer, 0, remaining);
+        bufferLen = remaining;
+    }
+
+    @Override
+    protected byte[] engineDigest() {
+        throw CompilerDirectives.shouldNotReachHere("SHAKE requires an output length");
+    }
+
+    /**
+     * Pads the absorbed input, squeezes {@code length} bytes and resets the digest.
+     */
+    byte[] digest(int length) {
+        Arrays.fill(buffer, bufferLen, rate, (byte) 0);
+        buffer[bufferLen] ^= SHAKE_SUFFIX;
+        buffer[rate - 1] ^= (byte) 0x80;
+        absorb(buffer, 0);
+        byte[] out = new byte[length];
+        int pos = 0;
+        while (true) {
+            int n = Math.min(rate, length - pos);
+            for (int i = 0; i < n; i++) {
+                out[pos + i] = (byte) (state[i >> 3] >>> (8 * (i & 7)));
+            }
+            pos += n;
+            if (pos == length) {
+                break;
+            }
+            keccakF();
+        }
+        engineReset();
+        return out;
+    }
+
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        ShakeDigest copy = (ShakeDigest) super.clone();
+        copy.state = state.clone();
+        copy.buffer = buffer.clone();
+        return copy;
+    }
+
+    private void absorb(byte[] block, int offset) {
+        for (int i = 0; i < rate / 8; i++) {
+            int p = offset + i * 8;
+            state[i] ^= (block[p] & 0xffL) | (block[p + 1] & 0xffL) << 8 | (block[p + 2] & 0xffL) << 16 | (block[p + 3] & 0xffL) << 24 |
+                            (block[p + 4] & 0xffL) << 32 | (block[p + 5] & 0xffL) << 40 | (block[p + 6] & 0xffL) << 48 | (block[p + 7] & 0xffL) << 56;
+        }
+        keccakF();
+    }
+
+    private void keccakF() {
+        long[] a = state;
+        long[] c = new long[5];
+        for (int round = 0; round < 24; round++) {
+            // theta
+            for (int x = 0; x < 5; x++) {
+                c[x] = a[x] ^ a[x + 5] ^ a[x + 10] ^ a[x + 15] ^ a[x + 20];
+            }
+            for (int x = 0; x < 5; x++) {
+                long d = c[(x + 4) % 5] ^ Long.rotateLeft(c[(x + 1) % 5], 1);
+                for (int y = 0; y < 25; y += 5) {
+                    a[y + x] ^= d;
+                }
+            }
+            // rho and pi
+            long current = a[1];
+            for (int i = 0; i < 24; i++) {
+                int j = PI_LANES[i];
+                long tmp = a[j];
+                a[j] = Long.rotateLeft(current, ROTATIONS[i]);
+                current = tmp;
+            }
+            // chi
+            for (int y = 0; y < 25; y += 5) {
+                for (int x = 0; x < 5; x++) {
+                    c[x] = a[y + x];
+                }
+                for (int x = 0; x < 5; x++) {
+                    a[y + x] = c[x] ^ (~c[(x + 1) % 5] & c[(x + 2) % 5]);
+                }
+            }
+            // iota
+            a[0] ^= ROUND_CONSTANTS[round];
+        }
+    }
+}
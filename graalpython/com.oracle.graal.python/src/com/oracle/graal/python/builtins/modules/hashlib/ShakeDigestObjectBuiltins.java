@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.hashlib;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.bytes.BytesNodes;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.strings.TruffleString;
+
+@CoreFunctions(extendClasses = {PythonBuiltinClassType.Shake128, PythonBuiltinClassType.Shake256})
+public class ShakeDigestObjectBuiltins extends PythonBuiltins {
+    // see CPython's _sha3 module
+    private static final int MAX_LENGTH = 1 << 29;
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return ShakeDigestObjectBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = "update", minNumOfPositionalArgs = 2, parameterNames = {"$self", "obj"})
+    @GenerateNodeFactory
+    abstract static class UpdateNode extends DigestObjectBuiltins.UpdateNode {
+    }
+
+    @Builtin(name = "copy", minNumOfPositionalArgs = 1, parameterNames = {"$self"})
+    @GenerateNodeFactory
+    abstract static class CopyNode extends DigestObjectBuiltins.CopyNode {
+    }
+
+    @Builtin(name = "name", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class NameNode extends DigestObjectBuiltins.NameNode {
+    }
+
+    @Builtin(name = "digest_size", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class DigestSizeNode extends DigestObjectBuiltins.DigestSizeNode {
+    }
+
+    @Builtin(name = "block_size", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class BlockSizeNode extends DigestObjectBuiltins.BlockSizeNode {
+    }
+
+    abstract static class ShakeDigestBaseNode extends PythonBinaryClinicBuiltinNode {
+        byte[] digest(DigestObject self, int length) {
+            if (length < 0) {
+                throw raise(ValueError, ErrorMessages.MUST_BE_NON_NEGATIVE, "length");
+            }
+            if (length >= MAX_LENGTH) {
+                throw raise(ValueError, ErrorMessages.LENGTH_IS_TOO_LARGE);
+            }
+            return self.digest(length);
+        }
+    }
+
+    @Builtin(name = "digest", minNumOfPositionalArgs = 2, parameterNames = {"$self", "length"})
+    @ArgumentClinic(name = "length", conversion = ArgumentClinic.ClinicConversion.Index)
+    @GenerateNodeFactory
+    abstract static class DigestNode extends ShakeDigestBaseNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return ShakeDigestObjectBuiltinsClinicProviders.DigestNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object doDigest(DigestObject self, int length) {
+            return factory().createBytes(digest(self, length));
+        }
+    }
+
+    @Builtin(name = "hexdigest", minNumOfPositionalArgs = 2, parameterNames = {"$self", "length"})
+    @ArgumentClinic(name = "length", conversion = ArgumentClinic.ClinicConversion.Index)
+    @GenerateNodeFactory
+    abstract static class HexdigestNode extends ShakeDigestBaseNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return ShakeDigestObjectBuiltinsClinicProviders.HexdigestNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        TruffleString doHexdigest(DigestObject self, int length,
+                        @Cached BytesNodes.ByteToHexNode toHexNode) {
+            byte[] digest = digest(self, length);
+            return toHexNode.execute(digest, digest.length, (byte) 0, 0);
+        }
+    }
+}
@@ -15,6 +15,9 @@ import static com.oracle.graal.python.nodes.PGuards.isInteger;
 import static com.oracle.graal.python.nodes.PGuards.isPFloat;
 import static com.oracle.graal.python.nodes.PGuards.isPInt;
 import static com.oracle.graal.python.nodes.PGuards.isString;
+import static com.oracle.graal.python.builtins.modules.io.IONodes.T_WRITE;
+import static com.oracle.graal.python.nodes.BuiltinNames.T_ENCODE;
+import static com.oracle.graal.python.nodes.BuiltinNames.T_EXTEND;
 import static com.oracle.graal.python.nodes.SpecialMethodNames.J___CALL__;
 import static com.oracle.graal.python.nodes.StringLiterals.T_DOUBLE_QUOTE;
 import static com.oracle.graal.python.nodes.StringLiterals.T_EMPTY_BRACES;
@@ -23,6 +26,7 @@ import static com.oracle.graal.python.nodes.StringLiterals.T_LBRACE;
 import static com.oracle.graal.python.nodes.StringLiterals.T_LBRACKET;
 import static com.oracle.graal.python.nodes.StringLiterals.T_RBRACE;
 import static com.oracle.graal.python.nodes.StringLiterals.T_RBRACKET;
+import static com.oracle.graal.python.nodes.StringLiterals.T_UTF8;
 import static com.oracle.graal.python.nodes.truffle.TruffleStringMigrationHelpers.isJavaString;
 import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
@@ -31,16 +35,18 @@ import static com.oracle.truffle.api.CompilerDirectives.castExact;
 
 import java.util.List;
 
-import com.oracle.graal.python.annotations.ArgumentClinic;
 import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
+import com.oracle.graal.python.builtins.objects.common.EconomicMapStorage;
 import com.oracle.graal.python.builtins.objects.common.HashingStorage;
 import com.oracle.graal.python.builtins.objects.common.HashingStorage.DictEntry;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary.HashingStorageIterable;
+import com.oracle.graal.python.builtins.objects.common.ObjectHashMap.MapCursor;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.floats.FloatBuiltins;
 import com.oracle.graal.python.builtins.objects.floats.PFloat;
@@ -51,6 +57,7 @@ import com.oracle.graal.python.builtins.objects.str.PString;
 import com.oracle.graal.python.builtins.objects.str.StringNodes;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.builtins.objects.type.SpecialMethodSlot;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.SpecialMethodNames;
@@ -59,21 +66,23 @@ import com.oracle.graal.python.nodes.call.special.CallUnaryMethodNode;
 import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
 import com.oracle.graal.python.nodes.control.GetNextNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
-import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
-import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
 import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
 import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.formatting.FloatFormatter;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.graal.python.runtime.sequence.PSequence;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
-import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.api.strings.TruffleString.Encoding;
 import com.oracle.truffle.api.strings.TruffleStringBuilder;
 import com.oracle.truffle.api.strings.TruffleStringIterator;
 
@@ -92,10 +101,40 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
         return JSONEncoderBuiltinsFactory.getFactories();
     }
 
-    @Builtin(name = J___CALL__, minNumOfPositionalArgs = 1, parameterNames = {"$self", "obj", "_current_indent_level"})
-    @ArgumentClinic(name = "_current_indent_level", conversion = ArgumentClinic.ClinicConversion.Int, defaultValue = "0", useDefaultForNone = true)
-    @GenerateNodeFactory
-    public abstract static class CallEncoderNode extends PythonTernaryClinicBuiltinNode {
+    /**
+     * Destination of the encoded text. Without a target, the whole document is accumulated in
+     * {@link #builder}. With a target, the text is handed over in chunks of about
+     * {@link #FLUSH_THRESHOLD} code points each time a list item or a dict entry is complete, so
+     * only a bounded part of a large document is kept in memory. Binary outputs get the chunks
+     * UTF-8 encoded, a {@code bytearray} is extended with them.
+     */
+    static final class JSONOutput {
+        /** Chunk size in code points. */
+        static final int FLUSH_THRESHOLD = 1 << 16;
+
+        final Object target;
+        final TruffleString targetMethod;
+        final boolean binary;
+        TruffleStringBuilder builder;
+
+        JSONOutput(Object target, boolean binary) {
+            this.target = target;
+            this.binary = binary;
+            targetMethod = binary && target instanceof PByteArray ? T_EXTEND : T_WRITE;
+            builder = target != null ? newChunkBuilder() : TruffleStringBuilder.create(TS_ENCODING);
+        }
+
+        static TruffleStringBuilder newChunkBuilder() {
+            return TruffleStringBuilder.create(TS_ENCODING, FLUSH_THRESHOLD);
+        }
+
+        boolean shouldFlush() {
+            assert TS_ENCODING == Encoding.UTF_32;
+            return target != null && builder.byteLength() >= FLUSH_THRESHOLD << 2;
+        }
+    }
+
+    abstract static class EncoderBaseNode extends PythonTernaryBuiltinNode {
 
         @Child private CallUnaryMethodNode callEncode = CallUnaryMethodNode.create();
         @Child private CallUnaryMethodNode callDefaultFn = CallUnaryMethodNode.create();
@@ -118,21 +157,47 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
         @Child private TruffleStringBuilder.AppendCodePointNode appendCodePointNode = TruffleStringBuilder.AppendCodePointNode.create();
         @Child private TruffleStringBuilder.AppendStringNode appendStringNode = TruffleStringBuilder.AppendStringNode.create();
         @Child private TruffleStringBuilder.AppendLongNumberNode appendLongNumberNode = TruffleStringBuilder.AppendLongNumberNode.create();
+        @Child private TruffleStringBuilder.ToStringNode toStringNode = TruffleStringBuilder.ToStringNode.create();
+        @Child private TruffleString.IsValidNode isValidNode = TruffleString.IsValidNode.create();
+        @Child private TruffleString.SwitchEncodingNode switchEncodingNode = TruffleString.SwitchEncodingNode.create();
+        @Child private TruffleString.CopyToByteArrayNode copyToByteArrayNode = TruffleString.CopyToByteArrayNode.create();
+        @Child private PyObjectCallMethodObjArgs callWrite = PyObjectCallMethodObjArgs.create();
 
         @Child private PythonObjectFactory factory = PythonObjectFactory.create();
 
-        @Override
-        protected ArgumentClinicProvider getArgumentClinic() {
-            return JSONEncoderBuiltinsClinicProviders.CallEncoderNodeClinicProviderGen.INSTANCE;
+        protected final TruffleString encode(PJSONEncoder encoder, Object obj) {
+            JSONOutput out = new JSONOutput(null, false);
+            appendListObj(encoder, out, obj);
+            return toStringNode.execute(out.builder);
         }
 
-        @Specialization
-        @TruffleBoundary
-        protected PTuple call(PJSONEncoder self, Object obj, @SuppressWarnings("unused") int indent,
-                        @Cached TruffleStringBuilder.ToStringNode toStringNode) {
-            TruffleStringBuilder builder = TruffleStringBuilder.create(TS_ENCODING);
-            appendListObj(self, builder, obj);
-            return factory.createTuple(new Object[]{toStringNode.execute(builder)});
+        protected final void encodeTo(PJSONEncoder encoder, Object obj, Object target, boolean binary) {
+            JSONOutput out = new JSONOutput(target, binary);
+            appendListObj(encoder, out, obj);
+            if (!out.builder.isEmpty()) {
+                flush(out);
+            }
+        }
+
+        private void maybeFlush(JSONOutput out) {
+            if (out.shouldFlush()) {
+                flush(out);
+            }
+        }
+
+        private void flush(JSONOutput out) {
+            TruffleString chunk = toStringNode.execute(out.builder);
+            out.builder = JSONOutput.newChunkBuilder();
+            Object data = chunk;
+            if (out.binary) {
+                if (isValidNode.execute(chunk, TS_ENCODING)) {
+                    data = factory.createBytes(copyToByteArrayNode.execute(switchEncodingNode.execute(chunk, Encoding.UTF_8), Encoding.UTF_8));
+                } else {
+                    // lone surrogates, let the codec raise the UnicodeEncodeError
+                    data = callWrite.execute(null, chunk, T_ENCODE, T_UTF8);
+                }
+            }
+            callWrite.execute(null, out.target, out.targetMethod, data);
         }
 
         private void appendConst(TruffleStringBuilder builder, Object obj) {
@@ -221,17 +286,17 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
             return true;
         }
 
-        private void appendListObj(PJSONEncoder encoder, TruffleStringBuilder builder, Object obj) {
-            if (appendSimpleObj(encoder, builder, obj)) {
+        private void appendListObj(PJSONEncoder encoder, JSONOutput out, Object obj) {
+            if (appendSimpleObj(encoder, out.builder, obj)) {
                 // done
             } else if (obj instanceof PList || obj instanceof PTuple) {
-                appendList(encoder, builder, (PSequence) obj);
+                appendList(encoder, out, (PSequence) obj);
             } else if (obj instanceof PDict) {
-                appendDict(encoder, builder, (PDict) obj);
+                appendDict(encoder, out, (PDict) obj);
             } else {
                 startRecursion(encoder, obj);
                 Object newObj = callDefaultFn.executeObject(encoder.defaultFn, obj);
-                appendListObj(encoder, builder, newObj);
+                appendListObj(encoder, out, newObj);
                 endRecursion(encoder, obj);
             }
         }
@@ -250,20 +315,25 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
             }
         }
 
-        private void appendDict(PJSONEncoder encoder, TruffleStringBuilder builder, PDict dict) {
+        private void appendDict(PJSONEncoder encoder, JSONOutput out, PDict dict) {
             HashingStorage storage = dict.getDictStorage();
 
             if (dictLib.length(storage) == 0) {
-                appendStringNode.execute(builder, T_EMPTY_BRACES);
+                appendStringNode.execute(out.builder, T_EMPTY_BRACES);
             } else {
                 startRecursion(encoder, dict);
-                appendStringNode.execute(builder, T_LBRACE);
+                appendStringNode.execute(out.builder, T_LBRACE);
 
                 if (!encoder.sortKeys && isClassProfile.profileObject(dict, PDict)) {
-                    HashingStorageIterable<DictEntry> entries = dictLib.entries(storage);
-                    boolean first = true;
-                    for (DictEntry entry : entries) {
-                        first = appendDictEntry(encoder, builder, first, entry.key, entry.value);
+                    if (storage instanceof EconomicMapStorage) {
+                        appendEconomicMapEntries(encoder, out, (EconomicMapStorage) storage);
+                    } else {
+                        HashingStorageIterable<DictEntry> entries = dictLib.entries(storage);
+                        boolean first = true;
+                        for (DictEntry entry : entries) {
+                            first = appendDictEntry(encoder, out, first, entry.key, entry.value);
+                            maybeFlush(out);
+                        }
                     }
                 } else {
                     PList items = constructList.execute(null, callGetItems.executeObject(null, dict));
@@ -286,21 +356,43 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
                         SequenceStorage sequenceStorage = ((PTuple) item).getSequenceStorage();
                         Object key = sequenceStorage.getItemNormalized(0);
                         Object value = sequenceStorage.getItemNormalized(1);
-                        first = appendDictEntry(encoder, builder, first, key, value);
+                        first = appendDictEntry(encoder, out, first, key, value);
+                        maybeFlush(out);
                     }
                 }
 
-                appendStringNode.execute(builder, T_RBRACE);
+                appendStringNode.execute(out.builder, T_RBRACE);
                 endRecursion(encoder, dict);
             }
         }
 
-        private boolean appendDictEntry(PJSONEncoder encoder, TruffleStringBuilder builder, boolean first, Object key, Object value) {
+        private void appendEconomicMapEntries(PJSONEncoder encoder, JSONOutput out, EconomicMapStorage storage) {
+            MapCursor cursor = storage.getEntries();
+            boolean first = true;
+            while (cursor.advance()) {
+                Object key = cursor.getKeyValue();
+                if (key instanceof TruffleString) {
+                    // most common case: a string key, no need to check the key type
+                    if (!first) {
+                        appendStringNode.execute(out.builder, encoder.itemSeparator);
+                    }
+                    appendString(encoder, out.builder, (TruffleString) key);
+                    appendStringNode.execute(out.builder, encoder.keySeparator);
+                    appendListObj(encoder, out, cursor.getValue());
+                    first = false;
+                } else {
+                    first = appendDictEntry(encoder, out, first, key, cursor.getValue());
+                }
+                maybeFlush(out);
+            }
+        }
+
+        private boolean appendDictEntry(PJSONEncoder encoder, JSONOutput out, boolean first, Object key, Object value) {
             if (!first) {
-                appendStringNode.execute(builder, encoder.itemSeparator);
+                appendStringNode.execute(out.builder, encoder.itemSeparator);
             }
             if (isString(key)) {
-                appendSimpleObj(encoder, builder, key);
+                appendSimpleObj(encoder, out.builder, key);
             } else {
                 if (!isSimpleObj(key)) {
                     if (encoder.skipKeys) {
@@ -308,53 +400,150 @@ public class JSONEncoderBuiltins extends PythonBuiltins {
                     }
                     throw raise(TypeError, ErrorMessages.KEYS_MUST_BE_STR_INT___NOT_P, key);
                 }
-                appendStringNode.execute(builder, T_DOUBLE_QUOTE);
-                appendSimpleObj(encoder, builder, key);
-                appendStringNode.execute(builder, T_DOUBLE_QUOTE);
+                appendStringNode.execute(out.builder, T_DOUBLE_QUOTE);
+                appendSimpleObj(encoder, out.builder, key);
+                appendStringNode.execute(out.builder, T_DOUBLE_QUOTE);
             }
-            appendStringNode.execute(builder, encoder.keySeparator);
-            appendListObj(encoder, builder, value);
+            appendStringNode.execute(out.builder, encoder.keySeparator);
+            appendListObj(encoder, out, value);
             return false;
         }
 
-        private void appendList(PJSONEncoder encoder, TruffleStringBuilder builder, PSequence list) {
+        private void appendList(PJSONEncoder encoder, JSONOutput out, PSequence list) {
             SequenceStorage storage = list.getSequenceStorage();
 
             if (storage.length() == 0) {
-                appendStringNode.execute(builder, T_EMPTY_BRACKETS);
-            } else {
-                startRecursion(encoder, list);
-                appendStringNode.execute(builder, T_LBRACKET);
-
-                if (isClassProfile.profileObject(list, PTuple) || isClassProfile.profileObject(list, PList)) {
+                appendStringNode.execute(out.builder, T_EMPTY_BRACKETS);
+            } else if (isClassProfile.profileObject(list, PTuple) || isClassProfile.profileObject(list, PList)) {
+                if (storage instanceof IntSequenceStorage) {
+                    // primitive storages cannot contain the list itself, no need to check for cycles
+                    appendIntStorage(encoder, out, (IntSequenceStorage) storage);
+                } else if (storage instanceof LongSequenceStorage) {
+                    appendLongStorage(encoder, out, (LongSequenceStorage) storage);
+                } else if (storage instanceof DoubleSequenceStorage) {
+                    appendDoubleStorage(encoder, out, (DoubleSequenceStorage) storage);
+                } else {
+                    startRecursion(encoder, list);
+                    appendStringNode.execute(out.builder, T_LBRACKET);
                     for (int i = 0; i < storage.length(); i++) {
                         if (i > 0) {
-                            appendStringNode.execute(builder, encoder.itemSeparator);
+                            appendStringNode.execute(out.builder, encoder.itemSeparator);
                         }
-                        appendListObj(encoder, builder, storage.getItemNormalized(i));
+                        appendListObj(encoder, out, storage.getItemNormalized(i));
+                        maybeFlush(out);
                     }
-                } else {
-                    Object iter = callGetListIter.executeObject(null, list);
-                    boolean first = true;
-                    while (true) {
-                        Object item;
-                        try {
-                            item = callListNext.execute(null, iter);
-                        } catch (PException e) {
-                            e.expectStopIteration(stopListIterationProfile);
-                            break;
-                        }
-                        if (!first) {
-                            appendStringNode.execute(builder, encoder.itemSeparator);
-                        }
-                        first = false;
-                        appendListObj(encoder, builder, item);
+                    appendStringNode.execute(out.builder, T_RBRACKET);
+                    endRecursion(encoder, list);
+                }
+            } else {
+                startRecursion(encoder, list);
+                appendStringNode.execute(out.builder, T_LBRACKET);
+                Object iter = callGetListIter.executeObject(null, list);
+                boolean first = true;
+                while (true) {
+                    Object item;
+                    try {
+                        item = callListNext.execute(null, iter);
+                    } catch (PException e) {
+                        e.expectStopIteration(stopListIterationProfile);
+                        break;
+                    }
+                    if (!first) {
+                        appendStringNode.execute(out.builder, encoder.itemSeparator);
                     }
+                    first = false;
+                    appendListObj(encoder, out, item);
+                    maybeFlush(out);
                 }
-
-                appendStringNode.execute(builder, T_RBRACKET);
+                appendStringNode.execute(out.builder, T_RBRACKET);
                 endRecursion(encoder, list);
             }
         }
+
+        private void appendIntStorage(PJSONEncoder encoder, JSONOutput out, IntSequenceStorage storage) {
+            int[] values = storage.getInternalIntArray();
+            int length = storage.length();
+            appendStringNode.execute(out.builder, T_LBRACKET);
+            for (int i = 0; i < length; i++) {
+                if (i > 0) {
+                    appendStringNode.execute(out.builder, encoder.itemSeparator);
+                }
+                appendLongNumberNode.execute(out.builder, values[i]);
+                maybeFlush(out);
+            }
+            appendStringNode.execute(out.builder, T_RBRACKET);
+        }
+
+        private void appendLongStorage(PJSONEncoder encoder, JSONOutput out, LongSequenceStorage storage) {
+            long[] values = storage.getInternalLongArray();
+            int length = storage.length();
+            appendStringNode.execute(out.builder, T_LBRACKET);
+            for (int i = 0; i < length; i++) {
+                if (i > 0) {
+                    appendStringNode.execute(out.builder, encoder.itemSeparator);
+                }
+                appendLongNumberNode.execute(out.builder, values[i]);
+                maybeFlush(out);
+            }
+            appendStringNode.execute(out.builder, T_RBRACKET);
+        }
+
+        private void appendDoubleStorage(PJSONEncoder encoder, JSONOutput out, DoubleSequenceStorage storage) {
+            double[] values = storage.getInternalDoubleArray();
+            int length = storage.length();
+            appendStringNode.execute(out.builder, T_LBRACKET);
+            for (int i = 0; i < length; i++) {
+                if (i > 0) {
+                    appendStringNode.execute(out.builder, encoder.itemSeparator);
+                }
+                appendFloat(encoder, out.builder, values[i]);
+                maybeFlush(out);
+            }
+            appendStringNode.execute(out.builder, T_RBRACKET);
+        }
+    }
+
+    @Builtin(name = J___CALL__, minNumOfPositionalArgs = 1, parameterNames = {"$self", "obj", "_current_indent_level"})
+    @GenerateNodeFactory
+    public abstract static class CallEncoderNode extends EncoderBaseNode {
+
+        @Specialization
+        @TruffleBoundary
+        protected PTuple call(PJSONEncoder self, Object obj, @SuppressWarnings("unused") Object indent) {
+            return factory().createTuple(new Object[]{encode(self, obj)});
+        }
+    }
+
+    @Builtin(name = "dump", minNumOfPositionalArgs = 3, parameterNames = {"$self", "obj", "fp"}, //
+                    doc = "dump(obj, fp)\n" +
+                                    "\n" +
+                                    "Encode obj and write the result to fp in chunks of bounded size.\n" +
+                                    "The chunks are passed to fp.write() as str.")
+    @GenerateNodeFactory
+    public abstract static class DumpNode extends EncoderBaseNode {
+
+        @Specialization
+        @TruffleBoundary
+        protected PNone dump(PJSONEncoder self, Object obj, Object fp) {
+            encodeTo(self, obj, fp, false);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "dump_bytes", minNumOfPositionalArgs = 3, parameterNames = {"$self", "obj", "out"}, //
+                    doc = "dump_bytes(obj, out)\n" +
+                                    "\n" +
+                                    "Encode obj and write the result UTF-8 encoded to out in chunks of\n" +
+                                    "bounded size. A bytearray is extended with the chunks, any other\n" +
+                                    "object is passed them as bytes to its write() method.")
+    @GenerateNodeFactory
+    public abstract static class DumpBytesNode extends EncoderBaseNode {
+
+        @Specialization
+        @TruffleBoundary
+        protected PNone dump(PJSONEncoder self, Object obj, Object out) {
+            encodeTo(self, obj, out, true);
+            return PNone.NONE;
+        }
     }
 }
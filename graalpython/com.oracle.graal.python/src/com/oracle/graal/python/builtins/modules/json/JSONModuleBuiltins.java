@@ -20,11 +20,12 @@ import com.oracle.graal.python.builtins.Python3Core;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.modules.json.JSONScannerBuiltins.IntRef;
+import com.oracle.graal.python.builtins.modules.json.JSONScannerBuiltins.StringSource;
 import com.oracle.graal.python.builtins.modules.json.PJSONEncoder.FastEncode;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.function.PBuiltinFunction;
-import com.oracle.graal.python.builtins.objects.str.StringNodes.CastToJavaStringCheckedNode;
+import com.oracle.graal.python.builtins.objects.str.StringNodes.CastToTruffleStringCheckedNode;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.SpecialAttributeNames;
@@ -63,7 +64,7 @@ public class JSONModuleBuiltins extends PythonBuiltins {
 
     }
 
-    static boolean isWhitespace(char c) {
+    static boolean isWhitespace(int c) {
         return c == ' ' || c == '\t' || c == '\n' || c == '\r';
     }
 
@@ -90,12 +91,15 @@ public class JSONModuleBuiltins extends PythonBuiltins {
 
         @Specialization
         Object call(Object string, int end, boolean strict,
-                        @Cached CastToJavaStringCheckedNode castString,
+                        @Cached CastToTruffleStringCheckedNode castString,
+                        @Cached TruffleString.CodePointLengthNode codePointLengthNode,
+                        @Cached TruffleString.CodePointAtIndexNode codePointAtIndexNode,
                         @Cached PythonObjectFactory factory,
                         @Cached PRaiseNode raiseNode) {
             IntRef nextIdx = new IntRef();
-            TruffleString result = JSONScannerBuiltins.scanStringUnicode(castString.cast(string, ErrorMessages.FIRST_ARG_MUST_BE_STRING_NOT_P, string), end, strict, nextIdx,
-                            raiseNode);
+            TruffleString str = castString.cast(string, ErrorMessages.FIRST_ARG_MUST_BE_STRING_NOT_P, string);
+            StringSource source = new StringSource(str, codePointLengthNode.execute(str, TS_ENCODING), codePointAtIndexNode);
+            TruffleString result = JSONScannerBuiltins.scanStringUnicode(source, end, strict, nextIdx, raiseNode);
             return factory.createTuple(new Object[]{result, nextIdx.value});
         }
     }
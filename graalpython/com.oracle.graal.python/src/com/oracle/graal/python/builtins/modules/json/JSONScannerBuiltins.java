@@ -6,6 +6,9 @@
 package com.oracle.graal.python.builtins.modules.json;
 
 import static com.oracle.graal.python.nodes.SpecialMethodNames.J___CALL__;
+import static com.oracle.graal.python.nodes.StringLiterals.T_SURROGATEPASS;
+import static com.oracle.graal.python.nodes.StringLiterals.T_UTF8;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
 import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
 
@@ -20,15 +23,19 @@ import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.modules.BuiltinConstructors;
 import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
 import com.oracle.graal.python.builtins.objects.common.EconomicMapStorage;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.exception.PBaseException;
 import com.oracle.graal.python.builtins.objects.floats.FloatUtils;
+import com.oracle.graal.python.builtins.objects.str.StringNodes.CastToTruffleStringCheckedNode;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.lib.PyFloatCheckExactNode;
 import com.oracle.graal.python.lib.PyLongCheckExactNode;
 import com.oracle.graal.python.lib.PyObjectLookupAttr;
+import com.oracle.graal.python.lib.PyUnicodeDecodeNodeGen;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.call.CallNode;
@@ -37,6 +44,7 @@ import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
 import com.oracle.graal.python.nodes.statement.AbstractImportNode;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.graal.python.runtime.sequence.storage.ObjectSequenceStorage;
@@ -45,12 +53,16 @@ import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.api.strings.TruffleString.Encoding;
+import com.oracle.truffle.api.strings.TruffleStringBuilder;
 
 @CoreFunctions(extendClasses = PythonBuiltinClassType.JSONScanner)
 public class JSONScannerBuiltins extends PythonBuiltins {
@@ -67,7 +79,6 @@ public class JSONScannerBuiltins extends PythonBuiltins {
     }
 
     @Builtin(name = J___CALL__, minNumOfPositionalArgs = 1, parameterNames = {"$self", "string", "idx"})
-    @ArgumentClinic(name = "string", conversion = ArgumentClinic.ClinicConversion.TString)
     @ArgumentClinic(name = "idx", conversion = ArgumentClinic.ClinicConversion.Int, defaultValue = "0", useDefaultForNone = true)
     @GenerateNodeFactory
     public abstract static class CallScannerNode extends PythonTernaryClinicBuiltinNode {
@@ -92,8 +103,44 @@ public class JSONScannerBuiltins extends PythonBuiltins {
         }
 
         @Specialization
-        protected PTuple call(PJSONScanner self, TruffleString string, int idx,
-                        @Cached TruffleString.ToJavaStringNode toJavaStringNode) {
+        protected PTuple callString(PJSONScanner self, TruffleString string, int idx,
+                        @Shared("codePointAt") @Cached TruffleString.CodePointAtIndexNode codePointAtIndexNode,
+                        @Shared("codePointLength") @Cached TruffleString.CodePointLengthNode codePointLengthNode) {
+            return scan(self, new StringSource(string, codePointLengthNode.execute(string, TS_ENCODING), codePointAtIndexNode), idx);
+        }
+
+        @Specialization(limit = "3")
+        protected PTuple callBytes(PJSONScanner self, PBytesLike bytes, int idx,
+                        @CachedLibrary("bytes") PythonBufferAccessLibrary bufferLib,
+                        @Cached TruffleString.FromByteArrayNode fromByteArrayNode,
+                        @Cached TruffleString.IsValidNode isValidNode,
+                        @Cached TruffleString.SwitchEncodingNode switchEncodingNode,
+                        @Shared("codePointAt") @Cached TruffleString.CodePointAtIndexNode codePointAtIndexNode,
+                        @Shared("codePointLength") @Cached TruffleString.CodePointLengthNode codePointLengthNode) {
+            byte[] data = bufferLib.getInternalOrCopiedByteArray(bytes);
+            int length = bufferLib.getBufferLength(bytes);
+            TruffleString utf8 = fromByteArrayNode.execute(data, 0, length, Encoding.UTF_8, false);
+            if (isValidNode.execute(utf8, Encoding.UTF_8)) {
+                return scan(self, new UTF8Source(data, length), idx);
+            }
+            /*
+             * UTF-8 encoded surrogates are accepted by the 'surrogatepass' decoding done by
+             * json.loads, but they are not valid UTF-8 for TruffleString. Decode such documents up
+             * front (this also raises UnicodeDecodeError for malformed input) and map the indices.
+             */
+            TruffleString decoded = decodeSurrogatePass(bytes);
+            return scan(self, new DecodedUTF8Source(decoded, codePointLengthNode.execute(decoded, TS_ENCODING), codePointAtIndexNode), utf8CharIndex(data, length, idx));
+        }
+
+        @Specialization(guards = {"!isTruffleString(string)", "!isBytes(string)"})
+        protected PTuple callGeneric(PJSONScanner self, Object string, int idx,
+                        @Cached CastToTruffleStringCheckedNode castString,
+                        @Shared("codePointAt") @Cached TruffleString.CodePointAtIndexNode codePointAtIndexNode,
+                        @Shared("codePointLength") @Cached TruffleString.CodePointLengthNode codePointLengthNode) {
+            return callString(self, castString.cast(string, ErrorMessages.FIRST_ARG_MUST_BE_STRING_NOT_P, string), idx, codePointAtIndexNode, codePointLengthNode);
+        }
+
+        private PTuple scan(PJSONScanner self, JSONSource source, int idx) {
             if (tupleInstanceShape == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 tupleInstanceShape = PythonLanguage.get(this).getBuiltinTypeInstanceShape(PythonBuiltinClassType.PTuple);
@@ -107,11 +154,17 @@ public class JSONScannerBuiltins extends PythonBuiltins {
                 dictInstanceShape = PythonLanguage.get(this).getBuiltinTypeInstanceShape(PythonBuiltinClassType.PDict);
             }
             IntRef nextIdx = new IntRef();
-            Object result = scanOnceUnicode(self, toJavaStringNode.execute(string), idx, nextIdx);
-            return factory.createTuple(new Object[]{result, nextIdx.value});
+            Object result = scanOnceUnicode(self, source, idx, nextIdx);
+            return factory.createTuple(new Object[]{result, source.resultIndex(nextIdx.value)});
+        }
+
+        @TruffleBoundary
+        private static TruffleString decodeSurrogatePass(PBytesLike bytes) {
+            Object decoded = PyUnicodeDecodeNodeGen.getUncached().execute(null, bytes, T_UTF8, T_SURROGATEPASS);
+            return CastToTruffleStringNode.getUncached().execute(decoded);
         }
 
-        private Object parseObjectUnicode(PJSONScanner scanner, String string, int start, IntRef nextIdx) {
+        private Object parseObjectUnicode(PJSONScanner scanner, JSONSource source, int start, IntRef nextIdx) {
             /*
              * Read a JSON object from PyUnicode pystr. idx is the index of the first character
              * after the opening curly brace. nextIdx is a return-by-reference index to the first
@@ -122,7 +175,7 @@ public class JSONScannerBuiltins extends PythonBuiltins {
             boolean hasPairsHook = scanner.objectPairsHook != PNone.NONE;
 
             int idx = start;
-            int length = string.length();
+            int length = source.length();
 
             ObjectSequenceStorage listStorage = null;
             EconomicMapStorage mapStorage = null;
@@ -133,17 +186,17 @@ public class JSONScannerBuiltins extends PythonBuiltins {
             }
 
             /* skip whitespace after { */
-            idx = skipWhitespace(string, idx, length);
+            idx = skipWhitespace(source, idx, length);
 
             /* only loop if the object is non-empty */
-            if (idx >= length || string.charAt(idx) != '}') {
+            if (idx >= length || source.charAt(idx) != '}') {
                 while (true) {
 
                     /* read key */
-                    if (idx >= length || string.charAt(idx) != '"') {
-                        throw decodeError(raiseNode, string, idx, ErrorMessages.EXPECTING_PROP_NAME_ECLOSED_IN_DBL_QUOTES);
+                    if (idx >= length || source.charAt(idx) != '"') {
+                        throw decodeError(raiseNode, source, idx, ErrorMessages.EXPECTING_PROP_NAME_ECLOSED_IN_DBL_QUOTES);
                     }
-                    TruffleString newKey = scanStringUnicode(string, idx + 1, scanner.strict, nextIdx, raiseNode);
+                    TruffleString newKey = scanStringUnicode(source, idx + 1, scanner.strict, nextIdx, raiseNode);
                     TruffleString key = scanner.memo.putIfAbsent(newKey, newKey);
                     if (key == null) {
                         key = newKey;
@@ -151,14 +204,14 @@ public class JSONScannerBuiltins extends PythonBuiltins {
                     idx = nextIdx.value;
 
                     /* skip whitespace between key and : delimiter, read :, skip whitespace */
-                    idx = skipWhitespace(string, idx, length);
-                    if (idx >= length || string.charAt(idx) != ':') {
-                        throw decodeError(raiseNode, string, idx, ErrorMessages.EXPECTING_COLON_DELIMITER);
+                    idx = skipWhitespace(source, idx, length);
+                    if (idx >= length || source.charAt(idx) != ':') {
+                        throw decodeError(raiseNode, source, idx, ErrorMessages.EXPECTING_COLON_DELIMITER);
                     }
-                    idx = skipWhitespace(string, idx + 1, length);
+                    idx = skipWhitespace(source, idx + 1, length);
 
                     /* read any JSON term */
-                    Object val = scanOnceUnicode(scanner, string, idx, nextIdx);
+                    Object val = scanOnceUnicode(scanner, source, idx, nextIdx);
                     idx = nextIdx.value;
 
                     if (hasPairsHook) {
@@ -168,18 +221,18 @@ public class JSONScannerBuiltins extends PythonBuiltins {
                     }
 
                     /* skip whitespace before } or , */
-                    idx = skipWhitespace(string, idx, length);
+                    idx = skipWhitespace(source, idx, length);
 
                     /* bail if the object is closed or we didn't get the , delimiter */
-                    if (idx < length && string.charAt(idx) == '}') {
+                    if (idx < length && source.charAt(idx) == '}') {
                         break;
                     }
-                    if (idx >= length || string.charAt(idx) != ',') {
-                        throw decodeError(raiseNode, string, idx, ErrorMessages.EXPECTING_COMMA_DELIMITER);
+                    if (idx >= length || source.charAt(idx) != ',') {
+                        throw decodeError(raiseNode, source, idx, ErrorMessages.EXPECTING_COMMA_DELIMITER);
                     }
 
                     /* skip whitespace after , delimiter */
-                    idx = skipWhitespace(string, idx + 1, length);
+                    idx = skipWhitespace(source, idx + 1, length);
                 }
             }
 
@@ -197,7 +250,7 @@ public class JSONScannerBuiltins extends PythonBuiltins {
             return rval;
         }
 
-        private Object parseArrayUnicode(PJSONScanner scanner, String string, int start, IntRef nextIdx) {
+        private Object parseArrayUnicode(PJSONScanner scanner, JSONSource source, int start, IntRef nextIdx) {
             /*
              * Read a JSON array from PyUnicode pystr. idx is the index of the first character after
              * the opening brace. nextIdx is a return-by-reference index to the first character
@@ -207,46 +260,46 @@ public class JSONScannerBuiltins extends PythonBuiltins {
              */
             int idx = start;
             ObjectSequenceStorage storage = new ObjectSequenceStorage(4);
-            int length = string.length();
+            int length = source.length();
 
-            idx = skipWhitespace(string, idx, length);
+            idx = skipWhitespace(source, idx, length);
 
             /* only loop if the array is non-empty */
-            if (idx >= length || string.charAt(idx) != ']') {
+            if (idx >= length || source.charAt(idx) != ']') {
                 while (true) {
 
                     /* read any JSON term */
-                    Object val = scanOnceUnicode(scanner, string, idx, nextIdx);
+                    Object val = scanOnceUnicode(scanner, source, idx, nextIdx);
                     storage.insertItem(storage.length(), val);
                     idx = nextIdx.value;
 
                     /* skip whitespace between term and , */
-                    idx = skipWhitespace(string, idx, length);
+                    idx = skipWhitespace(source, idx, length);
 
                     /* bail if the array is closed or we didn't get the , delimiter */
-                    if (idx < length && string.charAt(idx) == ']') {
+                    if (idx < length && source.charAt(idx) == ']') {
                         break;
                     }
-                    if (idx >= length || string.charAt(idx) != ',') {
-                        throw decodeError(raiseNode, string, idx, ErrorMessages.EXPECTING_COMMA_DELIMITER);
+                    if (idx >= length || source.charAt(idx) != ',') {
+                        throw decodeError(raiseNode, source, idx, ErrorMessages.EXPECTING_COMMA_DELIMITER);
                     }
                     idx++;
 
-                    idx = skipWhitespace(string, idx, length);
+                    idx = skipWhitespace(source, idx, length);
                 }
             }
 
-            /* verify that idx < (length-1), string.charAt( idx) should be ']' */
-            if (idx >= length || string.charAt(idx) != ']') {
-                throw decodeError(raiseNode, string, length - 1, ErrorMessages.EXPECTING_VALUE);
+            /* verify that idx < (length-1), source.charAt( idx) should be ']' */
+            if (idx >= length || source.charAt(idx) != ']') {
+                throw decodeError(raiseNode, source, length - 1, ErrorMessages.EXPECTING_VALUE);
             }
             nextIdx.value = idx + 1;
             return factory.createList(PythonBuiltinClassType.PList, listInstanceShape, storage);
         }
 
-        private static int skipWhitespace(String string, int start, int length) {
+        private static int skipWhitespace(JSONSource source, int start, int length) {
             int idx = start;
-            while (idx < length && JSONModuleBuiltins.isWhitespace(string.charAt(idx))) {
+            while (idx < length && JSONModuleBuiltins.isWhitespace(source.charAt(idx))) {
                 idx++;
             }
             return idx;
@@ -265,7 +318,7 @@ public class JSONScannerBuiltins extends PythonBuiltins {
             return callParseConstant.executeObject(scanner.parseConstant, toTruffleStringUncached(constant));
         }
 
-        private Object matchNumberUnicode(PJSONScanner scanner, String string, int start, IntRef nextIdx) {
+        private Object matchNumberUnicode(PJSONScanner scanner, JSONSource source, int start, IntRef nextIdx) {
             /*
              * Read a JSON number from PyUnicode pystr. idx is the index of the first character of
              * the number nextIdx is a return-by-reference index to the first character after the
@@ -276,57 +329,57 @@ public class JSONScannerBuiltins extends PythonBuiltins {
              */
 
             int idx = start;
-            int length = string.length();
+            int length = source.length();
 
             /* read a sign if it's there, make sure it's not the end of the string */
-            if (string.charAt(idx) == '-') {
+            if (source.charAt(idx) == '-') {
                 idx++;
                 if (idx >= length) {
-                    throw stopIteration(raiseNode, start);
+                    throw stopIteration(raiseNode, source.resultIndex(start));
                 }
             }
 
             /* read as many integer digits as we find as long as it doesn't start with 0 */
-            if (string.charAt(idx) >= '1' && string.charAt(idx) <= '9') {
+            if (source.charAt(idx) >= '1' && source.charAt(idx) <= '9') {
                 idx++;
-                while (idx < length && string.charAt(idx) >= '0' && string.charAt(idx) <= '9') {
+                while (idx < length && source.charAt(idx) >= '0' && source.charAt(idx) <= '9') {
                     idx++;
                 }
                 /* if it starts with 0 we only expect one integer digit */
-            } else if (string.charAt(idx) == '0') {
+            } else if (source.charAt(idx) == '0') {
                 idx++;
                 /* no integer digits, error */
             } else {
-                throw stopIteration(raiseNode, start);
+                throw stopIteration(raiseNode, source.resultIndex(start));
             }
             boolean isFloat = false;
 
             /* if the next char is '.' followed by a digit then read all float digits */
-            if (idx < (length - 1) && string.charAt(idx) == '.' && string.charAt(idx + 1) >= '0' && string.charAt(idx + 1) <= '9') {
+            if (idx < (length - 1) && source.charAt(idx) == '.' && source.charAt(idx + 1) >= '0' && source.charAt(idx + 1) <= '9') {
                 isFloat = true;
                 idx += 2;
-                while (idx < length && string.charAt(idx) >= '0' && string.charAt(idx) <= '9') {
+                while (idx < length && source.charAt(idx) >= '0' && source.charAt(idx) <= '9') {
                     idx++;
                 }
             }
 
             /* if the next char is 'e' or 'E' then maybe read the exponent (or backtrack) */
-            if (idx < (length - 1) && (string.charAt(idx) == 'e' || string.charAt(idx) == 'E')) {
+            if (idx < (length - 1) && (source.charAt(idx) == 'e' || source.charAt(idx) == 'E')) {
                 int e_start = idx;
                 idx++;
 
                 /* read an exponent sign if present */
-                if (idx < (length - 1) && (string.charAt(idx) == '-' || string.charAt(idx) == '+')) {
+                if (idx < (length - 1) && (source.charAt(idx) == '-' || source.charAt(idx) == '+')) {
                     idx++;
                 }
 
                 /* read all digits */
-                while (idx < length && string.charAt(idx) >= '0' && string.charAt(idx) <= '9') {
+                while (idx < length && source.charAt(idx) >= '0' && source.charAt(idx) <= '9') {
                     idx++;
                 }
 
                 /* if we got a digit, then parse as float. if not, backtrack */
-                if (string.charAt(idx - 1) >= '0' && string.charAt(idx - 1) <= '9') {
+                if (source.charAt(idx - 1) >= '0' && source.charAt(idx - 1) <= '9') {
                     isFloat = true;
                 } else {
                     idx = e_start;
@@ -334,23 +387,22 @@ public class JSONScannerBuiltins extends PythonBuiltins {
             }
 
             nextIdx.value = idx;
+            /* copy the section we determined to be a number */
+            TruffleString numStr = source.substring(start, idx);
             if (isFloat) {
                 if (PyFloatCheckExactNode.getUncached().execute(scanner.parseFloat)) {
-                    String numStr = string.substring(start, idx);
-                    return FloatUtils.parseValidString(numStr);
+                    return FloatUtils.parseValidString(numStr.toJavaStringUncached());
                 } else {
-                    /* copy the section we determined to be a number */
-                    TruffleString numStr = toTruffleStringUncached(string.substring(start, idx));
                     return callParseFloat.executeObject(scanner.parseFloat, numStr);
                 }
             } else {
                 if (PyLongCheckExactNode.getUncached().execute(scanner.parseInt)) {
-                    Object rval = BuiltinConstructors.IntNode.parseSimpleDecimalLiteral(string, start, idx - start);
+                    String javaNumStr = numStr.toJavaStringUncached();
+                    Object rval = BuiltinConstructors.IntNode.parseSimpleDecimalLiteral(javaNumStr, 0, javaNumStr.length());
                     if (rval != null) {
                         return rval;
                     }
-                    String numStr = string.substring(start, idx);
-                    BigInteger bi = new BigInteger(numStr);
+                    BigInteger bi = new BigInteger(javaNumStr);
                     try {
                         return bi.intValueExact();
                     } catch (ArithmeticException e) {
@@ -363,15 +415,13 @@ public class JSONScannerBuiltins extends PythonBuiltins {
                     }
                     return factory.createInt(bi);
                 } else {
-                    /* copy the section we determined to be a number */
-                    TruffleString numStr = toTruffleStringUncached(string.substring(start, idx));
                     return callParseInt.executeObject(scanner.parseInt, numStr);
                 }
             }
         }
 
         @TruffleBoundary
-        private Object scanOnceUnicode(PJSONScanner scanner, String string, int idx, IntRef nextIdx) {
+        private Object scanOnceUnicode(PJSONScanner scanner, JSONSource source, int idx, IntRef nextIdx) {
             /*
              * Read one JSON term (of any kind) from PyUnicode pystr. idx is the index of the first
              * character of the term nextIdx is a return-by-reference index to the first character
@@ -382,116 +432,121 @@ public class JSONScannerBuiltins extends PythonBuiltins {
             if (idx < 0) {
                 throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.IDX_CANNOT_BE_NEG);
             }
-            int length = string.length();
+            int length = source.length();
             if (idx >= length) {
-                throw stopIteration(raiseNode, idx);
+                throw stopIteration(raiseNode, source.resultIndex(idx));
             }
 
-            switch (string.charAt(idx)) {
+            switch (source.charAt(idx)) {
                 case '"':
                     /* string */
-                    return scanStringUnicode(string, idx + 1, scanner.strict, nextIdx, raiseNode);
+                    return scanStringUnicode(source, idx + 1, scanner.strict, nextIdx, raiseNode);
                 case '{':
                     /* object */
-                    return parseObjectUnicode(scanner, string, idx + 1, nextIdx);
+                    return parseObjectUnicode(scanner, source, idx + 1, nextIdx);
                 case '[':
                     /* array */
-                    return parseArrayUnicode(scanner, string, idx + 1, nextIdx);
+                    return parseArrayUnicode(scanner, source, idx + 1, nextIdx);
                 case 'n':
                     /* null */
-                    if ((idx + 3 < length) && string.charAt(idx + 1) == 'u' && string.charAt(idx + 2) == 'l' && string.charAt(idx + 3) == 'l') {
+                    if ((idx + 3 < length) && source.charAt(idx + 1) == 'u' && source.charAt(idx + 2) == 'l' && source.charAt(idx + 3) == 'l') {
                         nextIdx.value = idx + 4;
                         return PNone.NONE;
                     }
                     break;
                 case 't':
                     /* true */
-                    if ((idx + 3 < length) && string.charAt(idx + 1) == 'r' && string.charAt(idx + 2) == 'u' && string.charAt(idx + 3) == 'e') {
+                    if ((idx + 3 < length) && source.charAt(idx + 1) == 'r' && source.charAt(idx + 2) == 'u' && source.charAt(idx + 3) == 'e') {
                         nextIdx.value = idx + 4;
                         return true;
                     }
                     break;
                 case 'f':
                     /* false */
-                    if ((idx + 4 < length) && string.charAt(idx + 1) == 'a' && string.charAt(idx + 2) == 'l' && string.charAt(idx + 3) == 's' && string.charAt(idx + 4) == 'e') {
+                    if ((idx + 4 < length) && source.charAt(idx + 1) == 'a' && source.charAt(idx + 2) == 'l' && source.charAt(idx + 3) == 's' && source.charAt(idx + 4) == 'e') {
                         nextIdx.value = idx + 5;
                         return false;
                     }
                     break;
                 case 'N':
                     /* NaN */
-                    if ((idx + 2 < length) && string.charAt(idx + 1) == 'a' && string.charAt(idx + 2) == 'N') {
+                    if ((idx + 2 < length) && source.charAt(idx + 1) == 'a' && source.charAt(idx + 2) == 'N') {
                         return parseConstant(scanner, "NaN", idx, nextIdx);
                     }
                     break;
                 case 'I':
                     /* Infinity */
-                    if ((idx + 7 < length) && string.charAt(idx + 1) == 'n' &&
-                                    string.charAt(idx + 2) == 'f' &&
-                                    string.charAt(idx + 3) == 'i' &&
-                                    string.charAt(idx + 4) == 'n' &&
-                                    string.charAt(idx + 5) == 'i' &&
-                                    string.charAt(idx + 6) == 't' &&
-                                    string.charAt(idx + 7) == 'y') {
+                    if ((idx + 7 < length) && source.charAt(idx + 1) == 'n' &&
+                                    source.charAt(idx + 2) == 'f' &&
+                                    source.charAt(idx + 3) == 'i' &&
+                                    source.charAt(idx + 4) == 'n' &&
+                                    source.charAt(idx + 5) == 'i' &&
+                                    source.charAt(idx + 6) == 't' &&
+                                    source.charAt(idx + 7) == 'y') {
                         return parseConstant(scanner, "Infinity", idx, nextIdx);
                     }
                     break;
                 case '-':
                     /* -Infinity */
-                    if ((idx + 8 < length) && string.charAt(idx + 1) == 'I' &&
-                                    string.charAt(idx + 2) == 'n' &&
-                                    string.charAt(idx + 3) == 'f' &&
-                                    string.charAt(idx + 4) == 'i' &&
-                                    string.charAt(idx + 5) == 'n' &&
-                                    string.charAt(idx + 6) == 'i' &&
-                                    string.charAt(idx + 7) == 't' &&
-                                    string.charAt(idx + 8) == 'y') {
+                    if ((idx + 8 < length) && source.charAt(idx + 1) == 'I' &&
+                                    source.charAt(idx + 2) == 'n' &&
+                                    source.charAt(idx + 3) == 'f' &&
+                                    source.charAt(idx + 4) == 'i' &&
+                                    source.charAt(idx + 5) == 'n' &&
+                                    source.charAt(idx + 6) == 'i' &&
+                                    source.charAt(idx + 7) == 't' &&
+                                    source.charAt(idx + 8) == 'y') {
                         return parseConstant(scanner, "-Infinity", idx, nextIdx);
                     }
                     break;
             }
             /* Didn't find a string, object, array, or named constant. Look for a number. */
-            return matchNumberUnicode(scanner, string, idx, nextIdx);
+            return matchNumberUnicode(scanner, source, idx, nextIdx);
         }
 
     }
 
     @TruffleBoundary
-    static TruffleString scanStringUnicode(String string, int start, boolean strict, IntRef nextIdx, PRaiseNode raiseNode) {
-        String result;
-        StringBuilder builder = null;
+    static TruffleString scanStringUnicode(JSONSource source, int start, boolean strict, IntRef nextIdx, PRaiseNode raiseNode) {
+        TruffleStringBuilder builder = null;
 
-        if (start < 0 || start > string.length()) {
+        int length = source.length();
+        if (start < 0 || start > length) {
             throw raiseNode.raise(PythonBuiltinClassType.ValueError, ErrorMessages.END_IS_OUT_OF_BOUNDS);
         }
         int idx = start;
-        while (idx < string.length()) {
-            char c = string.charAt(idx++);
+        // start of the characters not yet copied to the builder
+        int chunkStart = start;
+        while (idx < length) {
+            int c = source.charAt(idx++);
             if (c == '"') {
                 // we reached the end of the string literal
-                result = builder == null ? string.substring(start, idx - 1) : builder.toString();
                 nextIdx.value = idx;
-                return toTruffleStringUncached(result);
+                if (builder == null) {
+                    return source.substring(start, idx - 1);
+                }
+                source.appendSubstring(builder, chunkStart, idx - 1);
+                return builder.toStringUncached();
             } else if (c == '\\') {
-                // escape sequence, switch to StringBuilder
+                // escape sequence, switch to TruffleStringBuilder
                 if (builder == null) {
-                    builder = new StringBuilder().append(string, start, idx - 1);
+                    builder = TruffleStringBuilder.create(TS_ENCODING);
                 }
-                if (idx >= string.length()) {
-                    throw decodeError(raiseNode, string, start - 1, ErrorMessages.UTERMINATED_STR_STARTING);
+                source.appendSubstring(builder, chunkStart, idx - 1);
+                if (idx >= length) {
+                    throw decodeError(raiseNode, source, start - 1, ErrorMessages.UTERMINATED_STR_STARTING);
                 }
-                c = string.charAt(idx++);
+                c = source.charAt(idx++);
                 if (c == 'u') {
-                    if (idx + 3 >= string.length()) {
-                        throw decodeError(raiseNode, string, idx - 1, ErrorMessages.INVALID_UXXXX_ESCAPE);
-                    }
-                    c = 0;
-                    for (int i = 0; i < 4; i++) {
-                        int digit = Character.digit(string.charAt(idx++), 16);
-                        if (digit == -1) {
-                            throw decodeError(raiseNode, string, idx - 1, ErrorMessages.INVALID_UXXXX_ESCAPE);
+                    c = scanUnicodeEscape(source, idx, raiseNode);
+                    idx += 4;
+                    // combine an escaped surrogate pair into a single code point
+                    if (Character.isHighSurrogate((char) c) && idx + 6 < length && source.charAt(idx) == '\\' && source.charAt(idx + 1) == 'u') {
+                        int c2 = scanUnicodeEscape(source, idx + 2, raiseNode);
+                        if (Character.isLowSurrogate((char) c2)) {
+                            c = Character.toCodePoint((char) c, (char) c2);
+                            idx += 6;
                         }
-                        c = (char) ((c << 4) + digit);
                     }
                 } else {
                     switch (c) {
@@ -515,28 +570,216 @@ public class JSONScannerBuiltins extends PythonBuiltins {
                             c = '\t';
                             break;
                         default:
-                            throw decodeError(raiseNode, string, idx - 1, ErrorMessages.INVALID_ESCAPE);
+                            throw decodeError(raiseNode, source, idx - 1, ErrorMessages.INVALID_ESCAPE);
                     }
                 }
-                builder.append(c);
-            } else {
+                TruffleStringBuilder.AppendCodePointNode.getUncached().execute(builder, c, 1, true);
+                chunkStart = idx;
+            } else if (strict && c < 0x20) {
                 // any other character: check if in strict mode
-                if (strict && c < 0x20) {
-                    throw decodeError(raiseNode, string, idx - 1, ErrorMessages.INVALID_CTRL_CHARACTER_AT);
-                }
-                if (builder != null) {
-                    builder.append(c);
+                throw decodeError(raiseNode, source, idx - 1, ErrorMessages.INVALID_CTRL_CHARACTER_AT);
+            }
+        }
+        throw decodeError(raiseNode, source, start - 1, ErrorMessages.UNTERMINATED_STR_STARTING_AT);
+    }
+
+    /**
+     * Decodes the four hex digits of a unicode escape starting at {@code start}, i.e., right after
+     * the {@code u}.
+     */
+    private static int scanUnicodeEscape(JSONSource source, int start, PRaiseNode raiseNode) {
+        if (start + 3 >= source.length()) {
+            throw decodeError(raiseNode, source, start - 1, ErrorMessages.INVALID_UXXXX_ESCAPE);
+        }
+        int c = 0;
+        for (int i = start; i < start + 4; i++) {
+            int digit = Character.digit(source.charAt(i), 16);
+            if (digit == -1) {
+                throw decodeError(raiseNode, source, start - 1, ErrorMessages.INVALID_UXXXX_ESCAPE);
+            }
+            c = (c << 4) + digit;
+        }
+        return c;
+    }
+
+    /**
+     * Returns the number of code points encoded by the first {@code idx} bytes of a UTF-8 buffer.
+     * Indices past the end of the buffer are shifted by the same amount.
+     */
+    static int utf8CharIndex(byte[] data, int length, int idx) {
+        if (idx <= 0) {
+            return idx;
+        }
+        int end = Math.min(idx, length);
+        int count = 0;
+        for (int i = 0; i < end; i++) {
+            // count everything but continuation bytes
+            if ((data[i] & 0xC0) != 0x80) {
+                count++;
+            }
+        }
+        return count + (idx - end);
+    }
+
+    /**
+     * The text scanned by the JSON decoder. Indices are in units of the underlying storage, which
+     * are code points for {@code str} and bytes for UTF-8 encoded buffers. The structural
+     * characters of JSON are all ASCII, so the scanner can work on either without decoding the
+     * whole document. Only the slices that end up in the result are materialized as
+     * {@link TruffleString}s.
+     */
+    abstract static class JSONSource {
+
+        /** Number of units that can be read with {@link #charAt(int)}. */
+        abstract int length();
+
+        /**
+         * Returns the code point or byte at the given index. Non-ASCII bytes of UTF-8 input are
+         * returned as is, so they never match any JSON syntax character.
+         */
+        abstract int charAt(int idx);
+
+        /** Returns the text between the two indices as a new Python string. */
+        abstract TruffleString substring(int start, int end);
+
+        abstract void appendSubstring(TruffleStringBuilder builder, int start, int end);
+
+        /** The document as a Python string, used to construct {@code JSONDecodeError}. */
+        abstract TruffleString document();
+
+        /** Translates an index to a code point index into {@link #document()}. */
+        int errorIndex(int idx) {
+            return idx;
+        }
+
+        /** Translates an index to the index reported back to the caller of the scanner. */
+        int resultIndex(int idx) {
+            return idx;
+        }
+    }
+
+    static class StringSource extends JSONSource {
+        private final TruffleString string;
+        private final int length;
+        private final TruffleString.CodePointAtIndexNode codePointAtIndexNode;
+
+        StringSource(TruffleString string, int length, TruffleString.CodePointAtIndexNode codePointAtIndexNode) {
+            this.string = string;
+            this.length = length;
+            this.codePointAtIndexNode = codePointAtIndexNode;
+        }
+
+        @Override
+        final int length() {
+            return length;
+        }
+
+        @Override
+        final int charAt(int idx) {
+            return codePointAtIndexNode.execute(string, idx, TS_ENCODING);
+        }
+
+        @Override
+        final TruffleString substring(int start, int end) {
+            // not lazy, the result must not keep the whole document alive
+            return TruffleString.SubstringNode.getUncached().execute(string, start, end - start, TS_ENCODING, false);
+        }
+
+        @Override
+        final void appendSubstring(TruffleStringBuilder builder, int start, int end) {
+            assert TS_ENCODING == Encoding.UTF_32;
+            TruffleStringBuilder.AppendSubstringByteIndexNode.getUncached().execute(builder, string, start << 2, (end - start) << 2);
+        }
+
+        @Override
+        final TruffleString document() {
+            return string;
+        }
+    }
+
+    /**
+     * A UTF-8 document that contains encoded surrogates and was therefore decoded up front. Scanning
+     * happens on the decoded string, but indices are reported as byte offsets.
+     */
+    static final class DecodedUTF8Source extends StringSource {
+
+        DecodedUTF8Source(TruffleString string, int length, TruffleString.CodePointAtIndexNode codePointAtIndexNode) {
+            super(string, length, codePointAtIndexNode);
+        }
+
+        @Override
+        int resultIndex(int idx) {
+            int end = Math.min(idx, length());
+            int byteOffset = 0;
+            for (int i = 0; i < end; i++) {
+                int c = charAt(i);
+                if (c < 0x80) {
+                    byteOffset += 1;
+                } else if (c < 0x800) {
+                    byteOffset += 2;
+                } else if (c < 0x10000) {
+                    // includes the surrogates, which were encoded with three bytes
+                    byteOffset += 3;
+                } else {
+                    byteOffset += 4;
                 }
             }
+            return byteOffset + (idx - end);
+        }
+    }
+
+    /**
+     * A valid UTF-8 encoded {@code bytes} or {@code bytearray} document, scanned byte by byte.
+     */
+    static final class UTF8Source extends JSONSource {
+        private final byte[] data;
+        private final int length;
+
+        UTF8Source(byte[] data, int length) {
+            this.data = data;
+            this.length = length;
+        }
+
+        @Override
+        int length() {
+            return length;
+        }
+
+        @Override
+        int charAt(int idx) {
+            return data[idx] & 0xFF;
+        }
+
+        @Override
+        TruffleString substring(int start, int end) {
+            // copy the slice, the buffer of a bytearray may be modified later
+            TruffleString utf8 = TruffleString.FromByteArrayNode.getUncached().execute(data, start, end - start, Encoding.UTF_8, true);
+            return TruffleString.SwitchEncodingNode.getUncached().execute(utf8, TS_ENCODING);
+        }
+
+        @Override
+        void appendSubstring(TruffleStringBuilder builder, int start, int end) {
+            if (start < end) {
+                TruffleStringBuilder.AppendStringNode.getUncached().execute(builder, substring(start, end));
+            }
+        }
+
+        @Override
+        TruffleString document() {
+            return substring(0, length);
+        }
+
+        @Override
+        int errorIndex(int idx) {
+            return utf8CharIndex(data, length, idx);
         }
-        throw decodeError(raiseNode, string, start - 1, ErrorMessages.UNTERMINATED_STR_STARTING_AT);
     }
 
-    private static RuntimeException decodeError(Node raisingNode, String jsonString, int pos, TruffleString format) {
+    private static RuntimeException decodeError(Node raisingNode, JSONSource source, int pos, TruffleString format) {
         CompilerAsserts.neverPartOfCompilation();
         Object module = AbstractImportNode.importModule(toTruffleStringUncached("json.decoder"));
         Object errorClass = PyObjectLookupAttr.getUncached().execute(null, module, T_JSON_DECODE_ERROR);
-        Object exception = CallNode.getUncached().execute(errorClass, format, toTruffleStringUncached(jsonString), pos);
+        Object exception = CallNode.getUncached().execute(errorClass, format, source.document(), source.errorIndex(pos));
         throw PRaiseNode.raise(raisingNode, (PBaseException) exception, false);
     }
 
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.pickle;
+
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.FRAME;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.FRAME_HEADER_SIZE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.FRAME_SIZE_MIN;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.FRAME_SIZE_TARGET;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.WRITE_BUF_SIZE;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.Shape;
+
+public final class PPickler extends PythonBuiltinObject {
+    // Memo table, keeps track of the objects already pickled and their memo index.
+    private IdentityHashMap<Object, Integer> memo = new IdentityHashMap<>();
+
+    // The output buffer and the current position in it. Frames are opened lazily on the first
+    // write and their header is patched in when they are committed.
+    private byte[] outputBuffer = new byte[WRITE_BUF_SIZE];
+    private int outputLen;
+    private int frameStart = -1;
+    private boolean framing;
+
+    // write() method of the output stream, or null when pickling to bytes.
+    Object write;
+    // persistent_id() method, can be null.
+    Object persFunc;
+    // private dispatch_table, can be null.
+    Object dispatchTable;
+    // reducer_override() method, can be null.
+    Object reducerOverride;
+    // callback for out-of-band buffers, can be null.
+    Object bufferCallback;
+
+    int proto;
+    boolean bin;
+    // Enable fast mode if set to a true value. The fast mode disables the usage of memo,
+    // therefore speeding the pickling process by not generating superfluous PUT opcodes. It
+    // should not be used if with self-referential objects.
+    boolean fast;
+    int fastNesting;
+    IdentityHashMap<Object, Object> fastMemo;
+    // Indicate whether Pickler should fix the name of globals for Python 2.x.
+    boolean fixImports;
+
+    PickleState state;
+
+    public PPickler(Object cls, Shape instanceShape) {
+        super(cls, instanceShape);
+    }
+
+    void init(PickleState pickleState, int protocol, boolean fixImportsArg, Object writeMethod, Object callback) {
+        this.state = pickleState;
+        this.proto = protocol;
+        this.bin = protocol > 0;
+        this.fixImports = fixImportsArg && protocol < 3;
+        this.write = writeMethod;
+        this.bufferCallback = callback;
+        this.fast = false;
+        this.fastNesting = 0;
+        this.fastMemo = null;
+        clearMemo();
+    }
+
+    boolean isInitialized() {
+        return state != null;
+    }
+
+    // memo
+
+    @TruffleBoundary
+    Integer memoGet(Object obj) {
+        return memo.get(obj);
+    }
+
+    /**
+     * Stores the object in the memo and returns its index.
+     */
+    @TruffleBoundary
+    int memoPut(Object obj) {
+        int idx = memo.size();
+        memo.put(obj, idx);
+        return idx;
+    }
+
+    @TruffleBoundary
+    void memoPut(Object obj, int idx) {
+        memo.put(obj, idx);
+    }
+
+    @TruffleBoundary
+    void clearMemo() {
+        memo = new IdentityHashMap<>();
+    }
+
+    @TruffleBoundary
+    IdentityHashMap<Object, Integer> copyMemo() {
+        return new IdentityHashMap<>(memo);
+    }
+
+    void setMemo(IdentityHashMap<Object, Integer> newMemo) {
+        this.memo = newMemo;
+    }
+
+    // output buffer
+
+    void clearBuffer() {
+        outputLen = 0;
+        frameStart = -1;
+        if (outputBuffer.length > WRITE_BUF_SIZE * 16) {
+            outputBuffer = new byte[WRITE_BUF_SIZE];
+        }
+    }
+
+    void setFraming(boolean framing) {
+        this.framing = framing;
+    }
+
+    boolean isFraming() {
+        return framing;
+    }
+
+    byte[] getOutputBuffer() {
+        return outputBuffer;
+    }
+
+    int getOutputLen() {
+        return outputLen;
+    }
+
+    private int reserve(int n) {
+        int required = outputLen + n;
+        boolean needNewFrame = framing && frameStart == -1;
+        if (needNewFrame) {
+            required += FRAME_HEADER_SIZE;
+        }
+        if (required < 0) {
+            throw new OutOfMemoryError();
+        }
+        if (required > outputBuffer.length) {
+            int newSize = Math.max(required, outputBuffer.length < Integer.MAX_VALUE / 2 ? outputBuffer.length * 2 : Integer.MAX_VALUE);
+            outputBuffer = Arrays.copyOf(outputBuffer, newSize);
+        }
+        if (needNewFrame) {
+            // The header is filled in when the frame is committed.
+            frameStart = outputLen;
+            Arrays.fill(outputBuffer, outputLen, outputLen + FRAME_HEADER_SIZE, (byte) 0);
+            outputLen += FRAME_HEADER_SIZE;
+        }
+        int pos = outputLen;
+        outputLen += n;
+        return pos;
+    }
+
+    void write(byte op) {
+        int pos = reserve(1);
+        outputBuffer[pos] = op;
+    }
+
+    void write(byte op, byte arg) {
+        int pos = reserve(2);
+        outputBuffer[pos] = op;
+        outputBuffer[pos + 1] = arg;
+    }
+
+    void write(byte[] data) {
+        write(data, 0, data.length);
+    }
+
+    void write(byte[] data, int offset, int length) {
+        int pos = reserve(length);
+        PythonUtils.arraycopy(data, offset, outputBuffer, pos, length);
+    }
+
+    /**
+     * Writes an opcode followed by a little-endian unsigned integer of {@code size} bytes.
+     */
+    void writeOpWithSize(byte op, long value, int size) {
+        int pos = reserve(1 + size);
+        outputBuffer[pos] = op;
+        for (int i = 0; i < size; i++) {
+            outputBuffer[pos + 1 + i] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    void commitFrame() {
+        if (!framing || frameStart == -1) {
+            return;
+        }
+        int frameLen = outputLen - frameStart - FRAME_HEADER_SIZE;
+        if (frameLen >= FRAME_SIZE_MIN) {
+            outputBuffer[frameStart] = FRAME;
+            for (int i = 0; i < 8; i++) {
+                outputBuffer[frameStart + 1 + i] = (byte) ((long) frameLen >>> (8 * i));
+            }
+        } else {
+            PythonUtils.arraycopy(outputBuffer, frameStart + FRAME_HEADER_SIZE, outputBuffer, frameStart, frameLen);
+            outputLen -= FRAME_HEADER_SIZE;
+        }
+        frameStart = -1;
+    }
+
+    /**
+     * Returns {@code true} if the current frame reached its target size. The caller is expected
+     * to commit the frame and, when pickling to a file, flush the buffer.
+     */
+    boolean isFrameFull() {
+        return framing && frameStart != -1 && outputLen - frameStart - FRAME_HEADER_SIZE >= FRAME_SIZE_TARGET;
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.pickle;
+
+import java.util.Arrays;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.api.strings.TruffleString;
+
+public final class PUnpickler extends PythonBuiltinObject {
+    private static final int INITIAL_STACK_SIZE = 8;
+    private static final int INITIAL_MEMO_SIZE = 32;
+
+    // The object stack. Marks are kept separately; 'fence' is the position of the topmost mark
+    // and objects below it must not be popped.
+    private Object[] stack = new Object[INITIAL_STACK_SIZE];
+    private int stackLen;
+    private int fence;
+    private int[] marks = PythonUtils.EMPTY_INT_ARRAY;
+    private int numMarks;
+
+    // The memo, indexed by the memo keys.
+    private Object[] memo = new Object[INITIAL_MEMO_SIZE];
+    private int memoLen;
+
+    // The input buffer: either the complete input when unpickling from bytes, or the data read
+    // (or peeked) from the file so far.
+    byte[] inputBuffer = PythonUtils.EMPTY_BYTE_ARRAY;
+    int inputLen;
+    int nextReadIdx;
+    int prefetchedIdx;
+
+    // read(), readline() and peek() methods of the input stream, null when unpickling from bytes
+    // ('peek' is also null when not supported by the stream).
+    Object read;
+    Object readline;
+    Object peek;
+    // Iterator over the out-of-band buffers, can be null.
+    Object buffers;
+    // persistent_load() method, can be null.
+    Object persFunc;
+
+    // Name of the encoding and error handler to be used for decoding 8-bit string instances
+    // pickled by Python 2.
+    TruffleString encoding;
+    TruffleString errors;
+    int proto;
+    boolean fixImports;
+
+    PickleState state;
+
+    public PUnpickler(Object cls, Shape instanceShape) {
+        super(cls, instanceShape);
+    }
+
+    void init(PickleState pickleState, TruffleString encodingArg, TruffleString errorsArg, boolean fixImportsArg, Object buffersIter) {
+        this.state = pickleState;
+        this.encoding = encodingArg;
+        this.errors = errorsArg;
+        this.fixImports = fixImportsArg;
+        this.buffers = buffersIter;
+        this.proto = 0;
+        clearMemo();
+    }
+
+    boolean isInitialized() {
+        return state != null;
+    }
+
+    void setInput(byte[] data, int length) {
+        inputBuffer = data;
+        inputLen = length;
+        nextReadIdx = 0;
+        prefetchedIdx = length;
+    }
+
+    // stack
+
+    void push(Object value) {
+        if (stackLen == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[stackLen++] = value;
+    }
+
+    int stackLength() {
+        return stackLen;
+    }
+
+    int fence() {
+        return fence;
+    }
+
+    boolean isMarkSet() {
+        return numMarks > 0;
+    }
+
+    Object pop() {
+        assert stackLen > fence;
+        Object value = stack[--stackLen];
+        stack[stackLen] = null;
+        return value;
+    }
+
+    Object peekTop() {
+        assert stackLen > fence;
+        return stack[stackLen - 1];
+    }
+
+    Object get(int idx) {
+        return stack[idx];
+    }
+
+    void set(int idx, Object value) {
+        stack[idx] = value;
+    }
+
+    /**
+     * Pops the items from {@code start} up to the top of the stack and returns them as array.
+     */
+    Object[] popFrom(int start) {
+        assert start >= fence && start <= stackLen;
+        Object[] items = Arrays.copyOfRange(stack, start, stackLen);
+        truncate(start);
+        return items;
+    }
+
+    void truncate(int newLen) {
+        Arrays.fill(stack, newLen, stackLen, null);
+        stackLen = newLen;
+    }
+
+    void clearStack() {
+        Arrays.fill(stack, 0, stackLen, null);
+        stackLen = 0;
+        fence = 0;
+        numMarks = 0;
+    }
+
+    void pushMark() {
+        if (numMarks == marks.length) {
+            marks = Arrays.copyOf(marks, Math.max(INITIAL_STACK_SIZE, marks.length * 2));
+        }
+        marks[numMarks++] = stackLen;
+        fence = stackLen;
+    }
+
+    /**
+     * Pops the topmost mark and returns its position, or {@code -1} if there is none.
+     */
+    int popMark() {
+        if (numMarks < 1) {
+            return -1;
+        }
+        int mark = marks[--numMarks];
+        fence = numMarks != 0 ? marks[numMarks - 1] : 0;
+        return mark;
+    }
+
+    boolean isTopMarkAt(int position) {
+        return numMarks > 0 && marks[numMarks - 1] == position;
+    }
+
+    // memo
+
+    Object memoGet(long idx) {
+        if (idx < 0 || idx >= memo.length) {
+            return null;
+        }
+        return memo[(int) idx];
+    }
+
+    void memoPut(int idx, Object value) {
+        if (idx >= memo.length) {
+            memo = Arrays.copyOf(memo, Math.max(idx + 1, memo.length * 2));
+        }
+        if (memo[idx] == null) {
+            memoLen++;
+        }
+        memo[idx] = value;
+    }
+
+    int memoLen() {
+        return memoLen;
+    }
+
+    Object[] getMemo() {
+        return memo;
+    }
+
+    void setMemo(Object[] newMemo, int newLen) {
+        memo = newMemo;
+        memoLen = newLen;
+    }
+
+    void clearMemo() {
+        memo = new Object[INITIAL_MEMO_SIZE];
+        memoLen = 0;
+    }
+}
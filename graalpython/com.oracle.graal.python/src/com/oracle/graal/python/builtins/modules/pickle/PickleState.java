@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.pickle;
+
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_ATTR_DISPATCH_TABLE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_ATTR_EXT_CACHE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_ATTR_EXT_REGISTRY;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_ATTR_IMPORT_MAPPING;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_ATTR_INV_REGISTRY;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_ATTR_NAME_MAPPING;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_ATTR_PARTIAL;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_ATTR_REVERSE_IMPORT_MAPPING;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_ATTR_REVERSE_NAME_MAPPING;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_MOD_CODECS;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_MOD_COMPAT_PICKLE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_MOD_COPYREG;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_MOD_FUNCTOOLS;
+import static com.oracle.graal.python.nodes.BuiltinNames.T_ENCODE;
+import static com.oracle.graal.python.nodes.BuiltinNames.T_GETATTR;
+import static com.oracle.graal.python.nodes.BuiltinNames.T__PICKLE;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.lib.PyObjectGetAttr;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.statement.AbstractImportNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * The equivalent of CPython's {@code PickleState}: objects from other modules the pickler and
+ * unpickler need. It is created lazily on first use, since {@code copyreg} and
+ * {@code _compat_pickle} are not yet importable when the {@code _pickle} module is initialized.
+ */
+final class PickleState {
+    // copyreg.dispatch_table, {type_object: pickling_function}
+    final PDict dispatchTable;
+    // For the extension opcodes EXT1, EXT2 and EXT4.
+    // copyreg._extension_registry, {(module_name, function_name): code}
+    final PDict extensionRegistry;
+    // copyreg._extension_cache, {code: object}
+    final PDict extensionCache;
+    // copyreg._inverted_registry, {code: (module_name, function_name)}
+    final PDict invertedRegistry;
+    // Import mappings for compatibility with Python 2.x
+    // _compat_pickle.NAME_MAPPING, {(oldmodule, oldname): (newmodule, newname)}
+    final PDict nameMapping2To3;
+    // _compat_pickle.IMPORT_MAPPING, {oldmodule: newmodule}
+    final PDict importMapping2To3;
+    // Same, but with REVERSE_NAME_MAPPING / REVERSE_IMPORT_MAPPING
+    final PDict nameMapping3To2;
+    final PDict importMapping3To2;
+    // codecs.encode, used for saving bytes in older protocols
+    final Object codecsEncode;
+    // builtins.getattr, used for saving nested names with protocol < 4
+    final Object getattr;
+    // functools.partial, used for implementing __newobj_ex__ with protocols 2 and 3
+    final Object partial;
+
+    private PickleState(PDict dispatchTable, PDict extensionRegistry, PDict extensionCache, PDict invertedRegistry, PDict nameMapping2To3, PDict importMapping2To3, PDict nameMapping3To2,
+                    PDict importMapping3To2, Object codecsEncode, Object getattr, Object partial) {
+        this.dispatchTable = dispatchTable;
+        this.extensionRegistry = extensionRegistry;
+        this.extensionCache = extensionCache;
+        this.invertedRegistry = invertedRegistry;
+        this.nameMapping2To3 = nameMapping2To3;
+        this.importMapping2To3 = importMapping2To3;
+        this.nameMapping3To2 = nameMapping3To2;
+        this.importMapping3To2 = importMapping3To2;
+        this.codecsEncode = codecsEncode;
+        this.getattr = getattr;
+        this.partial = partial;
+    }
+
+    @TruffleBoundary
+    static PickleState get(PythonContext context) {
+        PickleModuleBuiltins builtins = (PickleModuleBuiltins) context.lookupBuiltinModule(T__PICKLE).getBuiltins();
+        PickleState state = builtins.state;
+        if (state == null) {
+            state = create(context);
+            builtins.state = state;
+        }
+        return state;
+    }
+
+    private static PickleState create(PythonContext context) {
+        PyObjectGetAttr getAttr = PyObjectGetAttr.getUncached();
+        Object copyreg = AbstractImportNode.importModule(T_MOD_COPYREG);
+        PDict dispatchTable = getDict(getAttr.execute(null, copyreg, T_ATTR_DISPATCH_TABLE), T_MOD_COPYREG, T_ATTR_DISPATCH_TABLE);
+        PDict extensionRegistry = getDict(getAttr.execute(null, copyreg, T_ATTR_EXT_REGISTRY), T_MOD_COPYREG, T_ATTR_EXT_REGISTRY);
+        PDict invertedRegistry = getDict(getAttr.execute(null, copyreg, T_ATTR_INV_REGISTRY), T_MOD_COPYREG, T_ATTR_INV_REGISTRY);
+        PDict extensionCache = getDict(getAttr.execute(null, copyreg, T_ATTR_EXT_CACHE), T_MOD_COPYREG, T_ATTR_EXT_CACHE);
+
+        Object compatPickle = AbstractImportNode.importModule(T_MOD_COMPAT_PICKLE);
+        PDict nameMapping2To3 = getDict(getAttr.execute(null, compatPickle, T_ATTR_NAME_MAPPING), T_MOD_COMPAT_PICKLE, T_ATTR_NAME_MAPPING);
+        PDict importMapping2To3 = getDict(getAttr.execute(null, compatPickle, T_ATTR_IMPORT_MAPPING), T_MOD_COMPAT_PICKLE, T_ATTR_IMPORT_MAPPING);
+        PDict nameMapping3To2 = getDict(getAttr.execute(null, compatPickle, T_ATTR_REVERSE_NAME_MAPPING), T_MOD_COMPAT_PICKLE, T_ATTR_REVERSE_NAME_MAPPING);
+        PDict importMapping3To2 = getDict(getAttr.execute(null, compatPickle, T_ATTR_REVERSE_IMPORT_MAPPING), T_MOD_COMPAT_PICKLE, T_ATTR_REVERSE_IMPORT_MAPPING);
+
+        Object codecsEncode = getAttr.execute(null, AbstractImportNode.importModule(T_MOD_CODECS), T_ENCODE);
+        Object getattr = getAttr.execute(null, context.getBuiltins(), T_GETATTR);
+        Object partial = getAttr.execute(null, AbstractImportNode.importModule(T_MOD_FUNCTOOLS), T_ATTR_PARTIAL);
+        return new PickleState(dispatchTable, extensionRegistry, extensionCache, invertedRegistry, nameMapping2To3, importMapping2To3, nameMapping3To2, importMapping3To2, codecsEncode, getattr,
+                        partial);
+    }
+
+    private static PDict getDict(Object value, TruffleString module, TruffleString name) {
+        if (!(value instanceof PDict)) {
+            throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.S_S_SHOULD_BE_A_DICT_NOT_P, module, name, value);
+        }
+        return (PDict) value;
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.pickle;
+
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_ATTR_DISPATCH_TABLE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_METHOD_PERSISTENT_ID;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_METHOD_REDUCER_OVERRIDE;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___INIT__;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage.DictEntry;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes.GetNameNode;
+import com.oracle.graal.python.lib.PyCallableCheckNode;
+import com.oracle.graal.python.lib.PyLongAsIntNode;
+import com.oracle.graal.python.lib.PyObjectIsTrueNode;
+import com.oracle.graal.python.lib.PyObjectLookupAttr;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.Pickler)
+public class PicklerBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return PicklerBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = J___INIT__, minNumOfPositionalArgs = 2, parameterNames = {"$self", "file", "protocol", "fix_imports", "buffer_callback"})
+    @ArgumentClinic(name = "protocol", conversion = ArgumentClinic.ClinicConversion.Int, defaultValue = "PickleUtils.DEFAULT_PROTOCOL", useDefaultForNone = true)
+    @ArgumentClinic(name = "fix_imports", conversion = ArgumentClinic.ClinicConversion.Boolean, defaultValue = "true")
+    @GenerateNodeFactory
+    abstract static class InitNode extends PythonClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PicklerBuiltinsClinicProviders.InitNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        static Object init(VirtualFrame frame, PPickler self, Object file, int protocol, boolean fixImports, Object bufferCallback,
+                        @Cached PicklerNodes.InitPicklerNode initNode,
+                        @Cached PyObjectLookupAttr lookupAttr) {
+            initNode.execute(self, file, protocol, fixImports, bufferCallback);
+            self.persFunc = noValueToNull(lookupAttr.execute(frame, self, T_METHOD_PERSISTENT_ID));
+            self.reducerOverride = noValueToNull(lookupAttr.execute(frame, self, T_METHOD_REDUCER_OVERRIDE));
+            self.dispatchTable = noValueToNull(lookupAttr.execute(frame, self, T_ATTR_DISPATCH_TABLE));
+            return PNone.NONE;
+        }
+
+        private static Object noValueToNull(Object value) {
+            return value == PNone.NO_VALUE ? null : value;
+        }
+    }
+
+    @Builtin(name = "dump", minNumOfPositionalArgs = 2, parameterNames = {"$self", "obj"})
+    @GenerateNodeFactory
+    abstract static class DumpNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object dump(PPickler self, Object obj,
+                        @Cached PicklerNodes.DumpNode dumpNode,
+                        @Cached GetClassNode getClassNode,
+                        @Cached GetNameNode getNameNode) {
+            // Check whether the Pickler was initialized correctly. Developers often forget to
+            // call __init__() in their subclasses.
+            if (self.write == null) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.PICKLER_INIT_NOT_CALLED, getNameNode.execute(getClassNode.execute(self)));
+            }
+            self.clearBuffer();
+            dumpNode.execute(self, obj);
+            dumpNode.flushToFile(self);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "clear_memo", minNumOfPositionalArgs = 1, parameterNames = {"$self"})
+    @GenerateNodeFactory
+    abstract static class ClearMemoNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object clear(PPickler self) {
+            self.clearMemo();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "memo", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true, allowsDelete = true)
+    @GenerateNodeFactory
+    abstract static class MemoNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        Object get(PPickler self, @SuppressWarnings("unused") PNone value) {
+            return factory().createPicklerMemoProxy(self);
+        }
+
+        @Specialization(guards = "isDeleteMarker(value)")
+        Object delete(@SuppressWarnings("unused") PPickler self, @SuppressWarnings("unused") Object value) {
+            throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.ATTR_DELETION_NOT_SUPPORTED);
+        }
+
+        @Specialization
+        static Object setFromProxy(PPickler self, PPicklerMemoProxy value) {
+            self.setMemo(value.getPickler().copyMemo());
+            return PNone.NONE;
+        }
+
+        @Specialization
+        Object setFromDict(PPickler self, PDict value) {
+            self.setMemo(memoFromDict(value));
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = {"!isNoValue(value)", "!isDeleteMarker(value)", "!isPicklerMemoProxy(value)", "!isDict(value)"})
+        Object setError(@SuppressWarnings("unused") PPickler self, Object value) {
+            throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.MEMO_MUST_BE_PICKLER_MEMO_PROXY_OR_DICT, value);
+        }
+
+        @TruffleBoundary
+        private IdentityHashMap<Object, Integer> memoFromDict(PDict dict) {
+            IdentityHashMap<Object, Integer> memo = new IdentityHashMap<>();
+            for (DictEntry entry : HashingStorageLibrary.getUncached().entries(dict.getDictStorage())) {
+                Object value = entry.value;
+                if (!(value instanceof PTuple) || ((PTuple) value).getSequenceStorage().length() != 2) {
+                    throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.MEMO_VALUES_MUST_BE_2_TUPLES);
+                }
+                SequenceStorageNodes.GetItemScalarNode getItemNode = SequenceStorageNodes.GetItemScalarNode.getUncached();
+                int memoIndex = PyLongAsIntNode.getUncached().execute(null, getItemNode.execute(((PTuple) value).getSequenceStorage(), 0));
+                memo.put(getItemNode.execute(((PTuple) value).getSequenceStorage(), 1), memoIndex);
+            }
+            return memo;
+        }
+
+        static boolean isPicklerMemoProxy(Object value) {
+            return value instanceof PPicklerMemoProxy;
+        }
+    }
+
+    @Builtin(name = "persistent_id", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true, allowsDelete = true)
+    @GenerateNodeFactory
+    abstract static class PersistentIdNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        Object get(PPickler self, @SuppressWarnings("unused") PNone value) {
+            if (self.persFunc == null) {
+                throw raise(PythonBuiltinClassType.AttributeError, ErrorMessages.OBJ_P_HAS_NO_ATTR_S, self, T_METHOD_PERSISTENT_ID);
+            }
+            return self.persFunc;
+        }
+
+        @Specialization(guards = "isDeleteMarker(value)")
+        Object delete(@SuppressWarnings("unused") PPickler self, @SuppressWarnings("unused") Object value) {
+            throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.ATTR_DELETION_NOT_SUPPORTED);
+        }
+
+        @Specialization(guards = {"!isNoValue(value)", "!isDeleteMarker(value)"})
+        Object set(PPickler self, Object value,
+                        @Cached PyCallableCheckNode callableCheckNode) {
+            if (!callableCheckNode.execute(value)) {
+                throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.PERSISTENT_ID_MUST_BE_CALLABLE);
+            }
+            self.persFunc = value;
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "dispatch_table", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true, allowsDelete = true)
+    @GenerateNodeFactory
+    abstract static class DispatchTableNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        Object get(PPickler self, @SuppressWarnings("unused") PNone value) {
+            if (self.dispatchTable == null) {
+                throw raise(PythonBuiltinClassType.AttributeError, ErrorMessages.OBJ_P_HAS_NO_ATTR_S, self, T_ATTR_DISPATCH_TABLE);
+            }
+            return self.dispatchTable;
+        }
+
+        @Specialization(guards = "isDeleteMarker(value)")
+        Object delete(PPickler self, @SuppressWarnings("unused") Object value) {
+            if (self.dispatchTable == null) {
+                throw raise(PythonBuiltinClassType.AttributeError, ErrorMessages.OBJ_P_HAS_NO_ATTR_S, self, T_ATTR_DISPATCH_TABLE);
+            }
+            self.dispatchTable = null;
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = {"!isNoValue(value)", "!isDeleteMarker(value)"})
+        static Object set(PPickler self, Object value) {
+            self.dispatchTable = value;
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "bin", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class BinNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        static Object get(PPickler self, @SuppressWarnings("unused") PNone value) {
+            return self.bin ? 1 : 0;
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        static Object set(VirtualFrame frame, PPickler self, Object value,
+                        @Cached PyLongAsIntNode asIntNode) {
+            self.bin = asIntNode.execute(frame, value) != 0;
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "fast", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class FastNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        static Object get(PPickler self, @SuppressWarnings("unused") PNone value) {
+            return self.fast ? 1 : 0;
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        static Object set(VirtualFrame frame, PPickler self, Object value,
+                        @Cached PyObjectIsTrueNode isTrueNode) {
+            self.fast = isTrueNode.execute(frame, value);
+            return PNone.NONE;
+        }
+    }
+}
@@ -0,0 +1,1591 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.pickle;
+
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.APPEND;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.APPENDS;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.ADDITEMS;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BATCHSIZE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINBYTES;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINFLOAT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINGET;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BININT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BININT1;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BININT2;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINPERSID;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINPUT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINUNICODE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BUILD;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BYTEARRAY8;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.DICT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.EMPTY_DICT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.EMPTY_LIST;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.EMPTY_SET;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.EMPTY_TUPLE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.EXT1;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.EXT2;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.EXT4;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.FAST_NESTING_LIMIT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.FLOAT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.FRAME_SIZE_TARGET;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.FROZENSET;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.GET;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.GLOBAL;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.HIGHEST_PROTOCOL;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.INT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.LIST;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.LONG;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.LONG1;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.LONG4;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.LONG_BINGET;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.LONG_BINPUT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.MARK;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.MEMOIZE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.NEWFALSE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.NEWOBJ;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.NEWOBJ_EX;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.NEWTRUE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.NEXT_BUFFER;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.NONE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.PERSID;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.POP;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.POP_MARK;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.PROTO;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.PUT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.READONLY_BUFFER;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.REDUCE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.SETITEM;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.SETITEMS;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.SHORT_BINBYTES;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.SHORT_BINUNICODE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.STACK_GLOBAL;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.STOP;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.TUPLE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.TUPLE1;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.UNICODE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINBYTES8;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINUNICODE8;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_ATTR_REVERSE_IMPORT_MAPPING;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_ATTR_REVERSE_NAME_MAPPING;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_LATIN1;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_LOCALS;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_MOD_MP_MAIN;
+import static com.oracle.graal.python.builtins.modules.io.IONodes.T_WRITE;
+import static com.oracle.graal.python.nodes.BuiltinNames.T_ENCODE;
+import static com.oracle.graal.python.nodes.BuiltinNames.T___MAIN__;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.T___CLASS__;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.T___MODULE__;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.T___NAME__;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.T___NEWOBJ_EX__;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.T___NEWOBJ__;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.T___QUALNAME__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T___NEW__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T___NEXT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T___REDUCE_EX__;
+import static com.oracle.graal.python.nodes.StringLiterals.T_STRICT;
+import static com.oracle.graal.python.nodes.StringLiterals.T_SURROGATEPASS;
+import static com.oracle.graal.python.nodes.StringLiterals.T_UTF8;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage.DictEntry;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary.HashingStorageIterator;
+import com.oracle.graal.python.builtins.objects.common.PHashingCollection;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.ellipsis.PEllipsis;
+import com.oracle.graal.python.builtins.objects.floats.PFloat;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.memoryview.PMemoryView;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.str.StringNodes.StringMaterializeNode;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes.IsTypeNode;
+import com.oracle.graal.python.lib.PyCallableCheckNode;
+import com.oracle.graal.python.lib.PyIterNextNode;
+import com.oracle.graal.python.lib.PyLongAsLongNodeGen;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectGetAttr;
+import com.oracle.graal.python.lib.PyObjectGetItem;
+import com.oracle.graal.python.lib.PyObjectIsTrueNode;
+import com.oracle.graal.python.lib.PyObjectLookupAttr;
+import com.oracle.graal.python.lib.PyObjectReprAsTruffleStringNode;
+import com.oracle.graal.python.lib.PyObjectStrAsTruffleStringNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.BoolSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.strings.InternalByteArray;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.api.strings.TruffleStringIterator;
+
+/**
+ * The pickling engine, a port of the {@code save_*} functions of CPython's {@code _pickle.c}.
+ * Like the JSON encoder, the object graph is walked recursively behind a single boundary.
+ */
+public final class PicklerNodes {
+
+    private PicklerNodes() {
+    }
+
+    /**
+     * Sets up a pickler for pickling with the given protocol, the common part of
+     * {@code Pickler.__init__} and the module-level functions. {@code file} is {@code null} when
+     * pickling into a bytes object.
+     */
+    public static final class InitPicklerNode extends PNodeWithRaise {
+        @Child private PyObjectLookupAttr lookupAttr = PyObjectLookupAttr.create();
+
+        public static InitPicklerNode create() {
+            return new InitPicklerNode();
+        }
+
+        public void execute(PPickler pickler, Object file, int protocolArg, boolean fixImports, Object bufferCallbackArg) {
+            int protocol = protocolArg < 0 ? HIGHEST_PROTOCOL : protocolArg;
+            if (protocol > HIGHEST_PROTOCOL) {
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.PICKLE_PROTOCOL_MUST_BE_LE, HIGHEST_PROTOCOL);
+            }
+            Object write = null;
+            if (file != null) {
+                write = lookupAttr.execute(null, file, T_WRITE);
+                if (write == PNone.NO_VALUE) {
+                    throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.FILE_MUST_HAVE_WRITE_ATTR);
+                }
+            }
+            Object bufferCallback = PGuards.isPNone(bufferCallbackArg) ? null : bufferCallbackArg;
+            if (bufferCallback != null && protocol < 5) {
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.BUFFER_CALLBACK_NEEDS_PROTOCOL_5);
+            }
+            pickler.init(PickleState.get(getContext()), protocol, fixImports, write, bufferCallback);
+        }
+    }
+
+    public static final class DumpNode extends PNodeWithRaise {
+        @Child private GetClassNode getClassNode = GetClassNode.create();
+        @Child private CallNode callNode = CallNode.create();
+        @Child private PyObjectLookupAttr lookupAttr = PyObjectLookupAttr.create();
+        @Child private PyIterNextNode iterNext = PyIterNextNode.create();
+        @Child private HashingStorageLibrary hashingLib = HashingStorageLibrary.getFactory().createDispatched(6);
+        @Child private SequenceStorageNodes.GetItemScalarNode getItemNode = SequenceStorageNodes.GetItemScalarNode.create();
+        @Child private PythonBufferAccessLibrary bufferLib = PythonBufferAccessLibrary.getFactory().createDispatched(3);
+        @Child private StringMaterializeNode materializeNode = StringMaterializeNode.create();
+        @Child private TruffleString.IsValidNode isValidNode = TruffleString.IsValidNode.create();
+        @Child private TruffleString.SwitchEncodingNode switchEncodingNode = TruffleString.SwitchEncodingNode.create();
+        @Child private TruffleString.GetInternalByteArrayNode getInternalByteArrayNode = TruffleString.GetInternalByteArrayNode.create();
+        @Child private PythonObjectFactory factory = PythonObjectFactory.create();
+
+        public static DumpNode create() {
+            return new DumpNode();
+        }
+
+        /**
+         * Writes the pickle of {@code obj} into the output buffer of the pickler, the equivalent of
+         * CPython's {@code dump()}.
+         */
+        @TruffleBoundary
+        public void execute(PPickler pickler, Object obj) {
+            if (pickler.proto >= 2) {
+                pickler.write(PROTO, (byte) pickler.proto);
+                if (pickler.proto >= 4) {
+                    pickler.setFraming(true);
+                }
+            }
+            try {
+                save(pickler, obj, false);
+                pickler.write(STOP);
+                pickler.commitFrame();
+            } finally {
+                pickler.setFraming(false);
+            }
+        }
+
+        /**
+         * Writes the content of the output buffer into the file the pickler was created for.
+         */
+        @TruffleBoundary
+        public void flushToFile(PPickler pickler) {
+            assert pickler.write != null;
+            callNode.execute(pickler.write, getOutput(pickler));
+        }
+
+        @TruffleBoundary
+        public PBytes getOutput(PPickler pickler) {
+            return factory.createBytes(Arrays.copyOf(pickler.getOutputBuffer(), pickler.getOutputLen()));
+        }
+
+        private void opcodeBoundary(PPickler p) {
+            if (p.isFrameFull()) {
+                p.commitFrame();
+                // Flush the content of the committed frame to the underlying file and reuse the
+                // pickler buffer for the next frame so as to limit memory usage when dumping large
+                // complex objects to a file.
+                if (p.write != null) {
+                    flushToFile(p);
+                    p.clearBuffer();
+                }
+            }
+        }
+
+        private void save(PPickler p, Object objArg, boolean persSave) {
+            opcodeBoundary(p);
+            // Builtin classes may be passed around as their enum placeholder; pickle the real
+            // class object so that memoization and identity checks work.
+            Object obj = objArg instanceof PythonBuiltinClassType ? getContext().lookupType((PythonBuiltinClassType) objArg) : objArg;
+
+            // The extra persSave argument is necessary to avoid calling savePers() on its returned
+            // object.
+            if (!persSave && p.persFunc != null && savePers(p, obj)) {
+                return;
+            }
+
+            // Atom types; these aren't memoized, so don't check the memo.
+            if (obj == PNone.NONE) {
+                p.write(NONE);
+                return;
+            } else if (obj instanceof Boolean) {
+                saveBool(p, (boolean) obj);
+                return;
+            } else if (obj instanceof Integer) {
+                saveLong(p, (int) obj);
+                return;
+            } else if (obj instanceof Long) {
+                saveLong(p, (long) obj);
+                return;
+            } else if (obj instanceof Double) {
+                saveFloat(p, (double) obj);
+                return;
+            }
+
+            Object type = getClassNode.execute(obj);
+            if (obj instanceof PInt) {
+                if (isBuiltinClass(type, PythonBuiltinClassType.PInt)) {
+                    saveLong(p, ((PInt) obj).getValue());
+                    return;
+                } else if (isBuiltinClass(type, PythonBuiltinClassType.Boolean)) {
+                    saveBool(p, ((PInt) obj).isOne());
+                    return;
+                }
+            } else if (obj instanceof PFloat && isBuiltinClass(type, PythonBuiltinClassType.PFloat)) {
+                saveFloat(p, ((PFloat) obj).getValue());
+                return;
+            }
+
+            // Check the memo for previously stored objects.
+            Integer memoIdx = p.memoGet(obj);
+            if (memoIdx != null) {
+                writeMemoGet(p, memoIdx);
+                return;
+            }
+
+            if (obj instanceof TruffleString) {
+                saveUnicode(p, obj, (TruffleString) obj);
+                return;
+            } else if (obj instanceof PString && isBuiltinClass(type, PythonBuiltinClassType.PString)) {
+                saveUnicode(p, obj, materializeNode.execute((PString) obj));
+                return;
+            } else if (obj instanceof PBytes && isBuiltinClass(type, PythonBuiltinClassType.PBytes)) {
+                saveBytes(p, (PBytes) obj);
+                return;
+            }
+
+            // We're only calling reducer_override() for user-defined functions and classes.
+            if (obj instanceof PDict && isBuiltinClass(type, PythonBuiltinClassType.PDict)) {
+                saveDict(p, (PDict) obj);
+                return;
+            } else if (obj instanceof PHashingCollection && isBuiltinClass(type, PythonBuiltinClassType.PSet)) {
+                saveSet(p, (PHashingCollection) obj);
+                return;
+            } else if (obj instanceof PHashingCollection && isBuiltinClass(type, PythonBuiltinClassType.PFrozenSet)) {
+                saveFrozenSet(p, (PHashingCollection) obj);
+                return;
+            } else if (obj instanceof PList && isBuiltinClass(type, PythonBuiltinClassType.PList)) {
+                saveList(p, (PList) obj);
+                return;
+            } else if (obj instanceof PTuple && isBuiltinClass(type, PythonBuiltinClassType.PTuple)) {
+                saveTuple(p, (PTuple) obj);
+                return;
+            } else if (obj instanceof PByteArray && isBuiltinClass(type, PythonBuiltinClassType.PByteArray)) {
+                saveByteArray(p, (PByteArray) obj);
+                return;
+            } else if (obj instanceof PPickleBuffer && isBuiltinClass(type, PythonBuiltinClassType.PickleBuffer)) {
+                savePickleBuffer(p, (PPickleBuffer) obj);
+                return;
+            }
+
+            // Now, check reducer_override. If it returns NotImplemented, fallback to save_type or
+            // save_global, and then perhaps to the regular reduction mechanism.
+            Object reduceValue = null;
+            if (p.reducerOverride != null) {
+                reduceValue = callNode.execute(p.reducerOverride, obj);
+                if (reduceValue == PNotImplemented.NOT_IMPLEMENTED) {
+                    reduceValue = null;
+                }
+            }
+
+            if (reduceValue == null) {
+                if (isBuiltinClass(type, PythonBuiltinClassType.PythonClass)) {
+                    saveType(p, obj);
+                    return;
+                } else if (isBuiltinClass(type, PythonBuiltinClassType.PFunction)) {
+                    saveGlobal(p, obj, null);
+                    return;
+                }
+
+                // Get a reduction callable, and call it. This may come from self.dispatch_table,
+                // copyreg.dispatch_table, or the object's __reduce_ex__ method.
+                Object reduceFunc = null;
+                if (p.dispatchTable == null) {
+                    reduceFunc = p.state.dispatchTable.getItem(type);
+                } else {
+                    try {
+                        reduceFunc = PyObjectGetItem.getUncached().execute(null, p.dispatchTable, type);
+                    } catch (PException e) {
+                        e.expect(PythonBuiltinClassType.KeyError, IsBuiltinClassProfile.getUncached());
+                    }
+                }
+                if (reduceFunc != null) {
+                    reduceValue = callNode.execute(reduceFunc, obj);
+                } else if (IsTypeNode.getUncached().execute(obj)) {
+                    saveGlobal(p, obj, null);
+                    return;
+                } else {
+                    reduceFunc = lookupAttr.execute(null, obj, T___REDUCE_EX__);
+                    if (reduceFunc == PNone.NO_VALUE) {
+                        throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.CANNOT_PICKLE_OBJECT_TYPE, obj);
+                    }
+                    reduceValue = callNode.execute(reduceFunc, p.proto);
+                }
+            }
+
+            if (isString(reduceValue)) {
+                saveGlobal(p, obj, reduceValue);
+                return;
+            }
+            if (!(reduceValue instanceof PTuple)) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.REDUCE_MUST_RETURN_STRING_OR_TUPLE);
+            }
+            saveReduce(p, getTupleItems((PTuple) reduceValue), obj);
+        }
+
+        private boolean savePers(PPickler p, Object obj) {
+            Object pid = callNode.execute(p.persFunc, obj);
+            if (pid == PNone.NONE) {
+                return false;
+            }
+            if (p.bin) {
+                save(p, pid, true);
+                p.write(BINPERSID);
+            } else {
+                TruffleString pidStr = PyObjectStrAsTruffleStringNode.getUncached().execute(null, pid);
+                byte[] encoded = encodeAscii(pidStr);
+                if (encoded == null) {
+                    throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.PERSISTENT_IDS_MUST_BE_ASCII);
+                }
+                p.write(PERSID);
+                p.write(encoded);
+                p.write((byte) '\n');
+            }
+            return true;
+        }
+
+        private static void saveBool(PPickler p, boolean value) {
+            if (p.proto >= 2) {
+                p.write(value ? NEWTRUE : NEWFALSE);
+            } else {
+                // These aren't opcodes -- they're ways to pickle bools before protocol 2 so that
+                // unpicklers written before bools were introduced unpickle them as ints, but
+                // unpicklers after can recognize that bools were intended.
+                writeLine(p, INT, value ? "01" : "00");
+            }
+        }
+
+        private static void saveLong(PPickler p, long value) {
+            if (value == (int) value) {
+                if (p.bin) {
+                    // If the int is small enough to fit in a signed 4-byte 2's-comp format, we can
+                    // store it more efficiently than in proto 0's 'I' format.
+                    if (value >= 0 && value <= 0xff) {
+                        p.write(BININT1, (byte) value);
+                    } else if (value >= 0 && value <= 0xffff) {
+                        p.writeOpWithSize(BININT2, value, 2);
+                    } else {
+                        p.writeOpWithSize(BININT, value, 4);
+                    }
+                } else {
+                    writeLine(p, INT, Long.toString(value));
+                }
+            } else {
+                saveLong(p, BigInteger.valueOf(value));
+            }
+        }
+
+        private static void saveLong(PPickler p, BigInteger value) {
+            if (value.bitLength() < 32) {
+                saveLong(p, value.intValue());
+            } else if (p.proto >= 2) {
+                // Linear-time pickling: the two's complement little-endian representation with
+                // the minimal number of bytes.
+                byte[] bigEndian = value.toByteArray();
+                int n = bigEndian.length;
+                if (n < 256) {
+                    p.write(LONG1, (byte) n);
+                } else {
+                    p.writeOpWithSize(LONG4, n, 4);
+                }
+                byte[] littleEndian = new byte[n];
+                for (int i = 0; i < n; i++) {
+                    littleEndian[i] = bigEndian[n - 1 - i];
+                }
+                p.write(littleEndian);
+            } else {
+                writeLine(p, LONG, value.toString() + "L");
+            }
+        }
+
+        private static void saveFloat(PPickler p, double value) {
+            if (p.bin) {
+                long bits = Double.doubleToRawLongBits(value);
+                p.write(BINFLOAT);
+                byte[] data = new byte[8];
+                for (int i = 0; i < 8; i++) {
+                    data[i] = (byte) (bits >>> (56 - 8 * i));
+                }
+                p.write(data);
+            } else {
+                TruffleString repr = PyObjectReprAsTruffleStringNode.getUncached().execute(null, value);
+                writeLine(p, FLOAT, repr.toJavaStringUncached());
+            }
+        }
+
+        private void saveBytes(PPickler p, PBytes obj) {
+            int size = bufferLib.getBufferLength(obj);
+            if (p.proto < 3) {
+                // Older pickle protocols do not have an opcode for pickling bytes objects. Therefore,
+                // we need to fake the copy protocol (i.e., the __reduce__ method) to permit bytes
+                // object unpickling.
+                Object[] reduceValue;
+                if (size == 0) {
+                    reduceValue = new Object[]{PythonBuiltinClassType.PBytes, factory.createEmptyTuple()};
+                } else {
+                    byte[] data = bufferLib.getInternalOrCopiedByteArray(obj);
+                    TruffleString latin1 = TruffleString.fromByteArrayUncached(data, 0, size, TruffleString.Encoding.ISO_8859_1, true).switchEncodingUncached(TS_ENCODING);
+                    reduceValue = new Object[]{p.state.codecsEncode, factory.createTuple(new Object[]{latin1, T_LATIN1})};
+                }
+                saveReduce(p, reduceValue, obj);
+                return;
+            }
+            byte[] data = bufferLib.getInternalOrCopiedByteArray(obj);
+            saveBytesData(p, obj, obj, data, size);
+        }
+
+        private void saveBytesData(PPickler p, Object obj, Object payload, byte[] data, int size) {
+            if (size <= 0xff) {
+                p.write(SHORT_BINBYTES, (byte) size);
+            } else if (p.proto >= 4 && (size & 0xffffffffL) != size) {
+                p.writeOpWithSize(BINBYTES8, size, 8);
+            } else {
+                p.writeOpWithSize(BINBYTES, size, 4);
+            }
+            writeBytes(p, data, 0, size, payload);
+            memoPut(p, obj);
+        }
+
+        private void saveByteArray(PPickler p, PByteArray obj) {
+            int size = bufferLib.getBufferLength(obj);
+            if (p.proto < 5) {
+                // Older pickle protocols do not have an opcode for pickling bytearrays.
+                Object[] reduceValue;
+                if (size == 0) {
+                    reduceValue = new Object[]{PythonBuiltinClassType.PByteArray, factory.createEmptyTuple()};
+                } else {
+                    PBytes bytes = factory.createBytes(bufferLib.getCopiedByteArray(obj));
+                    reduceValue = new Object[]{PythonBuiltinClassType.PByteArray, factory.createTuple(new Object[]{bytes})};
+                }
+                saveReduce(p, reduceValue, obj);
+                return;
+            }
+            saveByteArrayData(p, obj, bufferLib.getInternalOrCopiedByteArray(obj), size);
+        }
+
+        private void saveByteArrayData(PPickler p, Object obj, byte[] data, int size) {
+            p.writeOpWithSize(BYTEARRAY8, size, 8);
+            writeBytes(p, data, 0, size, null);
+            memoPut(p, obj);
+        }
+
+        private void savePickleBuffer(PPickler p, PPickleBuffer obj) {
+            if (p.proto < 5) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.PICKLEBUFFER_PROTOCOL_5);
+            }
+            PMemoryView view = obj.getView();
+            if (view == null) {
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.PICKLEBUFFER_FORBIDDEN_RELEASED);
+            }
+            if (!view.isCContiguous() && !view.isFortranContiguous()) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.PICKLEBUFFER_NON_CONTIGUOUS);
+            }
+            boolean inBand = true;
+            if (p.bufferCallback != null) {
+                Object ret = callNode.execute(p.bufferCallback, obj);
+                inBand = PyObjectIsTrueNode.getUncached().execute(null, ret);
+            }
+            if (inBand) {
+                // Write data in-band
+                int size = bufferLib.getBufferLength(view);
+                byte[] data = bufferLib.getInternalOrCopiedByteArray(view);
+                if (bufferLib.isReadonly(view)) {
+                    saveBytesData(p, obj, null, data, size);
+                } else {
+                    saveByteArrayData(p, obj, data, size);
+                }
+            } else {
+                // Write data out-of-band
+                p.write(NEXT_BUFFER);
+                if (bufferLib.isReadonly(view)) {
+                    p.write(READONLY_BUFFER);
+                }
+            }
+        }
+
+        /**
+         * Writes a header followed by a potentially large payload. Payloads larger than the frame
+         * target bypass the output buffer and are written to the file directly.
+         */
+        private void writeBytes(PPickler p, byte[] data, int offset, int size, Object payload) {
+            boolean bypassBuffer = size >= FRAME_SIZE_TARGET;
+            boolean framing = p.isFraming();
+            if (bypassBuffer) {
+                // The header was already written into the current frame; commit it and write the
+                // payload outside of any frame.
+                p.commitFrame();
+                p.setFraming(false);
+            }
+            if (bypassBuffer && p.write != null) {
+                // Dump the output buffer to the file.
+                flushToFile(p);
+                p.clearBuffer();
+                // Stream write the payload into the file without going through the output buffer.
+                Object toWrite = payload;
+                if (toWrite == null || offset != 0) {
+                    toWrite = factory.createBytes(data, offset, size);
+                }
+                callNode.execute(p.write, toWrite);
+            } else {
+                p.write(data, offset, size);
+            }
+            // Re-enable framing for subsequent writes.
+            p.setFraming(framing);
+        }
+
+        private void saveUnicode(PPickler p, Object obj, TruffleString str) {
+            if (p.bin) {
+                byte[] data;
+                int offset;
+                int size;
+                if (isValidNode.execute(str, TS_ENCODING)) {
+                    InternalByteArray utf8 = getInternalByteArrayNode.execute(switchEncodingNode.execute(str, TruffleString.Encoding.UTF_8), TruffleString.Encoding.UTF_8);
+                    data = utf8.getArray();
+                    offset = utf8.getOffset();
+                    size = utf8.getLength();
+                } else {
+                    // lone surrogates are encoded using 'surrogatepass'
+                    data = encodeUtf8Slow(str, T_SURROGATEPASS);
+                    offset = 0;
+                    size = data.length;
+                }
+                if (size <= 0xff && p.proto >= 4) {
+                    p.write(SHORT_BINUNICODE, (byte) size);
+                } else if (p.proto >= 4 && (size & 0xffffffffL) != size) {
+                    p.writeOpWithSize(BINUNICODE8, size, 8);
+                } else {
+                    p.writeOpWithSize(BINUNICODE, size, 4);
+                }
+                writeBytes(p, data, offset, size, null);
+            } else {
+                p.write(UNICODE);
+                p.write(rawUnicodeEscape(str));
+                p.write((byte) '\n');
+            }
+            memoPut(p, obj);
+        }
+
+        /**
+         * Like 'raw-unicode-escape', but also escapes the characters which would confuse the text
+         * protocol: backslash, newline, carriage return, NUL and Ctrl-Z.
+         */
+        private static byte[] rawUnicodeEscape(TruffleString str) {
+            TruffleStringIterator it = str.createCodePointIteratorUncached(TS_ENCODING);
+            StringBuilder sb = new StringBuilder();
+            while (it.hasNext()) {
+                int ch = it.nextUncached();
+                if (ch >= 0x10000) {
+                    // Map 32-bit characters to '\Uxxxxxxxx'
+                    sb.append(String.format("\\U%08x", ch));
+                } else if (ch >= 256 || ch == '\\' || ch == 0 || ch == '\n' || ch == '\r' || ch == 0x1a) {
+                    // Map 16-bit characters, '\\' and '\n' to '\\uxxxx'
+                    sb.append(String.format("\\u%04x", ch));
+                } else {
+                    // Copy everything else as-is
+                    sb.append((char) ch);
+                }
+            }
+            return sb.toString().getBytes(StandardCharsets.ISO_8859_1);
+        }
+
+        private byte[] encodeUtf8Slow(TruffleString str, TruffleString errors) {
+            Object encoded = PyObjectCallMethodObjArgs.getUncached().execute(null, str, T_ENCODE, T_UTF8, errors);
+            return bufferLib.getCopiedByteArray(encoded);
+        }
+
+        private byte[] encodeUtf8(TruffleString str) {
+            if (isValidNode.execute(str, TS_ENCODING)) {
+                return switchEncodingNode.execute(str, TruffleString.Encoding.UTF_8).copyToByteArrayUncached(TruffleString.Encoding.UTF_8);
+            }
+            return encodeUtf8Slow(str, T_STRICT);
+        }
+
+        private static byte[] encodeAscii(TruffleString str) {
+            String s = str.toJavaStringUncached();
+            for (int i = 0; i < s.length(); i++) {
+                if (s.charAt(i) >= 128) {
+                    return null;
+                }
+            }
+            return s.getBytes(StandardCharsets.US_ASCII);
+        }
+
+        private static void writeLine(PPickler p, byte op, String arg) {
+            p.write(op);
+            p.write(arg.getBytes(StandardCharsets.US_ASCII));
+            p.write((byte) '\n');
+        }
+
+        private void saveTuple(PPickler p, PTuple obj) {
+            SequenceStorage storage = obj.getSequenceStorage();
+            int len = storage.length();
+            if (len == 0) {
+                if (p.proto > 0) {
+                    p.write(EMPTY_TUPLE);
+                } else {
+                    p.write(MARK);
+                    p.write(TUPLE);
+                }
+                return;
+            }
+
+            // The tuple isn't in the memo now. If it shows up there after saving the tuple
+            // elements, the tuple must be recursive, in which case we'll pop everything we put on
+            // the stack, and fetch its value from the memo.
+            if (len <= 3 && p.proto >= 2) {
+                // Use TUPLE{1,2,3} opcodes.
+                for (int i = 0; i < len; i++) {
+                    save(p, getItemNode.execute(storage, i), false);
+                }
+                Integer memoIdx = p.memoGet(obj);
+                if (memoIdx != null) {
+                    // pop the len elements
+                    for (int i = 0; i < len; i++) {
+                        p.write(POP);
+                    }
+                    // fetch from memo
+                    writeMemoGet(p, memoIdx);
+                    return;
+                }
+                // Not recursive.
+                p.write((byte) (TUPLE1 + len - 1));
+            } else {
+                // proto < 2 and len > 0, or proto >= 2 and len > 3. Generate MARK e1 e2 ... TUPLE
+                p.write(MARK);
+                for (int i = 0; i < len; i++) {
+                    save(p, getItemNode.execute(storage, i), false);
+                }
+                Integer memoIdx = p.memoGet(obj);
+                if (memoIdx != null) {
+                    // pop the stack stuff we pushed
+                    if (p.bin) {
+                        p.write(POP_MARK);
+                    } else {
+                        // Note that we pop one more than len, to remove the MARK too.
+                        for (int i = 0; i <= len; i++) {
+                            p.write(POP);
+                        }
+                    }
+                    // fetch from memo
+                    writeMemoGet(p, memoIdx);
+                    return;
+                }
+                // Not recursive.
+                p.write(TUPLE);
+            }
+            memoPut(p, obj);
+        }
+
+        private void saveList(PPickler p, PList obj) {
+            fastSaveEnter(p, obj);
+            if (p.bin) {
+                p.write(EMPTY_LIST);
+            } else {
+                p.write(MARK);
+                p.write(LIST);
+            }
+            memoPut(p, obj);
+            if (obj.getSequenceStorage().length() != 0) {
+                batchListExact(p, obj);
+            }
+            fastSaveLeave(p, obj);
+        }
+
+        /**
+         * Saves the items of an exact list. Lists backed by primitive storages are written without
+         * boxing their items, since saving them cannot run arbitrary code that would modify the
+         * list.
+         */
+        private void batchListExact(PPickler p, PList list) {
+            SequenceStorage storage = list.getSequenceStorage();
+            int len = storage.length();
+            if (!p.bin) {
+                for (int i = 0; i < list.getSequenceStorage().length(); i++) {
+                    save(p, getItemNode.execute(list.getSequenceStorage(), i), false);
+                    p.write(APPEND);
+                }
+                return;
+            }
+            if (len == 1) {
+                save(p, getItemNode.execute(storage, 0), false);
+                p.write(APPEND);
+                return;
+            }
+            if (storage instanceof IntSequenceStorage) {
+                int[] values = ((IntSequenceStorage) storage).getInternalIntArray();
+                for (int start = 0; start < len; start += BATCHSIZE) {
+                    p.write(MARK);
+                    int end = Math.min(len, start + BATCHSIZE);
+                    for (int i = start; i < end; i++) {
+                        saveLong(p, values[i]);
+                    }
+                    p.write(APPENDS);
+                    opcodeBoundary(p);
+                }
+            } else if (storage instanceof LongSequenceStorage) {
+                long[] values = ((LongSequenceStorage) storage).getInternalLongArray();
+                for (int start = 0; start < len; start += BATCHSIZE) {
+                    p.write(MARK);
+                    int end = Math.min(len, start + BATCHSIZE);
+                    for (int i = start; i < end; i++) {
+                        saveLong(p, values[i]);
+                    }
+                    p.write(APPENDS);
+                    opcodeBoundary(p);
+                }
+            } else if (storage instanceof DoubleSequenceStorage) {
+                double[] values = ((DoubleSequenceStorage) storage).getInternalDoubleArray();
+                for (int start = 0; start < len; start += BATCHSIZE) {
+                    p.write(MARK);
+                    int end = Math.min(len, start + BATCHSIZE);
+                    for (int i = start; i < end; i++) {
+                        saveFloat(p, values[i]);
+                    }
+                    p.write(APPENDS);
+                    opcodeBoundary(p);
+                }
+            } else if (storage instanceof BoolSequenceStorage) {
+                boolean[] values = ((BoolSequenceStorage) storage).getInternalBoolArray();
+                for (int start = 0; start < len; start += BATCHSIZE) {
+                    p.write(MARK);
+                    int end = Math.min(len, start + BATCHSIZE);
+                    for (int i = start; i < end; i++) {
+                        saveBool(p, values[i]);
+                    }
+                    p.write(APPENDS);
+                    opcodeBoundary(p);
+                }
+            } else {
+                // Saving the items may run arbitrary code, so the storage is re-read for each item.
+                int total = 0;
+                do {
+                    int thisBatch = 0;
+                    p.write(MARK);
+                    while (total < list.getSequenceStorage().length()) {
+                        save(p, getItemNode.execute(list.getSequenceStorage(), total), false);
+                        total++;
+                        if (++thisBatch == BATCHSIZE) {
+                            break;
+                        }
+                    }
+                    p.write(APPENDS);
+                } while (total < list.getSequenceStorage().length());
+            }
+        }
+
+        /**
+         * Saves the items produced by an iterator using APPEND(S), used for list subclasses and
+         * the list items of {@code __reduce__}.
+         */
+        private void batchList(PPickler p, Object iter) {
+            if (!p.bin) {
+                // APPENDS isn't available; do one at a time.
+                Object item;
+                while ((item = iterNext.execute(null, iter)) != null) {
+                    save(p, item, false);
+                    p.write(APPEND);
+                }
+                return;
+            }
+            // proto > 0: write in batches of BATCHSIZE.
+            while (true) {
+                // Get first item
+                Object first = iterNext.execute(null, iter);
+                if (first == null) {
+                    return;
+                }
+                // Try to get a second item
+                Object obj = iterNext.execute(null, iter);
+                if (obj == null) {
+                    // Only one item to write
+                    save(p, first, false);
+                    p.write(APPEND);
+                    return;
+                }
+                // More than one item to write
+                p.write(MARK);
+                save(p, first, false);
+                save(p, obj, false);
+                int n = 2;
+                // Fetch and save up to BATCHSIZE items
+                while (n < BATCHSIZE && (obj = iterNext.execute(null, iter)) != null) {
+                    save(p, obj, false);
+                    n++;
+                }
+                p.write(APPENDS);
+                if (n < BATCHSIZE) {
+                    return;
+                }
+            }
+        }
+
+        private void saveDict(PPickler p, PDict obj) {
+            fastSaveEnter(p, obj);
+            if (p.bin) {
+                p.write(EMPTY_DICT);
+            } else {
+                p.write(MARK);
+                p.write(DICT);
+            }
+            memoPut(p, obj);
+            if (hashingLib.length(obj.getDictStorage()) != 0) {
+                batchDictExact(p, obj);
+            }
+            fastSaveLeave(p, obj);
+        }
+
+        /**
+         * Saves the items of an exact dict directly from its storage.
+         */
+        private void batchDictExact(PPickler p, PDict dict) {
+            HashingStorage storage = dict.getDictStorage();
+            int dictSize = hashingLib.length(storage);
+            HashingStorageIterator<DictEntry> it = hashingLib.entries(storage).iterator();
+            if (!p.bin) {
+                while (it.hasNext()) {
+                    DictEntry entry = it.next();
+                    save(p, entry.key, false);
+                    save(p, entry.value, false);
+                    p.write(SETITEM);
+                    checkDictSize(dict, dictSize);
+                }
+                return;
+            }
+            // Special-case len(d) == 1 to save space.
+            if (dictSize == 1) {
+                DictEntry entry = it.next();
+                save(p, entry.key, false);
+                save(p, entry.value, false);
+                p.write(SETITEM);
+                return;
+            }
+            // Write in batches of BATCHSIZE.
+            int i;
+            do {
+                i = 0;
+                p.write(MARK);
+                while (it.hasNext()) {
+                    DictEntry entry = it.next();
+                    save(p, entry.key, false);
+                    save(p, entry.value, false);
+                    checkDictSize(dict, dictSize);
+                    if (++i == BATCHSIZE) {
+                        break;
+                    }
+                }
+                p.write(SETITEMS);
+            } while (i == BATCHSIZE);
+        }
+
+        private void checkDictSize(PDict dict, int expectedSize) {
+            if (hashingLib.length(dict.getDictStorage()) != expectedSize) {
+                throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.CHANGED_SIZE_DURING_ITERATION, "dictionary");
+            }
+        }
+
+        /**
+         * Saves the (key, value) pairs produced by an iterator using SETITEM(S), used for the dict
+         * items of {@code __reduce__}.
+         */
+        private void batchDict(PPickler p, Object iter) {
+            if (!p.bin) {
+                // SETITEMS isn't available; do one at a time.
+                Object item;
+                while ((item = iterNext.execute(null, iter)) != null) {
+                    saveDictItem(p, item);
+                    p.write(SETITEM);
+                }
+                return;
+            }
+            // proto > 0: write in batches of BATCHSIZE.
+            while (true) {
+                // Get first item
+                Object first = iterNext.execute(null, iter);
+                if (first == null) {
+                    return;
+                }
+                // Try to get a second item
+                Object obj = iterNext.execute(null, iter);
+                if (obj == null) {
+                    // Only one item to write
+                    saveDictItem(p, first);
+                    p.write(SETITEM);
+                    return;
+                }
+                // More than one item to write
+                p.write(MARK);
+                saveDictItem(p, first);
+                saveDictItem(p, obj);
+                int n = 2;
+                // Fetch and save up to BATCHSIZE items
+                while (n < BATCHSIZE && (obj = iterNext.execute(null, iter)) != null) {
+                    saveDictItem(p, obj);
+                    n++;
+                }
+                p.write(SETITEMS);
+                if (n < BATCHSIZE) {
+                    return;
+                }
+            }
+        }
+
+        private void saveDictItem(PPickler p, Object item) {
+            if (!(item instanceof PTuple) || ((PTuple) item).getSequenceStorage().length() != 2) {
+                throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.DICT_ITEMS_MUST_RETURN_2_TUPLES);
+            }
+            SequenceStorage storage = ((PTuple) item).getSequenceStorage();
+            save(p, getItemNode.execute(storage, 0), false);
+            save(p, getItemNode.execute(storage, 1), false);
+        }
+
+        private void saveSet(PPickler p, PHashingCollection obj) {
+            if (p.proto < 4) {
+                Object items = factory.createList(keysToArray(obj.getDictStorage()));
+                saveReduce(p, new Object[]{PythonBuiltinClassType.PSet, factory.createTuple(new Object[]{items})}, obj);
+                return;
+            }
+            p.write(EMPTY_SET);
+            memoPut(p, obj);
+            int setSize = hashingLib.length(obj.getDictStorage());
+            if (setSize == 0) {
+                return;
+            }
+            HashingStorageIterator<Object> it = hashingLib.keys(obj.getDictStorage()).iterator();
+            while (it.hasNext()) {
+                p.write(MARK);
+                int i = 0;
+                while (it.hasNext() && i < BATCHSIZE) {
+                    save(p, it.next(), false);
+                    if (hashingLib.length(obj.getDictStorage()) != setSize) {
+                        throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.CHANGED_SIZE_DURING_ITERATION, "set");
+                    }
+                    i++;
+                }
+                p.write(ADDITEMS);
+            }
+        }
+
+        private void saveFrozenSet(PPickler p, PHashingCollection obj) {
+            if (p.proto < 4) {
+                Object items = factory.createList(keysToArray(obj.getDictStorage()));
+                saveReduce(p, new Object[]{PythonBuiltinClassType.PFrozenSet, factory.createTuple(new Object[]{items})}, obj);
+                return;
+            }
+            p.write(MARK);
+            HashingStorageIterator<Object> it = hashingLib.keys(obj.getDictStorage()).iterator();
+            while (it.hasNext()) {
+                save(p, it.next(), false);
+            }
+            // If the object is already in the memo, this means it is recursive. In this case,
+            // throw away everything we put on the stack, and fetch the object back from the memo.
+            Integer memoIdx = p.memoGet(obj);
+            if (memoIdx != null) {
+                p.write(POP_MARK);
+                writeMemoGet(p, memoIdx);
+                return;
+            }
+            p.write(FROZENSET);
+            memoPut(p, obj);
+        }
+
+        private Object[] keysToArray(HashingStorage storage) {
+            Object[] keys = new Object[hashingLib.length(storage)];
+            int i = 0;
+            for (Object key : hashingLib.keys(storage)) {
+                keys[i++] = key;
+            }
+            return keys;
+        }
+
+        private void saveType(PPickler p, Object obj) {
+            if (isBuiltinClass(obj, PythonBuiltinClassType.PNone)) {
+                saveSingletonType(p, obj, PNone.NONE);
+            } else if (isBuiltinClass(obj, PythonBuiltinClassType.PEllipsis)) {
+                saveSingletonType(p, obj, PEllipsis.INSTANCE);
+            } else if (isBuiltinClass(obj, PythonBuiltinClassType.PNotImplemented)) {
+                saveSingletonType(p, obj, PNotImplemented.NOT_IMPLEMENTED);
+            } else {
+                saveGlobal(p, obj, null);
+            }
+        }
+
+        private void saveSingletonType(PPickler p, Object obj, Object singleton) {
+            saveReduce(p, new Object[]{PythonBuiltinClassType.PythonClass, factory.createTuple(new Object[]{singleton})}, obj);
+        }
+
+        private void saveGlobal(PPickler p, Object obj, Object name) {
+            Object globalName = name;
+            if (globalName == null) {
+                globalName = lookupAttr.execute(null, obj, T___QUALNAME__);
+                if (globalName == PNone.NO_VALUE) {
+                    globalName = PyObjectGetAttr.getUncached().execute(null, obj, T___NAME__);
+                }
+            }
+            TruffleString globalNameStr = castToString(globalName);
+            TruffleString[] dottedPath = getDottedPath(null, globalNameStr);
+            Object moduleName = whichModule(obj, dottedPath);
+
+            // XXX: Change to use the import C API directly with level=0 to disallow relative
+            // imports.
+            //
+            // XXX: PyImport_ImportModuleLevel could be used. However, this bypasses builtins.__import__.
+            // Therefore, _pickle, unlike pickle.py, will ignore custom import functions (IMHO, this
+            // would be a nice security feature). The import C API would need to be extended to
+            // support the extra parameters of __import__ to fix that.
+            TruffleString moduleNameStr = castToString(moduleName);
+            Object module;
+            try {
+                module = PickleUtils.importModule(moduleNameStr);
+            } catch (PException e) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.CANT_PICKLE_IMPORT_FAILED, repr(obj), repr(moduleName));
+            }
+            TruffleString lastName = dottedPath[dottedPath.length - 1];
+            Object[] parent = new Object[1];
+            Object cls;
+            try {
+                cls = getDeepAttribute(module, dottedPath, parent);
+            } catch (PException e) {
+                e.expectAttributeError(IsBuiltinClassProfile.getUncached());
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.CANT_PICKLE_ATTR_LOOKUP_FAILED, repr(obj), globalNameStr, moduleNameStr);
+            }
+            if (!isSameClass(cls, obj)) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.CANT_PICKLE_NOT_SAME_OBJ, repr(obj), moduleNameStr, globalNameStr);
+            }
+
+            if (p.proto >= 2) {
+                // See whether this is in the extension registry, and if so generate an EXT
+                // opcode.
+                Object extensionKey = factory.createTuple(new Object[]{moduleName, globalName});
+                Object codeObj = p.state.extensionRegistry.getItem(extensionKey);
+                if (codeObj != null) {
+                    long code;
+                    if (!(codeObj instanceof Integer || codeObj instanceof Long || codeObj instanceof PInt)) {
+                        throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.CANT_PICKLE_EXT_CODE_NOT_INT, repr(obj), repr(codeObj));
+                    }
+                    try {
+                        code = PyLongAsLongNodeGen.getUncached().execute(null, codeObj);
+                    } catch (PException e) {
+                        code = -1;
+                    }
+                    if (code <= 0 || code > 0x7fffffffL) {
+                        throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.CANT_PICKLE_EXT_CODE_OUT_OF_RANGE, repr(obj), repr(codeObj));
+                    }
+                    // Generate an EXT opcode.
+                    if (code <= 0xff) {
+                        p.write(EXT1, (byte) code);
+                    } else if (code <= 0xffff) {
+                        p.writeOpWithSize(EXT2, code, 2);
+                    } else {
+                        p.writeOpWithSize(EXT4, code, 4);
+                    }
+                    return;
+                }
+            }
+
+            // Generate a normal global opcode if we are using a pickle protocol < 2, or if the
+            // object is not registered in the extension registry.
+            if (parent[0] == module) {
+                globalName = lastName;
+                globalNameStr = lastName;
+            }
+            if (p.proto >= 4) {
+                save(p, moduleName, false);
+                save(p, globalName, false);
+                p.write(STACK_GLOBAL);
+            } else if (parent[0] != module) {
+                saveReduce(p, new Object[]{p.state.getattr, factory.createTuple(new Object[]{parent[0], lastName})}, null);
+            } else {
+                // Generate a normal global opcode if we are using a pickle protocol <= 2, or if
+                // the object is not registered in the extension registry.
+                byte[] encodedModule;
+                byte[] encodedName;
+                if (p.proto >= 3) {
+                    encodedModule = encodeUtf8(moduleNameStr);
+                    encodedName = encodeUtf8(globalNameStr);
+                } else {
+                    if (p.fixImports) {
+                        TruffleString[] fixed = fixImports(p, moduleNameStr, globalNameStr);
+                        moduleNameStr = fixed[0];
+                        globalNameStr = fixed[1];
+                    }
+                    // Since Python 3.0 now supports non-ASCII identifiers, we encode both the
+                    // module name and the global name using UTF-8. We do so only when we are
+                    // using the pickle protocol newer than version 3. This is to ensure
+                    // compatibility with older Unpickler running on Python 2.x.
+                    encodedModule = encodeAscii(moduleNameStr);
+                    if (encodedModule == null) {
+                        throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.CANT_PICKLE_MODULE_IDENTIFIER, moduleNameStr, p.proto);
+                    }
+                    encodedName = encodeAscii(globalNameStr);
+                    if (encodedName == null) {
+                        throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.CANT_PICKLE_GLOBAL_IDENTIFIER, globalNameStr, p.proto);
+                    }
+                }
+                p.write(GLOBAL);
+                p.write(encodedModule);
+                p.write((byte) '\n');
+                p.write(encodedName);
+                p.write((byte) '\n');
+            }
+            // Memoize the object.
+            memoPut(p, obj);
+        }
+
+        private TruffleString[] fixImports(PPickler p, TruffleString moduleName, TruffleString globalName) {
+            Object key = factory.createTuple(new Object[]{moduleName, globalName});
+            Object item = p.state.nameMapping3To2.getItem(key);
+            if (item != null) {
+                if (!(item instanceof PTuple) || ((PTuple) item).getSequenceStorage().length() != 2) {
+                    throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.COMPAT_PICKLE_VALUES_2_TUPLES, T_ATTR_REVERSE_NAME_MAPPING, item);
+                }
+                SequenceStorage storage = ((PTuple) item).getSequenceStorage();
+                Object fixedModule = getItemNode.execute(storage, 0);
+                Object fixedName = getItemNode.execute(storage, 1);
+                if (!isString(fixedModule) || !isString(fixedName)) {
+                    throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.COMPAT_PICKLE_VALUES_PAIRS_OF_STR, T_ATTR_REVERSE_NAME_MAPPING, fixedModule, fixedName);
+                }
+                return new TruffleString[]{castToString(fixedModule), castToString(fixedName)};
+            }
+            item = p.state.importMapping3To2.getItem(moduleName);
+            if (item != null) {
+                if (!isString(item)) {
+                    throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.COMPAT_PICKLE_VALUES_STRINGS, T_ATTR_REVERSE_IMPORT_MAPPING, item);
+                }
+                return new TruffleString[]{castToString(item), globalName};
+            }
+            return new TruffleString[]{moduleName, globalName};
+        }
+
+        private Object whichModule(Object obj, TruffleString[] dottedPath) {
+            Object moduleName = lookupAttr.execute(null, obj, T___MODULE__);
+            if (moduleName != PNone.NO_VALUE && moduleName != PNone.NONE) {
+                return moduleName;
+            }
+            // Fallback on walking sys.modules
+            PDict modules = getContext().getSysModules();
+            for (DictEntry entry : HashingStorageLibrary.getUncached().entries(HashingStorageLibrary.getUncached().copy(modules.getDictStorage()))) {
+                Object name = entry.key;
+                Object module = entry.value;
+                if (isString(name) && (T___MAIN__.equalsUncached(castToString(name), TS_ENCODING) || T_MOD_MP_MAIN.equalsUncached(castToString(name), TS_ENCODING))) {
+                    continue;
+                }
+                if (module == PNone.NONE) {
+                    continue;
+                }
+                try {
+                    if (getDeepAttribute(module, dottedPath, null) == obj) {
+                        return name;
+                    }
+                } catch (PException e) {
+                    e.expectAttributeError(IsBuiltinClassProfile.getUncached());
+                }
+            }
+            // If no module is found, use __main__.
+            return T___MAIN__;
+        }
+
+        private void saveReduce(PPickler p, Object[] args, Object obj) {
+            int size = args.length;
+            if (size < 2 || size > 6) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.TUPLE_RETURNED_BY_REDUCE_MUST_CONTAIN_2_THROUGH_6_ELEMENTS);
+            }
+            Object callable = args[0];
+            Object argtup = args[1];
+            Object state = size > 2 ? args[2] : PNone.NONE;
+            Object listitems = size > 3 ? args[3] : PNone.NONE;
+            Object dictitems = size > 4 ? args[4] : PNone.NONE;
+            Object stateSetter = size > 5 ? args[5] : PNone.NONE;
+
+            if (!PyCallableCheckNode.getUncached().execute(callable)) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.FIRST_ITEM_OF_REDUCE_MUST_BE_CALLABLE);
+            }
+            if (!(argtup instanceof PTuple)) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.SECOND_ITEM_OF_REDUCE_MUST_BE_TUPLE);
+            }
+            if (listitems != PNone.NONE && !isIterator(listitems)) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.S_ELEMENT_OF_REDUCE_MUST_BE_ITERATOR, "fourth", listitems);
+            }
+            if (dictitems != PNone.NONE && !isIterator(dictitems)) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.S_ELEMENT_OF_REDUCE_MUST_BE_ITERATOR, "fifth", dictitems);
+            }
+            if (stateSetter != PNone.NONE && !PyCallableCheckNode.getUncached().execute(stateSetter)) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.SIXTH_ELEMENT_OF_REDUCE_MUST_BE_FUNCTION, stateSetter);
+            }
+
+            boolean useNewobj = false;
+            boolean useNewobjEx = false;
+            if (p.proto >= 2) {
+                Object name = lookupAttr.execute(null, callable, T___NAME__);
+                if (isString(name)) {
+                    TruffleString nameStr = castToString(name);
+                    useNewobjEx = T___NEWOBJ_EX__.equalsUncached(nameStr, TS_ENCODING);
+                    if (!useNewobjEx) {
+                        useNewobj = T___NEWOBJ__.equalsUncached(nameStr, TS_ENCODING);
+                    }
+                }
+            }
+
+            Object[] argItems = getTupleItems((PTuple) argtup);
+            if (useNewobjEx) {
+                if (argItems.length != 3) {
+                    throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.NEWOBJ_EX_ARGS_LEN, argItems.length);
+                }
+                Object cls = argItems[0];
+                if (!IsTypeNode.getUncached().execute(cls)) {
+                    throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.NEWOBJ_EX_FIRST_ITEM_MUST_BE_CLASS, cls);
+                }
+                Object newArgs = argItems[1];
+                if (!(newArgs instanceof PTuple)) {
+                    throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.NEWOBJ_EX_SECOND_ITEM_MUST_BE_TUPLE, newArgs);
+                }
+                Object kwargs = argItems[2];
+                if (!(kwargs instanceof PDict)) {
+                    throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.NEWOBJ_EX_THIRD_ITEM_MUST_BE_DICT, kwargs);
+                }
+                if (p.proto >= 4) {
+                    save(p, cls, false);
+                    save(p, newArgs, false);
+                    save(p, kwargs, false);
+                    p.write(NEWOBJ_EX);
+                } else {
+                    // Protocols 2 and 3 emulate NEWOBJ_EX using functools.partial(cls.__new__,
+                    // cls, *args, **kwargs)
+                    Object clsNew = PyObjectGetAttr.getUncached().execute(null, cls, T___NEW__);
+                    Object[] newArgsItems = getTupleItems((PTuple) newArgs);
+                    Object[] partialArgs = new Object[newArgsItems.length + 2];
+                    partialArgs[0] = clsNew;
+                    partialArgs[1] = cls;
+                    System.arraycopy(newArgsItems, 0, partialArgs, 2, newArgsItems.length);
+                    Object partial = CallNode.getUncached().execute(p.state.partial, partialArgs, dictToKeywords((PDict) kwargs));
+                    save(p, partial, false);
+                    save(p, factory.createEmptyTuple(), false);
+                    p.write(REDUCE);
+                }
+            } else if (useNewobj) {
+                // Sanity checks.
+                if (argItems.length < 1) {
+                    throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.NEWOBJ_ARGLIST_EMPTY);
+                }
+                Object cls = argItems[0];
+                if (!IsTypeNode.getUncached().execute(cls)) {
+                    throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.NEWOBJ_ARGS0_NOT_TYPE);
+                }
+                if (obj != null) {
+                    Object objClass = lookupAttr.execute(null, obj, T___CLASS__);
+                    if (objClass == PNone.NO_VALUE || !isSameClass(cls, objClass)) {
+                        throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.NEWOBJ_ARGS0_WRONG_CLASS);
+                    }
+                }
+                // Save the class and its __new__ arguments.
+                save(p, cls, false);
+                save(p, factory.createTuple(Arrays.copyOfRange(argItems, 1, argItems.length)), false);
+                // Add NEWOBJ opcode.
+                p.write(NEWOBJ);
+            } else {
+                // Not using NEWOBJ.
+                save(p, callable, false);
+                save(p, argtup, false);
+                p.write(REDUCE);
+            }
+
+            // obj can be null when save_reduce() is used directly. A null obj means the caller do
+            // not want to memoize the object. Not particularly useful, but that is to mimic the
+            // behavior save_reduce() in pickle.py when obj is None.
+            if (obj != null) {
+                // If the object is already in the memo, this means it is recursive. In this case,
+                // throw away everything we put on the stack, and fetch the object back from the
+                // memo.
+                Integer memoIdx = p.memoGet(obj);
+                if (memoIdx != null) {
+                    p.write(POP);
+                    writeMemoGet(p, memoIdx);
+                } else {
+                    memoPut(p, obj);
+                }
+            }
+
+            if (listitems != PNone.NONE) {
+                batchList(p, listitems);
+            }
+            if (dictitems != PNone.NONE) {
+                batchDict(p, dictitems);
+            }
+            if (state != PNone.NONE) {
+                if (stateSetter == PNone.NONE) {
+                    save(p, state, false);
+                    p.write(BUILD);
+                } else {
+                    // If a state_setter is specified, call it instead of load_build to update obj's
+                    // with its previous state. The first 4 save/write instructions push
+                    // state_setter and its tuple of expected arguments (obj, state) onto the stack.
+                    // The REDUCE opcode triggers the state_setter(obj, state) function call.
+                    // Finally, because state-updating routines only do in-place modification, the
+                    // whole operation has to be stack-transparent. Thus, we finally pop the call's
+                    // output from the stack.
+                    save(p, stateSetter, false);
+                    save(p, obj, false);
+                    save(p, state, false);
+                    p.write((byte) (TUPLE1 + 1));
+                    p.write(REDUCE);
+                    p.write(POP);
+                }
+            }
+        }
+
+        private static boolean isSameClass(Object a, Object b) {
+            if (a == b) {
+                return true;
+            }
+            if (a instanceof PythonBuiltinClassType) {
+                return isBuiltinClass(b, (PythonBuiltinClassType) a);
+            } else if (b instanceof PythonBuiltinClassType) {
+                return isBuiltinClass(a, (PythonBuiltinClassType) b);
+            }
+            return false;
+        }
+
+        private boolean isIterator(Object obj) {
+            return lookupAttr.execute(null, obj, T___NEXT__) != PNone.NO_VALUE;
+        }
+
+        private void memoPut(PPickler p, Object obj) {
+            if (p.fast) {
+                return;
+            }
+            int idx = p.memoPut(obj);
+            if (p.proto >= 4) {
+                p.write(MEMOIZE);
+            } else if (!p.bin) {
+                writeLine(p, PUT, Integer.toString(idx));
+            } else if (idx < 256) {
+                p.write(BINPUT, (byte) idx);
+            } else {
+                p.writeOpWithSize(LONG_BINPUT, idx, 4);
+            }
+        }
+
+        private static void writeMemoGet(PPickler p, int idx) {
+            if (!p.bin) {
+                writeLine(p, GET, Integer.toString(idx));
+            } else if (idx < 256) {
+                p.write(BINGET, (byte) idx);
+            } else {
+                p.writeOpWithSize(LONG_BINGET, idx, 4);
+            }
+        }
+
+        private void fastSaveEnter(PPickler p, Object obj) {
+            if (p.fast && p.fastNesting++ >= FAST_NESTING_LIMIT) {
+                if (p.fastMemo == null) {
+                    p.fastMemo = new IdentityHashMap<>();
+                }
+                if (p.fastMemo.containsKey(obj)) {
+                    p.fastNesting = -1;
+                    throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.FAST_MODE_CYCLIC_OBJECTS, obj, System.identityHashCode(obj));
+                }
+                p.fastMemo.put(obj, obj);
+            }
+        }
+
+        private static void fastSaveLeave(PPickler p, Object obj) {
+            if (p.fast && p.fastNesting-- >= FAST_NESTING_LIMIT) {
+                p.fastMemo.remove(obj);
+            }
+        }
+
+        private Object[] getTupleItems(PTuple tuple) {
+            SequenceStorage storage = tuple.getSequenceStorage();
+            Object[] items = new Object[storage.length()];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = getItemNode.execute(storage, i);
+            }
+            return items;
+        }
+
+        private TruffleString repr(Object obj) {
+            return PyObjectReprAsTruffleStringNode.getUncached().execute(null, obj);
+        }
+    }
+
+    static boolean isBuiltinClass(Object type, PythonBuiltinClassType builtinType) {
+        return IsBuiltinClassProfile.profileClassSlowPath(type, builtinType);
+    }
+
+    static boolean isString(Object obj) {
+        return obj instanceof TruffleString || obj instanceof PString;
+    }
+
+    static TruffleString castToString(Object obj) {
+        try {
+            return CastToTruffleStringNode.getUncached().execute(obj);
+        } catch (CannotCastException e) {
+            throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.TypeError, ErrorMessages.ATTR_NAME_MUST_BE_STRING, obj);
+        }
+    }
+
+    @TruffleBoundary
+    static TruffleString[] splitDotted(TruffleString name) {
+        String[] parts = name.toJavaStringUncached().split("\\.", -1);
+        TruffleString[] result = new TruffleString[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = TruffleString.fromJavaStringUncached(parts[i], TS_ENCODING);
+        }
+        return result;
+    }
+
+    /**
+     * Splits a qualified name into its components. Names of local objects cannot be looked up, so
+     * they are rejected; {@code obj} is the object the name is going to be looked up on, if known.
+     */
+    static TruffleString[] getDottedPath(Object obj, TruffleString name) {
+        TruffleString[] dottedPath = splitDotted(name);
+        for (TruffleString subpath : dottedPath) {
+            if (T_LOCALS.equalsUncached(subpath, TS_ENCODING)) {
+                PyObjectReprAsTruffleStringNode reprNode = PyObjectReprAsTruffleStringNode.getUncached();
+                if (obj == null) {
+                    throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.AttributeError, ErrorMessages.CANT_PICKLE_LOCAL_OBJECT, reprNode.execute(null, name));
+                } else {
+                    throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.AttributeError, ErrorMessages.CANT_PICKLE_LOCAL_ATTRIBUTE, reprNode.execute(null, name), reprNode.execute(null, obj));
+                }
+            }
+        }
+        return dottedPath;
+    }
+
+    /**
+     * Looks up the attribute denoted by the dotted path, storing the object the last attribute was
+     * looked up on in {@code parent[0]} if requested.
+     */
+    static Object getDeepAttribute(Object obj, TruffleString[] names, Object[] parent) {
+        Object current = obj;
+        Object parentObj = null;
+        for (TruffleString name : names) {
+            parentObj = current;
+            current = PyObjectGetAttr.getUncached().execute(null, current, name);
+        }
+        if (parent != null) {
+            parent[0] = parentObj;
+        }
+        return current;
+    }
+
+    static PKeyword[] dictToKeywords(PDict dict) {
+        HashingStorageLibrary lib = HashingStorageLibrary.getUncached();
+        HashingStorage storage = dict.getDictStorage();
+        PKeyword[] keywords = new PKeyword[lib.length(storage)];
+        int i = 0;
+        for (DictEntry entry : lib.entries(storage)) {
+            keywords[i++] = new PKeyword(castToString(entry.key), entry.value);
+        }
+        return keywords;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.pickle;
+
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_METHOD_PERSISTENT_LOAD;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___INIT__;
+
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage.DictEntry;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes.GetNameNode;
+import com.oracle.graal.python.lib.PyCallableCheckNode;
+import com.oracle.graal.python.lib.PyLongAsLongNodeGen;
+import com.oracle.graal.python.lib.PyObjectLookupAttr;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.strings.TruffleString;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.Unpickler)
+public class UnpicklerBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return UnpicklerBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = J___INIT__, minNumOfPositionalArgs = 2, parameterNames = {"$self", "file"}, keywordOnlyNames = {"fix_imports", "encoding", "errors", "buffers"})
+    @ArgumentClinic(name = "fix_imports", conversion = ArgumentClinic.ClinicConversion.Boolean, defaultValue = "true")
+    @ArgumentClinic(name = "encoding", conversion = ArgumentClinic.ClinicConversion.TString, defaultValue = "T_ASCII_UPPERCASE")
+    @ArgumentClinic(name = "errors", conversion = ArgumentClinic.ClinicConversion.TString, defaultValue = "T_STRICT")
+    @GenerateNodeFactory
+    abstract static class InitNode extends PythonClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return UnpicklerBuiltinsClinicProviders.InitNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        static Object init(VirtualFrame frame, PUnpickler self, Object file, boolean fixImports, TruffleString encoding, TruffleString errors, Object buffers,
+                        @Cached UnpicklerNodes.InitUnpicklerNode initNode,
+                        @Cached PyObjectLookupAttr lookupAttr) {
+            initNode.execute(frame, self, file, fixImports, encoding, errors, buffers);
+            Object persFunc = lookupAttr.execute(frame, self, T_METHOD_PERSISTENT_LOAD);
+            self.persFunc = persFunc == PNone.NO_VALUE ? null : persFunc;
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "load", minNumOfPositionalArgs = 1, parameterNames = {"$self"})
+    @GenerateNodeFactory
+    abstract static class LoadNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object load(PUnpickler self,
+                        @Cached UnpicklerNodes.LoadNode loadNode,
+                        @Cached GetClassNode getClassNode,
+                        @Cached GetNameNode getNameNode) {
+            // Check whether the Unpickler was initialized correctly. This prevents segfaulting
+            // if a subclass overridden __init__ with a function that does not call
+            // Unpickler.__init__(). Here, we simply ensure that self->read is not NULL.
+            if (self.read == null) {
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.UNPICKLER_INIT_NOT_CALLED, getNameNode.execute(getClassNode.execute(self)));
+            }
+            return loadNode.execute(self);
+        }
+    }
+
+    @Builtin(name = "find_class", minNumOfPositionalArgs = 3, parameterNames = {"$self", "module_name", "global_name"})
+    @GenerateNodeFactory
+    abstract static class FindClassNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static Object findClass(PUnpickler self, Object moduleName, Object globalName) {
+            return UnpicklerNodes.findClassDefault(self, moduleName, globalName);
+        }
+    }
+
+    @Builtin(name = "memo", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true, allowsDelete = true)
+    @GenerateNodeFactory
+    abstract static class MemoNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        Object get(PUnpickler self, @SuppressWarnings("unused") PNone value) {
+            return factory().createUnpicklerMemoProxy(self);
+        }
+
+        @Specialization(guards = "isDeleteMarker(value)")
+        Object delete(@SuppressWarnings("unused") PUnpickler self, @SuppressWarnings("unused") Object value) {
+            throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.ATTR_DELETION_NOT_SUPPORTED);
+        }
+
+        @Specialization
+        static Object setFromProxy(PUnpickler self, PUnpicklerMemoProxy value) {
+            PUnpickler other = value.getUnpickler();
+            self.setMemo(other.getMemo().clone(), other.memoLen());
+            return PNone.NONE;
+        }
+
+        @Specialization
+        Object setFromDict(PUnpickler self, PDict value) {
+            setMemoFromDict(self, value);
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = {"!isNoValue(value)", "!isDeleteMarker(value)", "!isUnpicklerMemoProxy(value)", "!isDict(value)"})
+        Object setError(@SuppressWarnings("unused") PUnpickler self, Object value) {
+            throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.MEMO_MUST_BE_UNPICKLER_MEMO_PROXY_OR_DICT, value);
+        }
+
+        @TruffleBoundary
+        private void setMemoFromDict(PUnpickler self, PDict dict) {
+            HashingStorageLibrary lib = HashingStorageLibrary.getUncached();
+            for (DictEntry entry : lib.entries(dict.getDictStorage())) {
+                if (!(entry.key instanceof Integer || entry.key instanceof Long || entry.key instanceof PInt)) {
+                    throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.MEMO_KEY_MUST_BE_INTEGERS);
+                }
+                long idx = PyLongAsLongNodeGen.getUncached().execute(null, entry.key);
+                if (idx < 0 || idx > Integer.MAX_VALUE - 8) {
+                    throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.MEMO_KEY_MUST_BE_POSITIVE_INTEGERS);
+                }
+            }
+            self.clearMemo();
+            for (DictEntry entry : lib.entries(dict.getDictStorage())) {
+                self.memoPut((int) PyLongAsLongNodeGen.getUncached().execute(null, entry.key), entry.value);
+            }
+        }
+
+        static boolean isUnpicklerMemoProxy(Object value) {
+            return value instanceof PUnpicklerMemoProxy;
+        }
+    }
+
+    @Builtin(name = "persistent_load", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true, allowsDelete = true)
+    @GenerateNodeFactory
+    abstract static class PersistentLoadNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(value)")
+        Object get(PUnpickler self, @SuppressWarnings("unused") PNone value) {
+            if (self.persFunc == null) {
+                throw raise(PythonBuiltinClassType.AttributeError, ErrorMessages.OBJ_P_HAS_NO_ATTR_S, self, T_METHOD_PERSISTENT_LOAD);
+            }
+            return self.persFunc;
+        }
+
+        @Specialization(guards = "isDeleteMarker(value)")
+        Object delete(@SuppressWarnings("unused") PUnpickler self, @SuppressWarnings("unused") Object value) {
+            throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.ATTR_DELETION_NOT_SUPPORTED);
+        }
+
+        @Specialization(guards = {"!isNoValue(value)", "!isDeleteMarker(value)"})
+        Object set(PUnpickler self, Object value,
+                        @Cached PyCallableCheckNode callableCheckNode) {
+            if (!callableCheckNode.execute(value)) {
+                throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.PERSISTENT_LOAD_MUST_BE_CALLABLE);
+            }
+            self.persFunc = value;
+            return PNone.NONE;
+        }
+    }
+}
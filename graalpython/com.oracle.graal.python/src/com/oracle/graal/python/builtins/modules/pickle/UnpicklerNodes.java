@@ -0,0 +1,1319 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.pickle;
+
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.ADDITEMS;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.APPEND;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.APPENDS;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINBYTES;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINBYTES8;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINFLOAT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINGET;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BININT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BININT1;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BININT2;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINPERSID;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINPUT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINSTRING;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINUNICODE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BINUNICODE8;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BUILD;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.BYTEARRAY8;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.DICT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.DUP;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.EMPTY_DICT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.EMPTY_LIST;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.EMPTY_SET;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.EMPTY_TUPLE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.EXT1;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.EXT2;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.EXT4;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.FLOAT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.FRAME;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.FROZENSET;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.GET;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.GLOBAL;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.HIGHEST_PROTOCOL;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.INST;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.INT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.LIST;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.LONG;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.LONG1;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.LONG4;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.LONG_BINGET;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.LONG_BINPUT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.MARK;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.MEMOIZE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.NEWFALSE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.NEWOBJ;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.NEWOBJ_EX;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.NEWTRUE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.NEXT_BUFFER;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.NONE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.OBJ;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.PERSID;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.POP;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.POP_MARK;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.PREFETCH;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.PROTO;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.PUT;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.READONLY_BUFFER;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.REDUCE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.SETITEM;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.SETITEMS;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.SHORT_BINBYTES;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.SHORT_BINSTRING;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.SHORT_BINUNICODE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.STACK_GLOBAL;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.STOP;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.STRING;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.TUPLE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.TUPLE1;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.TUPLE2;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.TUPLE3;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_ATTR_IMPORT_MAPPING;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_ATTR_NAME_MAPPING;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_ESCAPE_DECODE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_METHOD_FIND_CLASS;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_METHOD_TOREADONLY;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.T_RAW_UNICODE_ESCAPE;
+import static com.oracle.graal.python.builtins.modules.pickle.PickleUtils.UNICODE;
+import static com.oracle.graal.python.builtins.modules.io.IONodes.T_PEEK;
+import static com.oracle.graal.python.builtins.modules.io.IONodes.T_READ;
+import static com.oracle.graal.python.builtins.modules.io.IONodes.T_READLINE;
+import static com.oracle.graal.python.nodes.BuiltinNames.T_ADD;
+import static com.oracle.graal.python.nodes.BuiltinNames.T_APPEND;
+import static com.oracle.graal.python.nodes.BuiltinNames.T_BYTES;
+import static com.oracle.graal.python.nodes.BuiltinNames.T_EXTEND;
+import static com.oracle.graal.python.nodes.BuiltinNames.T__CODECS;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.T___DICT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T___GETINITARGS__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T___NEW__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T___SETSTATE__;
+import static com.oracle.graal.python.nodes.StringLiterals.T_STRICT;
+import static com.oracle.graal.python.nodes.StringLiterals.T_SURROGATEPASS;
+import static com.oracle.graal.python.nodes.StringLiterals.T_UTF8;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.builtins.objects.common.EconomicMapStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage.DictEntry;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.memoryview.PMemoryView;
+import com.oracle.graal.python.builtins.objects.set.PSet;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes.IsTypeNode;
+import com.oracle.graal.python.lib.PyFloatFromStringNodeGen;
+import com.oracle.graal.python.lib.PyIterNextNode;
+import com.oracle.graal.python.lib.PyObjectCallMethodObjArgs;
+import com.oracle.graal.python.lib.PyObjectGetAttr;
+import com.oracle.graal.python.lib.PyObjectGetIter;
+import com.oracle.graal.python.lib.PyObjectGetItem;
+import com.oracle.graal.python.lib.PyObjectLookupAttr;
+import com.oracle.graal.python.lib.PyObjectSetAttr;
+import com.oracle.graal.python.lib.PyObjectSetItem;
+import com.oracle.graal.python.lib.PyUnicodeDecodeNodeGen;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.builtins.ListNodes;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorageFactory;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * The unpickling engine, a port of the {@code load_*} functions of CPython's {@code _pickle.c}.
+ * The opcodes are dispatched in a single loop behind a boundary.
+ */
+public final class UnpicklerNodes {
+
+    private UnpicklerNodes() {
+    }
+
+    /**
+     * Sets up an unpickler, the common part of {@code Unpickler.__init__} and the module-level
+     * functions. {@code file} is {@code null} when unpickling from a bytes-like object.
+     */
+    public static final class InitUnpicklerNode extends PNodeWithRaise {
+        @Child private PyObjectLookupAttr lookupAttr = PyObjectLookupAttr.create();
+        @Child private PyObjectGetIter getIter = PyObjectGetIter.create();
+        @Child private PythonObjectFactory factory = PythonObjectFactory.create();
+
+        public static InitUnpicklerNode create() {
+            return new InitUnpicklerNode();
+        }
+
+        public void execute(VirtualFrame frame, PUnpickler unpickler, Object file, boolean fixImports, TruffleString encoding, TruffleString errors, Object buffers) {
+            if (file != null) {
+                Object peek = lookupAttr.execute(frame, file, T_PEEK);
+                Object read = lookupAttr.execute(frame, file, T_READ);
+                Object readline = lookupAttr.execute(frame, file, T_READLINE);
+                if (read == PNone.NO_VALUE || readline == PNone.NO_VALUE) {
+                    throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.FILE_MUST_HAVE_READ_AND_READLINE);
+                }
+                unpickler.peek = peek == PNone.NO_VALUE ? null : peek;
+                unpickler.read = read;
+                unpickler.readline = readline;
+            } else {
+                unpickler.peek = null;
+                unpickler.read = null;
+                unpickler.readline = null;
+            }
+            Object buffersIter;
+            if (buffers == PNone.NONE) {
+                buffersIter = null;
+            } else if (buffers == PNone.NO_VALUE) {
+                buffersIter = getIter.execute(frame, factory.createEmptyTuple());
+            } else {
+                buffersIter = getIter.execute(frame, buffers);
+            }
+            unpickler.init(PickleState.get(getContext()), encoding, errors, fixImports, buffersIter);
+        }
+    }
+
+    public static final class LoadNode extends PNodeWithRaise {
+        @Child private CallNode callNode = CallNode.create();
+        @Child private GetClassNode getClassNode = GetClassNode.create();
+        @Child private PyObjectLookupAttr lookupAttr = PyObjectLookupAttr.create();
+        @Child private PyObjectSetItem setItemNode = PyObjectSetItem.create();
+        @Child private ListNodes.AppendNode appendNode = ListNodes.AppendNode.create();
+        @Child private PyIterNextNode iterNext = PyIterNextNode.create();
+        @Child private HashingStorageLibrary hashingLib = HashingStorageLibrary.getFactory().createDispatched(6);
+        @Child private SequenceStorageNodes.GetItemScalarNode getItemNode = SequenceStorageNodes.GetItemScalarNode.create();
+        @Child private PythonBufferAccessLibrary bufferLib = PythonBufferAccessLibrary.getFactory().createDispatched(3);
+        @Child private TruffleString.FromByteArrayNode fromByteArrayNode = TruffleString.FromByteArrayNode.create();
+        @Child private TruffleString.IsValidNode isValidNode = TruffleString.IsValidNode.create();
+        @Child private TruffleString.SwitchEncodingNode switchEncodingNode = TruffleString.SwitchEncodingNode.create();
+        @Child private PythonObjectFactory factory = PythonObjectFactory.create();
+
+        public static LoadNode create() {
+            return new LoadNode();
+        }
+
+        /**
+         * Reads a pickled object representation from the input of the unpickler and returns the
+         * reconstituted object, the equivalent of CPython's {@code load()}.
+         */
+        @TruffleBoundary
+        public Object execute(PUnpickler u) {
+            u.clearStack();
+            u.proto = 0;
+            while (true) {
+                byte op = readOpcode(u);
+                if (op == STOP) {
+                    break;
+                }
+                dispatch(u, op);
+            }
+            skipConsumed(u);
+            if (u.stackLength() <= u.fence()) {
+                throw stackUnderflow(u);
+            }
+            Object value = u.pop();
+            u.clearStack();
+            return value;
+        }
+
+        private void dispatch(PUnpickler u, byte op) {
+            switch (op) {
+                case NONE:
+                    u.push(PNone.NONE);
+                    break;
+                case BININT:
+                    u.push(readInt(u, 4, true));
+                    break;
+                case BININT1:
+                    u.push(readInt(u, 1, false));
+                    break;
+                case BININT2:
+                    u.push(readInt(u, 2, false));
+                    break;
+                case INT:
+                    loadInt(u);
+                    break;
+                case LONG:
+                    loadLong(u);
+                    break;
+                case LONG1:
+                    loadBinLong(u, (int) readSize(u, 1));
+                    break;
+                case LONG4: {
+                    long size = readInt(u, 4, true);
+                    if (size < 0) {
+                        // Corrupt or hostile pickle -- we never write one like this
+                        throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.LONG_PICKLE_NEGATIVE_BYTE_COUNT);
+                    }
+                    loadBinLong(u, (int) size);
+                    break;
+                }
+                case FLOAT:
+                    loadFloat(u);
+                    break;
+                case BINFLOAT: {
+                    int idx = read(u, 8);
+                    long bits = 0;
+                    for (int i = 0; i < 8; i++) {
+                        bits = (bits << 8) | (u.inputBuffer[idx + i] & 0xff);
+                    }
+                    u.push(Double.longBitsToDouble(bits));
+                    break;
+                }
+                case BINBYTES:
+                    loadCountedBinBytes(u, 4, "BINBYTES");
+                    break;
+                case SHORT_BINBYTES:
+                    loadCountedBinBytes(u, 1, "SHORT_BINBYTES");
+                    break;
+                case BINBYTES8:
+                    loadCountedBinBytes(u, 8, "BINBYTES8");
+                    break;
+                case BYTEARRAY8:
+                    loadCountedByteArray(u);
+                    break;
+                case NEXT_BUFFER:
+                    loadNextBuffer(u);
+                    break;
+                case READONLY_BUFFER:
+                    loadReadonlyBuffer(u);
+                    break;
+                case BINSTRING:
+                    loadCountedBinString(u, 4);
+                    break;
+                case SHORT_BINSTRING:
+                    loadCountedBinString(u, 1);
+                    break;
+                case STRING:
+                    loadString(u);
+                    break;
+                case UNICODE:
+                    loadUnicode(u);
+                    break;
+                case BINUNICODE:
+                    loadCountedBinUnicode(u, 4);
+                    break;
+                case SHORT_BINUNICODE:
+                    loadCountedBinUnicode(u, 1);
+                    break;
+                case BINUNICODE8:
+                    loadCountedBinUnicode(u, 8);
+                    break;
+                case TUPLE:
+                    u.push(factory.createTuple(u.popFrom(marker(u))));
+                    break;
+                case EMPTY_TUPLE:
+                    u.push(factory.createEmptyTuple());
+                    break;
+                case TUPLE1:
+                    loadCountedTuple(u, 1);
+                    break;
+                case TUPLE2:
+                    loadCountedTuple(u, 2);
+                    break;
+                case TUPLE3:
+                    loadCountedTuple(u, 3);
+                    break;
+                case NEWTRUE:
+                    u.push(true);
+                    break;
+                case NEWFALSE:
+                    u.push(false);
+                    break;
+                case EMPTY_LIST:
+                    u.push(factory.createList());
+                    break;
+                case EMPTY_DICT:
+                    u.push(factory.createDict());
+                    break;
+                case EMPTY_SET:
+                    u.push(factory.createSet());
+                    break;
+                case LIST:
+                    u.push(factory.createList(SequenceStorageFactory.createStorage(u.popFrom(marker(u)))));
+                    break;
+                case DICT:
+                    loadDict(u);
+                    break;
+                case FROZENSET:
+                    u.push(factory.createFrozenSet(createSetStorage(u.popFrom(marker(u)))));
+                    break;
+                case OBJ:
+                    loadObj(u);
+                    break;
+                case INST:
+                    loadInst(u);
+                    break;
+                case NEWOBJ:
+                    loadNewObj(u, false);
+                    break;
+                case NEWOBJ_EX:
+                    loadNewObj(u, true);
+                    break;
+                case GLOBAL:
+                    loadGlobal(u);
+                    break;
+                case STACK_GLOBAL:
+                    loadStackGlobal(u);
+                    break;
+                case APPEND:
+                    doAppend(u, u.stackLength() - 1);
+                    break;
+                case APPENDS:
+                    doAppend(u, marker(u));
+                    break;
+                case BUILD:
+                    loadBuild(u);
+                    break;
+                case DUP:
+                    if (u.stackLength() <= u.fence()) {
+                        throw stackUnderflow(u);
+                    }
+                    u.push(u.peekTop());
+                    break;
+                case BINGET:
+                    loadMemoGet(u, readSize(u, 1));
+                    break;
+                case LONG_BINGET:
+                    loadMemoGet(u, readSize(u, 4));
+                    break;
+                case GET:
+                    loadMemoGet(u, parseMemoKey(u));
+                    break;
+                case EXT1:
+                    loadExtension(u, 1);
+                    break;
+                case EXT2:
+                    loadExtension(u, 2);
+                    break;
+                case EXT4:
+                    loadExtension(u, 4);
+                    break;
+                case MARK:
+                    u.pushMark();
+                    break;
+                case BINPUT:
+                    loadMemoPut(u, readSize(u, 1), "BINPUT");
+                    break;
+                case LONG_BINPUT:
+                    loadMemoPut(u, readSize(u, 4), "LONG_BINPUT");
+                    break;
+                case PUT:
+                    loadMemoPut(u, parseMemoKey(u), "PUT");
+                    break;
+                case MEMOIZE:
+                    if (u.stackLength() <= u.fence()) {
+                        throw stackUnderflow(u);
+                    }
+                    u.memoPut(u.memoLen(), u.peekTop());
+                    break;
+                case POP:
+                    loadPop(u);
+                    break;
+                case POP_MARK:
+                    u.truncate(marker(u));
+                    break;
+                case SETITEM:
+                    doSetItems(u, u.stackLength() - 2);
+                    break;
+                case SETITEMS:
+                    doSetItems(u, marker(u));
+                    break;
+                case ADDITEMS:
+                    loadAddItems(u);
+                    break;
+                case PERSID:
+                    loadPersId(u);
+                    break;
+                case BINPERSID:
+                    loadBinPersId(u);
+                    break;
+                case REDUCE:
+                    loadReduce(u);
+                    break;
+                case PROTO: {
+                    int idx = read(u, 1);
+                    int proto = u.inputBuffer[idx] & 0xff;
+                    if (proto > HIGHEST_PROTOCOL) {
+                        throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.UNSUPPORTED_PICKLE_PROTOCOL, proto);
+                    }
+                    u.proto = proto;
+                    break;
+                }
+                case FRAME: {
+                    long frameLen = readSize(u, 8);
+                    if (frameLen > Integer.MAX_VALUE - 8) {
+                        throw raise(PythonBuiltinClassType.OverflowError, ErrorMessages.FRAME_LENGTH_EXCEEDS_MAX, Integer.MAX_VALUE - 8);
+                    }
+                    // Make sure the whole frame is buffered, but do not consume it.
+                    read(u, (int) frameLen);
+                    u.nextReadIdx -= (int) frameLen;
+                    break;
+                }
+                default: {
+                    int c = op & 0xff;
+                    if (PickleUtils.isPrintableAscii(c)) {
+                        throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.INVALID_LOAD_KEY, String.valueOf((char) c));
+                    } else {
+                        throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.INVALID_LOAD_KEY, String.format("\\x%02x", c));
+                    }
+                }
+            }
+        }
+
+        // input
+
+        private byte readOpcode(PUnpickler u) {
+            if (u.nextReadIdx >= u.inputLen) {
+                if (u.read == null || readFromFile(u, 1) < 1) {
+                    throw raise(PythonBuiltinClassType.EOFError, ErrorMessages.RAN_OUT_OF_INPUT);
+                }
+                u.nextReadIdx = 0;
+            }
+            return u.inputBuffer[u.nextReadIdx++];
+        }
+
+        /**
+         * Makes {@code n} bytes available in the input buffer and returns the index of the first
+         * one.
+         */
+        private int read(PUnpickler u, int n) {
+            if (n <= u.inputLen - u.nextReadIdx) {
+                int idx = u.nextReadIdx;
+                u.nextReadIdx += n;
+                return idx;
+            }
+            if (u.read == null) {
+                throw badReadline();
+            }
+            // Extend the buffer to satisfy desired size
+            int numRead = readFromFile(u, n);
+            if (numRead < n) {
+                throw badReadline();
+            }
+            u.nextReadIdx = n;
+            return 0;
+        }
+
+        /**
+         * Reads {@code n} bytes into a new array, reading large payloads from the file directly.
+         */
+        private byte[] readCopy(PUnpickler u, int n) {
+            byte[] result = new byte[n];
+            // Read from available buffer data, if any
+            int inBuffer = Math.min(n, u.inputLen - u.nextReadIdx);
+            PythonUtils.arraycopy(u.inputBuffer, u.nextReadIdx, result, 0, inBuffer);
+            u.nextReadIdx += inBuffer;
+            if (inBuffer == n) {
+                return result;
+            }
+            if (u.read == null) {
+                throw badReadline();
+            }
+            skipConsumed(u);
+            // Read the remaining bytes from the file directly, bypassing the input buffer.
+            int remaining = n - inBuffer;
+            Object data = callNode.execute(u.read, remaining);
+            int readSize = bufferLib.getBufferLength(data);
+            if (readSize < remaining) {
+                throw badReadline();
+            }
+            PythonUtils.arraycopy(bufferLib.getInternalOrCopiedByteArray(data), 0, result, inBuffer, remaining);
+            return result;
+        }
+
+        /**
+         * Reads a line terminated by a newline and returns its end index (exclusive, the newline
+         * is not included). The start of the line is stored in {@code start[0]}.
+         */
+        private int readline(PUnpickler u, int[] start) {
+            for (int i = u.nextReadIdx; i < u.inputLen; i++) {
+                if (u.inputBuffer[i] == '\n') {
+                    start[0] = u.nextReadIdx;
+                    u.nextReadIdx = i + 1;
+                    return i;
+                }
+            }
+            if (u.read == null) {
+                throw badReadline();
+            }
+            int numRead = readFromFile(u, -1);
+            if (numRead == 0 || u.inputBuffer[numRead - 1] != '\n') {
+                throw badReadline();
+            }
+            start[0] = 0;
+            u.nextReadIdx = numRead;
+            return numRead - 1;
+        }
+
+        private String readlineAscii(PUnpickler u) {
+            int[] start = new int[1];
+            int end = readline(u, start);
+            return new String(u.inputBuffer, start[0], end - start[0], StandardCharsets.ISO_8859_1);
+        }
+
+        /**
+         * Reads {@code n} bytes (or a line if {@code n} is negative) from the file into the input
+         * buffer. If the file supports {@code peek()}, some more data is prefetched without
+         * advancing the file position; it is consumed later by {@link #skipConsumed}.
+         */
+        private int readFromFile(PUnpickler u, int n) {
+            skipConsumed(u);
+            Object data;
+            if (n < 0) {
+                data = callNode.execute(u.readline);
+            } else {
+                // Prefetch some data without advancing the file pointer, if possible
+                if (u.peek != null && n < PREFETCH) {
+                    try {
+                        data = callNode.execute(u.peek, PREFETCH);
+                        int readSize = setInput(u, data);
+                        u.prefetchedIdx = 0;
+                        if (n <= readSize) {
+                            return n;
+                        }
+                    } catch (PException e) {
+                        e.expect(PythonBuiltinClassType.NotImplementedError, IsBuiltinClassProfile.getUncached());
+                        // peek() is probably not supported by the given file object
+                        u.peek = null;
+                    }
+                }
+                data = callNode.execute(u.read, n);
+            }
+            return setInput(u, data);
+        }
+
+        private int setInput(PUnpickler u, Object data) {
+            int len = bufferLib.getBufferLength(data);
+            u.setInput(bufferLib.getInternalOrCopiedByteArray(data), len);
+            return len;
+        }
+
+        /**
+         * Consumes the prefetched bytes which were already used from the underlying file.
+         */
+        void skipConsumed(PUnpickler u) {
+            int consumed = u.nextReadIdx - u.prefetchedIdx;
+            if (consumed <= 0) {
+                return;
+            }
+            assert u.peek != null;
+            callNode.execute(u.read, consumed);
+            u.prefetchedIdx = u.nextReadIdx;
+        }
+
+        private PException badReadline() {
+            return raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.PICKLE_DATA_TRUNCATED);
+        }
+
+        private long readSize(PUnpickler u, int nbytes) {
+            int idx = read(u, nbytes);
+            long value = 0;
+            for (int i = 0; i < nbytes; i++) {
+                value |= (long) (u.inputBuffer[idx + i] & 0xff) << (8 * i);
+            }
+            if (nbytes == 8 && value < 0) {
+                return Long.MAX_VALUE;
+            }
+            return value;
+        }
+
+        private int readInt(PUnpickler u, int nbytes, boolean signed) {
+            int idx = read(u, nbytes);
+            int value = 0;
+            for (int i = 0; i < nbytes; i++) {
+                value |= (u.inputBuffer[idx + i] & 0xff) << (8 * i);
+            }
+            if (signed && nbytes < 4) {
+                int shift = 32 - 8 * nbytes;
+                value = (value << shift) >> shift;
+            }
+            return value;
+        }
+
+        private int checkSize(long size, String opcode) {
+            if (size > Integer.MAX_VALUE - 8) {
+                throw raise(PythonBuiltinClassType.OverflowError, ErrorMessages.S_EXCEEDS_SYSTEMS_MAX_SIZE, opcode, Integer.MAX_VALUE - 8);
+            }
+            return (int) size;
+        }
+
+        // stack
+
+        private PException stackUnderflow(PUnpickler u) {
+            return raise(PythonBuiltinClassType.UnpicklingError, u.isMarkSet() ? ErrorMessages.UNEXPECTED_MARK_FOUND : ErrorMessages.UNPICKLING_STACK_UNDERFLOW);
+        }
+
+        private Object pop(PUnpickler u) {
+            if (u.stackLength() <= u.fence()) {
+                throw stackUnderflow(u);
+            }
+            return u.pop();
+        }
+
+        private int marker(PUnpickler u) {
+            int mark = u.popMark();
+            if (mark < 0) {
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.COULD_NOT_FIND_MARK);
+            }
+            return mark;
+        }
+
+        private void loadPop(PUnpickler u) {
+            // Note that we split the (pickle.py) stack into two stacks, an object stack and a mark
+            // stack. We have to be clever and pop the right one. We do this by looking at the top
+            // of the mark stack first, and only signalling a stack underflow if the object stack
+            // is empty and the mark stack doesn't match our expectations.
+            if (u.isTopMarkAt(u.stackLength())) {
+                u.popMark();
+            } else {
+                pop(u);
+            }
+        }
+
+        private void loadCountedTuple(PUnpickler u, int len) {
+            if (u.stackLength() - u.fence() < len) {
+                throw stackUnderflow(u);
+            }
+            u.push(factory.createTuple(u.popFrom(u.stackLength() - len)));
+        }
+
+        // numbers
+
+        private void loadInt(PUnpickler u) {
+            String s = readlineAscii(u);
+            if (s.equals("00")) {
+                u.push(false);
+            } else if (s.equals("01")) {
+                u.push(true);
+            } else {
+                u.push(parseInt(s));
+            }
+        }
+
+        private void loadLong(PUnpickler u) {
+            String s = readlineAscii(u);
+            // s[len-2] will usually be 'L' (and s[len-1] is '\n'); we need to remove the 'L'
+            // before calling int(), since Python 3 no longer accepts it.
+            if (s.length() > 0 && s.charAt(s.length() - 1) == 'L') {
+                s = s.substring(0, s.length() - 1);
+            }
+            u.push(parseInt(s));
+        }
+
+        private Object parseInt(String s) {
+            String digits = s.trim();
+            if (!digits.isEmpty() && digits.length() < 19 && isDecimal(digits)) {
+                long value = Long.parseLong(digits);
+                if (value == (int) value) {
+                    return (int) value;
+                }
+                return value;
+            }
+            // Let int() deal with the less common formats and report the errors.
+            return callNode.execute(PythonBuiltinClassType.PInt, toTruffleString(s), 0);
+        }
+
+        private static boolean isDecimal(String s) {
+            int start = s.charAt(0) == '-' || s.charAt(0) == '+' ? 1 : 0;
+            if (start == s.length() || (s.charAt(start) == '0' && s.length() > start + 1)) {
+                return false;
+            }
+            for (int i = start; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c < '0' || c > '9') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void loadBinLong(PUnpickler u, int size) {
+            if (size == 0) {
+                u.push(0);
+                return;
+            }
+            int idx = read(u, size);
+            byte[] bigEndian = new byte[size];
+            for (int i = 0; i < size; i++) {
+                bigEndian[i] = u.inputBuffer[idx + size - 1 - i];
+            }
+            BigInteger value = new BigInteger(bigEndian);
+            if (value.bitLength() < 32) {
+                u.push(value.intValue());
+            } else if (value.bitLength() < 64) {
+                u.push(value.longValue());
+            } else {
+                u.push(factory.createInt(value));
+            }
+        }
+
+        private void loadFloat(PUnpickler u) {
+            String s = readlineAscii(u);
+            u.push(PyFloatFromStringNodeGen.getUncached().execute(null, toTruffleString(s)));
+        }
+
+        // strings and bytes
+
+        private void loadCountedBinBytes(PUnpickler u, int nbytes, String opcode) {
+            long size = readSize(u, nbytes);
+            if (nbytes == 4 && size > Integer.MAX_VALUE) {
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.S_PICKLE_NEGATIVE_BYTE_COUNT, opcode);
+            }
+            u.push(factory.createBytes(readCopy(u, checkSize(size, opcode))));
+        }
+
+        private void loadCountedByteArray(PUnpickler u) {
+            long size = readSize(u, 8);
+            u.push(factory.createByteArray(readCopy(u, checkSize(size, "BYTEARRAY8"))));
+        }
+
+        private void loadNextBuffer(PUnpickler u) {
+            if (u.buffers == null) {
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.PICKLE_STREAM_REFERS_TO_OOB_DATA);
+            }
+            Object buf = iterNext.execute(null, u.buffers);
+            if (buf == null) {
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.NOT_ENOUGH_OOB_BUFFERS);
+            }
+            u.push(buf);
+        }
+
+        private void loadReadonlyBuffer(PUnpickler u) {
+            if (u.stackLength() <= u.fence()) {
+                throw stackUnderflow(u);
+            }
+            Object obj = u.peekTop();
+            Object view = callNode.execute(PythonBuiltinClassType.PMemoryView, obj);
+            if (!((PMemoryView) view).isReadOnly()) {
+                // Original object is writable
+                u.set(u.stackLength() - 1, PyObjectCallMethodObjArgs.getUncached().execute(null, view, T_METHOD_TOREADONLY));
+            }
+        }
+
+        private void loadCountedBinString(PUnpickler u, int nbytes) {
+            long size = readSize(u, nbytes);
+            if (nbytes == 4 && size > Integer.MAX_VALUE) {
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.S_PICKLE_NEGATIVE_BYTE_COUNT, "BINSTRING");
+            }
+            byte[] data = readCopy(u, (int) size);
+            u.push(decodeString(u, factory.createBytes(data)));
+        }
+
+        private void loadString(PUnpickler u) {
+            int[] start = new int[1];
+            int end = readline(u, start);
+            int s = start[0];
+            int len = end - s;
+            // Strip outermost quotes
+            byte[] buf = u.inputBuffer;
+            if (len >= 2 && buf[s] == buf[end - 1] && (buf[s] == '\'' || buf[s] == '"')) {
+                s++;
+                len -= 2;
+            } else {
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.STRING_OPCODE_ARGUMENT_MUST_BE_QUOTED);
+            }
+            Object module = getContext().lookupBuiltinModule(T__CODECS);
+            Object decoded = PyObjectCallMethodObjArgs.getUncached().execute(null, module, T_ESCAPE_DECODE, factory.createBytes(buf, s, len));
+            Object bytes = getItemNode.execute(((PTuple) decoded).getSequenceStorage(), 0);
+            u.push(decodeString(u, bytes));
+        }
+
+        /**
+         * Decodes a Python 2 8-bit string using the encoding given to the unpickler.
+         */
+        private Object decodeString(PUnpickler u, Object bytes) {
+            if (T_BYTES.equalsUncached(u.encoding, TS_ENCODING)) {
+                return bytes;
+            }
+            return PyUnicodeDecodeNodeGen.getUncached().execute(null, bytes, u.encoding, u.errors);
+        }
+
+        private void loadUnicode(PUnpickler u) {
+            int[] start = new int[1];
+            int end = readline(u, start);
+            Object bytes = factory.createBytes(u.inputBuffer, start[0], end - start[0]);
+            u.push(PyUnicodeDecodeNodeGen.getUncached().execute(null, bytes, T_RAW_UNICODE_ESCAPE, T_STRICT));
+        }
+
+        private void loadCountedBinUnicode(PUnpickler u, int nbytes) {
+            long size = readSize(u, nbytes);
+            if (nbytes == 4 && size > Integer.MAX_VALUE) {
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.S_PICKLE_NEGATIVE_BYTE_COUNT, "BINUNICODE");
+            }
+            int len = checkSize(size, "BINUNICODE");
+            byte[] data;
+            int offset;
+            if (len <= u.inputLen - u.nextReadIdx) {
+                data = u.inputBuffer;
+                offset = read(u, len);
+            } else {
+                data = readCopy(u, len);
+                offset = 0;
+            }
+            u.push(decodeUtf8(data, offset, len, T_SURROGATEPASS));
+        }
+
+        private TruffleString decodeUtf8(byte[] data, int offset, int len, TruffleString errors) {
+            TruffleString utf8 = fromByteArrayNode.execute(data, offset, len, TruffleString.Encoding.UTF_8, true);
+            if (isValidNode.execute(utf8, TruffleString.Encoding.UTF_8)) {
+                return switchEncodingNode.execute(utf8, TS_ENCODING);
+            }
+            Object decoded = PyUnicodeDecodeNodeGen.getUncached().execute(null, factory.createBytes(data, offset, len), T_UTF8, errors);
+            return PicklerNodes.castToString(decoded);
+        }
+
+        private TruffleString readlineUtf8(PUnpickler u) {
+            int[] start = new int[1];
+            int end = readline(u, start);
+            return decodeUtf8(u.inputBuffer, start[0], end - start[0], T_STRICT);
+        }
+
+        private static TruffleString toTruffleString(String s) {
+            return TruffleString.fromJavaStringUncached(s, TS_ENCODING);
+        }
+
+        // containers
+
+        private void loadDict(PUnpickler u) {
+            Object[] items = u.popFrom(marker(u));
+            if ((items.length % 2) != 0) {
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.ODD_NUMBER_OF_ITEMS_FOR_S, "DICT");
+            }
+            HashingStorage storage = EconomicMapStorage.create(items.length / 2);
+            for (int i = 0; i < items.length; i += 2) {
+                storage = hashingLib.setItem(storage, items[i], items[i + 1]);
+            }
+            u.push(factory.createDict(storage));
+        }
+
+        private HashingStorage createSetStorage(Object[] items) {
+            HashingStorage storage = EconomicMapStorage.create(items.length);
+            for (Object item : items) {
+                storage = hashingLib.setItem(storage, item, PNone.NONE);
+            }
+            return storage;
+        }
+
+        private void doAppend(PUnpickler u, int x) {
+            int len = u.stackLength();
+            if (x > len || x <= u.fence()) {
+                throw stackUnderflow(u);
+            }
+            if (len == x) {
+                // nothing to do
+                return;
+            }
+            Object list = u.get(x - 1);
+            if (list instanceof PList && PicklerNodes.isBuiltinClass(getClassNode.execute(list), PythonBuiltinClassType.PList)) {
+                PList pList = (PList) list;
+                Object[] items = u.popFrom(x);
+                if (pList.getSequenceStorage().length() == 0) {
+                    pList.setSequenceStorage(SequenceStorageFactory.createStorage(items));
+                } else {
+                    for (Object item : items) {
+                        appendNode.execute(pList, item);
+                    }
+                }
+                return;
+            }
+            Object extendFunc = lookupAttr.execute(null, list, T_EXTEND);
+            if (extendFunc != PNone.NO_VALUE) {
+                Object[] items = u.popFrom(x);
+                callNode.execute(extendFunc, factory.createList(items));
+            } else {
+                // Even if the PEP 307 requires extend() and append() methods, fall back on
+                // append() if the object has no extend() method for backward compatibility.
+                Object appendFunc = PyObjectGetAttr.getUncached().execute(null, list, T_APPEND);
+                for (int i = x; i < len; i++) {
+                    callNode.execute(appendFunc, u.get(i));
+                }
+                u.truncate(x);
+            }
+        }
+
+        private void doSetItems(PUnpickler u, int x) {
+            int len = u.stackLength();
+            if (x > len || x <= u.fence()) {
+                throw stackUnderflow(u);
+            }
+            if (len == x) {
+                // nothing to do
+                return;
+            }
+            if ((len - x) % 2 != 0) {
+                // Corrupt or hostile pickle -- we never write one like this.
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.ODD_NUMBER_OF_ITEMS_FOR_S, "SETITEMS");
+            }
+            // Here, dict does not actually need to be a PyDict; it could be anything that
+            // supports the __setitem__ attribute.
+            Object dict = u.get(x - 1);
+            if (dict instanceof PDict && PicklerNodes.isBuiltinClass(getClassNode.execute(dict), PythonBuiltinClassType.PDict)) {
+                PDict pDict = (PDict) dict;
+                HashingStorage storage = pDict.getDictStorage();
+                for (int i = x + 1; i < len; i += 2) {
+                    storage = hashingLib.setItem(storage, u.get(i - 1), u.get(i));
+                }
+                pDict.setDictStorage(storage);
+            } else {
+                for (int i = x + 1; i < len; i += 2) {
+                    setItemNode.execute(null, dict, u.get(i - 1), u.get(i));
+                }
+            }
+            u.truncate(x);
+        }
+
+        private void loadAddItems(PUnpickler u) {
+            int mark = marker(u);
+            int len = u.stackLength();
+            if (mark > len || mark <= u.fence()) {
+                throw stackUnderflow(u);
+            }
+            if (len == mark) {
+                // nothing to do
+                return;
+            }
+            Object set = u.get(mark - 1);
+            if (set instanceof PSet && PicklerNodes.isBuiltinClass(getClassNode.execute(set), PythonBuiltinClassType.PSet)) {
+                PSet pSet = (PSet) set;
+                HashingStorage storage = pSet.getDictStorage();
+                for (int i = mark; i < len; i++) {
+                    storage = hashingLib.setItem(storage, u.get(i), PNone.NONE);
+                }
+                pSet.setDictStorage(storage);
+            } else {
+                Object addFunc = PyObjectGetAttr.getUncached().execute(null, set, T_ADD);
+                for (int i = mark; i < len; i++) {
+                    callNode.execute(addFunc, u.get(i));
+                }
+            }
+            u.truncate(mark);
+        }
+
+        // objects
+
+        private Object instantiate(Object cls, Object[] args) {
+            if (args.length == 0 && IsTypeNode.getUncached().execute(cls)) {
+                Object func = lookupAttr.execute(null, cls, T___GETINITARGS__);
+                if (func == PNone.NO_VALUE) {
+                    return PyObjectCallMethodObjArgs.getUncached().execute(null, cls, T___NEW__, cls);
+                }
+            }
+            return callNode.execute(cls, args);
+        }
+
+        private void loadObj(PUnpickler u) {
+            int i = marker(u);
+            if (u.stackLength() - i < 1) {
+                throw stackUnderflow(u);
+            }
+            Object[] args = u.popFrom(i + 1);
+            Object cls = u.pop();
+            u.push(instantiate(cls, args));
+        }
+
+        private void loadInst(PUnpickler u) {
+            int i = marker(u);
+            TruffleString moduleName = readlineUtf8(u);
+            TruffleString className = readlineUtf8(u);
+            Object cls = findClass(u, moduleName, className);
+            Object[] args = u.popFrom(i);
+            u.push(instantiate(cls, args));
+        }
+
+        private void loadNewObj(PUnpickler u, boolean useKwargs) {
+            String opcode = useKwargs ? "NEWOBJ_EX" : "NEWOBJ";
+            Object kwargs = useKwargs ? pop(u) : null;
+            Object args = pop(u);
+            Object cls = pop(u);
+            if (!IsTypeNode.getUncached().execute(cls)) {
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.S_CLASS_ARG_MUST_BE_TYPE, opcode, cls);
+            }
+            if (!(args instanceof PTuple)) {
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.S_ARGS_ARG_MUST_BE_TUPLE, opcode, args);
+            }
+            if (useKwargs && !(kwargs instanceof PDict)) {
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.S_KWARGS_ARG_MUST_BE_DICT, opcode, kwargs);
+            }
+            SequenceStorage argsStorage = ((PTuple) args).getSequenceStorage();
+            Object[] newArgs = new Object[argsStorage.length() + 1];
+            newArgs[0] = cls;
+            for (int i = 1; i < newArgs.length; i++) {
+                newArgs[i] = getItemNode.execute(argsStorage, i - 1);
+            }
+            PKeyword[] keywords = useKwargs ? PicklerNodes.dictToKeywords((PDict) kwargs) : PKeyword.EMPTY_KEYWORDS;
+            Object newFunc = PyObjectGetAttr.getUncached().execute(null, cls, T___NEW__);
+            u.push(callNode.execute(newFunc, newArgs, keywords));
+        }
+
+        private void loadGlobal(PUnpickler u) {
+            TruffleString moduleName = readlineUtf8(u);
+            TruffleString globalName = readlineUtf8(u);
+            u.push(findClass(u, moduleName, globalName));
+        }
+
+        private void loadStackGlobal(PUnpickler u) {
+            Object globalName = pop(u);
+            Object moduleName = pop(u);
+            if (!isExactString(moduleName) || !isExactString(globalName)) {
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.STACK_GLOBAL_REQUIRES_STR);
+            }
+            u.push(findClass(u, moduleName, globalName));
+        }
+
+        private boolean isExactString(Object obj) {
+            return obj instanceof TruffleString || (obj instanceof PString && PicklerNodes.isBuiltinClass(getClassNode.execute(obj), PythonBuiltinClassType.PString));
+        }
+
+        private Object findClass(PUnpickler u, Object moduleName, Object globalName) {
+            if (PicklerNodes.isBuiltinClass(getClassNode.execute(u), PythonBuiltinClassType.Unpickler)) {
+                return findClassDefault(u, moduleName, globalName);
+            }
+            return PyObjectCallMethodObjArgs.getUncached().execute(null, u, T_METHOD_FIND_CLASS, moduleName, globalName);
+        }
+
+        private void loadBuild(PUnpickler u) {
+            Object state = pop(u);
+            if (u.stackLength() <= u.fence()) {
+                throw stackUnderflow(u);
+            }
+            Object inst = u.peekTop();
+            Object setstate = lookupAttr.execute(null, inst, T___SETSTATE__);
+            if (setstate != PNone.NO_VALUE) {
+                callNode.execute(setstate, state);
+                return;
+            }
+            // A default __setstate__. First see whether state embeds a slot state dict too (a
+            // proto 2 addition).
+            Object slotstate = PNone.NONE;
+            if (state instanceof PTuple && ((PTuple) state).getSequenceStorage().length() == 2) {
+                SequenceStorage storage = ((PTuple) state).getSequenceStorage();
+                slotstate = getItemNode.execute(storage, 1);
+                state = getItemNode.execute(storage, 0);
+            }
+            // Set inst.__dict__ from the state dict (if any).
+            if (state != PNone.NONE) {
+                if (!(state instanceof PDict)) {
+                    throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.STATE_IS_NOT_A_DICT);
+                }
+                Object dict = PyObjectGetAttr.getUncached().execute(null, inst, T___DICT__);
+                for (DictEntry entry : HashingStorageLibrary.getUncached().entries(((PDict) state).getDictStorage())) {
+                    setItemNode.execute(null, dict, entry.key, entry.value);
+                }
+            }
+            // Also set instance attributes from the slotstate dict (if any).
+            if (slotstate != PNone.NONE) {
+                if (!(slotstate instanceof PDict)) {
+                    throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.SLOT_STATE_IS_NOT_A_DICT);
+                }
+                for (DictEntry entry : HashingStorageLibrary.getUncached().entries(((PDict) slotstate).getDictStorage())) {
+                    PyObjectSetAttr.getUncached().execute(null, inst, entry.key, entry.value);
+                }
+            }
+        }
+
+        private void loadReduce(PUnpickler u) {
+            Object argtup = pop(u);
+            Object callable = pop(u);
+            if (!(argtup instanceof PTuple)) {
+                throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.ARGUMENT_LIST_MUST_BE_A_TUPLE);
+            }
+            SequenceStorage storage = ((PTuple) argtup).getSequenceStorage();
+            Object[] args = new Object[storage.length()];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = getItemNode.execute(storage, i);
+            }
+            u.push(callNode.execute(callable, args));
+        }
+
+        private void loadPersId(PUnpickler u) {
+            if (u.persFunc == null) {
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.NO_PERSISTENT_LOAD);
+            }
+            int[] start = new int[1];
+            int end = readline(u, start);
+            for (int i = start[0]; i < end; i++) {
+                if (u.inputBuffer[i] < 0) {
+                    throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.PERSISTENT_IDS_MUST_BE_ASCII);
+                }
+            }
+            TruffleString pid = decodeUtf8(u.inputBuffer, start[0], end - start[0], T_STRICT);
+            u.push(callNode.execute(u.persFunc, pid));
+        }
+
+        private void loadBinPersId(PUnpickler u) {
+            if (u.persFunc == null) {
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.NO_PERSISTENT_LOAD);
+            }
+            Object pid = pop(u);
+            u.push(callNode.execute(u.persFunc, pid));
+        }
+
+        // memo
+
+        private long parseMemoKey(PUnpickler u) {
+            String s = readlineAscii(u).trim();
+            try {
+                return Long.parseLong(s);
+            } catch (NumberFormatException e) {
+                Object key = callNode.execute(PythonBuiltinClassType.PInt, toTruffleString(s));
+                throw raise(PythonBuiltinClassType.KeyError, new Object[]{key});
+            }
+        }
+
+        private void loadMemoGet(PUnpickler u, long idx) {
+            Object value = u.memoGet(idx);
+            if (value == null) {
+                throw raise(PythonBuiltinClassType.KeyError, new Object[]{idx});
+            }
+            u.push(value);
+        }
+
+        private void loadMemoPut(PUnpickler u, long idx, String opcode) {
+            if (u.stackLength() <= u.fence()) {
+                throw stackUnderflow(u);
+            }
+            if (idx < 0) {
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.NEGATIVE_S_ARGUMENT, opcode);
+            }
+            if (idx > Integer.MAX_VALUE - 8) {
+                throw raise(PythonBuiltinClassType.MemoryError);
+            }
+            u.memoPut((int) idx, u.peekTop());
+        }
+
+        private void loadExtension(PUnpickler u, int nbytes) {
+            long code = nbytes == 4 ? readInt(u, 4, true) : readSize(u, nbytes);
+            if (code <= 0) {
+                // note that 0 is forbidden
+                // Corrupt or hostile pickle.
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.EXT_SPECIFIES_CODE_LE_0);
+            }
+            // Look for the code in the cache.
+            Object obj = u.state.extensionCache.getItem(code);
+            if (obj != null) {
+                u.push(obj);
+                return;
+            }
+            // Look up the (module_name, class_name) pair.
+            Object pair = u.state.invertedRegistry.getItem(code);
+            if (pair == null) {
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.UNREGISTERED_EXTENSION_CODE, code);
+            }
+            // Since the extension registry is manipulable via Python code, confirm that pair is
+            // really a 2-tuple of strings.
+            if (!(pair instanceof PTuple) || ((PTuple) pair).getSequenceStorage().length() != 2) {
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.INVERTED_REGISTRY_NOT_2_TUPLE, code);
+            }
+            SequenceStorage storage = ((PTuple) pair).getSequenceStorage();
+            Object moduleName = getItemNode.execute(storage, 0);
+            Object className = getItemNode.execute(storage, 1);
+            if (!PicklerNodes.isString(moduleName) || !PicklerNodes.isString(className)) {
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.INVERTED_REGISTRY_NOT_2_TUPLE, code);
+            }
+            // Load the object.
+            obj = findClass(u, moduleName, className);
+            // Cache code -> obj.
+            u.state.extensionCache.setItem(code, obj);
+            u.push(obj);
+        }
+    }
+
+    /**
+     * The default implementation of {@code Unpickler.find_class}.
+     */
+    @TruffleBoundary
+    static Object findClassDefault(PUnpickler u, Object moduleNameObj, Object globalNameObj) {
+        Object moduleName = moduleNameObj;
+        Object globalName = globalNameObj;
+        // Try to map the old names used in Python 2.x to the new ones used in Python 3.x. We do
+        // this only with old pickle protocols and when the user has not disabled the feature.
+        if (u.proto < 3 && u.fixImports) {
+            PythonObjectFactory factory = PythonObjectFactory.getUncached();
+            // Check if the global (i.e., a function or a class) was renamed or moved to another
+            // module.
+            Object item = u.state.nameMapping2To3.getItem(factory.createTuple(new Object[]{moduleName, globalName}));
+            if (item != null) {
+                if (!(item instanceof PTuple) || ((PTuple) item).getSequenceStorage().length() != 2) {
+                    throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.COMPAT_PICKLE_VALUES_2_TUPLES, T_ATTR_NAME_MAPPING, item);
+                }
+                SequenceStorage storage = ((PTuple) item).getSequenceStorage();
+                moduleName = SequenceStorageNodes.GetItemScalarNode.getUncached().execute(storage, 0);
+                globalName = SequenceStorageNodes.GetItemScalarNode.getUncached().execute(storage, 1);
+                if (!PicklerNodes.isString(moduleName) || !PicklerNodes.isString(globalName)) {
+                    throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.COMPAT_PICKLE_VALUES_PAIRS_OF_STR, T_ATTR_NAME_MAPPING, moduleName, globalName);
+                }
+            } else {
+                // Check if the module was renamed.
+                item = u.state.importMapping2To3.getItem(moduleName);
+                if (item != null) {
+                    if (!PicklerNodes.isString(item)) {
+                        throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.COMPAT_PICKLE_VALUES_STRINGS, T_ATTR_IMPORT_MAPPING, item);
+                    }
+                    moduleName = item;
+                }
+            }
+        }
+        Object module = PickleUtils.importModule(PicklerNodes.castToString(moduleName));
+        if (u.proto >= 4) {
+            TruffleString[] dottedPath = PicklerNodes.getDottedPath(module, PicklerNodes.castToString(globalName));
+            return PicklerNodes.getDeepAttribute(module, dottedPath, null);
+        }
+        return PyObjectGetAttr.getUncached().execute(null, module, globalName);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.struct;
+
+import java.nio.ByteOrder;
+
+import com.oracle.graal.python.util.NumericSupport;
+
+/**
+ * The byte order, size and alignment mode selected by the first character of a format string.
+ */
+public final class FormatAlignment {
+    private static final boolean NATIVE_BIG_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN;
+
+    static final FormatAlignment NATIVE = new FormatAlignment(NATIVE_BIG_ENDIAN, true);
+    static final FormatAlignment STANDARD_NATIVE_ORDER = new FormatAlignment(NATIVE_BIG_ENDIAN, false);
+    static final FormatAlignment LITTLE_ENDIAN = new FormatAlignment(false, false);
+    static final FormatAlignment BIG_ENDIAN = new FormatAlignment(true, false);
+
+    final boolean bigEndian;
+    final boolean nativeSizing;
+    final NumericSupport numericSupport;
+
+    private FormatAlignment(boolean bigEndian, boolean nativeSizing) {
+        this.bigEndian = bigEndian;
+        this.nativeSizing = nativeSizing;
+        this.numericSupport = bigEndian ? NumericSupport.bigEndian() : NumericSupport.littleEndian();
+    }
+
+    /**
+     * Selects the mode for the given first character of a format string, or returns {@code null}
+     * if it is not a mode character, in which case the native mode applies.
+     */
+    static FormatAlignment forModeChar(int c) {
+        switch (c) {
+            case '<':
+                return LITTLE_ENDIAN;
+            case '>':
+            case '!':
+                return BIG_ENDIAN;
+            case '=':
+                return STANDARD_NATIVE_ORDER;
+            case '@':
+                return NATIVE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Whether CPython packs integers in this mode with its native routines rather than the
+     * byte-order specific ones. It does so for the native mode and for standard formats in native
+     * byte order whose size matches the native one. This only matters for the error messages.
+     */
+    boolean usesNativeRoutines(FormatDef def) {
+        return nativeSizing || (bigEndian == NATIVE_BIG_ENDIAN && def.size == FormatDef.lookup(def.format, true).size);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.struct;
+
+import com.oracle.graal.python.builtins.modules.struct.FormatDef.FormatType;
+
+/**
+ * A compiled element of a format string: a format with its offset in the packed data and its
+ * repeat count. For {@code 's'} and {@code 'p'} the count is part of the size instead.
+ */
+public final class FormatCode {
+    final FormatDef def;
+    final int offset;
+    final int size;
+    final int repeat;
+
+    FormatCode(FormatDef def, int offset, int size, int repeat) {
+        this.def = def;
+        this.offset = offset;
+        this.size = size;
+        this.repeat = repeat;
+    }
+
+    FormatType getType() {
+        return def.type;
+    }
+
+    boolean isChar() {
+        return def.type == FormatType.CHAR;
+    }
+
+    boolean isBool() {
+        return def.type == FormatType.BOOL;
+    }
+
+    boolean isInteger() {
+        return def.type == FormatType.SIGNED || def.type == FormatType.UNSIGNED || def.type == FormatType.VOID_PTR;
+    }
+
+    boolean isFloatingPoint() {
+        return def.type == FormatType.HALF_FLOAT || def.type == FormatType.FLOAT || def.type == FormatType.DOUBLE;
+    }
+
+    boolean isString() {
+        return def.type == FormatType.STRING || def.type == FormatType.PASCAL_STRING;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.struct;
+
+import static com.oracle.graal.python.builtins.PythonOS.PLATFORM_WIN32;
+import static com.oracle.graal.python.builtins.PythonOS.getPythonOS;
+
+/**
+ * A format character together with its size and alignment, see {@code formatdef} in
+ * {@code Modules/_struct.c}. The native table describes the {@code '@'} mode, the standard table
+ * the {@code '<'}, {@code '>'}, {@code '!'} and {@code '='} modes.
+ */
+public final class FormatDef {
+    enum FormatType {
+        PAD,
+        CHAR,
+        BOOL,
+        STRING,
+        PASCAL_STRING,
+        SIGNED,
+        UNSIGNED,
+        VOID_PTR,
+        HALF_FLOAT,
+        FLOAT,
+        DOUBLE
+    }
+
+    /** Size of the C {@code long}, which is 32 bits wide on LLP64 platforms (Windows). */
+    private static final int SIZEOF_LONG = getPythonOS() == PLATFORM_WIN32 ? 4 : 8;
+
+    private static final FormatDef[] NATIVE_TABLE = {
+                    new FormatDef('x', FormatType.PAD, 1, 0),
+                    new FormatDef('b', FormatType.SIGNED, 1, 0),
+                    new FormatDef('B', FormatType.UNSIGNED, 1, 0),
+                    new FormatDef('c', FormatType.CHAR, 1, 0),
+                    new FormatDef('s', FormatType.STRING, 1, 0),
+                    new FormatDef('p', FormatType.PASCAL_STRING, 1, 0),
+                    new FormatDef('h', FormatType.SIGNED, 2, 2),
+                    new FormatDef('H', FormatType.UNSIGNED, 2, 2),
+                    new FormatDef('i', FormatType.SIGNED, 4, 4),
+                    new FormatDef('I', FormatType.UNSIGNED, 4, 4),
+                    new FormatDef('l', FormatType.SIGNED, SIZEOF_LONG, SIZEOF_LONG),
+                    new FormatDef('L', FormatType.UNSIGNED, SIZEOF_LONG, SIZEOF_LONG),
+                    new FormatDef('n', FormatType.SIGNED, 8, 8),
+                    new FormatDef('N', FormatType.UNSIGNED, 8, 8),
+                    new FormatDef('q', FormatType.SIGNED, 8, 8),
+                    new FormatDef('Q', FormatType.UNSIGNED, 8, 8),
+                    new FormatDef('?', FormatType.BOOL, 1, 1),
+                    new FormatDef('e', FormatType.HALF_FLOAT, 2, 2),
+                    new FormatDef('f', FormatType.FLOAT, 4, 4),
+                    new FormatDef('d', FormatType.DOUBLE, 8, 8),
+                    new FormatDef('P', FormatType.VOID_PTR, 8, 8),
+    };
+
+    private static final FormatDef[] STANDARD_TABLE = {
+                    new FormatDef('x', FormatType.PAD, 1, 0),
+                    new FormatDef('b', FormatType.SIGNED, 1, 0),
+                    new FormatDef('B', FormatType.UNSIGNED, 1, 0),
+                    new FormatDef('c', FormatType.CHAR, 1, 0),
+                    new FormatDef('s', FormatType.STRING, 1, 0),
+                    new FormatDef('p', FormatType.PASCAL_STRING, 1, 0),
+                    new FormatDef('h', FormatType.SIGNED, 2, 0),
+                    new FormatDef('H', FormatType.UNSIGNED, 2, 0),
+                    new FormatDef('i', FormatType.SIGNED, 4, 0),
+                    new FormatDef('I', FormatType.UNSIGNED, 4, 0),
+                    new FormatDef('l', FormatType.SIGNED, 4, 0),
+                    new FormatDef('L', FormatType.UNSIGNED, 4, 0),
+                    new FormatDef('q', FormatType.SIGNED, 8, 0),
+                    new FormatDef('Q', FormatType.UNSIGNED, 8, 0),
+                    new FormatDef('?', FormatType.BOOL, 1, 0),
+                    new FormatDef('e', FormatType.HALF_FLOAT, 2, 0),
+                    new FormatDef('f', FormatType.FLOAT, 4, 0),
+                    new FormatDef('d', FormatType.DOUBLE, 8, 0),
+    };
+
+    final char format;
+    final FormatType type;
+    final int size;
+    final int alignment;
+
+    private FormatDef(char format, FormatType type, int size, int alignment) {
+        this.format = format;
+        this.type = type;
+        this.size = size;
+        this.alignment = alignment;
+    }
+
+    /**
+     * Returns the entry for the format character or {@code null} if there is none in the table
+     * selected by {@code nativeSizing}.
+     */
+    static FormatDef lookup(int c, boolean nativeSizing) {
+        for (FormatDef def : nativeSizing ? NATIVE_TABLE : STANDARD_TABLE) {
+            if (def.format == c) {
+                return def;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Aligns {@code size} for this format. Returns -1 on overflow.
+     */
+    long align(long size) {
+        if (alignment != 0 && size > 0) {
+            long extra = (alignment - 1) - (size - 1) % alignment;
+            if (extra > Long.MAX_VALUE - size) {
+                return -1;
+            }
+            return size + extra;
+        }
+        return size;
+    }
+}
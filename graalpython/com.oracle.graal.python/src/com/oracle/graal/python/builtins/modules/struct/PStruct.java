@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.struct;
+
+import static com.oracle.graal.python.nodes.StringLiterals.T_EMPTY_STRING;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.StructError;
+
+import java.util.ArrayList;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.api.strings.TruffleString;
+
+public final class PStruct extends PythonBuiltinObject {
+    /**
+     * Like in CPython, {@code Struct.__init__} may be called again to change the format, so the
+     * compiled format is kept in a separate immutable object.
+     */
+    private StructInfo info;
+
+    public PStruct(Object cls, Shape instanceShape, StructInfo info) {
+        super(cls, instanceShape);
+        this.info = info;
+    }
+
+    public StructInfo getInfo() {
+        return info;
+    }
+
+    public void setInfo(StructInfo info) {
+        this.info = info;
+    }
+
+    public static final class StructInfo {
+        // the format of a Struct object that was created without calling __init__
+        static final StructInfo EMPTY = new StructInfo(T_EMPTY_STRING, FormatAlignment.NATIVE, new FormatCode[0], 0, 0);
+
+        final TruffleString format;
+        final FormatAlignment alignment;
+        @CompilationFinal(dimensions = 1) final FormatCode[] codes;
+        // the size of the packed data, may exceed the maximal length of a Java array
+        final long size;
+        // the number of packed values
+        final int len;
+
+        private StructInfo(TruffleString format, FormatAlignment alignment, FormatCode[] codes, long size, int len) {
+            this.format = format;
+            this.alignment = alignment;
+            this.codes = codes;
+            this.size = size;
+            this.len = len;
+        }
+
+        public TruffleString getFormat() {
+            return format;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public int getLen() {
+            return len;
+        }
+
+        /**
+         * Compiles a format string, see {@code prepare_s} in {@code Modules/_struct.c}.
+         */
+        @TruffleBoundary
+        static StructInfo compile(Node raisingNode, byte[] format, TruffleString formatStr) {
+            for (byte b : format) {
+                if (b == 0) {
+                    throw PRaiseNode.raiseUncached(raisingNode, StructError, ErrorMessages.EMBEDDED_NULL_CHARACTER);
+                }
+            }
+            int pos = 0;
+            FormatAlignment alignment = format.length > 0 ? FormatAlignment.forModeChar(format[0]) : null;
+            if (alignment != null) {
+                pos++;
+            } else {
+                alignment = FormatAlignment.NATIVE;
+            }
+
+            ArrayList<FormatCode> codes = new ArrayList<>();
+            long size = 0;
+            long len = 0;
+            while (pos < format.length) {
+                int c = format[pos++];
+                if (c == ' ' || (c >= '\t' && c <= '\r')) {
+                    continue;
+                }
+                long num = 1;
+                if ('0' <= c && c <= '9') {
+                    num = c - '0';
+                    while (pos < format.length && '0' <= format[pos] && format[pos] <= '9') {
+                        int digit = format[pos++] - '0';
+                        if (num > (Long.MAX_VALUE - digit) / 10) {
+                            throw PRaiseNode.raiseUncached(raisingNode, StructError, ErrorMessages.TOTAL_STRUCT_SIZE_TOO_LONG);
+                        }
+                        num = num * 10 + digit;
+                    }
+                    if (pos == format.length) {
+                        throw PRaiseNode.raiseUncached(raisingNode, StructError, ErrorMessages.REPEAT_COUNT_WITHOUT_FMT);
+                    }
+                    c = format[pos++];
+                }
+                FormatDef def = FormatDef.lookup(c, alignment.nativeSizing);
+                if (def == null) {
+                    throw PRaiseNode.raiseUncached(raisingNode, StructError, ErrorMessages.BAD_CHAR_IN_STRUCT_FMT);
+                }
+                size = def.align(size);
+                if (size == -1 || num > (Long.MAX_VALUE - size) / def.size) {
+                    throw PRaiseNode.raiseUncached(raisingNode, StructError, ErrorMessages.TOTAL_STRUCT_SIZE_TOO_LONG);
+                }
+                switch (def.type) {
+                    case PAD:
+                        break;
+                    case STRING:
+                    case PASCAL_STRING:
+                        codes.add(new FormatCode(def, (int) size, (int) num, 1));
+                        len++;
+                        break;
+                    default:
+                        if (num != 0) {
+                            codes.add(new FormatCode(def, (int) size, def.size, (int) num));
+                            len += num;
+                        }
+                        break;
+                }
+                size += num * def.size;
+            }
+            if (len > Integer.MAX_VALUE) {
+                throw PRaiseNode.raiseUncached(raisingNode, StructError, ErrorMessages.TOTAL_STRUCT_SIZE_TOO_LONG);
+            }
+            return new StructInfo(formatStr, alignment, codes.toArray(new FormatCode[codes.size()]), size, (int) len);
+        }
+    }
+}
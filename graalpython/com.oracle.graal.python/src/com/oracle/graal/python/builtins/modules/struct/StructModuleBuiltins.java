@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.struct;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.nodes.BuiltinNames.J__STRUCT;
+import static com.oracle.graal.python.nodes.BuiltinNames.T__STRUCT;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.struct.PStruct.StructInfo;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.strings.TruffleString;
+
+@CoreFunctions(defineModule = J__STRUCT)
+public class StructModuleBuiltins extends PythonBuiltins {
+    // compiled formats of this context, see cache_struct_converter in Modules/_struct.c
+    private final Map<TruffleString, StructInfo> cache = new HashMap<>();
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return StructModuleBuiltinsFactory.getFactories();
+    }
+
+    static Map<TruffleString, StructInfo> getCache(PythonContext context) {
+        return ((StructModuleBuiltins) context.lookupBuiltinModule(T__STRUCT).getBuiltins()).cache;
+    }
+
+    @Builtin(name = "Struct", constructsClass = PythonBuiltinClassType.PStruct, minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true)
+    @GenerateNodeFactory
+    abstract static class StructNode extends PythonBuiltinNode {
+        @Specialization
+        Object struct(Object cls, @SuppressWarnings("unused") Object[] args, @SuppressWarnings("unused") Object kwargs) {
+            return factory().createStruct(cls, StructInfo.EMPTY);
+        }
+    }
+
+    @Builtin(name = "pack", takesVarArgs = true, doc = "pack(format, v1, v2, ...) -> bytes\n\n" +
+                    "Return a bytes object containing the values v1, v2, ... packed according\n" +
+                    "to the format string.  See help(struct) for more on format strings.")
+    @GenerateNodeFactory
+    abstract static class PackNode extends PythonBuiltinNode {
+        @Specialization
+        Object pack(VirtualFrame frame, Object[] args,
+                        @Cached StructNodes.GetStructInfoNode getStructInfoNode,
+                        @Cached StructNodes.PackNode packNode) {
+            if (args.length == 0) {
+                throw raise(TypeError, ErrorMessages.MISSING_FORMAT_ARGUMENT);
+            }
+            return packNode.execute(frame, getStructInfoNode.execute(args[0]), args, 1);
+        }
+    }
+
+    @Builtin(name = "pack_into", takesVarArgs = true, doc = "pack_into(format, buffer, offset, v1, v2, ...)\n\n" +
+                    "Pack the values v1, v2, ... according to the format string and write\n" +
+                    "the packed bytes into the writable buffer buf starting at offset.  Note\n" +
+                    "that the offset is a required argument.  See help(struct) for more\n" +
+                    "on format strings.")
+    @GenerateNodeFactory
+    abstract static class PackIntoNode extends PythonBuiltinNode {
+        @Specialization
+        Object packInto(VirtualFrame frame, Object[] args,
+                        @Cached StructNodes.GetStructInfoNode getStructInfoNode,
+                        @Cached StructNodes.PackIntoNode packIntoNode) {
+            if (args.length == 0) {
+                throw raise(TypeError, ErrorMessages.MISSING_FORMAT_ARGUMENT);
+            }
+            packIntoNode.execute(frame, getStructInfoNode.execute(args[0]), args, 1);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "unpack", minNumOfPositionalArgs = 2, numOfPositionalOnlyArgs = 2, parameterNames = {"format", "buffer"})
+    @ArgumentClinic(name = "buffer", conversion = ClinicConversion.ReadableBuffer)
+    @GenerateNodeFactory
+    abstract static class UnpackNode extends PythonBinaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return StructModuleBuiltinsClinicProviders.UnpackNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization(limit = "3")
+        Object unpack(VirtualFrame frame, Object format, Object buffer,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached StructNodes.GetStructInfoNode getStructInfoNode,
+                        @Cached StructNodes.UnpackNode unpackNode) {
+            try {
+                return unpackNode.execute(getStructInfoNode.execute(format), buffer);
+            } finally {
+                bufferLib.release(buffer, frame, this);
+            }
+        }
+    }
+
+    @Builtin(name = "unpack_from", minNumOfPositionalArgs = 2, numOfPositionalOnlyArgs = 1, parameterNames = {"format", "buffer", "offset"})
+    @ArgumentClinic(name = "buffer", conversion = ClinicConversion.ReadableBuffer)
+    @ArgumentClinic(name = "offset", conversion = ClinicConversion.Index, defaultValue = "0")
+    @GenerateNodeFactory
+    abstract static class UnpackFromNode extends PythonTernaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return StructModuleBuiltinsClinicProviders.UnpackFromNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization(limit = "3")
+        Object unpackFrom(VirtualFrame frame, Object format, Object buffer, int offset,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached StructNodes.GetStructInfoNode getStructInfoNode,
+                        @Cached StructNodes.UnpackFromNode unpackFromNode) {
+            try {
+                return unpackFromNode.execute(getStructInfoNode.execute(format), buffer, offset);
+            } finally {
+                bufferLib.release(buffer, frame, this);
+            }
+        }
+    }
+
+    @Builtin(name = "iter_unpack", minNumOfPositionalArgs = 2, numOfPositionalOnlyArgs = 2, parameterNames = {"format", "buffer"})
+    @ArgumentClinic(name = "buffer", conversion = ClinicConversion.ReadableBuffer)
+    @GenerateNodeFactory
+    abstract static class IterUnpackNode extends PythonBinaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return StructModuleBuiltinsClinicProviders.IterUnpackNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization(limit = "3")
+        Object iterUnpack(VirtualFrame frame, Object format, Object buffer,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached StructNodes.GetStructInfoNode getStructInfoNode,
+                        @Cached StructNodes.IterUnpackNode iterUnpackNode) {
+            try {
+                return iterUnpackNode.execute(getStructInfoNode.execute(format), buffer);
+            } catch (PException e) {
+                bufferLib.release(buffer, frame, this);
+                throw e;
+            }
+        }
+    }
+
+    @Builtin(name = "calcsize", minNumOfPositionalArgs = 1, numOfPositionalOnlyArgs = 1, parameterNames = {"format"})
+    @GenerateNodeFactory
+    abstract static class CalcSizeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object calcsize(Object format,
+                        @Cached StructNodes.GetStructInfoNode getStructInfoNode) {
+            return getStructInfoNode.execute(format).getSize();
+        }
+    }
+
+    @Builtin(name = "_clearcache")
+    @GenerateNodeFactory
+    abstract static class ClearCacheNode extends PythonBuiltinNode {
+        @Specialization
+        Object clearCache() {
+            clear(getCache(getContext()));
+            return PNone.NONE;
+        }
+
+        @TruffleBoundary
+        private static void clear(Map<TruffleString, StructInfo> cache) {
+            cache.clear();
+        }
+    }
+}
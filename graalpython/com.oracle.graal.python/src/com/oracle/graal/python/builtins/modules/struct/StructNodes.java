@@ -0,0 +1,683 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.struct;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.OverflowError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.StructError;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.modules.struct.FormatDef.FormatType;
+import com.oracle.graal.python.builtins.modules.struct.PStruct.StructInfo;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAcquireLibrary;
+import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.lib.PyFloatAsDoubleNode;
+import com.oracle.graal.python.lib.PyIndexCheckNode;
+import com.oracle.graal.python.lib.PyLongCheckNode;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
+import com.oracle.graal.python.lib.PyNumberIndexNode;
+import com.oracle.graal.python.lib.PyObjectIsTrueNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PConstructAndRaiseNode;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithContext;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.PNodeWithRaiseAndIndirectCall;
+import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
+import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.NumericSupport;
+import com.oracle.graal.python.util.OverflowException;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.dsl.TypeSystemReference;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Nodes implementing the packing and unpacking of {@code _struct}. Formats are compiled once into a
+ * {@link StructInfo} and the values are read from and written to byte arrays directly, which are
+ * either the internal storage of the buffer or, if it has none, a temporary copy.
+ */
+public final class StructNodes {
+    private static final int MAXCACHE = 100;
+
+    private StructNodes() {
+    }
+
+    /**
+     * Looks up or compiles the format given as {@code str} or {@code bytes}. Compiled formats are
+     * cached per context like in CPython, constant format strings are additionally cached in the
+     * node.
+     */
+    @ImportStatic(PGuards.class)
+    public abstract static class GetStructInfoNode extends PNodeWithRaise {
+        public abstract StructInfo execute(Object format);
+
+        @Specialization(guards = "format == cachedFormat", limit = "3")
+        static StructInfo doCached(@SuppressWarnings("unused") TruffleString format,
+                        @SuppressWarnings("unused") @Cached("format") TruffleString cachedFormat,
+                        @Cached("lookupOrCompile(cachedFormat)") StructInfo cachedInfo) {
+            return cachedInfo;
+        }
+
+        @Specialization(replaces = "doCached")
+        StructInfo doString(TruffleString format) {
+            return lookupOrCompile(format);
+        }
+
+        @Specialization
+        StructInfo doPString(PString format,
+                        @Cached CastToTruffleStringNode castToStringNode) {
+            return lookupOrCompile(castToStringNode.execute(format));
+        }
+
+        @Specialization(limit = "1")
+        StructInfo doBytes(PBytes format,
+                        @CachedLibrary("format") PythonBufferAccessLibrary bufferLib) {
+            return lookupOrCompile(bufferLib.getCopiedByteArray(format));
+        }
+
+        @Fallback
+        StructInfo doOther(Object format) {
+            throw raise(TypeError, ErrorMessages.STRUCT_FMT_NOT_STR_OR_BYTES, format);
+        }
+
+        @TruffleBoundary
+        StructInfo lookupOrCompile(TruffleString format) {
+            Map<TruffleString, StructInfo> cache = StructModuleBuiltins.getCache(getContext());
+            StructInfo info = cache.get(format);
+            if (info == null) {
+                int len = format.codePointLengthUncached(TS_ENCODING);
+                byte[] bytes = new byte[len];
+                for (int i = 0; i < len; i++) {
+                    int c = format.codePointAtIndexUncached(i, TS_ENCODING);
+                    if (c > 127) {
+                        throw PConstructAndRaiseNode.getUncached().raiseUnicodeEncodeError(null, "ascii", format, i, i + 1, "ordinal not in range(128)");
+                    }
+                    bytes[i] = (byte) c;
+                }
+                info = StructInfo.compile(this, bytes, format);
+                putIntoCache(cache, format, info);
+            }
+            return info;
+        }
+
+        @TruffleBoundary
+        StructInfo lookupOrCompile(byte[] format) {
+            for (byte b : format) {
+                if (b < 0) {
+                    // not ASCII, so it cannot be a valid format and there is no point in caching
+                    return StructInfo.compile(this, format, null);
+                }
+            }
+            TruffleString formatStr = TruffleString.fromByteArrayUncached(format, TruffleString.Encoding.US_ASCII).switchEncodingUncached(TS_ENCODING);
+            Map<TruffleString, StructInfo> cache = StructModuleBuiltins.getCache(getContext());
+            StructInfo info = cache.get(formatStr);
+            if (info == null) {
+                info = StructInfo.compile(this, format, formatStr);
+                putIntoCache(cache, formatStr, info);
+            }
+            return info;
+        }
+
+        private static void putIntoCache(Map<TruffleString, StructInfo> cache, TruffleString format, StructInfo info) {
+            if (cache.size() >= MAXCACHE) {
+                cache.clear();
+            }
+            cache.put(format, info);
+        }
+    }
+
+    /**
+     * Packs a single value at the given offset, see the {@code np_*}, {@code lp_*} and
+     * {@code bp_*} functions in {@code Modules/_struct.c}. The error messages depend on whether
+     * CPython would use the native or the byte-order specific routine.
+     */
+    @ImportStatic(PGuards.class)
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    abstract static class PackValueNode extends PNodeWithRaise {
+        abstract void execute(VirtualFrame frame, FormatCode code, FormatAlignment alignment, Object value, byte[] buffer, int offset);
+
+        @Specialization(guards = "code.isInteger()")
+        void packLong(FormatCode code, FormatAlignment alignment, long value, byte[] buffer, int offset) {
+            packLongValue(code, alignment, value, buffer, offset);
+        }
+
+        @Specialization(guards = "code.isInteger()")
+        void packBoolean(FormatCode code, FormatAlignment alignment, boolean value, byte[] buffer, int offset) {
+            packLongValue(code, alignment, value ? 1 : 0, buffer, offset);
+        }
+
+        @Specialization(guards = "code.isInteger()")
+        void packPInt(FormatCode code, FormatAlignment alignment, PInt value, byte[] buffer, int offset) {
+            packPIntValue(code, alignment, value, buffer, offset);
+        }
+
+        @Specialization(guards = {"code.isInteger()", "!isInteger(value)", "!isBoolean(value)", "!isPInt(value)"})
+        void packIndex(VirtualFrame frame, FormatCode code, FormatAlignment alignment, Object value, byte[] buffer, int offset,
+                        @Cached PyIndexCheckNode indexCheckNode,
+                        @Cached PyNumberIndexNode indexNode) {
+            if (!indexCheckNode.execute(value)) {
+                throw raise(StructError, ErrorMessages.REQUIRED_ARGUMENT_IS_NOT_AN_INTEGER);
+            }
+            Object index = indexNode.execute(frame, value);
+            if (index instanceof Integer) {
+                packLongValue(code, alignment, (int) index, buffer, offset);
+            } else if (index instanceof Long) {
+                packLongValue(code, alignment, (long) index, buffer, offset);
+            } else if (index instanceof Boolean) {
+                packLongValue(code, alignment, (boolean) index ? 1 : 0, buffer, offset);
+            } else if (index instanceof PInt) {
+                packPIntValue(code, alignment, (PInt) index, buffer, offset);
+            } else {
+                throw raise(StructError, ErrorMessages.REQUIRED_ARGUMENT_IS_NOT_AN_INTEGER);
+            }
+        }
+
+        @Specialization(guards = "code.isFloatingPoint()")
+        void packFloat(VirtualFrame frame, FormatCode code, FormatAlignment alignment, Object value, byte[] buffer, int offset,
+                        @Cached PyFloatAsDoubleNode asDoubleNode,
+                        @Cached PyLongCheckNode longCheckNode) {
+            double d;
+            try {
+                d = asDoubleNode.execute(frame, value);
+            } catch (PException e) {
+                throw raise(StructError, ErrorMessages.REQUIRED_ARGUMENT_IS_NOT_A_FLOAT);
+            }
+            NumericSupport numericSupport = alignment.numericSupport;
+            switch (code.getType()) {
+                case HALF_FLOAT:
+                    try {
+                        numericSupport.putHalfFloat(this, buffer, offset, d);
+                    } catch (PException e) {
+                        if (longCheckNode.execute(value)) {
+                            throw raise(StructError, ErrorMessages.INT_TOO_LARGE_TO_CONVERT);
+                        }
+                        throw e;
+                    }
+                    break;
+                case FLOAT:
+                    float f = (float) d;
+                    // the native mode just truncates like a C cast
+                    if (!alignment.nativeSizing && Float.isInfinite(f) && !Double.isInfinite(d)) {
+                        if (longCheckNode.execute(value)) {
+                            throw raise(StructError, ErrorMessages.INT_TOO_LARGE_TO_CONVERT);
+                        }
+                        throw raise(OverflowError, ErrorMessages.FLOAT_TO_LARGE_TO_PACK_WITH_S_FMT, "f");
+                    }
+                    numericSupport.putFloat(buffer, offset, f);
+                    break;
+                default:
+                    numericSupport.putDouble(buffer, offset, d);
+                    break;
+            }
+        }
+
+        @Specialization(guards = "code.isBool()")
+        static void packBool(VirtualFrame frame, @SuppressWarnings("unused") FormatCode code, @SuppressWarnings("unused") FormatAlignment alignment, Object value, byte[] buffer, int offset,
+                        @Cached PyObjectIsTrueNode isTrueNode) {
+            buffer[offset] = (byte) (isTrueNode.execute(frame, value) ? 1 : 0);
+        }
+
+        @Specialization(guards = "code.isChar()", limit = "3")
+        void packChar(@SuppressWarnings("unused") FormatCode code, @SuppressWarnings("unused") FormatAlignment alignment, Object value, byte[] buffer, int offset,
+                        @CachedLibrary("value") PythonBufferAccessLibrary bufferLib) {
+            if (!(value instanceof PBytes) || bufferLib.getBufferLength(value) != 1) {
+                throw raise(StructError, ErrorMessages.CHAR_FORMAT_REQUIRES_BYTES_OF_LEN_1);
+            }
+            buffer[offset] = bufferLib.readByte(value, 0);
+        }
+
+        @Specialization(guards = "code.isString()", limit = "3")
+        void packString(FormatCode code, @SuppressWarnings("unused") FormatAlignment alignment, Object value, byte[] buffer, int offset,
+                        @CachedLibrary("value") PythonBufferAccessLibrary bufferLib) {
+            if (!(value instanceof PBytes || value instanceof PByteArray)) {
+                throw raise(StructError, ErrorMessages.ARG_FOR_C_MUST_BE_BYTES, code.def.format);
+            }
+            int n = bufferLib.getBufferLength(value);
+            if (code.getType() == FormatType.STRING) {
+                bufferLib.readIntoByteArray(value, 0, buffer, offset, Math.min(n, code.size));
+            } else if (code.size > 0) {
+                n = Math.min(n, code.size - 1);
+                bufferLib.readIntoByteArray(value, 0, buffer, offset + 1, n);
+                buffer[offset] = (byte) Math.min(n, 255);
+            }
+        }
+
+        private void packLongValue(FormatCode code, FormatAlignment alignment, long x, byte[] buffer, int offset) {
+            FormatDef def = code.def;
+            boolean unsigned = def.type == FormatType.UNSIGNED;
+            switch (def.size) {
+                case 1:
+                    if (unsigned && (x < 0 || x > 0xFF)) {
+                        throw raise(StructError, ErrorMessages.UBYTE_FORMAT_REQUIRES_RANGE);
+                    } else if (!unsigned && (x < Byte.MIN_VALUE || x > Byte.MAX_VALUE)) {
+                        throw raise(StructError, ErrorMessages.BYTE_FORMAT_REQUIRES_RANGE);
+                    }
+                    break;
+                case 2:
+                case 4:
+                    boolean nativeShort = def.size == 2 && alignment.usesNativeRoutines(def);
+                    if (unsigned && x < 0 && !nativeShort) {
+                        throw raise(StructError, ErrorMessages.ARGUMENT_OUT_OF_RANGE);
+                    }
+                    long max = unsigned ? (1L << (def.size * 8)) - 1 : (1L << (def.size * 8 - 1)) - 1;
+                    long min = unsigned ? 0 : -max - 1;
+                    if (x < min || x > max) {
+                        if (nativeShort) {
+                            throw raise(StructError, unsigned ? ErrorMessages.USHORT_FORMAT_REQUIRES_RANGE : ErrorMessages.SHORT_FORMAT_REQUIRES_RANGE);
+                        }
+                        throw raise(StructError, ErrorMessages.FMT_REQUIRES_RANGE, def.format, min, max);
+                    }
+                    break;
+                default:
+                    if (unsigned && x < 0) {
+                        throw raise(StructError, alignment.usesNativeRoutines(def) ? ErrorMessages.ARGUMENT_OUT_OF_RANGE : ErrorMessages.INT_TOO_LARGE_TO_CONVERT);
+                    }
+                    break;
+            }
+            alignment.numericSupport.putLong(buffer, offset, x, def.size);
+        }
+
+        private void packPIntValue(FormatCode code, FormatAlignment alignment, PInt value, byte[] buffer, int offset) {
+            FormatDef def = code.def;
+            if (def.size == 8 && def.type != FormatType.SIGNED && !value.isNegative() && value.bitLength() <= 64) {
+                // the values between 2**63 and 2**64-1 of the unsigned formats
+                alignment.numericSupport.putLong(buffer, offset, value.longValue(), 8);
+                return;
+            }
+            long x;
+            try {
+                x = value.longValueExact();
+            } catch (OverflowException e) {
+                if (def.type == FormatType.VOID_PTR || (def.size == 8 && !alignment.usesNativeRoutines(def))) {
+                    throw raise(StructError, ErrorMessages.INT_TOO_LARGE_TO_CONVERT);
+                }
+                throw raise(StructError, ErrorMessages.ARGUMENT_OUT_OF_RANGE);
+            }
+            packLongValue(code, alignment, x, buffer, offset);
+        }
+    }
+
+    /**
+     * Unpacks a single value at the given offset, see the {@code nu_*}, {@code lu_*} and
+     * {@code bu_*} functions in {@code Modules/_struct.c}.
+     */
+    abstract static class UnpackValueNode extends PNodeWithContext {
+        abstract Object execute(FormatCode code, FormatAlignment alignment, byte[] buffer, int offset);
+
+        @Specialization(guards = "code.isInteger()")
+        static Object unpackInteger(FormatCode code, FormatAlignment alignment, byte[] buffer, int offset,
+                        @Cached PythonObjectFactory factory,
+                        @Cached ConditionProfile positiveProfile) {
+            int size = code.def.size;
+            if (code.getType() == FormatType.SIGNED) {
+                long value = alignment.numericSupport.getLong(buffer, offset, size);
+                return size <= 4 ? (Object) (int) value : (Object) value;
+            } else if (size < 4) {
+                return (int) alignment.numericSupport.getLongUnsigned(buffer, offset, size);
+            } else if (size == 4) {
+                return alignment.numericSupport.getLongUnsigned(buffer, offset, size);
+            } else {
+                return PInt.createPythonIntFromUnsignedLong(factory, positiveProfile, alignment.numericSupport.getLong(buffer, offset, size));
+            }
+        }
+
+        @Specialization(guards = "code.isFloatingPoint()")
+        static Object unpackFloat(FormatCode code, FormatAlignment alignment, byte[] buffer, int offset) {
+            return alignment.numericSupport.getDouble(buffer, offset, code.size);
+        }
+
+        @Specialization(guards = "code.isBool()")
+        static Object unpackBool(@SuppressWarnings("unused") FormatCode code, @SuppressWarnings("unused") FormatAlignment alignment, byte[] buffer, int offset) {
+            return buffer[offset] != 0;
+        }
+
+        @Specialization(guards = "code.isChar()")
+        static Object unpackChar(@SuppressWarnings("unused") FormatCode code, @SuppressWarnings("unused") FormatAlignment alignment, byte[] buffer, int offset,
+                        @Cached PythonObjectFactory factory) {
+            return factory.createBytes(new byte[]{buffer[offset]});
+        }
+
+        @Specialization(guards = "code.isString()")
+        static Object unpackString(FormatCode code, @SuppressWarnings("unused") FormatAlignment alignment, byte[] buffer, int offset,
+                        @Cached PythonObjectFactory factory) {
+            if (code.getType() == FormatType.STRING) {
+                return factory.createBytes(buffer, offset, code.size);
+            }
+            int n = code.size == 0 ? 0 : Byte.toUnsignedInt(buffer[offset]);
+            if (n >= code.size) {
+                n = code.size - 1;
+            }
+            return factory.createBytes(buffer, offset + 1, Math.max(n, 0));
+        }
+    }
+
+    /**
+     * Packs the values {@code args[argsOffset:argsOffset + info.len]} into {@code buffer} at
+     * {@code bufferOffset}. The caller must check the number of values and the size of the buffer,
+     * and must clear the target range.
+     */
+    abstract static class PackValuesNode extends PNodeWithContext {
+        static final int MAX_CACHED_CODES = 32;
+
+        abstract void execute(VirtualFrame frame, StructInfo info, Object[] args, int argsOffset, byte[] buffer, int bufferOffset);
+
+        @Specialization(guards = {"info == cachedInfo", "cachedInfo.codes.length <= MAX_CACHED_CODES"}, limit = "3")
+        @ExplodeLoop
+        static void doCached(VirtualFrame frame, @SuppressWarnings("unused") StructInfo info, Object[] args, int argsOffset, byte[] buffer, int bufferOffset,
+                        @Cached("info") StructInfo cachedInfo,
+                        @Cached("createPackValueNodes(cachedInfo)") PackValueNode[] packValueNodes) {
+            FormatCode[] codes = cachedInfo.codes;
+            int argIndex = argsOffset;
+            for (int i = 0; i < codes.length; i++) {
+                argIndex = packCode(frame, packValueNodes[i], codes[i], cachedInfo.alignment, args, argIndex, buffer, bufferOffset);
+            }
+        }
+
+        @Specialization(replaces = "doCached")
+        static void doGeneric(VirtualFrame frame, StructInfo info, Object[] args, int argsOffset, byte[] buffer, int bufferOffset,
+                        @Cached PackValueNode packValueNode) {
+            int argIndex = argsOffset;
+            for (FormatCode code : info.codes) {
+                argIndex = packCode(frame, packValueNode, code, info.alignment, args, argIndex, buffer, bufferOffset);
+            }
+        }
+
+        private static int packCode(VirtualFrame frame, PackValueNode packValueNode, FormatCode code, FormatAlignment alignment, Object[] args, int argsOffset, byte[] buffer, int bufferOffset) {
+            int offset = bufferOffset + code.offset;
+            for (int i = 0; i < code.repeat; i++) {
+                packValueNode.execute(frame, code, alignment, args[argsOffset + i], buffer, offset);
+                offset += code.size;
+            }
+            return argsOffset + code.repeat;
+        }
+
+        static PackValueNode[] createPackValueNodes(StructInfo info) {
+            PackValueNode[] nodes = new PackValueNode[info.codes.length];
+            for (int i = 0; i < nodes.length; i++) {
+                nodes[i] = StructNodesFactory.PackValueNodeGen.create();
+            }
+            return nodes;
+        }
+    }
+
+    /**
+     * Unpacks {@code info.len} values from {@code buffer} at {@code bufferOffset}. The caller must
+     * check the size of the buffer.
+     */
+    abstract static class UnpackValuesNode extends PNodeWithContext {
+        static final int MAX_CACHED_CODES = 32;
+
+        abstract Object[] execute(StructInfo info, byte[] buffer, int bufferOffset);
+
+        @Specialization(guards = {"info == cachedInfo", "cachedInfo.codes.length <= MAX_CACHED_CODES"}, limit = "3")
+        @ExplodeLoop
+        static Object[] doCached(@SuppressWarnings("unused") StructInfo info, byte[] buffer, int bufferOffset,
+                        @Cached("info") StructInfo cachedInfo,
+                        @Cached("createUnpackValueNodes(cachedInfo)") UnpackValueNode[] unpackValueNodes) {
+            FormatCode[] codes = cachedInfo.codes;
+            Object[] result = new Object[cachedInfo.len];
+            int resultIndex = 0;
+            for (int i = 0; i < codes.length; i++) {
+                resultIndex = unpackCode(unpackValueNodes[i], codes[i], cachedInfo.alignment, buffer, bufferOffset, result, resultIndex);
+            }
+            return result;
+        }
+
+        @Specialization(replaces = "doCached")
+        static Object[] doGeneric(StructInfo info, byte[] buffer, int bufferOffset,
+                        @Cached UnpackValueNode unpackValueNode) {
+            Object[] result = new Object[info.len];
+            int resultIndex = 0;
+            for (FormatCode code : info.codes) {
+                resultIndex = unpackCode(unpackValueNode, code, info.alignment, buffer, bufferOffset, result, resultIndex);
+            }
+            return result;
+        }
+
+        private static int unpackCode(UnpackValueNode unpackValueNode, FormatCode code, FormatAlignment alignment, byte[] buffer, int bufferOffset, Object[] result, int resultIndex) {
+            int offset = bufferOffset + code.offset;
+            for (int i = 0; i < code.repeat; i++) {
+                result[resultIndex + i] = unpackValueNode.execute(code, alignment, buffer, offset);
+                offset += code.size;
+            }
+            return resultIndex + code.repeat;
+        }
+
+        static UnpackValueNode[] createUnpackValueNodes(StructInfo info) {
+            UnpackValueNode[] nodes = new UnpackValueNode[info.codes.length];
+            for (int i = 0; i < nodes.length; i++) {
+                nodes[i] = StructNodesFactory.UnpackValueNodeGen.create();
+            }
+            return nodes;
+        }
+    }
+
+    /**
+     * Equivalent of {@code s_pack}: packs {@code args[argsOffset:]} into a new bytes object.
+     */
+    public abstract static class PackNode extends PNodeWithRaise {
+        public abstract PBytes execute(VirtualFrame frame, StructInfo info, Object[] args, int argsOffset);
+
+        @Specialization
+        PBytes pack(VirtualFrame frame, StructInfo info, Object[] args, int argsOffset,
+                        @Cached PackValuesNode packValuesNode,
+                        @Cached PythonObjectFactory factory) {
+            int nargs = args.length - argsOffset;
+            if (nargs != info.len) {
+                throw raise(StructError, ErrorMessages.PACK_EXPECTED_D_ITEMS_GOT_D, info.len, nargs);
+            }
+            if (info.size > Integer.MAX_VALUE) {
+                throw raise(PythonBuiltinClassType.MemoryError);
+            }
+            byte[] bytes = new byte[(int) info.size];
+            packValuesNode.execute(frame, info, args, argsOffset, bytes, 0);
+            return factory.createBytes(bytes);
+        }
+    }
+
+    /**
+     * Equivalent of {@code s_pack_into}: {@code args[argsOffset]} is the writable buffer,
+     * {@code args[argsOffset + 1]} the offset and the rest are the values. The values are packed
+     * directly into the storage of the buffer if it exposes one.
+     */
+    public abstract static class PackIntoNode extends PNodeWithRaiseAndIndirectCall {
+        public abstract void execute(VirtualFrame frame, StructInfo info, Object[] args, int argsOffset);
+
+        @Specialization
+        void packInto(VirtualFrame frame, StructInfo info, Object[] args, int argsOffset,
+                        @CachedLibrary(limit = "3") PythonBufferAcquireLibrary acquireLib,
+                        @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib,
+                        @Cached PyNumberAsSizeNode asSizeNode,
+                        @Cached PackValuesNode packValuesNode,
+                        @Cached ConditionProfile directProfile) {
+            int nargs = args.length - argsOffset;
+            if (nargs != info.len + 2) {
+                if (nargs == 0) {
+                    throw raise(StructError, ErrorMessages.PACK_INTO_EXPECTED_BUFFER_ARGUMENT);
+                } else if (nargs == 1) {
+                    throw raise(StructError, ErrorMessages.PACK_INTO_EXPECTED_OFFSET_ARGUMENT);
+                }
+                throw raise(StructError, ErrorMessages.PACK_INTO_EXPECTED_D_ITEMS_GOT_D, info.len, nargs - 2);
+            }
+            Object buffer = acquireLib.acquireWritableWithTypeError(args[argsOffset], "pack_into", frame, this);
+            try {
+                long offset = asSizeNode.executeExact(frame, args[argsOffset + 1], PythonBuiltinClassType.IndexError);
+                long bufferLength = bufferLib.getBufferLength(buffer);
+                if (offset < 0) {
+                    if (offset + info.size > 0) {
+                        throw raise(StructError, ErrorMessages.NO_SPACE_TO_PACK_D_BYTES_AT_OFFSET_D, info.size, offset);
+                    }
+                    if (offset + bufferLength < 0) {
+                        throw raise(StructError, ErrorMessages.OFFSET_D_OUT_OF_RANGE_FOR_D_BYTE_BUFFER, offset, bufferLength);
+                    }
+                    offset += bufferLength;
+                }
+                if (bufferLength - offset < info.size) {
+                    throw raise(StructError, ErrorMessages.PACK_INTO_REQUIRES_BUFFER_OF_AT_LEAST, info.size + offset, info.size, offset, bufferLength);
+                }
+                int size = (int) info.size;
+                if (directProfile.profile(bufferLib.hasInternalByteArray(buffer))) {
+                    byte[] bytes = bufferLib.getInternalByteArray(buffer);
+                    Arrays.fill(bytes, (int) offset, (int) offset + size, (byte) 0);
+                    packValuesNode.execute(frame, info, args, argsOffset + 2, bytes, (int) offset);
+                } else {
+                    byte[] bytes = new byte[size];
+                    packValuesNode.execute(frame, info, args, argsOffset + 2, bytes, 0);
+                    bufferLib.writeFromByteArray(buffer, (int) offset, bytes, 0, size);
+                }
+            } finally {
+                bufferLib.release(buffer, frame, this);
+            }
+        }
+    }
+
+    /**
+     * Unpacks a record from an acquired buffer. The record is read directly from the storage of
+     * the buffer if it exposes one.
+     */
+    public abstract static class UnpackBufferNode extends PNodeWithContext {
+        public abstract PTuple execute(StructInfo info, Object buffer, int offset);
+
+        @Specialization(limit = "3")
+        static PTuple unpack(StructInfo info, Object buffer, int offset,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached UnpackValuesNode unpackValuesNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached ConditionProfile directProfile) {
+            Object[] values;
+            if (directProfile.profile(bufferLib.hasInternalByteArray(buffer))) {
+                values = unpackValuesNode.execute(info, bufferLib.getInternalByteArray(buffer), offset);
+            } else {
+                int size = (int) info.size;
+                byte[] bytes = new byte[size];
+                bufferLib.readIntoByteArray(buffer, offset, bytes, 0, size);
+                values = unpackValuesNode.execute(info, bytes, 0);
+            }
+            return factory.createTuple(values);
+        }
+    }
+
+    /**
+     * Equivalent of {@code Struct_unpack_impl}.
+     */
+    public abstract static class UnpackNode extends PNodeWithRaise {
+        public abstract PTuple execute(StructInfo info, Object buffer);
+
+        @Specialization(limit = "3")
+        PTuple unpack(StructInfo info, Object buffer,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached UnpackBufferNode unpackBufferNode) {
+            if (bufferLib.getBufferLength(buffer) != info.size) {
+                throw raise(StructError, ErrorMessages.UNPACK_REQUIRES_BUFFER_OF_D_BYTES, info.size);
+            }
+            return unpackBufferNode.execute(info, buffer, 0);
+        }
+    }
+
+    /**
+     * Equivalent of {@code Struct_unpack_from_impl}.
+     */
+    public abstract static class UnpackFromNode extends PNodeWithRaise {
+        public abstract PTuple execute(StructInfo info, Object buffer, int offset);
+
+        @Specialization(limit = "3")
+        PTuple unpackFrom(StructInfo info, Object buffer, int offsetArg,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached UnpackBufferNode unpackBufferNode) {
+            long offset = offsetArg;
+            long bufferLength = bufferLib.getBufferLength(buffer);
+            if (offset < 0) {
+                if (offset + info.size > 0) {
+                    throw raise(StructError, ErrorMessages.NOT_ENOUGH_DATA_TO_UNPACK_D_BYTES_AT_OFFSET_D, info.size, offset);
+                }
+                if (offset + bufferLength < 0) {
+                    throw raise(StructError, ErrorMessages.OFFSET_D_OUT_OF_RANGE_FOR_D_BYTE_BUFFER, offset, bufferLength);
+                }
+                offset += bufferLength;
+            }
+            if (bufferLength - offset < info.size) {
+                throw raise(StructError, ErrorMessages.UNPACK_FROM_REQUIRES_BUFFER_OF_AT_LEAST, info.size + offset, info.size, offset, bufferLength);
+            }
+            return unpackBufferNode.execute(info, buffer, (int) offset);
+        }
+    }
+
+    /**
+     * Equivalent of {@code Struct_iter_unpack}. The returned iterator takes over the acquired
+     * buffer.
+     */
+    public abstract static class IterUnpackNode extends PNodeWithRaise {
+        public abstract PStructUnpackIterator execute(StructInfo info, Object buffer);
+
+        @Specialization(limit = "3")
+        PStructUnpackIterator iterUnpack(StructInfo info, Object buffer,
+                        @CachedLibrary("buffer") PythonBufferAccessLibrary bufferLib,
+                        @Cached PythonObjectFactory factory) {
+            if (info.size == 0) {
+                throw raise(StructError, ErrorMessages.CANNOT_ITERATIVELY_UNPACK_WITH_STRUCT_OF_LEN_0);
+            }
+            int bufferLength = bufferLib.getBufferLength(buffer);
+            if (bufferLength % info.size != 0) {
+                throw raise(StructError, ErrorMessages.ITERATIVE_UNPACKING_REQUIRES_BUFFER_OF_MULTIPLE_OF_D, info.size);
+            }
+            return factory.createStructUnpackIterator(info, buffer, bufferLength);
+        }
+    }
+}
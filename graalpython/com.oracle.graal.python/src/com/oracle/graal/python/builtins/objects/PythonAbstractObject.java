@@ -60,6 +60,7 @@ import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 import static com.oracle.graal.python.util.PythonUtils.toTruffleStringUncached;
 import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
 
+import java.nio.ByteOrder;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
@@ -68,7 +69,10 @@ import java.util.HashSet;
 
 import com.oracle.graal.python.PythonLanguage;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.array.PArray;
+import com.oracle.graal.python.builtins.objects.buffer.PythonBufferAccessLibrary;
 import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
 import com.oracle.graal.python.builtins.objects.cext.capi.CApiGuards;
 import com.oracle.graal.python.builtins.objects.cext.capi.DynamicObjectNativeWrapper;
 import com.oracle.graal.python.builtins.objects.cext.capi.PythonNativeWrapper;
@@ -81,7 +85,9 @@ import com.oracle.graal.python.builtins.objects.function.PBuiltinFunction;
 import com.oracle.graal.python.builtins.objects.function.PFunction;
 import com.oracle.graal.python.builtins.objects.function.PKeyword;
 import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.memoryview.PMemoryView;
 import com.oracle.graal.python.builtins.objects.method.PBuiltinMethod;
+import com.oracle.graal.python.builtins.objects.mmap.PMMap;
 import com.oracle.graal.python.builtins.objects.module.PythonModule;
 import com.oracle.graal.python.builtins.objects.object.ObjectNodes;
 import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
@@ -143,6 +149,7 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.interop.ArityException;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
 import com.oracle.truffle.api.interop.StopIterationException;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
@@ -405,6 +412,268 @@ public abstract class PythonAbstractObject extends DynamicObject implements Truf
         }
     }
 
+    /**
+     * Only the objects that are themselves a {@link PythonBufferAccessLibrary buffer} are exposed
+     * as interop buffers. The messages below can then access their storage directly without
+     * acquiring and releasing a buffer for every access.
+     */
+    private boolean isInteropBuffer() {
+        if (this instanceof PBytesLike || this instanceof PArray) {
+            return true;
+        } else if (this instanceof PMemoryView) {
+            PMemoryView memoryView = (PMemoryView) this;
+            return !memoryView.isReleased() && memoryView.isCContiguous();
+        } else if (this instanceof PMMap) {
+            PMMap mmap = (PMMap) this;
+            return !mmap.isClosed() && mmap.getLength() <= Integer.MAX_VALUE;
+        }
+        return false;
+    }
+
+    private boolean isInteropBufferWritable(PythonBufferAccessLibrary bufferLib) {
+        return !(this instanceof PBytes) && !bufferLib.isReadonly(this);
+    }
+
+    private int checkBufferAccess(PythonBufferAccessLibrary bufferLib, long byteOffset, int length, boolean write) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (!isInteropBuffer() || write && !isInteropBufferWritable(bufferLib)) {
+            throw UnsupportedMessageException.create();
+        }
+        if (byteOffset < 0 || length < 0 || byteOffset > bufferLib.getBufferLength(this) - length) {
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+        return (int) byteOffset;
+    }
+
+    /**
+     * The typed accesses of {@link PythonBufferAccessLibrary} use the native byte order, values in
+     * the other order are byte-swapped.
+     */
+    private static boolean isNativeOrder(ByteOrder order) {
+        return order == ByteOrder.nativeOrder();
+    }
+
+    @ExportMessage
+    public boolean hasBufferElements(
+                    @Exclusive @Cached GilNode gil) {
+        boolean mustRelease = gil.acquire();
+        try {
+            return isInteropBuffer();
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public boolean isBufferWritable(
+                    @Shared("bufferLib") @CachedLibrary("this") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException {
+        boolean mustRelease = gil.acquire();
+        try {
+            if (!isInteropBuffer()) {
+                throw UnsupportedMessageException.create();
+            }
+            return isInteropBufferWritable(bufferLib);
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public long getBufferSize(
+                    @Shared("bufferLib") @CachedLibrary("this") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException {
+        boolean mustRelease = gil.acquire();
+        try {
+            if (!isInteropBuffer()) {
+                throw UnsupportedMessageException.create();
+            }
+            return bufferLib.getBufferLength(this);
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public void readBuffer(long byteOffset, byte[] destination, int destinationOffset, int length,
+                    @Shared("bufferLib") @CachedLibrary("this") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        boolean mustRelease = gil.acquire();
+        try {
+            int offset = checkBufferAccess(bufferLib, byteOffset, length, false);
+            bufferLib.readIntoByteArray(this, offset, destination, destinationOffset, length);
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public byte readBufferByte(long byteOffset,
+                    @Shared("bufferLib") @CachedLibrary("this") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        boolean mustRelease = gil.acquire();
+        try {
+            return bufferLib.readByte(this, checkBufferAccess(bufferLib, byteOffset, Byte.BYTES, false));
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public void writeBufferByte(long byteOffset, byte value,
+                    @Shared("bufferLib") @CachedLibrary("this") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        boolean mustRelease = gil.acquire();
+        try {
+            bufferLib.writeByte(this, checkBufferAccess(bufferLib, byteOffset, Byte.BYTES, true), value);
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public short readBufferShort(ByteOrder order, long byteOffset,
+                    @Shared("bufferLib") @CachedLibrary("this") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        boolean mustRelease = gil.acquire();
+        try {
+            short value = bufferLib.readShort(this, checkBufferAccess(bufferLib, byteOffset, Short.BYTES, false));
+            return isNativeOrder(order) ? value : Short.reverseBytes(value);
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public void writeBufferShort(ByteOrder order, long byteOffset, short value,
+                    @Shared("bufferLib") @CachedLibrary("this") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        boolean mustRelease = gil.acquire();
+        try {
+            int offset = checkBufferAccess(bufferLib, byteOffset, Short.BYTES, true);
+            bufferLib.writeShort(this, offset, isNativeOrder(order) ? value : Short.reverseBytes(value));
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public int readBufferInt(ByteOrder order, long byteOffset,
+                    @Shared("bufferLib") @CachedLibrary("this") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        boolean mustRelease = gil.acquire();
+        try {
+            int value = bufferLib.readInt(this, checkBufferAccess(bufferLib, byteOffset, Integer.BYTES, false));
+            return isNativeOrder(order) ? value : Integer.reverseBytes(value);
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public void writeBufferInt(ByteOrder order, long byteOffset, int value,
+                    @Shared("bufferLib") @CachedLibrary("this") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        boolean mustRelease = gil.acquire();
+        try {
+            int offset = checkBufferAccess(bufferLib, byteOffset, Integer.BYTES, true);
+            bufferLib.writeInt(this, offset, isNativeOrder(order) ? value : Integer.reverseBytes(value));
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public long readBufferLong(ByteOrder order, long byteOffset,
+                    @Shared("bufferLib") @CachedLibrary("this") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        boolean mustRelease = gil.acquire();
+        try {
+            long value = bufferLib.readLong(this, checkBufferAccess(bufferLib, byteOffset, Long.BYTES, false));
+            return isNativeOrder(order) ? value : Long.reverseBytes(value);
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public void writeBufferLong(ByteOrder order, long byteOffset, long value,
+                    @Shared("bufferLib") @CachedLibrary("this") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        boolean mustRelease = gil.acquire();
+        try {
+            int offset = checkBufferAccess(bufferLib, byteOffset, Long.BYTES, true);
+            bufferLib.writeLong(this, offset, isNativeOrder(order) ? value : Long.reverseBytes(value));
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public float readBufferFloat(ByteOrder order, long byteOffset,
+                    @Shared("bufferLib") @CachedLibrary("this") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        boolean mustRelease = gil.acquire();
+        try {
+            int offset = checkBufferAccess(bufferLib, byteOffset, Float.BYTES, false);
+            if (isNativeOrder(order)) {
+                return bufferLib.readFloat(this, offset);
+            }
+            return Float.intBitsToFloat(Integer.reverseBytes(bufferLib.readInt(this, offset)));
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public void writeBufferFloat(ByteOrder order, long byteOffset, float value,
+                    @Shared("bufferLib") @CachedLibrary("this") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        boolean mustRelease = gil.acquire();
+        try {
+            int offset = checkBufferAccess(bufferLib, byteOffset, Float.BYTES, true);
+            if (isNativeOrder(order)) {
+                bufferLib.writeFloat(this, offset, value);
+            } else {
+                bufferLib.writeInt(this, offset, Integer.reverseBytes(Float.floatToRawIntBits(value)));
+            }
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public double readBufferDouble(ByteOrder order, long byteOffset,
+                    @Shared("bufferLib") @CachedLibrary("this") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        boolean mustRelease = gil.acquire();
+        try {
+            int offset = checkBufferAccess(bufferLib, byteOffset, Double.BYTES, false);
+            if (isNativeOrder(order)) {
+                return bufferLib.readDouble(this, offset);
+            }
+            return Double.longBitsToDouble(Long.reverseBytes(bufferLib.readLong(this, offset)));
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
+    @ExportMessage
+    public void writeBufferDouble(ByteOrder order, long byteOffset, double value,
+                    @Shared("bufferLib") @CachedLibrary("this") PythonBufferAccessLibrary bufferLib,
+                    @Exclusive @Cached GilNode gil) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        boolean mustRelease = gil.acquire();
+        try {
+            int offset = checkBufferAccess(bufferLib, byteOffset, Double.BYTES, true);
+            if (isNativeOrder(order)) {
+                bufferLib.writeDouble(this, offset, value);
+            } else {
+                bufferLib.writeLong(this, offset, Long.reverseBytes(Double.doubleToRawLongBits(value)));
+            }
+        } finally {
+            gil.release(mustRelease);
+        }
+    }
+
     private boolean isInBounds(int len, PInteropSubscriptNode getItemNode, long idx) {
         if (0 <= idx && idx < len) {
             try {
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.buffer;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.BufferError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.OverflowError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+
+import java.nio.ByteOrder;
+
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.object.IsForeignObjectNode;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+
+/**
+ * Buffer over a foreign object that has {@link InteropLibrary#hasBufferElements(Object) buffer
+ * elements}, for example a host {@code ByteBuffer}. The contents are not copied, all accesses go
+ * directly to the foreign object through the interop buffer messages.
+ */
+@ExportLibrary(PythonBufferAccessLibrary.class)
+public final class ForeignBuffer {
+    private static final ByteOrder NATIVE_ORDER = ByteOrder.nativeOrder();
+
+    final Object delegate;
+    private final int length;
+    private final boolean readonly;
+
+    private ForeignBuffer(Object delegate, int length, boolean readonly) {
+        this.delegate = delegate;
+        this.length = length;
+        this.readonly = readonly;
+    }
+
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    boolean isBuffer() {
+        return true;
+    }
+
+    @ExportMessage
+    int getBufferLength() {
+        return length;
+    }
+
+    @ExportMessage
+    boolean isReadonly() {
+        return readonly;
+    }
+
+    @ExportMessage
+    Object getOwner() {
+        return delegate;
+    }
+
+    @ExportMessage
+    void readIntoByteArray(int srcOffset, byte[] dest, int destOffset, int len,
+                    @Shared("interop") @CachedLibrary("this.delegate") InteropLibrary interop) {
+        try {
+            interop.readBuffer(delegate, srcOffset, dest, destOffset, len);
+        } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
+    @ExportMessage
+    byte readByte(int byteOffset,
+                    @Shared("interop") @CachedLibrary("this.delegate") InteropLibrary interop) {
+        try {
+            return interop.readBufferByte(delegate, byteOffset);
+        } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
+    @ExportMessage
+    void writeByte(int byteOffset, byte value,
+                    @Shared("interop") @CachedLibrary("this.delegate") InteropLibrary interop) {
+        try {
+            interop.writeBufferByte(delegate, byteOffset, value);
+        } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
+    @ExportMessage
+    short readShort(int byteOffset,
+                    @Shared("interop") @CachedLibrary("this.delegate") InteropLibrary interop) {
+        try {
+            return interop.readBufferShort(delegate, NATIVE_ORDER, byteOffset);
+        } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
+    @ExportMessage
+    void writeShort(int byteOffset, short value,
+                    @Shared("interop") @CachedLibrary("this.delegate") InteropLibrary interop) {
+        try {
+            interop.writeBufferShort(delegate, NATIVE_ORDER, byteOffset, value);
+        } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
+    @ExportMessage
+    int readInt(int byteOffset,
+                    @Shared("interop") @CachedLibrary("this.delegate") InteropLibrary interop) {
+        try {
+            return interop.readBufferInt(delegate, NATIVE_ORDER, byteOffset);
+        } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
+    @ExportMessage
+    void writeInt(int byteOffset, int value,
+                    @Shared("interop") @CachedLibrary("this.delegate") InteropLibrary interop) {
+        try {
+            interop.writeBufferInt(delegate, NATIVE_ORDER, byteOffset, value);
+        } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
+    @ExportMessage
+    long readLong(int byteOffset,
+                    @Shared("interop") @CachedLibrary("this.delegate") InteropLibrary interop) {
+        try {
+            return interop.readBufferLong(delegate, NATIVE_ORDER, byteOffset);
+        } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
+    @ExportMessage
+    void writeLong(int byteOffset, long value,
+                    @Shared("interop") @CachedLibrary("this.delegate") InteropLibrary interop) {
+        try {
+            interop.writeBufferLong(delegate, NATIVE_ORDER, byteOffset, value);
+        } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
+    @ExportMessage
+    float readFloat(int byteOffset,
+                    @Shared("interop") @CachedLibrary("this.delegate") InteropLibrary interop) {
+        try {
+            return interop.readBufferFloat(delegate, NATIVE_ORDER, byteOffset);
+        } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
+    @ExportMessage
+    void writeFloat(int byteOffset, float value,
+                    @Shared("interop") @CachedLibrary("this.delegate") InteropLibrary interop) {
+        try {
+            interop.writeBufferFloat(delegate, NATIVE_ORDER, byteOffset, value);
+        } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
+    @ExportMessage
+    double readDouble(int byteOffset,
+                    @Shared("interop") @CachedLibrary("this.delegate") InteropLibrary interop) {
+        try {
+            return interop.readBufferDouble(delegate, NATIVE_ORDER, byteOffset);
+        } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
+    @ExportMessage
+    void writeDouble(int byteOffset, double value,
+                    @Shared("interop") @CachedLibrary("this.delegate") InteropLibrary interop) {
+        try {
+            interop.writeBufferDouble(delegate, NATIVE_ORDER, byteOffset, value);
+        } catch (UnsupportedMessageException | InvalidBufferOffsetException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
+    /**
+     * Makes foreign objects with buffer elements usable wherever Python accepts a bytes-like
+     * object.
+     */
+    @ExportLibrary(value = PythonBufferAcquireLibrary.class, receiverType = Object.class)
+    static final class DefaultAcquireExports {
+        @ExportMessage
+        static boolean hasBuffer(Object receiver,
+                        @Shared("isForeign") @Cached IsForeignObjectNode isForeignObjectNode,
+                        @Shared("interop") @CachedLibrary("receiver") InteropLibrary interop) {
+            return isForeignObjectNode.execute(receiver) && interop.hasBufferElements(receiver);
+        }
+
+        @ExportMessage
+        static Object acquire(Object receiver, int flags,
+                        @Shared("isForeign") @Cached IsForeignObjectNode isForeignObjectNode,
+                        @Shared("interop") @CachedLibrary("receiver") InteropLibrary interop,
+                        @Cached PRaiseNode raiseNode) {
+            if (!hasBuffer(receiver, isForeignObjectNode, interop)) {
+                throw raiseNode.raise(TypeError, ErrorMessages.BYTESLIKE_OBJ_REQUIRED, receiver);
+            }
+            try {
+                boolean readonly = !interop.isBufferWritable(receiver);
+                if (readonly && BufferFlags.requestsWritable(flags)) {
+                    throw raiseNode.raise(BufferError, ErrorMessages.OBJ_IS_NOT_WRITABLE);
+                }
+                long size = interop.getBufferSize(receiver);
+                if (size > Integer.MAX_VALUE) {
+                    throw raiseNode.raise(OverflowError, ErrorMessages.PYTHON_INT_TOO_LARGE_TO_CONV_TO, "int");
+                }
+                return new ForeignBuffer(receiver, (int) size, readonly);
+            } catch (UnsupportedMessageException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+        }
+    }
+}
@@ -92,6 +92,7 @@ import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
 import com.oracle.graal.python.nodes.util.CastToByteNode;
 import com.oracle.graal.python.nodes.util.CastToJavaByteNode;
 import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
+import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
@@ -101,6 +102,7 @@ import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
 import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage.Env;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.Fallback;
@@ -809,12 +811,17 @@ public abstract class BytesNodes {
         public abstract byte[] execute(VirtualFrame frame, Object iterable);
 
         @Specialization
-        public static byte[] bytearray(VirtualFrame frame, Object iterable,
+        public byte[] bytearray(VirtualFrame frame, Object iterable,
                         @Cached IteratorNodes.GetLength lenghtHintNode,
                         @Cached GetNextNode getNextNode,
                         @Cached IsBuiltinClassProfile stopIterationProfile,
                         @Cached CastToByteNode castToByteNode,
-                        @Cached PyObjectGetIter getIter) {
+                        @Cached PyObjectGetIter getIter,
+                        @Cached ConditionProfile hostBytesProfile) {
+            byte[] hostBytes = getHostBytes(iterable);
+            if (hostBytesProfile.profile(hostBytes != null)) {
+                return hostBytes;
+            }
             Object it = getIter.execute(frame, iterable);
             int len = lenghtHintNode.execute(frame, iterable);
             byte[] arr = new byte[len < 16 && len > 0 ? len : 16];
@@ -833,6 +840,27 @@ public abstract class BytesNodes {
             }
         }
 
+        /**
+         * Copies a host Java {@code byte[]} in one go. Only arrays without negative elements
+         * qualify, the generic path raises the usual error for the others.
+         */
+        private byte[] getHostBytes(Object iterable) {
+            Env env = PythonContext.get(this).getEnv();
+            if (env.isHostObject(iterable)) {
+                Object hostArray = env.asHostObject(iterable);
+                if (hostArray instanceof byte[]) {
+                    byte[] bytes = (byte[]) hostArray;
+                    for (int i = 0; i < bytes.length; i++) {
+                        if (bytes[i] < 0) {
+                            return null;
+                        }
+                    }
+                    return PythonUtils.arrayCopyOf(bytes, bytes.length);
+                }
+            }
+            return null;
+        }
+
         @TruffleBoundary(transferToInterpreterOnException = false)
         private static byte[] resize(byte[] arr, int len) {
             return Arrays.copyOf(arr, len);
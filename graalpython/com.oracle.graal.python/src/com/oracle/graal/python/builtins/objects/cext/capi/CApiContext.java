@@ -51,6 +51,7 @@ import java.io.IOException;
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -142,6 +143,13 @@ public final class CApiContext extends CExtContext {
     /* a random number between 1 and 20 */
     private static final int MAX_COLLECTION_RETRIES = 17;
 
+    /**
+     * Maximum number of native object references released by one cleaner action. Larger amounts of
+     * dead references are released in several actions so that the pause of the thread running them
+     * stays bounded.
+     */
+    private static final int MAX_CLEANER_BATCH_SIZE = 8192;
+
     /** Total amount of allocated native memory (in bytes). */
     private long allocatedMemory = 0;
 
@@ -155,6 +163,25 @@ public final class CApiContext extends CExtContext {
 
     @CompilationFinal private RootCallTarget referenceCleanerCallTarget;
 
+    /**
+     * Dead references that were taken from {@link #nativeObjectsQueue} but not yet passed to a
+     * cleaner action. Only accessed by the thread running the async action supplier.
+     */
+    private final ArrayDeque<NativeObjectReference> pendingReferences;
+
+    /** Number of dead references that were collected but not yet released. */
+    private final AtomicLong queuedReferences = new AtomicLong();
+
+    /*
+     * Statistics of the reference cleaner. They are only updated by the cleaner root node, which
+     * runs with the GIL held.
+     */
+    private long cleanerBatches;
+    private long cleanedReferences;
+    private int maxCleanerBatchSize;
+    private long cleanerPauseNanos;
+    private long maxCleanerPauseNanos;
+
     /**
      * This cache is used to cache native wrappers for frequently used primitives. This is strictly
      * defined to be the range {@code [-5, 256]}. CPython does exactly the same (see
@@ -201,6 +228,7 @@ public final class CApiContext extends CExtContext {
     private CApiContext() {
         super(null, null, null);
         nativeObjectsQueue = null;
+        pendingReferences = null;
         nativeObjectWrapperList = null;
         primitiveNativeWrapperCache = null;
         llvmTypeCache = null;
@@ -226,25 +254,38 @@ public final class CApiContext extends CExtContext {
             primitiveNativeWrapperCache[i] = nativeWrapper;
         }
 
+        pendingReferences = new ArrayDeque<>();
         context.registerAsyncAction(() -> {
             Reference<?> reference = null;
-            try {
-                reference = nativeObjectsQueue.remove();
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+            if (pendingReferences.isEmpty()) {
+                try {
+                    reference = nativeObjectsQueue.remove();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            } else {
+                // there is a backlog from the last run, do not wait for more
+                reference = nativeObjectsQueue.poll();
             }
 
-            ArrayList<NativeObjectReference> refs = new ArrayList<>();
-            do {
+            int collected = 0;
+            while (reference != null) {
                 if (reference instanceof NativeObjectReference) {
-                    refs.add((NativeObjectReference) reference);
+                    pendingReferences.add((NativeObjectReference) reference);
+                    collected++;
                 }
                 // consume all
                 reference = nativeObjectsQueue.poll();
-            } while (reference != null);
+            }
+            queuedReferences.addAndGet(collected);
 
-            if (!refs.isEmpty()) {
-                return new CApiReferenceCleanerAction(refs.toArray(new NativeObjectReference[0]));
+            int n = Math.min(pendingReferences.size(), MAX_CLEANER_BATCH_SIZE);
+            if (n > 0) {
+                NativeObjectReference[] batch = new NativeObjectReference[n];
+                for (int i = 0; i < n; i++) {
+                    batch[i] = pendingReferences.poll();
+                }
+                return new CApiReferenceCleanerAction(batch);
             }
 
             return null;
@@ -295,6 +336,32 @@ public final class CApiContext extends CExtContext {
         return ptr;
     }
 
+    /** Number of dead native object references that were collected but not yet released. */
+    public long getQueuedReferences() {
+        return queuedReferences.get();
+    }
+
+    public long getCleanerBatches() {
+        return cleanerBatches;
+    }
+
+    public long getCleanedReferences() {
+        return cleanedReferences;
+    }
+
+    public int getMaxCleanerBatchSize() {
+        return maxCleanerBatchSize;
+    }
+
+    /** Total time (in nanoseconds) spent releasing native object references. */
+    public long getCleanerPauseNanos() {
+        return cleanerPauseNanos;
+    }
+
+    public long getMaxCleanerPauseNanos() {
+        return maxCleanerPauseNanos;
+    }
+
     private RootCallTarget getReferenceCleanerCallTarget() {
         if (referenceCleanerCallTarget == null) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -447,15 +514,11 @@ public final class CApiContext extends CExtContext {
                 int cleaned = 0;
                 CApiContext cApiContext = PythonContext.get(this).getCApiContext();
                 long allocatedNativeMem = cApiContext.allocatedMemory;
-                long startTime = 0;
+                long startTime = System.nanoTime();
                 long middleTime = 0;
                 final int n = nativeObjectReferences.length;
                 boolean loggable = LOGGER.isLoggable(Level.FINE);
 
-                if (loggable) {
-                    startTime = System.currentTimeMillis();
-                }
-
                 /*
                  * Note about the order of operations - we need to call the finalizers first before
                  * removing the objects from the wrapper list because the finalizers may still make
@@ -465,7 +528,7 @@ public final class CApiContext extends CExtContext {
                 callBulkSubref.call(NativeCAPISymbol.FUN_BULK_SUBREF, new PointerArrayWrapper(nativeObjectReferences), new RefCountArrayWrapper(nativeObjectReferences), (long) n);
 
                 if (loggable) {
-                    middleTime = System.currentTimeMillis();
+                    middleTime = System.nanoTime();
                 }
 
                 if (LOGGER.isLoggable(Level.FINER)) {
@@ -496,9 +559,12 @@ public final class CApiContext extends CExtContext {
                     }
                 }
 
+                long endTime = System.nanoTime();
+                cApiContext.recordCleanerBatch(n, endTime - startTime);
+
                 if (loggable) {
-                    final long countDuration = System.currentTimeMillis() - middleTime;
-                    final long duration = middleTime - startTime;
+                    final long countDuration = (endTime - middleTime) / 1000000;
+                    final long duration = (middleTime - startTime) / 1000000;
                     final int finalCleaned = cleaned;
                     final long freedNativeMemory = allocatedNativeMem - cApiContext.allocatedMemory;
                     LOGGER.fine(() -> "Total queued references: " + n);
@@ -534,6 +600,19 @@ public final class CApiContext extends CExtContext {
         }
     }
 
+    private void recordCleanerBatch(int n, long pauseNanos) {
+        queuedReferences.addAndGet(-n);
+        cleanerBatches++;
+        cleanedReferences += n;
+        cleanerPauseNanos += pauseNanos;
+        if (n > maxCleanerBatchSize) {
+            maxCleanerBatchSize = n;
+        }
+        if (pauseNanos > maxCleanerPauseNanos) {
+            maxCleanerPauseNanos = pauseNanos;
+        }
+    }
+
     /**
      * Reference cleaner action that will be executed by the {@link AsyncHandler}.
      */
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2022, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -40,13 +40,16 @@
  */
 package com.oracle.graal.python.builtins.objects.cext.capi;
 
+import java.lang.ref.WeakReference;
+
 import com.oracle.graal.python.nodes.PNodeWithContext;
 import com.oracle.graal.python.runtime.GilNode;
 import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
-import com.oracle.truffle.api.dsl.Cached.Exclusive;
+import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.GenerateUncached;
 import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -59,29 +62,145 @@ import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.nodes.InvalidAssumptionException;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 
+/**
+ * Caches the resolution of native handles to their {@link PythonNativeWrapper}. A few handles are
+ * cached inline in the compiled code, all others go to a direct-mapped table that grows while
+ * insertions keep evicting live entries, i.e., while the working set of the extension does not fit.
+ * The table consists of immutable entries and is published through a volatile field, so lookups
+ * do not need the GIL and never write to it. Only a miss, which resolves the handle through
+ * {@code ptrToResolveHandle}, acquires the GIL, and the table is only modified while holding it.
+ * Entries refer to their wrapper weakly, so an entry of a released handle that is never looked up
+ * again does not keep the wrapper alive.
+ */
 @ExportLibrary(InteropLibrary.class)
 public final class HandleCache implements TruffleObject {
     public static final int CACHE_SIZE = 3;
 
-    final long[] keys;
+    private static final int INITIAL_TABLE_SIZE = 64;
+    private static final int MAX_TABLE_SIZE = 1 << 14;
+
     private final Object ptrToResolveHandle;
 
-    int pos = 0;
+    private volatile Entry[] table = new Entry[INITIAL_TABLE_SIZE];
 
-    public HandleCache(Object ptrToResolveHandle) {
-        keys = new long[CACHE_SIZE];
-        this.ptrToResolveHandle = ptrToResolveHandle;
+    /*
+     * Growth policy: after as many insertions as there are entries in the table, the table is
+     * doubled if more than a quarter of them replaced a valid entry of another handle.
+     */
+    private int insertions;
+    private int evictions;
+
+    /*
+     * Statistics for __graalpython__.handle_cache_stats(). Hits are only counted for lookups in
+     * the table, not for the handles cached inline. The hits are updated without synchronization,
+     * so they are only approximate when several threads use the cache.
+     */
+    private long hits;
+    private long misses;
+    private int resizes;
+
+    private static final class Entry {
+        final long handle;
+        final WeakReference<PythonNativeWrapper> wrapper;
+        final Assumption handleValidAssumption;
+
+        Entry(long handle, PythonNativeWrapper wrapper, Assumption handleValidAssumption) {
+            this.handle = handle;
+            this.wrapper = new WeakReference<>(wrapper);
+            this.handleValidAssumption = handleValidAssumption;
+        }
     }
 
-    protected int len() {
-        return keys.length;
+    public HandleCache(Object ptrToResolveHandle) {
+        this.ptrToResolveHandle = ptrToResolveHandle;
     }
 
     protected Object getPtrToResolveHandle() {
         return ptrToResolveHandle;
     }
 
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public int getTableSize() {
+        return table.length;
+    }
+
+    public int getResizes() {
+        return resizes;
+    }
+
+    private static int index(long handle, int tableLength) {
+        // handles are aligned and allocated in sequence, so mix the bits before masking
+        return (int) ((handle * 0x9E3779B97F4A7C15L) >>> 40) & (tableLength - 1);
+    }
+
+    /**
+     * Looks up a handle without holding the GIL. An entry whose handle was released counts as a
+     * miss, it is dropped by the following {@link #insert} or {@link #removeReleased} under the
+     * GIL.
+     */
+    PythonNativeWrapper lookup(long handle) {
+        Entry[] t = table;
+        Entry e = t[index(handle, t.length)];
+        if (e != null && e.handle == handle && e.handleValidAssumption.isValid()) {
+            // null if the wrapper was collected after its handle was released
+            return e.wrapper.get();
+        }
+        return null;
+    }
+
+    /**
+     * Drops the entry of a handle if it was released. Must be called with the GIL held.
+     */
+    void removeReleased(long handle) {
+        Entry[] t = table;
+        int i = index(handle, t.length);
+        Entry e = t[i];
+        if (e != null && e.handle == handle && !e.handleValidAssumption.isValid()) {
+            t[i] = null;
+        }
+    }
+
+    /**
+     * Must be called with the GIL held.
+     */
+    @TruffleBoundary
+    void insert(long handle, PythonNativeWrapper wrapper) {
+        Entry[] t = table;
+        Entry old = t[index(handle, t.length)];
+        if (old != null && old.handle != handle && old.handleValidAssumption.isValid()) {
+            evictions++;
+        }
+        if (++insertions >= t.length) {
+            if (evictions > (t.length >> 2) && t.length < MAX_TABLE_SIZE) {
+                t = grow(t);
+            }
+            insertions = 0;
+            evictions = 0;
+        }
+        t[index(handle, t.length)] = new Entry(handle, wrapper, wrapper.ensureHandleValidAssumption());
+    }
+
+    private Entry[] grow(Entry[] old) {
+        Entry[] t = new Entry[old.length << 1];
+        for (Entry e : old) {
+            if (e != null && e.handleValidAssumption.isValid()) {
+                t[index(e.handle, t.length)] = e;
+            }
+        }
+        table = t;
+        resizes++;
+        return t;
+    }
+
     @ExportMessage
     @SuppressWarnings("static-method")
     public boolean isExecutable() {
@@ -90,18 +209,12 @@ public final class HandleCache implements TruffleObject {
 
     @ExportMessage
     public Object execute(Object[] arguments,
-                    @Cached GetOrInsertNode getOrInsertNode,
-                    @Exclusive @Cached GilNode gil) throws ArityException, UnsupportedTypeException, UnsupportedMessageException {
-        boolean mustRelease = gil.acquire();
-        try {
-            if (arguments.length != 1) {
-                CompilerDirectives.transferToInterpreterAndInvalidate();
-                throw ArityException.create(1, 1, arguments.length);
-            }
-            return getOrInsertNode.execute(this, (long) arguments[0]);
-        } finally {
-            gil.release(mustRelease);
+                    @Cached GetOrInsertNode getOrInsertNode) throws ArityException, UnsupportedTypeException, UnsupportedMessageException {
+        if (arguments.length != 1) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            throw ArityException.create(1, 1, arguments.length);
         }
+        return getOrInsertNode.execute(this, (long) arguments[0]);
     }
 
     @GenerateUncached
@@ -112,7 +225,7 @@ public final class HandleCache implements TruffleObject {
         @Specialization(limit = "CACHE_SIZE", //
                         guards = {"isSingleContext()", "handle == cachedHandle", "cachedValue != null"}, //
                         rewriteOn = InvalidAssumptionException.class)
-        static PythonNativeWrapper doCachedSingleContext(@SuppressWarnings("unused") HandleCache cache, @SuppressWarnings("unused") long handle,
+        static PythonNativeWrapper doCachedSingleContext(HandleCache cache, @SuppressWarnings("unused") long handle,
                         @Cached("handle") @SuppressWarnings("unused") long cachedHandle,
                         @Cached("resolveHandleUncached(cache, handle)") PythonNativeWrapper cachedValue,
                         @Cached("getHandleValidAssumption(cachedValue)") Assumption associationValidAssumption) throws InvalidAssumptionException {
@@ -121,27 +234,56 @@ public final class HandleCache implements TruffleObject {
         }
 
         @Specialization(replaces = "doCachedSingleContext", guards = "isSingleContext()")
-        static Object doGenericSingleContext(@SuppressWarnings("unused") HandleCache cache, long handle,
+        static Object doGenericSingleContext(HandleCache cache, long handle,
                         @Cached(value = "cache.getPtrToResolveHandle()", allowUncached = true) Object resolveHandleFunction,
-                        @CachedLibrary("resolveHandleFunction") InteropLibrary interopLibrary) throws UnsupportedTypeException, ArityException, UnsupportedMessageException {
-            return resolveHandle(handle, resolveHandleFunction, interopLibrary);
+                        @CachedLibrary("resolveHandleFunction") InteropLibrary interopLibrary,
+                        @Shared("hitProfile") @Cached ConditionProfile hitProfile,
+                        @Shared("gil") @Cached GilNode gil) throws UnsupportedTypeException, ArityException, UnsupportedMessageException {
+            return lookupOrResolve(cache, handle, resolveHandleFunction, interopLibrary, hitProfile, gil);
         }
 
         @Specialization(limit = "3", replaces = {"doCachedSingleContext", "doGenericSingleContext"})
-        static Object doGeneric(@SuppressWarnings("unused") HandleCache cache, long handle,
-                        @CachedLibrary("cache.getPtrToResolveHandle()") InteropLibrary interopLibrary) throws UnsupportedTypeException, ArityException, UnsupportedMessageException {
-            return resolveHandle(handle, cache.getPtrToResolveHandle(), interopLibrary);
+        static Object doGeneric(HandleCache cache, long handle,
+                        @CachedLibrary("cache.getPtrToResolveHandle()") InteropLibrary interopLibrary,
+                        @Shared("hitProfile") @Cached ConditionProfile hitProfile,
+                        @Shared("gil") @Cached GilNode gil) throws UnsupportedTypeException, ArityException, UnsupportedMessageException {
+            return lookupOrResolve(cache, handle, cache.getPtrToResolveHandle(), interopLibrary, hitProfile, gil);
+        }
+
+        private static Object lookupOrResolve(HandleCache cache, long handle, Object resolveHandleFunction, InteropLibrary interopLibrary,
+                        ConditionProfile hitProfile, GilNode gil) throws UnsupportedTypeException, ArityException, UnsupportedMessageException {
+            PythonNativeWrapper cached = cache.lookup(handle);
+            if (hitProfile.profile(cached != null)) {
+                cache.hits++;
+                return cached;
+            }
+            boolean mustRelease = gil.acquire();
+            try {
+                cache.misses++;
+                Object resolved = resolveHandle(handle, resolveHandleFunction, interopLibrary);
+                if (resolved instanceof PythonNativeWrapper) {
+                    cache.insert(handle, (PythonNativeWrapper) resolved);
+                } else {
+                    cache.removeReleased(handle);
+                }
+                return resolved;
+            } finally {
+                gil.release(mustRelease);
+            }
         }
 
         static PythonNativeWrapper resolveHandleUncached(HandleCache cache, long handle)
                         throws UnsupportedTypeException, ArityException, UnsupportedMessageException {
             CompilerAsserts.neverPartOfCompilation();
             Object ptrToResolveHandle = cache.getPtrToResolveHandle();
-            Object resolved = resolveHandle(handle, ptrToResolveHandle, InteropLibrary.getFactory().getUncached(ptrToResolveHandle));
-            if (resolved instanceof PythonNativeWrapper) {
-                return (PythonNativeWrapper) resolved;
+            try (GilNode.UncachedAcquire gil = GilNode.uncachedAcquire()) {
+                cache.misses++;
+                Object resolved = resolveHandle(handle, ptrToResolveHandle, InteropLibrary.getFactory().getUncached(ptrToResolveHandle));
+                if (resolved instanceof PythonNativeWrapper) {
+                    return (PythonNativeWrapper) resolved;
+                }
+                return null;
             }
-            return null;
         }
 
         static Object resolveHandle(long handle, Object ptrToResolveHandle, InteropLibrary interopLibrary)
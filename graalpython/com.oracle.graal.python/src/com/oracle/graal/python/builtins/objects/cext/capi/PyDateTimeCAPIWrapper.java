@@ -62,11 +62,13 @@ import com.oracle.graal.python.builtins.objects.cext.capi.CExtNodes.TransformExc
 import com.oracle.graal.python.builtins.objects.cext.capi.DynamicObjectNativeWrapper.PAsPointerNode;
 import com.oracle.graal.python.builtins.objects.cext.capi.DynamicObjectNativeWrapper.ToPyObjectNode;
 import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.type.PythonBuiltinClass;
 import com.oracle.graal.python.lib.PyObjectGetAttr;
 import com.oracle.graal.python.lib.PyObjectLookupAttr;
 import com.oracle.graal.python.lib.PyObjectSetAttr;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.argument.keywords.ExpandKeywordStarargsNodeGen;
+import com.oracle.graal.python.nodes.attributes.WriteAttributeToBuiltinTypeNodeGen;
 import com.oracle.graal.python.nodes.argument.positional.ExecutePositionalStarargsNodeGen;
 import com.oracle.graal.python.nodes.call.special.CallVarargsMethodNode;
 import com.oracle.graal.python.nodes.statement.AbstractImportNode;
@@ -203,19 +205,19 @@ public final class PyDateTimeCAPIWrapper extends PythonNativeWrapper {
         PCallCapiFunction callCapiFunction = PCallCapiFunction.getUncached();
 
         Object date = getAttr.execute(null, datetime, T_DATE);
-        setAttr.execute(null, date, T___BASICSIZE__, callCapiFunction.call(FUN_GET_DATETIME_DATE_BASICSIZE, capiContext.getLLVMLibrary()));
+        setBasicSize(date, callCapiFunction.call(FUN_GET_DATETIME_DATE_BASICSIZE, capiContext.getLLVMLibrary()));
         wrapper.dateType = toSulongNode.execute(date);
 
         Object dt = getAttr.execute(null, datetime, T_DATETIME);
-        setAttr.execute(null, dt, T___BASICSIZE__, callCapiFunction.call(FUN_GET_DATETIME_DATETIME_BASICSIZE, capiContext.getLLVMLibrary()));
+        setBasicSize(dt, callCapiFunction.call(FUN_GET_DATETIME_DATETIME_BASICSIZE, capiContext.getLLVMLibrary()));
         wrapper.datetimeType = toSulongNode.execute(dt);
 
         Object time = getAttr.execute(null, datetime, T_TIME);
-        setAttr.execute(null, time, T___BASICSIZE__, callCapiFunction.call(FUN_GET_DATETIME_TIME_BASICSIZE, capiContext.getLLVMLibrary()));
+        setBasicSize(time, callCapiFunction.call(FUN_GET_DATETIME_TIME_BASICSIZE, capiContext.getLLVMLibrary()));
         wrapper.timeType = toSulongNode.execute(time);
 
         Object delta = getAttr.execute(null, datetime, T_TIMEDELTA);
-        setAttr.execute(null, delta, T___BASICSIZE__, callCapiFunction.call(FUN_GET_DATETIME_DELTA_BASICSIZE, capiContext.getLLVMLibrary()));
+        setBasicSize(delta, callCapiFunction.call(FUN_GET_DATETIME_DELTA_BASICSIZE, capiContext.getLLVMLibrary()));
         wrapper.deltaType = toSulongNode.execute(delta);
 
         wrapper.tzInfoType = toSulongNode.execute(getAttr.execute(null, datetime, T_TZINFO));
@@ -239,6 +241,18 @@ public final class PyDateTimeCAPIWrapper extends PythonNativeWrapper {
         assert getAttr.execute(null, datetime, T_DATETIME_CAPI) != PythonContext.get(null).getNativeNull();
     }
 
+    /**
+     * The datetime types are builtin types when the {@code _datetime} module is used, their
+     * attributes cannot be set with a regular attribute assignment.
+     */
+    private static void setBasicSize(Object type, Object basicsize) {
+        if (type instanceof PythonBuiltinClass || type instanceof PythonBuiltinClassType) {
+            WriteAttributeToBuiltinTypeNodeGen.getUncached().execute(type, T___BASICSIZE__, basicsize);
+        } else {
+            PyObjectSetAttr.getUncached().execute(null, type, T___BASICSIZE__, basicsize);
+        }
+    }
+
     @ExportMessage
     @SuppressWarnings("static-method")
     boolean hasMembers() {
@@ -46,6 +46,8 @@ import static com.oracle.graal.python.nodes.StringLiterals.T_TIME;
 import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
 
+import com.oracle.graal.python.builtins.modules.datetime.PDateTime;
+import com.oracle.graal.python.builtins.modules.datetime.PTime;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.PythonAbstractObject.PInteropGetAttributeNode;
 import com.oracle.graal.python.builtins.objects.cext.capi.CExtNodes.ToSulongNode;
@@ -56,6 +58,7 @@ import com.oracle.graal.python.nodes.attributes.ReadAttributeFromObjectNode;
 import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.GenerateUncached;
 import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -190,9 +193,21 @@ public abstract class PyDateTimeMRNode extends Node {
     }
 
     @Specialization(guards = "eq(DATETIME_TZINFO, key)")
+    static Object doTimeTzinfo(PTime object, @SuppressWarnings("unused") String key, @SuppressWarnings("unused") DateTimeMode mode,
+                    @Shared("toSulongNode") @Cached ToSulongNode toSulongNode) {
+        return toSulongNode.execute(object.getTzInfo());
+    }
+
+    @Specialization(guards = "eq(DATETIME_TZINFO, key)")
+    static Object doDateTimeTzinfo(PDateTime object, @SuppressWarnings("unused") String key, @SuppressWarnings("unused") DateTimeMode mode,
+                    @Shared("toSulongNode") @Cached ToSulongNode toSulongNode) {
+        return toSulongNode.execute(object.getTzInfo());
+    }
+
+    @Specialization(guards = {"eq(DATETIME_TZINFO, key)", "!isTimeOrDateTime(object)"})
     static Object doTzinfo(PythonObject object, @SuppressWarnings("unused") String key, @SuppressWarnings("unused") DateTimeMode mode,
                     @Cached ReadAttributeFromObjectNode getTzinfoNode,
-                    @Cached ToSulongNode toSulongNode) {
+                    @Shared("toSulongNode") @Cached ToSulongNode toSulongNode) {
         Object value = getTzinfoNode.execute(object, T_TZINFO);
         if (value != PNone.NO_VALUE) {
             return toSulongNode.execute(value);
@@ -200,6 +215,10 @@ public abstract class PyDateTimeMRNode extends Node {
         throw CompilerDirectives.shouldNotReachHere();
     }
 
+    protected static boolean isTimeOrDateTime(PythonObject object) {
+        return object instanceof PTime || object instanceof PDateTime;
+    }
+
     protected static boolean eq(NativeMember expected, String actual) {
         return expected.getMemberNameJavaString().equals(actual);
     }
@@ -900,11 +900,27 @@ public final class GraalHPyContext extends CExtContext implements TruffleObject
 
     private static final int IMMUTABLE_HANDLE_COUNT = 256;
 
-    private Object[] hpyHandleTable;
+    /*
+     * The handle table is split into chunks of HANDLE_CHUNK_SIZE slots. Growing it allocates new
+     * chunks and only copies the chunk directory, live slots are never copied.
+     */
+    private static final int HANDLE_CHUNK_BITS = 9;
+    private static final int HANDLE_CHUNK_SIZE = 1 << HANDLE_CHUNK_BITS;
+    private static final int HANDLE_CHUNK_MASK = HANDLE_CHUNK_SIZE - 1;
+
+    private Object[][] hpyHandleTable;
+    /**
+     * The free list of released handles is threaded through this array, which has the same shape
+     * as {@link #hpyHandleTable}: the entry of a free handle is the next free handle. Released
+     * handles are reused in LIFO order, so short-lived handles keep hitting the same slots.
+     */
+    private int[][] hpyHandleFreeLinks;
+    private int hpyHandleTableSize;
     private int nextHandle = 1;
+    /** The most recently released handle or {@code -1} if there is none. */
+    private int freeHandle = -1;
 
     private Object[] hpyGlobalsTable = new Object[]{GraalHPyHandle.NULL_HANDLE_DELEGATE};
-    private final HandleStack freeStack = new HandleStack(16);
     private long hPyDebugContext;
     private long nativePointer;
 
@@ -979,8 +995,11 @@ public final class GraalHPyContext extends CExtContext implements TruffleObject
         traceJNIUpcalls = traceJNISleepTime != 0;
         this.slowPathFactory = context.factory();
         nextHandle = GraalHPyBoxing.SINGLETON_HANDLE_MAX + 1;
-        hpyHandleTable = new Object[IMMUTABLE_HANDLE_COUNT * 2];
-        hpyHandleTable[0] = GraalHPyHandle.NULL_HANDLE_DELEGATE;
+        assert IMMUTABLE_HANDLE_COUNT <= HANDLE_CHUNK_SIZE;
+        hpyHandleTable = new Object[][]{new Object[HANDLE_CHUNK_SIZE]};
+        hpyHandleFreeLinks = new int[][]{new int[HANDLE_CHUNK_SIZE]};
+        hpyHandleTableSize = HANDLE_CHUNK_SIZE;
+        hpyHandleTable[0][0] = GraalHPyHandle.NULL_HANDLE_DELEGATE;
         // createMembers already assigns numeric handles to "singletons"
         this.hpyContextMembers = createMembers(context, T_NAME);
         // This will assign handles to the remaining context constants
@@ -1712,7 +1731,11 @@ public final class GraalHPyContext extends CExtContext implements TruffleObject
         UpcallType,
         UpcallTypeGetName,
         UpcallContextVarGet,
-        UpcallGetAttrS;
+        UpcallGetAttrS,
+        HandleAllocate,
+        HandleReuse,
+        HandleRelease,
+        HandleTableGrow;
 
         @CompilationFinal(dimensions = 1) private static final Counter[] VALUES = values();
     }
@@ -2929,7 +2952,7 @@ public final class GraalHPyContext extends CExtContext implements TruffleObject
     private void createSingletonConstant(Object[] members, HPyContextMember member, Object value, int handle) {
         GraalHPyHandle graalHandle = GraalHPyHandle.createSingleton(value, handle);
         members[member.ordinal()] = graalHandle;
-        hpyHandleTable[handle] = value;
+        setHandleTableEntry(handle, value);
     }
 
     private static void createTypeConstant(Object[] members, HPyContextMember member, Python3Core core, PythonBuiltinClassType value) {
@@ -2979,7 +3002,7 @@ public final class GraalHPyContext extends CExtContext implements TruffleObject
             LOGGER.fine(() -> "resizing HPy globals table to " + newSize);
             hpyGlobalsTable = Arrays.copyOf(hpyGlobalsTable, newSize);
             if (useNativeFastPaths && isPointer()) {
-                reallocateNativeSpacePointersMirror(hpyHandleTable.length, handle);
+                reallocateNativeSpacePointersMirror(hpyHandleTableSize, handle);
             }
         }
         return handle;
@@ -2989,13 +3012,30 @@ public final class GraalHPyContext extends CExtContext implements TruffleObject
 
     private long nativeSpacePointers;
 
-    private int resizeHandleTable() {
+    private Object getHandleTableEntry(int handle) {
+        return hpyHandleTable[handle >>> HANDLE_CHUNK_BITS][handle & HANDLE_CHUNK_MASK];
+    }
+
+    private void setHandleTableEntry(int handle, Object value) {
+        hpyHandleTable[handle >>> HANDLE_CHUNK_BITS][handle & HANDLE_CHUNK_MASK] = value;
+    }
+
+    private int growHandleTable() {
         CompilerAsserts.neverPartOfCompilation();
-        assert nextHandle == hpyHandleTable.length;
-        int oldSize = hpyHandleTable.length;
-        int newSize = Math.max(16, hpyHandleTable.length * 2);
-        LOGGER.fine(() -> "resizing HPy handle table to " + newSize);
-        hpyHandleTable = Arrays.copyOf(hpyHandleTable, newSize);
+        assert nextHandle == hpyHandleTableSize;
+        int oldSize = hpyHandleTableSize;
+        // double the number of chunks to keep reallocations of the native mirror rare
+        int oldChunks = hpyHandleTable.length;
+        int newChunks = oldChunks * 2;
+        hpyHandleTable = Arrays.copyOf(hpyHandleTable, newChunks);
+        hpyHandleFreeLinks = Arrays.copyOf(hpyHandleFreeLinks, newChunks);
+        for (int i = oldChunks; i < newChunks; i++) {
+            hpyHandleTable[i] = new Object[HANDLE_CHUNK_SIZE];
+            hpyHandleFreeLinks[i] = new int[HANDLE_CHUNK_SIZE];
+        }
+        hpyHandleTableSize = newChunks * HANDLE_CHUNK_SIZE;
+        increment(Counter.HandleTableGrow);
+        LOGGER.fine(() -> "resizing HPy handle table to " + hpyHandleTableSize);
         if (useNativeFastPaths && isPointer()) {
             reallocateNativeSpacePointersMirror(oldSize, hpyGlobalsTable.length);
         }
@@ -3021,20 +3061,23 @@ public final class GraalHPyContext extends CExtContext implements TruffleObject
         assert !(object instanceof GraalHPyHandle);
         // find free association
 
-        int handle = freeStack.pop();
-        if (handle == -1) {
-            if (nextHandle < hpyHandleTable.length) {
-                handle = nextHandle++;
-            } else {
-                CompilerDirectives.transferToInterpreter();
-                handle = resizeHandleTable();
-            }
+        int handle = freeHandle;
+        if (handle != -1) {
+            increment(Counter.HandleReuse);
+            freeHandle = hpyHandleFreeLinks[handle >>> HANDLE_CHUNK_BITS][handle & HANDLE_CHUNK_MASK];
+        } else if (nextHandle < hpyHandleTableSize) {
+            increment(Counter.HandleAllocate);
+            handle = nextHandle++;
+        } else {
+            CompilerDirectives.transferToInterpreter();
+            increment(Counter.HandleAllocate);
+            handle = growHandleTable();
         }
 
-        assert 0 <= handle && handle < hpyHandleTable.length;
-        assert hpyHandleTable[handle] == null;
+        assert 0 <= handle && handle < hpyHandleTableSize;
+        assert getHandleTableEntry(handle) == null;
 
-        hpyHandleTable[handle] = object;
+        setHandleTableEntry(handle, object);
         if (useNativeFastPaths && isPointer()) {
             mirrorNativeSpacePointerToNative(object, handle);
         }
@@ -3103,14 +3146,14 @@ public final class GraalHPyContext extends CExtContext implements TruffleObject
         } else {
             l = 0;
         }
-        GraalHPyNativeCache.putGlobalNativeSpacePointer(nativeSpacePointers, hpyHandleTable.length, globalID, l);
+        GraalHPyNativeCache.putGlobalNativeSpacePointer(nativeSpacePointers, hpyHandleTableSize, globalID, l);
     }
 
     @TruffleBoundary
     private void reallocateNativeSpacePointersMirror(int oldHandleTabelSize, int oldGlobalsTableSize) {
         assert isPointer();
         assert useNativeFastPaths;
-        nativeSpacePointers = GraalHPyNativeCache.reallocateNativeCache(nativeSpacePointers, oldHandleTabelSize, hpyHandleTable.length, oldGlobalsTableSize, hpyGlobalsTable.length);
+        nativeSpacePointers = GraalHPyNativeCache.reallocateNativeCache(nativeSpacePointers, oldHandleTabelSize, hpyHandleTableSize, oldGlobalsTableSize, hpyGlobalsTable.length);
         try {
             InteropLibrary.getUncached().execute(setNativeSpaceFunction, nativePointer, nativeSpacePointers);
         } catch (UnsupportedTypeException | ArityException | UnsupportedMessageException e) {
@@ -3127,14 +3170,14 @@ public final class GraalHPyContext extends CExtContext implements TruffleObject
      */
     @TruffleBoundary
     private void allocateNativeSpacePointersMirror() {
-        long arrayPtr = GraalHPyNativeCache.allocateNativeCache(hpyHandleTable.length, hpyGlobalsTable.length);
+        long arrayPtr = GraalHPyNativeCache.allocateNativeCache(hpyHandleTableSize, hpyGlobalsTable.length);
 
         // publish pointer value (needed for initialization)
         nativeSpacePointers = arrayPtr;
 
         // write existing values to mirror; start at 1 to omit the NULL handle
-        for (int i = 1; i < hpyHandleTable.length; i++) {
-            Object delegate = hpyHandleTable[i];
+        for (int i = 1; i < nextHandle; i++) {
+            Object delegate = getHandleTableEntry(i);
             if (delegate != null) {
                 mirrorNativeSpacePointerToNative(delegate, i);
             }
@@ -3151,7 +3194,7 @@ public final class GraalHPyContext extends CExtContext implements TruffleObject
     public Object getObjectForHPyHandle(int handle) {
         assert !GilNode.getUncached().acquire(PythonContext.get(null)) : "Gil not held when resolving object from handle";
         assert !GraalHPyBoxing.isBoxedInt(handle) && !GraalHPyBoxing.isBoxedDouble(handle) : "trying to lookup boxed primitive";
-        return hpyHandleTable[handle];
+        return getHandleTableEntry(handle);
     }
 
     public Object getObjectForHPyGlobal(int handle) {
@@ -3163,41 +3206,20 @@ public final class GraalHPyContext extends CExtContext implements TruffleObject
     boolean releaseHPyHandleForObject(int handle) {
         assert !GilNode.getUncached().acquire(PythonContext.get(null)) : "Gil not held when releasing handle";
         assert handle != 0 : "NULL handle cannot be released";
-        assert hpyHandleTable[handle] != null : PythonUtils.formatJString("releasing handle that has already been released: %d", handle);
+        assert getHandleTableEntry(handle) != null : PythonUtils.formatJString("releasing handle that has already been released: %d", handle);
         if (LOGGER.isLoggable(Level.FINER)) {
-            LOGGER.finer(PythonUtils.formatJString("releasing HPy handle %d (object: %s)", handle, hpyHandleTable[handle]));
+            LOGGER.finer(PythonUtils.formatJString("releasing HPy handle %d (object: %s)", handle, getHandleTableEntry(handle)));
         }
         if (handle < IMMUTABLE_HANDLE_COUNT) {
             return false;
         }
-        hpyHandleTable[handle] = null;
-        freeStack.push(handle);
+        increment(Counter.HandleRelease);
+        setHandleTableEntry(handle, null);
+        hpyHandleFreeLinks[handle >>> HANDLE_CHUNK_BITS][handle & HANDLE_CHUNK_MASK] = freeHandle;
+        freeHandle = handle;
         return true;
     }
 
-    private static final class HandleStack {
-        private int[] handles;
-        private int top = 0;
-
-        public HandleStack(int initialCapacity) {
-            handles = new int[initialCapacity];
-        }
-
-        void push(int i) {
-            if (top >= handles.length) {
-                handles = Arrays.copyOf(handles, handles.length * 2);
-            }
-            handles[top++] = i;
-        }
-
-        int pop() {
-            if (top <= 0) {
-                return -1;
-            }
-            return handles[--top];
-        }
-    }
-
     /**
      * A weak reference to an object that has an associated HPy native space (
      * {@link PythonHPyObject}).
@@ -310,6 +310,14 @@ public class EconomicMapStorage extends HashingStorage {
         return this;
     }
 
+    /**
+     * Moves the key to the end of the iteration order, or to the beginning if {@code last} is
+     * {@code false}. Returns {@code false} if the key is not present.
+     */
+    public boolean moveToEnd(ThreadState state, Object key, long keyHash, boolean last, ObjectHashMap.MoveToEndNode moveNode) {
+        return moveNode.moveToEnd(state, map, key, keyHash, last);
+    }
+
     @ExportMessage
     @Override
     HashingStorage clear() {
@@ -605,6 +613,14 @@ public class EconomicMapStorage extends HashingStorage {
         }
     }
 
+    /**
+     * Returns a cursor over the entries in insertion order. The storage must not be modified while
+     * the cursor is in use.
+     */
+    public MapCursor getEntries() {
+        return map.getEntries();
+    }
+
     @TruffleBoundary
     public void putUncached(TruffleString key, Object value) {
         ObjectHashMapFactory.PutNodeGen.getUncached().put(null, this.map, key, PyObjectHashNode.hash(key, HashCodeNode.getUncached()), value);
@@ -190,6 +190,10 @@ public final class ObjectHashMap {
     // How many of the buckets in indices array are used. This may be larger by usedHashes if
     // we compacted on deletion.
     private int usedIndices;
+    // Lower bound of the index of the first real item. Lets the forward iteration skip the dummy
+    // entries left at the beginning by removals from the front (e.g. OrderedDict.popitem(False))
+    // and marks the free room reserved by moves to the front.
+    private int firstUsedHint;
 
     /**
      * If the map contains elements with potential side effects in __eq__, then this map may have to
@@ -260,6 +264,7 @@ public final class ObjectHashMap {
         size = 0;
         usedHashes = 0;
         usedIndices = 0;
+        firstUsedHint = 0;
         allocateData(INITIAL_INDICES_SIZE);
     }
 
@@ -268,6 +273,7 @@ public final class ObjectHashMap {
         result.size = size;
         result.usedHashes = usedHashes;
         result.usedIndices = usedIndices;
+        result.firstUsedHint = firstUsedHint;
         result.hashes = PythonUtils.arrayCopyOf(hashes, hashes.length);
         result.indices = PythonUtils.arrayCopyOf(indices, indices.length);
         result.keysAndValues = PythonUtils.arrayCopyOf(keysAndValues, keysAndValues.length);
@@ -292,7 +298,7 @@ public final class ObjectHashMap {
     }
 
     final class KeysIteratorWrapper implements Iterator<Object> {
-        private int index;
+        private int index = firstIndex();
 
         public KeysIteratorWrapper() {
             moveToNextValue();
@@ -399,6 +405,13 @@ public final class ObjectHashMap {
             return new DictKey(ObjectHashMap.this.getKey(index), hashes[index]);
         }
 
+        /**
+         * Returns the key of the current entry without wrapping it in a {@link DictKey}.
+         */
+        public Object getKeyValue() {
+            return ObjectHashMap.this.getKey(index);
+        }
+
         public Object getValue() {
             return ObjectHashMap.this.getValue(index);
         }
@@ -419,7 +432,20 @@ public final class ObjectHashMap {
         // when the hash table is 3/4 full, we resize on insertion
         int bucketsCount = getBucketsCount(localIndices);
         int bucketsCntQuarter = Math.max(1, bucketsCount >> 2);
-        return usedIndices + bucketsCntQuarter > bucketsCount;
+        // entries moved by MoveToEndNode do not take new buckets, but they do take new slots
+        return usedIndices + bucketsCntQuarter > bucketsCount || usedHashes >= hashes.length;
+    }
+
+    /**
+     * Returns the index of the first real item, or {@link #usedHashes} if there is none.
+     */
+    private int firstIndex() {
+        int i = firstUsedHint;
+        while (i < usedHashes && getValue(i) == null) {
+            i++;
+        }
+        firstUsedHint = i;
+        return i;
     }
 
     public int size() {
@@ -656,6 +682,11 @@ public final class ObjectHashMap {
 
     private void putInNewSlot(int[] localIndices, BranchProfile rehashProfile, Object key, long keyHash, Object value, int compactIndex) {
         assert indices == localIndices;
+        if (CompilerDirectives.injectBranchProbability(SLOWPATH_PROBABILITY, usedHashes == hashes.length && usedHashes > size)) {
+            // the slots were used up by moved entries, reclaim them before considering a resize
+            rehashProfile.enter();
+            compact();
+        }
         if (CompilerDirectives.injectBranchProbability(SLOWPATH_PROBABILITY, needsResize(localIndices))) {
             rehashProfile.enter();
             rehashAndPut(key, keyHash, value);
@@ -747,6 +778,7 @@ public final class ObjectHashMap {
                 map.setValue(unwrappedIndex, null);
                 map.setKey(unwrappedIndex, null);
                 map.size--;
+                map.trimAfterRemoval(unwrappedIndex);
                 return;
             }
 
@@ -772,6 +804,7 @@ public final class ObjectHashMap {
                         map.setValue(unwrappedIndex, null);
                         map.setKey(unwrappedIndex, null);
                         map.size--;
+                        map.trimAfterRemoval(unwrappedIndex);
                         return;
                     }
                 }
@@ -784,6 +817,188 @@ public final class ObjectHashMap {
         }
     }
 
+    /**
+     * If the last slot was removed, we can release it together with any dummy slots preceding it,
+     * so that removing items from the end (e.g. {@code dict.popitem()}) does not need compaction.
+     */
+    private void trimAfterRemoval(int removedIndex) {
+        if (removedIndex == usedHashes - 1) {
+            do {
+                usedHashes--;
+            } while (usedHashes > 0 && getValue(usedHashes - 1) == null);
+            if (firstUsedHint > usedHashes) {
+                firstUsedHint = usedHashes;
+            }
+        }
+    }
+
+    /**
+     * Moves an existing item to the end of the iteration order, or to the beginning if
+     * {@code last} is {@code false}. The item keeps its bucket, only the slot in the compact arrays
+     * changes. This is the primitive behind {@code OrderedDict.move_to_end}.
+     */
+    @GenerateUncached
+    public abstract static class MoveToEndNode extends Node {
+        /**
+         * Returns {@code false} if the key is not in the map.
+         */
+        public final boolean moveToEnd(ThreadState state, ObjectHashMap map, Object key, long keyHash, boolean last) {
+            return execute(state, map, key, keyHash, last);
+        }
+
+        abstract boolean execute(ThreadState state, ObjectHashMap map, Object key, long keyHash, boolean last);
+
+        @Specialization
+        static boolean doMoveWithRestart(ThreadState state, ObjectHashMap map, Object key, long keyHash, boolean last,
+                        @Cached BranchProfile lookupRestart,
+                        @Cached("createCountingProfile()") ConditionProfile foundNullKey,
+                        @Cached("createCountingProfile()") ConditionProfile foundSameHashKey,
+                        @Cached("createCountingProfile()") ConditionProfile foundEqKey,
+                        @Cached("createCountingProfile()") ConditionProfile collisionFoundNoValue,
+                        @Cached("createCountingProfile()") ConditionProfile collisionFoundEqKey,
+                        @Cached ConditionProfile hasState,
+                        @Cached PyObjectRichCompareBool.EqNode eqNode) {
+            while (true) {
+                try {
+                    int bucket = findBucket(state, map, key, keyHash, foundNullKey, foundSameHashKey,
+                                    foundEqKey, collisionFoundNoValue, collisionFoundEqKey, hasState, eqNode);
+                    if (bucket < 0) {
+                        return false;
+                    }
+                    map.moveEntry(bucket, last);
+                    return true;
+                } catch (RestartLookupException ignore) {
+                    lookupRestart.enter();
+                }
+            }
+        }
+
+        // Same as GetNode.doGet, but returns the position in the indices array or -1
+        static int findBucket(ThreadState state, ObjectHashMap map, Object key, long keyHash,
+                        ConditionProfile foundNullKey,
+                        ConditionProfile foundSameHashKey,
+                        ConditionProfile foundEqKey,
+                        ConditionProfile collisionFoundNoValue,
+                        ConditionProfile collisionFoundEqKey,
+                        ConditionProfile hasState,
+                        PyObjectRichCompareBool.EqNode eqNode) throws RestartLookupException {
+            assert map.checkInternalState();
+            int[] indices = map.indices;
+            int indicesLen = indices.length;
+
+            int compactIndex = map.getIndex(indicesLen, keyHash);
+            int index = indices[compactIndex];
+            if (foundNullKey.profile(index == EMPTY_INDEX)) {
+                return -1;
+            }
+            if (foundSameHashKey.profile(index != DUMMY_INDEX)) {
+                if (foundEqKey.profile(map.keysEqual(indices, state, unwrapIndex(index), key, keyHash, eqNode, hasState))) {
+                    return compactIndex;
+                } else if (!isCollision(indices[compactIndex])) {
+                    return -1;
+                }
+            }
+
+            // collision: intentionally counted loop
+            long perturb = keyHash;
+            int searchLimit = getBucketsCount(indices) + PERTURB_SHIFTS_COUT;
+            int i = 0;
+            try {
+                for (; i < searchLimit; i++) {
+                    if (indices != map.indices) {
+                        // guards against things happening in the safepoint on the backedge
+                        throw RestartLookupException.INSTANCE;
+                    }
+                    perturb >>>= PERTURB_SHIFT;
+                    compactIndex = map.nextIndex(indicesLen, compactIndex, perturb);
+                    index = map.indices[compactIndex];
+                    if (collisionFoundNoValue.profile(index == EMPTY_INDEX)) {
+                        return -1;
+                    }
+                    if (index != DUMMY_INDEX) {
+                        if (collisionFoundEqKey.profile(map.keysEqual(indices, state, unwrapIndex(index), key, keyHash, eqNode, hasState))) {
+                            return compactIndex;
+                        } else if (!isCollision(indices[compactIndex])) {
+                            return -1;
+                        }
+                    }
+                }
+            } finally {
+                LoopNode.reportLoopCount(eqNode, i);
+            }
+            throw CompilerDirectives.shouldNotReachHere();
+        }
+    }
+
+    private void moveEntry(int bucket, boolean last) {
+        int index = unwrapIndex(indices[bucket]);
+        if (last) {
+            if (index == usedHashes - 1) {
+                return;
+            }
+            if (usedHashes == hashes.length) {
+                // there must be some dummy slots, at least the ones left by previous moves
+                compact();
+                index = unwrapIndex(indices[bucket]);
+            }
+            relocate(bucket, index, usedHashes++);
+        } else {
+            int first = firstIndex();
+            if (index == first) {
+                return;
+            }
+            if (first == 0) {
+                makeRoomAtFront();
+                first = firstUsedHint;
+                index = unwrapIndex(indices[bucket]);
+            }
+            relocate(bucket, index, first - 1);
+            firstUsedHint = first - 1;
+        }
+    }
+
+    private void relocate(int bucket, int from, int to) {
+        hashes[to] = hashes[from];
+        setKey(to, getKey(from));
+        setValue(to, getValue(from));
+        setKey(from, null);
+        setValue(from, null);
+        indices[bucket] = isCollision(indices[bucket]) ? to | COLLISION_MASK : to;
+    }
+
+    /**
+     * Shifts all the items to the right to make free slots in front of them. The gap is
+     * proportional to the size, so the cost is amortized over the subsequent moves to the front.
+     * It is also small enough not to trigger {@link #needsCompaction()} on its own.
+     */
+    @TruffleBoundary
+    private void makeRoomAtFront() {
+        if (usedHashes > size) {
+            compact();
+        }
+        int gap = Math.max(1, size >> 2);
+        long[] newHashes = hashes;
+        Object[] newKeysAndValues = keysAndValues;
+        if (hashes.length - usedHashes < gap * 2) {
+            newHashes = new long[hashes.length + gap];
+            newKeysAndValues = new Object[newHashes.length * 2];
+        }
+        PythonUtils.arraycopy(hashes, 0, newHashes, gap, usedHashes);
+        PythonUtils.arraycopy(keysAndValues, 0, newKeysAndValues, gap * 2, usedHashes * 2);
+        Arrays.fill(newKeysAndValues, 0, gap * 2, null);
+        hashes = newHashes;
+        keysAndValues = newKeysAndValues;
+        int[] localIndices = indices;
+        for (int i = 0; i < localIndices.length; i++) {
+            int index = localIndices[i];
+            if (index != EMPTY_INDEX && index != DUMMY_INDEX) {
+                localIndices[i] = isCollision(index) ? (unwrapIndex(index) + gap) | COLLISION_MASK : index + gap;
+            }
+        }
+        usedHashes += gap;
+        firstUsedHint = gap;
+    }
+
     private static final class RestartLookupException extends Exception {
         private static final long serialVersionUID = -5517471989238569331L;
         private static final RestartLookupException INSTANCE = new RestartLookupException();
@@ -855,6 +1070,7 @@ public final class ObjectHashMap {
         size = 0;
         usedHashes = 0;
         usedIndices = 0;
+        firstUsedHint = 0;
         int[] localIndices = this.indices;
         for (int i = 0; i < oldUsedSize; i++) {
             if (getValue(i, oldKeysAndValues) != null) {
@@ -890,6 +1106,7 @@ public final class ObjectHashMap {
             }
         }
         usedHashes -= dummyCount; // We've "removed" the dummy entries
+        firstUsedHint = 0;
         int[] localIndices = indices;
         for (int i = 0; i < localIndices.length; i++) {
             int index = localIndices[i];
@@ -901,13 +1118,11 @@ public final class ObjectHashMap {
                 if (collision) {
                     markCollision(localIndices, i);
                 }
-            } else if (index == DUMMY_INDEX) {
-                dummyCount--;
             }
         }
-        // Indices may contain dummy values removed from hashes and keysAndValues arrays in some
-        // previous rounds of compaction, but we should have seen at least this many dummy values
-        assert dummyCount <= 0;
+        // Note: the number of dummy values in indices is not related to dummyCount. Indices may
+        // contain dummy values removed from hashes and keysAndValues arrays in some previous rounds
+        // of compaction, while the slots left behind by moved entries have no dummy bucket at all.
     }
 
     private int nextIndex(int indicesLen, int i, long perturb) {
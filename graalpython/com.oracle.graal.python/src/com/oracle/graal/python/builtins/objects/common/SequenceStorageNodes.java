@@ -71,6 +71,7 @@ import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodesFacto
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodesFactory.CopyItemNodeGen;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodesFactory.CopyNodeGen;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodesFactory.CreateEmptyNodeGen;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodesFactory.CreateStorageFromHostArrayNodeGen;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodesFactory.CreateStorageFromIteratorNodeFactory.CreateStorageFromIteratorNodeCachedNodeGen;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodesFactory.DeleteItemNodeGen;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodesFactory.DeleteNodeGen;
@@ -123,6 +124,7 @@ import com.oracle.graal.python.nodes.expression.BinaryComparisonNode;
 import com.oracle.graal.python.nodes.expression.CoerceToBooleanNode;
 import com.oracle.graal.python.nodes.object.GetClassNode;
 import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.object.IsForeignObjectNode;
 import com.oracle.graal.python.nodes.subscript.SliceLiteralNode;
 import com.oracle.graal.python.nodes.subscript.SliceLiteralNode.CoerceToIntSlice;
 import com.oracle.graal.python.nodes.subscript.SliceLiteralNode.ComputeIndices;
@@ -157,6 +159,7 @@ import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.HostCompilerDirectives.InliningCutoff;
+import com.oracle.truffle.api.TruffleLanguage.Env;
 import com.oracle.truffle.api.dsl.Bind;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Exclusive;
@@ -3674,6 +3677,42 @@ public abstract class SequenceStorageNodes {
         }
     }
 
+    /**
+     * Copies a Java primitive array from the host into a storage of the matching element type in
+     * one go, instead of iterating over it element by element through interop. Returns
+     * {@code null} if the object is not such an array.
+     */
+    @GenerateUncached
+    public abstract static class CreateStorageFromHostArrayNode extends Node {
+        public abstract SequenceStorage execute(Object object);
+
+        @Specialization
+        SequenceStorage doGeneric(Object object,
+                        @Cached IsForeignObjectNode isForeignObjectNode,
+                        @Cached ConditionProfile isHostObjectProfile) {
+            if (isForeignObjectNode.execute(object)) {
+                Env env = PythonContext.get(this).getEnv();
+                if (isHostObjectProfile.profile(env.isHostObject(object))) {
+                    return createStorage(env.asHostObject(object));
+                }
+            }
+            return null;
+        }
+
+        @TruffleBoundary
+        private static SequenceStorage createStorage(Object hostObject) {
+            return SequenceStorageFactory.createStorageFromHostArray(hostObject);
+        }
+
+        public static CreateStorageFromHostArrayNode create() {
+            return CreateStorageFromHostArrayNodeGen.create();
+        }
+
+        public static CreateStorageFromHostArrayNode getUncached() {
+            return CreateStorageFromHostArrayNodeGen.getUncached();
+        }
+    }
+
     public abstract static class CreateStorageFromIteratorNode extends Node {
         public abstract SequenceStorage execute(VirtualFrame frame, Object iterator, int len);
 
@@ -46,11 +46,15 @@ import java.util.Arrays;
 import java.util.Comparator;
 
 import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.function.PArguments;
 import com.oracle.graal.python.builtins.objects.function.Signature;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
 import com.oracle.graal.python.builtins.objects.str.StringUtils;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.lib.PyObjectIsTrueNode;
+import com.oracle.graal.python.nodes.PGuards;
 import com.oracle.graal.python.nodes.PNodeWithContext;
 import com.oracle.graal.python.nodes.PRootNode;
 import com.oracle.graal.python.nodes.call.CallNode;
@@ -60,6 +64,7 @@ import com.oracle.graal.python.runtime.ExecutionContext.CallContext;
 import com.oracle.graal.python.runtime.ExecutionContext.IndirectCalleeContext;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonContext.PythonThreadState;
+import com.oracle.graal.python.runtime.sequence.storage.BasicSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.BoolSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.EmptySequenceStorage;
@@ -67,6 +72,7 @@ import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.ObjectSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.graal.python.util.OverflowException;
 import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
@@ -77,11 +83,9 @@ import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
-import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.nodes.LoopNode;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.profiles.LoopConditionProfile;
-import com.oracle.truffle.api.profiles.ValueProfile;
 import com.oracle.truffle.api.strings.TruffleString;
 
 public abstract class SortNodes {
@@ -95,6 +99,211 @@ public abstract class SortNodes {
         }
     }
 
+    /**
+     * The keys of a keyed sort, or one position of tuple keys, unpacked into an array of primitive
+     * values that can be compared without calling back into Python code.
+     */
+    private abstract static class KeyColumn {
+        private static final int INSERTION_SORT_THRESHOLD = 32;
+        private static final int MAX_TUPLE_KEY_LENGTH = 8;
+
+        abstract int compare(int a, int b);
+
+        static KeyColumn[] createColumns(Object[] keys, int len) {
+            if (!isBuiltinTuple(keys[0])) {
+                KeyColumn column = createColumn(keys, len);
+                return column != null ? new KeyColumn[]{column} : null;
+            }
+            int width = ((PTuple) keys[0]).getSequenceStorage().length();
+            if (width == 0 || width > MAX_TUPLE_KEY_LENGTH) {
+                return null;
+            }
+            SequenceStorage[] storages = new SequenceStorage[len];
+            for (int i = 0; i < len; i++) {
+                if (!isBuiltinTuple(keys[i])) {
+                    return null;
+                }
+                storages[i] = ((PTuple) keys[i]).getSequenceStorage();
+                // native storages would need to convert the items first
+                if (!(storages[i] instanceof BasicSequenceStorage) || storages[i].length() != width) {
+                    return null;
+                }
+            }
+            KeyColumn[] columns = new KeyColumn[width];
+            Object[] items = new Object[len];
+            for (int c = 0; c < width; c++) {
+                for (int i = 0; i < len; i++) {
+                    items[i] = storages[i].getItemNormalized(c);
+                }
+                columns[c] = createColumn(items, len);
+                if (columns[c] == null) {
+                    return null;
+                }
+            }
+            return columns;
+        }
+
+        private static boolean isBuiltinTuple(Object key) {
+            /*
+             * Subclasses of tuple may override the comparison, so only exact tuples qualify. Like
+             * for dict, the class of a tuple cannot be reassigned.
+             */
+            return key instanceof PTuple && ((PTuple) key).getInitialPythonClass() == PythonBuiltinClassType.PTuple;
+        }
+
+        private static KeyColumn createColumn(Object[] items, int len) {
+            Object first = items[0];
+            if (first instanceof TruffleString) {
+                TruffleString[] values = new TruffleString[len];
+                for (int i = 0; i < len; i++) {
+                    if (!(items[i] instanceof TruffleString)) {
+                        return null;
+                    }
+                    values[i] = (TruffleString) items[i];
+                }
+                return new StringKeyColumn(values);
+            } else if (first instanceof Double) {
+                double[] values = new double[len];
+                for (int i = 0; i < len; i++) {
+                    /*
+                     * NaN is unordered and would make the result depend on the sorting algorithm,
+                     * leave such keys to the generic comparison.
+                     */
+                    if (!(items[i] instanceof Double) || Double.isNaN((Double) items[i])) {
+                        return null;
+                    }
+                    values[i] = (Double) items[i];
+                }
+                return new DoubleKeyColumn(values);
+            } else {
+                long[] values = new long[len];
+                for (int i = 0; i < len; i++) {
+                    Object item = items[i];
+                    if (item instanceof Integer) {
+                        values[i] = (Integer) item;
+                    } else if (item instanceof Long) {
+                        values[i] = (Long) item;
+                    } else if (item instanceof Boolean) {
+                        values[i] = (Boolean) item ? 1 : 0;
+                    } else if (item instanceof PInt && PGuards.isBuiltinPInt((PInt) item)) {
+                        try {
+                            values[i] = ((PInt) item).longValueExact();
+                        } catch (OverflowException e) {
+                            return null;
+                        }
+                    } else {
+                        return null;
+                    }
+                }
+                return new LongKeyColumn(values);
+            }
+        }
+
+        private static int compare(KeyColumn[] columns, int a, int b, boolean reverse) {
+            int left = reverse ? b : a;
+            int right = reverse ? a : b;
+            for (KeyColumn column : columns) {
+                int result = column.compare(left, right);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Returns the indices of the keys in sorted order. The sort is a stable merge sort of
+         * insertion-sorted runs, equal keys keep their original order also when sorting in
+         * reverse, just like in CPython.
+         */
+        static int[] sortedOrder(KeyColumn[] columns, int len, boolean reverse) {
+            int[] order = new int[len];
+            for (int i = 0; i < len; i++) {
+                order[i] = i;
+            }
+            for (int lo = 0; lo < len; lo += INSERTION_SORT_THRESHOLD) {
+                int hi = Math.min(lo + INSERTION_SORT_THRESHOLD, len);
+                for (int i = lo + 1; i < hi; i++) {
+                    int index = order[i];
+                    int j = i - 1;
+                    while (j >= lo && compare(columns, order[j], index, reverse) > 0) {
+                        order[j + 1] = order[j];
+                        j--;
+                    }
+                    order[j + 1] = index;
+                }
+            }
+            int[] tmp = new int[len];
+            for (long width = INSERTION_SORT_THRESHOLD; width < len; width *= 2) {
+                for (int lo = 0; lo < len - width; lo += (int) (2 * width)) {
+                    int mid = lo + (int) width;
+                    int hi = (int) Math.min(mid + width, len);
+                    if (compare(columns, order[mid - 1], order[mid], reverse) <= 0) {
+                        // the two runs are already in order
+                        continue;
+                    }
+                    System.arraycopy(order, lo, tmp, lo, mid - lo);
+                    int i = lo;
+                    int j = mid;
+                    int k = lo;
+                    while (i < mid && j < hi) {
+                        if (compare(columns, tmp[i], order[j], reverse) <= 0) {
+                            order[k++] = tmp[i++];
+                        } else {
+                            order[k++] = order[j++];
+                        }
+                    }
+                    while (i < mid) {
+                        order[k++] = tmp[i++];
+                    }
+                }
+            }
+            return order;
+        }
+    }
+
+    private static final class LongKeyColumn extends KeyColumn {
+        private final long[] values;
+
+        LongKeyColumn(long[] values) {
+            this.values = values;
+        }
+
+        @Override
+        int compare(int a, int b) {
+            return Long.compare(values[a], values[b]);
+        }
+    }
+
+    private static final class DoubleKeyColumn extends KeyColumn {
+        private final double[] values;
+
+        DoubleKeyColumn(double[] values) {
+            this.values = values;
+        }
+
+        @Override
+        int compare(int a, int b) {
+            // unlike Double.compare, this treats -0.0 and 0.0 as equal
+            double left = values[a];
+            double right = values[b];
+            return left < right ? -1 : (right < left ? 1 : 0);
+        }
+    }
+
+    private static final class StringKeyColumn extends KeyColumn {
+        private final TruffleString[] values;
+
+        StringKeyColumn(TruffleString[] values) {
+            this.values = values;
+        }
+
+        @Override
+        int compare(int a, int b) {
+            return StringUtils.compareStringsUncached(values[a], values[b]);
+        }
+    }
+
     private static class ObjectComparatorRootNode extends PRootNode {
         private static final Signature SIGNATURE = new Signature(-1, false, -1, false, tsArray("a", "b"), PythonUtils.EMPTY_TRUFFLESTRING_ARRAY);
 
@@ -159,7 +368,7 @@ public abstract class SortNodes {
 
         @CompilationFinal private RootCallTarget comparatorCallTarget;
 
-        private final ValueProfile keyClassProfile = ValueProfile.createIdentityProfile();
+        private final ConditionProfile primitiveKeysProfile = ConditionProfile.create();
 
         public abstract void execute(VirtualFrame frame, SequenceStorage storage, Object keyfunc, boolean reverse);
 
@@ -338,88 +547,68 @@ public abstract class SortNodes {
             }
         }
 
-        private enum KeySortComparator {
-            INT(Integer.class, Comparator.comparing(a -> ((Integer) a.key))),
-            LONG(Long.class, Comparator.comparing(a -> ((Long) a.key))),
-            DOUBLE(Double.class, Comparator.comparing(a -> ((Double) a.key))),
-            BOOLEAN(Boolean.class, Comparator.comparing(a -> ((Boolean) a.key))),
-            STRING(TruffleString.class, (a, b) -> StringUtils.compareStringsUncached((TruffleString) a.key, (TruffleString) b.key));
-
-            final Class<?> clazz;
-            final Comparator<SortingPair> comparator;
-
-            KeySortComparator(Class<?> clazz, Comparator<SortingPair> comparator) {
-                this.clazz = clazz;
-                this.comparator = comparator;
-            }
-
-            @ExplodeLoop
-            public static KeySortComparator forClass(Class<?> clazz) {
-                for (KeySortComparator c : KeySortComparator.values()) {
-                    if (clazz == c.clazz) {
-                        return c;
-                    }
-                }
-                return null;
-            }
-        }
-
         private void sortWithKey(VirtualFrame frame, Object[] array, int len, Object keyfunc, boolean reverse, CallNode callNode, CallContext callContext) {
             if (len <= 1) {
                 return;
             }
             /*
-             * Box the values into (key, value) pairs so that the comparator can compare they keys.
-             * We want to avoid calling the key function from the comparator because CPython also
-             * computes the keys only once. There is an additional optimization opportunity where we
-             * could avoid boxing primitive numbers, but that would result in quite a lot of
-             * duplicate code.
+             * Compute all the keys upfront. We want to avoid calling the key function from the
+             * comparator because CPython also computes the keys only once.
              */
-            SortingPair[] pairArray = new SortingPair[len];
+            Object[] keys = new Object[len];
+            for (int i = 0; i < len; i++) {
+                keys[i] = callNode.execute(frame, keyfunc, array[i]);
+            }
+            if (primitiveKeysProfile.profile(sortWithPrimitiveKeys(array, keys, len, reverse))) {
+                return;
+            }
             /*
-             * Look at the first key and determine which comparator we could use to compare if the
-             * keys turn all to be the same primitive type
+             * Box the values into (key, value) pairs so that the comparator can compare the keys.
              */
-            Object key = callNode.execute(frame, keyfunc, array[0]);
-            pairArray[reverse ? len - 1 : 0] = new SortingPair(key, array[0]);
-            Class<?> keyClass = keyClassProfile.profile(key.getClass());
-            KeySortComparator keySortComparator = KeySortComparator.forClass(keyClass);
-
-            for (int i = 1; i < len; i++) {
-                key = callNode.execute(frame, keyfunc, array[i]);
-                /* Check if the keys are all of the same type */
-                if (keySortComparator != null && key.getClass() != keySortComparator.clazz) {
-                    keySortComparator = null;
-                }
-                pairArray[reverse ? len - i - 1 : i] = new SortingPair(key, array[i]);
+            SortingPair[] pairArray = new SortingPair[len];
+            for (int i = 0; i < len; i++) {
+                pairArray[reverse ? len - i - 1 : i] = new SortingPair(keys[i], array[i]);
             }
-            if (keySortComparator != null) {
-                callSortWithKey(pairArray, len, keySortComparator);
-            } else {
-                PythonLanguage language = PythonLanguage.get(this);
-                final Object[] arguments = PArguments.create(2);
-                final RootCallTarget callTarget = getComparatorCallTarget(language);
-                if (frame == null) {
-                    PythonThreadState threadState = PythonContext.get(this).getThreadState(language);
-                    Object state = IndirectCalleeContext.enter(threadState, arguments, callTarget);
-                    try {
-                        callSortWithKey(pairArray, len, callTarget, arguments);
-                    } finally {
-                        IndirectCalleeContext.exit(threadState, state);
-                    }
-                } else {
-                    callContext.prepareCall(frame, arguments, callTarget, this);
+            PythonLanguage language = PythonLanguage.get(this);
+            final Object[] arguments = PArguments.create(2);
+            final RootCallTarget callTarget = getComparatorCallTarget(language);
+            if (frame == null) {
+                PythonThreadState threadState = PythonContext.get(this).getThreadState(language);
+                Object state = IndirectCalleeContext.enter(threadState, arguments, callTarget);
+                try {
                     callSortWithKey(pairArray, len, callTarget, arguments);
+                } finally {
+                    IndirectCalleeContext.exit(threadState, state);
                 }
+            } else {
+                callContext.prepareCall(frame, arguments, callTarget, this);
+                callSortWithKey(pairArray, len, callTarget, arguments);
             }
             for (int i = 0; i < len; i++) {
                 array[reverse ? len - i - 1 : i] = pairArray[i].value;
             }
         }
 
+        /**
+         * Sorts {@code array} by {@code keys} without calling back into Python comparisons if the
+         * keys are all {@code int}s that fit into a {@code long}, all {@code float}s, all
+         * {@code str}s, or all tuples of the same length whose items at each position are all of
+         * one of these kinds. The keys are unpacked into primitive or {@link TruffleString} arrays
+         * and the values are permuted according to a stable sort of their indices. Returns
+         * {@code false} and leaves {@code array} untouched if the keys do not have this shape.
+         */
         @TruffleBoundary
-        private static void callSortWithKey(SortingPair[] array, int len, KeySortComparator comparator) {
-            Arrays.sort(array, 0, len, comparator.comparator);
+        private static boolean sortWithPrimitiveKeys(Object[] array, Object[] keys, int len, boolean reverse) {
+            KeyColumn[] columns = KeyColumn.createColumns(keys, len);
+            if (columns == null) {
+                return false;
+            }
+            int[] order = KeyColumn.sortedOrder(columns, len, reverse);
+            Object[] values = PythonUtils.arrayCopyOf(array, len);
+            for (int i = 0; i < len; i++) {
+                array[i] = values[order[i]];
+            }
+            return true;
         }
 
         @TruffleBoundary
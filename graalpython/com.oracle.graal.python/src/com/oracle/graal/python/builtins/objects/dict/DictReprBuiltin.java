@@ -95,8 +95,8 @@ public final class DictReprBuiltin extends PythonBuiltins {
     abstract static class ReprNode extends PythonUnaryBuiltinNode {
         private static final TruffleString T_ELLIPSIS = tsLiteral("{...}");
         private static final TruffleString T_COLONSPACE = tsLiteral(": ");
-        private static final TruffleString T_LPAREN_BRACKET = tsLiteral("([");
-        private static final TruffleString T_RPAREN_BRACKET = tsLiteral("])");
+        static final TruffleString T_LPAREN_BRACKET = tsLiteral("([");
+        static final TruffleString T_RPAREN_BRACKET = tsLiteral("])");
 
         @Override
         public abstract TruffleString execute(VirtualFrame VirtualFrame, Object arg);
@@ -0,0 +1,362 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.dict;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.KeyError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.T___DICT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___INIT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___OR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ROR__;
+import static com.oracle.graal.python.nodes.StringLiterals.T_ELLIPSIS;
+import static com.oracle.graal.python.nodes.StringLiterals.T_EMPTY_PARENS;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+
+import java.util.Iterator;
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.common.EconomicMapStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage.DictEntry;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.common.ObjectHashMap;
+import com.oracle.graal.python.builtins.objects.dict.DictReprBuiltin.ReprNode.ForEachItemRepr;
+import com.oracle.graal.python.builtins.objects.dict.DictReprBuiltin.ReprNode.ReprState;
+import com.oracle.graal.python.builtins.objects.dict.OrderedDictBuiltinsClinicProviders.MoveToEndNodeClinicProviderGen;
+import com.oracle.graal.python.builtins.objects.dict.OrderedDictBuiltinsClinicProviders.PopItemNodeClinicProviderGen;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.function.PArguments.ThreadState;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes;
+import com.oracle.graal.python.lib.PyObjectGetIter;
+import com.oracle.graal.python.lib.PyObjectHashNode;
+import com.oracle.graal.python.lib.PyObjectLookupAttr;
+import com.oracle.graal.python.lib.PyObjectRichCompareBool;
+import com.oracle.graal.python.lib.PyObjectSetItem;
+import com.oracle.graal.python.lib.PyObjectSizeNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.api.strings.TruffleStringBuilder;
+
+/**
+ * {@code collections.OrderedDict} on top of the ordinary dict storages, which already remember the
+ * insertion order. Everything that does not depend on the order is inherited from
+ * {@link DictBuiltins}.
+ */
+@CoreFunctions(extendClasses = PythonBuiltinClassType.POrderedDict)
+public final class OrderedDictBuiltins extends PythonBuiltins {
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return OrderedDictBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = J___INIT__, minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true)
+    @GenerateNodeFactory
+    public abstract static class InitNode extends PythonBuiltinNode {
+        @Specialization
+        Object doInit(VirtualFrame frame, POrderedDict self, Object[] args, PKeyword[] kwargs,
+                        @Cached IsBuiltinClassProfile isBuiltinProfile,
+                        @Cached DictBuiltins.InitNode dictInitNode,
+                        @Cached HashingStorage.InitNode initNode,
+                        @CachedLibrary(limit = "2") HashingStorageLibrary lib,
+                        @Cached PyObjectSetItem setItemNode) {
+            if (args.length > 1) {
+                throw raiseTooManyArguments(args.length);
+            }
+            if (isBuiltinProfile.profileObject(self, PythonBuiltinClassType.POrderedDict)) {
+                return dictInitNode.execute(frame, self, args, kwargs);
+            }
+            if (args.length == 0 && kwargs.length == 0) {
+                return PNone.NONE;
+            }
+            // subclasses may override __setitem__, which must see every item in order
+            HashingStorage storage = initNode.execute(frame, args.length == 1 ? args[0] : PNone.NO_VALUE, kwargs);
+            for (DictEntry entry : lib.entries(storage)) {
+                setItemNode.execute(frame, self, entry.getKey(), entry.getValue());
+            }
+            return PNone.NONE;
+        }
+
+        protected PException raiseTooManyArguments(int given) {
+            return raise(TypeError, ErrorMessages.EXPECTED_AT_MOST_D_ARGS_GOT_D, "OrderedDict", 1, given);
+        }
+    }
+
+    @Builtin(name = "update", minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true)
+    @GenerateNodeFactory
+    public abstract static class UpdateNode extends InitNode {
+        @Override
+        protected PException raiseTooManyArguments(int given) {
+            return raise(TypeError, ErrorMessages.S_TAKES_AT_MOST_ONE_POSITIONAL_ARGUMENT_D_GIVEN, "update", given);
+        }
+    }
+
+    @Builtin(name = J___OR__, minNumOfPositionalArgs = 2)
+    @Builtin(name = J___ROR__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @GenerateNodeFactory
+    public abstract static class OrNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isOrderedDict(left) || isOrderedDict(right)")
+        Object or(VirtualFrame frame, PDict left, PDict right,
+                        @Cached GetClassNode getClassNode,
+                        @Cached IsBuiltinClassProfile isBuiltinProfile,
+                        @CachedLibrary(limit = "3") HashingStorageLibrary lib,
+                        @Cached DictNodes.UpdateNode updateNode,
+                        @Cached CallNode callNode,
+                        @Cached PyObjectSetItem setItemNode) {
+            // like CPython, the result has the class of the OrderedDict operand
+            Object cls = getClassNode.execute(left instanceof POrderedDict ? left : right);
+            if (isBuiltinProfile.profileClass(cls, PythonBuiltinClassType.POrderedDict)) {
+                POrderedDict result = factory().createOrderedDict(lib.copy(left.getDictStorage()));
+                updateNode.execute(frame, result, right);
+                return result;
+            }
+            // subclasses may override __init__ and __setitem__
+            Object result = callNode.execute(frame, cls, left);
+            for (DictEntry entry : lib.entries(right.getDictStorage())) {
+                setItemNode.execute(frame, result, entry.getKey(), entry.getValue());
+            }
+            return result;
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object or(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+
+        static boolean isOrderedDict(PDict dict) {
+            return dict instanceof POrderedDict;
+        }
+    }
+
+    @Builtin(name = "popitem", minNumOfPositionalArgs = 1, parameterNames = {"$self", "last"})
+    @ArgumentClinic(name = "last", conversion = ClinicConversion.Boolean, defaultValue = "true")
+    @GenerateNodeFactory
+    public abstract static class PopItemNode extends PythonBinaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PopItemNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization(limit = "3")
+        Object popItem(VirtualFrame frame, POrderedDict self, boolean last,
+                        @Cached ConditionProfile hasFrame,
+                        @CachedLibrary("self.getDictStorage()") HashingStorageLibrary lib) {
+            HashingStorage storage = self.getDictStorage();
+            // the forward iteration starts at the first live item, so popping from the front does
+            // not rescan the slots freed by previous pops
+            for (DictEntry entry : last ? lib.reverseEntries(storage) : lib.entries(storage)) {
+                PTuple result = factory().createTuple(new Object[]{entry.getKey(), entry.getValue()});
+                self.setDictStorage(lib.delItemWithFrame(storage, entry.getKey(), hasFrame, frame));
+                return result;
+            }
+            throw raise(KeyError, ErrorMessages.IS_EMPTY, "dictionary");
+        }
+    }
+
+    @Builtin(name = "move_to_end", minNumOfPositionalArgs = 2, parameterNames = {"$self", "key", "last"})
+    @ArgumentClinic(name = "last", conversion = ClinicConversion.Boolean, defaultValue = "true")
+    @GenerateNodeFactory
+    public abstract static class MoveToEndNode extends PythonTernaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return MoveToEndNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object moveToEnd(VirtualFrame frame, POrderedDict self, Object key, boolean last,
+                        @Cached ConditionProfile isEconomicMap,
+                        @Cached ConditionProfile hasFrame,
+                        @CachedLibrary(limit = "3") HashingStorageLibrary lib,
+                        @Cached PyObjectHashNode hashNode,
+                        @Cached ObjectHashMap.MoveToEndNode moveNode) {
+            HashingStorage storage = self.getDictStorage();
+            EconomicMapStorage mapStorage;
+            if (isEconomicMap.profile(storage instanceof EconomicMapStorage)) {
+                mapStorage = (EconomicMapStorage) storage;
+            } else {
+                // the other storages keep the order too, but they cannot change it
+                mapStorage = (EconomicMapStorage) lib.addAllToOther(storage, EconomicMapStorage.create(lib.length(storage)));
+                self.setDictStorage(mapStorage);
+            }
+            ThreadState state = hasFrame.profile(frame != null) ? PArguments.getThreadState(frame) : null;
+            if (!mapStorage.moveToEnd(state, key, hashNode.execute(frame, key), last, moveNode)) {
+                throw raise(KeyError, new Object[]{key});
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = J___REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization // use same limit as for EachRepr nodes library
+        static TruffleString repr(POrderedDict self,
+                        @Cached GetClassNode getClassNode,
+                        @Cached TypeNodes.GetNameNode getNameNode,
+                        @Cached("create(3)") ForEachItemRepr consumerNode,
+                        @CachedLibrary(limit = "3") HashingStorageLibrary lib,
+                        @Cached TruffleStringBuilder.AppendStringNode appendStringNode,
+                        @Cached TruffleStringBuilder.ToStringNode toStringNode) {
+            PythonContext ctxt = PythonContext.get(lib);
+            if (!ctxt.reprEnter(self)) {
+                return T_ELLIPSIS;
+            }
+            try {
+                TruffleStringBuilder sb = TruffleStringBuilder.create(TS_ENCODING);
+                appendStringNode.execute(sb, getNameNode.execute(getClassNode.execute(self)));
+                HashingStorage storage = self.getDictStorage();
+                if (lib.length(storage) == 0) {
+                    appendStringNode.execute(sb, T_EMPTY_PARENS);
+                } else {
+                    appendStringNode.execute(sb, DictReprBuiltin.ReprNode.T_LPAREN_BRACKET);
+                    // no 'self' in the state: a recursive value is printed by our own recursion
+                    // check as '...', not as '{...}'
+                    lib.forEach(storage, consumerNode, new ReprState(null, storage, sb));
+                    appendStringNode.execute(sb, DictReprBuiltin.ReprNode.T_RPAREN_BRACKET);
+                }
+                return toStringNode.execute(sb);
+            } finally {
+                ctxt.reprLeave(self);
+            }
+        }
+    }
+
+    @Builtin(name = J___REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object reduce(VirtualFrame frame, POrderedDict self,
+                        @Cached GetClassNode getClassNode,
+                        @Cached PyObjectLookupAttr lookupAttr,
+                        @Cached PyObjectSizeNode sizeNode,
+                        @Cached PyObjectGetIter getIter,
+                        @Cached DictBuiltins.ItemsNode itemsNode) {
+            Object dict = lookupAttr.execute(frame, self, T___DICT__);
+            if (PGuards.isNoValue(dict) || sizeNode.execute(frame, dict) <= 0) {
+                dict = PNone.NONE;
+            }
+            return factory().createTuple(new Object[]{getClassNode.execute(self), factory().createEmptyTuple(), dict, PNone.NONE, getIter.execute(frame, itemsNode.items(self))});
+        }
+    }
+
+    @Builtin(name = J___EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class EqNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object eq(VirtualFrame frame, POrderedDict self, POrderedDict other,
+                        @Cached DictBuiltins.EqNode dictEqNode,
+                        @CachedLibrary(limit = "3") HashingStorageLibrary lib,
+                        @Cached PyObjectRichCompareBool.EqNode eqNode) {
+            if (!Boolean.TRUE.equals(dictEqNode.execute(frame, self, other))) {
+                return false;
+            }
+            // both have the same keys, only the order remains to be compared
+            Iterator<Object> selfKeys = lib.keys(self.getDictStorage()).iterator();
+            Iterator<Object> otherKeys = lib.keys(other.getDictStorage()).iterator();
+            while (selfKeys.hasNext() && otherKeys.hasNext()) {
+                if (!eqNode.execute(frame, selfKeys.next(), otherKeys.next())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Specialization(guards = "!isOrderedDict(other)")
+        static Object eq(VirtualFrame frame, POrderedDict self, Object other,
+                        @Cached DictBuiltins.EqNode dictEqNode) {
+            return dictEqNode.execute(frame, self, other);
+        }
+
+        static boolean isOrderedDict(Object other) {
+            return other instanceof POrderedDict;
+        }
+    }
+
+    @Builtin(name = "copy", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class CopyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object copy(VirtualFrame frame, POrderedDict self,
+                        @Cached IsBuiltinClassProfile isBuiltinProfile,
+                        @CachedLibrary(limit = "3") HashingStorageLibrary lib,
+                        @Cached GetClassNode getClassNode,
+                        @Cached CallNode callNode) {
+            if (isBuiltinProfile.profileObject(self, PythonBuiltinClassType.POrderedDict)) {
+                return factory().createOrderedDict(lib.copy(self.getDictStorage()));
+            }
+            return callNode.execute(frame, getClassNode.execute(self), self);
+        }
+    }
+}
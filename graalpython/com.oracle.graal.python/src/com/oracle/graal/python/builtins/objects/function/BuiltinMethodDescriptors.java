@@ -43,6 +43,7 @@ package com.oracle.graal.python.builtins.objects.function;
 import static com.oracle.graal.python.builtins.objects.function.BuiltinMethodDescriptor.get;
 import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GETATTRIBUTE__;
 import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ITER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___SETITEM__;
 
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.objects.dict.DictBuiltinsFactory;
@@ -61,6 +62,7 @@ public abstract class BuiltinMethodDescriptors {
     public static final BuiltinMethodDescriptor TYPE_GET_ATTRIBUTE = get(J___GETATTRIBUTE__, TypeBuiltinsFactory.GetattributeNodeFactory.getInstance(), PythonBuiltinClassType.PythonClass);
 
     public static final BuiltinMethodDescriptor DICT_ITER = get(J___ITER__, DictBuiltinsFactory.IterNodeFactory.getInstance(), PythonBuiltinClassType.PDict);
+    public static final BuiltinMethodDescriptor DICT_SET_ITEM = get(J___SETITEM__, DictBuiltinsFactory.SetItemNodeFactory.getInstance(), PythonBuiltinClassType.PDict);
 
     private BuiltinMethodDescriptors() {
     }
@@ -360,6 +360,8 @@ public class IntBuiltins extends PythonBuiltins {
     public abstract static class AddNode extends PythonBinaryBuiltinNode {
         public abstract Object execute(int left, int right);
 
+        public abstract Object execute(long left, long right);
+
         @Specialization(rewriteOn = ArithmeticException.class)
         static int add(int left, int right) {
             return Math.addExact(left, right);
@@ -434,6 +436,8 @@ public class IntBuiltins extends PythonBuiltins {
     public abstract static class SubNode extends PythonBinaryBuiltinNode {
         public abstract Object execute(int left, int right);
 
+        public abstract Object execute(long left, long right);
+
         @Specialization(rewriteOn = ArithmeticException.class)
         static int doII(int x, int y) throws ArithmeticException {
             return Math.subtractExact(x, y);
@@ -514,6 +518,8 @@ public class IntBuiltins extends PythonBuiltins {
     public abstract static class TrueDivNode extends PythonBinaryBuiltinNode {
         public abstract Object execute(int left, int right);
 
+        public abstract Object execute(long left, long right);
+
         @Specialization
         double divII(int x, int y) {
             return divDD(x, y);
@@ -611,6 +617,8 @@ public class IntBuiltins extends PythonBuiltins {
     public abstract static class FloorDivNode extends IntBinaryBuiltinNode {
         public abstract Object execute(int left, int right);
 
+        public abstract Object execute(long left, long right);
+
         @Specialization
         int doII(int left, int right) {
             raiseDivisionByZero(right == 0);
@@ -764,6 +772,10 @@ public class IntBuiltins extends PythonBuiltins {
 
         public abstract Object execute(int left, int right);
 
+        public abstract long executeLong(long left, long right) throws UnexpectedResultException;
+
+        public abstract Object execute(long left, long right);
+
         @Specialization
         int doII(int left, int right) {
             raiseDivisionByZero(right == 0);
@@ -881,6 +893,8 @@ public class IntBuiltins extends PythonBuiltins {
     public abstract static class MulNode extends PythonBinaryBuiltinNode {
         public abstract Object execute(int left, int right);
 
+        public abstract Object execute(long left, long right);
+
         @Specialization(rewriteOn = ArithmeticException.class)
         static int doII(int x, int y) throws ArithmeticException {
             return Math.multiplyExact(x, y);
@@ -976,6 +990,10 @@ public class IntBuiltins extends PythonBuiltins {
 
         protected abstract Object execute(int left, int right, PNone none);
 
+        protected abstract long executeLong(long left, long right, PNone none) throws UnexpectedResultException;
+
+        protected abstract Object execute(long left, long right, PNone none);
+
         public final int executeInt(int left, int right) throws UnexpectedResultException {
             return executeInt(left, right, PNone.NO_VALUE);
         }
@@ -984,6 +1002,14 @@ public class IntBuiltins extends PythonBuiltins {
             return execute(left, right, PNone.NO_VALUE);
         }
 
+        public final long executeLong(long left, long right) throws UnexpectedResultException {
+            return executeLong(left, right, PNone.NO_VALUE);
+        }
+
+        public final Object execute(long left, long right) {
+            return execute(left, right, PNone.NO_VALUE);
+        }
+
         @Specialization(guards = "right >= 0", rewriteOn = ArithmeticException.class)
         static int doIIFast(int left, int right, @SuppressWarnings("unused") PNone none) {
             int result = 1;
@@ -1377,6 +1403,8 @@ public class IntBuiltins extends PythonBuiltins {
     public abstract static class NegNode extends PythonUnaryBuiltinNode {
         public abstract Object execute(int value);
 
+        public abstract Object execute(long value);
+
         @Specialization(rewriteOn = ArithmeticException.class)
         static int neg(int arg) {
             return Math.negateExact(arg);
@@ -1451,6 +1479,10 @@ public class IntBuiltins extends PythonBuiltins {
 
         public abstract Object execute(int left, int right);
 
+        public abstract long executeLong(long left, long right) throws UnexpectedResultException;
+
+        public abstract Object execute(long left, long right);
+
         private long leftShiftExact(long left, long right) throws OverflowException {
             if (right >= Long.SIZE || right < 0) {
                 shiftError(right);
@@ -1622,6 +1654,10 @@ public class IntBuiltins extends PythonBuiltins {
 
         public abstract Object execute(int left, int right);
 
+        public abstract long executeLong(long left, long right) throws UnexpectedResultException;
+
+        public abstract Object execute(long left, long right);
+
         @Specialization(guards = "right < 32")
         int doIISmall(int left, int right) {
             raiseNegativeShiftCount(right < 0);
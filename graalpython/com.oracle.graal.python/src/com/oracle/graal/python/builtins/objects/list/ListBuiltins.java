@@ -76,6 +76,7 @@ import com.oracle.graal.python.builtins.objects.PNotImplemented;
 import com.oracle.graal.python.builtins.objects.common.IndexNodes.NormalizeIndexNode;
 import com.oracle.graal.python.builtins.objects.common.SequenceNodes;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.CreateStorageFromHostArrayNode;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.CreateStorageFromIteratorNode;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.ListGeneralizationNode;
 import com.oracle.graal.python.builtins.objects.common.SortNodes.SortSequenceStorageNode;
@@ -303,8 +304,14 @@ public class ListBuiltins extends PythonBuiltins {
         static PNone listIterable(VirtualFrame frame, PList list, Object iterable,
                         @Cached IteratorNodes.GetLength lenNode,
                         @Shared("getIter") @Cached PyObjectGetIter getIter,
+                        @Cached CreateStorageFromHostArrayNode hostArrayNode,
                         @Cached CreateStorageFromIteratorNode storageNode) {
             clearStorage(list);
+            SequenceStorage hostArrayStorage = hostArrayNode.execute(iterable);
+            if (hostArrayStorage != null) {
+                list.setSequenceStorage(hostArrayStorage);
+                return PNone.NONE;
+            }
             int len = lenNode.execute(frame, iterable);
             Object iterObj = getIter.execute(frame, iterable);
             list.setSequenceStorage(storageNode.execute(frame, iterObj, len));
@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.lrucache;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.J___DICT__;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.T___QUALNAME__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___CALL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___COPY__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___DEEPCOPY__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___GET__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REDUCE__;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.ObjectHashMap;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.function.PArguments.ThreadState;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.lib.PyLongCheckExactNode;
+import com.oracle.graal.python.lib.PyObjectGetAttr;
+import com.oracle.graal.python.lib.PyObjectHashNode;
+import com.oracle.graal.python.lib.PyUnicodeCheckExactNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithContext;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonVarargsBuiltinNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.nodes.object.GetOrCreateDictNode;
+import com.oracle.graal.python.nodes.object.SetDictNode;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PLruCacheWrapper)
+public class LruCacheWrapperBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return LruCacheWrapperBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Equivalent of {@code functools._make_key}. A single positional argument of exact type
+     * {@code int} or {@code str} is used as the key directly, so the common case neither
+     * allocates nor hashes a tuple. Otherwise the positional arguments array is wrapped as is,
+     * and only calls with keywords or {@code typed=True} build a flattened key array.
+     */
+    abstract static class MakeKeyNode extends PNodeWithContext {
+        abstract Object execute(PLruCacheWrapper self, Object[] args, PKeyword[] keywords);
+
+        @Specialization(guards = {"!self.isTyped()", "keywords.length == 0"})
+        static Object doPositional(@SuppressWarnings("unused") PLruCacheWrapper self, Object[] args, @SuppressWarnings("unused") PKeyword[] keywords,
+                        @Cached ConditionProfile singleArgProfile,
+                        @Cached PyLongCheckExactNode longCheckNode,
+                        @Cached PyUnicodeCheckExactNode unicodeCheckNode,
+                        @Shared("factory") @Cached PythonObjectFactory factory) {
+            if (singleArgProfile.profile(args.length == 1)) {
+                Object arg = args[0];
+                if (longCheckNode.execute(arg) || unicodeCheckNode.execute(arg)) {
+                    return arg;
+                }
+            }
+            return factory.createTuple(args);
+        }
+
+        @Specialization(replaces = "doPositional")
+        static Object doGeneric(PLruCacheWrapper self, Object[] args, PKeyword[] keywords,
+                        @Cached GetClassNode getClassNode,
+                        @Shared("factory") @Cached PythonObjectFactory factory) {
+            int kwSize = keywords.length > 0 ? 1 + 2 * keywords.length : 0;
+            int typedSize = self.isTyped() ? args.length + keywords.length : 0;
+            Object[] key = new Object[args.length + kwSize + typedSize];
+            PythonUtils.arraycopy(args, 0, key, 0, args.length);
+            int idx = args.length;
+            if (kwSize > 0) {
+                key[idx++] = self.getKwdMark();
+                for (PKeyword kw : keywords) {
+                    key[idx++] = kw.getName();
+                    key[idx++] = kw.getValue();
+                }
+            }
+            if (typedSize > 0) {
+                for (Object arg : args) {
+                    key[idx++] = getClassNode.execute(arg);
+                }
+                for (PKeyword kw : keywords) {
+                    key[idx++] = getClassNode.execute(kw.getValue());
+                }
+            }
+            assert idx == key.length;
+            return factory.createTuple(key);
+        }
+    }
+
+    @Builtin(name = J___CALL__, minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true)
+    @GenerateNodeFactory
+    abstract static class LruCacheCallNode extends PythonVarargsBuiltinNode {
+        @Specialization(guards = "self.isUncached()")
+        static Object callUncached(VirtualFrame frame, PLruCacheWrapper self, Object[] args, PKeyword[] keywords,
+                        @Shared("callNode") @Cached CallNode callNode) {
+            self.incrementMisses();
+            return callNode.execute(frame, self.getFunction(), args, keywords);
+        }
+
+        @Specialization(guards = "self.isUnbounded()")
+        static Object callUnbounded(VirtualFrame frame, PLruCacheWrapper self, Object[] args, PKeyword[] keywords,
+                        @Shared("makeKey") @Cached MakeKeyNode makeKeyNode,
+                        @Shared("hashNode") @Cached PyObjectHashNode hashNode,
+                        @Shared("getNode") @Cached ObjectHashMap.GetNode getNode,
+                        @Shared("putNode") @Cached ObjectHashMap.PutNode putNode,
+                        @Shared("callNode") @Cached CallNode callNode,
+                        @Shared("hitProfile") @Cached ConditionProfile hitProfile) {
+            Object key = makeKeyNode.execute(self, args, keywords);
+            long hash = hashNode.execute(frame, key);
+            ThreadState state = PArguments.getThreadState(frame);
+            Object result = getNode.get(state, self.getCache(), key, hash);
+            if (hitProfile.profile(result != null)) {
+                self.incrementHits();
+                return result;
+            }
+            self.incrementMisses();
+            result = callNode.execute(frame, self.getFunction(), args, keywords);
+            putNode.put(state, self.getCache(), key, hash, result);
+            return result;
+        }
+
+        @Specialization(guards = "self.isBounded()")
+        static Object callBounded(VirtualFrame frame, PLruCacheWrapper self, Object[] args, PKeyword[] keywords,
+                        @Shared("makeKey") @Cached MakeKeyNode makeKeyNode,
+                        @Shared("hashNode") @Cached PyObjectHashNode hashNode,
+                        @Shared("getNode") @Cached ObjectHashMap.GetNode getNode,
+                        @Shared("putNode") @Cached ObjectHashMap.PutNode putNode,
+                        @Cached ObjectHashMap.RemoveNode removeNode,
+                        @Shared("callNode") @Cached CallNode callNode,
+                        @Shared("hitProfile") @Cached ConditionProfile hitProfile,
+                        @Cached ConditionProfile addedMeanwhileProfile,
+                        @Cached ConditionProfile fullProfile) {
+            Object key = makeKeyNode.execute(self, args, keywords);
+            long hash = hashNode.execute(frame, key);
+            ThreadState state = PArguments.getThreadState(frame);
+            ObjectHashMap cache = self.getCache();
+            int generation = self.getGeneration();
+            Object slot = getNode.get(state, cache, key, hash);
+            if (hitProfile.profile(slot != null && self.getGeneration() == generation)) {
+                int s = (int) slot;
+                if (!self.isClaimed(s)) {
+                    self.touch(s);
+                }
+                self.incrementHits();
+                return self.getResult(s);
+            }
+            self.incrementMisses();
+            Object result = callNode.execute(frame, self.getFunction(), args, keywords);
+            if (addedMeanwhileProfile.profile(getNode.get(state, cache, key, hash) != null)) {
+                // the wrapped function (or another thread) has cached the same key in the meantime
+                return result;
+            }
+            if (fullProfile.profile(self.isFull())) {
+                // claim the slot before the key comparisons in 'remove' can run Python code
+                int s = self.claimOldestSlot();
+                if (s < 0) {
+                    // all slots are being evicted by re-entrant calls or other threads
+                    return result;
+                }
+                generation = self.getGeneration();
+                try {
+                    removeNode.remove(state, cache, self.getKey(s), self.getHash(s));
+                } catch (PException e) {
+                    if (self.getGeneration() == generation) {
+                        self.unclaimSlot(s);
+                    }
+                    throw e;
+                }
+                if (self.getGeneration() != generation) {
+                    // the cache was cleared in the meantime, the slot is gone
+                    return result;
+                }
+                self.fillClaimedSlot(s, key, hash, result);
+                putNode.put(state, cache, key, hash, s);
+            } else {
+                int s = self.addEntry(key, hash, result);
+                putNode.put(state, cache, key, hash, s);
+            }
+            return result;
+        }
+    }
+
+    @Builtin(name = "cache_info", minNumOfPositionalArgs = 1, doc = "Report cache statistics")
+    @GenerateNodeFactory
+    abstract static class CacheInfoNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object cacheInfo(VirtualFrame frame, PLruCacheWrapper self,
+                        @Cached CallNode callNode) {
+            return callNode.execute(frame, self.getCacheInfoType(), self.getHits(), self.getMisses(), self.getMaxSizeObject(), self.getCurrentSize());
+        }
+    }
+
+    @Builtin(name = "cache_clear", minNumOfPositionalArgs = 1, doc = "Clear the cache and cache statistics")
+    @GenerateNodeFactory
+    abstract static class CacheClearNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object cacheClear(PLruCacheWrapper self) {
+            self.clear();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = J___GET__, minNumOfPositionalArgs = 2, maxNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    @ImportStatic(PGuards.class)
+    abstract static class LruCacheGetNode extends PythonTernaryBuiltinNode {
+        @Specialization(guards = "isNoValue(obj) || isNone(obj)")
+        static Object getFromClass(PLruCacheWrapper self, @SuppressWarnings("unused") Object obj, @SuppressWarnings("unused") Object cls) {
+            return self;
+        }
+
+        @Specialization(guards = {"!isNoValue(obj)", "!isNone(obj)"})
+        Object getFromInstance(PLruCacheWrapper self, Object obj, @SuppressWarnings("unused") Object cls) {
+            return factory().createMethod(obj, self);
+        }
+    }
+
+    @Builtin(name = J___DICT__, minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    @ImportStatic(PGuards.class)
+    abstract static class LruCacheDictNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(mapping)")
+        static Object getDict(PLruCacheWrapper self, @SuppressWarnings("unused") PNone mapping,
+                        @Cached GetOrCreateDictNode getDict) {
+            return getDict.execute(self);
+        }
+
+        @Specialization
+        static Object setDict(PLruCacheWrapper self, PDict mapping,
+                        @Cached SetDictNode setDict) {
+            setDict.execute(self, mapping);
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = {"!isNoValue(mapping)", "!isDict(mapping)"})
+        Object setDict(@SuppressWarnings("unused") PLruCacheWrapper self, Object mapping) {
+            throw raise(TypeError, ErrorMessages.DICT_MUST_BE_SET_TO_DICT, mapping);
+        }
+    }
+
+    @Builtin(name = J___REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class LruCacheReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object reduce(VirtualFrame frame, PLruCacheWrapper self,
+                        @Cached PyObjectGetAttr getAttr) {
+            return getAttr.execute(frame, self, T___QUALNAME__);
+        }
+    }
+
+    @Builtin(name = J___COPY__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class LruCacheCopyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object copy(PLruCacheWrapper self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = J___DEEPCOPY__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LruCacheDeepCopyNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object deepcopy(PLruCacheWrapper self, @SuppressWarnings("unused") Object memo) {
+            return self;
+        }
+    }
+}
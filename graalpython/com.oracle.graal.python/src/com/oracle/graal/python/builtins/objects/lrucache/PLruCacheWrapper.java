@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.lrucache;
+
+import com.oracle.graal.python.builtins.objects.common.ObjectHashMap;
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The object behind {@code functools.lru_cache}. Cached results live in an {@link ObjectHashMap}.
+ * For unbounded caches the map stores the results directly. For bounded caches the map stores an
+ * index into parallel arrays that hold the keys, hashes, results and a circular doubly linked list
+ * in recency order, so that a hit only relinks two ints and eviction reuses the oldest slot.
+ *
+ * The list updates do not call back into Python code, so they are atomic with respect to the GIL.
+ * Other threads and re-entrant calls can only interleave during hashing, key comparison, or the call
+ * to the wrapped function. To stay consistent across those, an eviction first
+ * {@link #claimOldestSlot() claims} the oldest slot before it removes the old key from the map, and
+ * the call sites compare the {@link #getGeneration() generation} to detect a {@link #clear()} in
+ * the meantime.
+ */
+public final class PLruCacheWrapper extends PythonBuiltinObject {
+    /**
+     * Slot 0 is the root of the list: {@code next[ROOT]} is the least and {@code prev[ROOT]} the
+     * most recently used entry.
+     */
+    private static final int ROOT = 0;
+    private static final int INITIAL_SLOTS = 8;
+    private static final int MAX_SLOTS = Integer.MAX_VALUE - 8;
+
+    private final Object function;
+    private final Object maxSizeObject;
+    /** Negative for unbounded caches. */
+    private final int maxSize;
+    private final boolean typed;
+    private final Object cacheInfoType;
+    private final Object kwdMark;
+
+    private final ObjectHashMap cache = new ObjectHashMap();
+    private long hits;
+    private long misses;
+
+    private Object[] keys;
+    private long[] hashes;
+    private Object[] results;
+    private int[] prev;
+    private int[] next;
+    private int used;
+    /** Incremented whenever the slot arrays are reallocated by {@link #clear()}. */
+    private int generation;
+
+    public PLruCacheWrapper(Object cls, Shape instanceShape, Object function, Object maxSizeObject, int maxSize, boolean typed, Object cacheInfoType, Object kwdMark) {
+        super(cls, instanceShape);
+        this.function = function;
+        this.maxSizeObject = maxSizeObject;
+        this.maxSize = Math.min(maxSize, MAX_SLOTS - 1);
+        this.typed = typed;
+        this.cacheInfoType = cacheInfoType;
+        this.kwdMark = kwdMark;
+        if (isBounded()) {
+            allocateSlots();
+        }
+    }
+
+    public Object getFunction() {
+        return function;
+    }
+
+    public Object getMaxSizeObject() {
+        return maxSizeObject;
+    }
+
+    public boolean isUncached() {
+        return maxSize == 0;
+    }
+
+    public boolean isUnbounded() {
+        return maxSize < 0;
+    }
+
+    public boolean isBounded() {
+        return maxSize > 0;
+    }
+
+    public boolean isTyped() {
+        return typed;
+    }
+
+    public Object getCacheInfoType() {
+        return cacheInfoType;
+    }
+
+    public Object getKwdMark() {
+        return kwdMark;
+    }
+
+    public ObjectHashMap getCache() {
+        return cache;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void incrementHits() {
+        hits++;
+    }
+
+    public void incrementMisses() {
+        misses++;
+    }
+
+    public int getCurrentSize() {
+        return cache.size();
+    }
+
+    public void clear() {
+        cache.clear();
+        hits = 0;
+        misses = 0;
+        if (isBounded()) {
+            allocateSlots();
+        }
+    }
+
+    private void allocateSlots() {
+        int length = Math.min(maxSize, INITIAL_SLOTS) + 1;
+        keys = new Object[length];
+        hashes = new long[length];
+        results = new Object[length];
+        prev = new int[length];
+        next = new int[length];
+        used = 0;
+        generation++;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public Object getKey(int slot) {
+        return keys[slot];
+    }
+
+    public long getHash(int slot) {
+        return hashes[slot];
+    }
+
+    public Object getResult(int slot) {
+        return results[slot];
+    }
+
+    public boolean isFull() {
+        return used >= maxSize;
+    }
+
+    /**
+     * Marks the entry in {@code slot} as the most recently used one. The slot must not be
+     * {@link #isClaimed(int) claimed}.
+     */
+    public void touch(int slot) {
+        assert !isClaimed(slot);
+        unlink(slot);
+        linkNewest(slot);
+    }
+
+    /**
+     * Takes the least recently used entry off the list, so that no other eviction can pick the same
+     * slot while its key is being removed from the map. The entry stays readable until the slot is
+     * {@link #fillClaimedSlot filled}. Returns {@code -1} if all entries are already claimed.
+     */
+    public int claimOldestSlot() {
+        int slot = next[ROOT];
+        if (slot == ROOT) {
+            return -1;
+        }
+        unlink(slot);
+        prev[slot] = slot;
+        next[slot] = slot;
+        return slot;
+    }
+
+    /**
+     * Whether {@code slot} has been {@link #claimOldestSlot() claimed} for an eviction that is still
+     * in progress.
+     */
+    public boolean isClaimed(int slot) {
+        return next[slot] == slot;
+    }
+
+    /**
+     * Stores a new entry in a fresh slot and returns it. The cache must not be full.
+     */
+    public int addEntry(Object key, long hash, Object result) {
+        assert !isFull();
+        int slot = used + 1;
+        if (slot == keys.length) {
+            growSlots();
+        }
+        used = slot;
+        setEntry(slot, key, hash, result);
+        linkNewest(slot);
+        return slot;
+    }
+
+    /**
+     * Overwrites the entry in a {@link #claimOldestSlot() claimed} slot and makes it the most
+     * recently used one.
+     */
+    public void fillClaimedSlot(int slot, Object key, long hash, Object result) {
+        assert isClaimed(slot);
+        setEntry(slot, key, hash, result);
+        linkNewest(slot);
+    }
+
+    /**
+     * Puts a {@link #claimOldestSlot() claimed} slot back into the list with its old entry, e.g.
+     * when removing its key from the map failed.
+     */
+    public void unclaimSlot(int slot) {
+        assert isClaimed(slot);
+        linkNewest(slot);
+    }
+
+    private void setEntry(int slot, Object key, long hash, Object result) {
+        keys[slot] = key;
+        hashes[slot] = hash;
+        results[slot] = result;
+    }
+
+    private void unlink(int slot) {
+        next[prev[slot]] = next[slot];
+        prev[next[slot]] = prev[slot];
+    }
+
+    private void linkNewest(int slot) {
+        int last = prev[ROOT];
+        next[last] = slot;
+        prev[slot] = last;
+        next[slot] = ROOT;
+        prev[ROOT] = slot;
+    }
+
+    private void growSlots() {
+        int length = (int) Math.min((long) maxSize + 1, keys.length * 2L);
+        keys = PythonUtils.arrayCopyOf(keys, length);
+        hashes = PythonUtils.arrayCopyOf(hashes, length);
+        results = PythonUtils.arrayCopyOf(results, length);
+        prev = PythonUtils.arrayCopyOf(prev, length);
+        next = PythonUtils.arrayCopyOf(next, length);
+    }
+}
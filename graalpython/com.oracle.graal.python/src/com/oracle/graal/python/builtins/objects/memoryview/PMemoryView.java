@@ -381,7 +381,7 @@ public final class PMemoryView extends PythonBuiltinObject {
     byte readByte(int byteOffset,
                     @Shared("bufferLib") @CachedLibrary(limit = "3") PythonBufferAccessLibrary bufferLib) {
         assert isCContiguous() && !isReleased();
-        return bufferLib.readByte(buffer, byteOffset);
+        return bufferLib.readByte(buffer, offset + byteOffset);
     }
 
     @ExportMessage
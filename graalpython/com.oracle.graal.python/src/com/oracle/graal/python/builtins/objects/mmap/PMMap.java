@@ -50,6 +50,7 @@ import com.oracle.graal.python.nodes.util.CastToJavaIntExactNode;
 import com.oracle.graal.python.runtime.PosixSupportLibrary;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
 import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Exclusive;
 import com.oracle.truffle.api.library.CachedLibrary;
@@ -96,7 +97,7 @@ public final class PMMap extends PythonObject {
         }
     }
 
-    boolean isClosed() {
+    public boolean isClosed() {
         return handle == null;
     }
 
@@ -151,6 +152,64 @@ public final class PMMap extends PythonObject {
         }
     }
 
+    @ExportMessage
+    boolean isReadonly() {
+        return !isWriteable();
+    }
+
+    @ExportMessage
+    void readIntoByteArray(int srcOffset, byte[] dest, int destOffset, int len,
+                    @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                    @Cached BranchProfile gotException,
+                    @Cached PConstructAndRaiseNode raiseNode,
+                    @Cached TruffleString.FromJavaStringNode fromJavaStringNode) {
+        // the mmap read is bulk, but it always fills the destination from its start
+        byte[] buffer = destOffset == 0 ? dest : new byte[len];
+        try {
+            posixLib.mmapReadBytes(PythonContext.get(raiseNode).getPosixSupport(), getPosixSupportHandle(), srcOffset, buffer, len);
+        } catch (PosixException e) {
+            gotException.enter();
+            throw raiseNode.raiseOSError(null, e.getErrorCode(), fromJavaStringNode.execute(e.getMessage(), TS_ENCODING), null, null);
+        }
+        if (buffer != dest) {
+            PythonUtils.arraycopy(buffer, 0, dest, destOffset, len);
+        }
+    }
+
+    @ExportMessage
+    void writeByte(int byteOffset, byte value,
+                    @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                    @Cached BranchProfile gotException,
+                    @Cached PConstructAndRaiseNode raiseNode,
+                    @Cached TruffleString.FromJavaStringNode fromJavaStringNode) {
+        try {
+            posixLib.mmapWriteBytes(PythonContext.get(raiseNode).getPosixSupport(), getPosixSupportHandle(), byteOffset, new byte[]{value}, 1);
+        } catch (PosixException e) {
+            gotException.enter();
+            throw raiseNode.raiseOSError(null, e.getErrorCode(), fromJavaStringNode.execute(e.getMessage(), TS_ENCODING), null, null);
+        }
+    }
+
+    @ExportMessage
+    void writeFromByteArray(int destOffset, byte[] src, int srcOffset, int len,
+                    @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                    @Cached BranchProfile gotException,
+                    @Cached PConstructAndRaiseNode raiseNode,
+                    @Cached TruffleString.FromJavaStringNode fromJavaStringNode) {
+        // the mmap write is bulk, but it always takes the bytes from the start of the source
+        byte[] buffer = src;
+        if (srcOffset != 0) {
+            buffer = new byte[len];
+            PythonUtils.arraycopy(src, srcOffset, buffer, 0, len);
+        }
+        try {
+            posixLib.mmapWriteBytes(PythonContext.get(raiseNode).getPosixSupport(), getPosixSupportHandle(), destOffset, buffer, len);
+        } catch (PosixException e) {
+            gotException.enter();
+            throw raiseNode.raiseOSError(null, e.getErrorCode(), fromJavaStringNode.execute(e.getMessage(), TS_ENCODING), null, null);
+        }
+    }
+
     @ExportMessage
     Object acquire(@SuppressWarnings("unused") int flags) {
         return this;
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.operator;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___CALL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REPR__;
+import static com.oracle.graal.python.nodes.StringLiterals.T_LPAREN;
+import static com.oracle.graal.python.nodes.StringLiterals.T_RPAREN;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.object.ObjectNodes;
+import com.oracle.graal.python.lib.PyObjectGetAttr;
+import com.oracle.graal.python.lib.PyObjectReprAsTruffleStringNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.api.strings.TruffleStringBuilder;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PAttrGetter)
+public class AttrGetterBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return AttrGetterBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = J___CALL__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class AttrGetterCallNode extends PythonBinaryBuiltinNode {
+        static final int MAX_CACHED_NAMES = 32;
+
+        @Specialization(guards = {"isSingleContext()", "self == cachedSelf", "cachedSelf.isSimple()"}, limit = "3")
+        static Object getSimpleCached(VirtualFrame frame, @SuppressWarnings("unused") PAttrGetter self, Object obj,
+                        @SuppressWarnings("unused") @Cached("self") PAttrGetter cachedSelf,
+                        @Cached("self.getChains()[0][0]") TruffleString cachedName,
+                        @Cached PyObjectGetAttr getAttr) {
+            return getAttr.execute(frame, obj, cachedName);
+        }
+
+        @Specialization(guards = {"isSingleContext()", "self == cachedSelf", "!cachedSelf.isSimple()", "countNames(cachedSelf) <= MAX_CACHED_NAMES"}, limit = "3")
+        @ExplodeLoop
+        Object getChainsCached(VirtualFrame frame, @SuppressWarnings("unused") PAttrGetter self, Object obj,
+                        @Cached("self") PAttrGetter cachedSelf,
+                        @Cached("createGetAttrNodes(cachedSelf)") PyObjectGetAttr[] getAttrNodes) {
+            TruffleString[][] chains = cachedSelf.getChains();
+            Object[] result = new Object[chains.length];
+            int nodeIndex = 0;
+            for (int i = 0; i < chains.length; i++) {
+                TruffleString[] chain = chains[i];
+                Object value = obj;
+                for (int j = 0; j < chain.length; j++) {
+                    value = getAttrNodes[nodeIndex++].execute(frame, value, chain[j]);
+                }
+                result[i] = value;
+            }
+            if (chains.length == 1) {
+                return result[0];
+            }
+            return factory().createTuple(result);
+        }
+
+        @Specialization(guards = "self.isSimple()", replaces = "getSimpleCached")
+        static Object getSimple(VirtualFrame frame, PAttrGetter self, Object obj,
+                        @Shared("getAttr") @Cached PyObjectGetAttr getAttr) {
+            return getAttr.execute(frame, obj, self.getChains()[0][0]);
+        }
+
+        @Specialization(guards = "!self.isSimple()", replaces = "getChainsCached")
+        Object getChains(VirtualFrame frame, PAttrGetter self, Object obj,
+                        @Shared("getAttr") @Cached PyObjectGetAttr getAttr) {
+            TruffleString[][] chains = self.getChains();
+            if (chains.length == 1) {
+                return getChain(frame, obj, chains[0], getAttr);
+            }
+            Object[] result = new Object[chains.length];
+            for (int i = 0; i < chains.length; i++) {
+                result[i] = getChain(frame, obj, chains[i], getAttr);
+            }
+            return factory().createTuple(result);
+        }
+
+        private static Object getChain(VirtualFrame frame, Object obj, TruffleString[] chain, PyObjectGetAttr getAttr) {
+            Object value = obj;
+            for (TruffleString name : chain) {
+                value = getAttr.execute(frame, value, name);
+            }
+            return value;
+        }
+
+        static int countNames(PAttrGetter self) {
+            int count = 0;
+            for (TruffleString[] chain : self.getChains()) {
+                count += chain.length;
+            }
+            return count;
+        }
+
+        static PyObjectGetAttr[] createGetAttrNodes(PAttrGetter self) {
+            PyObjectGetAttr[] nodes = new PyObjectGetAttr[countNames(self)];
+            for (int i = 0; i < nodes.length; i++) {
+                nodes[i] = PyObjectGetAttr.create();
+            }
+            return nodes;
+        }
+    }
+
+    @Builtin(name = J___REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class AttrGetterReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString repr(VirtualFrame frame, PAttrGetter self,
+                        @Cached ObjectNodes.GetFullyQualifiedClassNameNode classNameNode,
+                        @Cached PyObjectReprAsTruffleStringNode reprNode,
+                        @Cached TruffleStringBuilder.AppendStringNode appendStringNode,
+                        @Cached TruffleStringBuilder.ToStringNode toStringNode) {
+            TruffleString name = classNameNode.execute(frame, self);
+            PythonContext ctx = PythonContext.get(classNameNode);
+            if (!ctx.reprEnter(self)) {
+                return ItemGetterBuiltins.reprRecursive(name, appendStringNode, toStringNode);
+            }
+            try {
+                TruffleStringBuilder sb = TruffleStringBuilder.create(TS_ENCODING);
+                appendStringNode.execute(sb, name);
+                appendStringNode.execute(sb, T_LPAREN);
+                ItemGetterBuiltins.reprArgs(frame, sb, self.getAttrs(), false, reprNode, appendStringNode);
+                appendStringNode.execute(sb, T_RPAREN);
+                return toStringNode.execute(sb);
+            } finally {
+                ctx.reprLeave(self);
+            }
+        }
+    }
+
+    @Builtin(name = J___REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class AttrGetterReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object reduce(PAttrGetter self,
+                        @Cached GetClassNode getClassNode) {
+            return factory().createTuple(new Object[]{getClassNode.execute(self), factory().createTuple(self.getAttrs())});
+        }
+    }
+}
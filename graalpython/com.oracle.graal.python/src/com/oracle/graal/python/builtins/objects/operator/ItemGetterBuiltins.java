@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.operator;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___CALL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___REPR__;
+import static com.oracle.graal.python.nodes.StringLiterals.T_COMMA_SPACE;
+import static com.oracle.graal.python.nodes.StringLiterals.T_ELLIPSIS;
+import static com.oracle.graal.python.nodes.StringLiterals.T_LPAREN;
+import static com.oracle.graal.python.nodes.StringLiterals.T_RPAREN;
+import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.object.ObjectNodes;
+import com.oracle.graal.python.lib.PyObjectGetItem;
+import com.oracle.graal.python.lib.PyObjectReprAsTruffleStringNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.strings.TruffleString;
+import com.oracle.truffle.api.strings.TruffleStringBuilder;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PItemGetter)
+public class ItemGetterBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return ItemGetterBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = J___CALL__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class ItemGetterCallNode extends PythonBinaryBuiltinNode {
+        static final int MAX_CACHED_ITEMS = 32;
+
+        @Specialization(guards = {"isSingleContext()", "self == cachedSelf", "cachedSelf.isSingle()"}, limit = "3")
+        static Object getSingleCached(VirtualFrame frame, @SuppressWarnings("unused") PItemGetter self, Object obj,
+                        @SuppressWarnings("unused") @Cached("self") PItemGetter cachedSelf,
+                        @Cached("self.getItems()[0]") Object cachedItem,
+                        @Cached PyObjectGetItem getItem) {
+            return getItem.execute(frame, obj, cachedItem);
+        }
+
+        @Specialization(guards = {"isSingleContext()", "self == cachedSelf", "!cachedSelf.isSingle()", "cachedSelf.getItems().length <= MAX_CACHED_ITEMS"}, limit = "3")
+        @ExplodeLoop
+        Object getMultipleCached(VirtualFrame frame, @SuppressWarnings("unused") PItemGetter self, Object obj,
+                        @Cached("self") PItemGetter cachedSelf,
+                        @Cached("createGetItemNodes(cachedSelf)") PyObjectGetItem[] getItemNodes) {
+            Object[] items = cachedSelf.getItems();
+            Object[] result = new Object[items.length];
+            for (int i = 0; i < items.length; i++) {
+                result[i] = getItemNodes[i].execute(frame, obj, items[i]);
+            }
+            return factory().createTuple(result);
+        }
+
+        @Specialization(guards = "self.isSingle()", replaces = "getSingleCached")
+        static Object getSingle(VirtualFrame frame, PItemGetter self, Object obj,
+                        @Shared("getItem") @Cached PyObjectGetItem getItem) {
+            return getItem.execute(frame, obj, self.getItems()[0]);
+        }
+
+        @Specialization(guards = "!self.isSingle()", replaces = "getMultipleCached")
+        Object getMultiple(VirtualFrame frame, PItemGetter self, Object obj,
+                        @Shared("getItem") @Cached PyObjectGetItem getItem) {
+            Object[] items = self.getItems();
+            Object[] result = new Object[items.length];
+            for (int i = 0; i < items.length; i++) {
+                result[i] = getItem.execute(frame, obj, items[i]);
+            }
+            return factory().createTuple(result);
+        }
+
+        static PyObjectGetItem[] createGetItemNodes(PItemGetter self) {
+            PyObjectGetItem[] nodes = new PyObjectGetItem[self.getItems().length];
+            for (int i = 0; i < nodes.length; i++) {
+                nodes[i] = PyObjectGetItem.create();
+            }
+            return nodes;
+        }
+    }
+
+    @Builtin(name = J___REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ItemGetterReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static TruffleString repr(VirtualFrame frame, PItemGetter self,
+                        @Cached ObjectNodes.GetFullyQualifiedClassNameNode classNameNode,
+                        @Cached PyObjectReprAsTruffleStringNode reprNode,
+                        @Cached TruffleStringBuilder.AppendStringNode appendStringNode,
+                        @Cached TruffleStringBuilder.ToStringNode toStringNode) {
+            TruffleString name = classNameNode.execute(frame, self);
+            PythonContext ctx = PythonContext.get(classNameNode);
+            if (!ctx.reprEnter(self)) {
+                return ItemGetterBuiltins.reprRecursive(name, appendStringNode, toStringNode);
+            }
+            try {
+                TruffleStringBuilder sb = TruffleStringBuilder.create(TS_ENCODING);
+                appendStringNode.execute(sb, name);
+                appendStringNode.execute(sb, T_LPAREN);
+                reprArgs(frame, sb, self.getItems(), false, reprNode, appendStringNode);
+                appendStringNode.execute(sb, T_RPAREN);
+                return toStringNode.execute(sb);
+            } finally {
+                ctx.reprLeave(self);
+            }
+        }
+    }
+
+    @Builtin(name = J___REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ItemGetterReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object reduce(PItemGetter self,
+                        @Cached GetClassNode getClassNode) {
+            return factory().createTuple(new Object[]{getClassNode.execute(self), factory().createTuple(self.getItems())});
+        }
+    }
+
+    static TruffleString reprRecursive(TruffleString name, TruffleStringBuilder.AppendStringNode appendStringNode, TruffleStringBuilder.ToStringNode toStringNode) {
+        TruffleStringBuilder sb = TruffleStringBuilder.create(TS_ENCODING);
+        appendStringNode.execute(sb, name);
+        appendStringNode.execute(sb, T_LPAREN);
+        appendStringNode.execute(sb, T_ELLIPSIS);
+        appendStringNode.execute(sb, T_RPAREN);
+        return toStringNode.execute(sb);
+    }
+
+    /**
+     * Appends the reprs of {@code args} separated by commas. If {@code leadingComma} is set, each
+     * repr, including the first one, is prefixed with a comma.
+     */
+    static void reprArgs(VirtualFrame frame, TruffleStringBuilder sb, Object[] args, boolean leadingComma, PyObjectReprAsTruffleStringNode reprNode,
+                    TruffleStringBuilder.AppendStringNode appendStringNode) {
+        for (int i = 0; i < args.length; i++) {
+            if (leadingComma || i > 0) {
+                appendStringNode.execute(sb, T_COMMA_SPACE);
+            }
+            appendStringNode.execute(sb, reprNode.execute(frame, args[i]));
+        }
+    }
+}
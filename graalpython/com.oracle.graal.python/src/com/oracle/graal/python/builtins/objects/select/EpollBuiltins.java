@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.select;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___ENTER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.J___EXIT__;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLIN;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLOUT;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLPRI;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CTL_ADD;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CTL_DEL;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CTL_MOD;
+import static com.oracle.graal.python.runtime.PosixConstants.FD_SETSIZE;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+import static com.oracle.graal.python.util.PythonUtils.tsLiteral;
+import static com.oracle.graal.python.util.TimeUtils.MS_TO_NS;
+import static com.oracle.graal.python.util.TimeUtils.SEC_TO_NS;
+
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.lib.PyLongAsLongNode;
+import com.oracle.graal.python.lib.PyObjectAsFileDescriptor;
+import com.oracle.graal.python.lib.PyTimeFromObjectNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PConstructAndRaiseNode;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.GilNode;
+import com.oracle.graal.python.runtime.PosixSupportLibrary;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
+import com.oracle.graal.python.util.TimeUtils;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.strings.TruffleString;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PEpoll)
+public class EpollBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return EpollBuiltinsFactory.getFactories();
+    }
+
+    static int getOpenEpfd(PNodeWithRaise node, PEpoll self) {
+        if (self.isClosed()) {
+            throw node.raise(ValueError, ErrorMessages.IO_OPERATION_ON_CLOSED_EPOLL);
+        }
+        return self.getEpfd();
+    }
+
+    /**
+     * Performs {@code epoll_ctl} on behalf of {@code register}, {@code modify} and
+     * {@code unregister}. The event mask is an unsigned int converted bitwise, like in CPython.
+     */
+    abstract static class EpollCtlNode extends PNodeWithRaise {
+        abstract void execute(VirtualFrame frame, PEpoll self, int op, Object fdObj, Object maskObj);
+
+        @Specialization
+        void doIt(VirtualFrame frame, PEpoll self, int op, Object fdObj, Object maskObj,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                        @Cached PyObjectAsFileDescriptor asFileDescriptor,
+                        @Cached PyLongAsLongNode asLongNode,
+                        @Cached PConstructAndRaiseNode constructAndRaiseNode,
+                        @Cached GilNode gil) {
+            int epfd = getOpenEpfd(this, self);
+            int fd = asFileDescriptor.execute(frame, fdObj);
+            int mask = 0;
+            if (op != EPOLL_CTL_DEL.getValueIfDefined()) {
+                if (PGuards.isNoValue(maskObj)) {
+                    mask = EPOLLIN.getValueIfDefined() | EPOLLPRI.getValueIfDefined() | EPOLLOUT.getValueIfDefined();
+                } else {
+                    mask = (int) asLongNode.execute(frame, maskObj);
+                }
+            }
+            Object posixSupport = getContext().getPosixSupport();
+            try {
+                gil.release(true);
+                try {
+                    posixLib.epollCtl(posixSupport, epfd, op, fd, mask);
+                } finally {
+                    gil.acquire();
+                }
+            } catch (PosixException e) {
+                throw constructAndRaiseNode.raiseOSError(frame, e.getErrorCode(), e.getMessageAsTruffleString(), null, null);
+            }
+        }
+    }
+
+    @Builtin(name = "register", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd", "eventmask"})
+    @GenerateNodeFactory
+    abstract static class RegisterNode extends PythonBuiltinNode {
+        @Specialization
+        Object register(VirtualFrame frame, PEpoll self, Object fd, Object eventmask,
+                        @Cached EpollCtlNode ctlNode) {
+            ctlNode.execute(frame, self, EPOLL_CTL_ADD.getValueIfDefined(), fd, eventmask);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "modify", minNumOfPositionalArgs = 3, parameterNames = {"$self", "fd", "eventmask"})
+    @GenerateNodeFactory
+    abstract static class ModifyNode extends PythonBuiltinNode {
+        @Specialization
+        Object modify(VirtualFrame frame, PEpoll self, Object fd, Object eventmask,
+                        @Cached EpollCtlNode ctlNode) {
+            ctlNode.execute(frame, self, EPOLL_CTL_MOD.getValueIfDefined(), fd, eventmask);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "unregister", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd"})
+    @GenerateNodeFactory
+    abstract static class UnregisterNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object unregister(VirtualFrame frame, PEpoll self, Object fd,
+                        @Cached EpollCtlNode ctlNode) {
+            ctlNode.execute(frame, self, EPOLL_CTL_DEL.getValueIfDefined(), fd, PNone.NO_VALUE);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "poll", minNumOfPositionalArgs = 1, parameterNames = {"$self", "timeout", "maxevents"})
+    @ArgumentClinic(name = "maxevents", conversion = ArgumentClinic.ClinicConversion.Int, defaultValue = "-1")
+    @GenerateNodeFactory
+    abstract static class PollNode extends PythonTernaryClinicBuiltinNode {
+        @Specialization
+        PList poll(VirtualFrame frame, PEpoll self, Object timeoutObj, int maxeventsIn,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib,
+                        @Cached PyTimeFromObjectNode pyTimeFromObjectNode,
+                        @Cached GilNode gil) {
+            int epfd = getOpenEpfd(this, self);
+            int timeoutMs = convertTimeout(frame, timeoutObj, pyTimeFromObjectNode);
+            int maxevents = maxeventsIn;
+            if (maxevents == -1) {
+                maxevents = FD_SETSIZE.value - 1;
+            } else if (maxevents < 1) {
+                throw raise(ValueError, ErrorMessages.MAXEVENTS_MUST_BE_GREATER_THAN_ZERO, maxevents);
+            }
+            int[] fds = new int[maxevents];
+            int[] events = new int[maxevents];
+            int count;
+            try {
+                gil.release(true);
+                try {
+                    count = posixLib.epollWait(getPosixSupport(), epfd, fds, events, timeoutMs);
+                } finally {
+                    gil.acquire();
+                }
+            } catch (PosixException e) {
+                throw raiseOSErrorFromPosixException(frame, e);
+            }
+            Object[] result = new Object[count];
+            for (int i = 0; i < count; i++) {
+                // the event mask is unsigned, EPOLLET occupies the sign bit
+                Object mask = events[i] >= 0 ? (Object) events[i] : (Object) Integer.toUnsignedLong(events[i]);
+                result[i] = factory().createTuple(new Object[]{fds[i], mask});
+            }
+            return factory().createList(result);
+        }
+
+        private int convertTimeout(VirtualFrame frame, Object timeoutObj, PyTimeFromObjectNode pyTimeFromObjectNode) {
+            if (PGuards.isPNone(timeoutObj)) {
+                return -1;
+            }
+            long ms = TimeUtils.pyTimeDivide(pyTimeFromObjectNode.execute(frame, timeoutObj, SEC_TO_NS), MS_TO_NS);
+            if (ms < 0) {
+                return -1;
+            }
+            if (ms > Integer.MAX_VALUE) {
+                throw raise(OverflowError, ErrorMessages.TIMEOUT_IS_TOO_LARGE);
+            }
+            return (int) ms;
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return EpollBuiltinsClinicProviders.PollNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "close", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CloseNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object close(VirtualFrame frame, PEpoll self,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib,
+                        @Cached GilNode gil) {
+            if (!self.isClosed()) {
+                int epfd = self.getEpfd();
+                self.setClosed();
+                try {
+                    gil.release(true);
+                    try {
+                        posixLib.close(getPosixSupport(), epfd);
+                    } finally {
+                        gil.acquire();
+                    }
+                } catch (PosixException e) {
+                    throw raiseOSErrorFromPosixException(frame, e);
+                }
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "closed", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ClosedNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean closed(PEpoll self) {
+            return self.isClosed();
+        }
+    }
+
+    @Builtin(name = "fileno", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class FilenoNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        int fileno(PEpoll self) {
+            return getOpenEpfd(this, self);
+        }
+    }
+
+    @Builtin(name = "fromfd", minNumOfPositionalArgs = 2, parameterNames = {"$cls", "fd"}, isClassmethod = true)
+    @GenerateNodeFactory
+    abstract static class FromFdNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PEpoll fromfd(VirtualFrame frame, Object cls, Object fdObj,
+                        @Cached PyObjectAsFileDescriptor asFileDescriptor) {
+            return factory().createEpoll(cls, asFileDescriptor.execute(frame, fdObj));
+        }
+    }
+
+    @Builtin(name = J___ENTER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class EnterNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PEpoll enter(PEpoll self) {
+            getOpenEpfd(this, self);
+            return self;
+        }
+    }
+
+    @Builtin(name = J___EXIT__, minNumOfPositionalArgs = 4)
+    @GenerateNodeFactory
+    abstract static class ExitNode extends PythonBuiltinNode {
+        protected static final TruffleString T_CLOSE = tsLiteral("close");
+
+        @Specialization
+        static Object exit(VirtualFrame frame, PEpoll self, @SuppressWarnings("unused") Object type, @SuppressWarnings("unused") Object value, @SuppressWarnings("unused") Object traceback,
+                        @Cached("create(T_CLOSE)") LookupAndCallUnaryNode callCloseNode) {
+            return callCloseNode.executeObject(frame, self);
+        }
+    }
+}
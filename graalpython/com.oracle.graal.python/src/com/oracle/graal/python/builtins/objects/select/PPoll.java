@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.select;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The {@code select.poll} object. The registered file descriptors are kept in insertion order like
+ * in CPython and handed to {@code PosixSupportLibrary#poll} as arrays, which are cached until the
+ * registrations change.
+ */
+public final class PPoll extends PythonBuiltinObject {
+    private final LinkedHashMap<Integer, Integer> registrations = new LinkedHashMap<>();
+    private int[] fds;
+    private int[] events;
+    private boolean polling;
+
+    public PPoll(Object cls, Shape instanceShape) {
+        super(cls, instanceShape);
+    }
+
+    @TruffleBoundary
+    public void register(int fd, int eventMask) {
+        registrations.put(fd, eventMask);
+        fds = null;
+    }
+
+    @TruffleBoundary
+    public boolean isRegistered(int fd) {
+        return registrations.containsKey(fd);
+    }
+
+    @TruffleBoundary
+    public boolean unregister(int fd) {
+        if (registrations.remove(fd) == null) {
+            return false;
+        }
+        fds = null;
+        return true;
+    }
+
+    public int[] getFds() {
+        if (fds == null) {
+            createArrays();
+        }
+        return fds;
+    }
+
+    public int[] getEvents() {
+        if (fds == null) {
+            createArrays();
+        }
+        return events;
+    }
+
+    @TruffleBoundary
+    private void createArrays() {
+        int[] newFds = new int[registrations.size()];
+        int[] newEvents = new int[newFds.length];
+        int i = 0;
+        for (Map.Entry<Integer, Integer> entry : registrations.entrySet()) {
+            newFds[i] = entry.getKey();
+            newEvents[i] = entry.getValue();
+            i++;
+        }
+        events = newEvents;
+        fds = newFds;
+    }
+
+    public boolean isPolling() {
+        return polling;
+    }
+
+    public void setPolling(boolean polling) {
+        this.polling = polling;
+    }
+}
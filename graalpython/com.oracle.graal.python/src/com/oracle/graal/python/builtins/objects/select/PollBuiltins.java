@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.select;
+
+import static com.oracle.graal.python.runtime.PosixConstants.POLLIN;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLOUT;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLPRI;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.KeyError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.RuntimeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+import static com.oracle.graal.python.util.TimeUtils.MS_TO_NS;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.lib.PyLongAsIntNode;
+import com.oracle.graal.python.lib.PyObjectAsFileDescriptor;
+import com.oracle.graal.python.lib.PyTimeFromObjectNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.runtime.GilNode;
+import com.oracle.graal.python.runtime.PosixSupportLibrary;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.graal.python.util.TimeUtils;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.Frame;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PPoll)
+public class PollBuiltins extends PythonBuiltins {
+
+    private static final int USHRT_MAX = 0xFFFF;
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return PollBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Equivalent of CPython's {@code _PyLong_UnsignedShort_Converter} used for the event masks.
+     */
+    abstract static class EventMaskNode extends PNodeWithRaise {
+        abstract int execute(Frame frame, Object mask);
+
+        @Specialization
+        int doIt(Frame frame, Object mask,
+                        @Cached PyLongAsIntNode asIntNode) {
+            int value = asIntNode.execute(frame, mask);
+            if (value < 0) {
+                throw raise(ValueError, ErrorMessages.VALUE_MUST_BE_POSITIVE);
+            }
+            if (value > USHRT_MAX) {
+                throw raise(OverflowError, ErrorMessages.PYTHON_INT_TOO_LARGE_TO_CONV_TO, "C unsigned short");
+            }
+            return value;
+        }
+    }
+
+    @Builtin(name = "register", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd", "eventmask"})
+    @GenerateNodeFactory
+    abstract static class RegisterNode extends PythonBuiltinNode {
+        @Specialization
+        Object register(VirtualFrame frame, PPoll self, Object fdObj, Object maskObj,
+                        @Cached PyObjectAsFileDescriptor asFileDescriptor,
+                        @Cached EventMaskNode eventMaskNode) {
+            int fd = asFileDescriptor.execute(frame, fdObj);
+            int mask;
+            if (PGuards.isNoValue(maskObj)) {
+                mask = POLLIN.value | POLLPRI.value | POLLOUT.value;
+            } else {
+                mask = eventMaskNode.execute(frame, maskObj);
+            }
+            self.register(fd, mask);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "modify", minNumOfPositionalArgs = 3, parameterNames = {"$self", "fd", "eventmask"})
+    @GenerateNodeFactory
+    abstract static class ModifyNode extends PythonBuiltinNode {
+        @Specialization
+        Object modify(VirtualFrame frame, PPoll self, Object fdObj, Object maskObj,
+                        @Cached PyObjectAsFileDescriptor asFileDescriptor,
+                        @Cached EventMaskNode eventMaskNode) {
+            int fd = asFileDescriptor.execute(frame, fdObj);
+            int mask = eventMaskNode.execute(frame, maskObj);
+            if (!self.isRegistered(fd)) {
+                throw raiseOSError(frame, OSErrorEnum.ENOENT);
+            }
+            self.register(fd, mask);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "unregister", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd"})
+    @GenerateNodeFactory
+    abstract static class UnregisterNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object unregister(VirtualFrame frame, PPoll self, Object fdObj,
+                        @Cached PyObjectAsFileDescriptor asFileDescriptor) {
+            int fd = asFileDescriptor.execute(frame, fdObj);
+            if (!self.unregister(fd)) {
+                throw raise(KeyError, new Object[]{fdObj});
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "poll", minNumOfPositionalArgs = 1, parameterNames = {"$self", "timeout"})
+    @GenerateNodeFactory
+    abstract static class PollNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PList poll(VirtualFrame frame, PPoll self, Object timeoutObj,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib,
+                        @Cached PyTimeFromObjectNode pyTimeFromObjectNode,
+                        @Cached GilNode gil) {
+            int timeoutMs = convertTimeout(frame, timeoutObj, pyTimeFromObjectNode);
+            if (self.isPolling()) {
+                throw raise(RuntimeError, ErrorMessages.CONCURRENT_POLL_INVOCATION);
+            }
+            int[] fds = self.getFds();
+            int[] events = self.getEvents();
+            int[] revents = new int[fds.length];
+            int count;
+            self.setPolling(true);
+            try {
+                gil.release(true);
+                try {
+                    count = posixLib.poll(getPosixSupport(), fds, events, revents, timeoutMs);
+                } finally {
+                    gil.acquire();
+                }
+            } catch (PosixException e) {
+                throw raiseOSErrorFromPosixException(frame, e);
+            } finally {
+                self.setPolling(false);
+            }
+            Object[] result = new Object[count];
+            int resultIdx = 0;
+            for (int i = 0; i < fds.length && resultIdx < count; i++) {
+                if (revents[i] != 0) {
+                    result[resultIdx++] = factory().createTuple(new Object[]{fds[i], revents[i] & USHRT_MAX});
+                }
+            }
+            return factory().createList(PythonUtils.arrayCopyOf(result, resultIdx));
+        }
+
+        private int convertTimeout(VirtualFrame frame, Object timeoutObj, PyTimeFromObjectNode pyTimeFromObjectNode) {
+            if (PGuards.isPNone(timeoutObj)) {
+                return -1;
+            }
+            long ms = TimeUtils.pyTimeDivide(pyTimeFromObjectNode.execute(frame, timeoutObj, MS_TO_NS), MS_TO_NS);
+            if (ms < 0) {
+                return -1;
+            }
+            if (ms > Integer.MAX_VALUE) {
+                throw raise(OverflowError, ErrorMessages.TIMEOUT_IS_TOO_LARGE);
+            }
+            return (int) ms;
+        }
+    }
+}
@@ -46,6 +46,7 @@ import static com.oracle.graal.python.util.PythonUtils.TS_ENCODING;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.oracle.graal.python.PythonLanguage;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.common.HashingStorage;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
@@ -56,6 +57,9 @@ import com.oracle.graal.python.builtins.objects.type.SpecialMethodSlot;
 import com.oracle.graal.python.nodes.PGuards;
 import com.oracle.graal.python.nodes.attributes.LookupCallableSlotInMRONode;
 import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.runtime.AsyncHandler.AsyncAction;
+import com.oracle.graal.python.runtime.AsyncHandler.SharedFinalizer.FinalizableReference;
+import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
@@ -72,25 +76,28 @@ import com.oracle.truffle.api.strings.TruffleString;
 @ExportLibrary(InteropLibrary.class)
 @ImportStatic(SpecialMethodSlot.class)
 public final class PThreadLocal extends PythonBuiltinObject {
-    private final ThreadLocal<PDict> threadLocalDict;
+    /**
+     * The index of this object's dict in {@link PythonContext.PythonThreadState}. It is released
+     * when this object is collected.
+     */
+    private final int index;
     private final Object[] args;
     private final PKeyword[] keywords;
 
-    public PThreadLocal(Object cls, Shape instanceShape, Object[] args, PKeyword[] keywords) {
+    public PThreadLocal(Object cls, Shape instanceShape, Object[] args, PKeyword[] keywords, int index) {
         super(cls, instanceShape);
-        threadLocalDict = new ThreadLocal<>();
+        this.index = index;
         this.args = args;
         this.keywords = keywords;
     }
 
-    @TruffleBoundary
-    public PDict getThreadLocalDict() {
-        return threadLocalDict.get();
+    public int getIndex() {
+        return index;
     }
 
     @TruffleBoundary
-    public void setThreadLocalDict(PDict dict) {
-        threadLocalDict.set(dict);
+    public PDict getThreadLocalDict() {
+        return PythonContext.get(null).getThreadState(PythonLanguage.get(null)).getThreadLocalDict(index);
     }
 
     public Object[] getArgs() {
@@ -185,4 +192,21 @@ public final class PThreadLocal extends PythonBuiltinObject {
         Object attr = readMember(member, hlib, fromJavaStringNode);
         return attr != null && lookupSet.execute(getClassNode.execute(attr)) != PNone.NO_VALUE;
     }
+
+    /**
+     * Releases the index of a collected {@link PThreadLocal}. The dicts that threads still hold for
+     * it are dropped before the index is reused.
+     */
+    public static final class IndexReference extends FinalizableReference {
+        public IndexReference(PThreadLocal referent, PythonContext context) {
+            super(referent, referent.index, context.getSharedFinalizer());
+        }
+
+        @Override
+        public AsyncAction release() {
+            markReleased();
+            int releasedIndex = (int) getReference();
+            return context -> context.releaseThreadLocalIndex(releasedIndex);
+        }
+    }
 }
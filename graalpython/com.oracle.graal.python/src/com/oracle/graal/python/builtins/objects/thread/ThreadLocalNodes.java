@@ -40,15 +40,20 @@
  */
 package com.oracle.graal.python.builtins.objects.thread;
 
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.objects.common.DynamicObjectStorage;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.lib.PyObjectLookupAttr;
 import com.oracle.graal.python.nodes.PNodeWithContext;
 import com.oracle.graal.python.nodes.SpecialMethodNames;
 import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.runtime.PythonContext.GetThreadStateNode;
+import com.oracle.graal.python.runtime.PythonContext.PythonThreadState;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 
 public abstract class ThreadLocalNodes {
 
@@ -57,13 +62,20 @@ public abstract class ThreadLocalNodes {
 
         @Specialization
         PDict get(VirtualFrame frame, PThreadLocal self,
+                        @Cached GetThreadStateNode getThreadStateNode,
+                        @Cached ConditionProfile createProfile,
                         @Cached PythonObjectFactory factory,
                         @Cached PyObjectLookupAttr lookup,
                         @Cached CallNode callNode) {
-            PDict dict = self.getThreadLocalDict();
-            if (dict == null) {
-                dict = factory.createDict();
-                self.setThreadLocalDict(dict);
+            PythonThreadState threadState = getThreadStateNode.execute(getContext());
+            PDict dict = threadState.getThreadLocalDict(self.getIndex());
+            if (createProfile.profile(dict == null)) {
+                /*
+                 * All dicts start with the empty shape, so the attribute accesses of the same
+                 * local object from different threads share their inline caches.
+                 */
+                dict = factory.createDict(new DynamicObjectStorage(PythonLanguage.get(this)));
+                threadState.setThreadLocalDict(self.getIndex(), dict);
                 Object initMethod = lookup.execute(frame, self, SpecialMethodNames.T___INIT__);
                 callNode.execute(frame, initMethod, self.getArgs(), self.getKeywords());
             }
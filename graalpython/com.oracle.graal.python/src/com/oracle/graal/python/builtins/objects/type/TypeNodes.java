@@ -280,6 +280,9 @@ public abstract class TypeNodes {
                 case WrapperDescriptor:
                     result = DEFAULT | HAVE_GC | METHOD_DESCRIPTOR;
                     break;
+                case PLruCacheWrapper:
+                    result = DEFAULT | HAVE_GC | BASETYPE | METHOD_DESCRIPTOR;
+                    break;
                 case PMethod:
                 case PBuiltinFunctionOrMethod:
                 case MethodWrapper:
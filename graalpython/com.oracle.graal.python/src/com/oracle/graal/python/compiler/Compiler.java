@@ -194,7 +194,7 @@ import com.oracle.truffle.api.strings.TruffleString;
  * Compiler for bytecode interpreter.
  */
 public class Compiler implements SSTreeVisitor<Void> {
-    public static final int BYTECODE_VERSION = 26;
+    public static final int BYTECODE_VERSION = 27;
 
     private final ErrorCallback errorCallback;
 
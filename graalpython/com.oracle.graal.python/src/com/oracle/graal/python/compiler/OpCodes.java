@@ -747,6 +747,8 @@ public enum OpCodes {
     UNARY_OP_O_O(UNARY_OP, QuickeningTypes.OBJECT, QuickeningTypes.OBJECT),
     UNARY_OP_I_O(UNARY_OP, QuickeningTypes.INT, QuickeningTypes.OBJECT),
     UNARY_OP_I_I(UNARY_OP, QuickeningTypes.INT, QuickeningTypes.INT, UNARY_OP_I_O),
+    UNARY_OP_L_O(UNARY_OP, QuickeningTypes.LONG, QuickeningTypes.OBJECT),
+    UNARY_OP_L_L(UNARY_OP, QuickeningTypes.LONG, QuickeningTypes.LONG, UNARY_OP_L_O),
     UNARY_OP_D_O(UNARY_OP, QuickeningTypes.DOUBLE, QuickeningTypes.OBJECT),
     UNARY_OP_D_D(UNARY_OP, QuickeningTypes.DOUBLE, QuickeningTypes.DOUBLE, UNARY_OP_D_O),
     UNARY_OP_B_O(UNARY_OP, QuickeningTypes.BOOLEAN, QuickeningTypes.OBJECT),
@@ -755,11 +757,19 @@ public enum OpCodes {
     BINARY_OP_II_O(BINARY_OP, QuickeningTypes.INT, QuickeningTypes.OBJECT),
     BINARY_OP_II_I(BINARY_OP, QuickeningTypes.INT, QuickeningTypes.INT, BINARY_OP_II_O),
     BINARY_OP_II_B(BINARY_OP, QuickeningTypes.INT, QuickeningTypes.BOOLEAN, BINARY_OP_II_O),
+    /*
+     * The LL variants accept a mix of int and long inputs, at least one of them is a long when
+     * quickened from the generic opcode.
+     */
+    BINARY_OP_LL_O(BINARY_OP, QuickeningTypes.LONG, QuickeningTypes.OBJECT),
+    BINARY_OP_LL_L(BINARY_OP, QuickeningTypes.LONG, QuickeningTypes.LONG, BINARY_OP_LL_O),
+    BINARY_OP_LL_B(BINARY_OP, QuickeningTypes.LONG, QuickeningTypes.BOOLEAN, BINARY_OP_LL_O),
     BINARY_OP_DD_O(BINARY_OP, QuickeningTypes.DOUBLE, QuickeningTypes.OBJECT),
     BINARY_OP_DD_D(BINARY_OP, QuickeningTypes.DOUBLE, QuickeningTypes.DOUBLE, BINARY_OP_DD_O),
     BINARY_OP_DD_B(BINARY_OP, QuickeningTypes.DOUBLE, QuickeningTypes.BOOLEAN, BINARY_OP_DD_O),
     FOR_ITER_O(FOR_ITER, 0, QuickeningTypes.OBJECT),
     FOR_ITER_I(FOR_ITER, 0, QuickeningTypes.INT, FOR_ITER_O),
+    FOR_ITER_L(FOR_ITER, 0, QuickeningTypes.LONG, FOR_ITER_O),
     BINARY_SUBSCR_SEQ_O_O(BINARY_SUBSCR, QuickeningTypes.OBJECT, QuickeningTypes.OBJECT),
     BINARY_SUBSCR_SEQ_I_O(BINARY_SUBSCR, QuickeningTypes.INT, QuickeningTypes.OBJECT),
     BINARY_SUBSCR_SEQ_I_I(BINARY_SUBSCR, QuickeningTypes.INT, QuickeningTypes.INT, BINARY_SUBSCR_SEQ_I_O),
@@ -775,7 +785,17 @@ public enum OpCodes {
     POP_AND_JUMP_IF_FALSE_O(POP_AND_JUMP_IF_FALSE, QuickeningTypes.OBJECT, 0),
     POP_AND_JUMP_IF_FALSE_B(POP_AND_JUMP_IF_FALSE, QuickeningTypes.BOOLEAN, 0, POP_AND_JUMP_IF_FALSE_O),
     POP_AND_JUMP_IF_TRUE_O(POP_AND_JUMP_IF_TRUE, QuickeningTypes.OBJECT, 0),
-    POP_AND_JUMP_IF_TRUE_B(POP_AND_JUMP_IF_TRUE, QuickeningTypes.BOOLEAN, 0, POP_AND_JUMP_IF_TRUE_O);
+    POP_AND_JUMP_IF_TRUE_B(POP_AND_JUMP_IF_TRUE, QuickeningTypes.BOOLEAN, 0, POP_AND_JUMP_IF_TRUE_O),
+    /*
+     * Attribute access variants don't participate in the type quickening, they are rewritten at
+     * runtime depending on the shape of the receiver. The SHAPE variants generalize to the O ones.
+     */
+    LOAD_ATTR_O(LOAD_ATTR, 0, 0),
+    LOAD_ATTR_SHAPE(LOAD_ATTR, 0, 0, LOAD_ATTR_O),
+    LOAD_METHOD_O(LOAD_METHOD, 0, 0),
+    LOAD_METHOD_SHAPE(LOAD_METHOD, 0, 0, LOAD_METHOD_O),
+    STORE_ATTR_O(STORE_ATTR, 0, 0),
+    STORE_ATTR_SHAPE(STORE_ATTR, 0, 0, STORE_ATTR_O);
 
     public static final class CollectionBits {
         public static final int KIND_MASK = 0b00011111;
@@ -127,10 +127,14 @@ public abstract class BuiltinNames {
 
     public static final String J_DEFAULTDICT = "defaultdict";
 
+    public static final String J_ORDERED_DICT = "OrderedDict";
+
     public static final String J_PARTIAL = "partial";
 
     public static final String J_TUPLE_GETTER = "_tuplegetter";
 
+    public static final String J_COUNT_ELEMENTS = "_count_elements";
+
     public static final String J_DEQUE = "deque";
     public static final TruffleString T_DEQUE = tsLiteral(J_DEQUE);
 
@@ -387,6 +391,18 @@ public abstract class BuiltinNames {
     public static final String J__STRUCT = "_struct";
     public static final TruffleString T__STRUCT = tsLiteral(J__STRUCT);
 
+    public static final String J__PICKLE = "_pickle";
+    public static final TruffleString T__PICKLE = tsLiteral(J__PICKLE);
+
+    public static final String J__HEAPQ = "_heapq";
+
+    public static final String J__BISECT = "_bisect";
+
+    public static final String J__DATETIME = "_datetime";
+
+    public static final String J__DECIMAL = "_decimal";
+    public static final TruffleString T__DECIMAL = tsLiteral(J__DECIMAL);
+
     public static final String J_ENDSWITH = "endswith";
     public static final TruffleString T_ENDSWITH = tsLiteral(J_ENDSWITH);
 
@@ -97,6 +97,7 @@ public abstract class ErrorMessages {
     public static final TruffleString ATTEMPTED_RELATIVE_IMPORT_BEYOND_TOPLEVEL = tsLiteral("attempted relative import beyond top-level package");
     public static final TruffleString KEY_IN_S_MUST_BE_STRING = tsLiteral("Key in %s.%s must be str, not %p");
     public static final TruffleString ITEM_IN_S_MUST_BE_STRING = tsLiteral("Item in %s.%s must be str, not %p");
+    public static final TruffleString ATTRIBUTE_NAME_MUST_BE_A_STRING = tsLiteral("attribute name must be a string");
     public static final TruffleString ATTR_NAME_MUST_BE_STRING = tsLiteral("attribute name must be string, not '%p'");
     public static final TruffleString S_MUST_BE_STRING_NOT_S = tsLiteral("\"%s\" must be string, not %.200s");
     public static final TruffleString ATTR_S_OF_S_IS_NOT_READABLE = tsLiteral("attribute %s of %s objects is not readable");
@@ -364,6 +365,7 @@ public abstract class ErrorMessages {
     public static final TruffleString HOST_LOOKUP_NOT_ALLOWED = tsLiteral("host lookup is not allowed");
     public static final TruffleString HOST_SYM_NOT_DEFINED = tsLiteral("host symbol %s is not defined or access has been denied");
     public static final TruffleString IDN_ENC_FAILED = tsLiteral("IDN encoding failed: %s");
+    public static final TruffleString IDS_EXHAUSTED = tsLiteral("no more object ids available");
     public static final TruffleString IF_YOU_GIVE_ONLY_ONE_ARG_TO_DICT = tsLiteral("if you give only one argument to maketrans it must be a dict");
     public static final TruffleString INVALID_INDEXING_OF_0_DIM_MEMORY = tsLiteral("invalid indexing of 0-dim memory");
     public static final TruffleString INVALID_BASE64_ENCODED_STRING = tsLiteral("Invalid base64-encoded string: number of data characters (1) cannot be 1 more than a multiple of 4");
@@ -489,6 +491,7 @@ public abstract class ErrorMessages {
     public static final TruffleString MATCH_SINGLETON_CAN_ONLY_CONTAIN_TRUE_FALSE_AND_NONE = tsLiteral("MatchSingleton can only contain True, False and None");
     public static final TruffleString MATH_DOMAIN_ERROR = tsLiteral("math domain error");
     public static final TruffleString MATH_RANGE_ERROR = tsLiteral("math range error");
+    public static final TruffleString MAXSIZE_SHOULD_BE_INTEGER_OR_NONE = tsLiteral("maxsize should be integer or None");
     public static final TruffleString MAX_MARSHAL_STACK_DEPTH = tsLiteral("Maximum marshal stack depth");
     public static final TruffleString M = tsLiteral("%m");
     public static final TruffleString MEMORYVIEW_INVALID_SLICE_KEY = tsLiteral("memoryview: invalid slice key");
@@ -509,6 +512,8 @@ public abstract class ErrorMessages {
     public static final TruffleString MEMORYVIEW_HAS_D_EXPORTED_BUFFERS = tsLiteral("memoryview has %d exported buffers");
     public static final TruffleString MEMORYVIEW_FORMAT_S_NOT_SUPPORTED = tsLiteral("memoryview: format %s not supported");
     public static final TruffleString METACLASS_CONFLICT = tsLiteral("metaclass conflict: the metaclass of a derived class must be a (non-strict) subclass of the metaclasses of all its bases");
+    public static final TruffleString METHODCALLER_NEEDS_AT_LEAST_ONE_ARGUMENT = tsLiteral("methodcaller needs at least one argument, the method name");
+    public static final TruffleString METHOD_NAME_MUST_BE_A_STRING = tsLiteral("method name must be a string");
     public static final TruffleString METHOD_NAME_MUST_BE = tsLiteral("method name must be string, not %p");
     public static final TruffleString MISSING_D_REQUIRED_S_ARGUMENT_S_POS = tsLiteral("%s() missing required argument '%s' (pos %d)");
     public static final TruffleString MISSING_D_REQUIRED_S_ARGUMENT_S_S = tsLiteral("%s() missing %d required %s argument%s: '%s'");
@@ -860,6 +865,7 @@ public abstract class ErrorMessages {
     public static final TruffleString TYPE_S_TAKES_AT_LEAST_ONE_ARGUMENT = tsLiteral("type '%s' takes at least one argument");
     public static final TruffleString S_TAKES_AT_LEAST_D_ARGUMENTS_D_GIVEN = tsLiteral("%s() takes at least %d arguments (%d given)");
     public static final TruffleString S_TAKES_AT_MOST_D_ARGUMENTS_D_GIVEN = tsLiteral("%s() takes at most %d arguments (%d given)");
+    public static final TruffleString S_TAKES_AT_MOST_ONE_POSITIONAL_ARGUMENT_D_GIVEN = tsLiteral("%s() takes at most 1 positional argument (%d given)");
     public static final TruffleString S_TAKES_AT_MOST_ONE_KEYWORD_ARGUMENT_D_GIVEN = tsLiteral("%s() takes at most 1 keyword argument (%d given)");
     public static final TruffleString S_CONSTRUCTOR_TAKES_AT_MOST_D_POSITIONAL_ARGUMENT_S = tsLiteral("%p constructor takes at most %d positional argument%s");
     public static final TruffleString P_GOT_MULTIPLE_VALUES_FOR_ARGUMENT_S = tsLiteral("%p got multiple values for argument '%s'");
@@ -938,6 +944,7 @@ public abstract class ErrorMessages {
     public static final TruffleString MESSAGE_LENGTH_ARGUMENT = tsLiteral("length argument must be non-negative");
     public static final TruffleString MESSAGE_CONVERT_NEGATIVE = tsLiteral("can't convert negative int to unsigned");
     public static final TruffleString NOT_IN_LIST_MESSAGE = tsLiteral("list.index(x): x not in list");
+    public static final TruffleString NOT_IN_SEQUENCE_MESSAGE = tsLiteral("sequence.index(x): x not in sequence");
     public static final TruffleString LIST_MODIFIED_DURING_SOFT = tsLiteral("list modified during sort");
     public static final TruffleString RESIZING_NOT_AVAILABLE = tsLiteral("mmap: resizing not available--no mremap()");
     public static final TruffleString FLUSH_VALUES_OUT_OF_RANGE = tsLiteral("flush values out of range");
@@ -1343,6 +1350,191 @@ public abstract class ErrorMessages {
 
     // pickle errors
     public static final TruffleString CANNOT_PICKLE_OBJECT_TYPE = tsLiteral("cannot pickle '%p' object");
+    public static final TruffleString PICKLE_PROTOCOL_MUST_BE_LE = tsLiteral("pickle protocol must be <= %d");
+    public static final TruffleString BUFFER_CALLBACK_NEEDS_PROTOCOL_5 = tsLiteral("buffer_callback needs protocol >= 5");
+    public static final TruffleString FILE_MUST_HAVE_WRITE_ATTR = tsLiteral("file must have a 'write' attribute");
+    public static final TruffleString FILE_MUST_HAVE_READ_AND_READLINE = tsLiteral("file must have 'read' and 'readline' attributes");
+    public static final TruffleString PICKLER_INIT_NOT_CALLED = tsLiteral("Pickler.__init__() was not called by %s.__init__()");
+    public static final TruffleString UNPICKLER_INIT_NOT_CALLED = tsLiteral("Unpickler.__init__() was not called by %s.__init__()");
+    public static final TruffleString PERSISTENT_IDS_MUST_BE_ASCII = tsLiteral("persistent IDs in protocol 0 must be ASCII strings");
+    public static final TruffleString REDUCE_MUST_RETURN_STRING_OR_TUPLE = tsLiteral("__reduce__ must return a string or tuple");
+    public static final TruffleString TUPLE_RETURNED_BY_REDUCE_MUST_CONTAIN_2_THROUGH_6_ELEMENTS = tsLiteral("tuple returned by __reduce__ must contain 2 through 6 elements");
+    public static final TruffleString FIRST_ITEM_OF_REDUCE_MUST_BE_CALLABLE = tsLiteral("first item of the tuple returned by __reduce__ must be callable");
+    public static final TruffleString SECOND_ITEM_OF_REDUCE_MUST_BE_TUPLE = tsLiteral("second item of the tuple returned by __reduce__ must be a tuple");
+    public static final TruffleString S_ELEMENT_OF_REDUCE_MUST_BE_ITERATOR = tsLiteral("%s element of the tuple returned by __reduce__ must be an iterator, not %p");
+    public static final TruffleString SIXTH_ELEMENT_OF_REDUCE_MUST_BE_FUNCTION = tsLiteral("sixth element of the tuple returned by __reduce__ must be a function, not %p");
+    public static final TruffleString NEWOBJ_EX_ARGS_LEN = tsLiteral("length of the NEWOBJ_EX argument tuple must be exactly 3, not %d");
+    public static final TruffleString NEWOBJ_EX_FIRST_ITEM_MUST_BE_CLASS = tsLiteral("first item from NEWOBJ_EX argument tuple must be a class, not %p");
+    public static final TruffleString NEWOBJ_EX_SECOND_ITEM_MUST_BE_TUPLE = tsLiteral("second item from NEWOBJ_EX argument tuple must be a tuple, not %p");
+    public static final TruffleString NEWOBJ_EX_THIRD_ITEM_MUST_BE_DICT = tsLiteral("third item from NEWOBJ_EX argument tuple must be a dict, not %p");
+    public static final TruffleString NEWOBJ_ARGLIST_EMPTY = tsLiteral("__newobj__ arglist is empty");
+    public static final TruffleString NEWOBJ_ARGS0_NOT_TYPE = tsLiteral("args[0] from __newobj__ args is not a type");
+    public static final TruffleString NEWOBJ_ARGS0_WRONG_CLASS = tsLiteral("args[0] from __newobj__ args has the wrong class");
+    public static final TruffleString CANT_PICKLE_LOCAL_OBJECT = tsLiteral("Can't pickle local object %s");
+    public static final TruffleString CANT_PICKLE_LOCAL_ATTRIBUTE = tsLiteral("Can't pickle local attribute %s on %s");
+    public static final TruffleString CANT_PICKLE_IMPORT_FAILED = tsLiteral("Can't pickle %s: import of module %s failed");
+    public static final TruffleString CANT_PICKLE_ATTR_LOOKUP_FAILED = tsLiteral("Can't pickle %s: attribute lookup %s on %s failed");
+    public static final TruffleString CANT_PICKLE_NOT_SAME_OBJ = tsLiteral("Can't pickle %s: it's not the same object as %s.%s");
+    public static final TruffleString CANT_PICKLE_EXT_CODE_NOT_INT = tsLiteral("Can't pickle %s: extension code %s isn't an integer");
+    public static final TruffleString CANT_PICKLE_EXT_CODE_OUT_OF_RANGE = tsLiteral("Can't pickle %s: extension code %s is out of range");
+    public static final TruffleString CANT_PICKLE_MODULE_IDENTIFIER = tsLiteral("can't pickle module identifier '%s' using pickle protocol %d");
+    public static final TruffleString CANT_PICKLE_GLOBAL_IDENTIFIER = tsLiteral("can't pickle global identifier '%s' using pickle protocol %d");
+    public static final TruffleString COMPAT_PICKLE_VALUES_2_TUPLES = tsLiteral("_compat_pickle.%s values should be 2-tuples, not %p");
+    public static final TruffleString COMPAT_PICKLE_VALUES_PAIRS_OF_STR = tsLiteral("_compat_pickle.%s values should be pairs of str, not (%p, %p)");
+    public static final TruffleString COMPAT_PICKLE_VALUES_STRINGS = tsLiteral("_compat_pickle.%s values should be strings, not %p");
+    public static final TruffleString PICKLEBUFFER_PROTOCOL_5 = tsLiteral("PickleBuffer can only pickled with protocol >= 5");
+    public static final TruffleString PICKLEBUFFER_NON_CONTIGUOUS = tsLiteral("PickleBuffer can not be pickled when pointing to a non-contiguous buffer");
+    public static final TruffleString PICKLEBUFFER_FORBIDDEN_RELEASED = tsLiteral("operation forbidden on released PickleBuffer object");
+    public static final TruffleString CANNOT_EXTRACT_RAW_BUFFER = tsLiteral("cannot extract raw buffer from non-contiguous buffer");
+    public static final TruffleString FAST_MODE_CYCLIC_OBJECTS = tsLiteral("fast mode: can't pickle cyclic objects including object type %p at %s");
+    public static final TruffleString DICT_ITEMS_MUST_RETURN_2_TUPLES = tsLiteral("dict items iterator must return 2-tuples");
+    public static final TruffleString S_S_SHOULD_BE_A_DICT_NOT_P = tsLiteral("%s.%s should be a dict, not %p");
+    public static final TruffleString MEMO_VALUES_MUST_BE_2_TUPLES = tsLiteral("Values in memo must be 2-tuples");
+    public static final TruffleString MEMO_MUST_BE_PICKLER_MEMO_PROXY_OR_DICT = tsLiteral("'memo' attribute must be a PicklerMemoProxy object or dict, not %p");
+    public static final TruffleString MEMO_MUST_BE_UNPICKLER_MEMO_PROXY_OR_DICT = tsLiteral("'memo' attribute must be an UnpicklerMemoProxy object or dict, not %p");
+    public static final TruffleString MEMO_KEY_MUST_BE_INTEGERS = tsLiteral("memo key must be integers");
+    public static final TruffleString MEMO_KEY_MUST_BE_POSITIVE_INTEGERS = tsLiteral("memo key must be positive integers.");
+    public static final TruffleString ATTR_DELETION_NOT_SUPPORTED = tsLiteral("attribute deletion is not supported");
+    public static final TruffleString PERSISTENT_ID_MUST_BE_CALLABLE = tsLiteral("persistent_id must be a callable taking one argument");
+    public static final TruffleString PERSISTENT_LOAD_MUST_BE_CALLABLE = tsLiteral("persistent_load must be a callable taking one argument");
+    public static final TruffleString PICKLE_DATA_TRUNCATED = tsLiteral("pickle data was truncated");
+    public static final TruffleString RAN_OUT_OF_INPUT = tsLiteral("Ran out of input");
+    public static final TruffleString UNPICKLING_STACK_UNDERFLOW = tsLiteral("unpickling stack underflow");
+    public static final TruffleString UNEXPECTED_MARK_FOUND = tsLiteral("unexpected MARK found");
+    public static final TruffleString COULD_NOT_FIND_MARK = tsLiteral("could not find MARK");
+    public static final TruffleString INVALID_LOAD_KEY = tsLiteral("invalid load key, '%s'.");
+    public static final TruffleString UNSUPPORTED_PICKLE_PROTOCOL = tsLiteral("unsupported pickle protocol: %d");
+    public static final TruffleString STRING_OPCODE_ARGUMENT_MUST_BE_QUOTED = tsLiteral("the STRING opcode argument must be quoted");
+    public static final TruffleString LONG_PICKLE_NEGATIVE_BYTE_COUNT = tsLiteral("LONG pickle has negative byte count");
+    public static final TruffleString S_PICKLE_NEGATIVE_BYTE_COUNT = tsLiteral("%s pickle has negative byte count");
+    public static final TruffleString S_EXCEEDS_SYSTEMS_MAX_SIZE = tsLiteral("%s exceeds system's maximum size of %d bytes");
+    public static final TruffleString FRAME_LENGTH_EXCEEDS_MAX = tsLiteral("FRAME length exceeds system's maximum of %d bytes");
+    public static final TruffleString PICKLE_STREAM_REFERS_TO_OOB_DATA = tsLiteral("pickle stream refers to out-of-band data but no *buffers* argument was given");
+    public static final TruffleString NOT_ENOUGH_OOB_BUFFERS = tsLiteral("not enough out-of-band buffers");
+    public static final TruffleString ODD_NUMBER_OF_ITEMS_FOR_S = tsLiteral("odd number of items for %s");
+    public static final TruffleString S_CLASS_ARG_MUST_BE_TYPE = tsLiteral("%s class argument must be a type, not %p");
+    public static final TruffleString S_ARGS_ARG_MUST_BE_TUPLE = tsLiteral("%s args argument must be a tuple, not %p");
+    public static final TruffleString S_KWARGS_ARG_MUST_BE_DICT = tsLiteral("%s kwargs argument must be a dict, not %p");
+    public static final TruffleString STACK_GLOBAL_REQUIRES_STR = tsLiteral("STACK_GLOBAL requires str");
+    public static final TruffleString NO_PERSISTENT_LOAD = tsLiteral("A load persistent id instruction was encountered, but no persistent_load function was specified.");
+    public static final TruffleString NEGATIVE_S_ARGUMENT = tsLiteral("negative %s argument");
+    public static final TruffleString SLOT_STATE_IS_NOT_A_DICT = tsLiteral("slot state is not a dictionary");
+    public static final TruffleString EXT_SPECIFIES_CODE_LE_0 = tsLiteral("EXT specifies code <= 0");
+    public static final TruffleString UNREGISTERED_EXTENSION_CODE = tsLiteral("unregistered extension code %d");
+    public static final TruffleString INVERTED_REGISTRY_NOT_2_TUPLE = tsLiteral("_inverted_registry[%d] isn't a 2-tuple of strings");
+    public static final TruffleString ARGUMENT_LIST_MUST_BE_A_TUPLE = tsLiteral("argument list must be a tuple");
+
+    // hashlib errors
+    public static final TruffleString STRINGS_MUST_BE_ENCODED_BEFORE_HASHING = tsLiteral("Strings must be encoded before hashing");
+    public static final TruffleString DIGEST_SIZE_MUST_BE_BETWEEN = tsLiteral("digest_size must be between 1 and %d bytes");
+    public static final TruffleString MAXIMUM_KEY_LENGTH_IS = tsLiteral("maximum key length is %d bytes");
+    public static final TruffleString MAXIMUM_SALT_LENGTH_IS = tsLiteral("maximum salt length is %d bytes");
+    public static final TruffleString MAXIMUM_PERSON_LENGTH_IS = tsLiteral("maximum person length is %d bytes");
+    public static final TruffleString FANOUT_MUST_BE_BETWEEN = tsLiteral("fanout must be between 0 and 255");
+    public static final TruffleString DEPTH_MUST_BE_BETWEEN = tsLiteral("depth must be between 1 and 255");
+    public static final TruffleString LEAF_SIZE_IS_TOO_LARGE = tsLiteral("leaf_size is too large");
+    public static final TruffleString NODE_OFFSET_IS_TOO_LARGE = tsLiteral("node_offset is too large");
+    public static final TruffleString NODE_DEPTH_MUST_BE_BETWEEN = tsLiteral("node_depth must be between 0 and 255");
+    public static final TruffleString INNER_SIZE_MUST_BE_BETWEEN = tsLiteral("inner_size must be between 0 and is %d");
+    public static final TruffleString LENGTH_IS_TOO_LARGE = tsLiteral("length is too large");
+
+    // heapq and bisect errors
+    public static final TruffleString HEAP_ARGUMENT_MUST_BE_A_LIST = tsLiteral("heap argument must be a list");
+    public static final TruffleString LO_MUST_BE_NON_NEGATIVE = tsLiteral("lo must be non-negative");
+
+    // datetime errors
+    public static final TruffleString YEAR_D_IS_OUT_OF_RANGE = tsLiteral("year %d is out of range");
+    public static final TruffleString MONTH_MUST_BE_IN_1_12 = tsLiteral("month must be in 1..12");
+    public static final TruffleString DAY_IS_OUT_OF_RANGE_FOR_MONTH = tsLiteral("day is out of range for month");
+    public static final TruffleString HOUR_MUST_BE_IN_0_23 = tsLiteral("hour must be in 0..23");
+    public static final TruffleString MINUTE_MUST_BE_IN_0_59 = tsLiteral("minute must be in 0..59");
+    public static final TruffleString SECOND_MUST_BE_IN_0_59 = tsLiteral("second must be in 0..59");
+    public static final TruffleString MICROSECOND_MUST_BE_IN_0_999999 = tsLiteral("microsecond must be in 0..999999");
+    public static final TruffleString FOLD_MUST_BE_EITHER_0_OR_1 = tsLiteral("fold must be either 0 or 1");
+    public static final TruffleString TZINFO_ARG_MUST_BE_NONE_OR_TZINFO = tsLiteral("tzinfo argument must be None or of a tzinfo subclass, not type '%p'");
+    public static final TruffleString BAD_TZINFO_STATE_ARG = tsLiteral("bad tzinfo state arg");
+    public static final TruffleString DAYS_D_MUST_HAVE_MAGNITUDE_LE_D = tsLiteral("days=%d; must have magnitude <= %d");
+    public static final TruffleString UNSUPPORTED_TYPE_FOR_TIMEDELTA_S_COMPONENT = tsLiteral("unsupported type for timedelta %s component: %p");
+    public static final TruffleString DATE_VALUE_OUT_OF_RANGE = tsLiteral("date value out of range");
+    public static final TruffleString ORDINAL_MUST_BE_GE_1 = tsLiteral("ordinal must be >= 1");
+    public static final TruffleString CANT_COMPARE_S_TO_S = tsLiteral("can't compare %s to %s");
+    public static final TruffleString CANT_COMPARE_NAIVE_AND_AWARE_S = tsLiteral("can't compare offset-naive and offset-aware %s");
+    public static final TruffleString CANT_SUBTRACT_NAIVE_AND_AWARE_DATETIMES = tsLiteral("can't subtract offset-naive and offset-aware datetimes");
+    public static final TruffleString OFFSET_MUST_BE_TIMEDELTA_STRICTLY_BETWEEN = tsLiteral(
+                    "offset must be a timedelta strictly between -timedelta(hours=24) and timedelta(hours=24), not %s.");
+    public static final TruffleString TZINFO_S_MUST_RETURN_NONE_OR_TIMEDELTA = tsLiteral("tzinfo.%s() must return None or timedelta, not '%p'");
+    public static final TruffleString TZINFO_TZNAME_MUST_RETURN_NONE_OR_STRING = tsLiteral("tzinfo.tzname() must return None or a string, not '%p'");
+    public static final TruffleString TZINFO_SUBCLASS_MUST_IMPLEMENT_S = tsLiteral("a tzinfo subclass must implement %s()");
+    public static final TruffleString S_ARGUMENT_MUST_BE_DATETIME_OR_NONE = tsLiteral("%s(dt) argument must be a datetime instance or None, not %p");
+    public static final TruffleString FROMUTC_ARGUMENT_MUST_BE_DATETIME = tsLiteral("fromutc: argument must be a datetime");
+    public static final TruffleString FROMUTC_DT_TZINFO_IS_NOT_SELF = tsLiteral("fromutc: dt.tzinfo is not self");
+    public static final TruffleString FROMUTC_NON_NONE_UTCOFFSET_REQUIRED = tsLiteral("fromutc: non-None utcoffset() result required");
+    public static final TruffleString FROMUTC_NON_NONE_DST_REQUIRED = tsLiteral("fromutc: non-None dst() result required");
+    public static final TruffleString FROMUTC_INCONSISTENT_DST = tsLiteral("fromutc: tz.dst() gave inconsistent results; cannot convert");
+    public static final TruffleString UNKNOWN_TIMESPEC_VALUE = tsLiteral("Unknown timespec value");
+    public static final TruffleString FROMISOFORMAT_ARGUMENT_MUST_BE_STR = tsLiteral("fromisoformat: argument must be str");
+    public static final TruffleString INVALID_ISOFORMAT_STRING = tsLiteral("Invalid isoformat string: %s");
+    public static final TruffleString ISO_YEAR_IS_OUT_OF_RANGE = tsLiteral("Year is out of range: %d");
+    public static final TruffleString INVALID_WEEK = tsLiteral("Invalid week: %d");
+    public static final TruffleString INVALID_WEEKDAY = tsLiteral("Invalid weekday: %d (range is [1, 7])");
+
+    // decimal errors
+    public static final TruffleString CONVERSION_FROM_P_TO_DECIMAL_NOT_SUPPORTED = tsLiteral("conversion from %p to Decimal is not supported");
+    public static final TruffleString OPTIONAL_ARG_MUST_BE_A_CONTEXT = tsLiteral("optional argument must be a context");
+    public static final TruffleString ARG_MUST_BE_INT_OR_FLOAT = tsLiteral("argument must be int or float");
+    public static final TruffleString ARG_MUST_BE_A_CONTEXT = tsLiteral("argument must be a context");
+    public static final TruffleString ARG_MUST_BE_SEQ_OF_LENGTH_3 = tsLiteral("argument must be a sequence of length 3");
+    public static final TruffleString SIGN_MUST_BE_AN_INTEGER_0_OR_1 = tsLiteral("sign must be an integer with the value 0 or 1");
+    public static final TruffleString COEFFICIENT_MUST_BE_A_TUPLE_OF_DIGITS = tsLiteral("coefficient must be a tuple of digits");
+    public static final TruffleString EXPONENT_MUST_BE_AN_INTEGER = tsLiteral("exponent must be an integer");
+    public static final TruffleString CANNOT_HASH_A_SIGNALING_NAN = tsLiteral("Cannot hash a signaling NaN value.");
+    public static final TruffleString CANNOT_CONVERT_SIGNALING_NAN_TO_FLOAT = tsLiteral("cannot convert signaling NaN to float");
+    public static final TruffleString VALID_RANGE_FOR_PREC = tsLiteral("valid range for prec is [1, MAX_PREC]");
+    public static final TruffleString VALID_RANGE_FOR_EMIN = tsLiteral("valid range for Emin is [MIN_EMIN, 0]");
+    public static final TruffleString VALID_RANGE_FOR_EMAX = tsLiteral("valid range for Emax is [0, MAX_EMAX]");
+    public static final TruffleString VALID_VALUES_FOR_ROUNDING = tsLiteral(
+                    "valid values for rounding are:\n  [ROUND_CEILING, ROUND_FLOOR, ROUND_UP, ROUND_DOWN,\n   ROUND_HALF_UP, ROUND_HALF_DOWN, ROUND_HALF_EVEN,\n   ROUND_05UP]");
+    public static final TruffleString VALID_VALUES_FOR_S_ARE_0_OR_1 = tsLiteral("valid values for %s are 0 or 1");
+
+    // select errors
+    public static final TruffleString CONCURRENT_POLL_INVOCATION = tsLiteral("concurrent poll() invocation");
+    public static final TruffleString IO_OPERATION_ON_CLOSED_EPOLL = tsLiteral("I/O operation on closed epoll object");
+    public static final TruffleString NEGATIVE_SIZEHINT = tsLiteral("negative sizehint");
+    public static final TruffleString MAXEVENTS_MUST_BE_GREATER_THAN_ZERO = tsLiteral("maxevents must be greater than 0, got %d");
+    public static final TruffleString TIMEOUT_IS_TOO_LARGE = tsLiteral("timeout is too large");
+    public static final TruffleString VALUE_MUST_BE_POSITIVE = tsLiteral("value must be positive");
+
+    // struct errors
+    public static final TruffleString STRUCT_FMT_NOT_STR_OR_BYTES = tsLiteral("Struct() argument 1 must be a str or bytes object, not %p");
+    public static final TruffleString MISSING_FORMAT_ARGUMENT = tsLiteral("missing format argument");
+    public static final TruffleString BAD_CHAR_IN_STRUCT_FMT = tsLiteral("bad char in struct format");
+    public static final TruffleString REPEAT_COUNT_WITHOUT_FMT = tsLiteral("repeat count given without format specifier");
+    public static final TruffleString TOTAL_STRUCT_SIZE_TOO_LONG = tsLiteral("total struct size too long");
+    public static final TruffleString REQUIRED_ARGUMENT_IS_NOT_AN_INTEGER = tsLiteral("required argument is not an integer");
+    public static final TruffleString REQUIRED_ARGUMENT_IS_NOT_A_FLOAT = tsLiteral("required argument is not a float");
+    public static final TruffleString ARGUMENT_OUT_OF_RANGE = tsLiteral("argument out of range");
+    public static final TruffleString INT_TOO_LARGE_TO_CONVERT = tsLiteral("int too large to convert");
+    public static final TruffleString BYTE_FORMAT_REQUIRES_RANGE = tsLiteral("byte format requires -128 <= number <= 127");
+    public static final TruffleString UBYTE_FORMAT_REQUIRES_RANGE = tsLiteral("ubyte format requires 0 <= number <= 255");
+    public static final TruffleString SHORT_FORMAT_REQUIRES_RANGE = tsLiteral("short format requires -32768 <= number <= 32767");
+    public static final TruffleString USHORT_FORMAT_REQUIRES_RANGE = tsLiteral("ushort format requires 0 <= number <= 65535");
+    public static final TruffleString FMT_REQUIRES_RANGE = tsLiteral("'%c' format requires %d <= number <= %d");
+    public static final TruffleString CHAR_FORMAT_REQUIRES_BYTES_OF_LEN_1 = tsLiteral("char format requires a bytes object of length 1");
+    public static final TruffleString ARG_FOR_C_MUST_BE_BYTES = tsLiteral("argument for '%c' must be a bytes object");
+    public static final TruffleString PACK_EXPECTED_D_ITEMS_GOT_D = tsLiteral("pack expected %d items for packing (got %d)");
+    public static final TruffleString PACK_INTO_EXPECTED_BUFFER_ARGUMENT = tsLiteral("pack_into expected buffer argument");
+    public static final TruffleString PACK_INTO_EXPECTED_OFFSET_ARGUMENT = tsLiteral("pack_into expected offset argument");
+    public static final TruffleString PACK_INTO_EXPECTED_D_ITEMS_GOT_D = tsLiteral("pack_into expected %d items for packing (got %d)");
+    public static final TruffleString NO_SPACE_TO_PACK_D_BYTES_AT_OFFSET_D = tsLiteral("no space to pack %d bytes at offset %d");
+    public static final TruffleString PACK_INTO_REQUIRES_BUFFER_OF_AT_LEAST = tsLiteral(
+                    "pack_into requires a buffer of at least %d bytes for packing %d bytes at offset %d (actual buffer size is %d)");
+    public static final TruffleString UNPACK_REQUIRES_BUFFER_OF_D_BYTES = tsLiteral("unpack requires a buffer of %d bytes");
+    public static final TruffleString NOT_ENOUGH_DATA_TO_UNPACK_D_BYTES_AT_OFFSET_D = tsLiteral("not enough data to unpack %d bytes at offset %d");
+    public static final TruffleString OFFSET_D_OUT_OF_RANGE_FOR_D_BYTE_BUFFER = tsLiteral("offset %d out of range for %d-byte buffer");
+    public static final TruffleString UNPACK_FROM_REQUIRES_BUFFER_OF_AT_LEAST = tsLiteral(
+                    "unpack_from requires a buffer of at least %d bytes for unpacking %d bytes at offset %d (actual buffer size is %d)");
+    public static final TruffleString CANNOT_ITERATIVELY_UNPACK_WITH_STRUCT_OF_LEN_0 = tsLiteral("cannot iteratively unpack with a struct of length 0");
+    public static final TruffleString ITERATIVE_UNPACKING_REQUIRES_BUFFER_OF_MULTIPLE_OF_D = tsLiteral("iterative unpacking requires a buffer of a multiple of %d bytes");
 
     // csv errors
     public static final TruffleString MUST_BE_ONE_CHARACTER_STRING = tsLiteral("\"%s\" must be a 1-character string");
@@ -206,7 +206,7 @@ public abstract class LookupAttributeInMRONode extends LookupInMROBaseNode {
 
     // PythonClass specializations:
 
-    static final class AttributeAssumptionPair {
+    public static final class AttributeAssumptionPair {
         public final Assumption assumption;
         public final Object value;
 
@@ -221,6 +221,15 @@ public abstract class LookupAttributeInMRONode extends LookupInMROBaseNode {
     }
 
     protected AttributeAssumptionPair findAttrAndAssumptionInMRO(Object klass, DynamicObjectLibrary dylib) {
+        return findAttrAndAssumptionInMRO(klass, key, skipNonStaticBases, dylib);
+    }
+
+    /**
+     * Looks up {@code key} in the MRO of {@code klass} and returns the value together with an
+     * assumption that is invalidated when the attribute changes anywhere in the MRO. Returns
+     * {@code null} if the result cannot be cached, because the class dict may have side effects.
+     */
+    public static AttributeAssumptionPair findAttrAndAssumptionInMRO(Object klass, TruffleString key, boolean skipNonStaticBases, DynamicObjectLibrary dylib) {
         CompilerAsserts.neverPartOfCompilation();
         // - avoid cases when attributes are stored in a dict containing elements
         // with a potential MRO sideeffect on access.
@@ -238,13 +247,14 @@ public abstract class LookupAttributeInMRONode extends LookupInMROBaseNode {
         if (dict != null && HashingStorageLibrary.getUncached().hasSideEffect(dict.getDictStorage())) {
             return null;
         }
-        MroSequenceStorage mro = getMro(klass);
+        GetMroStorageNode getMroNode = GetMroStorageNode.getUncached();
+        MroSequenceStorage mro = getMroNode.execute(klass);
         Assumption attrAssumption = mro.createAttributeInMROFinalAssumption(key);
         for (int i = 0; i < mro.length(); i++) {
             PythonAbstractClass clsObj = mro.getItemNormalized(i);
             if (i > 0) {
                 assert clsObj != klass : "MRO chain is incorrect: '" + klass + "' was found at position " + i;
-                getMro(clsObj).addAttributeInMROFinalAssumption(key, attrAssumption);
+                getMroNode.execute(clsObj).addAttributeInMROFinalAssumption(key, attrAssumption);
             }
             if (skipNonStaticBase(clsObj, skipNonStaticBases, dylib)) {
                 continue;
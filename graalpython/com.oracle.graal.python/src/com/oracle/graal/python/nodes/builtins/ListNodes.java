@@ -141,8 +141,13 @@ public abstract class ListNodes {
         @Specialization(guards = {"!isNoValue(iterable)", "!isString(iterable)"})
         static PList listIterable(VirtualFrame frame, Object cls, Object iterable,
                         @Cached PyObjectGetIter getIter,
+                        @Cached SequenceStorageNodes.CreateStorageFromHostArrayNode createStorageFromHostArrayNode,
                         @Cached SequenceStorageNodes.CreateStorageFromIteratorNode createStorageFromIteratorNode,
                         @Cached PythonObjectFactory factory) {
+            SequenceStorage hostArrayStorage = createStorageFromHostArrayNode.execute(iterable);
+            if (hostArrayStorage != null) {
+                return factory.createList(cls, hostArrayStorage);
+            }
             Object iterObj = getIter.execute(frame, iterable);
             SequenceStorage storage = createStorageFromIteratorNode.execute(frame, iterObj);
             return factory.createList(cls, storage);
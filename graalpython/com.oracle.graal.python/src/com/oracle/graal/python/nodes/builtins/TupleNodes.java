@@ -42,6 +42,7 @@ package com.oracle.graal.python.nodes.builtins;
 
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.CreateStorageFromHostArrayNode;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.CreateStorageFromIteratorNode;
 import com.oracle.graal.python.builtins.objects.str.PString;
 import com.oracle.graal.python.builtins.objects.str.StringUtils;
@@ -52,6 +53,7 @@ import com.oracle.graal.python.nodes.PNodeWithContext;
 import com.oracle.graal.python.nodes.object.GetClassNode;
 import com.oracle.graal.python.nodes.util.CastToTruffleStringNode;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
@@ -110,8 +112,13 @@ public abstract class TupleNodes {
         static PTuple tuple(VirtualFrame frame, Object cls, Object iterable,
                         @SuppressWarnings("unused") @Cached GetClassNode getClassNode,
                         @Shared("factory") @Cached PythonObjectFactory factory,
+                        @Cached CreateStorageFromHostArrayNode hostArrayNode,
                         @Cached CreateStorageFromIteratorNode storageNode,
                         @Cached PyObjectGetIter getIter) {
+            SequenceStorage hostArrayStorage = hostArrayNode.execute(iterable);
+            if (hostArrayStorage != null) {
+                return factory.createTuple(cls, hostArrayStorage);
+            }
             Object iterObj = getIter.execute(frame, iterable);
             return factory.createTuple(cls, storageNode.execute(frame, iterObj));
         }
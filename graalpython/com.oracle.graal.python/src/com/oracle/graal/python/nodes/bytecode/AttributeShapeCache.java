@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.nodes.bytecode;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T___GETATTRIBUTE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.T___SETATTR__;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.object.PythonObject;
+import com.oracle.graal.python.builtins.objects.type.PythonClass;
+import com.oracle.graal.python.nodes.PNodeWithContext;
+import com.oracle.graal.python.nodes.attributes.LookupAttributeInMRONode;
+import com.oracle.graal.python.nodes.attributes.LookupAttributeInMRONode.AttributeAssumptionPair;
+import com.oracle.graal.python.nodes.attributes.ReadAttributeFromDynamicObjectNode;
+import com.oracle.graal.python.nodes.call.special.MaybeBindDescriptorNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.api.strings.TruffleString;
+
+/**
+ * Nodes for the shape-keyed variants of {@code LOAD_ATTR}, {@code LOAD_METHOD} and
+ * {@code STORE_ATTR}. Each node caches a single {@link Shape} of a plain Python object together
+ * with the MRO assumptions under which an access with that shape only needs to touch the object
+ * storage. In single-context mode the shape also determines the class of the object, so a matching
+ * shape lets us skip the class and MRO lookups. Any other receiver makes the node throw
+ * {@link #GENERALIZE} and the bytecode is rewritten to the generic variant.
+ */
+public abstract class AttributeShapeCache extends PNodeWithContext {
+    public static final QuickeningGeneralizeException GENERALIZE = new QuickeningGeneralizeException(0);
+
+    private static final byte UNCACHEABLE_SHAPE_FLAGS = PythonObject.CLASS_CHANGED_FLAG | PythonObject.HAS_MATERIALIZED_DICT;
+
+    protected final TruffleString name;
+
+    AttributeShapeCache(TruffleString name) {
+        this.name = name;
+    }
+
+    protected static final class ShapeCacheEntry {
+        /** Guards the {@code __getattribute__} or {@code __setattr__} of the class. */
+        final Assumption protocolAssumption;
+        /** Guards the attribute (or its absence) in the MRO of the class. */
+        final Assumption attrAssumption;
+        final Object descriptor;
+
+        ShapeCacheEntry(Assumption protocolAssumption, Assumption attrAssumption, Object descriptor) {
+            this.protocolAssumption = protocolAssumption;
+            this.attrAssumption = attrAssumption;
+            this.descriptor = descriptor;
+        }
+    }
+
+    /**
+     * Looks up {@code name} in the class of an object with given shape, provided that the class
+     * uses the {@code object} implementation of the protocol method {@code protocolName}. Returns
+     * {@code null} if the shape cannot be cached.
+     */
+    @TruffleBoundary
+    private ShapeCacheEntry lookupInClass(PythonObject owner, Shape shape, TruffleString protocolName) {
+        if ((shape.getFlags() & UNCACHEABLE_SHAPE_FLAGS) != 0) {
+            return null;
+        }
+        Object klass = owner.getInitialPythonClass();
+        if (!(klass instanceof PythonClass)) {
+            return null;
+        }
+        DynamicObjectLibrary dylib = DynamicObjectLibrary.getUncached();
+        AttributeAssumptionPair protocol = LookupAttributeInMRONode.findAttrAndAssumptionInMRO(klass, protocolName, false, dylib);
+        if (protocol == null || protocol.value != LookupAttributeInMRONode.findAttr(PythonContext.get(this), PythonBuiltinClassType.PythonObject, protocolName,
+                        ReadAttributeFromDynamicObjectNode.getUncached())) {
+            return null;
+        }
+        AttributeAssumptionPair attr = LookupAttributeInMRONode.findAttrAndAssumptionInMRO(klass, name, false, dylib);
+        if (attr == null) {
+            return null;
+        }
+        return new ShapeCacheEntry(protocol.assumption, attr.assumption, attr.value);
+    }
+
+    /**
+     * Class attributes that cannot be data descriptors, so an attribute of the same name in the
+     * object storage always takes precedence.
+     */
+    private static boolean cannotBeDataDescriptor(Object value) {
+        return value == PNone.NO_VALUE || value instanceof Integer || value instanceof Long || value instanceof Double || value instanceof Boolean || value instanceof TruffleString ||
+                        value instanceof PNone || MaybeBindDescriptorNode.isMethodDescriptor(value);
+    }
+
+    protected ShapeCacheEntry lookupForLoadAttr(PythonObject owner, Shape shape) {
+        if (!shape.hasProperty(name)) {
+            return null;
+        }
+        ShapeCacheEntry entry = lookupInClass(owner, shape, T___GETATTRIBUTE__);
+        return entry != null && cannotBeDataDescriptor(entry.descriptor) ? entry : null;
+    }
+
+    protected ShapeCacheEntry lookupForLoadMethod(PythonObject owner, Shape shape) {
+        if (shape.hasProperty(name)) {
+            return null;
+        }
+        ShapeCacheEntry entry = lookupInClass(owner, shape, T___GETATTRIBUTE__);
+        return entry != null && MaybeBindDescriptorNode.isMethodDescriptor(entry.descriptor) ? entry : null;
+    }
+
+    protected ShapeCacheEntry lookupForStoreAttr(PythonObject owner, Shape shape) {
+        if (!shape.hasProperty(name) || (shape.getFlags() & PythonObject.HAS_SLOTS_BUT_NO_DICT_FLAG) != 0) {
+            return null;
+        }
+        ShapeCacheEntry entry = lookupInClass(owner, shape, T___SETATTR__);
+        return entry != null && cannotBeDataDescriptor(entry.descriptor) ? entry : null;
+    }
+
+    public abstract static class LoadAttrNode extends AttributeShapeCache {
+        LoadAttrNode(TruffleString name) {
+            super(name);
+        }
+
+        public abstract Object execute(Object owner);
+
+        @Specialization(guards = {"isSingleContext()", "owner.getShape() == cachedShape", "entry != null"}, //
+                        assumptions = {"cachedShape.getValidAssumption()", "entry.protocolAssumption", "entry.attrAssumption"}, limit = "1")
+        Object doCached(PythonObject owner,
+                        @SuppressWarnings("unused") @Cached("owner.getShape()") Shape cachedShape,
+                        @SuppressWarnings("unused") @Cached("lookupForLoadAttr(owner, cachedShape)") ShapeCacheEntry entry,
+                        @CachedLibrary("owner") DynamicObjectLibrary dylib) {
+            Object value = dylib.getOrDefault(owner, name, PNone.NO_VALUE);
+            if (value == PNone.NO_VALUE) {
+                // the attribute was deleted, let the generic variant raise the error
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                throw GENERALIZE;
+            }
+            return value;
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        Object doGeneralize(Object owner) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            throw GENERALIZE;
+        }
+
+        public static LoadAttrNode create(TruffleString name) {
+            return AttributeShapeCacheFactory.LoadAttrNodeGen.create(name);
+        }
+    }
+
+    public abstract static class LoadMethodNode extends AttributeShapeCache {
+        LoadMethodNode(TruffleString name) {
+            super(name);
+        }
+
+        public abstract Object execute(Object owner);
+
+        @Specialization(guards = {"isSingleContext()", "owner.getShape() == cachedShape", "entry != null"}, //
+                        assumptions = {"cachedShape.getValidAssumption()", "entry.protocolAssumption", "entry.attrAssumption"}, limit = "1")
+        Object doCached(@SuppressWarnings("unused") PythonObject owner,
+                        @SuppressWarnings("unused") @Cached("owner.getShape()") Shape cachedShape,
+                        @Cached("lookupForLoadMethod(owner, cachedShape)") ShapeCacheEntry entry) {
+            return entry.descriptor;
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        Object doGeneralize(Object owner) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            throw GENERALIZE;
+        }
+
+        public static LoadMethodNode create(TruffleString name) {
+            return AttributeShapeCacheFactory.LoadMethodNodeGen.create(name);
+        }
+    }
+
+    public abstract static class StoreAttrNode extends AttributeShapeCache {
+        StoreAttrNode(TruffleString name) {
+            super(name);
+        }
+
+        public abstract void execute(Object owner, Object value);
+
+        @Specialization(guards = {"isSingleContext()", "owner.getShape() == cachedShape", "entry != null"}, //
+                        assumptions = {"cachedShape.getValidAssumption()", "entry.protocolAssumption", "entry.attrAssumption"}, limit = "1")
+        void doCached(PythonObject owner, Object value,
+                        @SuppressWarnings("unused") @Cached("owner.getShape()") Shape cachedShape,
+                        @SuppressWarnings("unused") @Cached("lookupForStoreAttr(owner, cachedShape)") ShapeCacheEntry entry,
+                        @CachedLibrary("owner") DynamicObjectLibrary dylib) {
+            dylib.put(owner, name, value);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        void doGeneralize(Object owner, Object value) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            throw GENERALIZE;
+        }
+
+        public static StoreAttrNode create(TruffleString name) {
+            return AttributeShapeCacheFactory.StoreAttrNodeGen.create(name);
+        }
+    }
+}
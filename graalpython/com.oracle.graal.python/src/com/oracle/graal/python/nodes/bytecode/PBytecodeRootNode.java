@@ -84,10 +84,12 @@ import com.oracle.graal.python.builtins.objects.function.Signature;
 import com.oracle.graal.python.builtins.objects.generator.GeneratorControlData;
 import com.oracle.graal.python.builtins.objects.ints.IntBuiltins;
 import com.oracle.graal.python.builtins.objects.ints.IntBuiltinsFactory;
+import com.oracle.graal.python.builtins.objects.iterator.PLongSequenceIterator;
 import com.oracle.graal.python.builtins.objects.list.ListBuiltins;
 import com.oracle.graal.python.builtins.objects.list.ListBuiltinsFactory;
 import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.builtins.objects.method.PBuiltinMethod;
+import com.oracle.graal.python.builtins.objects.object.PythonObject;
 import com.oracle.graal.python.builtins.objects.set.PSet;
 import com.oracle.graal.python.builtins.objects.set.SetBuiltins;
 import com.oracle.graal.python.builtins.objects.set.SetBuiltinsFactory;
@@ -278,6 +280,8 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
     private static final NodeSupplier<ForIterONode> NODE_FOR_ITER_O = ForIterONode::create;
     private static final ForIterINode UNCACHED_FOR_ITER_I = ForIterINode.getUncached();
     private static final NodeSupplier<ForIterINode> NODE_FOR_ITER_I = ForIterINode::create;
+    private static final ForIterLNode UNCACHED_FOR_ITER_L = ForIterLNode.getUncached();
+    private static final NodeSupplier<ForIterLNode> NODE_FOR_ITER_L = ForIterLNode::create;
     private static final NodeSupplier<PyObjectGetIter> NODE_OBJECT_GET_ITER = PyObjectGetIter::create;
     private static final PyObjectGetIter UNCACHED_OBJECT_GET_ITER = PyObjectGetIter.getUncached();
     private static final NodeSupplier<PyObjectSetAttr> NODE_OBJECT_SET_ATTR = PyObjectSetAttr::create;
@@ -357,6 +361,9 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
     private static final NodeSupplier<StoreSubscrSeq.ONode> NODE_STORE_SUBSCR_SEQ_O = StoreSubscrSeq.ONode::create;
     private static final NodeSupplier<StoreSubscrSeq.INode> NODE_STORE_SUBSCR_SEQ_I = StoreSubscrSeq.INode::create;
     private static final NodeSupplier<StoreSubscrSeq.DNode> NODE_STORE_SUBSCR_SEQ_D = StoreSubscrSeq.DNode::create;
+    private static final NodeFunction<TruffleString, AttributeShapeCache.LoadAttrNode> NODE_LOAD_ATTR_SHAPE = AttributeShapeCache.LoadAttrNode::create;
+    private static final NodeFunction<TruffleString, AttributeShapeCache.LoadMethodNode> NODE_LOAD_METHOD_SHAPE = AttributeShapeCache.LoadMethodNode::create;
+    private static final NodeFunction<TruffleString, AttributeShapeCache.StoreAttrNode> NODE_STORE_ATTR_SHAPE = AttributeShapeCache.StoreAttrNode::create;
 
     private static final NodeSupplier<IntBuiltins.AddNode> NODE_INT_ADD = IntBuiltins.AddNode::create;
     private static final NodeSupplier<IntBuiltins.SubNode> NODE_INT_SUB = IntBuiltins.SubNode::create;
@@ -1651,6 +1658,16 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                         bytecodeUnaryOpIO(virtualFrame, stackTop, bci++, localNodes, op);
                         break;
                     }
+                    case OpCodesConstants.UNARY_OP_L_L: {
+                        int op = Byte.toUnsignedInt(localBC[bci + 1]);
+                        bytecodeUnaryOpLL(virtualFrame, stackTop, bci++, localNodes, op);
+                        break;
+                    }
+                    case OpCodesConstants.UNARY_OP_L_O: {
+                        int op = Byte.toUnsignedInt(localBC[bci + 1]);
+                        bytecodeUnaryOpLO(virtualFrame, stackTop, bci++, localNodes, op);
+                        break;
+                    }
                     case OpCodesConstants.UNARY_OP_D_D: {
                         int op = Byte.toUnsignedInt(localBC[bci + 1]);
                         bytecodeUnaryOpDD(virtualFrame, stackTop, bci++, localNodes, op);
@@ -1696,6 +1713,21 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                         bytecodeBinaryOpIIO(virtualFrame, stackTop--, bci++, localNodes, op);
                         break;
                     }
+                    case OpCodesConstants.BINARY_OP_LL_L: {
+                        int op = Byte.toUnsignedInt(localBC[bci + 1]);
+                        bytecodeBinaryOpLLL(virtualFrame, stackTop--, bci++, localNodes, op, useCachedNodes);
+                        break;
+                    }
+                    case OpCodesConstants.BINARY_OP_LL_B: {
+                        int op = Byte.toUnsignedInt(localBC[bci + 1]);
+                        bytecodeBinaryOpLLB(virtualFrame, stackTop--, bci++, localNodes, op);
+                        break;
+                    }
+                    case OpCodesConstants.BINARY_OP_LL_O: {
+                        int op = Byte.toUnsignedInt(localBC[bci + 1]);
+                        bytecodeBinaryOpLLO(virtualFrame, stackTop--, bci++, localNodes, op);
+                        break;
+                    }
                     case OpCodesConstants.BINARY_OP_DD_D: {
                         int op = Byte.toUnsignedInt(localBC[bci + 1]);
                         bytecodeBinaryOpDDD(virtualFrame, stackTop--, bci++, localNodes, op, useCachedNodes);
@@ -1785,6 +1817,18 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                         break;
                     }
                     case OpCodesConstants.STORE_ATTR: {
+                        setCurrentBci(virtualFrame, bciSlot, bci);
+                        oparg |= Byte.toUnsignedInt(localBC[++bci]);
+                        stackTop = bytecodeStoreAttrAdaptive(virtualFrame, stackTop, beginBci, oparg, localNodes, localNames, useCachedNodes);
+                        break;
+                    }
+                    case OpCodesConstants.STORE_ATTR_SHAPE: {
+                        setCurrentBci(virtualFrame, bciSlot, bci);
+                        oparg |= Byte.toUnsignedInt(localBC[++bci]);
+                        stackTop = bytecodeStoreAttrShape(virtualFrame, stackTop, beginBci, oparg, localNodes, localNames);
+                        break;
+                    }
+                    case OpCodesConstants.STORE_ATTR_O: {
                         setCurrentBci(virtualFrame, bciSlot, bci);
                         oparg |= Byte.toUnsignedInt(localBC[++bci]);
                         stackTop = bytecodeStoreAttr(virtualFrame, stackTop, beginBci, oparg, localNodes, localNames, useCachedNodes);
@@ -1826,6 +1870,18 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                         break;
                     }
                     case OpCodesConstants.LOAD_ATTR: {
+                        setCurrentBci(virtualFrame, bciSlot, bci);
+                        oparg |= Byte.toUnsignedInt(localBC[++bci]);
+                        bytecodeLoadAttrAdaptive(virtualFrame, stackTop, beginBci, oparg, localNodes, localNames, useCachedNodes);
+                        break;
+                    }
+                    case OpCodesConstants.LOAD_ATTR_SHAPE: {
+                        setCurrentBci(virtualFrame, bciSlot, bci);
+                        oparg |= Byte.toUnsignedInt(localBC[++bci]);
+                        bytecodeLoadAttrShape(virtualFrame, stackTop, beginBci, oparg, localNodes, localNames);
+                        break;
+                    }
+                    case OpCodesConstants.LOAD_ATTR_O: {
                         setCurrentBci(virtualFrame, bciSlot, bci);
                         oparg |= Byte.toUnsignedInt(localBC[++bci]);
                         bytecodeLoadAttr(virtualFrame, stackTop, beginBci, oparg, localNodes, localNames, useCachedNodes);
@@ -2004,7 +2060,7 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                         break;
                     }
                     case OpCodesConstants.FOR_ITER: {
-                        bytecodeForIterAdaptive(bci);
+                        bytecodeForIterAdaptive(virtualFrame, stackTop, bci);
                         continue;
                     }
                     case OpCodesConstants.FOR_ITER_O: {
@@ -2039,7 +2095,35 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                         }
                         break;
                     }
+                    case OpCodesConstants.FOR_ITER_L: {
+                        setCurrentBci(virtualFrame, bciSlot, bci);
+                        boolean shouldLoop = bytecodeForIterL(virtualFrame, useCachedNodes, stackTop, bci, localNodes, beginBci);
+                        if (shouldLoop) {
+                            stackTop++;
+                            bci++;
+                        } else {
+                            virtualFrame.setObject(stackTop--, null);
+                            oparg |= Byte.toUnsignedInt(localBC[bci + 1]);
+                            bci += oparg;
+                            oparg = 0;
+                            notifyStatement(virtualFrame, instrumentation, bci, beginBci);
+                            continue;
+                        }
+                        break;
+                    }
                     case OpCodesConstants.LOAD_METHOD: {
+                        setCurrentBci(virtualFrame, bciSlot, bci);
+                        oparg |= Byte.toUnsignedInt(localBC[++bci]);
+                        stackTop = bytecodeLoadMethodAdaptive(virtualFrame, stackTop, beginBci, bci, oparg, localNames, localNodes, useCachedNodes);
+                        break;
+                    }
+                    case OpCodesConstants.LOAD_METHOD_SHAPE: {
+                        setCurrentBci(virtualFrame, bciSlot, bci);
+                        oparg |= Byte.toUnsignedInt(localBC[++bci]);
+                        stackTop = bytecodeLoadMethodShape(virtualFrame, stackTop, beginBci, bci, oparg, localNames, localNodes);
+                        break;
+                    }
+                    case OpCodesConstants.LOAD_METHOD_O: {
                         setCurrentBci(virtualFrame, bciSlot, bci);
                         oparg |= Byte.toUnsignedInt(localBC[++bci]);
                         stackTop = bytecodeLoadMethod(virtualFrame, stackTop, bci, oparg, localNames, localNodes, useCachedNodes);
@@ -2343,6 +2427,18 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
         return cont;
     }
 
+    @BytecodeInterpreterSwitch
+    private boolean bytecodeForIterL(VirtualFrame virtualFrame, boolean useCachedNodes, int stackTop, int bci, Node[] localNodes, int beginBci) {
+        ForIterLNode node = insertChildNode(localNodes, beginBci, UNCACHED_FOR_ITER_L, ForIterLNodeGen.class, NODE_FOR_ITER_L, useCachedNodes);
+        boolean cont = true;
+        try {
+            cont = node.execute(virtualFrame, virtualFrame.getObject(stackTop), stackTop + 1);
+        } catch (QuickeningGeneralizeException e) {
+            generalizeForIterL(bci, e);
+        }
+        return cont;
+    }
+
     @BytecodeInterpreterSwitch
     private boolean bytecodeMatchExc(VirtualFrame virtualFrame, boolean useCachedNodes, int stackTop, Node[] localNodes, int beginBci) {
         Object exception = virtualFrame.getObject(stackTop - 1);
@@ -2976,9 +3072,20 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
         }
     }
 
-    private void bytecodeForIterAdaptive(int bci) {
+    private void generalizeForIterL(int bci, QuickeningGeneralizeException e) {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        if (e.type == QuickeningTypes.OBJECT) {
+            bytecode[bci] = OpCodesConstants.FOR_ITER_O;
+        } else {
+            throw CompilerDirectives.shouldNotReachHere("invalid type");
+        }
+    }
+
+    private void bytecodeForIterAdaptive(VirtualFrame virtualFrame, int stackTop, int bci) {
         CompilerDirectives.transferToInterpreterAndInvalidate();
-        if ((outputCanQuicken[bci] & QuickeningTypes.INT) != 0) {
+        if ((outputCanQuicken[bci] & QuickeningTypes.LONG) != 0 && virtualFrame.getObject(stackTop) instanceof PLongSequenceIterator) {
+            bytecode[bci] = OpCodesConstants.FOR_ITER_L;
+        } else if ((outputCanQuicken[bci] & QuickeningTypes.INT) != 0) {
             bytecode[bci] = OpCodesConstants.FOR_ITER_I;
         } else {
             bytecode[bci] = OpCodesConstants.FOR_ITER_O;
@@ -3081,6 +3188,60 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                     }
                     return;
             }
+        } else if (isIntOrLong(virtualFrame, stackTop) && isIntOrLong(virtualFrame, stackTop - 1)) {
+            // At least one of the operands is a long, the other one may be an int
+            switch (op) {
+                case BinaryOpsConstants.ADD:
+                case BinaryOpsConstants.INPLACE_ADD:
+                case BinaryOpsConstants.SUB:
+                case BinaryOpsConstants.INPLACE_SUB:
+                case BinaryOpsConstants.MUL:
+                case BinaryOpsConstants.INPLACE_MUL:
+                case BinaryOpsConstants.FLOORDIV:
+                case BinaryOpsConstants.INPLACE_FLOORDIV:
+                case BinaryOpsConstants.MOD:
+                case BinaryOpsConstants.INPLACE_MOD:
+                case BinaryOpsConstants.LSHIFT:
+                case BinaryOpsConstants.INPLACE_LSHIFT:
+                case BinaryOpsConstants.RSHIFT:
+                case BinaryOpsConstants.INPLACE_RSHIFT:
+                case BinaryOpsConstants.AND:
+                case BinaryOpsConstants.INPLACE_AND:
+                case BinaryOpsConstants.OR:
+                case BinaryOpsConstants.INPLACE_OR:
+                case BinaryOpsConstants.XOR:
+                case BinaryOpsConstants.INPLACE_XOR:
+                case BinaryOpsConstants.POW:
+                case BinaryOpsConstants.INPLACE_POW:
+                    if ((outputCanQuicken[bci] & QuickeningTypes.LONG) != 0) {
+                        localBC[bci] = OpCodesConstants.BINARY_OP_LL_L;
+                        bytecodeBinaryOpLLL(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes);
+                    } else {
+                        localBC[bci] = OpCodesConstants.BINARY_OP_LL_O;
+                        bytecodeBinaryOpLLO(virtualFrame, stackTop, bci, localNodes, op);
+                    }
+                    return;
+                case BinaryOpsConstants.TRUEDIV:
+                case BinaryOpsConstants.INPLACE_TRUEDIV:
+                    localBC[bci] = OpCodesConstants.BINARY_OP_LL_O;
+                    bytecodeBinaryOpLLO(virtualFrame, stackTop, bci, localNodes, op);
+                    return;
+                case BinaryOpsConstants.EQ:
+                case BinaryOpsConstants.NE:
+                case BinaryOpsConstants.GT:
+                case BinaryOpsConstants.GE:
+                case BinaryOpsConstants.LE:
+                case BinaryOpsConstants.LT:
+                case BinaryOpsConstants.IS:
+                    if ((outputCanQuicken[bci] & QuickeningTypes.BOOLEAN) != 0) {
+                        localBC[bci] = OpCodesConstants.BINARY_OP_LL_B;
+                        bytecodeBinaryOpLLB(virtualFrame, stackTop, bci, localNodes, op);
+                    } else {
+                        localBC[bci] = OpCodesConstants.BINARY_OP_LL_O;
+                        bytecodeBinaryOpLLO(virtualFrame, stackTop, bci, localNodes, op);
+                    }
+                    return;
+            }
         } else if (virtualFrame.isDouble(stackTop) && virtualFrame.isDouble(stackTop - 1)) {
             switch (op) {
                 case BinaryOpsConstants.ADD:
@@ -3132,7 +3293,7 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
             right = virtualFrame.getInt(stackTop);
             left = virtualFrame.getInt(stackTop - 1);
         } else {
-            generalizeBinaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            generalizeBinaryOpIIToLL(virtualFrame, stackTop, bci, localNodes, op, OpCodesConstants.BINARY_OP_LL_B, false);
             return;
         }
         boolean result;
@@ -3169,7 +3330,7 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
             right = virtualFrame.getInt(stackTop);
             left = virtualFrame.getInt(stackTop - 1);
         } else {
-            generalizeBinaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            generalizeBinaryOpIIToLL(virtualFrame, stackTop, bci, localNodes, op, OpCodesConstants.BINARY_OP_LL_O, false);
             return;
         }
         Object result;
@@ -3264,7 +3425,7 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
             right = virtualFrame.getInt(stackTop);
             left = virtualFrame.getInt(stackTop - 1);
         } else {
-            generalizeBinaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            generalizeBinaryOpIIToLL(virtualFrame, stackTop, bci, localNodes, op, OpCodesConstants.BINARY_OP_LL_L, useCachedNodes);
             return;
         }
         try {
@@ -3274,7 +3435,7 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                     try {
                         result = Math.addExact(left, right);
                     } catch (ArithmeticException e) {
-                        generalizeBinaryOpIIIOverflow(virtualFrame, stackTop, bci, localNodes, op);
+                        generalizeBinaryOpIIIOverflow(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes);
                         return;
                     }
                     break;
@@ -3283,7 +3444,7 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                     try {
                         result = Math.subtractExact(left, right);
                     } catch (ArithmeticException e) {
-                        generalizeBinaryOpIIIOverflow(virtualFrame, stackTop, bci, localNodes, op);
+                        generalizeBinaryOpIIIOverflow(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes);
                         return;
                     }
                     break;
@@ -3292,14 +3453,14 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                     try {
                         result = Math.multiplyExact(left, right);
                     } catch (ArithmeticException e) {
-                        generalizeBinaryOpIIIOverflow(virtualFrame, stackTop, bci, localNodes, op);
+                        generalizeBinaryOpIIIOverflow(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes);
                         return;
                     }
                     break;
                 case BinaryOpsConstants.FLOORDIV:
                 case BinaryOpsConstants.INPLACE_FLOORDIV:
                     if (left == Integer.MIN_VALUE && right == -1) {
-                        generalizeBinaryOpIIIOverflow(virtualFrame, stackTop, bci, localNodes, op);
+                        generalizeBinaryOpIIIOverflow(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes);
                         return;
                     }
                     if (right == 0) {
@@ -3344,12 +3505,237 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                     throw CompilerDirectives.shouldNotReachHere("Invalid operation for BINARY_OP_II_I");
             }
         } catch (UnexpectedResultException e) {
-            generalizeBinaryOpIIIOverflow(virtualFrame, stackTop, bci, localNodes, op);
+            generalizeBinaryOpIIIOverflow(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes);
             return;
         }
         virtualFrame.setInt(stackTop - 1, result);
     }
 
+    @BytecodeInterpreterSwitch
+    private void bytecodeBinaryOpLLL(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op, boolean useCachedNodes) {
+        long right, left, result;
+        if (isIntOrLong(virtualFrame, stackTop) && isIntOrLong(virtualFrame, stackTop - 1)) {
+            right = getIntOrLong(virtualFrame, stackTop);
+            left = getIntOrLong(virtualFrame, stackTop - 1);
+        } else {
+            generalizeBinaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            return;
+        }
+        try {
+            switch (op) {
+                case BinaryOpsConstants.ADD:
+                case BinaryOpsConstants.INPLACE_ADD:
+                    try {
+                        result = Math.addExact(left, right);
+                    } catch (ArithmeticException e) {
+                        generalizeBinaryOpLLLOverflow(virtualFrame, stackTop, bci, localNodes, op);
+                        return;
+                    }
+                    break;
+                case BinaryOpsConstants.SUB:
+                case BinaryOpsConstants.INPLACE_SUB:
+                    try {
+                        result = Math.subtractExact(left, right);
+                    } catch (ArithmeticException e) {
+                        generalizeBinaryOpLLLOverflow(virtualFrame, stackTop, bci, localNodes, op);
+                        return;
+                    }
+                    break;
+                case BinaryOpsConstants.MUL:
+                case BinaryOpsConstants.INPLACE_MUL:
+                    try {
+                        result = Math.multiplyExact(left, right);
+                    } catch (ArithmeticException e) {
+                        generalizeBinaryOpLLLOverflow(virtualFrame, stackTop, bci, localNodes, op);
+                        return;
+                    }
+                    break;
+                case BinaryOpsConstants.FLOORDIV:
+                case BinaryOpsConstants.INPLACE_FLOORDIV:
+                    if (left == Long.MIN_VALUE && right == -1) {
+                        generalizeBinaryOpLLLOverflow(virtualFrame, stackTop, bci, localNodes, op);
+                        return;
+                    }
+                    if (right == 0) {
+                        PRaiseNode raiseNode = insertChildNode(localNodes, bci, UNCACHED_RAISE, PRaiseNodeGen.class, NODE_RAISE, useCachedNodes);
+                        throw raiseNode.raise(ZeroDivisionError, ErrorMessages.S_DIVISION_OR_MODULO_BY_ZERO, "integer");
+                    }
+                    result = Math.floorDiv(left, right);
+                    break;
+                case BinaryOpsConstants.MOD:
+                case BinaryOpsConstants.INPLACE_MOD:
+                    IntBuiltins.ModNode modNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.ModNodeFactory.ModNodeGen.class, NODE_INT_MOD);
+                    result = modNode.executeLong(left, right);
+                    break;
+                case BinaryOpsConstants.LSHIFT:
+                case BinaryOpsConstants.INPLACE_LSHIFT:
+                    IntBuiltins.LShiftNode lShiftNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.LShiftNodeFactory.LShiftNodeGen.class, NODE_INT_LSHIFT);
+                    result = lShiftNode.executeLong(left, right);
+                    break;
+                case BinaryOpsConstants.RSHIFT:
+                case BinaryOpsConstants.INPLACE_RSHIFT:
+                    IntBuiltins.RShiftNode rShiftNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.RShiftNodeFactory.RShiftNodeGen.class, NODE_INT_RSHIFT);
+                    result = rShiftNode.executeLong(left, right);
+                    break;
+                case BinaryOpsConstants.AND:
+                case BinaryOpsConstants.INPLACE_AND:
+                    result = left & right;
+                    break;
+                case BinaryOpsConstants.OR:
+                case BinaryOpsConstants.INPLACE_OR:
+                    result = left | right;
+                    break;
+                case BinaryOpsConstants.XOR:
+                case BinaryOpsConstants.INPLACE_XOR:
+                    result = left ^ right;
+                    break;
+                case BinaryOpsConstants.POW:
+                case BinaryOpsConstants.INPLACE_POW:
+                    IntBuiltins.PowNode powNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.PowNodeFactory.PowNodeGen.class, NODE_INT_POW);
+                    result = powNode.executeLong(left, right);
+                    break;
+                default:
+                    throw CompilerDirectives.shouldNotReachHere("Invalid operation for BINARY_OP_LL_L");
+            }
+        } catch (UnexpectedResultException e) {
+            generalizeBinaryOpLLLOverflow(virtualFrame, stackTop, bci, localNodes, op);
+            return;
+        }
+        virtualFrame.setLong(stackTop - 1, result);
+    }
+
+    @BytecodeInterpreterSwitch
+    private void bytecodeBinaryOpLLB(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op) {
+        long right, left;
+        if (isIntOrLong(virtualFrame, stackTop) && isIntOrLong(virtualFrame, stackTop - 1)) {
+            right = getIntOrLong(virtualFrame, stackTop);
+            left = getIntOrLong(virtualFrame, stackTop - 1);
+        } else {
+            generalizeBinaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            return;
+        }
+        boolean result;
+        switch (op) {
+            case BinaryOpsConstants.EQ:
+            case BinaryOpsConstants.IS:
+                result = left == right;
+                break;
+            case BinaryOpsConstants.NE:
+                result = left != right;
+                break;
+            case BinaryOpsConstants.LT:
+                result = left < right;
+                break;
+            case BinaryOpsConstants.LE:
+                result = left <= right;
+                break;
+            case BinaryOpsConstants.GT:
+                result = left > right;
+                break;
+            case BinaryOpsConstants.GE:
+                result = left >= right;
+                break;
+            default:
+                throw CompilerDirectives.shouldNotReachHere("Invalid operation for BINARY_OP_LL_B");
+        }
+        virtualFrame.setBoolean(stackTop - 1, result);
+    }
+
+    @BytecodeInterpreterSwitch
+    private void bytecodeBinaryOpLLO(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op) {
+        long right, left;
+        if (isIntOrLong(virtualFrame, stackTop) && isIntOrLong(virtualFrame, stackTop - 1)) {
+            right = getIntOrLong(virtualFrame, stackTop);
+            left = getIntOrLong(virtualFrame, stackTop - 1);
+        } else {
+            generalizeBinaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            return;
+        }
+        Object result;
+        switch (op) {
+            case BinaryOpsConstants.ADD:
+            case BinaryOpsConstants.INPLACE_ADD:
+                IntBuiltins.AddNode addNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.AddNodeFactory.AddNodeGen.class, NODE_INT_ADD);
+                result = addNode.execute(left, right);
+                break;
+            case BinaryOpsConstants.SUB:
+            case BinaryOpsConstants.INPLACE_SUB:
+                IntBuiltins.SubNode subNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.SubNodeFactory.SubNodeGen.class, NODE_INT_SUB);
+                result = subNode.execute(left, right);
+                break;
+            case BinaryOpsConstants.MUL:
+            case BinaryOpsConstants.INPLACE_MUL:
+                IntBuiltins.MulNode mulNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.MulNodeFactory.MulNodeGen.class, NODE_INT_MUL);
+                result = mulNode.execute(left, right);
+                break;
+            case BinaryOpsConstants.FLOORDIV:
+            case BinaryOpsConstants.INPLACE_FLOORDIV:
+                IntBuiltins.FloorDivNode floorDivNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.FloorDivNodeFactory.FloorDivNodeGen.class, NODE_INT_FLOORDIV);
+                result = floorDivNode.execute(left, right);
+                break;
+            case BinaryOpsConstants.TRUEDIV:
+            case BinaryOpsConstants.INPLACE_TRUEDIV:
+                IntBuiltins.TrueDivNode trueDivNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.TrueDivNodeFactory.TrueDivNodeGen.class, NODE_INT_TRUEDIV);
+                result = trueDivNode.execute(left, right);
+                break;
+            case BinaryOpsConstants.MOD:
+            case BinaryOpsConstants.INPLACE_MOD:
+                IntBuiltins.ModNode modNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.ModNodeFactory.ModNodeGen.class, NODE_INT_MOD);
+                result = modNode.execute(left, right);
+                break;
+            case BinaryOpsConstants.LSHIFT:
+            case BinaryOpsConstants.INPLACE_LSHIFT:
+                IntBuiltins.LShiftNode lShiftNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.LShiftNodeFactory.LShiftNodeGen.class, NODE_INT_LSHIFT);
+                result = lShiftNode.execute(left, right);
+                break;
+            case BinaryOpsConstants.RSHIFT:
+            case BinaryOpsConstants.INPLACE_RSHIFT:
+                IntBuiltins.RShiftNode rShiftNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.RShiftNodeFactory.RShiftNodeGen.class, NODE_INT_RSHIFT);
+                result = rShiftNode.execute(left, right);
+                break;
+            case BinaryOpsConstants.POW:
+            case BinaryOpsConstants.INPLACE_POW:
+                IntBuiltins.PowNode powNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.PowNodeFactory.PowNodeGen.class, NODE_INT_POW);
+                result = powNode.execute(left, right);
+                break;
+            case BinaryOpsConstants.AND:
+            case BinaryOpsConstants.INPLACE_AND:
+                result = left & right;
+                break;
+            case BinaryOpsConstants.OR:
+            case BinaryOpsConstants.INPLACE_OR:
+                result = left | right;
+                break;
+            case BinaryOpsConstants.XOR:
+            case BinaryOpsConstants.INPLACE_XOR:
+                result = left ^ right;
+                break;
+            case BinaryOpsConstants.IS:
+            case BinaryOpsConstants.EQ:
+                result = left == right;
+                break;
+            case BinaryOpsConstants.NE:
+                result = left != right;
+                break;
+            case BinaryOpsConstants.LT:
+                result = left < right;
+                break;
+            case BinaryOpsConstants.LE:
+                result = left <= right;
+                break;
+            case BinaryOpsConstants.GT:
+                result = left > right;
+                break;
+            case BinaryOpsConstants.GE:
+                result = left >= right;
+                break;
+            default:
+                throw CompilerDirectives.shouldNotReachHere("Invalid operation for BINARY_OP_LL_O");
+        }
+        virtualFrame.setObject(stackTop, null);
+        virtualFrame.setObject(stackTop - 1, result);
+    }
+
     @BytecodeInterpreterSwitch
     private void bytecodeBinaryOpDDD(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op, boolean useCachedNodes) {
         double right, left, result;
@@ -3505,10 +3891,57 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
         bytecodeBinaryOpOOO(virtualFrame, stackTop, bci, localNodes, op, bcioffset);
     }
 
-    private void generalizeBinaryOpIIIOverflow(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op) {
+    private void generalizeBinaryOpIIIOverflow(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op, boolean useCachedNodes) {
         CompilerDirectives.transferToInterpreterAndInvalidate();
-        bytecode[bci] = OpCodesConstants.BINARY_OP_II_O;
-        bytecodeBinaryOpIIO(virtualFrame, stackTop, bci, localNodes, op);
+        if ((outputCanQuicken[bci] & QuickeningTypes.LONG) != 0) {
+            // The result of an int operation always fits into a long, except for shifts and pow
+            bytecode[bci] = OpCodesConstants.BINARY_OP_LL_L;
+            bytecodeBinaryOpLLL(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes);
+        } else {
+            bytecode[bci] = OpCodesConstants.BINARY_OP_II_O;
+            bytecodeBinaryOpIIO(virtualFrame, stackTop, bci, localNodes, op);
+        }
+    }
+
+    private void generalizeBinaryOpIIToLL(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op, byte longOpcode, boolean useCachedNodes) {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        if (!isIntOrLong(virtualFrame, stackTop) || !isIntOrLong(virtualFrame, stackTop - 1)) {
+            generalizeBinaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            return;
+        }
+        byte newOpcode = longOpcode;
+        if (newOpcode == OpCodesConstants.BINARY_OP_LL_L && (outputCanQuicken[bci] & QuickeningTypes.LONG) == 0) {
+            newOpcode = OpCodesConstants.BINARY_OP_LL_O;
+        }
+        bytecode[bci] = newOpcode;
+        switch (newOpcode) {
+            case OpCodesConstants.BINARY_OP_LL_L:
+                bytecodeBinaryOpLLL(virtualFrame, stackTop, bci, localNodes, op, useCachedNodes);
+                break;
+            case OpCodesConstants.BINARY_OP_LL_B:
+                bytecodeBinaryOpLLB(virtualFrame, stackTop, bci, localNodes, op);
+                break;
+            default:
+                bytecodeBinaryOpLLO(virtualFrame, stackTop, bci, localNodes, op);
+                break;
+        }
+    }
+
+    private void generalizeBinaryOpLLLOverflow(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op) {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        bytecode[bci] = OpCodesConstants.BINARY_OP_LL_O;
+        bytecodeBinaryOpLLO(virtualFrame, stackTop, bci, localNodes, op);
+    }
+
+    private static boolean isIntOrLong(VirtualFrame virtualFrame, int slot) {
+        return virtualFrame.isLong(slot) || virtualFrame.isInt(slot);
+    }
+
+    private static long getIntOrLong(VirtualFrame virtualFrame, int slot) {
+        if (virtualFrame.isLong(slot)) {
+            return virtualFrame.getLong(slot);
+        }
+        return virtualFrame.getInt(slot);
     }
 
     private void generalizeBinaryOpDDDOverflow(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op, boolean useCachedNodes) {
@@ -3556,6 +3989,15 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
             localBC[bci] = OpCodesConstants.UNARY_OP_I_O;
             bytecodeUnaryOpIO(virtualFrame, stackTop, bci, localNodes, op);
             return;
+        } else if (virtualFrame.isLong(stackTop)) {
+            if ((outputCanQuicken[bci] & QuickeningTypes.LONG) != 0 && op != UnaryOpsConstants.NOT) {
+                localBC[bci] = OpCodesConstants.UNARY_OP_L_L;
+                bytecodeUnaryOpLL(virtualFrame, stackTop, bci, localNodes, op);
+            } else {
+                localBC[bci] = OpCodesConstants.UNARY_OP_L_O;
+                bytecodeUnaryOpLO(virtualFrame, stackTop, bci, localNodes, op);
+            }
+            return;
         } else if (virtualFrame.isDouble(stackTop)) {
             if ((outputCanQuicken[bci] & QuickeningTypes.INT) != 0) {
                 if (op == UnaryOpsConstants.NOT || op == UnaryOpsConstants.INVERT) {
@@ -3595,7 +4037,7 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
         if (virtualFrame.isInt(stackTop)) {
             value = virtualFrame.getInt(stackTop);
         } else {
-            generalizeUnaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            generalizeUnaryOpIToL(virtualFrame, stackTop, bci, localNodes, op, OpCodesConstants.UNARY_OP_L_L);
             return;
         }
         switch (op) {
@@ -3605,9 +4047,7 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
                 try {
                     virtualFrame.setInt(stackTop, Math.negateExact(value));
                 } catch (ArithmeticException e) {
-                    CompilerDirectives.transferToInterpreterAndInvalidate();
-                    bytecode[bci] = OpCodesConstants.UNARY_OP_I_O;
-                    bytecodeUnaryOpIO(virtualFrame, stackTop, bci, localNodes, op);
+                    generalizeUnaryOpIIOverflow(virtualFrame, stackTop, bci, localNodes, op);
                     return;
                 }
                 break;
@@ -3625,7 +4065,7 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
         if (virtualFrame.isInt(stackTop)) {
             value = virtualFrame.getInt(stackTop);
         } else {
-            generalizeUnaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            generalizeUnaryOpIToL(virtualFrame, stackTop, bci, localNodes, op, OpCodesConstants.UNARY_OP_L_O);
             return;
         }
         Object result;
@@ -3649,6 +4089,91 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
         virtualFrame.setObject(stackTop, result);
     }
 
+    @BytecodeInterpreterSwitch
+    private void bytecodeUnaryOpLL(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op) {
+        long value;
+        if (isIntOrLong(virtualFrame, stackTop)) {
+            value = getIntOrLong(virtualFrame, stackTop);
+        } else {
+            generalizeUnaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            return;
+        }
+        switch (op) {
+            case UnaryOpsConstants.POSITIVE:
+                virtualFrame.setLong(stackTop, value);
+                break;
+            case UnaryOpsConstants.NEGATIVE:
+                try {
+                    virtualFrame.setLong(stackTop, Math.negateExact(value));
+                } catch (ArithmeticException e) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    bytecode[bci] = OpCodesConstants.UNARY_OP_L_O;
+                    bytecodeUnaryOpLO(virtualFrame, stackTop, bci, localNodes, op);
+                    return;
+                }
+                break;
+            case UnaryOpsConstants.INVERT:
+                virtualFrame.setLong(stackTop, ~value);
+                break;
+            default:
+                throw CompilerDirectives.shouldNotReachHere("Invalid operation for UNARY_OP_L_L");
+        }
+    }
+
+    @BytecodeInterpreterSwitch
+    private void bytecodeUnaryOpLO(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op) {
+        long value;
+        if (isIntOrLong(virtualFrame, stackTop)) {
+            value = getIntOrLong(virtualFrame, stackTop);
+        } else {
+            generalizeUnaryOp(virtualFrame, stackTop, bci, localNodes, op);
+            return;
+        }
+        Object result;
+        switch (op) {
+            case UnaryOpsConstants.NOT:
+                result = value == 0;
+                break;
+            case UnaryOpsConstants.POSITIVE:
+                result = value;
+                break;
+            case UnaryOpsConstants.NEGATIVE:
+                IntBuiltins.NegNode negNode = insertChildNode(localNodes, bci, IntBuiltinsFactory.NegNodeFactory.NegNodeGen.class, NODE_INT_NEG);
+                result = negNode.execute(value);
+                break;
+            case UnaryOpsConstants.INVERT:
+                result = ~value;
+                break;
+            default:
+                throw CompilerDirectives.shouldNotReachHere("Invalid operation for UNARY_OP_L_O");
+        }
+        virtualFrame.setObject(stackTop, result);
+    }
+
+    private void generalizeUnaryOpIIOverflow(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op) {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        if ((outputCanQuicken[bci] & QuickeningTypes.LONG) != 0) {
+            bytecode[bci] = OpCodesConstants.UNARY_OP_L_L;
+            bytecodeUnaryOpLL(virtualFrame, stackTop, bci, localNodes, op);
+        } else {
+            bytecode[bci] = OpCodesConstants.UNARY_OP_I_O;
+            bytecodeUnaryOpIO(virtualFrame, stackTop, bci, localNodes, op);
+        }
+    }
+
+    private void generalizeUnaryOpIToL(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op, byte longOpcode) {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        if (!virtualFrame.isLong(stackTop)) {
+            generalizeUnaryOp(virtualFrame, stackTop, bci, localNodes, op);
+        } else if (longOpcode == OpCodesConstants.UNARY_OP_L_L && (outputCanQuicken[bci] & QuickeningTypes.LONG) != 0) {
+            bytecode[bci] = OpCodesConstants.UNARY_OP_L_L;
+            bytecodeUnaryOpLL(virtualFrame, stackTop, bci, localNodes, op);
+        } else {
+            bytecode[bci] = OpCodesConstants.UNARY_OP_L_O;
+            bytecodeUnaryOpLO(virtualFrame, stackTop, bci, localNodes, op);
+        }
+    }
+
     @BytecodeInterpreterSwitch
     private void bytecodeUnaryOpDD(VirtualFrame virtualFrame, int stackTop, int bci, Node[] localNodes, int op) {
         double value;
@@ -4454,6 +4979,44 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
         }
     }
 
+    /*
+     * The attribute opcodes start in their generic form and get rewritten once we run with cached
+     * nodes. Plain Python objects go to the SHAPE variants, which cache the receiver shape and bypass
+     * the MRO lookup while the shape stays the same. Everything else, including a shape cache miss,
+     * ends up in the O variants that always use the generic nodes.
+     */
+    private void bytecodeLoadAttrAdaptive(VirtualFrame virtualFrame, int stackTop, int bci, int oparg, Node[] localNodes, TruffleString[] localNames, boolean useCachedNodes) {
+        if (useCachedNodes) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            if (virtualFrame.getObject(stackTop) instanceof PythonObject) {
+                bytecode[bci] = OpCodesConstants.LOAD_ATTR_SHAPE;
+                bytecodeLoadAttrShape(virtualFrame, stackTop, bci, oparg, localNodes, localNames);
+                return;
+            }
+            bytecode[bci] = OpCodesConstants.LOAD_ATTR_O;
+        }
+        bytecodeLoadAttr(virtualFrame, stackTop, bci, oparg, localNodes, localNames, useCachedNodes);
+    }
+
+    @BytecodeInterpreterSwitch
+    private void bytecodeLoadAttrShape(VirtualFrame virtualFrame, int stackTop, int bci, int oparg, Node[] localNodes, TruffleString[] localNames) {
+        AttributeShapeCache.LoadAttrNode node = insertChildNode(localNodes, bci, AttributeShapeCacheFactory.LoadAttrNodeGen.class, NODE_LOAD_ATTR_SHAPE, localNames[oparg]);
+        Object value;
+        try {
+            value = node.execute(virtualFrame.getObject(stackTop));
+        } catch (QuickeningGeneralizeException e) {
+            generalizeLoadAttr(virtualFrame, stackTop, bci, oparg, localNodes, localNames);
+            return;
+        }
+        virtualFrame.setObject(stackTop, value);
+    }
+
+    private void generalizeLoadAttr(VirtualFrame virtualFrame, int stackTop, int bci, int oparg, Node[] localNodes, TruffleString[] localNames) {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        bytecode[bci] = OpCodesConstants.LOAD_ATTR_O;
+        bytecodeLoadAttr(virtualFrame, stackTop, bci, oparg, localNodes, localNames, true);
+    }
+
     @BytecodeInterpreterSwitch
     private void bytecodeLoadAttr(VirtualFrame virtualFrame, int stackTop, int bci, int oparg, Node[] localNodes, TruffleString[] localNames, boolean useCachedNodes) {
         PyObjectGetAttr getAttr = insertChildNode(localNodes, bci, UNCACHED_OBJECT_GET_ATTR, PyObjectGetAttrNodeGen.class, NODE_OBJECT_GET_ATTR, useCachedNodes);
@@ -4507,6 +5070,37 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
         return stackTop;
     }
 
+    private int bytecodeStoreAttrAdaptive(VirtualFrame virtualFrame, int stackTop, int bci, int oparg, Node[] localNodes, TruffleString[] localNames, boolean useCachedNodes) {
+        if (useCachedNodes) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            if (virtualFrame.getObject(stackTop) instanceof PythonObject) {
+                bytecode[bci] = OpCodesConstants.STORE_ATTR_SHAPE;
+                return bytecodeStoreAttrShape(virtualFrame, stackTop, bci, oparg, localNodes, localNames);
+            }
+            bytecode[bci] = OpCodesConstants.STORE_ATTR_O;
+        }
+        return bytecodeStoreAttr(virtualFrame, stackTop, bci, oparg, localNodes, localNames, useCachedNodes);
+    }
+
+    @BytecodeInterpreterSwitch
+    private int bytecodeStoreAttrShape(VirtualFrame virtualFrame, int stackTop, int bci, int oparg, Node[] localNodes, TruffleString[] localNames) {
+        AttributeShapeCache.StoreAttrNode node = insertChildNode(localNodes, bci, AttributeShapeCacheFactory.StoreAttrNodeGen.class, NODE_STORE_ATTR_SHAPE, localNames[oparg]);
+        try {
+            node.execute(virtualFrame.getObject(stackTop), virtualFrame.getObject(stackTop - 1));
+        } catch (QuickeningGeneralizeException e) {
+            return generalizeStoreAttr(virtualFrame, stackTop, bci, oparg, localNodes, localNames);
+        }
+        virtualFrame.setObject(stackTop--, null);
+        virtualFrame.setObject(stackTop--, null);
+        return stackTop;
+    }
+
+    private int generalizeStoreAttr(VirtualFrame virtualFrame, int stackTop, int bci, int oparg, Node[] localNodes, TruffleString[] localNames) {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        bytecode[bci] = OpCodesConstants.STORE_ATTR_O;
+        return bytecodeStoreAttr(virtualFrame, stackTop, bci, oparg, localNodes, localNames, true);
+    }
+
     @BytecodeInterpreterSwitch
     private int bytecodeStoreAttr(VirtualFrame virtualFrame, int stackTop, int bci, int oparg, Node[] localNodes, TruffleString[] localNames, boolean useCachedNodes) {
         PyObjectSetAttr callNode = insertChildNode(localNodes, bci, UNCACHED_OBJECT_SET_ATTR, PyObjectSetAttrNodeGen.class, NODE_OBJECT_SET_ATTR, useCachedNodes);
@@ -4960,6 +5554,37 @@ public final class PBytecodeRootNode extends PRootNode implements BytecodeOSRNod
         return stackTop;
     }
 
+    private int bytecodeLoadMethodAdaptive(VirtualFrame virtualFrame, int stackTop, int beginBci, int bci, int oparg, TruffleString[] localNames, Node[] localNodes, boolean useCachedNodes) {
+        if (useCachedNodes) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            if (virtualFrame.getObject(stackTop) instanceof PythonObject) {
+                bytecode[beginBci] = OpCodesConstants.LOAD_METHOD_SHAPE;
+                return bytecodeLoadMethodShape(virtualFrame, stackTop, beginBci, bci, oparg, localNames, localNodes);
+            }
+            bytecode[beginBci] = OpCodesConstants.LOAD_METHOD_O;
+        }
+        return bytecodeLoadMethod(virtualFrame, stackTop, bci, oparg, localNames, localNodes, useCachedNodes);
+    }
+
+    @BytecodeInterpreterSwitch
+    private int bytecodeLoadMethodShape(VirtualFrame virtualFrame, int stackTop, int beginBci, int bci, int oparg, TruffleString[] localNames, Node[] localNodes) {
+        AttributeShapeCache.LoadMethodNode node = insertChildNode(localNodes, bci, AttributeShapeCacheFactory.LoadMethodNodeGen.class, NODE_LOAD_METHOD_SHAPE, localNames[oparg]);
+        Object func;
+        try {
+            func = node.execute(virtualFrame.getObject(stackTop));
+        } catch (QuickeningGeneralizeException e) {
+            return generalizeLoadMethod(virtualFrame, stackTop, beginBci, bci, oparg, localNames, localNodes);
+        }
+        virtualFrame.setObject(++stackTop, func);
+        return stackTop;
+    }
+
+    private int generalizeLoadMethod(VirtualFrame virtualFrame, int stackTop, int beginBci, int bci, int oparg, TruffleString[] localNames, Node[] localNodes) {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        bytecode[beginBci] = OpCodesConstants.LOAD_METHOD_O;
+        return bytecodeLoadMethod(virtualFrame, stackTop, bci, oparg, localNames, localNodes, true);
+    }
+
     @BytecodeInterpreterSwitch
     private int bytecodeLoadMethod(VirtualFrame virtualFrame, int stackTop, int bci, int oparg, TruffleString[] localNames, Node[] localNodes, boolean useCachedNodes) {
         Object rcvr = virtualFrame.getObject(stackTop);
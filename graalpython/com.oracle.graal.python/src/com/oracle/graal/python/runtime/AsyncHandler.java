@@ -49,6 +49,7 @@ import java.util.Arrays;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -70,7 +71,6 @@ import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.ThreadLocalAction;
 import com.oracle.truffle.api.TruffleLanguage;
-import com.oracle.truffle.api.TruffleLanguage.Env;
 import com.oracle.truffle.api.TruffleLogger;
 import com.oracle.truffle.api.debug.Debugger;
 import com.oracle.truffle.api.frame.VirtualFrame;
@@ -179,7 +179,8 @@ public class AsyncHandler {
 
     private final WeakReference<PythonContext> context;
     private static final int ASYNC_ACTION_DELAY = 25;
-    private static final int GIL_RELEASE_DELAY = 50;
+    /** Lower bound for the GIL switch interval, in microseconds. */
+    private static final long MIN_GIL_SWITCH_INTERVAL = 100;
 
     private class AsyncRunnable implements Runnable {
         private final Supplier<AsyncAction> actionSupplier;
@@ -283,16 +284,54 @@ public class AsyncHandler {
         if (ctx == null) {
             return;
         }
-        final Env env = ctx.getEnv();
-        final AtomicBoolean gilReleaseRequested = new AtomicBoolean(false);
-        executorService.scheduleWithFixedDelay(() -> {
+        new GilSwitchRequester().schedule(ctx);
+    }
+
+    /**
+     * Periodically checks, every {@code sys.getswitchinterval()}, whether threads are waiting for
+     * the GIL while no thread switch happened during the last interval. In that case the GIL owner
+     * is asked to drop the GIL at its next safepoint and to hand it over to a waiting thread.
+     */
+    private final class GilSwitchRequester implements Runnable {
+        private final AtomicBoolean gilReleaseRequested = new AtomicBoolean(false);
+        private long lastSwitchNumber = -1;
+
+        void schedule(PythonContext ctx) {
+            long interval = Math.max(MIN_GIL_SWITCH_INTERVAL, (long) ctx.getSysModuleState().getSwitchInterval());
+            try {
+                executorService.schedule(this, interval, TimeUnit.MICROSECONDS);
+            } catch (RejectedExecutionException e) {
+                // the handler was shut down
+            }
+        }
+
+        @Override
+        public void run() {
+            final PythonContext ctx = context.get();
+            if (ctx == null) {
+                return;
+            }
+            try {
+                long switchNumber = ctx.getGilSwitchNumber();
+                boolean switched = switchNumber != lastSwitchNumber;
+                lastSwitchNumber = switchNumber;
+                if (!switched && ctx.hasGilWaiters()) {
+                    requestDrop(ctx);
+                }
+            } finally {
+                schedule(ctx);
+            }
+        }
+
+        private void requestDrop(PythonContext ctx) {
             if (gilReleaseRequested.compareAndSet(false, true)) {
                 Thread gilOwner = ctx.getGilOwner();
                 // There is a race, but that's no problem. The gil owner may release the gil before
                 // getting to run this safepoint. In that case, it just ignores it. Some other
                 // thread will run and eventually get another gil release request.
                 if (gilOwner != null) {
-                    env.submitThreadLocal(new Thread[]{gilOwner}, new ThreadLocalAction(false, false) {
+                    ctx.countGilDropRequest();
+                    ctx.getEnv().submitThreadLocal(new Thread[]{gilOwner}, new ThreadLocalAction(false, false) {
                         @Override
                         protected void perform(ThreadLocalAction.Access access) {
                             // it may happen that we request a GIL release and no thread is
@@ -308,10 +347,15 @@ public class AsyncHandler {
                                 if (((PRootNode) rootNode).isPythonInternal()) {
                                     return;
                                 }
+                                if (!ctx.hasGilWaiters()) {
+                                    // the waiting thread got the GIL in the meantime
+                                    return;
+                                }
                                 // we only release the gil in ordinary Python code nodes
                                 GilNode gil = GilNode.getUncached();
+                                long switchNumber = ctx.getGilSwitchNumber();
                                 if (gil.tryRelease()) {
-                                    Thread.yield();
+                                    ctx.awaitGilHandoff(switchNumber, access.getLocation());
                                     gil.acquire(access.getLocation());
                                 }
                             }
@@ -321,7 +365,7 @@ public class AsyncHandler {
                     gilReleaseRequested.set(false);
                 }
             }
-        }, GIL_RELEASE_DELAY, GIL_RELEASE_DELAY, TimeUnit.MILLISECONDS);
+        }
     }
 
     public void shutdown() {
@@ -0,0 +1,440 @@
+/*
+ * Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime;
+
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLONESHOT;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLIN;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLNVAL;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLOUT;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLRDNORM;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLWRNORM;
+
+import java.io.IOException;
+import java.nio.channels.Channel;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.IllegalBlockingModeException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Implementation of {@code poll} and {@code epoll} for {@link EmulatedPosixSupport} on top of a
+ * long-lived {@link Selector}.
+ *
+ * Channels that are already in non-blocking mode stay registered with the selector between waits,
+ * so an event loop that keeps polling the same set of sockets pays for the registration only once.
+ * A registered channel cannot be switched back to blocking mode, therefore blocking channels are
+ * registered only for the duration of a single wait and {@link #detach(SelectableChannel)} must be
+ * called before a channel is made blocking.
+ *
+ * Java does not let us wait for exceptional conditions, hang-ups or errors, so only readability and
+ * writability are ever reported. File descriptors that are open but cannot be selected (regular
+ * files, sockets that are neither bound nor connected) are always reported as ready, which is also
+ * what {@code poll(2)} does for regular files.
+ */
+final class EmulatedPoller implements Channel {
+
+    /**
+     * Returned by {@link EmulatedPosixSupport#getSelectableChannel(int)} for file descriptors that
+     * are open, but not backed by a {@link SelectableChannel}.
+     */
+    static final Object NOT_SELECTABLE = new Object();
+
+    private static final class Registration {
+        final int fd;
+        int events;
+        int readyEvents;
+        boolean used;
+        // non-null only while the channel stays registered between waits
+        SelectionKey key;
+
+        Registration(int fd, int events) {
+            this.fd = fd;
+            this.events = events;
+        }
+    }
+
+    private final Selector selector;
+    private final boolean epoll;
+    private final LinkedHashMap<Integer, Registration> registrations = new LinkedHashMap<>();
+    private final ArrayList<SelectionKey> temporaryKeys = new ArrayList<>();
+    private boolean hasCancelledKeys;
+    private boolean wakeupPending;
+    private boolean changed;
+
+    @TruffleBoundary
+    EmulatedPoller(boolean epoll) throws IOException {
+        this.selector = Selector.open();
+        this.epoll = epoll;
+    }
+
+    boolean isEpoll() {
+        return epoll;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return selector.isOpen();
+    }
+
+    @Override
+    @TruffleBoundary
+    public void close() throws IOException {
+        selector.close();
+    }
+
+    @TruffleBoundary
+    synchronized boolean add(int fd, int events) {
+        if (registrations.containsKey(fd)) {
+            return false;
+        }
+        registrations.put(fd, new Registration(fd, events));
+        markChanged();
+        return true;
+    }
+
+    @TruffleBoundary
+    synchronized boolean modify(int fd, int events) {
+        Registration r = registrations.get(fd);
+        if (r == null) {
+            return false;
+        }
+        r.events = events;
+        markChanged();
+        return true;
+    }
+
+    @TruffleBoundary
+    synchronized boolean remove(int fd) {
+        Registration r = registrations.remove(fd);
+        if (r == null) {
+            return false;
+        }
+        cancelKey(r);
+        markChanged();
+        return true;
+    }
+
+    /**
+     * Makes a concurrent wait start over with the modified registrations.
+     */
+    private void markChanged() {
+        changed = true;
+        wakeupPending = true;
+        selector.wakeup();
+    }
+
+    /**
+     * Deregisters the channel from the selector so that it can be switched to blocking mode. The
+     * registration itself is kept, the channel will be registered temporarily in the next wait.
+     */
+    @TruffleBoundary
+    void detach(SelectableChannel channel) throws IOException {
+        SelectionKey key = channel.keyFor(selector);
+        if (key == null) {
+            return;
+        }
+        synchronized (this) {
+            Registration r = (Registration) key.attachment();
+            if (r.key == key) {
+                r.key = null;
+            }
+            key.cancel();
+            hasCancelledKeys = true;
+            changed = true;
+            syncSelector();
+        }
+    }
+
+    /**
+     * Waits with the semantics of {@code epoll_wait}: fills {@code fds} and {@code events} with up
+     * to {@code fds.length} ready file descriptors and returns their count. Registrations of file
+     * descriptors that were closed are dropped.
+     */
+    @TruffleBoundary
+    int waitEpoll(EmulatedPosixSupport posix, int[] fds, int[] events, int timeoutMs) throws IOException {
+        doWait(posix, timeoutMs);
+        synchronized (this) {
+            int oneShotMask = EPOLLONESHOT.defined ? EPOLLONESHOT.getValueIfDefined() : 0;
+            int count = 0;
+            for (Registration r : registrations.values()) {
+                if (count == fds.length) {
+                    break;
+                }
+                if (r.readyEvents != 0) {
+                    fds[count] = r.fd;
+                    events[count] = r.readyEvents;
+                    count++;
+                    if ((r.events & oneShotMask) != 0) {
+                        // disabled until rearmed by EPOLL_CTL_MOD
+                        r.events = 0;
+                    }
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Waits with the semantics of {@code poll(2)}, the set of polled file descriptors is replaced by
+     * {@code fds} and {@code events}. Channels that were polled by the previous call and are
+     * non-blocking stay registered, so repeated calls with the same arguments are cheap.
+     */
+    @TruffleBoundary
+    int waitPoll(EmulatedPosixSupport posix, int[] fds, int[] events, int[] revents, int timeoutMs) throws IOException {
+        synchronized (this) {
+            for (int i = 0; i < fds.length; i++) {
+                Registration r = registrations.get(fds[i]);
+                if (r == null) {
+                    r = new Registration(fds[i], 0);
+                    registrations.put(fds[i], r);
+                } else if (!r.used) {
+                    r.events = 0;
+                }
+                r.events |= events[i];
+                r.used = true;
+            }
+            Iterator<Registration> it = registrations.values().iterator();
+            while (it.hasNext()) {
+                Registration r = it.next();
+                if (!r.used) {
+                    cancelKey(r);
+                    it.remove();
+                }
+                r.used = false;
+            }
+        }
+        doWait(posix, timeoutMs);
+        synchronized (this) {
+            int count = 0;
+            for (int i = 0; i < fds.length; i++) {
+                revents[i] = registrations.get(fds[i]).readyEvents & (events[i] | POLLNVAL.value);
+                if (revents[i] != 0) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    private void doWait(EmulatedPosixSupport posix, int timeoutMs) throws IOException {
+        long deadline = timeoutMs > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs) : 0;
+        while (true) {
+            boolean immediate;
+            synchronized (this) {
+                changed = false;
+                immediate = prepare(posix);
+            }
+            try {
+                if (immediate || timeoutMs == 0) {
+                    selector.selectNow();
+                } else if (timeoutMs < 0) {
+                    selector.select();
+                } else {
+                    selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+                }
+            } finally {
+                synchronized (this) {
+                    collect();
+                    releaseTemporaryKeys();
+                }
+            }
+            synchronized (this) {
+                if (!changed || hasReadyEvents()) {
+                    return;
+                }
+            }
+            // the registrations were modified while waiting, wait again with the new interest set
+            if (timeoutMs == 0 || (timeoutMs > 0 && deadline - System.nanoTime() <= 0)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Brings the selector in sync with the registrations and computes the events that are ready
+     * without waiting. Returns {@code true} if there are any.
+     */
+    private boolean prepare(EmulatedPosixSupport posix) throws IOException {
+        syncSelector();
+        boolean immediate = false;
+        Iterator<Registration> it = registrations.values().iterator();
+        while (it.hasNext()) {
+            Registration r = it.next();
+            r.readyEvents = 0;
+            Object ch = posix.getSelectableChannel(r.fd);
+            if (ch == null) {
+                cancelKey(r);
+                if (epoll) {
+                    // closing a file descriptor removes it from all epoll sets
+                    it.remove();
+                } else {
+                    r.readyEvents = POLLNVAL.value;
+                    immediate = true;
+                }
+                continue;
+            }
+            if (ch == NOT_SELECTABLE) {
+                cancelKey(r);
+                r.readyEvents = r.events & (POLLIN.value | POLLRDNORM.value | POLLOUT.value | POLLWRNORM.value);
+                immediate |= r.readyEvents != 0;
+                continue;
+            }
+            SelectableChannel channel = (SelectableChannel) ch;
+            if (r.key != null && (r.key.channel() != channel || !r.key.isValid())) {
+                // the file descriptor was closed and reused for another channel
+                cancelKey(r);
+            }
+            int ops = toInterestOps(r.events) & channel.validOps();
+            try {
+                // a channel cannot be registered again until its cancelled key is flushed
+                syncSelector();
+                synchronized (channel.blockingLock()) {
+                    if (!channel.isBlocking()) {
+                        if (r.key == null) {
+                            r.key = channel.register(selector, ops, r);
+                        } else {
+                            r.key.interestOps(ops);
+                        }
+                    } else if (ops != 0) {
+                        channel.configureBlocking(false);
+                        temporaryKeys.add(channel.register(selector, ops, r));
+                    }
+                }
+            } catch (ClosedChannelException e) {
+                // closed concurrently, will be handled in the next wait
+            }
+        }
+        // readiness is level-triggered, keys selected while syncing will be selected again
+        selector.selectedKeys().clear();
+        return immediate;
+    }
+
+    private void collect() {
+        for (SelectionKey key : selector.selectedKeys()) {
+            if (key.isValid()) {
+                Registration r = (Registration) key.attachment();
+                r.readyEvents |= fromReadyOps(key.readyOps(), r.events);
+            }
+        }
+        selector.selectedKeys().clear();
+    }
+
+    private void releaseTemporaryKeys() throws IOException {
+        if (temporaryKeys.isEmpty()) {
+            return;
+        }
+        for (SelectionKey key : temporaryKeys) {
+            key.cancel();
+        }
+        hasCancelledKeys = true;
+        syncSelector();
+        selector.selectedKeys().clear();
+        for (SelectionKey key : temporaryKeys) {
+            try {
+                key.channel().configureBlocking(true);
+            } catch (IOException | IllegalBlockingModeException e) {
+                // We didn't manage to restore the blocking status, ignore
+            }
+        }
+        temporaryKeys.clear();
+    }
+
+    private boolean hasReadyEvents() {
+        for (Registration r : registrations.values()) {
+            if (r.readyEvents != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void cancelKey(Registration r) {
+        if (r.key != null) {
+            r.key.cancel();
+            r.key = null;
+            hasCancelledKeys = true;
+        }
+    }
+
+    /**
+     * Cancelled keys are removed from the selector only by the next selection operation, until then
+     * their channels cannot be registered again or switched to blocking mode. The selection also
+     * clears a pending {@link Selector#wakeup()} that would otherwise cut the next wait short.
+     */
+    private void syncSelector() throws IOException {
+        if (hasCancelledKeys || wakeupPending) {
+            // a concurrent wait holds the selector until it returns
+            selector.wakeup();
+            selector.selectNow();
+            hasCancelledKeys = false;
+            wakeupPending = false;
+        }
+    }
+
+    private static int toInterestOps(int events) {
+        int ops = 0;
+        if ((events & (POLLIN.value | POLLRDNORM.value)) != 0) {
+            ops |= SelectionKey.OP_READ | SelectionKey.OP_ACCEPT;
+        }
+        if ((events & (POLLOUT.value | POLLWRNORM.value)) != 0) {
+            ops |= SelectionKey.OP_WRITE;
+        }
+        return ops;
+    }
+
+    private static int fromReadyOps(int ops, int events) {
+        int result = 0;
+        if ((ops & (SelectionKey.OP_READ | SelectionKey.OP_ACCEPT)) != 0) {
+            result |= events & (POLLIN.value | POLLRDNORM.value);
+        }
+        if ((ops & SelectionKey.OP_WRITE) != 0) {
+            result |= events & (POLLOUT.value | POLLWRNORM.value);
+        }
+        return result;
+    }
+}
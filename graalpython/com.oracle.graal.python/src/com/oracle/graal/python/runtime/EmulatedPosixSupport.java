@@ -63,6 +63,10 @@ import static com.oracle.graal.python.runtime.PosixConstants.EAI_FAMILY;
 import static com.oracle.graal.python.runtime.PosixConstants.EAI_NONAME;
 import static com.oracle.graal.python.runtime.PosixConstants.EAI_SERVICE;
 import static com.oracle.graal.python.runtime.PosixConstants.EAI_SOCKTYPE;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLET;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CTL_ADD;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CTL_DEL;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CTL_MOD;
 import static com.oracle.graal.python.runtime.PosixConstants.F_OK;
 import static com.oracle.graal.python.runtime.PosixConstants.IN6ADDR_ANY;
 import static com.oracle.graal.python.runtime.PosixConstants.INADDR_NONE;
@@ -73,6 +77,7 @@ import static com.oracle.graal.python.runtime.PosixConstants.LOCK_NB;
 import static com.oracle.graal.python.runtime.PosixConstants.LOCK_SH;
 import static com.oracle.graal.python.runtime.PosixConstants.LOCK_UN;
 import static com.oracle.graal.python.runtime.PosixConstants.MAP_ANONYMOUS;
+import static com.oracle.graal.python.runtime.PosixConstants.MAP_PRIVATE;
 import static com.oracle.graal.python.runtime.PosixConstants.NI_DGRAM;
 import static com.oracle.graal.python.runtime.PosixConstants.NI_NAMEREQD;
 import static com.oracle.graal.python.runtime.PosixConstants.NI_NUMERICHOST;
@@ -166,11 +171,15 @@ import java.net.StandardSocketOptions;
 import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.nio.channels.AlreadyConnectedException;
 import java.nio.channels.ByteChannel;
 import java.nio.channels.Channel;
+import java.nio.channels.ClosedSelectorException;
 import java.nio.channels.DatagramChannel;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.channels.FileLock;
 import java.nio.channels.NetworkChannel;
 import java.nio.channels.NotYetConnectedException;
@@ -193,6 +202,7 @@ import java.nio.file.attribute.FileTime;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
 import java.nio.file.attribute.UserPrincipal;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -204,6 +214,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
@@ -335,12 +346,16 @@ public final class EmulatedPosixSupport extends PosixResources {
     };
     private static final TruffleString T_BIN_SH = tsLiteral("/bin/sh");
     private static final TruffleString T_DEV_TTY = tsLiteral("/dev/tty");
+    private static final int MAX_IDLE_POLLERS = 2;
 
     private final ConcurrentHashMap<String, String> environ = new ConcurrentHashMap<>();
     private int currentUmask = 0022;
     private boolean hasDefaultUmask = true;
     // Lazily parsed content of /etc/services.
     private Map<String, List<Service>> etcServices;
+    // Selectors reused by poll() so that channels polled repeatedly need not be registered again
+    private final ArrayDeque<EmulatedPoller> idlePollers = new ArrayDeque<>();
+    private final Set<EmulatedPoller> pollers = Collections.newSetFromMap(new WeakHashMap<>());
 
     public EmulatedPosixSupport(PythonContext context) {
         super(context);
@@ -666,32 +681,180 @@ public final class EmulatedPosixSupport extends PosixResources {
     private SelectableChannel[] getSelectableChannels(int[] fds) throws PosixException {
         SelectableChannel[] channels = new SelectableChannel[fds.length];
         for (int i = 0; i < fds.length; i++) {
-            Channel ch = getFileChannel(fds[i]);
+            Object ch = getSelectableChannel(fds[i]);
             if (ch == null) {
                 throw posixException(OSErrorEnum.EBADF);
             }
-            if (ch instanceof SelectableChannel) {
-                channels[i] = (SelectableChannel) ch;
-            } else if (ch instanceof EmulatedDatagramSocket) {
-                channels[i] = ((EmulatedDatagramSocket) ch).channel;
-            } else if (ch instanceof EmulatedStreamSocket) {
-                EmulatedStreamSocket streamSocket = (EmulatedStreamSocket) ch;
-                synchronized (streamSocket) {
-                    if (streamSocket.clientChannel != null) {
-                        channels[i] = streamSocket.clientChannel;
-                    } else if (streamSocket.serverChannel != null) {
-                        channels[i] = streamSocket.serverChannel;
-                    } else {
-                        throw ChannelNotSelectableException.INSTANCE;
-                    }
-                }
-            } else {
+            if (ch == EmulatedPoller.NOT_SELECTABLE) {
                 throw ChannelNotSelectableException.INSTANCE;
             }
+            channels[i] = (SelectableChannel) ch;
         }
         return channels;
     }
 
+    /**
+     * Returns the {@link SelectableChannel} backing given file descriptor,
+     * {@link EmulatedPoller#NOT_SELECTABLE} if there is none, or {@code null} if the file
+     * descriptor is not open.
+     */
+    @TruffleBoundary
+    Object getSelectableChannel(int fd) {
+        Channel ch = getFileChannel(fd);
+        if (ch == null) {
+            return null;
+        }
+        if (ch instanceof SelectableChannel) {
+            return ch;
+        } else if (ch instanceof EmulatedDatagramSocket) {
+            return ((EmulatedDatagramSocket) ch).channel;
+        } else if (ch instanceof EmulatedStreamSocket) {
+            EmulatedStreamSocket streamSocket = (EmulatedStreamSocket) ch;
+            synchronized (streamSocket) {
+                if (streamSocket.clientChannel != null) {
+                    return streamSocket.clientChannel;
+                } else if (streamSocket.serverChannel != null) {
+                    return streamSocket.serverChannel;
+                }
+            }
+        }
+        return EmulatedPoller.NOT_SELECTABLE;
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public int poll(int[] fds, int[] events, int[] revents, int timeoutMs) throws PosixException {
+        EmulatedPoller poller;
+        synchronized (idlePollers) {
+            poller = idlePollers.poll();
+        }
+        try {
+            if (poller == null) {
+                poller = createPoller(false);
+            }
+            return poller.waitPoll(this, fds, events, revents, timeoutMs);
+        } catch (IOException e) {
+            throw posixException(OSErrorEnum.fromException(e, TruffleString.EqualNode.getUncached()));
+        } finally {
+            if (poller != null) {
+                releasePoller(poller);
+            }
+        }
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public int epollCreate() throws PosixException {
+        if (!EPOLL_CTL_ADD.defined) {
+            throw posixException(OSErrorEnum.ENOSYS);
+        }
+        try {
+            return assignFileDescriptor(createPoller(true));
+        } catch (IOException e) {
+            throw posixException(OSErrorEnum.fromException(e, TruffleString.EqualNode.getUncached()));
+        }
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public void epollCtl(int epfd, int op, int fd, int events) throws PosixException {
+        EmulatedPoller poller = getEpoll(epfd);
+        Channel ch = getFileChannel(fd);
+        if (ch == null) {
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        if (fd == epfd) {
+            throw posixException(OSErrorEnum.EINVAL);
+        }
+        if (!(ch instanceof SelectableChannel || ch instanceof EmulatedSocket)) {
+            // like epoll, we refuse regular files
+            throw posixException(OSErrorEnum.EPERM);
+        }
+        boolean success;
+        if (op == EPOLL_CTL_ADD.getValueIfDefined()) {
+            success = poller.add(fd, events);
+        } else if (op == EPOLL_CTL_MOD.getValueIfDefined()) {
+            success = poller.modify(fd, events);
+        } else if (op == EPOLL_CTL_DEL.getValueIfDefined()) {
+            success = poller.remove(fd);
+        } else {
+            throw posixException(OSErrorEnum.EINVAL);
+        }
+        if (!success) {
+            throw posixException(op == EPOLL_CTL_ADD.getValueIfDefined() ? OSErrorEnum.EEXIST : OSErrorEnum.ENOENT);
+        }
+        if (op != EPOLL_CTL_DEL.getValueIfDefined() && (events & EPOLLET.getValueIfDefined()) != 0) {
+            compatibilityIgnored("edge-triggered mode of epoll, readiness is reported as in level-triggered mode");
+        }
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public int epollWait(int epfd, int[] fds, int[] events, int timeoutMs) throws PosixException {
+        EmulatedPoller poller = getEpoll(epfd);
+        if (fds.length == 0) {
+            throw posixException(OSErrorEnum.EINVAL);
+        }
+        try {
+            return poller.waitEpoll(this, fds, events, timeoutMs);
+        } catch (ClosedSelectorException e) {
+            throw posixException(OSErrorEnum.EBADF);
+        } catch (IOException e) {
+            throw posixException(OSErrorEnum.fromException(e, TruffleString.EqualNode.getUncached()));
+        }
+    }
+
+    private EmulatedPoller getEpoll(int epfd) throws PosixException {
+        Channel ch = getFileChannel(epfd);
+        if (ch == null) {
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        if (!(ch instanceof EmulatedPoller) || !((EmulatedPoller) ch).isEpoll()) {
+            throw posixException(OSErrorEnum.EINVAL);
+        }
+        return (EmulatedPoller) ch;
+    }
+
+    private EmulatedPoller createPoller(boolean epoll) throws IOException {
+        EmulatedPoller poller = new EmulatedPoller(epoll);
+        synchronized (pollers) {
+            pollers.add(poller);
+        }
+        return poller;
+    }
+
+    private void releasePoller(EmulatedPoller poller) {
+        synchronized (idlePollers) {
+            if (idlePollers.size() < MAX_IDLE_POLLERS) {
+                idlePollers.push(poller);
+                return;
+            }
+        }
+        try {
+            poller.close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+    /**
+     * A channel registered with a selector cannot be made blocking, so it must be removed from all
+     * pollers first.
+     */
+    @TruffleBoundary
+    private void detachFromPollers(int fd) throws IOException {
+        Object ch = getSelectableChannel(fd);
+        if (ch instanceof SelectableChannel && ((SelectableChannel) ch).isRegistered()) {
+            EmulatedPoller[] snapshot;
+            synchronized (pollers) {
+                snapshot = pollers.toArray(new EmulatedPoller[0]);
+            }
+            for (EmulatedPoller poller : snapshot) {
+                poller.detach((SelectableChannel) ch);
+            }
+        }
+    }
+
     @ExportMessage
     public long lseek(int fd, long offset, int how,
                     @Shared("channelClass") @Cached("createClassProfile()") ValueProfile channelClassProfile,
@@ -881,6 +1044,9 @@ public final class EmulatedPosixSupport extends PosixResources {
                     @Shared("channelClass") @Cached("createClassProfile()") ValueProfile channelClassProfile,
                     @Shared("eq") @Cached TruffleString.EqualNode eqNode) throws PosixException {
         try {
+            if (blocking) {
+                detachFromPollers(fd);
+            }
             Channel channel = getChannel(fd);
             if (channel instanceof EmulatedSocket) {
                 setBlocking((EmulatedSocket) channel, blocking);
@@ -2185,82 +2351,116 @@ public final class EmulatedPosixSupport extends PosixResources {
         }
     }
 
+    /**
+     * An emulated memory mapping. Whenever possible, the mapping is backed by {@link ByteBuffer}s
+     * of at most {@link #CHUNK_SIZE} bytes each: {@link MappedByteBuffer}s for files and heap
+     * buffers for anonymous mappings, so that accesses are plain memory reads and writes and the
+     * size is not limited to 2GB. Only if the file system does not provide {@link FileChannel}s, the
+     * mapping falls back to positioned reads and writes on a byte channel.
+     */
     public static final class MMapHandle {
-        private static final MMapHandle NONE = new MMapHandle(null, 0);
+        private static final MMapHandle NONE = new MMapHandle((SeekableByteChannel) null, 0);
+        private static final int CHUNK_SHIFT = 30;
+        private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+        private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
         private SeekableByteChannel channel;
+        private ByteBuffer[] chunks;
         private final long offset;
+        private final long length;
 
         public MMapHandle(SeekableByteChannel channel, long offset) {
             this.channel = channel;
             this.offset = offset;
+            this.length = -1;
         }
 
-        @Override
-        public String toString() {
-            neverPartOfCompilation();
-            return String.format("Emulated mmap [channel=%s, offset=%d]", channel, offset);
+        private MMapHandle(ByteBuffer[] chunks, long length) {
+            this.chunks = chunks;
+            this.offset = 0;
+            this.length = length;
         }
-    }
-
-    private static final class AnonymousMap implements SeekableByteChannel {
-        private final byte[] data;
-
-        private boolean open = true;
-        private int cur;
 
-        public AnonymousMap(int cap) {
-            this.data = new byte[cap];
+        boolean isMapped() {
+            return chunks != null;
         }
 
-        @Override
-        public boolean isOpen() {
-            return open;
+        @TruffleBoundary
+        static MMapHandle allocate(long length) {
+            ByteBuffer[] chunks = new ByteBuffer[chunkCount(length)];
+            for (int i = 0; i < chunks.length; i++) {
+                chunks[i] = ByteBuffer.allocate(chunkLength(length, i));
+            }
+            return new MMapHandle(chunks, length);
         }
 
-        @Override
-        public void close() throws IOException {
-            open = false;
+        @TruffleBoundary
+        static MMapHandle map(FileChannel fileChannel, MapMode mode, long offset, long length) throws IOException {
+            ByteBuffer[] chunks = new ByteBuffer[chunkCount(length)];
+            for (int i = 0; i < chunks.length; i++) {
+                chunks[i] = fileChannel.map(mode, offset + ((long) i << CHUNK_SHIFT), chunkLength(length, i));
+            }
+            return new MMapHandle(chunks, length);
         }
 
-        @Override
-        public int read(ByteBuffer dst) throws IOException {
-            int nread = Math.min(dst.remaining(), data.length - cur);
-            dst.put(data, cur, nread);
-            return nread;
+        private static int chunkCount(long length) {
+            return (int) ((length + CHUNK_MASK) >>> CHUNK_SHIFT);
         }
 
-        @Override
-        public int write(ByteBuffer src) throws IOException {
-            int nwrite = Math.min(src.remaining(), data.length - cur);
-            src.get(data, cur, nwrite);
-            return nwrite;
+        private static int chunkLength(long length, int chunk) {
+            return (int) Math.min(CHUNK_SIZE, length - ((long) chunk << CHUNK_SHIFT));
         }
 
-        @Override
-        public long position() throws IOException {
-            return cur;
+        /**
+         * Copies up to {@code len} bytes starting at {@code index} from the mapping to
+         * {@code bytes}, returns the number of bytes copied.
+         */
+        @TruffleBoundary
+        int read(long index, byte[] bytes, int len) {
+            int n = (int) Math.max(0, Math.min(len, length - index));
+            int done = 0;
+            while (done < n) {
+                long pos = index + done;
+                ByteBuffer chunk = chunks[(int) (pos >>> CHUNK_SHIFT)].duplicate();
+                chunk.position((int) (pos & CHUNK_MASK));
+                int count = Math.min(n - done, chunk.remaining());
+                chunk.get(bytes, done, count);
+                done += count;
+            }
+            return n;
         }
 
-        @Override
-        public SeekableByteChannel position(long newPosition) throws IOException {
-            if (newPosition < 0 || newPosition >= data.length) {
-                throw new IllegalArgumentException();
+        @TruffleBoundary
+        int write(long index, byte[] bytes, int len) {
+            int n = (int) Math.max(0, Math.min(len, length - index));
+            int done = 0;
+            while (done < n) {
+                long pos = index + done;
+                ByteBuffer chunk = chunks[(int) (pos >>> CHUNK_SHIFT)].duplicate();
+                chunk.position((int) (pos & CHUNK_MASK));
+                int count = Math.min(n - done, chunk.remaining());
+                chunk.put(bytes, done, count);
+                done += count;
             }
-            cur = (int) newPosition;
-            return this;
+            return n;
         }
 
-        @Override
-        public long size() throws IOException {
-            return data.length;
+        @TruffleBoundary
+        void force() {
+            for (ByteBuffer chunk : chunks) {
+                if (chunk instanceof MappedByteBuffer) {
+                    ((MappedByteBuffer) chunk).force();
+                }
+            }
         }
 
         @Override
-        public SeekableByteChannel truncate(long size) throws IOException {
-            for (int i = 0; i < size; i++) {
-                data[i] = 0;
+        public String toString() {
+            neverPartOfCompilation();
+            if (chunks != null) {
+                return String.format("Emulated mmap [length=%d, chunks=%d]", length, chunks.length);
             }
-            return this;
+            return String.format("Emulated mmap [channel=%s, offset=%d]", channel, offset);
         }
     }
 
@@ -2277,10 +2477,9 @@ public final class EmulatedPosixSupport extends PosixResources {
         // Note: the profile is not really defaultDirProfile, but it's good to share...
         if (isAnonymousProfile.profile((flags & MAP_ANONYMOUS.value) != 0)) {
             try {
-                return new MMapHandle(new AnonymousMap(PythonUtils.toIntExact(length)), 0);
-            } catch (OverflowException e) {
-                CompilerDirectives.transferToInterpreter();
-                throw new UnsupportedPosixFeatureException(String.format("Anonymous mapping in mmap for memory larger than %d", Integer.MAX_VALUE));
+                return MMapHandle.allocate(length);
+            } catch (OutOfMemoryError e) {
+                throw posixException(OSErrorEnum.ENOMEM);
             }
         }
 
@@ -2292,6 +2491,14 @@ public final class EmulatedPosixSupport extends PosixResources {
         SeekableByteChannel fileChannel;
         try {
             fileChannel = newByteChannel(file, options);
+            if (fileChannel instanceof FileChannel) {
+                // the mapping stays valid after the channel is closed
+                try {
+                    return MMapHandle.map((FileChannel) fileChannel, mmapMapMode(prot, flags), offset, length);
+                } finally {
+                    closeChannel(fileChannel);
+                }
+            }
             position(fileChannel, offset);
             return new MMapHandle(fileChannel, offset);
         } catch (IOException e) {
@@ -2299,6 +2506,13 @@ public final class EmulatedPosixSupport extends PosixResources {
         }
     }
 
+    private static MapMode mmapMapMode(int prot, int flags) {
+        if ((prot & PROT_WRITE.value) == 0) {
+            return MapMode.READ_ONLY;
+        }
+        return (flags & MAP_PRIVATE.value) != 0 ? MapMode.PRIVATE : MapMode.READ_WRITE;
+    }
+
     @TruffleBoundary
     private static Set<StandardOpenOption> mmapProtToOptions(int prot) {
         HashSet<StandardOpenOption> options = new HashSet<>();
@@ -2329,6 +2543,13 @@ public final class EmulatedPosixSupport extends PosixResources {
             throw posixException(OSErrorEnum.EACCES);
         }
         MMapHandle handle = (MMapHandle) mmap;
+        if (handle.isMapped()) {
+            if (index < 0 || index >= handle.length) {
+                errBranch.enter();
+                throw posixException(OSErrorEnum.ENODATA);
+            }
+            return getMappedByte(handle, index);
+        }
         ByteBuffer readingBuffer = allocateByteBuffer(1);
         int readSize = readBytes(handle, index, readingBuffer, errBranch, eqNode);
         if (readSize == 0) {
@@ -2337,6 +2558,11 @@ public final class EmulatedPosixSupport extends PosixResources {
         return getByte(readingBuffer);
     }
 
+    @TruffleBoundary(allowInlining = true)
+    private static byte getMappedByte(MMapHandle handle, long index) {
+        return handle.chunks[(int) (index >>> MMapHandle.CHUNK_SHIFT)].get((int) (index & MMapHandle.CHUNK_MASK));
+    }
+
     @ExportMessage
     @SuppressWarnings("static-method")
     public int mmapReadBytes(Object mmap, long index, byte[] bytes, int length,
@@ -2347,6 +2573,9 @@ public final class EmulatedPosixSupport extends PosixResources {
             throw posixException(OSErrorEnum.EACCES);
         }
         MMapHandle handle = (MMapHandle) mmap;
+        if (handle.isMapped()) {
+            return handle.read(index, bytes, length);
+        }
         int sz;
         try {
             sz = PythonUtils.toIntExact(length);
@@ -2382,6 +2611,20 @@ public final class EmulatedPosixSupport extends PosixResources {
             throw posixException(OSErrorEnum.EACCES);
         }
         MMapHandle handle = (MMapHandle) mmap;
+        if (handle.isMapped()) {
+            int written;
+            try {
+                written = handle.write(index, bytes, length);
+            } catch (ReadOnlyBufferException e) {
+                errBranch.enter();
+                throw posixException(OSErrorEnum.EACCES);
+            }
+            if (written != length) {
+                errBranch.enter();
+                throw posixException(OSErrorEnum.EIO);
+            }
+            return;
+        }
         try {
             SeekableByteChannel channel = handle.channel;
             position(channel, handle.offset + index);
@@ -2404,11 +2647,11 @@ public final class EmulatedPosixSupport extends PosixResources {
     @ExportMessage
     @SuppressWarnings({"static-method", "unused"})
     public void mmapFlush(Object mmap, long offset, long length) {
-        // Intentionally noop
-        // If we had access to the underlying NIO FileChannel, we could explicitly set force(true)
-        // when creating the channel. Another possibility would be exposing JDK's memory mapped
-        // files support via Truffle API, which would allow for more compatible (and completely
-        // different implementation of mmap in emulated posix)
+        // Mappings that fall back to a byte channel write through immediately, there is nothing to
+        // flush for them.
+        if (mmap != MMapHandle.NONE && ((MMapHandle) mmap).isMapped()) {
+            ((MMapHandle) mmap).force();
+        }
     }
 
     @ExportMessage
@@ -2419,6 +2662,9 @@ public final class EmulatedPosixSupport extends PosixResources {
             return;
         }
         MMapHandle handle = (MMapHandle) mmap;
+        // Java does not allow unmapping a MappedByteBuffer explicitly, the memory is released when
+        // the buffers are garbage collected
+        handle.chunks = null;
         if (handle.channel != null) {
             try {
                 closeChannel(handle.channel);
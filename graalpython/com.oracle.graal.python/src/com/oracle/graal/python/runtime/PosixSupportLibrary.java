@@ -107,6 +107,32 @@ public abstract class PosixSupportLibrary extends Library {
 
     public abstract SelectResult select(Object receiver, int[] readfds, int[] writefds, int[] errorfds, Timeval timeout) throws PosixException;
 
+    /**
+     * Waits for events on the given file descriptors, with the semantics of {@code poll(2)}. The
+     * {@code revents} output array must have the same length as {@code fds} and {@code events}.
+     * Negative {@code timeoutMs} means infinite timeout.
+     *
+     * @return the number of file descriptors with non-zero {@code revents}
+     */
+    public abstract int poll(Object receiver, int[] fds, int[] events, int[] revents, int timeoutMs) throws PosixException;
+
+    /**
+     * Creates a new non-inheritable epoll instance and returns its file descriptor. The instance is
+     * released using {@link #close(Object, int)}.
+     */
+    public abstract int epollCreate(Object receiver) throws PosixException;
+
+    public abstract void epollCtl(Object receiver, int epfd, int op, int fd, int events) throws PosixException;
+
+    /**
+     * Waits for events on an epoll instance. The output arrays {@code fds} and {@code events} must
+     * have the same length, which also determines the maximum number of reported events. Negative
+     * {@code timeoutMs} means infinite timeout.
+     *
+     * @return the number of entries filled in the output arrays
+     */
+    public abstract int epollWait(Object receiver, int epfd, int[] fds, int[] events, int timeoutMs) throws PosixException;
+
     public abstract long lseek(Object receiver, int fd, long offset, int how) throws PosixException;
 
     public abstract void ftruncate(Object receiver, int fd, long length) throws PosixException;
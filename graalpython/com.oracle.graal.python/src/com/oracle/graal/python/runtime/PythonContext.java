@@ -70,6 +70,7 @@ import java.security.SecureRandom;
 import java.text.MessageFormat;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -100,6 +101,7 @@ import com.oracle.graal.python.builtins.objects.PythonAbstractObject;
 import com.oracle.graal.python.builtins.objects.PythonAbstractObjectFactory.PInteropGetAttributeNodeGen;
 import com.oracle.graal.python.builtins.objects.cext.PythonNativeClass;
 import com.oracle.graal.python.builtins.objects.cext.capi.CApiContext;
+import com.oracle.graal.python.builtins.objects.cext.capi.HandleCache;
 import com.oracle.graal.python.builtins.objects.cext.capi.PThreadState;
 import com.oracle.graal.python.builtins.objects.cext.capi.PyDateTimeCAPIWrapper;
 import com.oracle.graal.python.builtins.objects.cext.capi.PyTruffleObjectFree.ReleaseHandleNode;
@@ -230,6 +232,8 @@ public final class PythonContext extends Python3Core {
      * A class to store thread-local data mostly like CPython's {@code PyThreadState}.
      */
     public static final class PythonThreadState {
+        private static final PDict[] EMPTY_THREAD_LOCAL_DICTS = new PDict[0];
+
         private boolean shuttingDown = false;
 
         /*
@@ -252,6 +256,9 @@ public final class PythonContext extends Python3Core {
         /* corresponds to 'PyThreadState.dict' */
         PDict dict;
 
+        /* the dicts of the '_thread._local' objects, indexed by 'PThreadLocal.getIndex()' */
+        PDict[] threadLocalDicts = EMPTY_THREAD_LOCAL_DICTS;
+
         CtypesThreadState ctypes;
 
         /*
@@ -349,6 +356,25 @@ public final class PythonContext extends Python3Core {
             this.dict = dict;
         }
 
+        public PDict getThreadLocalDict(int index) {
+            PDict[] dicts = threadLocalDicts;
+            return index < dicts.length ? dicts[index] : null;
+        }
+
+        public void setThreadLocalDict(int index, PDict value) {
+            if (index >= threadLocalDicts.length) {
+                CompilerDirectives.transferToInterpreter();
+                threadLocalDicts = Arrays.copyOf(threadLocalDicts, Math.max(index + 1, threadLocalDicts.length * 2));
+            }
+            threadLocalDicts[index] = value;
+        }
+
+        void clearThreadLocalDict(int index) {
+            if (index < threadLocalDicts.length) {
+                threadLocalDicts[index] = null;
+            }
+        }
+
         public CtypesThreadState getCtypes() {
             return ctypes;
         }
@@ -384,6 +410,7 @@ public final class PythonContext extends Python3Core {
                 releaseHandleNode.execute(dict.getNativeWrapper());
             }
             dict = null;
+            threadLocalDicts = EMPTY_THREAD_LOCAL_DICTS;
             if (nativeWrapper != null) {
                 releaseHandleNode.execute(nativeWrapper);
                 nativeWrapper = null;
@@ -575,6 +602,8 @@ public final class PythonContext extends Python3Core {
     private final List<ShutdownHook> shutdownHooks = new ArrayList<>();
     private final List<AtExitHook> atExitHooks = new ArrayList<>();
     private final List<Runnable> capiHooks = new ArrayList<>();
+    /* handle caches created by the C API, kept for __graalpython__.handle_cache_stats() */
+    private final List<HandleCache> handleCaches = new ArrayList<>();
     private final HashMap<PythonNativeClass, CyclicAssumption> nativeClassStableAssumptions = new HashMap<>();
     private final ThreadGroup threadGroup = new ThreadGroup(GRAALPYTHON_THREADS);
     private final IDUtils idUtils = new IDUtils();
@@ -600,6 +629,10 @@ public final class PythonContext extends Python3Core {
 
     /* map of thread IDs to the corresponding 'threadStates' */
     private final Map<Thread, PythonThreadState> threadStateMapping = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /* indices of the dicts of '_thread._local' objects in the thread states */
+    private int nextThreadLocalIndex;
+    private final ArrayDeque<Integer> freeThreadLocalIndices = new ArrayDeque<>();
     private WeakReference<Thread> mainThread;
 
     private final ReentrantLock importLock = new ReentrantLock();
@@ -616,13 +649,61 @@ public final class PythonContext extends Python3Core {
 
     private static final Assumption singleNativeContext = Truffle.getRuntime().createAssumption("single native context assumption");
 
+    /**
+     * The GIL is a non-fair lock, so that uncontended acquisitions around blocking operations stay
+     * cheap. Fairness is established by the {@link AsyncHandler}, which asks the owner to drop the
+     * GIL when a thread has been waiting for a whole switch interval without any switch happening.
+     * The owner then hands the GIL over, i.e., it does not try to take it again before another
+     * thread acquired it (this is what CPython calls forced switching).
+     */
     private static final class GlobalInterpreterLock extends ReentrantLock {
         private static final long serialVersionUID = 1L;
 
+        /** Upper bound for a single wait for a handoff, in case the waiting thread gave up. */
+        private static final long HANDOFF_POLL_MILLIS = 1;
+
+        private final transient Object handoffMonitor = new Object();
+        /** Incremented on every acquisition, only written by the owner. */
+        private volatile long switchNumber;
+        private volatile boolean handoffPending;
+
+        private final AtomicLong waitTimeNanos = new AtomicLong();
+        private final AtomicLong handoffs = new AtomicLong();
+        private final AtomicLong dropRequests = new AtomicLong();
+
         @Override
         public Thread getOwner() {
             return super.getOwner();
         }
+
+        void onAcquired() {
+            switchNumber++;
+            if (handoffPending) {
+                synchronized (handoffMonitor) {
+                    handoffMonitor.notifyAll();
+                }
+            }
+        }
+
+        /**
+         * Waits until some other thread acquired the lock after the acquisition numbered
+         * {@code previous}, or until nobody is waiting for it anymore.
+         */
+        void awaitSwitch(long previous) throws InterruptedException {
+            synchronized (handoffMonitor) {
+                handoffPending = true;
+                try {
+                    while (switchNumber == previous && hasQueuedThreads()) {
+                        handoffMonitor.wait(HANDOFF_POLL_MILLIS);
+                    }
+                } finally {
+                    handoffPending = false;
+                }
+            }
+            if (switchNumber != previous) {
+                handoffs.incrementAndGet();
+            }
+        }
     }
 
     private final GlobalInterpreterLock globalInterpreterLock = new GlobalInterpreterLock();
@@ -2055,6 +2136,59 @@ public final class PythonContext extends Python3Core {
         return globalInterpreterLock.getOwner();
     }
 
+    /**
+     * Should not be used outside of {@link AsyncHandler}
+     */
+    boolean hasGilWaiters() {
+        return globalInterpreterLock.hasQueuedThreads();
+    }
+
+    /**
+     * Should not be used outside of {@link AsyncHandler}. The number of GIL acquisitions so far,
+     * used to detect whether any switch happened during an interval.
+     */
+    long getGilSwitchNumber() {
+        return globalInterpreterLock.switchNumber;
+    }
+
+    /**
+     * Should not be used outside of {@link AsyncHandler}
+     */
+    void countGilDropRequest() {
+        globalInterpreterLock.dropRequests.incrementAndGet();
+    }
+
+    /**
+     * Should not be used outside of {@link AsyncHandler}. Must be called after the current thread
+     * released the GIL it acquired as the {@code switchNumber}-th acquisition. Blocks until another
+     * thread took the GIL over, so that the current thread does not immediately win it back.
+     */
+    @TruffleBoundary
+    void awaitGilHandoff(long switchNumber, Node location) {
+        TruffleSafepoint.setBlockedThreadInterruptible(location, gil -> gil.awaitSwitch(switchNumber), globalInterpreterLock);
+    }
+
+    /**
+     * Total time threads of this context spent waiting for the GIL, in nanoseconds.
+     */
+    public long getGilWaitTimeNanos() {
+        return globalInterpreterLock.waitTimeNanos.get();
+    }
+
+    /**
+     * Number of times a thread dropped the GIL on request and another thread took it over.
+     */
+    public long getGilHandoffCount() {
+        return globalInterpreterLock.handoffs.get();
+    }
+
+    /**
+     * Number of times the GIL owner was asked to drop the GIL for a waiting thread.
+     */
+    public long getGilDropRequestCount() {
+        return globalInterpreterLock.dropRequests.get();
+    }
+
     /**
      * Should not be called directly.
      *
@@ -2062,7 +2196,11 @@ public final class PythonContext extends Python3Core {
      */
     @TruffleBoundary
     boolean tryAcquireGil() {
-        return globalInterpreterLock.tryLock();
+        if (globalInterpreterLock.tryLock()) {
+            globalInterpreterLock.onAcquired();
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -2074,7 +2212,15 @@ public final class PythonContext extends Python3Core {
     void acquireGil() throws InterruptedException {
         assert !ownsGil() : dumpStackOnAssertionHelper("trying to acquire the GIL more than once");
         boolean wasInterrupted = Thread.interrupted();
-        globalInterpreterLock.lockInterruptibly();
+        if (!globalInterpreterLock.tryLock()) {
+            long start = System.nanoTime();
+            try {
+                globalInterpreterLock.lockInterruptibly();
+            } finally {
+                globalInterpreterLock.waitTimeNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+        globalInterpreterLock.onAcquired();
         if (wasInterrupted) {
             Thread.currentThread().interrupt();
         }
@@ -2208,6 +2354,26 @@ public final class PythonContext extends Python3Core {
         }
     }
 
+    @TruffleBoundary
+    public synchronized int allocateThreadLocalIndex() {
+        if (freeThreadLocalIndices.isEmpty()) {
+            return nextThreadLocalIndex++;
+        }
+        return freeThreadLocalIndices.pop();
+    }
+
+    /**
+     * Drops the dicts all threads hold for a collected {@code _thread._local} object and makes its
+     * index available again. Must be called with the GIL held.
+     */
+    @TruffleBoundary
+    public void releaseThreadLocalIndex(int index) {
+        applyToAllThreadStates(ts -> ts.clearThreadLocalDict(index));
+        synchronized (this) {
+            freeThreadLocalIndices.push(index);
+        }
+    }
+
     @TruffleBoundary
     public void setSentinelLockWeakref(WeakReference<PLock> sentinelLock) {
         getThreadState(getLanguage()).sentinelLock = sentinelLock;
@@ -2256,6 +2422,20 @@ public final class PythonContext extends Python3Core {
         return cApiContext;
     }
 
+    @TruffleBoundary
+    public void registerHandleCache(HandleCache cache) {
+        synchronized (handleCaches) {
+            handleCaches.add(cache);
+        }
+    }
+
+    @TruffleBoundary
+    public HandleCache[] getHandleCaches() {
+        synchronized (handleCaches) {
+            return handleCaches.toArray(new HandleCache[0]);
+        }
+    }
+
     public void setCapiWasLoaded(CApiContext capiContext) {
         assert this.cApiContext == null : "tried to create new C API context but it was already created";
         this.cApiContext = capiContext;
@@ -41,12 +41,13 @@
 package com.oracle.graal.python.runtime.object;
 
 import java.math.BigInteger;
-import java.util.Collections;
 import java.util.Map;
 import java.util.WeakHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.util.WeakIdentityHashMap;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.strings.TruffleString;
@@ -85,9 +86,44 @@ public final class IDUtils {
     public static final long ID_EMPTY_TUPLE = getId(ReservedID.emptyTuple);
     public static final long ID_EMPTY_FROZENSET = getId(ReservedID.emptyFrozenSet);
 
-    private final Map<Object, Long> weakIdMap = Collections.synchronizedMap(new WeakIdentityHashMap<>());
+    /**
+     * Ids of objects that cannot store their id in a hidden property (see
+     * {@code ObjectNodes.GetObjectIdNode}). The entries are spread over independently locked weak
+     * maps, so that concurrent {@code id()} calls on different objects rarely contend for the same
+     * monitor.
+     */
+    private static final class StripedIdMap<K> {
+        private static final int STRIPES = 32;
+
+        private final Map<K, Long>[] stripes;
+        private final boolean identity;
+
+        @SuppressWarnings("unchecked")
+        StripedIdMap(boolean identity) {
+            this.identity = identity;
+            this.stripes = new Map[STRIPES];
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = identity ? new WeakIdentityHashMap<>() : new WeakHashMap<>();
+            }
+        }
+
+        long getOrAssign(K key, IDUtils idUtils) {
+            int hash = identity ? System.identityHashCode(key) : key.hashCode();
+            Map<K, Long> stripe = stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+            synchronized (stripe) {
+                Long id = stripe.get(key);
+                if (id == null) {
+                    id = idUtils.getNextObjectId();
+                    stripe.put(key, id);
+                }
+                return id;
+            }
+        }
+    }
+
+    private final StripedIdMap<Object> weakIdMap = new StripedIdMap<>(true);
     // for Python interned strings and Truffle strings
-    private final Map<TruffleString, Long> weakStringIdMap = Collections.synchronizedMap(new WeakHashMap<>());
+    private final StripedIdMap<TruffleString> weakStringIdMap = new StripedIdMap<>(false);
     private final AtomicLong globalId = new AtomicLong(ID_OFFSET);
 
     private static long asMaskedReservedObjectId(long id) {
@@ -97,7 +133,6 @@ public final class IDUtils {
 
     public static long asMaskedObjectId(long id) {
         assert Long.compareUnsigned(ID_OFFSET, id) <= 0 && Long.compareUnsigned(id, MAX_OBJECT_ID) <= 0;
-        // TODO: handle overflow (bucketed counter interval with free bucket monitor thread)
         return (id << 2) | ID_MASK_OBJECT;
     }
 
@@ -136,7 +171,14 @@ public final class IDUtils {
 
     @CompilerDirectives.TruffleBoundary(allowInlining = true)
     private long getNextId() {
-        return globalId.incrementAndGet();
+        long id = globalId.incrementAndGet();
+        if (id > MAX_OBJECT_ID) {
+            // Ids are never reused, so this takes more than a century even at a billion new ids
+            // per second. We still must not hand out ids that collide with the int and float ids.
+            globalId.set(MAX_OBJECT_ID);
+            throw PRaiseNode.raiseUncached(null, PythonBuiltinClassType.OverflowError, ErrorMessages.IDS_EXHAUSTED);
+        }
+        return id;
     }
 
     public long getNextObjectId() {
@@ -145,11 +187,11 @@ public final class IDUtils {
 
     @CompilerDirectives.TruffleBoundary
     public long getNextObjectId(Object object) {
-        return weakIdMap.computeIfAbsent(object, value -> getNextObjectId());
+        return weakIdMap.getOrAssign(object, this);
     }
 
     @CompilerDirectives.TruffleBoundary
     public long getNextStringId(TruffleString string) {
-        return weakStringIdMap.computeIfAbsent(string, value -> getNextObjectId());
+        return weakStringIdMap.getOrAssign(string, this);
     }
 }
@@ -27,6 +27,7 @@ package com.oracle.graal.python.runtime.object;
 
 import java.lang.ref.ReferenceQueue;
 import java.math.BigInteger;
+import java.security.MessageDigest;
 import java.util.LinkedHashMap;
 import java.util.concurrent.Semaphore;
 
@@ -49,6 +50,14 @@ import com.oracle.graal.python.builtins.modules.ctypes.PyCArgObject;
 import com.oracle.graal.python.builtins.modules.ctypes.PyCFuncPtrObject;
 import com.oracle.graal.python.builtins.modules.ctypes.StgDictObject;
 import com.oracle.graal.python.builtins.modules.ctypes.StructParamObject;
+import com.oracle.graal.python.builtins.modules.datetime.PDate;
+import com.oracle.graal.python.builtins.modules.datetime.PDateTime;
+import com.oracle.graal.python.builtins.modules.datetime.PTime;
+import com.oracle.graal.python.builtins.modules.datetime.PTimeDelta;
+import com.oracle.graal.python.builtins.modules.datetime.PTimeZone;
+import com.oracle.graal.python.builtins.modules.decimal.PDecimal;
+import com.oracle.graal.python.builtins.modules.decimal.PDecimalContext;
+import com.oracle.graal.python.builtins.modules.hashlib.DigestObject;
 import com.oracle.graal.python.builtins.modules.io.PBuffered;
 import com.oracle.graal.python.builtins.modules.io.PBytesIO;
 import com.oracle.graal.python.builtins.modules.io.PBytesIOBuffer;
@@ -61,6 +70,14 @@ import com.oracle.graal.python.builtins.modules.json.PJSONEncoder;
 import com.oracle.graal.python.builtins.modules.json.PJSONEncoder.FastEncode;
 import com.oracle.graal.python.builtins.modules.json.PJSONScanner;
 import com.oracle.graal.python.builtins.modules.lzma.LZMAObject;
+import com.oracle.graal.python.builtins.modules.pickle.PPickleBuffer;
+import com.oracle.graal.python.builtins.modules.pickle.PPickler;
+import com.oracle.graal.python.builtins.modules.pickle.PPicklerMemoProxy;
+import com.oracle.graal.python.builtins.modules.pickle.PUnpickler;
+import com.oracle.graal.python.builtins.modules.pickle.PUnpicklerMemoProxy;
+import com.oracle.graal.python.builtins.modules.struct.PStruct;
+import com.oracle.graal.python.builtins.modules.struct.PStruct.StructInfo;
+import com.oracle.graal.python.builtins.modules.struct.PStructUnpackIterator;
 import com.oracle.graal.python.builtins.modules.zlib.ZLibCompObject;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.array.PArray;
@@ -92,6 +109,7 @@ import com.oracle.graal.python.builtins.objects.dict.PDictView.PDictKeyIterator;
 import com.oracle.graal.python.builtins.objects.dict.PDictView.PDictKeysView;
 import com.oracle.graal.python.builtins.objects.dict.PDictView.PDictValueIterator;
 import com.oracle.graal.python.builtins.objects.dict.PDictView.PDictValuesView;
+import com.oracle.graal.python.builtins.objects.dict.POrderedDict;
 import com.oracle.graal.python.builtins.objects.enumerate.PEnumerate;
 import com.oracle.graal.python.builtins.objects.exception.PBaseException;
 import com.oracle.graal.python.builtins.objects.floats.PFloat;
@@ -141,6 +159,7 @@ import com.oracle.graal.python.builtins.objects.itertools.PZipLongest;
 import com.oracle.graal.python.builtins.objects.keywrapper.PKeyWrapper;
 import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.builtins.objects.list.PList.ListOrigin;
+import com.oracle.graal.python.builtins.objects.lrucache.PLruCacheWrapper;
 import com.oracle.graal.python.builtins.objects.map.PMap;
 import com.oracle.graal.python.builtins.objects.mappingproxy.PMappingproxy;
 import com.oracle.graal.python.builtins.objects.memoryview.BufferLifecycleManager;
@@ -153,6 +172,9 @@ import com.oracle.graal.python.builtins.objects.mmap.PMMap;
 import com.oracle.graal.python.builtins.objects.module.PythonModule;
 import com.oracle.graal.python.builtins.objects.namespace.PSimpleNamespace;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
+import com.oracle.graal.python.builtins.objects.operator.PAttrGetter;
+import com.oracle.graal.python.builtins.objects.operator.PItemGetter;
+import com.oracle.graal.python.builtins.objects.operator.PMethodCaller;
 import com.oracle.graal.python.builtins.objects.partial.PPartial;
 import com.oracle.graal.python.builtins.objects.posix.PDirEntry;
 import com.oracle.graal.python.builtins.objects.posix.PScandirIterator;
@@ -164,6 +186,8 @@ import com.oracle.graal.python.builtins.objects.range.PIntRange;
 import com.oracle.graal.python.builtins.objects.referencetype.PReferenceType;
 import com.oracle.graal.python.builtins.objects.reversed.PSequenceReverseIterator;
 import com.oracle.graal.python.builtins.objects.reversed.PStringReverseIterator;
+import com.oracle.graal.python.builtins.objects.select.PEpoll;
+import com.oracle.graal.python.builtins.objects.select.PPoll;
 import com.oracle.graal.python.builtins.objects.set.PBaseSet;
 import com.oracle.graal.python.builtins.objects.set.PFrozenSet;
 import com.oracle.graal.python.builtins.objects.set.PSet;
@@ -822,6 +846,22 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new PPartial(cls, getShape(cls), function, args, kwDict));
     }
 
+    public final PLruCacheWrapper createLruCacheWrapper(Object cls, Object function, Object maxSizeObject, int maxSize, boolean typed, Object cacheInfoType, Object kwdMark) {
+        return trace(new PLruCacheWrapper(cls, getShape(cls), function, maxSizeObject, maxSize, typed, cacheInfoType, kwdMark));
+    }
+
+    public final PItemGetter createItemGetter(Object cls, Object[] items) {
+        return trace(new PItemGetter(cls, getShape(cls), items));
+    }
+
+    public final PAttrGetter createAttrGetter(Object cls, Object[] attrs, TruffleString[][] chains) {
+        return trace(new PAttrGetter(cls, getShape(cls), attrs, chains));
+    }
+
+    public final PMethodCaller createMethodCaller(Object cls, TruffleString name, Object[] args, PKeyword[] keywords) {
+        return trace(new PMethodCaller(cls, getShape(cls), name, args, keywords));
+    }
+
     public final PDefaultDict createDefaultDict(Object cls) {
         return createDefaultDict(cls, PNone.NONE);
     }
@@ -838,6 +878,14 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new PDefaultDict(cls, getShape(cls), storage, defaultFactory));
     }
 
+    public final POrderedDict createOrderedDict(Object cls) {
+        return trace(new POrderedDict(cls, getShape(cls)));
+    }
+
+    public final POrderedDict createOrderedDict(HashingStorage storage) {
+        return trace(new POrderedDict(PythonBuiltinClassType.POrderedDict, getShape(PythonBuiltinClassType.POrderedDict), storage));
+    }
+
     public final PDictView createDictKeysView(PHashingCollection dict) {
         return trace(new PDictKeysView(PythonBuiltinClassType.PDictKeysView, PythonBuiltinClassType.PDictKeysView.getInstanceShape(getLanguage()), dict));
     }
@@ -1149,12 +1197,24 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new PSocket(cls, getShape(cls)));
     }
 
+    /*
+     * Select
+     */
+
+    public final PPoll createPoll() {
+        return trace(new PPoll(PythonBuiltinClassType.PPoll, getShape(PythonBuiltinClassType.PPoll)));
+    }
+
+    public final PEpoll createEpoll(Object cls, int epfd) {
+        return trace(new PEpoll(cls, getShape(cls), epfd));
+    }
+
     /*
      * Threading
      */
 
-    public PThreadLocal createThreadLocal(Object cls, Object[] args, PKeyword[] kwArgs) {
-        return trace(new PThreadLocal(cls, getShape(cls), args, kwArgs));
+    public PThreadLocal createThreadLocal(Object cls, Object[] args, PKeyword[] kwArgs, int index) {
+        return trace(new PThreadLocal(cls, getShape(cls), args, kwArgs, index));
     }
 
     public final PLock createLock() {
@@ -1445,6 +1505,70 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new PJSONEncoder(clazz, getShape(clazz), markers, defaultFn, encoder, indent, keySeparator, itemSeparator, sortKeys, skipKeys, allowNan, fastEncode));
     }
 
+    public final PPickler createPickler(Object cls) {
+        return trace(new PPickler(cls, getShape(cls)));
+    }
+
+    public final PUnpickler createUnpickler(Object cls) {
+        return trace(new PUnpickler(cls, getShape(cls)));
+    }
+
+    public final PPicklerMemoProxy createPicklerMemoProxy(PPickler pickler) {
+        return trace(new PPicklerMemoProxy(PythonBuiltinClassType.PicklerMemoProxy, getShape(PythonBuiltinClassType.PicklerMemoProxy), pickler));
+    }
+
+    public final PUnpicklerMemoProxy createUnpicklerMemoProxy(PUnpickler unpickler) {
+        return trace(new PUnpicklerMemoProxy(PythonBuiltinClassType.UnpicklerMemoProxy, getShape(PythonBuiltinClassType.UnpicklerMemoProxy), unpickler));
+    }
+
+    public final PPickleBuffer createPickleBuffer(Object cls, PMemoryView view) {
+        return trace(new PPickleBuffer(cls, getShape(cls), view));
+    }
+
+    public final DigestObject createDigestObject(Object cls, TruffleString name, int blockSize, MessageDigest digest) {
+        return trace(new DigestObject(cls, getShape(cls), name, blockSize, digest));
+    }
+
+    public final PStruct createStruct(Object cls, StructInfo info) {
+        return trace(new PStruct(cls, getShape(cls), info));
+    }
+
+    public final PStructUnpackIterator createStructUnpackIterator(StructInfo info, Object buffer, int bufferLength) {
+        return trace(new PStructUnpackIterator(PythonBuiltinClassType.PStructUnpackIterator, getShape(PythonBuiltinClassType.PStructUnpackIterator), info, buffer, bufferLength));
+    }
+
+    public final PTimeDelta createTimeDelta(Object cls, int days, int seconds, int microseconds) {
+        return trace(new PTimeDelta(cls, getShape(cls), days, seconds, microseconds));
+    }
+
+    public final PDate createDate(Object cls, int year, int month, int day) {
+        return trace(new PDate(cls, getShape(cls), year, month, day));
+    }
+
+    public final PTime createTime(Object cls, long packedTime, Object tzinfo) {
+        return trace(new PTime(cls, getShape(cls), packedTime, tzinfo));
+    }
+
+    public final PDateTime createDateTime(Object cls, int year, int month, int day, long packedTime, Object tzinfo) {
+        return trace(new PDateTime(cls, getShape(cls), year, month, day, packedTime, tzinfo));
+    }
+
+    public final PTimeZone createTimeZone(Object cls, PTimeDelta offset, TruffleString name) {
+        return trace(new PTimeZone(cls, getShape(cls), offset, name));
+    }
+
+    public final PDecimal createDecimal(Object cls, byte kind, boolean negative, long coefficient, long exponent) {
+        return trace(new PDecimal(cls, getShape(cls), kind, negative, coefficient, exponent));
+    }
+
+    public final PDecimal createDecimal(Object cls, byte kind, boolean negative, BigInteger coefficient, long exponent) {
+        return trace(new PDecimal(cls, getShape(cls), kind, negative, coefficient, exponent));
+    }
+
+    public final PDecimalContext createDecimalContext(Object cls, int prec, int rounding, long emin, long emax, int capitals, int clamp, int flags, int traps) {
+        return trace(new PDecimalContext(cls, getShape(cls), prec, rounding, emin, emax, capitals, clamp, flags, traps));
+    }
+
     public final PDeque createDeque() {
         return trace(new PDeque(PythonBuiltinClassType.PDeque, getShape(PythonBuiltinClassType.PDeque)));
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2021, Oracle and/or its affiliates.
+ * Copyright (c) 2017, 2022, Oracle and/or its affiliates.
  * Copyright (c) 2013, Regents of the University of California
  *
  * All rights reserved.
@@ -25,6 +25,8 @@
  */
 package com.oracle.graal.python.runtime.sequence.storage;
 
+import com.oracle.graal.python.util.PythonUtils;
+
 public abstract class SequenceStorageFactory {
 
     private SequenceStorageFactory() {
@@ -76,6 +78,50 @@ public abstract class SequenceStorageFactory {
 
     }
 
+    /**
+     * Creates a storage holding a copy of a Java primitive array from the host. The elements have
+     * the same values as when reading them one by one through interop, i.e., {@code byte} and
+     * {@code short} become ints and {@code float} becomes a double. Returns {@code null} if the
+     * object is not such an array.
+     */
+    public static SequenceStorage createStorageFromHostArray(Object hostArray) {
+        if (hostArray instanceof int[]) {
+            int[] values = (int[]) hostArray;
+            return new IntSequenceStorage(PythonUtils.arrayCopyOf(values, values.length));
+        } else if (hostArray instanceof double[]) {
+            double[] values = (double[]) hostArray;
+            return new DoubleSequenceStorage(PythonUtils.arrayCopyOf(values, values.length));
+        } else if (hostArray instanceof long[]) {
+            long[] values = (long[]) hostArray;
+            return new LongSequenceStorage(PythonUtils.arrayCopyOf(values, values.length));
+        } else if (hostArray instanceof boolean[]) {
+            boolean[] values = (boolean[]) hostArray;
+            return new BoolSequenceStorage(PythonUtils.arrayCopyOf(values, values.length));
+        } else if (hostArray instanceof byte[]) {
+            byte[] values = (byte[]) hostArray;
+            int[] ints = new int[values.length];
+            for (int i = 0; i < values.length; i++) {
+                ints[i] = values[i];
+            }
+            return new IntSequenceStorage(ints);
+        } else if (hostArray instanceof short[]) {
+            short[] values = (short[]) hostArray;
+            int[] ints = new int[values.length];
+            for (int i = 0; i < values.length; i++) {
+                ints[i] = values[i];
+            }
+            return new IntSequenceStorage(ints);
+        } else if (hostArray instanceof float[]) {
+            float[] values = (float[]) hostArray;
+            double[] doubles = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                doubles[i] = values[i];
+            }
+            return new DoubleSequenceStorage(doubles);
+        }
+        return null;
+    }
+
     private static boolean canSpecializeToInt(Object[] values) {
         for (Object item : values) {
             if (!(item instanceof Integer)) {
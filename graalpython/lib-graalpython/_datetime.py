@@ -0,0 +1,185 @@
+# Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+
+
+# The types of this module are implemented in Java, this file adds the methods that delegate to the
+# time and _strptime modules.
+
+import time as _time
+
+
+def _wrap_strftime(object, format, timetuple):
+    # Replaces %z, %Z and %f before passing the format to time.strftime, like CPython's
+    # wrap_strftime
+    freplace = None
+    zreplace = None
+    Zreplace = None
+    newformat = []
+    push = newformat.append
+    i, n = 0, len(format)
+    while i < n:
+        ch = format[i]
+        i += 1
+        if ch == '%':
+            if i < n:
+                ch = format[i]
+                i += 1
+                if ch == 'f':
+                    if freplace is None:
+                        freplace = '%06d' % getattr(object, 'microsecond', 0)
+                    push(freplace)
+                elif ch == 'z':
+                    if zreplace is None:
+                        zreplace = ""
+                        if hasattr(object, "utcoffset"):
+                            offset = object.utcoffset()
+                            if offset is not None:
+                                sign = '+'
+                                if offset.days < 0:
+                                    offset = -offset
+                                    sign = '-'
+                                h, rest = divmod(offset, timedelta(hours=1))
+                                m, rest = divmod(rest, timedelta(minutes=1))
+                                s = rest.seconds
+                                u = offset.microseconds
+                                if u:
+                                    zreplace = '%c%02d%02d%02d.%06d' % (sign, h, m, s, u)
+                                elif s:
+                                    zreplace = '%c%02d%02d%02d' % (sign, h, m, s)
+                                else:
+                                    zreplace = '%c%02d%02d' % (sign, h, m)
+                    push(zreplace)
+                elif ch == 'Z':
+                    if Zreplace is None:
+                        Zreplace = ""
+                        if hasattr(object, "tzname"):
+                            s = object.tzname()
+                            if s is not None:
+                                # strftime is going to have at this: escape %
+                                Zreplace = s.replace('%', '%%')
+                    push(Zreplace)
+                else:
+                    push('%')
+                    push(ch)
+            else:
+                push('%')
+        else:
+            push(ch)
+    return _time.strftime("".join(newformat), timetuple)
+
+
+def _check_format(format):
+    if not isinstance(format, str):
+        raise TypeError("strftime() argument 1 must be str, not %s" % type(format).__name__)
+
+
+def _date_timetuple(self):
+    "Return time tuple, compatible with time.localtime()."
+    yday = self.toordinal() - date(self.year, 1, 1).toordinal() + 1
+    return _time.struct_time((self.year, self.month, self.day, 0, 0, 0, self.weekday(), yday, -1))
+
+
+def _date_strftime(self, format):
+    "format -> strftime() style string."
+    _check_format(format)
+    return _wrap_strftime(self, format, self.timetuple())
+
+
+def _time_strftime(self, format):
+    "format -> strftime() style string."
+    _check_format(format)
+    # the year must be >= 1000 for some platforms, CPython uses 1900-01-01
+    timetuple = (1900, 1, 1, self.hour, self.minute, self.second, 0, 1, -1)
+    return _wrap_strftime(self, format, timetuple)
+
+
+def _datetime_timetuple(self):
+    "Return time tuple, compatible with time.localtime()."
+    dst = self.dst()
+    if dst is None:
+        dst = -1
+    elif dst:
+        dst = 1
+    else:
+        dst = 0
+    yday = self.toordinal() - date(self.year, 1, 1).toordinal() + 1
+    return _time.struct_time((self.year, self.month, self.day, self.hour, self.minute, self.second,
+                              self.weekday(), yday, dst))
+
+
+def _datetime_utctimetuple(self):
+    "Return UTC time tuple, compatible with time.localtime()."
+    offset = self.utcoffset()
+    if offset:
+        self -= offset
+    yday = self.toordinal() - date(self.year, 1, 1).toordinal() + 1
+    return _time.struct_time((self.year, self.month, self.day, self.hour, self.minute, self.second,
+                              self.weekday(), yday, 0))
+
+
+def _datetime_strptime(cls, date_string, format):
+    "string, format -> new datetime parsed from a string (like time.strptime())."
+    import _strptime
+    return _strptime._strptime_datetime(cls, date_string, format)
+
+
+def _tzinfo_reduce(self):
+    "-> (cls, state)"
+    getinitargs = getattr(self, "__getinitargs__", None)
+    if getinitargs:
+        args = getinitargs()
+    else:
+        args = ()
+    getstate = getattr(self, "__getstate__", None)
+    if getstate:
+        state = getstate()
+    else:
+        state = getattr(self, "__dict__", None) or None
+    if state is None:
+        return (self.__class__, args)
+    else:
+        return (self.__class__, args, state)
+
+
+date.timetuple = __graalpython__.builtin_method(_date_timetuple)
+date.strftime = __graalpython__.builtin_method(_date_strftime)
+time.strftime = __graalpython__.builtin_method(_time_strftime)
+datetime.timetuple = __graalpython__.builtin_method(_datetime_timetuple)
+datetime.utctimetuple = __graalpython__.builtin_method(_datetime_utctimetuple)
+datetime.strptime = classmethod(__graalpython__.builtin_method(_datetime_strptime))
+tzinfo.__reduce__ = __graalpython__.builtin_method(_tzinfo_reduce)
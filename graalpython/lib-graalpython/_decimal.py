@@ -0,0 +1,453 @@
+# Copyright (c) 2022, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+# The types and the common arithmetic of this module are implemented in Java, this file adds the
+# signals, the signal dictionaries of contexts, localcontext and the less common operations, which
+# are delegated to _pydecimal.
+
+
+class DecimalException(ArithmeticError):
+    __module__ = 'decimal'
+
+
+class Clamped(DecimalException):
+    __module__ = 'decimal'
+
+
+class InvalidOperation(DecimalException):
+    __module__ = 'decimal'
+
+
+class ConversionSyntax(InvalidOperation):
+    __module__ = 'decimal'
+
+
+class DivisionByZero(DecimalException, ZeroDivisionError):
+    __module__ = 'decimal'
+
+
+class DivisionImpossible(InvalidOperation):
+    __module__ = 'decimal'
+
+
+class DivisionUndefined(InvalidOperation, ZeroDivisionError):
+    __module__ = 'decimal'
+
+
+class Inexact(DecimalException):
+    __module__ = 'decimal'
+
+
+class InvalidContext(InvalidOperation):
+    __module__ = 'decimal'
+
+
+class Rounded(DecimalException):
+    __module__ = 'decimal'
+
+
+class Subnormal(DecimalException):
+    __module__ = 'decimal'
+
+
+class Overflow(Inexact, Rounded):
+    __module__ = 'decimal'
+
+
+class Underflow(Inexact, Rounded, Subnormal):
+    __module__ = 'decimal'
+
+
+class FloatOperation(DecimalException, TypeError):
+    __module__ = 'decimal'
+
+
+# The signals in the order of CPython's signal_map with their bits in Context._flags and
+# Context._traps
+_signals = (
+    (InvalidOperation, 1 << 1),
+    (FloatOperation, 1 << 4),
+    (DivisionByZero, 1 << 2),
+    (Overflow, 1 << 5),
+    (Underflow, 1 << 8),
+    (Subnormal, 1 << 7),
+    (Inexact, 1 << 3),
+    (Rounded, 1 << 6),
+    (Clamped, 1 << 0),
+)
+
+
+def _signal_bit(signal):
+    for s, bit in _signals:
+        if s is signal:
+            return bit
+    raise KeyError("invalid error flag")
+
+
+def _signals_to_bits(value):
+    bits = 0
+    if isinstance(value, dict):
+        if len(value) != len(_signals):
+            raise KeyError("invalid signal dict")
+        for signal, bit in _signals:
+            if signal not in value:
+                raise KeyError("invalid signal dict")
+            if value[signal]:
+                bits |= bit
+    else:
+        for signal in value:
+            bits |= _signal_bit(signal)
+    return bits
+
+
+def _bits_to_signal_list(bits):
+    return [signal for signal, bit in _signals if bits & bit]
+
+
+class _SignalDict(object):
+    # A view of the flags or traps of a context as a dictionary from the signals to booleans
+
+    __slots__ = ('_context', '_attr')
+
+    def __init__(self, context, attr):
+        self._context = context
+        self._attr = attr
+
+    def __getitem__(self, key):
+        return bool(getattr(self._context, self._attr) & _signal_bit(key))
+
+    def __setitem__(self, key, value):
+        bit = _signal_bit(key)
+        bits = getattr(self._context, self._attr)
+        setattr(self._context, self._attr, bits | bit if value else bits & ~bit)
+
+    def __delitem__(self, key):
+        raise ValueError("signal keys cannot be deleted")
+
+    def __len__(self):
+        return len(_signals)
+
+    def __iter__(self):
+        return iter(self.keys())
+
+    def __contains__(self, key):
+        return any(key is signal for signal, _ in _signals)
+
+    def __eq__(self, other):
+        if isinstance(other, _SignalDict):
+            return self.copy() == other.copy()
+        if isinstance(other, dict):
+            return self.copy() == other
+        return NotImplemented
+
+    def keys(self):
+        return [signal for signal, _ in _signals]
+
+    def values(self):
+        return [self[signal] for signal, _ in _signals]
+
+    def items(self):
+        return [(signal, self[signal]) for signal, _ in _signals]
+
+    def get(self, key, default=None):
+        try:
+            return self[key]
+        except KeyError:
+            return default
+
+    def copy(self):
+        return dict(self.items())
+
+    def __repr__(self):
+        return "{%s}" % ", ".join("<class '%s.%s'>:%s" % (s.__module__, s.__name__, v) for s, v in self.items())
+
+
+def _context_init(self, prec=None, rounding=None, Emin=None, Emax=None, capitals=None, clamp=None, flags=None, traps=None):
+    if prec is not None:
+        self.prec = prec
+    if rounding is not None:
+        self.rounding = rounding
+    if Emin is not None:
+        self.Emin = Emin
+    if Emax is not None:
+        self.Emax = Emax
+    if capitals is not None:
+        self.capitals = capitals
+    if clamp is not None:
+        self.clamp = clamp
+    if traps is not None:
+        self._traps = _signals_to_bits(traps)
+    if flags is not None:
+        self._flags = _signals_to_bits(flags)
+
+
+def _context_flags(self):
+    return _SignalDict(self, '_flags')
+
+
+def _context_traps(self):
+    return _SignalDict(self, '_traps')
+
+
+def _context_repr(self):
+    return ("Context(prec=%d, rounding=%s, Emin=%d, Emax=%d, capitals=%d, clamp=%d, flags=[%s], traps=[%s])" %
+            (self.prec, self.rounding, self.Emin, self.Emax, self.capitals, self.clamp,
+             ", ".join(s.__name__ for s in _bits_to_signal_list(self._flags)),
+             ", ".join(s.__name__ for s in _bits_to_signal_list(self._traps))))
+
+
+def _context_reduce(self):
+    return (type(self), (self.prec, self.rounding, self.Emin, self.Emax, self.capitals, self.clamp,
+                         _bits_to_signal_list(self._flags), _bits_to_signal_list(self._traps)))
+
+
+Context.__init__ = __graalpython__.builtin_method(_context_init)
+Context.flags = property(_context_flags)
+Context.traps = property(_context_traps)
+Context.__repr__ = __graalpython__.builtin_method(_context_repr)
+Context.__reduce__ = __graalpython__.builtin_method(_context_reduce)
+
+
+class _ContextManager(object):
+    def __init__(self, new_context):
+        self.new_context = new_context.copy()
+
+    def __enter__(self):
+        self.saved_context = getcontext()
+        setcontext(self.new_context)
+        return self.new_context
+
+    def __exit__(self, t, v, tb):
+        setcontext(self.saved_context)
+
+
+def localcontext(ctx=None):
+    if ctx is None:
+        ctx = getcontext()
+    elif not isinstance(ctx, Context):
+        raise TypeError("optional argument must be a context")
+    return _ContextManager(ctx)
+
+
+def _convert_other(value):
+    if isinstance(value, Decimal):
+        return value
+    if isinstance(value, int):
+        return Decimal(value)
+    raise TypeError("conversion from %s to Decimal is not supported" % type(value).__name__)
+
+
+def _is_rational(value):
+    # Used by the comparisons of Decimal for operands that are neither decimals, integers, floats
+    # nor complex numbers. numbers is imported only here to keep it off the startup path.
+    import numbers
+    return isinstance(value, numbers.Rational)
+
+
+# The less common operations are done by _pydecimal on copies of the operands and the context. The
+# conditions it signals are added to the context afterwards, which raises the trapped ones.
+
+def _pydecimal():
+    import _pydecimal
+    return _pydecimal
+
+
+def _to_pydecimal(value, pd):
+    if isinstance(value, Decimal):
+        return pd.Decimal(str(value))
+    return value
+
+
+def _from_pydecimal(value, pd):
+    if isinstance(value, pd.Decimal):
+        return Decimal(str(value))
+    if isinstance(value, tuple):
+        return tuple(_from_pydecimal(v, pd) for v in value)
+    return value
+
+
+def _call_pydecimal(name, context, *args):
+    pd = _pydecimal()
+    if context is None:
+        context = getcontext()
+    elif not isinstance(context, Context):
+        raise TypeError("optional argument must be a context")
+    pd_context = pd.Context(prec=context.prec, rounding=context.rounding, Emin=context.Emin, Emax=context.Emax,
+                            capitals=context.capitals, clamp=context.clamp, flags=[], traps=[])
+    pd_args = [_to_pydecimal(a, pd) for a in args]
+    result = getattr(pd.Decimal, name)(*pd_args, context=pd_context)
+    status = 0
+    for signal, bit in _signals:
+        if pd_context.flags[getattr(pd, signal.__name__)]:
+            status |= bit
+    context._add_status(status)
+    return _from_pydecimal(result, pd)
+
+
+def _unary_operation(name):
+    def operation(self, context=None):
+        return _call_pydecimal(name, context, self)
+    operation.__name__ = name
+    return operation
+
+
+def _binary_operation(name):
+    def operation(self, other, context=None):
+        return _call_pydecimal(name, context, self, _convert_other(other))
+    operation.__name__ = name
+    return operation
+
+
+def _decimal_fma(self, other, third, context=None):
+    return _call_pydecimal('fma', context, self, _convert_other(other), _convert_other(third))
+
+
+def _decimal_pow(self, other, modulo=None, context=None):
+    if not isinstance(other, (Decimal, int)):
+        return NotImplemented
+    if modulo is not None:
+        if not isinstance(modulo, (Decimal, int)):
+            return NotImplemented
+        modulo = _convert_other(modulo)
+    return _call_pydecimal('__pow__', context, self, _convert_other(other), modulo)
+
+
+def _decimal_rpow(self, other, context=None):
+    if not isinstance(other, (Decimal, int)):
+        return NotImplemented
+    return _call_pydecimal('__pow__', context, _convert_other(other), self)
+
+
+def _decimal_format(self, specifier, override=None):
+    pd = _pydecimal()
+    context = getcontext()
+    pd_context = pd.Context(rounding=context.rounding, capitals=context.capitals, flags=[], traps=[])
+    return pd.Decimal(str(self)).__format__(specifier, pd_context, override)
+
+
+for _name in ('sqrt', 'exp', 'ln', 'log10', 'logb', 'next_minus', 'next_plus', 'number_class', 'logical_invert'):
+    setattr(Decimal, _name, __graalpython__.builtin_method(_unary_operation(_name)))
+for _name in ('max', 'min', 'max_mag', 'min_mag', 'next_toward', 'remainder_near', 'rotate', 'scaleb', 'shift',
+              'logical_and', 'logical_or', 'logical_xor', 'compare_signal', 'compare_total', 'compare_total_mag'):
+    setattr(Decimal, _name, __graalpython__.builtin_method(_binary_operation(_name)))
+Decimal.fma = __graalpython__.builtin_method(_decimal_fma)
+Decimal.__pow__ = __graalpython__.builtin_method(_decimal_pow)
+Decimal.__rpow__ = __graalpython__.builtin_method(_decimal_rpow)
+Decimal.__format__ = __graalpython__.builtin_method(_decimal_format)
+
+
+# The operations of Context that are not implemented in Java call the corresponding method of the
+# converted operand with the context as argument, like CPython does.
+
+def _context_method(name, with_context=True):
+    def method(self, a, *args):
+        a = _convert_other(a)
+        if with_context:
+            return getattr(a, name)(*args, context=self)
+        return getattr(a, name)(*args)
+    method.__name__ = name
+    return method
+
+
+for _name in ('sqrt', 'exp', 'ln', 'log10', 'logb', 'next_minus', 'next_plus', 'number_class', 'logical_invert',
+              'max', 'min', 'max_mag', 'min_mag', 'next_toward', 'remainder_near', 'rotate', 'scaleb', 'shift',
+              'logical_and', 'logical_or', 'logical_xor', 'compare_signal', 'compare_total', 'compare_total_mag', 'fma',
+              'compare', 'quantize', 'normalize', 'to_integral', 'to_integral_value', 'to_integral_exact',
+              'to_eng_string', 'is_normal', 'is_subnormal', 'same_quantum', 'copy_sign'):
+    setattr(Context, _name, __graalpython__.builtin_method(_context_method(_name)))
+for _name in ('copy_abs', 'copy_negate', 'is_canonical', 'is_finite', 'is_infinite', 'is_nan', 'is_qnan', 'is_snan',
+              'is_signed', 'is_zero', 'canonical'):
+    setattr(Context, _name, __graalpython__.builtin_method(_context_method(_name, with_context=False)))
+del _name
+
+
+def _context_power(self, a, b, modulo=None):
+    a = _convert_other(a)
+    b = _convert_other(b)
+    if modulo is not None:
+        modulo = _convert_other(modulo)
+    return _decimal_pow(a, b, modulo, context=self)
+
+
+def _context_radix(self):
+    return Decimal(10)
+
+
+def _context_copy_decimal(self, a):
+    return Decimal(_convert_other(a))
+
+
+def _context_to_sci_string(self, a):
+    s = str(_convert_other(a))
+    return s.replace('e', 'E') if self.capitals else s.replace('E', 'e')
+
+
+def _context_apply(self, a):
+    return self.create_decimal(_convert_other(a))
+
+
+Context.power = __graalpython__.builtin_method(_context_power)
+Context.radix = __graalpython__.builtin_method(_context_radix)
+Context.copy_decimal = __graalpython__.builtin_method(_context_copy_decimal)
+Context.to_sci_string = __graalpython__.builtin_method(_context_to_sci_string)
+Context._apply = __graalpython__.builtin_method(_context_apply)
+Context.apply = __graalpython__.builtin_method(_context_apply)
+
+
+__all__ = [
+    'Decimal', 'Context', 'DecimalTuple', 'DefaultContext', 'BasicContext', 'ExtendedContext',
+    'DecimalException', 'Clamped', 'InvalidOperation', 'DivisionByZero', 'Inexact', 'Rounded', 'Subnormal',
+    'Overflow', 'Underflow', 'FloatOperation', 'DivisionImpossible', 'InvalidContext', 'ConversionSyntax',
+    'DivisionUndefined', 'ROUND_DOWN', 'ROUND_HALF_UP', 'ROUND_HALF_EVEN', 'ROUND_CEILING', 'ROUND_FLOOR',
+    'ROUND_UP', 'ROUND_HALF_DOWN', 'ROUND_05UP', 'setcontext', 'getcontext', 'localcontext', 'MAX_PREC',
+    'MAX_EMAX', 'MIN_EMIN', 'MIN_ETINY', 'HAVE_THREADS', 'HAVE_CONTEXTVAR'
+]
+
+
+def __getattr__(name):
+    # DecimalTuple needs collections and Decimal is registered as a number only when it is first
+    # requested, which happens on 'from _decimal import *', to keep them off the startup path
+    if name == 'DecimalTuple':
+        global DecimalTuple
+        import collections
+        import numbers
+        DecimalTuple = collections.namedtuple('DecimalTuple', 'sign digits exponent', module='decimal')
+        numbers.Number.register(Decimal)
+        return DecimalTuple
+    raise AttributeError("module '_decimal' has no attribute '%s'" % name)
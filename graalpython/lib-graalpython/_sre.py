@@ -381,16 +381,6 @@ class Pattern():
     def fullmatch(self, string, pos=0, endpos=maxsize):
         return self._search(string, pos, endpos, method="fullmatch")
 
-    def __sanitize_out_type(self, elem):
-        """Helper function for findall and split. Ensures that the type of the elements of the
-           returned list if always either 'str' or 'bytes'."""
-        if self.__binary:
-            return bytes(elem)
-        elif elem is None:
-            return ""
-        else:
-            return str(elem)
-
     def finditer(self, string, pos=0, endpos=maxsize):
         for must_advance in [False, True]:
             if self.__tregex_compile(must_advance=must_advance) is None:
@@ -401,10 +391,10 @@ class Pattern():
         return self.__finditer_gen(string, substring, pos, endpos)
 
     def __finditer_gen(self, string, substring, pos, endpos):
+        regexes = (self.__tregex_compile(), self.__tregex_compile(must_advance=True))
         must_advance = False
         while pos <= endpos:
-            compiled_regex = self.__tregex_compile(must_advance=must_advance)
-            result = tregex_call_exec(compiled_regex.exec, substring, pos)
+            result = tregex_call_exec(regexes[must_advance].exec, substring, pos)
             if not result.isMatch:
                 break
             else:
@@ -420,22 +410,7 @@ class Pattern():
         _check_pos(pos)
         self.__check_input_type(string)
         substring, pos, endpos = _normalize_bounds(string, pos, endpos)
-        matchlist = []
-        must_advance = False
-        while pos <= endpos:
-            compiled_regex = self.__tregex_compile(must_advance=must_advance)
-            result = tregex_call_exec(compiled_regex.exec, substring, pos)
-            if not result.isMatch:
-                break
-            elif self.groups == 0:
-                matchlist.append(self.__sanitize_out_type(string[result.getStart(0):result.getEnd(0)]))
-            elif self.groups == 1:
-                matchlist.append(self.__sanitize_out_type(string[result.getStart(1):result.getEnd(1)]))
-            else:
-                matchlist.append(tuple(map(self.__sanitize_out_type, Match(self, pos, endpos, result, string, self.__indexgroup).groups())))
-            pos = result.getEnd(0)
-            must_advance = (result.getStart(0) == result.getEnd(0))
-        return matchlist
+        return tregex_findall(self.__tregex_compile(), self.__tregex_compile(must_advance=True), substring, pos, endpos, self.groups)
 
     def sub(self, repl, string, count=0):
         return self.subn(repl, string, count)[0]
@@ -445,76 +420,42 @@ class Pattern():
             if self.__tregex_compile(must_advance=must_advance) is None:
                 return self.__fallback_compile().subn(repl, string, count=count)
         self.__check_input_type(string)
-        n = 0
-        result = []
-        pos = 0
-        literal = False
-        must_advance = False
-        if not callable(repl):
+        if callable(repl):
+            indexgroup = self.__indexgroup
+            create_match = lambda result, pos: Match(self, pos, -1, result, string, indexgroup)
+        else:
             self.__check_input_type(repl)
-            if isinstance(repl, str):
-                literal = '\\' not in repl
-            else:
-                literal = b'\\' not in repl
-            if not literal:
-                import re
-                repl = re._subx(self, repl)
-                if not callable(repl):
-                    literal = True
-
-        while (count == 0 or n < count) and pos <= len(string):
-            compiled_regex = self.__tregex_compile(must_advance=must_advance)
-            match_result = tregex_call_exec(compiled_regex.exec, string, pos)
-            if not match_result.isMatch:
-                break
-            n += 1
-            start = match_result.getStart(0)
-            end = match_result.getEnd(0)
-            result.append(string[pos:start])
-            if literal:
-                result.append(repl)
-            else:
-                _srematch = Match(self, pos, -1, match_result, string, self.__indexgroup)
-                _repl = repl(_srematch)
-                result.append(_repl)
-            pos = end
-            must_advance = start == end
-        result.append(string[pos:])
+            repl = self.__compile_template(repl)
+            create_match = None
+        return tregex_subn(self.__tregex_compile(), self.__tregex_compile(must_advance=True), string, repl, count, create_match)
+
+    def __compile_template(self, repl):
+        """Helper function for subn. Compiles a replacement template to a tuple of literal strings
+           and group numbers. The literals of bytes templates are decoded as latin-1, which maps
+           every byte to the character with the same code."""
         if self.__binary:
-            return b"".join(result), n
+            repl = bytes(repl)
+            literal = b'\\' not in repl
         else:
-            return "".join(result), n
+            literal = '\\' not in repl
+        if literal:
+            items = [repl]
+        else:
+            import re
+            groups, literals = re._compile_repl(repl, self)
+            items = list(literals)
+            for index, group in groups:
+                items[index] = group
+        if self.__binary:
+            return tuple(item.decode('latin-1') if isinstance(item, bytes) else item for item in items)
+        return tuple(items)
 
     def split(self, string, maxsplit=0):
         for must_advance in [False, True]:
             if self.__tregex_compile(must_advance=must_advance) is None:
                 return self.__fallback_compile().split(string, maxsplit=maxsplit)
-        n = 0
-        result = []
-        collect_pos = 0
-        search_pos = 0
-        must_advance = False
-        while (maxsplit == 0 or n < maxsplit) and search_pos <= len(string):
-            compiled_regex = self.__tregex_compile(must_advance=must_advance)
-            match_result = tregex_call_exec(compiled_regex.exec, string, search_pos)
-            if not match_result.isMatch:
-                break
-            n += 1
-            start = match_result.getStart(0)
-            end = match_result.getEnd(0)
-            result.append(self.__sanitize_out_type(string[collect_pos:start]))
-            # add all group strings
-            for i in range(1, self.groups + 1):
-                groupStart = match_result.getStart(i)
-                if groupStart >= 0:
-                    result.append(self.__sanitize_out_type(string[groupStart:match_result.getEnd(i)]))
-                else:
-                    result.append(None)
-            collect_pos = end
-            search_pos = end
-            must_advance = start == end
-        result.append(self.__sanitize_out_type(string[collect_pos:]))
-        return result
+        self.__check_input_type(string)
+        return tregex_split(self.__tregex_compile(), self.__tregex_compile(must_advance=True), string, maxsplit, self.groups)
 
     def scanner(self, string, pos=0, endpos=maxsize):
         # We cannot pass the must_advance parameter to the internal SRE implementation.
@@ -162,22 +162,27 @@ def dump(obj, fp, *, skipkeys=False, ensure_ascii=True, check_circular=True,
 
     """
     # cached encoder
+    # Begin Truffle change: let the native encoder write bounded chunks to fp
     if (not skipkeys and ensure_ascii and
         check_circular and allow_nan and
         cls is None and indent is None and separators is None and
         default is None and not sort_keys and not kw):
-        iterable = _default_encoder.iterencode(obj)
+        encoder = _default_encoder
     else:
         if cls is None:
             cls = JSONEncoder
-        iterable = cls(skipkeys=skipkeys, ensure_ascii=ensure_ascii,
+        encoder = cls(skipkeys=skipkeys, ensure_ascii=ensure_ascii,
             check_circular=check_circular, allow_nan=allow_nan, indent=indent,
             separators=separators,
-            default=default, sort_keys=sort_keys, **kw).iterencode(obj)
-    # could accelerate with writelines in some versions of Python, at
-    # a debuggability cost
-    for chunk in iterable:
-        fp.write(chunk)
+            default=default, sort_keys=sort_keys, **kw)
+    if type(encoder).iterencode is JSONEncoder.iterencode:
+        encoder._dump(obj, fp)
+    else:
+        # could accelerate with writelines in some versions of Python, at
+        # a debuggability cost
+        for chunk in encoder.iterencode(obj):
+            fp.write(chunk)
+    # End Truffle change
     fp.flush()
 
 
@@ -341,7 +346,11 @@ def loads(s, *, cls=None, object_hook=None, parse_float=None,
         if not isinstance(s, (bytes, bytearray)):
             raise TypeError(f'the JSON object must be str, bytes or bytearray, '
                             f'not {s.__class__.__name__}')
-        s = s.decode(detect_encoding(s), 'surrogatepass')
+        # Begin Truffle change: UTF-8 input is scanned in place by the decoder
+        encoding = detect_encoding(s)
+        if encoding != 'utf-8' or cls is not None:
+            s = s.decode(encoding, 'surrogatepass')
+        # End Truffle change
 
     if "encoding" in kw:
         import warnings
@@ -355,6 +364,10 @@ def loads(s, *, cls=None, object_hook=None, parse_float=None,
     if (cls is None and object_hook is None and
             parse_int is None and parse_float is None and
             parse_constant is None and object_pairs_hook is None and not kw):
+        # Begin Truffle change
+        if not isinstance(s, str):
+            return _default_decoder._decode_utf8(s)
+        # End Truffle change
         return _default_decoder.decode(s)
     if cls is None:
         cls = JSONDecoder
@@ -368,4 +381,8 @@ def loads(s, *, cls=None, object_hook=None, parse_float=None,
         kw['parse_int'] = parse_int
     if parse_constant is not None:
         kw['parse_constant'] = parse_constant
+    # Begin Truffle change
+    if not isinstance(s, str):
+        return cls(**kw)._decode_utf8(s)
+    # End Truffle change
     return cls(**kw).decode(s)
@@ -131,6 +131,7 @@ scanstring = c_scanstring or py_scanstring
 
 WHITESPACE = re.compile(r'[ \t\n\r]*', FLAGS)
 WHITESPACE_STR = ' \t\n\r'
+WHITESPACE_BYTES = re.compile(rb'[ \t\n\r]*', FLAGS) # Truffle change
 
 
 def JSONObject(s_and_end, strict, scan_once, object_hook, object_pairs_hook,
@@ -251,6 +252,14 @@ def JSONArray(s_and_end, scan_once, _w=WHITESPACE.match, _ws=WHITESPACE_STR):
     return values, end
 
 
+# Begin Truffle change
+def _utf8_decode_error(msg, b, pos):
+    # translate the byte offset into an index into the decoded document
+    return JSONDecodeError(msg, b.decode('utf-8', 'surrogatepass'),
+                           len(b[:pos].decode('utf-8', 'surrogatepass')))
+# End Truffle change
+
+
 class JSONDecoder(object):
     """Simple JSON <http://json.org> decoder
 
@@ -340,6 +349,28 @@ class JSONDecoder(object):
             raise JSONDecodeError("Extra data", s, end)
         return obj
 
+    # Begin Truffle change
+    def _decode_utf8(self, b, _w=WHITESPACE_BYTES.match):
+        """Return the Python representation of ``b`` (a UTF-8 encoded
+        ``bytes`` or ``bytearray`` instance containing a JSON document).
+
+        GraalPy: the native scanner reads the buffer in place, the document
+        is only decoded to a ``str`` to report an error.
+
+        """
+        if (scanner.c_make_scanner is None or
+                not isinstance(self.scan_once, scanner.c_make_scanner)):
+            return self.decode(b.decode('utf-8', 'surrogatepass'))
+        try:
+            obj, end = self.scan_once(b, _w(b, 0).end())
+        except StopIteration as err:
+            raise _utf8_decode_error("Expecting value", b, err.value) from None
+        end = _w(b, end).end()
+        if end != len(b):
+            raise _utf8_decode_error("Extra data", b, end)
+        return obj
+    # End Truffle change
+
     def raw_decode(self, s, idx=0):
         """Decode a JSON document from ``s`` (a ``str`` beginning with
         a JSON document) and return a 2-tuple of the Python
@@ -256,6 +256,50 @@ class JSONEncoder(object):
                 self.skipkeys, _one_shot)
         return _iterencode(o, 0)
 
+    # Begin Truffle change
+    def _dump(self, o, fp):
+        """Encode ``o`` and write the JSON representation as ``str`` to
+        ``fp``.
+
+        GraalPy: the native encoder writes the output in chunks of bounded
+        size instead of yielding a string for every token.
+
+        """
+        if c_make_encoder is None or self.indent is not None:
+            for chunk in self.iterencode(o):
+                fp.write(chunk)
+            return
+        self._make_native_encoder().dump(o, fp)
+
+    def _dump_bytes(self, o, out):
+        """Encode ``o`` and write the JSON representation UTF-8 encoded to
+        ``out``, which is either a ``bytearray`` or a binary stream.
+
+        GraalPy-specific, ``json.dump`` only writes ``str``.
+
+        """
+        if c_make_encoder is None or self.indent is not None:
+            write = out.extend if isinstance(out, bytearray) else out.write
+            for chunk in self.iterencode(o):
+                write(chunk.encode('utf-8'))
+            return
+        self._make_native_encoder().dump_bytes(o, out)
+
+    def _make_native_encoder(self):
+        if self.check_circular:
+            markers = {}
+        else:
+            markers = None
+        if self.ensure_ascii:
+            _encoder = encode_basestring_ascii
+        else:
+            _encoder = encode_basestring
+        return c_make_encoder(
+            markers, self.default, _encoder, self.indent,
+            self.key_separator, self.item_separator, self.sort_keys,
+            self.skipkeys, self.allow_nan)
+    # End Truffle change
+
 def _make_iterencode(markers, _default, _encoder, _indent, _floatstr,
         _key_separator, _item_separator, _sort_keys, _skipkeys, _one_shot,
         ## HACK: hand-optimized bytecode; turn globals into locals
@@ -59,9 +59,11 @@ WARMUP_2 = ['-w', '2']
 MICRO_BENCHMARKS = {
     'arith-binop': ITER_10 + ['5'],
     'arith-modulo-sized': ITER_10 + ['500'],
+    'arith-long-sized': ITER_10 + ['20_000'],
     'attribute-access-polymorphic': ITER_10 + ['1000'],
     'attribute-access': ITER_10 + ['5000'],
     'attribute-access-super': ITER_10 + ['5_000'],
+    'attribute-access-monomorphic': ITER_10 + ['2_000'],
     'attribute-bool': ITER_10 + ['3000'],
     'boolean-logic-sized': ITER_10 + ['5_000'],
     'builtin-len-tuple-sized': ITER_10 + ['1_000_000_000'],
@@ -81,10 +83,18 @@ MICRO_BENCHMARKS = {
     'list-iterating-explicit': ITER_10 + ['1000000'],
     'list-iterating': ITER_10 + ['1000000'],
     'list-iterating-obj-sized': ITER_10 + ['100_000_000'],
+    'list-iterating-long-sized': ITER_10 + ['1_000'],
     'list-constructions-sized': ITER_10 + ['10_000'],
     'list-sort-objects': ITER_10 + ['10_000'],
     'list-sort-strings': ITER_10 + ['500_000'],
     'list-sort-keyed': ITER_10 + ['50_000'],
+    'list-sort-records': ITER_10 + ['100'],
+    'lru-cache': ITER_10 + ['2_000'],
+    'operator-callables': ITER_10 + ['500'],
+    'ordered-dict-counter': ITER_10 + ['200'],
+    'thread-local-attr': ITER_10 + ['200'],
+    'json-loads': ITER_10 + ['20'],
+    'json-dump': ITER_10 + ['20'],
     'dict-getitem-sized': ITER_10 + ['50_000_000'],
     'math-sqrt': ITER_10 + ['500000000'],
     'object-allocate': ITER_10 + ['5000'],
@@ -111,9 +121,11 @@ MICRO_BENCHMARKS = {
 
 MICRO_BENCHMARKS_SMALL = {
     'arith-modulo-sized': ITER_6 + WARMUP_2 + ['1'],
+    'arith-long-sized': ITER_6 + WARMUP_2 + ['200'],
     'attribute-access-polymorphic': ITER_6 + WARMUP_2 + ['20'],
     'attribute-access': ITER_6 + WARMUP_2 + ['100'],
     'attribute-access-super': ITER_6 + WARMUP_2 + ['40'],
+    'attribute-access-monomorphic': ITER_6 + WARMUP_2 + ['20'],
     'attribute-bool': ITER_6 + WARMUP_2 + ['2'],
     'boolean-logic-sized': ITER_6 + WARMUP_2 + ['10'],
     'builtin-len-tuple-sized': ITER_6 + WARMUP_2 + ['10_000_000'],
@@ -134,7 +146,14 @@ MICRO_BENCHMARKS_SMALL = {
     'list-iterating-explicit': ITER_6 + WARMUP_2 + ['10_000'],
     'list-iterating': ITER_6 + WARMUP_2 + ['25_000'],
     'list-iterating-obj-sized': ITER_6 + WARMUP_2 + ['1_000_000'],
+    'list-iterating-long-sized': ITER_6 + WARMUP_2 + ['20'],
     'list-constructions-sized': ITER_6 + WARMUP_2 + ['500'],
+    'lru-cache': ITER_6 + WARMUP_2 + ['20'],
+    'operator-callables': ITER_6 + WARMUP_2 + ['10'],
+    'ordered-dict-counter': ITER_6 + WARMUP_2 + ['10'],
+    'thread-local-attr': ITER_6 + WARMUP_2 + ['10'],
+    'json-loads': ITER_6 + WARMUP_2 + ['2'],
+    'json-dump': ITER_6 + WARMUP_2 + ['2'],
     'dict-getitem-sized': ITER_6 + WARMUP_2 + ['1_000_000'],
     'math-sqrt': ITER_6 + WARMUP_2 + ['20_000_000'],
     'object-allocate': ITER_6 + WARMUP_2 + ['50'],
@@ -269,6 +288,7 @@ INTEROP_JAVA_BENCHMARKS = {
     'euler11': [_INTEROP_JAVA_PACKAGE + 'PyEuler11'] + MESO_BENCHMARKS['euler11'],
     'nbody3': [_INTEROP_JAVA_PACKAGE + 'PyNbody'] + MESO_BENCHMARKS['nbody3'],
     'fannkuchredux3': [_INTEROP_JAVA_PACKAGE + 'PyFannkuchredux'] + MESO_BENCHMARKS['fannkuchredux3'],
+    'host-array-conversion': [_INTEROP_JAVA_PACKAGE + 'PyHostArrayConversion'] + ITER_10 + ['1000000'],
 }
 
 JAVA_EMBEDDING_MESO_BENCHMARKS = {
@@ -69,6 +69,7 @@ includes = '''
 # include <netdb.h>
 # include <netinet/in.h>
 # include <netinet/tcp.h>
+# include <poll.h>
 # include <sys/mman.h>
 # include <sys/select.h>
 # include <sys/socket.h>
@@ -76,6 +77,9 @@ includes = '''
 # include <sys/unistd.h>
 # include <sys/utsname.h>
 # include <sys/wait.h>
+# ifdef __linux__
+#  include <sys/epoll.h>
+# endif
 #else
 # include <winsock2.h>
 # include <ws2tcpip.h>
@@ -339,6 +343,41 @@ u x S_IFCHR
 * i TCP_CONGESTION
 * i TCP_USER_TIMEOUT
 * i TCP_NOTSENT_LOWAT
+
+[pollEvents]
+0 x POLLIN
+0 x POLLPRI
+0 x POLLOUT
+0 x POLLERR
+0 x POLLHUP
+0 x POLLNVAL
+0 x POLLRDNORM
+0 x POLLRDBAND
+0 x POLLWRNORM
+0 x POLLWRBAND
+* x POLLMSG
+* x POLLRDHUP
+
+[epollEvents]
+* x EPOLLIN
+* x EPOLLPRI
+* x EPOLLOUT
+* x EPOLLERR
+* x EPOLLHUP
+* x EPOLLRDNORM
+* x EPOLLRDBAND
+* x EPOLLWRNORM
+* x EPOLLWRBAND
+* x EPOLLMSG
+* x EPOLLRDHUP
+* x EPOLLEXCLUSIVE
+* x EPOLLONESHOT
+* x EPOLLET
+
+[epollCtlOp]
+* i EPOLL_CTL_ADD
+* i EPOLL_CTL_MOD
+* i EPOLL_CTL_DEL
 '''
 
 layout_defs = '''